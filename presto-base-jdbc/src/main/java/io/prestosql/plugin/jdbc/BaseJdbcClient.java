@@ -41,12 +41,14 @@ import io.prestosql.spi.type.VarcharType;
 
 import javax.annotation.Nullable;
 
+import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -100,6 +102,7 @@ import static io.prestosql.spi.type.SmallintType.SMALLINT;
 import static io.prestosql.spi.type.TinyintType.TINYINT;
 import static io.prestosql.spi.type.VarbinaryType.VARBINARY;
 import static io.prestosql.spi.type.VarcharType.createUnboundedVarcharType;
+import static java.lang.Math.toIntExact;
 import static java.lang.String.CASE_INSENSITIVE_ORDER;
 import static java.lang.String.format;
 import static java.lang.String.join;
@@ -109,6 +112,7 @@ import static java.util.Collections.nCopies;
 import static java.util.Locale.ENGLISH;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.joining;
 
 public abstract class BaseJdbcClient
@@ -134,6 +138,9 @@ public abstract class BaseJdbcClient
     protected final boolean caseInsensitiveNameMatching;
     protected final Cache<JdbcIdentity, Map<String, String>> remoteSchemaNames;
     protected final Cache<RemoteTableNameCacheKey, Map<String, String>> remoteTableNames;
+    private final int parallelReadSplitCount;
+    private final Map<SchemaTableName, String> parallelReadSplitColumns;
+    private final Duration parallelReadBoundsQueryTimeout;
 
     public BaseJdbcClient(BaseJdbcConfig config, String identifierQuote, ConnectionFactory connectionFactory)
     {
@@ -142,7 +149,10 @@ public abstract class BaseJdbcClient
                 connectionFactory,
                 config.getJdbcTypesMappedToVarchar(),
                 requireNonNull(config, "config is null").isCaseInsensitiveNameMatching(),
-                config.getCaseInsensitiveNameMatchingCacheTtl());
+                config.getCaseInsensitiveNameMatchingCacheTtl(),
+                config.getParallelReadSplitCount(),
+                config.getParallelReadSplitColumns(),
+                config.getParallelReadBoundsQueryTimeout());
     }
 
     public BaseJdbcClient(
@@ -152,6 +162,23 @@ public abstract class BaseJdbcClient
             boolean caseInsensitiveNameMatching,
             Duration caseInsensitiveNameMatchingCacheTtl)
     {
+        this(identifierQuote, connectionFactory, jdbcTypesMappedToVarchar, caseInsensitiveNameMatching, caseInsensitiveNameMatchingCacheTtl, 1, ImmutableMap.of(), new Duration(10, SECONDS));
+    }
+
+    public BaseJdbcClient(
+            String identifierQuote,
+            ConnectionFactory connectionFactory,
+            Set<String> jdbcTypesMappedToVarchar,
+            boolean caseInsensitiveNameMatching,
+            Duration caseInsensitiveNameMatchingCacheTtl,
+            int parallelReadSplitCount,
+            Map<SchemaTableName, String> parallelReadSplitColumns,
+            Duration parallelReadBoundsQueryTimeout)
+    {
+        checkArgument(parallelReadSplitCount >= 1, "parallelReadSplitCount must be at least 1");
+        this.parallelReadSplitCount = parallelReadSplitCount;
+        this.parallelReadSplitColumns = ImmutableMap.copyOf(requireNonNull(parallelReadSplitColumns, "parallelReadSplitColumns is null"));
+        this.parallelReadBoundsQueryTimeout = requireNonNull(parallelReadBoundsQueryTimeout, "parallelReadBoundsQueryTimeout is null");
         this.identifierQuote = requireNonNull(identifierQuote, "identifierQuote is null");
         this.connectionFactory = requireNonNull(connectionFactory, "connectionFactory is null");
         this.jdbcTypesMappedToVarchar = ImmutableSortedSet.orderedBy(CASE_INSENSITIVE_ORDER)
@@ -390,7 +417,89 @@ public abstract class BaseJdbcClient
     @Override
     public ConnectorSplitSource getSplits(ConnectorSession session, JdbcTableHandle tableHandle)
     {
-        return new FixedSplitSource(ImmutableList.of(new JdbcSplit(Optional.empty())));
+        String splitColumnName = parallelReadSplitColumns.get(tableHandle.getSchemaTableName());
+        // each split of an aggregation or limit pushed into the query would produce its own groups or rows
+        if (parallelReadSplitCount == 1 || splitColumnName == null || tableHandle.getGroupingSets().isPresent() || tableHandle.getLimit().isPresent()) {
+            return new FixedSplitSource(ImmutableList.of(new JdbcSplit(Optional.empty())));
+        }
+
+        JdbcColumnHandle splitColumn = getColumns(session, tableHandle).stream()
+                .filter(column -> column.getColumnName().equalsIgnoreCase(splitColumnName))
+                .findFirst()
+                .orElseThrow(() -> new PrestoException(NOT_FOUND, format("Split column %s not found in table %s", splitColumnName, tableHandle.getSchemaTableName())));
+        Type splitColumnType = splitColumn.getColumnType();
+        if (!splitColumnType.equals(BIGINT) && !splitColumnType.equals(INTEGER) && !splitColumnType.equals(SMALLINT) && !splitColumnType.equals(TINYINT) && !splitColumnType.equals(DATE)) {
+            throw new PrestoException(NOT_SUPPORTED, format("Unsupported type %s of split column %s in table %s", splitColumnType, splitColumnName, tableHandle.getSchemaTableName()));
+        }
+
+        return new FixedSplitSource(getRangeSplits(session, tableHandle, splitColumn));
+    }
+
+    private List<JdbcSplit> getRangeSplits(ConnectorSession session, JdbcTableHandle tableHandle, JdbcColumnHandle splitColumn)
+    {
+        String column = quoted(splitColumn.getColumnName());
+        String sql = format("SELECT min(%s), max(%s) FROM %s", column, column, quoted(tableHandle.getRemoteTableName()));
+        long min;
+        long max;
+        try (Connection connection = connectionFactory.openConnection(JdbcIdentity.from(session));
+                Statement statement = connection.createStatement()) {
+            // the query runs while the query is planned, so a slow remote database must not stall the planning
+            statement.setQueryTimeout(toIntExact(parallelReadBoundsQueryTimeout.roundTo(SECONDS)));
+            try (ResultSet resultSet = statement.executeQuery(sql)) {
+                LongReadFunction readFunction = (LongReadFunction) toPrestoType(session, connection, splitColumn.getJdbcTypeHandle())
+                        .orElseThrow(() -> new VerifyException("No mapping for split column " + splitColumn))
+                        .getReadFunction();
+                verify(resultSet.next(), "No result for query: %s", sql);
+                if (readFunction.isNull(resultSet, 1)) {
+                    // the table is empty
+                    return ImmutableList.of(new JdbcSplit(Optional.empty()));
+                }
+                min = readFunction.readLong(resultSet, 1);
+                max = readFunction.readLong(resultSet, 2);
+            }
+        }
+        catch (SQLException e) {
+            // drivers report a timeout with different exceptions, and the scan reports any other failure
+            log.warn(e, "Failed to read the bounds of split column %s in table %s, reading the table in a single split", splitColumn.getColumnName(), tableHandle.getSchemaTableName());
+            return ImmutableList.of(new JdbcSplit(Optional.empty()));
+        }
+
+        BigInteger span = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE);
+        int splitCount = span.min(BigInteger.valueOf(parallelReadSplitCount)).intValueExact();
+        if (splitCount == 1) {
+            return ImmutableList.of(new JdbcSplit(Optional.empty()));
+        }
+
+        // the first and last splits are open ended, so rows written after the bounds were read are not lost
+        ImmutableList.Builder<JdbcSplit> splits = ImmutableList.builder();
+        String lowerBound = null;
+        for (int split = 1; split < splitCount; split++) {
+            long bound = BigInteger.valueOf(min)
+                    .add(span.multiply(BigInteger.valueOf(split)).divide(BigInteger.valueOf(splitCount)))
+                    .longValueExact();
+            String upperBound = toRangeSplitBound(splitColumn, bound);
+            if (lowerBound == null) {
+                splits.add(new JdbcSplit(Optional.of(format("(%s < %s OR %s IS NULL)", column, upperBound, column))));
+            }
+            else {
+                splits.add(new JdbcSplit(Optional.of(format("%s >= %s AND %s < %s", column, lowerBound, column, upperBound))));
+            }
+            lowerBound = upperBound;
+        }
+        splits.add(new JdbcSplit(Optional.of(format("%s >= %s", column, lowerBound))));
+        return splits.build();
+    }
+
+    /**
+     * Returns the SQL literal for a bound of a range split on the given integer or date column.
+     * Clients of databases that do not support ANSI date literals must override this.
+     */
+    protected String toRangeSplitBound(JdbcColumnHandle splitColumn, long value)
+    {
+        if (splitColumn.getColumnType().equals(DATE)) {
+            return format("DATE '%s'", LocalDate.ofEpochDay(value));
+        }
+        return String.valueOf(value);
     }
 
     @Override
@@ -14,18 +14,25 @@
 package io.prestosql.plugin.jdbc;
 
 import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.airlift.configuration.Config;
 import io.airlift.configuration.ConfigDescription;
 import io.airlift.units.Duration;
 import io.airlift.units.MinDuration;
+import io.prestosql.spi.connector.SchemaTableName;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.nullToEmpty;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 public class BaseJdbcConfig
 {
@@ -35,6 +42,10 @@ public class BaseJdbcConfig
     private Set<String> jdbcTypesMappedToVarchar = ImmutableSet.of();
     private Duration metadataCacheTtl = new Duration(0, MINUTES);
     private boolean cacheMissing;
+    private int parallelReadSplitCount = 1;
+    private Map<SchemaTableName, String> parallelReadSplitColumns = ImmutableMap.of();
+    private Duration parallelReadBoundsQueryTimeout = new Duration(10, SECONDS);
+    private Integer fetchSize;
 
     @NotNull
     public String getConnectionUrl()
@@ -114,4 +125,68 @@ public class BaseJdbcConfig
         this.cacheMissing = cacheMissing;
         return this;
     }
+
+    @Min(1)
+    public int getParallelReadSplitCount()
+    {
+        return parallelReadSplitCount;
+    }
+
+    @Config("parallel-read.split-count")
+    @ConfigDescription("Number of range splits a scan of a table with a split column is divided into")
+    public BaseJdbcConfig setParallelReadSplitCount(int parallelReadSplitCount)
+    {
+        this.parallelReadSplitCount = parallelReadSplitCount;
+        return this;
+    }
+
+    public Map<SchemaTableName, String> getParallelReadSplitColumns()
+    {
+        return parallelReadSplitColumns;
+    }
+
+    @Config("parallel-read.split-columns")
+    @ConfigDescription("Comma separated list of schema.table:column entries naming the integer or date column to split each table on")
+    public BaseJdbcConfig setParallelReadSplitColumns(String parallelReadSplitColumns)
+    {
+        ImmutableMap.Builder<SchemaTableName, String> splitColumns = ImmutableMap.builder();
+        for (String entry : Splitter.on(",").omitEmptyStrings().trimResults().split(nullToEmpty(parallelReadSplitColumns))) {
+            List<String> tableAndColumn = Splitter.on(":").trimResults().splitToList(entry);
+            checkArgument(tableAndColumn.size() == 2, "Invalid split column entry, expected schema.table:column: %s", entry);
+            List<String> schemaAndTable = Splitter.on(".").trimResults().splitToList(tableAndColumn.get(0));
+            checkArgument(schemaAndTable.size() == 2, "Invalid split column entry, expected schema.table:column: %s", entry);
+            splitColumns.put(new SchemaTableName(schemaAndTable.get(0), schemaAndTable.get(1)), tableAndColumn.get(1));
+        }
+        this.parallelReadSplitColumns = splitColumns.build();
+        return this;
+    }
+
+    @NotNull
+    @MinDuration("1s")
+    public Duration getParallelReadBoundsQueryTimeout()
+    {
+        return parallelReadBoundsQueryTimeout;
+    }
+
+    @Config("parallel-read.bounds-query-timeout")
+    @ConfigDescription("Maximum time to wait for the minimum and maximum of a split column, after which the table is read in a single split")
+    public BaseJdbcConfig setParallelReadBoundsQueryTimeout(Duration parallelReadBoundsQueryTimeout)
+    {
+        this.parallelReadBoundsQueryTimeout = parallelReadBoundsQueryTimeout;
+        return this;
+    }
+
+    @Min(1)
+    public Integer getFetchSize()
+    {
+        return fetchSize;
+    }
+
+    @Config("fetch-size")
+    @ConfigDescription("Number of rows fetched from the remote database per round trip, overriding the connector default")
+    public BaseJdbcConfig setFetchSize(Integer fetchSize)
+    {
+        this.fetchSize = fetchSize;
+        return this;
+    }
 }
@@ -0,0 +1,39 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.jdbc;
+
+import io.prestosql.spi.Page;
+
+import java.sql.SQLException;
+
+/**
+ * Loads pages into a table using a bulk load protocol of the remote database,
+ * in place of batched {@code INSERT} statements.
+ *
+ * @see JdbcClient#getBulkWriter
+ */
+public interface BulkWriter
+{
+    void appendPage(Page page)
+            throws SQLException;
+
+    /**
+     * Completes the load. The caller commits the transaction of the connection afterwards.
+     */
+    void finish()
+            throws SQLException;
+
+    void abort()
+            throws SQLException;
+}
@@ -190,6 +190,13 @@ public abstract class ForwardingJdbcClient
         return delegate().getConnection(identity, handle);
     }
 
+    @Override
+    public Optional<BulkWriter> getBulkWriter(ConnectorSession session, Connection connection, JdbcOutputTableHandle handle)
+            throws SQLException
+    {
+        return delegate().getBulkWriter(session, connection, handle);
+    }
+
     @Override
     public PreparedStatement getPreparedStatement(Connection connection, String sql)
             throws SQLException
@@ -120,6 +120,16 @@ public interface JdbcClient
     Connection getConnection(JdbcIdentity identity, JdbcOutputTableHandle handle)
             throws SQLException;
 
+    /**
+     * Returns a writer loading rows into the table of {@code handle} with a bulk load protocol of the remote database,
+     * or empty if rows should be inserted using {@link #buildInsertSql(JdbcOutputTableHandle)}.
+     */
+    default Optional<BulkWriter> getBulkWriter(ConnectorSession session, Connection connection, JdbcOutputTableHandle handle)
+            throws SQLException
+    {
+        return Optional.empty();
+    }
+
     PreparedStatement getPreparedStatement(Connection connection, String sql)
             throws SQLException;
 
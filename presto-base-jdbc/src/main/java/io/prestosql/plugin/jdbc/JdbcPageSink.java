@@ -28,6 +28,7 @@ import java.sql.SQLException;
 import java.sql.SQLNonTransientException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
@@ -42,6 +43,7 @@ public class JdbcPageSink
         implements ConnectorPageSink
 {
     private final Connection connection;
+    private final Optional<BulkWriter> bulkWriter;
     private final PreparedStatement statement;
 
     private final List<Type> columnTypes;
@@ -59,7 +61,8 @@ public class JdbcPageSink
 
         try {
             connection.setAutoCommit(false);
-            statement = connection.prepareStatement(jdbcClient.buildInsertSql(handle));
+            bulkWriter = jdbcClient.getBulkWriter(session, connection, handle);
+            statement = bulkWriter.isPresent() ? null : connection.prepareStatement(jdbcClient.buildInsertSql(handle));
         }
         catch (SQLException e) {
             closeWithSuppression(connection, e);
@@ -97,6 +100,11 @@ public class JdbcPageSink
     public CompletableFuture<?> appendPage(Page page)
     {
         try {
+            if (bulkWriter.isPresent()) {
+                bulkWriter.get().appendPage(page);
+                return NOT_BLOCKED;
+            }
+
             for (int position = 0; position < page.getPositionCount(); position++) {
                 for (int channel = 0; channel < page.getChannelCount(); channel++) {
                     appendColumn(page, position, channel);
@@ -156,7 +164,11 @@ public class JdbcPageSink
         // commit and close
         try (Connection connection = this.connection;
                 PreparedStatement statement = this.statement) {
-            if (batchSize > 0) {
+            if (bulkWriter.isPresent()) {
+                bulkWriter.get().finish();
+                connection.commit();
+            }
+            else if (batchSize > 0) {
                 statement.executeBatch();
                 connection.commit();
             }
@@ -180,6 +192,9 @@ public class JdbcPageSink
                 PreparedStatement statement = this.statement) {
             // skip rollback if implicitly closed due to an error
             if (!connection.isClosed()) {
+                if (bulkWriter.isPresent()) {
+                    bulkWriter.get().abort();
+                }
                 connection.rollback();
             }
         }
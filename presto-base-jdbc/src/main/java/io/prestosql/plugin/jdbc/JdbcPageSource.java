@@ -0,0 +1,516 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.jdbc;
+
+import com.google.common.base.VerifyException;
+import io.airlift.log.Logger;
+import io.airlift.slice.Slice;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.block.ByteArrayBlock;
+import io.prestosql.spi.block.IntArrayBlock;
+import io.prestosql.spi.block.IntArrayBlockBuilder;
+import io.prestosql.spi.block.LongArrayBlock;
+import io.prestosql.spi.block.LongArrayBlockBuilder;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.connector.ConnectorSession;
+import io.prestosql.spi.type.Type;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import static com.google.common.base.Verify.verify;
+import static io.prestosql.plugin.jdbc.JdbcErrorCode.JDBC_ERROR;
+import static io.prestosql.spi.block.PageBuilderStatus.DEFAULT_MAX_PAGE_SIZE_IN_BYTES;
+import static io.prestosql.spi.type.BooleanType.BOOLEAN;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static java.lang.Math.max;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the rows of a {@link ResultSet} into pages a column batch at a time. Columns whose blocks
+ * are flat arrays of longs, ints, doubles or booleans are read into arrays that become the blocks
+ * of the page, without a block builder call per value. Other columns are appended to a block builder.
+ */
+public class JdbcPageSource
+        implements ConnectorPageSource
+{
+    private static final Logger log = Logger.get(JdbcPageSource.class);
+
+    private static final int MAX_ROWS_PER_PAGE = 4096;
+    private static final int INITIAL_BUFFER_CAPACITY = 64;
+
+    private final JdbcClient jdbcClient;
+    private final ColumnBuffer[] columnBuffers;
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+
+    private long readTimeNanos;
+    private boolean finished;
+    private boolean closed;
+
+    public JdbcPageSource(JdbcClient jdbcClient, ConnectorSession session, JdbcSplit split, JdbcTableHandle table, List<JdbcColumnHandle> columnHandles, OptionalInt fetchSize)
+    {
+        this.jdbcClient = requireNonNull(jdbcClient, "jdbcClient is null");
+        requireNonNull(fetchSize, "fetchSize is null");
+
+        columnBuffers = new ColumnBuffer[columnHandles.size()];
+
+        try {
+            connection = jdbcClient.getConnection(JdbcIdentity.from(session), split);
+
+            for (int i = 0; i < columnBuffers.length; i++) {
+                JdbcColumnHandle columnHandle = columnHandles.get(i);
+                ColumnMapping columnMapping = jdbcClient.toPrestoType(session, connection, columnHandle.getJdbcTypeHandle())
+                        .orElseThrow(() -> new VerifyException("Unsupported column type"));
+                verify(
+                        columnHandle.getColumnType().equals(columnMapping.getType()),
+                        "Type mismatch: column handle has type %s but %s is mapped to %s",
+                        columnHandle.getColumnType(), columnHandle.getJdbcTypeHandle(), columnMapping.getType());
+                columnBuffers[i] = createColumnBuffer(columnMapping.getType(), columnMapping.getReadFunction());
+            }
+
+            statement = jdbcClient.buildSql(session, connection, split, table, columnHandles);
+            if (fetchSize.isPresent()) {
+                statement.setFetchSize(fetchSize.getAsInt());
+            }
+            log.debug("Executing: %s", statement.toString());
+            resultSet = statement.executeQuery();
+        }
+        catch (SQLException | RuntimeException e) {
+            throw handleSqlException(e);
+        }
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return 0;
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return readTimeNanos;
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        long usage = 0;
+        for (ColumnBuffer columnBuffer : columnBuffers) {
+            usage += columnBuffer.getRetainedSizeInBytes();
+        }
+        return usage;
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return finished || closed;
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        if (finished || closed) {
+            return null;
+        }
+
+        int positionCount = 0;
+        long start = System.nanoTime();
+        try {
+            while (positionCount < MAX_ROWS_PER_PAGE && getSystemMemoryUsage() < DEFAULT_MAX_PAGE_SIZE_IN_BYTES) {
+                if (!resultSet.next()) {
+                    finished = true;
+                    break;
+                }
+                for (int column = 0; column < columnBuffers.length; column++) {
+                    columnBuffers[column].read(resultSet, column + 1, positionCount);
+                }
+                positionCount++;
+            }
+        }
+        catch (SQLException | RuntimeException e) {
+            throw handleSqlException(e);
+        }
+        finally {
+            readTimeNanos += System.nanoTime() - start;
+        }
+        if (finished) {
+            // release the connection as soon as the result set is drained
+            close();
+        }
+
+        if (positionCount == 0) {
+            return null;
+        }
+        Block[] blocks = new Block[columnBuffers.length];
+        for (int column = 0; column < columnBuffers.length; column++) {
+            blocks[column] = columnBuffers[column].build(positionCount);
+        }
+        return new Page(positionCount, blocks);
+    }
+
+    @Override
+    public void close()
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // use try with resources to close everything properly
+        try (Connection connection = this.connection;
+                Statement statement = this.statement;
+                ResultSet resultSet = this.resultSet) {
+            if (connection != null && !finished) {
+                jdbcClient.abortReadConnection(connection);
+            }
+        }
+        catch (SQLException | RuntimeException e) {
+            // ignore exception from close
+        }
+    }
+
+    private RuntimeException handleSqlException(Exception e)
+    {
+        try {
+            close();
+        }
+        catch (Exception closeException) {
+            // Self-suppression not permitted
+            if (e != closeException) {
+                e.addSuppressed(closeException);
+            }
+        }
+        return new PrestoException(JDBC_ERROR, e);
+    }
+
+    private static ColumnBuffer createColumnBuffer(Type type, ReadFunction readFunction)
+    {
+        BlockBuilder blockBuilder = type.createBlockBuilder(null, 1);
+        if (type.getJavaType() == long.class && blockBuilder instanceof LongArrayBlockBuilder) {
+            return new LongColumnBuffer((LongReadFunction) readFunction);
+        }
+        if (type.getJavaType() == long.class && blockBuilder instanceof IntArrayBlockBuilder) {
+            return new IntColumnBuffer((LongReadFunction) readFunction);
+        }
+        if (type.equals(DOUBLE)) {
+            return new DoubleColumnBuffer((DoubleReadFunction) readFunction);
+        }
+        if (type.equals(BOOLEAN)) {
+            return new BooleanColumnBuffer((BooleanReadFunction) readFunction);
+        }
+        return new BlockBuilderColumnBuffer(type, readFunction, createColumnReader(type, readFunction));
+    }
+
+    private static ColumnReader createColumnReader(Type type, ReadFunction readFunction)
+    {
+        Class<?> javaType = type.getJavaType();
+        if (javaType == boolean.class) {
+            BooleanReadFunction booleanReadFunction = (BooleanReadFunction) readFunction;
+            return (resultSet, column, output) -> type.writeBoolean(output, booleanReadFunction.readBoolean(resultSet, column));
+        }
+        if (javaType == long.class) {
+            LongReadFunction longReadFunction = (LongReadFunction) readFunction;
+            return (resultSet, column, output) -> type.writeLong(output, longReadFunction.readLong(resultSet, column));
+        }
+        if (javaType == double.class) {
+            DoubleReadFunction doubleReadFunction = (DoubleReadFunction) readFunction;
+            return (resultSet, column, output) -> type.writeDouble(output, doubleReadFunction.readDouble(resultSet, column));
+        }
+        if (javaType == Slice.class) {
+            SliceReadFunction sliceReadFunction = (SliceReadFunction) readFunction;
+            return (resultSet, column, output) -> {
+                Slice slice = sliceReadFunction.readSlice(resultSet, column);
+                type.writeSlice(output, slice, 0, slice.length());
+            };
+        }
+        ObjectReadFunction objectReadFunction = (ObjectReadFunction) readFunction;
+        return (resultSet, column, output) -> type.writeObject(output, objectReadFunction.readObject(resultSet, column));
+    }
+
+    private interface ColumnReader
+    {
+        void read(ResultSet resultSet, int column, BlockBuilder output)
+                throws SQLException;
+    }
+
+    private abstract static class ColumnBuffer
+    {
+        private final ReadFunction readFunction;
+
+        protected ColumnBuffer(ReadFunction readFunction)
+        {
+            this.readFunction = requireNonNull(readFunction, "readFunction is null");
+        }
+
+        // null handling goes through ReadFunction.isNull, as some read functions cannot be called on a NULL value
+        protected boolean isNull(ResultSet resultSet, int column)
+                throws SQLException
+        {
+            return readFunction.isNull(resultSet, column);
+        }
+
+        abstract void read(ResultSet resultSet, int column, int position)
+                throws SQLException;
+
+        /**
+         * Returns the block of the values read so far and resets the buffer.
+         */
+        abstract Block build(int positionCount);
+
+        abstract long getRetainedSizeInBytes();
+    }
+
+    private abstract static class ArrayColumnBuffer
+            extends ColumnBuffer
+    {
+        private final int valueSize;
+        private boolean[] valueIsNull = new boolean[0];
+        private boolean hasNullValue;
+
+        protected ArrayColumnBuffer(ReadFunction readFunction, int valueSize)
+        {
+            super(readFunction);
+            this.valueSize = valueSize;
+        }
+
+        @Override
+        final void read(ResultSet resultSet, int column, int position)
+                throws SQLException
+        {
+            if (position == valueIsNull.length) {
+                int capacity = max(INITIAL_BUFFER_CAPACITY, position * 2);
+                valueIsNull = Arrays.copyOf(valueIsNull, capacity);
+                grow(capacity);
+            }
+            if (isNull(resultSet, column)) {
+                valueIsNull[position] = true;
+                hasNullValue = true;
+            }
+            else {
+                readValue(resultSet, column, position);
+            }
+        }
+
+        @Override
+        final Block build(int positionCount)
+        {
+            Block block = build(positionCount, hasNullValue ? Optional.of(valueIsNull) : Optional.empty());
+            valueIsNull = new boolean[0];
+            hasNullValue = false;
+            grow(0);
+            return block;
+        }
+
+        @Override
+        final long getRetainedSizeInBytes()
+        {
+            return (long) valueIsNull.length * (Byte.BYTES + valueSize);
+        }
+
+        protected abstract void grow(int capacity);
+
+        protected abstract void readValue(ResultSet resultSet, int column, int position)
+                throws SQLException;
+
+        protected abstract Block build(int positionCount, Optional<boolean[]> valueIsNull);
+    }
+
+    private static class LongColumnBuffer
+            extends ArrayColumnBuffer
+    {
+        private final LongReadFunction readFunction;
+        private long[] values = new long[0];
+
+        public LongColumnBuffer(LongReadFunction readFunction)
+        {
+            super(readFunction, Long.BYTES);
+            this.readFunction = readFunction;
+        }
+
+        @Override
+        protected void grow(int capacity)
+        {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        protected void readValue(ResultSet resultSet, int column, int position)
+                throws SQLException
+        {
+            values[position] = readFunction.readLong(resultSet, column);
+        }
+
+        @Override
+        protected Block build(int positionCount, Optional<boolean[]> valueIsNull)
+        {
+            return new LongArrayBlock(positionCount, valueIsNull, values);
+        }
+    }
+
+    private static class IntColumnBuffer
+            extends ArrayColumnBuffer
+    {
+        private final LongReadFunction readFunction;
+        private int[] values = new int[0];
+
+        public IntColumnBuffer(LongReadFunction readFunction)
+        {
+            super(readFunction, Integer.BYTES);
+            this.readFunction = readFunction;
+        }
+
+        @Override
+        protected void grow(int capacity)
+        {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        protected void readValue(ResultSet resultSet, int column, int position)
+                throws SQLException
+        {
+            values[position] = toIntExact(readFunction.readLong(resultSet, column));
+        }
+
+        @Override
+        protected Block build(int positionCount, Optional<boolean[]> valueIsNull)
+        {
+            return new IntArrayBlock(positionCount, valueIsNull, values);
+        }
+    }
+
+    private static class DoubleColumnBuffer
+            extends ArrayColumnBuffer
+    {
+        private final DoubleReadFunction readFunction;
+        private long[] values = new long[0];
+
+        public DoubleColumnBuffer(DoubleReadFunction readFunction)
+        {
+            super(readFunction, Long.BYTES);
+            this.readFunction = readFunction;
+        }
+
+        @Override
+        protected void grow(int capacity)
+        {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        protected void readValue(ResultSet resultSet, int column, int position)
+                throws SQLException
+        {
+            values[position] = Double.doubleToLongBits(readFunction.readDouble(resultSet, column));
+        }
+
+        @Override
+        protected Block build(int positionCount, Optional<boolean[]> valueIsNull)
+        {
+            return new LongArrayBlock(positionCount, valueIsNull, values);
+        }
+    }
+
+    private static class BooleanColumnBuffer
+            extends ArrayColumnBuffer
+    {
+        private final BooleanReadFunction readFunction;
+        private byte[] values = new byte[0];
+
+        public BooleanColumnBuffer(BooleanReadFunction readFunction)
+        {
+            super(readFunction, Byte.BYTES);
+            this.readFunction = readFunction;
+        }
+
+        @Override
+        protected void grow(int capacity)
+        {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        protected void readValue(ResultSet resultSet, int column, int position)
+                throws SQLException
+        {
+            values[position] = (byte) (readFunction.readBoolean(resultSet, column) ? 1 : 0);
+        }
+
+        @Override
+        protected Block build(int positionCount, Optional<boolean[]> valueIsNull)
+        {
+            return new ByteArrayBlock(positionCount, valueIsNull, values);
+        }
+    }
+
+    private static class BlockBuilderColumnBuffer
+            extends ColumnBuffer
+    {
+        private final Type type;
+        private final ColumnReader columnReader;
+        private BlockBuilder blockBuilder;
+
+        public BlockBuilderColumnBuffer(Type type, ReadFunction readFunction, ColumnReader columnReader)
+        {
+            super(readFunction);
+            this.type = requireNonNull(type, "type is null");
+            this.columnReader = requireNonNull(columnReader, "columnReader is null");
+        }
+
+        @Override
+        void read(ResultSet resultSet, int column, int position)
+                throws SQLException
+        {
+            if (blockBuilder == null) {
+                blockBuilder = type.createBlockBuilder(null, INITIAL_BUFFER_CAPACITY);
+            }
+            if (isNull(resultSet, column)) {
+                blockBuilder.appendNull();
+            }
+            else {
+                columnReader.read(resultSet, column, blockBuilder);
+            }
+        }
+
+        @Override
+        Block build(int positionCount)
+        {
+            Block block = blockBuilder.build();
+            blockBuilder = null;
+            return block;
+        }
+
+        @Override
+        long getRetainedSizeInBytes()
+        {
+            return blockBuilder == null ? 0 : blockBuilder.getRetainedSizeInBytes();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.jdbc;
+
+import com.google.common.collect.ImmutableList;
+import io.prestosql.spi.connector.ColumnHandle;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.connector.ConnectorPageSourceProvider;
+import io.prestosql.spi.connector.ConnectorSession;
+import io.prestosql.spi.connector.ConnectorSplit;
+import io.prestosql.spi.connector.ConnectorTableHandle;
+import io.prestosql.spi.connector.ConnectorTransactionHandle;
+import io.prestosql.spi.connector.DynamicFilter;
+
+import javax.inject.Inject;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import static com.google.common.base.Verify.verify;
+import static java.util.Objects.requireNonNull;
+
+public class JdbcPageSourceProvider
+        implements ConnectorPageSourceProvider
+{
+    private final JdbcClient jdbcClient;
+    private final OptionalInt fetchSize;
+
+    @Inject
+    public JdbcPageSourceProvider(JdbcClient jdbcClient, BaseJdbcConfig config)
+    {
+        this(jdbcClient, toFetchSize(requireNonNull(config, "config is null").getFetchSize()));
+    }
+
+    public JdbcPageSourceProvider(JdbcClient jdbcClient, OptionalInt fetchSize)
+    {
+        this.jdbcClient = requireNonNull(jdbcClient, "jdbcClient is null");
+        this.fetchSize = requireNonNull(fetchSize, "fetchSize is null");
+    }
+
+    @Override
+    public ConnectorPageSource createPageSource(
+            ConnectorTransactionHandle transaction,
+            ConnectorSession session,
+            ConnectorSplit split,
+            ConnectorTableHandle table,
+            List<ColumnHandle> columns,
+            DynamicFilter dynamicFilter)
+    {
+        JdbcSplit jdbcSplit = (JdbcSplit) split;
+        JdbcTableHandle jdbcTable = (JdbcTableHandle) table;
+
+        // Any columns that were recorded in the table handle by applyProjection must match the requested set.
+        // If no columns are recorded, all table columns are read.
+        jdbcTable.getColumns()
+                .ifPresent(tableColumns -> verify(columns.equals(tableColumns)));
+
+        ImmutableList.Builder<JdbcColumnHandle> handles = ImmutableList.builder();
+        for (ColumnHandle handle : columns) {
+            handles.add((JdbcColumnHandle) handle);
+        }
+
+        return new JdbcPageSource(jdbcClient, session, jdbcSplit, jdbcTable, handles.build(), fetchSize);
+    }
+
+    private static OptionalInt toFetchSize(Integer fetchSize)
+    {
+        return fetchSize == null ? OptionalInt.empty() : OptionalInt.of(fetchSize);
+    }
+}
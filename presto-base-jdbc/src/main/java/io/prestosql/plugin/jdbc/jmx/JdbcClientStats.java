@@ -32,6 +32,7 @@ public final class JdbcClientStats
     private final JdbcApiStats dropSchema = new JdbcApiStats();
     private final JdbcApiStats dropTable = new JdbcApiStats();
     private final JdbcApiStats finishInsertTable = new JdbcApiStats();
+    private final JdbcApiStats getBulkWriter = new JdbcApiStats();
     private final JdbcApiStats getColumns = new JdbcApiStats();
     private final JdbcApiStats getConnectionWithHandle = new JdbcApiStats();
     private final JdbcApiStats getConnectionWithSplit = new JdbcApiStats();
@@ -148,6 +149,13 @@ public final class JdbcClientStats
         return finishInsertTable;
     }
 
+    @Managed
+    @Nested
+    public JdbcApiStats getGetBulkWriter()
+    {
+        return getBulkWriter;
+    }
+
     @Managed
     @Nested
     public JdbcApiStats getGetColumns()
@@ -13,6 +13,7 @@
  */
 package io.prestosql.plugin.jdbc.jmx;
 
+import io.prestosql.plugin.jdbc.BulkWriter;
 import io.prestosql.plugin.jdbc.ColumnMapping;
 import io.prestosql.plugin.jdbc.JdbcClient;
 import io.prestosql.plugin.jdbc.JdbcColumnHandle;
@@ -243,6 +244,13 @@ public final class StatisticsAwareJdbcClient
         return stats.getGetConnectionWithHandle().wrap(() -> delegate().getConnection(identity, handle));
     }
 
+    @Override
+    public Optional<BulkWriter> getBulkWriter(ConnectorSession session, Connection connection, JdbcOutputTableHandle handle)
+            throws SQLException
+    {
+        return stats.getGetBulkWriter().wrap(() -> delegate().getBulkWriter(session, connection, handle));
+    }
+
     @Override
     public PreparedStatement getPreparedStatement(Connection connection, String sql)
             throws SQLException
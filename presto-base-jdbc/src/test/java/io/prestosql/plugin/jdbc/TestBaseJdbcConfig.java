@@ -16,6 +16,7 @@ package io.prestosql.plugin.jdbc;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.airlift.units.Duration;
+import io.prestosql.spi.connector.SchemaTableName;
 import org.testng.annotations.Test;
 
 import java.util.Map;
@@ -38,7 +39,11 @@ public class TestBaseJdbcConfig
                 .setCaseInsensitiveNameMatchingCacheTtl(new Duration(1, MINUTES))
                 .setJdbcTypesMappedToVarchar("")
                 .setMetadataCacheTtl(Duration.valueOf("0m"))
-                .setCacheMissing(false));
+                .setCacheMissing(false)
+                .setParallelReadSplitCount(1)
+                .setParallelReadSplitColumns("")
+                .setParallelReadBoundsQueryTimeout(new Duration(10, SECONDS))
+                .setFetchSize(null));
     }
 
     @Test
@@ -51,6 +56,10 @@ public class TestBaseJdbcConfig
                 .put("jdbc-types-mapped-to-varchar", "mytype,struct_type1")
                 .put("metadata.cache-ttl", "1s")
                 .put("metadata.cache-missing", "true")
+                .put("parallel-read.split-count", "8")
+                .put("parallel-read.split-columns", "tpch.orders:orderkey,Sales.Events:event_date")
+                .put("parallel-read.bounds-query-timeout", "1m")
+                .put("fetch-size", "5000")
                 .build();
 
         BaseJdbcConfig expected = new BaseJdbcConfig()
@@ -59,10 +68,17 @@ public class TestBaseJdbcConfig
                 .setCaseInsensitiveNameMatchingCacheTtl(new Duration(1, SECONDS))
                 .setJdbcTypesMappedToVarchar("mytype, struct_type1")
                 .setMetadataCacheTtl(Duration.valueOf("1s"))
-                .setCacheMissing(true);
+                .setCacheMissing(true)
+                .setParallelReadSplitCount(8)
+                .setParallelReadSplitColumns("tpch.orders:orderkey, sales.events:event_date")
+                .setParallelReadBoundsQueryTimeout(new Duration(1, MINUTES))
+                .setFetchSize(5000);
 
         assertFullMapping(properties, expected);
 
         assertEquals(expected.getJdbcTypesMappedToVarchar(), ImmutableSet.of("mytype", "struct_type1"));
+        assertEquals(expected.getParallelReadSplitColumns(), ImmutableMap.of(
+                new SchemaTableName("tpch", "orders"), "orderkey",
+                new SchemaTableName("sales", "events"), "event_date"));
     }
 }
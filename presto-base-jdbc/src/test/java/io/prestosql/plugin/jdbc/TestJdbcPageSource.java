@@ -0,0 +1,144 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.jdbc;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.connector.SchemaTableName;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static io.prestosql.spi.connector.DynamicFilter.EMPTY;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.BooleanType.BOOLEAN;
+import static io.prestosql.spi.type.DateType.DATE;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static io.prestosql.testing.TestingConnectorSession.SESSION;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestJdbcPageSource
+{
+    private TestingDatabase database;
+    private JdbcSplit split;
+    private JdbcTableHandle table;
+    private JdbcColumnHandle textColumn;
+    private JdbcColumnHandle valueColumn;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception
+    {
+        database = new TestingDatabase();
+        table = database.getTableHandle(SESSION, new SchemaTableName("example", "numbers"));
+        split = database.getSplit(SESSION, table);
+
+        Map<String, JdbcColumnHandle> columns = database.getColumnHandles(SESSION, table);
+        textColumn = columns.get("text");
+        valueColumn = columns.get("value");
+
+        database.getConnection().createStatement().execute("CREATE TABLE example.column_types(c_integer integer, c_double double, c_boolean boolean, c_date date, c_varchar varchar)");
+        database.getConnection().createStatement().execute("INSERT INTO example.column_types VALUES (1, 1.5, true, DATE '2020-01-01', 'a'), (NULL, NULL, NULL, NULL, NULL)");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws Exception
+    {
+        database.close();
+    }
+
+    @Test
+    public void testReadPages()
+            throws IOException
+    {
+        // a fetch size smaller than the table forces several round trips
+        JdbcPageSourceProvider pageSourceProvider = new JdbcPageSourceProvider(database.getJdbcClient(), OptionalInt.of(2));
+        Map<String, Long> data = new LinkedHashMap<>();
+        try (ConnectorPageSource pageSource = pageSourceProvider.createPageSource(new JdbcTransactionHandle(), SESSION, split, table, ImmutableList.of(textColumn, valueColumn), EMPTY)) {
+            while (!pageSource.isFinished()) {
+                Page page = pageSource.getNextPage();
+                if (page == null) {
+                    continue;
+                }
+                assertEquals(page.getChannelCount(), 2);
+                for (int position = 0; position < page.getPositionCount(); position++) {
+                    assertFalse(page.getBlock(0).isNull(position));
+                    data.put(VARCHAR.getSlice(page.getBlock(0), position).toStringUtf8(), BIGINT.getLong(page.getBlock(1), position));
+                }
+            }
+            assertEquals(pageSource.getSystemMemoryUsage(), 0);
+        }
+        assertEquals(data, ImmutableMap.<String, Long>builder()
+                .put("one", 1L)
+                .put("two", 2L)
+                .put("three", 3L)
+                .put("ten", 10L)
+                .put("eleven", 11L)
+                .put("twelve", 12L)
+                .build());
+    }
+
+    @Test
+    public void testColumnTypes()
+    {
+        JdbcTableHandle typesTable = database.getTableHandle(SESSION, new SchemaTableName("example", "column_types"));
+        Map<String, JdbcColumnHandle> columns = database.getColumnHandles(SESSION, typesTable);
+        List<JdbcColumnHandle> columnHandles = ImmutableList.of(
+                columns.get("c_integer"),
+                columns.get("c_double"),
+                columns.get("c_boolean"),
+                columns.get("c_date"),
+                columns.get("c_varchar"));
+        try (JdbcPageSource pageSource = new JdbcPageSource(database.getJdbcClient(), SESSION, database.getSplit(SESSION, typesTable), typesTable, columnHandles, OptionalInt.empty())) {
+            Page page = pageSource.getNextPage();
+            assertTrue(pageSource.isFinished());
+            assertEquals(page.getPositionCount(), 2);
+
+            int valuePosition = page.getBlock(0).isNull(0) ? 1 : 0;
+            assertEquals(INTEGER.getLong(page.getBlock(0), valuePosition), 1);
+            assertEquals(DOUBLE.getDouble(page.getBlock(1), valuePosition), 1.5);
+            assertTrue(BOOLEAN.getBoolean(page.getBlock(2), valuePosition));
+            assertEquals(DATE.getLong(page.getBlock(3), valuePosition), LocalDate.of(2020, 1, 1).toEpochDay());
+            assertEquals(VARCHAR.getSlice(page.getBlock(4), valuePosition).toStringUtf8(), "a");
+            for (int channel = 0; channel < columnHandles.size(); channel++) {
+                assertTrue(page.getBlock(channel).isNull(1 - valuePosition));
+            }
+        }
+    }
+
+    @Test
+    public void testCloseBeforeFinished()
+    {
+        JdbcPageSource pageSource = new JdbcPageSource(database.getJdbcClient(), SESSION, split, table, ImmutableList.of(valueColumn), OptionalInt.empty());
+        assertFalse(pageSource.isFinished());
+        pageSource.close();
+        assertTrue(pageSource.isFinished());
+        assertNull(pageSource.getNextPage());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.jdbc;
+
+import com.google.common.collect.ImmutableList;
+import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.connector.ConnectorSession;
+import io.prestosql.spi.connector.ConnectorSplit;
+import io.prestosql.spi.connector.SchemaTableName;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Iterables.getOnlyElement;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.prestosql.spi.connector.NotPartitionedPartitionHandle.NOT_PARTITIONED;
+import static io.prestosql.testing.TestingSession.testSessionBuilder;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.testng.Assert.assertEquals;
+
+public class TestJdbcRangeSplits
+{
+    private static final ConnectorSession SESSION = testSessionBuilder().build().toConnectorSession();
+
+    private TestingDatabase database;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception
+    {
+        database = new TestingDatabase(new BaseJdbcConfig()
+                .setParallelReadSplitCount(4)
+                .setParallelReadSplitColumns("example.numbers:value,tpch.orders:orderkey,exa_ple.num_ers:te_t"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws Exception
+    {
+        database.close();
+        database = null;
+    }
+
+    @Test
+    public void testRangeSplits()
+            throws SQLException
+    {
+        JdbcTableHandle table = database.getTableHandle(SESSION, new SchemaTableName("example", "numbers"));
+        List<String> predicates = getSplits(table).stream()
+                .map(split -> split.getAdditionalPredicate().orElseThrow())
+                .collect(toImmutableList());
+        assertEquals(predicates, ImmutableList.of(
+                "(\"VALUE\" < 4 OR \"VALUE\" IS NULL)",
+                "\"VALUE\" >= 4 AND \"VALUE\" < 7",
+                "\"VALUE\" >= 7 AND \"VALUE\" < 10",
+                "\"VALUE\" >= 10"));
+
+        // every row is read by exactly one split
+        int rows = 0;
+        for (String predicate : predicates) {
+            rows += count("SELECT count(*) FROM example.numbers WHERE " + predicate);
+        }
+        assertEquals(rows, 6);
+    }
+
+    @Test
+    public void testEmptyTable()
+    {
+        JdbcTableHandle table = database.getTableHandle(SESSION, new SchemaTableName("tpch", "orders"));
+        assertEquals(getOnlyElement(getSplits(table)).getAdditionalPredicate(), Optional.empty());
+    }
+
+    @Test
+    public void testLimitIsNotSplit()
+    {
+        JdbcTableHandle table = database.getTableHandle(SESSION, new SchemaTableName("example", "numbers"));
+        JdbcTableHandle limited = new JdbcTableHandle(
+                table.getSchemaTableName(),
+                table.getRemoteTableName(),
+                table.getConstraint(),
+                table.getGroupingSets(),
+                OptionalLong.of(3),
+                table.getColumns());
+        assertEquals(getOnlyElement(getSplits(limited)).getAdditionalPredicate(), Optional.empty());
+    }
+
+    @Test
+    public void testUnsupportedSplitColumnType()
+    {
+        JdbcTableHandle table = database.getTableHandle(SESSION, new SchemaTableName("exa_ple", "num_ers"));
+        assertThatThrownBy(() -> getSplits(table))
+                .isInstanceOf(PrestoException.class)
+                .hasMessageContaining("of split column te_t");
+    }
+
+    private List<JdbcSplit> getSplits(JdbcTableHandle table)
+    {
+        List<ConnectorSplit> splits = getFutureValue(database.getJdbcClient().getSplits(SESSION, table).getNextBatch(NOT_PARTITIONED, 1000)).getSplits();
+        return splits.stream()
+                .map(JdbcSplit.class::cast)
+                .collect(toImmutableList());
+    }
+
+    private int count(String sql)
+            throws SQLException
+    {
+        try (Statement statement = database.getConnection().createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
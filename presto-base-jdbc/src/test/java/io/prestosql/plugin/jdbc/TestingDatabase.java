@@ -40,10 +40,16 @@ final class TestingDatabase
 
     public TestingDatabase()
             throws SQLException
+    {
+        this(new BaseJdbcConfig());
+    }
+
+    public TestingDatabase(BaseJdbcConfig config)
+            throws SQLException
     {
         String connectionUrl = "jdbc:h2:mem:test" + System.nanoTime() + ThreadLocalRandom.current().nextLong();
         jdbcClient = new TestingH2JdbcClient(
-                new BaseJdbcConfig(),
+                config,
                 new DriverConnectionFactory(new Driver(), connectionUrl, new Properties(), new EmptyCredentialProvider()));
 
         connection = DriverManager.getConnection(connectionUrl);
@@ -33,13 +33,16 @@ public class CassandraRecordCursor
 {
     private final List<CassandraType> cassandraTypes;
     private final ResultSet rs;
+    private final int prefetchThreshold;
     private Row currentRow;
     private long count;
 
-    public CassandraRecordCursor(CassandraSession cassandraSession, List<CassandraType> cassandraTypes, String cql)
+    public CassandraRecordCursor(CassandraSession cassandraSession, List<CassandraType> cassandraTypes, String cql, List<String> bindValues)
     {
         this.cassandraTypes = cassandraTypes;
-        rs = cassandraSession.execute(cql);
+        rs = bindValues.isEmpty() ? cassandraSession.execute(cql) : cassandraSession.executePrepared(cql, bindValues);
+        // the first page has the configured fetch size
+        prefetchThreshold = rs.getAvailableWithoutFetching() / 2;
         currentRow = null;
     }
 
@@ -47,6 +50,10 @@ public class CassandraRecordCursor
     public boolean advanceNextPosition()
     {
         if (!rs.isExhausted()) {
+            // fetch the next page in the background while the rest of the current page is consumed
+            if (rs.getAvailableWithoutFetching() <= prefetchThreshold && !rs.isFullyFetched()) {
+                rs.fetchMoreResults();
+            }
             currentRow = rs.one();
             count++;
             return true;
@@ -29,13 +29,15 @@ public class CassandraRecordSet
 {
     private final CassandraSession cassandraSession;
     private final String cql;
+    private final List<String> bindValues;
     private final List<CassandraType> cassandraTypes;
     private final List<Type> columnTypes;
 
-    public CassandraRecordSet(CassandraSession cassandraSession, String cql, List<CassandraColumnHandle> cassandraColumns)
+    public CassandraRecordSet(CassandraSession cassandraSession, String cql, List<String> bindValues, List<CassandraColumnHandle> cassandraColumns)
     {
         this.cassandraSession = requireNonNull(cassandraSession, "cassandraSession is null");
         this.cql = requireNonNull(cql, "cql is null");
+        this.bindValues = ImmutableList.copyOf(requireNonNull(bindValues, "bindValues is null"));
 
         requireNonNull(cassandraColumns, "cassandraColumns is null");
         this.cassandraTypes = transformList(cassandraColumns, CassandraColumnHandle::getCassandraType);
@@ -51,7 +53,7 @@ public class CassandraRecordSet
     @Override
     public RecordCursor cursor()
     {
-        return new CassandraRecordCursor(cassandraSession, cassandraTypes, cql);
+        return new CassandraRecordCursor(cassandraSession, cassandraTypes, cql, bindValues);
     }
 
     private static <T, R> List<R> transformList(List<T> list, Function<T, R> function)
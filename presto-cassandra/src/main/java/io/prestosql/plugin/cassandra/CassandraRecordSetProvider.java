@@ -62,6 +62,6 @@ public class CassandraRecordSetProvider
         String cql = sb.toString();
         log.debug("Creating record set: %s", cql);
 
-        return new CassandraRecordSet(cassandraSession, cql, cassandraColumns);
+        return new CassandraRecordSet(cassandraSession, cql, cassandraSplit.getSplitConditionValues(), cassandraColumns);
     }
 }
@@ -14,7 +14,10 @@
 package io.prestosql.plugin.cassandra;
 
 import com.datastax.driver.core.AbstractTableMetadata;
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.ColumnMetadata;
 import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.Host;
@@ -26,10 +29,12 @@ import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.datastax.driver.core.SchemaChangeListenerBase;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.TableMetadata;
 import com.datastax.driver.core.TokenRange;
+import com.datastax.driver.core.TypeCodec;
 import com.datastax.driver.core.VersionNumber;
 import com.datastax.driver.core.exceptions.NoHostAvailableException;
 import com.datastax.driver.core.policies.ReconnectionPolicy;
@@ -37,10 +42,13 @@ import com.datastax.driver.core.policies.ReconnectionPolicy.ReconnectionSchedule
 import com.datastax.driver.core.querybuilder.Clause;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.airlift.json.JsonCodec;
 import io.airlift.log.Logger;
 import io.airlift.units.Duration;
@@ -61,13 +69,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Suppliers.memoize;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Iterables.transform;
@@ -92,18 +103,49 @@ public class CassandraSession
     private static final String SYSTEM = "system";
     private static final String SIZE_ESTIMATES = "size_estimates";
     private static final VersionNumber PARTITION_FETCH_WITH_IN_PREDICATE_VERSION = VersionNumber.parse("2.2");
+    private static final int PREPARED_STATEMENT_CACHE_SIZE = 1_000;
 
     private final JsonCodec<List<ExtraColumnMetadata>> extraColumnMetadataCodec;
     private final Cluster cluster;
     private final Supplier<Session> session;
     private final Duration noHostAvailableRetryTimeout;
+    private final Cache<String, PreparedStatement> preparedStatements = CacheBuilder.newBuilder()
+            .maximumSize(PREPARED_STATEMENT_CACHE_SIZE)
+            .build();
 
     public CassandraSession(JsonCodec<List<ExtraColumnMetadata>> extraColumnMetadataCodec, Cluster cluster, Duration noHostAvailableRetryTimeout)
     {
         this.extraColumnMetadataCodec = requireNonNull(extraColumnMetadataCodec, "extraColumnMetadataCodec is null");
         this.cluster = requireNonNull(cluster, "cluster is null");
         this.noHostAvailableRetryTimeout = requireNonNull(noHostAvailableRetryTimeout, "noHostAvailableRetryTimeout is null");
-        this.session = memoize(cluster::connect);
+        this.session = memoize(this::connect);
+    }
+
+    private Session connect()
+    {
+        Session session = cluster.connect();
+        // prepared statements carry the result metadata of the table they were prepared for
+        session.getCluster().register(new SchemaChangeListenerBase()
+        {
+            @Override
+            public void onKeyspaceRemoved(KeyspaceMetadata keyspace)
+            {
+                preparedStatements.invalidateAll();
+            }
+
+            @Override
+            public void onTableRemoved(TableMetadata table)
+            {
+                preparedStatements.invalidateAll();
+            }
+
+            @Override
+            public void onTableChanged(TableMetadata current, TableMetadata previous)
+            {
+                preparedStatements.invalidateAll();
+            }
+        });
+        return session;
     }
 
     public VersionNumber getCassandraVersion()
@@ -443,6 +485,33 @@ public class CassandraSession
         return executeWithSession(session -> session.execute(statement));
     }
 
+    /**
+     * Executes the statement with the given CQL literals bound to its bind markers.
+     * The statement is prepared once and reused by all executions with the same CQL.
+     */
+    public ResultSet executePrepared(String cql, List<String> values)
+    {
+        log.debug("Execute prepared cql: %s with values %s", cql, values);
+        PreparedStatement statement;
+        try {
+            statement = preparedStatements.get(cql, () -> executeWithSession(session -> session.prepare(cql)));
+        }
+        catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+
+        ColumnDefinitions variables = statement.getVariables();
+        checkArgument(variables.size() == values.size(), "Expected %s values for %s, but got %s", variables.size(), cql, values.size());
+        CodecRegistry codecRegistry = cluster.getConfiguration().getCodecRegistry();
+        BoundStatement boundStatement = statement.bind();
+        for (int i = 0; i < values.size(); i++) {
+            TypeCodec<Object> codec = codecRegistry.codecFor(variables.getType(i));
+            boundStatement.set(i, codec.parse(values.get(i)), codec);
+        }
+        return execute(boundStatement);
+    }
+
     private Iterable<Row> queryPartitionKeysWithInClauses(CassandraTable table, List<Set<Object>> filterPrefixes)
     {
         CassandraTableHandle tableHandle = table.getTableHandle();
@@ -503,7 +572,7 @@ public class CassandraSession
     public List<SizeEstimate> getSizeEstimates(String keyspaceName, String tableName)
     {
         checkSizeEstimatesTableExist();
-        Statement statement = select("partitions_count")
+        Statement statement = select("range_start", "range_end", "partitions_count")
                 .from(SYSTEM, SIZE_ESTIMATES)
                 .where(eq("keyspace_name", keyspaceName))
                 .and(eq("table_name", tableName));
@@ -511,7 +580,7 @@ public class CassandraSession
         ResultSet result = executeWithSession(session -> session.execute(statement));
         ImmutableList.Builder<SizeEstimate> estimates = ImmutableList.builder();
         for (Row row : result.all()) {
-            SizeEstimate estimate = new SizeEstimate(row.getLong("partitions_count"));
+            SizeEstimate estimate = new SizeEstimate(row.getString("range_start"), row.getString("range_end"), row.getLong("partitions_count"));
             estimates.add(estimate);
         }
 
@@ -31,19 +31,28 @@ public class CassandraSplit
     private final String partitionId;
     private final List<HostAddress> addresses;
     private final String splitCondition;
+    private final List<String> splitConditionValues;
+
+    public CassandraSplit(String partitionId, String splitCondition, List<HostAddress> addresses)
+    {
+        this(partitionId, splitCondition, ImmutableList.of(), addresses);
+    }
 
     @JsonCreator
     public CassandraSplit(
             @JsonProperty("partitionId") String partitionId,
             @JsonProperty("splitCondition") String splitCondition,
+            @JsonProperty("splitConditionValues") List<String> splitConditionValues,
             @JsonProperty("addresses") List<HostAddress> addresses)
     {
         requireNonNull(partitionId, "partitionName is null");
+        requireNonNull(splitConditionValues, "splitConditionValues is null");
         requireNonNull(addresses, "addresses is null");
 
         this.partitionId = partitionId;
         this.addresses = ImmutableList.copyOf(addresses);
         this.splitCondition = splitCondition;
+        this.splitConditionValues = ImmutableList.copyOf(splitConditionValues);
     }
 
     @JsonProperty
@@ -52,6 +61,15 @@ public class CassandraSplit
         return splitCondition;
     }
 
+    /**
+     * Returns the CQL literals bound to the bind markers of the split condition.
+     */
+    @JsonProperty
+    public List<String> getSplitConditionValues()
+    {
+        return splitConditionValues;
+    }
+
     @JsonProperty
     public String getPartitionId()
     {
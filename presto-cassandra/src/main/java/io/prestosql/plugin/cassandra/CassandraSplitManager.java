@@ -130,18 +130,20 @@ public class CassandraSplitManager
         ImmutableList.Builder<ConnectorSplit> builder = ImmutableList.builder();
         List<CassandraTokenSplitManager.TokenSplit> tokenSplits = tokenSplitMgr.getSplits(schema, tableName, sessionSplitsPerNode);
         for (CassandraTokenSplitManager.TokenSplit tokenSplit : tokenSplits) {
-            String condition = buildTokenCondition(tokenExpression, tokenSplit.getStartToken(), tokenSplit.getEndToken());
+            // the tokens are bound to a prepared statement shared by all token splits of the table
+            String condition = buildTokenCondition(tokenExpression);
+            List<String> tokens = ImmutableList.of(tokenSplit.getStartToken(), tokenSplit.getEndToken());
             List<HostAddress> addresses = new HostAddressFactory().hostAddressNamesToHostAddressList(tokenSplit.getHosts());
-            CassandraSplit split = new CassandraSplit(partitionId, condition, addresses);
+            CassandraSplit split = new CassandraSplit(partitionId, condition, tokens, addresses);
             builder.add(split);
         }
 
         return builder.build();
     }
 
-    private static String buildTokenCondition(String tokenExpression, String startToken, String endToken)
+    private static String buildTokenCondition(String tokenExpression)
     {
-        return tokenExpression + " > " + startToken + " AND " + tokenExpression + " <= " + endToken;
+        return tokenExpression + " > ? AND " + tokenExpression + " <= ?";
     }
 
     private List<ConnectorSplit> getSplitsForPartitions(CassandraTableHandle cassTableHandle, List<CassandraPartition> partitions, String clusteringPredicates)
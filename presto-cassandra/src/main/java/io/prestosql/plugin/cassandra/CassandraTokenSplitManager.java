@@ -15,6 +15,7 @@ package io.prestosql.plugin.cassandra;
 
 import com.datastax.driver.core.Host;
 import com.datastax.driver.core.TokenRange;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import io.prestosql.spi.PrestoException;
@@ -128,9 +129,28 @@ public class CassandraTokenSplitManager
             return configSplitsPerNode.get();
         }
         List<SizeEstimate> estimates = session.getSizeEstimates(keyspace, table);
-        return estimates.stream()
+        long partitionsCount = estimates.stream()
                 .mapToLong(SizeEstimate::getPartitionsCount)
                 .sum();
+
+        // size estimates only cover the token ranges of the node the session is connected to
+        Optional<TokenRing> tokenRing = createForPartitioner(session.getPartitioner());
+        if (tokenRing.isEmpty()) {
+            return partitionsCount;
+        }
+        return extrapolatePartitionsCount(tokenRing.get(), estimates, partitionsCount);
+    }
+
+    @VisibleForTesting
+    static long extrapolatePartitionsCount(TokenRing tokenRing, List<SizeEstimate> estimates, long partitionsCount)
+    {
+        double ringFraction = estimates.stream()
+                .mapToDouble(estimate -> tokenRing.getRingFraction(estimate.getRangeStart(), estimate.getRangeEnd()))
+                .sum();
+        if (ringFraction <= 0 || ringFraction >= 1) {
+            return partitionsCount;
+        }
+        return round(partitionsCount / ringFraction);
     }
 
     private List<String> getEndpoints(String keyspace, TokenRange tokenRange)
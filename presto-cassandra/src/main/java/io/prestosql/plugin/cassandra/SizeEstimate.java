@@ -16,16 +16,31 @@ package io.prestosql.plugin.cassandra;
 import java.util.Objects;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
 
 public class SizeEstimate
 {
+    private final String rangeStart;
+    private final String rangeEnd;
     private final long partitionsCount;
 
-    public SizeEstimate(long partitionsCount)
+    public SizeEstimate(String rangeStart, String rangeEnd, long partitionsCount)
     {
+        this.rangeStart = requireNonNull(rangeStart, "rangeStart is null");
+        this.rangeEnd = requireNonNull(rangeEnd, "rangeEnd is null");
         this.partitionsCount = partitionsCount;
     }
 
+    public String getRangeStart()
+    {
+        return rangeStart;
+    }
+
+    public String getRangeEnd()
+    {
+        return rangeEnd;
+    }
+
     public long getPartitionsCount()
     {
         return partitionsCount;
@@ -41,19 +56,23 @@ public class SizeEstimate
             return false;
         }
         SizeEstimate that = (SizeEstimate) o;
-        return partitionsCount == that.partitionsCount;
+        return partitionsCount == that.partitionsCount &&
+                rangeStart.equals(that.rangeStart) &&
+                rangeEnd.equals(that.rangeEnd);
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(partitionsCount);
+        return Objects.hash(rangeStart, rangeEnd, partitionsCount);
     }
 
     @Override
     public String toString()
     {
         return toStringHelper(this)
+                .add("rangeStart", rangeStart)
+                .add("rangeEnd", rangeEnd)
                 .add("partitionsCount", partitionsCount)
                 .toString();
     }
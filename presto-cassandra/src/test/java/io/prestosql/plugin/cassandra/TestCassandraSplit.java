@@ -40,6 +40,19 @@ public class TestCassandraSplit
         assertEquals(actual.getAddresses(), expected.getAddresses());
     }
 
+    @Test
+    public void testJsonRoundTripWithSplitConditionValues()
+    {
+        CassandraSplit expected = new CassandraSplit(CassandraPartition.UNPARTITIONED_ID, "token(k) > ? AND token(k) <= ?", ImmutableList.of("-1", "2"), addresses);
+
+        String json = codec.toJson(expected);
+        CassandraSplit actual = codec.fromJson(json);
+
+        assertEquals(actual.getSplitCondition(), expected.getSplitCondition());
+        assertEquals(actual.getSplitConditionValues(), ImmutableList.of("-1", "2"));
+        assertEquals(actual.getWhereClause(), " WHERE token(k) > ? AND token(k) <= ?");
+    }
+
     @Test
     public void testWhereClause()
     {
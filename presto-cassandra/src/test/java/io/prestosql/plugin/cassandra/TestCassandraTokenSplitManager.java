@@ -13,6 +13,7 @@
  */
 package io.prestosql.plugin.cassandra;
 
+import com.google.common.collect.ImmutableList;
 import io.prestosql.plugin.cassandra.CassandraTokenSplitManager.TokenSplit;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -102,4 +103,23 @@ public class TestCassandraTokenSplitManager
         assertThat(splits).hasSizeBetween(expectedTokenSplitSize, expectedTokenSplitSize + 1);
         session.execute(format("DROP TABLE %s.%s", KEYSPACE, tableName));
     }
+
+    @Test
+    public void testExtrapolatePartitionsCount()
+    {
+        TokenRing tokenRing = Murmur3PartitionerTokenRing.INSTANCE;
+
+        // estimates of a node owning a quarter of the ring
+        List<SizeEstimate> quarter = ImmutableList.of(
+                new SizeEstimate("-9223372036854775808", "-6917529027641081856", 40),
+                new SizeEstimate("-6917529027641081856", "-4611686018427387904", 60));
+        assertEquals(CassandraTokenSplitManager.extrapolatePartitionsCount(tokenRing, quarter, 100), 400);
+
+        // estimates covering the whole ring are used as is
+        List<SizeEstimate> wholeRing = ImmutableList.of(
+                new SizeEstimate("-9223372036854775808", "0", 40),
+                new SizeEstimate("0", "-9223372036854775808", 60));
+        assertEquals(CassandraTokenSplitManager.extrapolatePartitionsCount(tokenRing, wholeRing, 100), 100);
+        assertEquals(CassandraTokenSplitManager.extrapolatePartitionsCount(tokenRing, ImmutableList.of(), 0), 0);
+    }
 }
@@ -0,0 +1,292 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.elasticsearch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import io.airlift.json.ObjectMapperProvider;
+import io.prestosql.elasticsearch.client.ElasticsearchClient;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PageBuilder;
+import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.type.Type;
+import org.elasticsearch.index.query.QueryBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.prestosql.elasticsearch.ElasticsearchAggregate.Metric.DOC_COUNT;
+import static io.prestosql.elasticsearch.ElasticsearchAggregate.Metric.SUM;
+import static io.prestosql.elasticsearch.ElasticsearchErrorCode.ELASTICSEARCH_INVALID_RESPONSE;
+import static io.prestosql.elasticsearch.ElasticsearchQueryBuilder.buildSearchQuery;
+import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.BooleanType.BOOLEAN;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.RealType.REAL;
+import static io.prestosql.spi.type.SmallintType.SMALLINT;
+import static io.prestosql.spi.type.TimestampType.TIMESTAMP_MILLIS;
+import static io.prestosql.spi.type.Timestamps.MICROSECONDS_PER_MILLISECOND;
+import static io.prestosql.spi.type.TinyintType.TINYINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static java.lang.Float.floatToRawIntBits;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the result of an aggregation computed by Elasticsearch. Grouped aggregations are
+ * read page by page using a composite aggregation, global aggregations with a single request.
+ */
+public class AggregationQueryPageSource
+        implements ConnectorPageSource
+{
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapperProvider().get();
+
+    private static final String GROUPS = "groups";
+    private static final String GLOBAL = "global";
+    private static final String GROUP_KEY_PREFIX = "group_";
+    private static final String VALUE_COUNT_SUFFIX = "_count";
+
+    private final ElasticsearchClient client;
+    private final String index;
+    private final QueryBuilder query;
+    private final ElasticsearchAggregation aggregation;
+    private final List<ColumnReader> readers;
+    private final List<Type> types;
+    private final int pageSize;
+
+    private long remaining;
+    private Optional<JsonNode> afterKey = Optional.empty();
+    private boolean finished;
+    private long readTimeNanos;
+
+    public AggregationQueryPageSource(
+            ElasticsearchClient client,
+            ElasticsearchTableHandle table,
+            List<ElasticsearchColumnHandle> columns,
+            int pageSize)
+    {
+        this.client = requireNonNull(client, "client is null");
+        requireNonNull(table, "table is null");
+        requireNonNull(columns, "columns is null");
+
+        this.index = table.getIndex();
+        this.query = buildSearchQuery(table.getConstraint().transform(ElasticsearchColumnHandle.class::cast), table.getQuery());
+        this.aggregation = table.getAggregation().orElseThrow(() -> new IllegalArgumentException("table is not aggregated"));
+        this.pageSize = pageSize;
+        this.remaining = table.getLimit().orElse(Long.MAX_VALUE);
+
+        Map<String, ColumnReader> readersByName = new HashMap<>();
+        List<String> groupingFields = aggregation.getGroupingFields();
+        for (int i = 0; i < groupingFields.size(); i++) {
+            String key = GROUP_KEY_PREFIX + i;
+            readersByName.put(groupingFields.get(i), bucket -> bucket.path("key").path(key));
+        }
+        for (ElasticsearchAggregate metric : aggregation.getMetrics()) {
+            readersByName.put(metric.getName(), valueReader(metric));
+        }
+
+        this.readers = columns.stream()
+                .map(column -> requireNonNull(readersByName.get(column.getName()), () -> "Unexpected column: " + column))
+                .collect(toImmutableList());
+        this.types = columns.stream()
+                .map(ElasticsearchColumnHandle::getType)
+                .collect(toImmutableList());
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return 0;
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return readTimeNanos;
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return finished;
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        if (finished) {
+            return null;
+        }
+
+        List<JsonNode> buckets;
+        long start = System.nanoTime();
+        if (aggregation.isGlobal()) {
+            JsonNode result = client.aggregate(index, query, buildGlobalAggregation()).path(GLOBAL);
+            buckets = ImmutableList.of(result);
+            finished = true;
+        }
+        else {
+            int size = toIntExact(min(pageSize, remaining));
+            JsonNode result = client.aggregate(index, query, buildCompositeAggregation(size)).path(GROUPS);
+            buckets = ImmutableList.copyOf(result.path("buckets"));
+            afterKey = Optional.of(result.path("after_key")).filter(JsonNode::isObject);
+            finished = buckets.size() < size || afterKey.isEmpty();
+        }
+        readTimeNanos += System.nanoTime() - start;
+
+        if (buckets.size() > remaining) {
+            buckets = buckets.subList(0, toIntExact(remaining));
+        }
+        remaining -= buckets.size();
+        if (remaining == 0) {
+            finished = true;
+        }
+
+        PageBuilder pageBuilder = new PageBuilder(buckets.size(), types);
+        for (JsonNode bucket : buckets) {
+            pageBuilder.declarePosition();
+            for (int channel = 0; channel < readers.size(); channel++) {
+                writeValue(types.get(channel), readers.get(channel).read(bucket), pageBuilder.getBlockBuilder(channel));
+            }
+        }
+        return pageBuilder.build();
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return 0;
+    }
+
+    @Override
+    public void close()
+    {
+    }
+
+    private ObjectNode buildGlobalAggregation()
+    {
+        // a filter bucket reports an exact document count, unlike the total hits of the search
+        ObjectNode global = OBJECT_MAPPER.createObjectNode();
+        global.putObject("filter").putObject("match_all");
+        addMetrics(global);
+
+        ObjectNode aggregations = OBJECT_MAPPER.createObjectNode();
+        aggregations.set(GLOBAL, global);
+        return aggregations;
+    }
+
+    private ObjectNode buildCompositeAggregation(int size)
+    {
+        ObjectNode composite = OBJECT_MAPPER.createObjectNode();
+        composite.put("size", size);
+        List<String> groupingFields = aggregation.getGroupingFields();
+        for (int i = 0; i < groupingFields.size(); i++) {
+            ObjectNode terms = composite.withArray("sources")
+                    .addObject()
+                    .putObject(GROUP_KEY_PREFIX + i)
+                    .putObject("terms");
+            terms.put("field", groupingFields.get(i));
+            terms.put("missing_bucket", true);
+        }
+        afterKey.ifPresent(key -> composite.set("after", key));
+
+        ObjectNode groups = OBJECT_MAPPER.createObjectNode();
+        groups.set("composite", composite);
+        addMetrics(groups);
+
+        ObjectNode aggregations = OBJECT_MAPPER.createObjectNode();
+        aggregations.set(GROUPS, groups);
+        return aggregations;
+    }
+
+    private void addMetrics(ObjectNode bucketAggregation)
+    {
+        ObjectNode metrics = OBJECT_MAPPER.createObjectNode();
+        for (ElasticsearchAggregate metric : aggregation.getMetrics()) {
+            if (metric.getMetric() == DOC_COUNT) {
+                continue;
+            }
+            String field = metric.getField().get();
+            metrics.putObject(metric.getName()).putObject(metric.getMetric().getAggregationType().get()).put("field", field);
+            if (metric.getMetric() == SUM) {
+                // Elasticsearch returns 0 for the sum of no values, where SQL returns null
+                metrics.putObject(metric.getName() + VALUE_COUNT_SUFFIX).putObject("value_count").put("field", field);
+            }
+        }
+        if (metrics.size() > 0) {
+            bucketAggregation.set("aggs", metrics);
+        }
+    }
+
+    private static ColumnReader valueReader(ElasticsearchAggregate metric)
+    {
+        String name = metric.getName();
+        if (metric.getMetric() == DOC_COUNT) {
+            return bucket -> bucket.path("doc_count");
+        }
+        if (metric.getMetric() == SUM) {
+            return bucket -> bucket.path(name + VALUE_COUNT_SUFFIX).path("value").asLong() == 0 ? null : bucket.path(name).path("value");
+        }
+        return bucket -> bucket.path(name).path("value");
+    }
+
+    private static void writeValue(Type type, JsonNode value, BlockBuilder output)
+    {
+        if (value == null || value.isNull() || value.isMissingNode()) {
+            output.appendNull();
+        }
+        else if (type.equals(BIGINT) || type.equals(INTEGER) || type.equals(SMALLINT) || type.equals(TINYINT)) {
+            type.writeLong(output, value.isIntegralNumber() ? value.asLong() : (long) value.asDouble());
+        }
+        else if (type.equals(DOUBLE)) {
+            type.writeDouble(output, value.asDouble());
+        }
+        else if (type.equals(REAL)) {
+            type.writeLong(output, floatToRawIntBits((float) value.asDouble()));
+        }
+        else if (type.equals(BOOLEAN)) {
+            // terms keys of boolean fields are reported as numbers by some versions
+            type.writeBoolean(output, value.isBoolean() ? value.asBoolean() : value.isNumber() ? value.asLong() != 0 : Boolean.parseBoolean(value.asText()));
+        }
+        else if (type.equals(VARCHAR)) {
+            type.writeSlice(output, utf8Slice(value.asText()));
+        }
+        else if (type.equals(TIMESTAMP_MILLIS)) {
+            if (!value.isNumber()) {
+                throw new PrestoException(ELASTICSEARCH_INVALID_RESPONSE, format("Unexpected timestamp value in aggregation result: %s", value));
+            }
+            type.writeLong(output, (long) value.asDouble() * MICROSECONDS_PER_MILLISECOND);
+        }
+        else {
+            throw new PrestoException(NOT_SUPPORTED, "Unsupported type in aggregation result: " + type);
+        }
+    }
+
+    private interface ColumnReader
+    {
+        JsonNode read(JsonNode bucket);
+    }
+}
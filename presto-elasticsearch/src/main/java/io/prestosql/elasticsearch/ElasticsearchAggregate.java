@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.elasticsearch;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Metric aggregation computed by Elasticsearch in every bucket, and reported under the name
+ * of the output column. The document count of the bucket is reported without requesting a metric.
+ */
+public final class ElasticsearchAggregate
+{
+    public enum Metric
+    {
+        DOC_COUNT(Optional.empty()),
+        VALUE_COUNT(Optional.of("value_count")),
+        MIN(Optional.of("min")),
+        MAX(Optional.of("max")),
+        SUM(Optional.of("sum")),
+        AVG(Optional.of("avg"));
+
+        private final Optional<String> aggregationType;
+
+        Metric(Optional<String> aggregationType)
+        {
+            this.aggregationType = aggregationType;
+        }
+
+        /**
+         * Returns the type of the Elasticsearch metrics aggregation, or empty for the document count of the bucket.
+         */
+        public Optional<String> getAggregationType()
+        {
+            return aggregationType;
+        }
+    }
+
+    private final String name;
+    private final Metric metric;
+    private final Optional<String> field;
+
+    @JsonCreator
+    public ElasticsearchAggregate(
+            @JsonProperty("name") String name,
+            @JsonProperty("metric") Metric metric,
+            @JsonProperty("field") Optional<String> field)
+    {
+        this.name = requireNonNull(name, "name is null");
+        this.metric = requireNonNull(metric, "metric is null");
+        this.field = requireNonNull(field, "field is null");
+        checkArgument(field.isPresent() == metric.getAggregationType().isPresent(), "field is required for metric aggregations and not allowed for the document count");
+    }
+
+    @JsonProperty
+    public String getName()
+    {
+        return name;
+    }
+
+    @JsonProperty
+    public Metric getMetric()
+    {
+        return metric;
+    }
+
+    @JsonProperty
+    public Optional<String> getField()
+    {
+        return field;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ElasticsearchAggregate that = (ElasticsearchAggregate) o;
+        return name.equals(that.name) &&
+                metric == that.metric &&
+                field.equals(that.field);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(name, metric, field);
+    }
+
+    @Override
+    public String toString()
+    {
+        return name + ":" + metric.getAggregationType()
+                .map(type -> type + "(" + field.get() + ")")
+                .orElse("doc_count");
+    }
+}
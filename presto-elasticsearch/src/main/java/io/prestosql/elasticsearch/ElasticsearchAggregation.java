@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.elasticsearch;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Aggregation computed by Elasticsearch. Grouped aggregations are a composite aggregation with
+ * a terms source for each grouping field, and a global aggregation is a single bucket with all documents.
+ * The grouping fields are reported under their own names.
+ */
+public final class ElasticsearchAggregation
+{
+    private final List<String> groupingFields;
+    private final List<ElasticsearchAggregate> metrics;
+
+    @JsonCreator
+    public ElasticsearchAggregation(
+            @JsonProperty("groupingFields") List<String> groupingFields,
+            @JsonProperty("metrics") List<ElasticsearchAggregate> metrics)
+    {
+        this.groupingFields = ImmutableList.copyOf(requireNonNull(groupingFields, "groupingFields is null"));
+        this.metrics = ImmutableList.copyOf(requireNonNull(metrics, "metrics is null"));
+    }
+
+    @JsonProperty
+    public List<String> getGroupingFields()
+    {
+        return groupingFields;
+    }
+
+    @JsonProperty
+    public List<ElasticsearchAggregate> getMetrics()
+    {
+        return metrics;
+    }
+
+    public boolean isGlobal()
+    {
+        return groupingFields.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ElasticsearchAggregation that = (ElasticsearchAggregation) o;
+        return groupingFields.equals(that.groupingFields) &&
+                metrics.equals(that.metrics);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(groupingFields, metrics);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "terms=" + groupingFields + ", metrics=" + metrics;
+    }
+}
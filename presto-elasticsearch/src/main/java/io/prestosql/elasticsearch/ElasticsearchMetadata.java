@@ -20,12 +20,16 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.BaseEncoding;
 import io.airlift.json.ObjectMapperProvider;
+import io.prestosql.elasticsearch.ElasticsearchAggregate.Metric;
 import io.prestosql.elasticsearch.client.ElasticsearchClient;
 import io.prestosql.elasticsearch.client.IndexMetadata;
 import io.prestosql.elasticsearch.client.IndexMetadata.DateTimeType;
 import io.prestosql.elasticsearch.client.IndexMetadata.ObjectType;
 import io.prestosql.elasticsearch.client.IndexMetadata.PrimitiveType;
 import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.connector.AggregateFunction;
+import io.prestosql.spi.connector.AggregationApplicationResult;
+import io.prestosql.spi.connector.Assignment;
 import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ColumnMetadata;
 import io.prestosql.spi.connector.ConnectorMetadata;
@@ -38,6 +42,10 @@ import io.prestosql.spi.connector.ConstraintApplicationResult;
 import io.prestosql.spi.connector.LimitApplicationResult;
 import io.prestosql.spi.connector.SchemaTableName;
 import io.prestosql.spi.connector.SchemaTablePrefix;
+import io.prestosql.spi.connector.SortItem;
+import io.prestosql.spi.connector.TopNApplicationResult;
+import io.prestosql.spi.expression.ConnectorExpression;
+import io.prestosql.spi.expression.Variable;
 import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.predicate.TupleDomain;
 import io.prestosql.spi.type.ArrayType;
@@ -46,6 +54,7 @@ import io.prestosql.spi.type.StandardTypes;
 import io.prestosql.spi.type.Type;
 import io.prestosql.spi.type.TypeManager;
 import io.prestosql.spi.type.TypeSignature;
+import org.elasticsearch.search.sort.SortOrder;
 
 import javax.inject.Inject;
 
@@ -57,7 +66,10 @@ import java.util.OptionalLong;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static io.prestosql.elasticsearch.ElasticsearchSortItem.MISSING_FIRST;
+import static io.prestosql.elasticsearch.ElasticsearchSortItem.MISSING_LAST;
 import static io.prestosql.elasticsearch.ElasticsearchTableHandle.Type.QUERY;
 import static io.prestosql.elasticsearch.ElasticsearchTableHandle.Type.SCAN;
 import static io.prestosql.spi.StandardErrorCode.INVALID_ARGUMENTS;
@@ -90,6 +102,16 @@ public class ElasticsearchMetadata
             .setHidden(false)
             .build();
 
+    private static final String AGGREGATE_COLUMN_PREFIX = "_presto_aggregate_";
+
+    private static final Set<Type> GROUPING_TYPES = ImmutableSet.of(BOOLEAN, TINYINT, SMALLINT, INTEGER, BIGINT, REAL, DOUBLE, VARCHAR);
+    private static final Set<Type> SORT_TYPES = ImmutableSet.<Type>builder()
+            .addAll(GROUPING_TYPES)
+            .add(TIMESTAMP_MILLIS)
+            .build();
+    private static final Set<Type> MIN_MAX_TYPES = ImmutableSet.of(TINYINT, SMALLINT, INTEGER, REAL, DOUBLE, TIMESTAMP_MILLIS);
+    private static final Set<Type> AVG_TYPES = ImmutableSet.of(TINYINT, SMALLINT, INTEGER, DOUBLE);
+
     private static final Map<String, ColumnHandle> PASSTHROUGH_QUERY_COLUMNS = ImmutableMap.of(
             PASSTHROUGH_QUERY_RESULT_COLUMN_NAME,
             new ElasticsearchColumnHandle(PASSTHROUGH_QUERY_RESULT_COLUMN_NAME, VARCHAR, false));
@@ -445,7 +467,9 @@ public class ElasticsearchMetadata
                 handle.getIndex(),
                 handle.getConstraint(),
                 handle.getQuery(),
-                OptionalLong.of(limit));
+                OptionalLong.of(limit),
+                handle.getAggregation(),
+                handle.getSort());
 
         return Optional.of(new LimitApplicationResult<>(handle, false));
     }
@@ -460,6 +484,11 @@ public class ElasticsearchMetadata
             return Optional.empty();
         }
 
+        if (handle.getAggregation().isPresent()) {
+            // the filter would apply to the aggregated rows
+            return Optional.empty();
+        }
+
         Map<ColumnHandle, Domain> supported = new HashMap<>();
         Map<ColumnHandle, Domain> unsupported = new HashMap<>();
         if (constraint.getSummary().getDomains().isPresent()) {
@@ -487,11 +516,189 @@ public class ElasticsearchMetadata
                 handle.getIndex(),
                 newDomain,
                 handle.getQuery(),
-                handle.getLimit());
+                handle.getLimit(),
+                handle.getAggregation(),
+                handle.getSort());
 
         return Optional.of(new ConstraintApplicationResult<>(handle, TupleDomain.withColumnDomains(unsupported)));
     }
 
+    @Override
+    public Optional<AggregationApplicationResult<ConnectorTableHandle>> applyAggregation(
+            ConnectorSession session,
+            ConnectorTableHandle table,
+            List<AggregateFunction> aggregates,
+            Map<String, ColumnHandle> assignments,
+            List<List<ColumnHandle>> groupingSets)
+    {
+        ElasticsearchTableHandle handle = (ElasticsearchTableHandle) table;
+
+        if (isPassthroughQuery(handle) || handle.getAggregation().isPresent()) {
+            return Optional.empty();
+        }
+
+        if (handle.getLimit().isPresent()) {
+            // handle's limit is applied after aggregations, so we cannot apply aggregations if limit is already set
+            return Optional.empty();
+        }
+
+        if (groupingSets.size() != 1) {
+            return Optional.empty();
+        }
+
+        List<ElasticsearchColumnHandle> groupingColumns = groupingSets.get(0).stream()
+                .map(ElasticsearchColumnHandle.class::cast)
+                .collect(toImmutableList());
+        if (!groupingColumns.stream().allMatch(column -> isDocValueColumn(column, GROUPING_TYPES))) {
+            return Optional.empty();
+        }
+        if (!groupingColumns.isEmpty() && !client.supportsCompositeAggregation()) {
+            return Optional.empty();
+        }
+
+        ImmutableList.Builder<ElasticsearchAggregate> elasticsearchAggregates = ImmutableList.builder();
+        ImmutableList.Builder<ConnectorExpression> projections = ImmutableList.builder();
+        ImmutableList.Builder<Assignment> resultAssignments = ImmutableList.builder();
+        for (int i = 0; i < aggregates.size(); i++) {
+            AggregateFunction aggregate = aggregates.get(i);
+            ElasticsearchColumnHandle output = new ElasticsearchColumnHandle(AGGREGATE_COLUMN_PREFIX + i, aggregate.getOutputType(), false);
+            Optional<ElasticsearchAggregate> elasticsearchAggregate = toElasticsearchAggregate(aggregate, assignments, output.getName());
+            if (elasticsearchAggregate.isEmpty()) {
+                return Optional.empty();
+            }
+
+            elasticsearchAggregates.add(elasticsearchAggregate.get());
+            projections.add(new Variable(output.getName(), output.getType()));
+            resultAssignments.add(new Assignment(output.getName(), output, output.getType()));
+        }
+
+        handle = new ElasticsearchTableHandle(
+                handle.getType(),
+                handle.getSchema(),
+                handle.getIndex(),
+                handle.getConstraint(),
+                handle.getQuery(),
+                OptionalLong.empty(),
+                Optional.of(new ElasticsearchAggregation(
+                        groupingColumns.stream()
+                                .map(ElasticsearchColumnHandle::getName)
+                                .collect(toImmutableList()),
+                        elasticsearchAggregates.build())),
+                ImmutableList.of());
+
+        return Optional.of(new AggregationApplicationResult<>(handle, projections.build(), resultAssignments.build(), ImmutableMap.of()));
+    }
+
+    private static Optional<ElasticsearchAggregate> toElasticsearchAggregate(AggregateFunction aggregate, Map<String, ColumnHandle> assignments, String name)
+    {
+        if (aggregate.isDistinct() || aggregate.getFilter().isPresent() || !aggregate.getSortItems().isEmpty()) {
+            return Optional.empty();
+        }
+
+        Type outputType = aggregate.getOutputType();
+        if (aggregate.getInputs().isEmpty()) {
+            if (aggregate.getFunctionName().equals("count") && outputType.equals(BIGINT)) {
+                return Optional.of(new ElasticsearchAggregate(name, Metric.DOC_COUNT, Optional.empty()));
+            }
+            return Optional.empty();
+        }
+
+        if (aggregate.getInputs().size() != 1 || !(aggregate.getInputs().get(0) instanceof Variable)) {
+            return Optional.empty();
+        }
+        ElasticsearchColumnHandle input = (ElasticsearchColumnHandle) assignments.get(((Variable) aggregate.getInputs().get(0)).getName());
+        Type inputType = input.getType();
+
+        // Elasticsearch computes metrics as doubles, so only functions for which that is exact are pushed down
+        Metric metric;
+        switch (aggregate.getFunctionName()) {
+            case "count":
+                if (!isDocValueColumn(input, SORT_TYPES) || !outputType.equals(BIGINT)) {
+                    return Optional.empty();
+                }
+                metric = Metric.VALUE_COUNT;
+                break;
+            case "min":
+            case "max":
+                if (!isDocValueColumn(input, MIN_MAX_TYPES) || !outputType.equals(inputType)) {
+                    return Optional.empty();
+                }
+                metric = aggregate.getFunctionName().equals("min") ? Metric.MIN : Metric.MAX;
+                break;
+            case "sum":
+                if (!isDocValueColumn(input, ImmutableSet.of(DOUBLE)) || !outputType.equals(DOUBLE)) {
+                    return Optional.empty();
+                }
+                metric = Metric.SUM;
+                break;
+            case "avg":
+                if (!isDocValueColumn(input, AVG_TYPES) || !outputType.equals(DOUBLE)) {
+                    return Optional.empty();
+                }
+                metric = Metric.AVG;
+                break;
+            default:
+                return Optional.empty();
+        }
+
+        return Optional.of(new ElasticsearchAggregate(name, metric, Optional.of(input.getName())));
+    }
+
+    @Override
+    public Optional<TopNApplicationResult<ConnectorTableHandle>> applyTopN(
+            ConnectorSession session,
+            ConnectorTableHandle table,
+            long topNCount,
+            List<SortItem> sortItems,
+            Map<String, ColumnHandle> assignments)
+    {
+        ElasticsearchTableHandle handle = (ElasticsearchTableHandle) table;
+
+        if (isPassthroughQuery(handle) || handle.getAggregation().isPresent()) {
+            return Optional.empty();
+        }
+
+        if (handle.getLimit().isPresent()) {
+            // the limit is applied before the sort, or the TopN has already been pushed down
+            return Optional.empty();
+        }
+
+        ImmutableList.Builder<ElasticsearchSortItem> sort = ImmutableList.builder();
+        for (SortItem sortItem : sortItems) {
+            ElasticsearchColumnHandle column = (ElasticsearchColumnHandle) assignments.get(sortItem.getName());
+            if (!isDocValueColumn(column, SORT_TYPES)) {
+                return Optional.empty();
+            }
+            sort.add(new ElasticsearchSortItem(
+                    column.getName(),
+                    sortItem.getSortOrder().isAscending() ? SortOrder.ASC : SortOrder.DESC,
+                    sortItem.getSortOrder().isNullsFirst() ? MISSING_FIRST : MISSING_LAST));
+        }
+
+        handle = new ElasticsearchTableHandle(
+                handle.getType(),
+                handle.getSchema(),
+                handle.getIndex(),
+                handle.getConstraint(),
+                handle.getQuery(),
+                OptionalLong.of(topNCount),
+                handle.getAggregation(),
+                sort.build());
+
+        // every shard returns its top documents, so the engine still has to merge them
+        return Optional.of(new TopNApplicationResult<>(handle, false));
+    }
+
+    /**
+     * Whether Elasticsearch can sort and aggregate on the column, which requires a single valued field with doc values.
+     */
+    private static boolean isDocValueColumn(ElasticsearchColumnHandle column, Set<Type> supportedTypes)
+    {
+        return column.isSupportsPredicates() &&
+                !BuiltinColumns.NAMES.contains(column.getName()) &&
+                supportedTypes.contains(column.getType());
+    }
+
     private static boolean isPassthroughQuery(ElasticsearchTableHandle table)
     {
         return table.getType().equals(QUERY);
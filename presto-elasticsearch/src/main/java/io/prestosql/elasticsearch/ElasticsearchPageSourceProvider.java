@@ -35,11 +35,13 @@ public class ElasticsearchPageSourceProvider
         implements ConnectorPageSourceProvider
 {
     private final ElasticsearchClient client;
+    private final int aggregationPageSize;
 
     @Inject
-    public ElasticsearchPageSourceProvider(ElasticsearchClient client)
+    public ElasticsearchPageSourceProvider(ElasticsearchClient client, ElasticsearchConfig config)
     {
         this.client = requireNonNull(client, "client is null");
+        this.aggregationPageSize = requireNonNull(config, "config is null").getScrollSize();
     }
 
     @Override
@@ -61,6 +63,16 @@ public class ElasticsearchPageSourceProvider
             return new PassthroughQueryPageSource(client, elasticsearchTable);
         }
 
+        if (elasticsearchTable.getAggregation().isPresent()) {
+            return new AggregationQueryPageSource(
+                    client,
+                    elasticsearchTable,
+                    columns.stream()
+                            .map(ElasticsearchColumnHandle.class::cast)
+                            .collect(toImmutableList()),
+                    aggregationPageSize);
+        }
+
         if (columns.isEmpty()) {
             return new CountQueryPageSource(client, elasticsearchTable, elasticsearchSplit);
         }
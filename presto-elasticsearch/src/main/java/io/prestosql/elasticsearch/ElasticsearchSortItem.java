@@ -0,0 +1,103 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.elasticsearch;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+
+import java.util.Objects;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Field sort of a search request. Documents without a value for the field are placed
+ * according to {@code missing}, which is either {@code _first} or {@code _last}.
+ */
+public final class ElasticsearchSortItem
+{
+    public static final String MISSING_FIRST = "_first";
+    public static final String MISSING_LAST = "_last";
+
+    private final String field;
+    private final SortOrder order;
+    private final String missing;
+
+    @JsonCreator
+    public ElasticsearchSortItem(
+            @JsonProperty("field") String field,
+            @JsonProperty("order") SortOrder order,
+            @JsonProperty("missing") String missing)
+    {
+        this.field = requireNonNull(field, "field is null");
+        this.order = requireNonNull(order, "order is null");
+        this.missing = requireNonNull(missing, "missing is null");
+        checkArgument(missing.equals(MISSING_FIRST) || missing.equals(MISSING_LAST), "Invalid missing value: %s", missing);
+    }
+
+    @JsonProperty
+    public String getField()
+    {
+        return field;
+    }
+
+    @JsonProperty
+    public SortOrder getOrder()
+    {
+        return order;
+    }
+
+    @JsonProperty
+    public String getMissing()
+    {
+        return missing;
+    }
+
+    public SortBuilder<?> toSortBuilder()
+    {
+        return SortBuilders.fieldSort(field)
+                .order(order)
+                .missing(missing);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ElasticsearchSortItem that = (ElasticsearchSortItem) o;
+        return field.equals(that.field) &&
+                order == that.order &&
+                missing.equals(that.missing);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(field, order, missing);
+    }
+
+    @Override
+    public String toString()
+    {
+        return field + " " + order + " missing " + missing;
+    }
+}
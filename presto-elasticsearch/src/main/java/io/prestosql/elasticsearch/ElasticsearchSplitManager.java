@@ -53,7 +53,8 @@ public class ElasticsearchSplitManager
     {
         ElasticsearchTableHandle tableHandle = (ElasticsearchTableHandle) table;
 
-        if (tableHandle.getType().equals(QUERY)) {
+        if (tableHandle.getType().equals(QUERY) || tableHandle.getAggregation().isPresent()) {
+            // passthrough queries and aggregations run once against all shards of the index
             return new FixedSplitSource(ImmutableList.of(new ElasticsearchSplit(tableHandle.getIndex(), 0, Optional.empty())));
         }
         else {
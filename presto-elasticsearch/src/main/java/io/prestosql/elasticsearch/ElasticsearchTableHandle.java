@@ -15,10 +15,12 @@ package io.prestosql.elasticsearch;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
 import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ConnectorTableHandle;
 import io.prestosql.spi.predicate.TupleDomain;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
@@ -39,6 +41,8 @@ public final class ElasticsearchTableHandle
     private final TupleDomain<ColumnHandle> constraint;
     private final Optional<String> query;
     private final OptionalLong limit;
+    private final Optional<ElasticsearchAggregation> aggregation;
+    private final List<ElasticsearchSortItem> sort;
 
     public ElasticsearchTableHandle(Type type, String schema, String index, Optional<String> query)
     {
@@ -49,6 +53,8 @@ public final class ElasticsearchTableHandle
 
         constraint = TupleDomain.all();
         limit = OptionalLong.empty();
+        aggregation = Optional.empty();
+        sort = ImmutableList.of();
     }
 
     @JsonCreator
@@ -58,7 +64,9 @@ public final class ElasticsearchTableHandle
             @JsonProperty("index") String index,
             @JsonProperty("constraint") TupleDomain<ColumnHandle> constraint,
             @JsonProperty("query") Optional<String> query,
-            @JsonProperty("limit") OptionalLong limit)
+            @JsonProperty("limit") OptionalLong limit,
+            @JsonProperty("aggregation") Optional<ElasticsearchAggregation> aggregation,
+            @JsonProperty("sort") List<ElasticsearchSortItem> sort)
     {
         this.type = requireNonNull(type, "type is null");
         this.schema = requireNonNull(schema, "schema is null");
@@ -66,6 +74,8 @@ public final class ElasticsearchTableHandle
         this.constraint = requireNonNull(constraint, "constraint is null");
         this.query = requireNonNull(query, "query is null");
         this.limit = requireNonNull(limit, "limit is null");
+        this.aggregation = requireNonNull(aggregation, "aggregation is null");
+        this.sort = ImmutableList.copyOf(requireNonNull(sort, "sort is null"));
     }
 
     @JsonProperty
@@ -104,6 +114,25 @@ public final class ElasticsearchTableHandle
         return query;
     }
 
+    /**
+     * Returns the aggregation computed by Elasticsearch. The limit, if any, applies to the aggregated rows.
+     */
+    @JsonProperty
+    public Optional<ElasticsearchAggregation> getAggregation()
+    {
+        return aggregation;
+    }
+
+    /**
+     * Returns the order in which documents are read from each shard. Together with the limit
+     * this returns the top documents of every shard.
+     */
+    @JsonProperty
+    public List<ElasticsearchSortItem> getSort()
+    {
+        return sort;
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -119,13 +148,15 @@ public final class ElasticsearchTableHandle
                 index.equals(that.index) &&
                 constraint.equals(that.constraint) &&
                 query.equals(that.query) &&
-                limit.equals(that.limit);
+                limit.equals(that.limit) &&
+                aggregation.equals(that.aggregation) &&
+                sort.equals(that.sort);
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(type, schema, index, constraint, query, limit);
+        return Objects.hash(type, schema, index, constraint, query, limit, aggregation, sort);
     }
 
     @Override
@@ -137,6 +168,10 @@ public final class ElasticsearchTableHandle
         StringBuilder attributes = new StringBuilder();
         limit.ifPresent(value -> attributes.append("limit=" + value));
         query.ifPresent(value -> attributes.append("query" + value));
+        aggregation.ifPresent(value -> attributes.append(attributes.length() > 0 ? ", " : "").append("aggregation=" + value));
+        if (!sort.isEmpty()) {
+            attributes.append(attributes.length() > 0 ? ", " : "").append("sort=" + sort);
+        }
 
         if (attributes.length() > 0) {
             builder.append("(");
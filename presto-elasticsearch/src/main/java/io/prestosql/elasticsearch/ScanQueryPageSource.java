@@ -46,6 +46,8 @@ import io.prestosql.spi.type.Type;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -124,12 +126,18 @@ public class ScanQueryPageSource
                 .collect(toList());
 
         // sorting by _doc (index order) get special treatment in Elasticsearch and is more efficient
-        Optional<String> sort = Optional.of("_doc");
+        List<SortBuilder<?>> sort = ImmutableList.of(SortBuilders.fieldSort("_doc"));
 
-        if (table.getQuery().isPresent()) {
+        if (!table.getSort().isEmpty()) {
+            // The top documents of the shard, as requested by a pushed down TopN
+            sort = table.getSort().stream()
+                    .map(ElasticsearchSortItem::toSortBuilder)
+                    .collect(toImmutableList());
+        }
+        else if (table.getQuery().isPresent()) {
             // However, if we're using a custom Elasticsearch query, use default sorting.
             // Documents will be scored and returned based on relevance
-            sort = Optional.empty();
+            sort = ImmutableList.of();
         }
 
         long start = System.nanoTime();
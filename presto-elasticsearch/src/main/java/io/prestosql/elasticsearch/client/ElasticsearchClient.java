@@ -20,7 +20,9 @@ import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -61,6 +63,7 @@ import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilder;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
 
@@ -96,6 +99,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -126,6 +130,7 @@ public class ElasticsearchClient
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapperProvider().get();
 
     private static final Pattern ADDRESS_PATTERN = Pattern.compile("((?<cname>[^/]+)/)?(?<ip>.+):(?<port>\\d+)");
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(?<major>\\d+)\\.(?<minor>\\d+)");
 
     private final RestHighLevelClient client;
     private final int scrollSize;
@@ -141,6 +146,9 @@ public class ElasticsearchClient
     private final TimeStat searchStats = new TimeStat(MILLISECONDS);
     private final TimeStat nextPageStats = new TimeStat(MILLISECONDS);
     private final TimeStat countStats = new TimeStat(MILLISECONDS);
+    private final TimeStat aggregationStats = new TimeStat(MILLISECONDS);
+
+    private final Supplier<Boolean> compositeAggregationSupported = Suppliers.memoize(this::fetchCompositeAggregationSupported);
 
     @Inject
     public ElasticsearchClient(
@@ -610,7 +618,7 @@ public class ElasticsearchClient
         return body;
     }
 
-    public SearchResponse beginSearch(String index, int shard, QueryBuilder query, Optional<List<String>> fields, List<String> documentFields, Optional<String> sort, OptionalLong limit)
+    public SearchResponse beginSearch(String index, int shard, QueryBuilder query, Optional<List<String>> fields, List<String> documentFields, List<SortBuilder<?>> sort, OptionalLong limit)
     {
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource()
                 .query(query);
@@ -623,7 +631,7 @@ public class ElasticsearchClient
             sourceBuilder.size(scrollSize);
         }
 
-        sort.ifPresent(sourceBuilder::sort);
+        sort.forEach(sourceBuilder::sort);
 
         fields.ifPresent(values -> {
             if (values.isEmpty()) {
@@ -724,6 +732,90 @@ public class ElasticsearchClient
         }
     }
 
+    /**
+     * Runs the aggregations over all shards of the index and returns the {@code aggregations} section of the response.
+     */
+    public JsonNode aggregate(String index, QueryBuilder query, ObjectNode aggregations)
+    {
+        ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        body.put("size", 0);
+        try {
+            body.set("query", OBJECT_MAPPER.readTree(query.toString()));
+        }
+        catch (IOException e) {
+            throw new PrestoException(ELASTICSEARCH_QUERY_FAILURE, e);
+        }
+        body.set("aggs", aggregations);
+
+        LOG.debug("Aggregate: %s, query: %s", index, body);
+
+        long start = System.nanoTime();
+        try {
+            Response response;
+            try {
+                response = client.getLowLevelClient()
+                        .performRequest(
+                                "GET",
+                                format("/%s/_search", index),
+                                ImmutableMap.of(),
+                                new StringEntity(body.toString(), UTF_8),
+                                new BasicHeader("Content-Type", "application/json"));
+            }
+            catch (ResponseException e) {
+                throw propagate(e);
+            }
+            catch (IOException e) {
+                throw new PrestoException(ELASTICSEARCH_CONNECTION_ERROR, e);
+            }
+
+            JsonNode result;
+            try {
+                result = OBJECT_MAPPER.readTree(EntityUtils.toByteArray(response.getEntity()));
+            }
+            catch (IOException e) {
+                throw new PrestoException(ELASTICSEARCH_INVALID_RESPONSE, e);
+            }
+
+            if (result.path("_shards").path("failed").asInt() > 0) {
+                // partial results would silently produce wrong aggregates
+                throw new PrestoException(ELASTICSEARCH_QUERY_FAILURE, format("Aggregation failed on some shards of index '%s': %s", index, result.path("_shards").path("failures")));
+            }
+            return result.path("aggregations");
+        }
+        finally {
+            aggregationStats.add(Duration.nanosSince(start));
+        }
+    }
+
+    /**
+     * Composite aggregations with {@code missing_bucket}, which are needed to compute exact groups
+     * including nulls, are available from Elasticsearch 6.4 onwards.
+     */
+    public boolean supportsCompositeAggregation()
+    {
+        return compositeAggregationSupported.get();
+    }
+
+    private boolean fetchCompositeAggregationSupported()
+    {
+        return doRequest("/", body -> {
+            try {
+                String version = OBJECT_MAPPER.readTree(body).path("version").path("number").asText();
+                Matcher matcher = VERSION_PATTERN.matcher(version);
+                if (!matcher.lookingAt()) {
+                    LOG.warn("Unexpected Elasticsearch version: %s", version);
+                    return false;
+                }
+                int major = Integer.parseInt(matcher.group("major"));
+                int minor = Integer.parseInt(matcher.group("minor"));
+                return major > 6 || (major == 6 && minor >= 4);
+            }
+            catch (IOException e) {
+                throw new PrestoException(ELASTICSEARCH_INVALID_RESPONSE, e);
+            }
+        });
+    }
+
     public void clearScroll(String scrollId)
     {
         ClearScrollRequest request = new ClearScrollRequest();
@@ -757,6 +849,13 @@ public class ElasticsearchClient
         return countStats;
     }
 
+    @Managed
+    @Nested
+    public TimeStat getAggregationStats()
+    {
+        return aggregationStats;
+    }
+
     private <T> T doRequest(String path, ResponseHandler<T> handler)
     {
         checkArgument(path.startsWith("/"), "path must be an absolute path");
@@ -18,6 +18,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.BaseEncoding;
 import com.google.common.net.HostAndPort;
+import io.prestosql.sql.planner.plan.TableScanNode;
+import io.prestosql.sql.planner.plan.TopNNode;
 import io.prestosql.testing.AbstractTestIntegrationSmokeTest;
 import io.prestosql.testing.MaterializedResult;
 import io.prestosql.testing.QueryRunner;
@@ -27,17 +29,24 @@ import org.apache.http.entity.ContentType;
 import org.apache.http.nio.entity.NStringEntity;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.search.sort.SortOrder;
 import org.intellij.lang.annotations.Language;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 
 import static io.prestosql.elasticsearch.ElasticsearchQueryRunner.createElasticsearchQueryRunner;
+import static io.prestosql.elasticsearch.ElasticsearchSortItem.MISSING_FIRST;
+import static io.prestosql.elasticsearch.ElasticsearchSortItem.MISSING_LAST;
 import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static io.prestosql.sql.planner.optimizations.PlanNodeSearcher.searchFrom;
 import static io.prestosql.testing.MaterializedResult.resultBuilder;
 import static io.prestosql.testing.assertions.Assert.assertEquals;
 import static java.lang.String.format;
@@ -616,6 +625,119 @@ public abstract class BaseElasticsearchSmokeTest
         assertEquals(computeActual("SELECT * FROM limit_pushdown LIMIT 2").getRowCount(), 2);
     }
 
+    @Test
+    public void testAggregationPushdown()
+            throws IOException
+    {
+        String indexName = "aggregation_pushdown";
+        createPushdownIndex(indexName);
+
+        assertThat(query("SELECT count(*), count(double_column), min(integer_column), max(integer_column), sum(double_column), avg(integer_column) FROM aggregation_pushdown"))
+                .matches("VALUES (BIGINT '4', BIGINT '3', 10, 40, 7.0E0, 25.0E0)")
+                .isFullyPushedDown();
+        assertThat(query("SELECT keyword_column, count(*), sum(double_column) FROM aggregation_pushdown GROUP BY keyword_column"))
+                .matches("VALUES (VARCHAR 'a', BIGINT '2', 3.0E0), (VARCHAR 'b', BIGINT '1', NULL), (NULL, BIGINT '1', 4.0E0)")
+                .isFullyPushedDown();
+        assertThat(query("SELECT boolean_column, keyword_column, min(integer_column) FROM aggregation_pushdown GROUP BY boolean_column, keyword_column"))
+                .matches("VALUES (true, VARCHAR 'a', 10), (false, VARCHAR 'a', 20), (true, VARCHAR 'b', 30), (NULL, NULL, 40)")
+                .isFullyPushedDown();
+        assertThat(query("SELECT keyword_column, count(*) FROM aggregation_pushdown WHERE long_column > 1 GROUP BY keyword_column"))
+                .matches("VALUES (VARCHAR 'a', BIGINT '1'), (VARCHAR 'b', BIGINT '1'), (NULL, BIGINT '1')")
+                .isFullyPushedDown();
+        assertThat(query("SELECT count(*), sum(double_column) FROM aggregation_pushdown WHERE long_column > 10"))
+                .matches("VALUES (BIGINT '0', CAST(NULL AS double))")
+                .isFullyPushedDown();
+
+        // the limit is applied to the pushed down aggregation, and the outer count(*) is computed by the engine
+        assertPushedDown(
+                "SELECT count(*) FROM (SELECT keyword_column FROM aggregation_pushdown GROUP BY keyword_column LIMIT 2)",
+                "VALUES 2",
+                handle -> {
+                    assertTrue(handle.getAggregation().isPresent());
+                    assertEquals(handle.getAggregation().get().getGroupingFields(), ImmutableList.of("keyword_column"));
+                    assertEquals(handle.getLimit(), OptionalLong.of(2));
+                });
+    }
+
+    @Test
+    public void testTopNPushdown()
+            throws IOException
+    {
+        String indexName = "topn_pushdown";
+        createPushdownIndex(indexName);
+
+        // every shard returns its top documents, which the engine merges with a final TopN
+        assertThat(query("SELECT long_column FROM topn_pushdown ORDER BY long_column DESC LIMIT 2"))
+                .ordered()
+                .matches("VALUES BIGINT '4', BIGINT '3'")
+                .isNotFullyPushedDown(TopNNode.class);
+
+        assertTopNPushedDown(
+                "SELECT long_column FROM topn_pushdown ORDER BY long_column DESC LIMIT 2",
+                "VALUES 4, 3",
+                2,
+                new ElasticsearchSortItem("long_column", SortOrder.DESC, MISSING_LAST));
+        assertTopNPushedDown(
+                "SELECT keyword_column FROM topn_pushdown ORDER BY keyword_column NULLS FIRST LIMIT 2",
+                "VALUES NULL, 'a'",
+                2,
+                new ElasticsearchSortItem("keyword_column", SortOrder.ASC, MISSING_FIRST));
+        assertTopNPushedDown(
+                "SELECT keyword_column, long_column FROM topn_pushdown ORDER BY keyword_column DESC, long_column LIMIT 3",
+                "VALUES ('b', 3), ('a', 1), ('a', 2)",
+                3,
+                new ElasticsearchSortItem("keyword_column", SortOrder.DESC, MISSING_FIRST),
+                new ElasticsearchSortItem("long_column", SortOrder.ASC, MISSING_LAST));
+        assertTopNPushedDown(
+                "SELECT integer_column FROM topn_pushdown WHERE boolean_column ORDER BY integer_column DESC LIMIT 1",
+                "VALUES 30",
+                1,
+                new ElasticsearchSortItem("integer_column", SortOrder.DESC, MISSING_LAST));
+    }
+
+    private void assertTopNPushedDown(@Language("SQL") String sql, @Language("SQL") String expected, long limit, ElasticsearchSortItem... sort)
+    {
+        assertQueryOrdered(sql, expected);
+        assertPushedDown(sql, expected, handle -> {
+            assertEquals(handle.getSort(), ImmutableList.copyOf(sort));
+            assertEquals(handle.getLimit(), OptionalLong.of(limit));
+        });
+    }
+
+    private void assertPushedDown(@Language("SQL") String sql, @Language("SQL") String expected, Consumer<ElasticsearchTableHandle> handleAssertion)
+    {
+        assertQuery(getSession(), sql, expected, plan -> {
+            List<TableScanNode> scans = searchFrom(plan.getRoot())
+                    .where(TableScanNode.class::isInstance)
+                    .findAll();
+            assertEquals(scans.size(), 1);
+            handleAssertion.accept((ElasticsearchTableHandle) scans.get(0).getTable().getConnectorHandle());
+        });
+    }
+
+    private void createPushdownIndex(String indexName)
+            throws IOException
+    {
+        @Language("JSON")
+        String mappings = "" +
+                "{" +
+                "  \"properties\": { " +
+                "    \"boolean_column\":   { \"type\": \"boolean\" }," +
+                "    \"integer_column\":   { \"type\": \"integer\" }," +
+                "    \"long_column\":      { \"type\": \"long\" }," +
+                "    \"double_column\":    { \"type\": \"double\" }," +
+                "    \"keyword_column\":   { \"type\": \"keyword\" }" +
+                "  }" +
+                "}";
+
+        createIndex(indexName, mappings);
+
+        index(indexName, ImmutableMap.of("keyword_column", "a", "long_column", 1L, "integer_column", 10, "double_column", 1.0d, "boolean_column", true));
+        index(indexName, ImmutableMap.of("keyword_column", "a", "long_column", 2L, "integer_column", 20, "double_column", 2.0d, "boolean_column", false));
+        index(indexName, ImmutableMap.of("keyword_column", "b", "long_column", 3L, "integer_column", 30, "boolean_column", true));
+        index(indexName, ImmutableMap.of("long_column", 4L, "integer_column", 40, "double_column", 4.0d));
+    }
+
     @Test
     public void testDataTypesNested()
             throws IOException
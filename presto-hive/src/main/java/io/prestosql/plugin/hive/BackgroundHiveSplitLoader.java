@@ -28,6 +28,7 @@ import io.prestosql.plugin.hive.HiveSplit.BucketConversion;
 import io.prestosql.plugin.hive.acid.AcidTransaction;
 import io.prestosql.plugin.hive.metastore.Column;
 import io.prestosql.plugin.hive.metastore.Partition;
+import io.prestosql.plugin.hive.metastore.SortingColumn;
 import io.prestosql.plugin.hive.metastore.Table;
 import io.prestosql.plugin.hive.util.HiveBucketing.BucketingVersion;
 import io.prestosql.plugin.hive.util.HiveBucketing.HiveBucketFilter;
@@ -77,6 +78,7 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.function.IntPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -91,6 +93,7 @@ import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_FILESYSTEM_ERROR;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_INVALID_BUCKET_FILES;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_INVALID_METADATA;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_INVALID_PARTITION_VALUE;
+import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_PARTITION_SCHEMA_MISMATCH;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_UNKNOWN_ERROR;
 import static io.prestosql.plugin.hive.HivePartitionManager.partitionMatches;
 import static io.prestosql.plugin.hive.HiveSessionProperties.getMaxInitialSplitSize;
@@ -428,6 +431,17 @@ public class BackgroundHiveSplitLoader
                 }
             }
         }
+        if (tableBucketInfo.isPresent() && tableBucketInfo.get().isSortedBucketRead()) {
+            // checked when the sorted read was planned, so the partition was altered since
+            Optional<HiveBucketProperty> partitionBucketProperty = partition.getPartition().flatMap(value -> value.getStorage().getBucketProperty());
+            if (bucketConversion.isPresent() ||
+                    (partitionBucketProperty.isPresent() && !partitionBucketProperty.get().getSortedBy().equals(tableBucketInfo.get().getSortedBy()))) {
+                throw new PrestoException(HIVE_PARTITION_SCHEMA_MISMATCH, format(
+                        "Partition %s of table '%s' is no longer bucketed and sorted like the table",
+                        partitionName,
+                        table.getSchemaTableName()));
+            }
+        }
         InternalHiveSplitFactory splitFactory = new InternalHiveSplitFactory(
                 fs,
                 partitionName,
@@ -615,7 +629,15 @@ public class BackgroundHiveSplitLoader
 
     private Iterator<InternalHiveSplit> createInternalHiveSplitIterator(Path path, FileSystem fileSystem, InternalHiveSplitFactory splitFactory, boolean splittable, Optional<AcidInfo> acidInfo)
     {
-        return Streams.stream(new HiveFileIterator(table, path, fileSystem, directoryLister, namenodeStats, recursiveDirWalkerEnabled ? RECURSE : IGNORED, ignoreAbsentPartitions))
+        // With several loader threads, each nested directory becomes a separate work item in fileIterators,
+        // so that idle loaders list it concurrently instead of a single thread walking the whole tree.
+        // fileIterators is only modified while holding the read lock, and these iterators are only advanced
+        // in loadSplits, which holds it.
+        Optional<Consumer<Path>> nestedDirectoryConsumer = Optional.empty();
+        if (recursiveDirWalkerEnabled && loaderConcurrency > 1) {
+            nestedDirectoryConsumer = Optional.of(nestedPath -> fileIterators.addLast(createInternalHiveSplitIterator(nestedPath, fileSystem, splitFactory, splittable, acidInfo)));
+        }
+        return Streams.stream(new HiveFileIterator(table, path, fileSystem, directoryLister, namenodeStats, recursiveDirWalkerEnabled ? RECURSE : IGNORED, ignoreAbsentPartitions, nestedDirectoryConsumer))
                 .map(status -> splitFactory.createInternalHiveSplit(status, OptionalInt.empty(), splittable, acidInfo))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
@@ -670,6 +692,22 @@ public class BackgroundHiveSplitLoader
 
         validateFileBuckets(bucketFiles, partitionBucketCount, table.getSchemaTableName().toString(), splitFactory.getPartitionName());
 
+        // the engine chose a merge join that relies on every bucket being a single sorted split
+        boolean sortedBucketRead = bucketSplitInfo.isSortedBucketRead();
+        if (sortedBucketRead) {
+            for (int bucket : bucketFiles.keySet()) {
+                if (bucketFiles.get(bucket).size() > 1) {
+                    throw new PrestoException(HIVE_INVALID_BUCKET_FILES, format(
+                            "Hive table '%s' has %s files for bucket %s in partition: %s. A merge join requires a single file per bucket, " +
+                                    "disable the sorted_bucket_reads_enabled session property to read it",
+                            table.getSchemaTableName(),
+                            bucketFiles.get(bucket).size(),
+                            bucket,
+                            splitFactory.getPartitionName()));
+                }
+            }
+        }
+
         // convert files internal splits
         List<InternalHiveSplit> splitList = new ArrayList<>();
         for (int bucketNumber = 0; bucketNumber < bucketCount; bucketNumber++) {
@@ -704,7 +742,7 @@ public class BackgroundHiveSplitLoader
                 for (LocatedFileStatus file : bucketFiles.get(partitionBucketNumber)) {
                     // OrcDeletedRows will load only delete delta files matching current bucket id,
                     // so we can pass all delete delta locations here, without filtering.
-                    splitFactory.createInternalHiveSplit(file, OptionalInt.of(readBucketNumber), splittable, acidInfo)
+                    splitFactory.createInternalHiveSplit(file, OptionalInt.of(readBucketNumber), splittable && !sortedBucketRead, acidInfo)
                             .ifPresent(splitList::add);
                 }
             }
@@ -813,8 +851,10 @@ public class BackgroundHiveSplitLoader
         private final int tableBucketCount;
         private final int readBucketCount;
         private final IntPredicate bucketFilter;
+        private final boolean sortedBucketRead;
+        private final List<SortingColumn> sortedBy;
 
-        public static Optional<BucketSplitInfo> createBucketSplitInfo(Optional<HiveBucketHandle> bucketHandle, Optional<HiveBucketFilter> bucketFilter)
+        public static Optional<BucketSplitInfo> createBucketSplitInfo(Optional<HiveBucketHandle> bucketHandle, Optional<HiveBucketFilter> bucketFilter, boolean sortedBucketRead)
         {
             requireNonNull(bucketHandle, "bucketHandle is null");
             requireNonNull(bucketFilter, "buckets is null");
@@ -836,15 +876,17 @@ public class BackgroundHiveSplitLoader
             IntPredicate predicate = bucketFilter
                     .<IntPredicate>map(filter -> filter.getBucketsToKeep()::contains)
                     .orElse(bucket -> true);
-            return Optional.of(new BucketSplitInfo(bucketColumns, tableBucketCount, readBucketCount, predicate));
+            return Optional.of(new BucketSplitInfo(bucketColumns, tableBucketCount, readBucketCount, predicate, sortedBucketRead, bucketHandle.get().getSortedBy()));
         }
 
-        private BucketSplitInfo(List<HiveColumnHandle> bucketColumns, int tableBucketCount, int readBucketCount, IntPredicate bucketFilter)
+        private BucketSplitInfo(List<HiveColumnHandle> bucketColumns, int tableBucketCount, int readBucketCount, IntPredicate bucketFilter, boolean sortedBucketRead, List<SortingColumn> sortedBy)
         {
             this.bucketColumns = ImmutableList.copyOf(requireNonNull(bucketColumns, "bucketColumns is null"));
             this.tableBucketCount = tableBucketCount;
             this.readBucketCount = readBucketCount;
             this.bucketFilter = requireNonNull(bucketFilter, "bucketFilter is null");
+            this.sortedBucketRead = sortedBucketRead;
+            this.sortedBy = ImmutableList.copyOf(requireNonNull(sortedBy, "sortedBy is null"));
         }
 
         public List<HiveColumnHandle> getBucketColumns()
@@ -862,6 +904,19 @@ public class BackgroundHiveSplitLoader
             return readBucketCount;
         }
 
+        /**
+         * Whether each bucket must be read as a single split, preserving the sort order of its file.
+         */
+        public boolean isSortedBucketRead()
+        {
+            return sortedBucketRead;
+        }
+
+        public List<SortingColumn> getSortedBy()
+        {
+            return sortedBy;
+        }
+
         /**
          * Evaluates whether the provided table bucket number passes the bucket predicate.
          * A bucket predicate can be present in two cases:
@@ -32,24 +32,38 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.Objects.requireNonNull;
 
 public class CachingDirectoryLister
         implements DirectoryLister
 {
     private final Cache<Path, List<LocatedFileStatus>> cache;
     private final List<SchemaTablePrefix> tablePrefixes;
+    private final PersistentDirectoryListingCache persistentCache;
 
-    @Inject
     public CachingDirectoryLister(HiveConfig hiveClientConfig)
     {
-        this(hiveClientConfig.getFileStatusCacheExpireAfterWrite(), hiveClientConfig.getFileStatusCacheMaxSize(), hiveClientConfig.getFileStatusCacheTables());
+        this(hiveClientConfig, PersistentDirectoryListingCache.disabled());
+    }
+
+    @Inject
+    public CachingDirectoryLister(HiveConfig hiveClientConfig, PersistentDirectoryListingCache persistentCache)
+    {
+        this(hiveClientConfig.getFileStatusCacheExpireAfterWrite(), hiveClientConfig.getFileStatusCacheMaxSize(), hiveClientConfig.getFileStatusCacheTables(), persistentCache);
     }
 
     public CachingDirectoryLister(Duration expireAfterWrite, long maxSize, List<String> tables)
+    {
+        this(expireAfterWrite, maxSize, tables, PersistentDirectoryListingCache.disabled());
+    }
+
+    public CachingDirectoryLister(Duration expireAfterWrite, long maxSize, List<String> tables, PersistentDirectoryListingCache persistentCache)
     {
         this.cache = CacheBuilder.newBuilder()
                 .maximumWeight(maxSize)
@@ -60,6 +74,7 @@ public class CachingDirectoryLister
         this.tablePrefixes = tables.stream()
                 .map(CachingDirectoryLister::parseTableName)
                 .collect(toImmutableList());
+        this.persistentCache = requireNonNull(persistentCache, "persistentCache is null");
     }
 
     private static SchemaTablePrefix parseTableName(String tableName)
@@ -85,27 +100,58 @@ public class CachingDirectoryLister
         if (files != null) {
             return simpleRemoteIterator(files);
         }
-        RemoteIterator<LocatedFileStatus> iterator = fs.listLocatedStatus(path);
 
         if (tablePrefixes.stream().noneMatch(prefix -> prefix.matches(table.getSchemaTableName()))) {
-            return iterator;
+            return fs.listLocatedStatus(path);
+        }
+        if (!persistentCache.isEnabled()) {
+            return cachingRemoteIterator(fs.listLocatedStatus(path), path, false, OptionalLong.empty());
+        }
+
+        // read before listing, so that a change made during the listing invalidates the stored copy
+        OptionalLong directoryModificationTime = getDirectoryModificationTime(fs, path);
+        Optional<List<LocatedFileStatus>> persistedFiles = persistentCache.get(path, directoryModificationTime);
+        if (persistedFiles.isPresent()) {
+            cache.put(path, persistedFiles.get());
+            return simpleRemoteIterator(persistedFiles.get());
+        }
+        return cachingRemoteIterator(fs.listLocatedStatus(path), path, true, directoryModificationTime);
+    }
+
+    private static OptionalLong getDirectoryModificationTime(FileSystem fs, Path path)
+            throws IOException
+    {
+        if (!PersistentDirectoryListingCache.hasDirectoryModificationTimes(fs)) {
+            // stored listings of object stores are valid until they expire
+            return OptionalLong.empty();
+        }
+        long modificationTime = fs.getFileStatus(path).getModificationTime();
+        if (modificationTime == 0) {
+            // not tracked by this file system
+            return OptionalLong.empty();
         }
-        return cachingRemoteIterator(iterator, path);
+        return OptionalLong.of(modificationTime);
     }
 
-    private RemoteIterator<LocatedFileStatus> cachingRemoteIterator(RemoteIterator<LocatedFileStatus> iterator, Path path)
+    private RemoteIterator<LocatedFileStatus> cachingRemoteIterator(RemoteIterator<LocatedFileStatus> iterator, Path path, boolean persist, OptionalLong directoryModificationTime)
     {
         return new RemoteIterator<>()
         {
             private final List<LocatedFileStatus> files = new ArrayList<>();
+            private boolean complete;
 
             @Override
             public boolean hasNext()
                     throws IOException
             {
                 boolean hasNext = iterator.hasNext();
-                if (!hasNext) {
-                    cache.put(path, ImmutableList.copyOf(files));
+                if (!hasNext && !complete) {
+                    complete = true;
+                    List<LocatedFileStatus> listing = ImmutableList.copyOf(files);
+                    cache.put(path, listing);
+                    if (persist) {
+                        persistentCache.put(path, directoryModificationTime, listing);
+                    }
                 }
                 return hasNext;
             }
@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive;
+
+import com.google.common.collect.ImmutableList;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.connector.ConnectorPageSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the files of a split that coalesces several small files one after the other.
+ * The page source of a file is only created once the previous one is finished.
+ */
+public class CoalescedPageSource
+        implements ConnectorPageSource
+{
+    private final Iterator<Supplier<ConnectorPageSource>> pageSources;
+
+    private ConnectorPageSource current;
+    private long finishedCompletedBytes;
+    private long finishedReadTimeNanos;
+    private boolean closed;
+
+    public CoalescedPageSource(List<Supplier<ConnectorPageSource>> pageSources)
+    {
+        this.pageSources = ImmutableList.copyOf(requireNonNull(pageSources, "pageSources is null")).iterator();
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return finishedCompletedBytes + (current == null ? 0 : current.getCompletedBytes());
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return finishedReadTimeNanos + (current == null ? 0 : current.getReadTimeNanos());
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return closed || (current == null && !pageSources.hasNext());
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        while (!isFinished()) {
+            if (current == null) {
+                current = pageSources.next().get();
+            }
+
+            Page page = current.getNextPage();
+            if (page != null) {
+                return page;
+            }
+            if (!current.isFinished()) {
+                return null;
+            }
+            try {
+                closeCurrent();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return current == null ? 0 : current.getSystemMemoryUsage();
+    }
+
+    @Override
+    public CompletableFuture<?> isBlocked()
+    {
+        return current == null ? NOT_BLOCKED : current.isBlocked();
+    }
+
+    @Override
+    public void close()
+            throws IOException
+    {
+        closed = true;
+        if (current != null) {
+            closeCurrent();
+        }
+    }
+
+    private void closeCurrent()
+            throws IOException
+    {
+        ConnectorPageSource pageSource = current;
+        current = null;
+        finishedCompletedBytes += pageSource.getCompletedBytes();
+        finishedReadTimeNanos += pageSource.getReadTimeNanos();
+        pageSource.close();
+    }
+}
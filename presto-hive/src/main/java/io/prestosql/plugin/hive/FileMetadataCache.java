@@ -0,0 +1,285 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.prestosql.orc.OrcDataSource;
+import io.prestosql.orc.OrcFileTail;
+import io.prestosql.parquet.ParquetDataSource;
+import io.prestosql.parquet.reader.MetadataReader;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.openjdk.jol.info.ClassLayout;
+import org.weakref.jmx.Managed;
+
+import javax.inject.Inject;
+
+import java.io.IOException;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.google.common.primitives.Ints.saturatedCast;
+import static io.airlift.slice.SizeOf.sizeOfByteArray;
+import static io.prestosql.orc.OrcReader.readFileTail;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Worker-wide cache of decoded ORC and Parquet file footers. Entries are keyed by
+ * file path, length and modification time, so a file rewritten in place is read again,
+ * and are weighed by the estimated heap size of the decoded metadata.
+ */
+public class FileMetadataCache
+{
+    private static final int PARQUET_METADATA_INSTANCE_SIZE = ClassLayout.parseClass(ParquetMetadata.class).instanceSize() +
+            ClassLayout.parseClass(FileMetaData.class).instanceSize();
+    private static final int BLOCK_METADATA_INSTANCE_SIZE = ClassLayout.parseClass(BlockMetaData.class).instanceSize();
+    // the concrete column chunk classes add the page offsets and sizes
+    private static final int COLUMN_CHUNK_METADATA_INSTANCE_SIZE = ClassLayout.parseClass(ColumnChunkMetaData.class).instanceSize() + 5 * Long.BYTES;
+    private static final int STATISTICS_INSTANCE_SIZE = ClassLayout.parseClass(Statistics.class).instanceSize();
+    private static final int COLUMN_DESCRIPTOR_INSTANCE_SIZE = ClassLayout.parseClass(ColumnDescriptor.class).instanceSize();
+    private static final int STRING_INSTANCE_SIZE = ClassLayout.parseClass(String.class).instanceSize();
+
+    private final Optional<Cache<FileMetadataKey, FileMetadata>> cache;
+
+    @Inject
+    public FileMetadataCache(HiveConfig hiveConfig)
+    {
+        this(hiveConfig.getFileMetadataCacheMaxSize(), hiveConfig.getFileMetadataCacheExpireAfterWrite());
+    }
+
+    public FileMetadataCache(DataSize maxSize, Duration expireAfterWrite)
+    {
+        requireNonNull(maxSize, "maxSize is null");
+        requireNonNull(expireAfterWrite, "expireAfterWrite is null");
+        if (maxSize.toBytes() == 0) {
+            this.cache = Optional.empty();
+            return;
+        }
+        this.cache = Optional.of(CacheBuilder.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Weigher<FileMetadataKey, FileMetadata>) (key, value) -> value.getWeight())
+                .expireAfterWrite(expireAfterWrite.toMillis(), MILLISECONDS)
+                .recordStats()
+                .build());
+    }
+
+    public static FileMetadataCache disabled()
+    {
+        return new FileMetadataCache(DataSize.ofBytes(0), new Duration(0, MILLISECONDS));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<OrcFileTail> getOrcFileTail(Path path, long fileSize, long modificationTime, OrcDataSource dataSource)
+            throws IOException
+    {
+        return (Optional<OrcFileTail>) get(new FileMetadataKey(path, fileSize, modificationTime, OrcFileTail.class), () -> {
+            Optional<OrcFileTail> fileTail = readFileTail(dataSource);
+            return new FileMetadata(fileTail, fileTail.map(OrcFileTail::getRetainedSizeInBytes).orElse(0L));
+        });
+    }
+
+    public ParquetMetadata getParquetMetadata(Path path, long fileSize, long modificationTime, ParquetDataSource dataSource)
+            throws IOException
+    {
+        return (ParquetMetadata) get(new FileMetadataKey(path, fileSize, modificationTime, ParquetMetadata.class), () -> {
+            ParquetMetadata parquetMetadata = MetadataReader.readFooter(dataSource);
+            return new FileMetadata(parquetMetadata, getRetainedSize(parquetMetadata));
+        });
+    }
+
+    private static long getRetainedSize(ParquetMetadata parquetMetadata)
+    {
+        long size = PARQUET_METADATA_INSTANCE_SIZE;
+        FileMetaData fileMetaData = parquetMetadata.getFileMetaData();
+        for (ColumnDescriptor column : fileMetaData.getSchema().getColumns()) {
+            size += COLUMN_DESCRIPTOR_INSTANCE_SIZE;
+            for (String name : column.getPath()) {
+                size += getRetainedSize(name);
+            }
+        }
+        for (Entry<String, String> entry : fileMetaData.getKeyValueMetaData().entrySet()) {
+            size += getRetainedSize(entry.getKey()) + getRetainedSize(entry.getValue());
+        }
+        for (BlockMetaData block : parquetMetadata.getBlocks()) {
+            size += BLOCK_METADATA_INSTANCE_SIZE;
+            for (ColumnChunkMetaData column : block.getColumns()) {
+                size += COLUMN_CHUNK_METADATA_INSTANCE_SIZE;
+                Statistics<?> statistics = column.getStatistics();
+                if (statistics != null) {
+                    size += STATISTICS_INSTANCE_SIZE;
+                    if (statistics.hasNonNullValue()) {
+                        size += sizeOfByteArray(statistics.getMinBytes().length) + sizeOfByteArray(statistics.getMaxBytes().length);
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    private static long getRetainedSize(String value)
+    {
+        return value == null ? 0 : STRING_INSTANCE_SIZE + sizeOfByteArray(value.length());
+    }
+
+    private Object get(FileMetadataKey key, FileMetadataLoader loader)
+            throws IOException
+    {
+        if (cache.isEmpty()) {
+            return loader.load().getValue();
+        }
+        try {
+            return cache.get().get(key, loader::load).getValue();
+        }
+        catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfInstanceOf(e.getCause(), IOException.class);
+            throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Managed
+    public void flushCache()
+    {
+        cache.ifPresent(Cache::invalidateAll);
+    }
+
+    @Managed
+    public long getSize()
+    {
+        return cache.map(Cache::size).orElse(0L);
+    }
+
+    @Managed
+    public Double getHitRate()
+    {
+        return cache.map(value -> value.stats().hitRate()).orElse(0.0);
+    }
+
+    @Managed
+    public long getHitCount()
+    {
+        return cache.map(value -> value.stats().hitCount()).orElse(0L);
+    }
+
+    @Managed
+    public long getMissCount()
+    {
+        return cache.map(value -> value.stats().missCount()).orElse(0L);
+    }
+
+    @Managed
+    public long getEvictionCount()
+    {
+        return cache.map(value -> value.stats().evictionCount()).orElse(0L);
+    }
+
+    @Managed
+    public long getRequestCount()
+    {
+        return cache.map(value -> value.stats().requestCount()).orElse(0L);
+    }
+
+    private interface FileMetadataLoader
+    {
+        FileMetadata load()
+                throws IOException;
+    }
+
+    private static class FileMetadata
+    {
+        private final Object value;
+        private final int weight;
+
+        public FileMetadata(Object value, long weight)
+        {
+            this.value = requireNonNull(value, "value is null");
+            this.weight = saturatedCast(weight);
+        }
+
+        public Object getValue()
+        {
+            return value;
+        }
+
+        public int getWeight()
+        {
+            return weight;
+        }
+    }
+
+    private static class FileMetadataKey
+    {
+        private final String path;
+        private final long fileSize;
+        private final long modificationTime;
+        private final Class<?> metadataClass;
+
+        public FileMetadataKey(Path path, long fileSize, long modificationTime, Class<?> metadataClass)
+        {
+            this.path = requireNonNull(path, "path is null").toString();
+            this.fileSize = fileSize;
+            this.modificationTime = modificationTime;
+            this.metadataClass = requireNonNull(metadataClass, "metadataClass is null");
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FileMetadataKey that = (FileMetadataKey) o;
+            return fileSize == that.fileSize &&
+                    modificationTime == that.modificationTime &&
+                    path.equals(that.path) &&
+                    metadataClass.equals(that.metadataClass);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(path, fileSize, modificationTime, metadataClass);
+        }
+
+        @Override
+        public String toString()
+        {
+            return toStringHelper(this)
+                    .add("path", path)
+                    .add("fileSize", fileSize)
+                    .add("modificationTime", modificationTime)
+                    .add("metadataClass", metadataClass.getSimpleName())
+                    .toString();
+        }
+    }
+}
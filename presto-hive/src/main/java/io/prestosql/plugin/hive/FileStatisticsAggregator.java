@@ -0,0 +1,552 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.concurrent.BoundedExecutor;
+import io.prestosql.orc.OrcDataSource;
+import io.prestosql.orc.OrcDataSourceId;
+import io.prestosql.orc.OrcFileTail;
+import io.prestosql.orc.OrcReaderOptions;
+import io.prestosql.orc.metadata.ColumnMetadata;
+import io.prestosql.orc.metadata.Footer;
+import io.prestosql.orc.metadata.OrcColumnId;
+import io.prestosql.orc.metadata.OrcType;
+import io.prestosql.orc.metadata.OrcType.OrcTypeKind;
+import io.prestosql.orc.metadata.statistics.ColumnStatistics;
+import io.prestosql.orc.metadata.statistics.DateStatistics;
+import io.prestosql.orc.metadata.statistics.IntegerStatistics;
+import io.prestosql.parquet.ParquetDataSource;
+import io.prestosql.parquet.ParquetDataSourceId;
+import io.prestosql.parquet.ParquetReaderOptions;
+import io.prestosql.plugin.hive.HdfsEnvironment.HdfsContext;
+import io.prestosql.plugin.hive.metastore.Storage;
+import io.prestosql.plugin.hive.orc.HdfsOrcDataSource;
+import io.prestosql.plugin.hive.orc.OrcReaderConfig;
+import io.prestosql.plugin.hive.parquet.HdfsParquetDataSource;
+import io.prestosql.plugin.hive.parquet.ParquetReaderConfig;
+import io.prestosql.spi.connector.ConnectorSession;
+import io.prestosql.spi.type.Type;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.statistics.IntStatistics;
+import org.apache.parquet.column.statistics.LongStatistics;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+
+import javax.inject.Inject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.prestosql.orc.metadata.OrcColumnId.ROOT_COLUMN;
+import static io.prestosql.orc.metadata.OrcType.OrcTypeKind.BYTE;
+import static io.prestosql.orc.metadata.OrcType.OrcTypeKind.INT;
+import static io.prestosql.orc.metadata.OrcType.OrcTypeKind.LONG;
+import static io.prestosql.orc.metadata.OrcType.OrcTypeKind.SHORT;
+import static io.prestosql.plugin.hive.HiveSessionProperties.isUseOrcColumnNames;
+import static io.prestosql.plugin.hive.HiveSessionProperties.isUseParquetColumnNames;
+import static io.prestosql.plugin.hive.HiveStorageFormat.ORC;
+import static io.prestosql.plugin.hive.HiveStorageFormat.PARQUET;
+import static io.prestosql.plugin.hive.parquet.ParquetPageSourceFactory.getParquetType;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.DateType.DATE;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.SmallintType.SMALLINT;
+import static io.prestosql.spi.type.TinyintType.TINYINT;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.apache.hadoop.hive.common.FileUtils.HIDDEN_FILES_PATH_FILTER;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT32;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+
+/**
+ * Computes count, min and max aggregations over the files of a table from the
+ * statistics stored in ORC and Parquet footers, without reading any row.
+ */
+public class FileStatisticsAggregator
+{
+    private final HdfsEnvironment hdfsEnvironment;
+    private final FileFormatDataSourceStats stats;
+    private final FileMetadataCache fileMetadataCache;
+    private final OrcReaderOptions orcReaderOptions;
+    private final ParquetReaderOptions parquetReaderOptions;
+    private final int maxFiles;
+    private final Executor executor;
+
+    @Inject
+    public FileStatisticsAggregator(
+            HdfsEnvironment hdfsEnvironment,
+            FileFormatDataSourceStats stats,
+            FileMetadataCache fileMetadataCache,
+            OrcReaderConfig orcReaderConfig,
+            ParquetReaderConfig parquetReaderConfig,
+            HiveConfig hiveConfig,
+            ExecutorService executorService)
+    {
+        this(
+                hdfsEnvironment,
+                stats,
+                fileMetadataCache,
+                orcReaderConfig.toOrcReaderOptions(),
+                parquetReaderConfig.toParquetReaderOptions(),
+                hiveConfig.getStatisticsAggregationPushdownMaxFiles(),
+                new BoundedExecutor(executorService, hiveConfig.getStatisticsAggregationPushdownThreads()));
+    }
+
+    public FileStatisticsAggregator(
+            HdfsEnvironment hdfsEnvironment,
+            FileFormatDataSourceStats stats,
+            FileMetadataCache fileMetadataCache,
+            OrcReaderOptions orcReaderOptions,
+            ParquetReaderOptions parquetReaderOptions,
+            int maxFiles,
+            Executor executor)
+    {
+        this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
+        this.stats = requireNonNull(stats, "stats is null");
+        this.fileMetadataCache = requireNonNull(fileMetadataCache, "fileMetadataCache is null");
+        this.orcReaderOptions = requireNonNull(orcReaderOptions, "orcReaderOptions is null");
+        this.parquetReaderOptions = requireNonNull(parquetReaderOptions, "parquetReaderOptions is null");
+        checkArgument(maxFiles > 0, "maxFiles must be greater than zero");
+        this.maxFiles = maxFiles;
+        this.executor = requireNonNull(executor, "executor is null");
+    }
+
+    public int getMaxFiles()
+    {
+        return maxFiles;
+    }
+
+    public static boolean isSupported(AggregateKind kind, Type type)
+    {
+        if (kind == AggregateKind.COUNT) {
+            return true;
+        }
+        return type.equals(BIGINT) || type.equals(INTEGER) || type.equals(SMALLINT) || type.equals(TINYINT) || type.equals(DATE);
+    }
+
+    /**
+     * Returns the value of each aggregate over all the files found in the given storage locations,
+     * or empty when a location holds something other than ORC or Parquet files, has more files than
+     * the configured limit, or one of the files lacks statistics that can be trusted for an aggregate.
+     * The footers are read in parallel, by at most the configured number of threads.
+     */
+    public Optional<List<Object>> aggregate(ConnectorSession session, String schemaName, String tableName, List<Storage> storages, List<StatisticsAggregate> aggregates)
+    {
+        HdfsContext context = new HdfsContext(session, schemaName, tableName);
+        boolean useOrcColumnNames = isUseOrcColumnNames(session);
+        boolean useParquetColumnNames = isUseParquetColumnNames(session);
+
+        List<CompletableFuture<Optional<List<Accumulator>>>> fileAccumulators = new ArrayList<>();
+        try {
+            Optional<List<StatisticsFile>> files = hdfsEnvironment.doAs(session.getUser(), () -> listFiles(context, storages));
+            if (files.isEmpty()) {
+                return Optional.empty();
+            }
+            for (StatisticsFile file : files.get()) {
+                fileAccumulators.add(supplyAsync(() -> aggregateFile(session.getUser(), file, aggregates, useOrcColumnNames, useParquetColumnNames), executor));
+            }
+
+            List<Accumulator> accumulators = aggregates.stream()
+                    .map(Accumulator::new)
+                    .collect(toImmutableList());
+            for (CompletableFuture<Optional<List<Accumulator>>> future : fileAccumulators) {
+                Optional<List<Accumulator>> fileResult = getFutureValue(future);
+                if (fileResult.isEmpty()) {
+                    return Optional.empty();
+                }
+                for (int i = 0; i < accumulators.size(); i++) {
+                    accumulators.get(i).merge(fileResult.get().get(i));
+                }
+            }
+
+            List<Object> values = new ArrayList<>();
+            for (Accumulator accumulator : accumulators) {
+                values.add(accumulator.getValue());
+            }
+            return Optional.of(values);
+        }
+        catch (IOException | RuntimeException e) {
+            // missing locations and unreadable footers are reported, or ignored, when the table is scanned
+            return Optional.empty();
+        }
+        finally {
+            // footers that are no longer needed once the aggregation cannot be answered are not read
+            fileAccumulators.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Optional<List<StatisticsFile>> listFiles(HdfsContext context, List<Storage> storages)
+            throws IOException
+    {
+        ImmutableList.Builder<StatisticsFile> files = ImmutableList.builder();
+        int fileCount = 0;
+        for (Storage storage : storages) {
+            String serDe = storage.getStorageFormat().getSerDe();
+            boolean orc = serDe.equals(ORC.getSerDe());
+            if (!orc && !serDe.equals(PARQUET.getSerDe())) {
+                return Optional.empty();
+            }
+            Path location = new Path(storage.getLocation());
+            FileSystem fileSystem = hdfsEnvironment.getFileSystem(context, location);
+            for (FileStatus file : fileSystem.listStatus(location, HIDDEN_FILES_PATH_FILTER)) {
+                // whether nested directories are read depends on the split loader configuration
+                if (file.isDirectory()) {
+                    return Optional.empty();
+                }
+                fileCount++;
+                if (fileCount > maxFiles) {
+                    return Optional.empty();
+                }
+                files.add(new StatisticsFile(fileSystem, file, orc));
+            }
+        }
+        return Optional.of(files.build());
+    }
+
+    private Optional<List<Accumulator>> aggregateFile(String user, StatisticsFile file, List<StatisticsAggregate> aggregates, boolean useOrcColumnNames, boolean useParquetColumnNames)
+    {
+        List<Accumulator> accumulators = aggregates.stream()
+                .map(Accumulator::new)
+                .collect(toImmutableList());
+        try {
+            boolean added = hdfsEnvironment.doAs(user, () -> file.isOrc()
+                    ? addOrcFile(file.getFileSystem(), file.getStatus(), accumulators, useOrcColumnNames)
+                    : addParquetFile(file.getFileSystem(), file.getStatus(), accumulators, useParquetColumnNames));
+            if (!added) {
+                return Optional.empty();
+            }
+            return Optional.of(accumulators);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean addOrcFile(FileSystem fileSystem, FileStatus file, List<Accumulator> accumulators, boolean useColumnNames)
+            throws IOException
+    {
+        Path path = file.getPath();
+        try (OrcDataSource dataSource = new HdfsOrcDataSource(new OrcDataSourceId(path.toString()), file.getLen(), orcReaderOptions, fileSystem.open(path), stats)) {
+            Optional<OrcFileTail> fileTail = fileMetadataCache.getOrcFileTail(path, file.getLen(), file.getModificationTime(), dataSource);
+            if (fileTail.isEmpty()) {
+                // empty file
+                return true;
+            }
+            Footer footer = fileTail.get().getFooter();
+            OrcType rootType = footer.getTypes().get(ROOT_COLUMN);
+            for (Accumulator accumulator : accumulators) {
+                if (accumulator.getColumn().isEmpty()) {
+                    accumulator.addCount(footer.getNumberOfRows());
+                    continue;
+                }
+                HiveColumnHandle column = accumulator.getColumn().get();
+                OptionalInt field = findOrcField(rootType, column, useColumnNames);
+                if (field.isEmpty()) {
+                    // columns missing from the file are read as nulls
+                    continue;
+                }
+                if (footer.getNumberOfRows() == 0) {
+                    continue;
+                }
+                Optional<ColumnMetadata<ColumnStatistics>> fileStats = footer.getFileStats();
+                if (fileStats.isEmpty()) {
+                    return false;
+                }
+                OrcColumnId columnId = rootType.getFieldTypeIndex(field.getAsInt());
+                if (!accumulator.addOrcStatistics(footer.getTypes().get(columnId).getOrcTypeKind(), fileStats.get().get(columnId))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static OptionalInt findOrcField(OrcType rootType, HiveColumnHandle column, boolean useColumnNames)
+    {
+        if (!useColumnNames) {
+            int index = column.getBaseHiveColumnIndex();
+            return index < rootType.getFieldCount() ? OptionalInt.of(index) : OptionalInt.empty();
+        }
+        for (int field = 0; field < rootType.getFieldCount(); field++) {
+            if (rootType.getFieldName(field).equalsIgnoreCase(column.getBaseColumnName())) {
+                return OptionalInt.of(field);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    private boolean addParquetFile(FileSystem fileSystem, FileStatus file, List<Accumulator> accumulators, boolean useColumnNames)
+            throws IOException
+    {
+        Path path = file.getPath();
+        try (ParquetDataSource dataSource = new HdfsParquetDataSource(new ParquetDataSourceId(path.toString()), file.getLen(), fileSystem.open(path), stats, parquetReaderOptions)) {
+            ParquetMetadata parquetMetadata = fileMetadataCache.getParquetMetadata(path, file.getLen(), file.getModificationTime(), dataSource);
+            MessageType fileSchema = parquetMetadata.getFileMetaData().getSchema();
+            for (Accumulator accumulator : accumulators) {
+                if (accumulator.getColumn().isEmpty()) {
+                    for (BlockMetaData block : parquetMetadata.getBlocks()) {
+                        accumulator.addCount(block.getRowCount());
+                    }
+                    continue;
+                }
+                Optional<org.apache.parquet.schema.Type> parquetType = getParquetType(fileSchema, useColumnNames, accumulator.getColumn().get());
+                if (parquetType.isEmpty()) {
+                    // columns missing from the file are read as nulls
+                    continue;
+                }
+                if (!parquetType.get().isPrimitive()) {
+                    return false;
+                }
+                ColumnPath columnPath = ColumnPath.get(parquetType.get().getName());
+                for (BlockMetaData block : parquetMetadata.getBlocks()) {
+                    Optional<ColumnChunkMetaData> columnChunk = block.getColumns().stream()
+                            .filter(chunk -> chunk.getPath().equals(columnPath))
+                            .findFirst();
+                    if (columnChunk.isEmpty()) {
+                        return false;
+                    }
+                    if (!accumulator.addParquetStatistics(block.getRowCount(), columnChunk.get().getPrimitiveType(), columnChunk.get().getStatistics())) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class StatisticsFile
+    {
+        private final FileSystem fileSystem;
+        private final FileStatus status;
+        private final boolean orc;
+
+        public StatisticsFile(FileSystem fileSystem, FileStatus status, boolean orc)
+        {
+            this.fileSystem = requireNonNull(fileSystem, "fileSystem is null");
+            this.status = requireNonNull(status, "status is null");
+            this.orc = orc;
+        }
+
+        public FileSystem getFileSystem()
+        {
+            return fileSystem;
+        }
+
+        public FileStatus getStatus()
+        {
+            return status;
+        }
+
+        public boolean isOrc()
+        {
+            return orc;
+        }
+    }
+
+    public enum AggregateKind
+    {
+        COUNT,
+        MIN,
+        MAX,
+    }
+
+    public static class StatisticsAggregate
+    {
+        private final AggregateKind kind;
+        private final Optional<HiveColumnHandle> column;
+
+        public StatisticsAggregate(AggregateKind kind, Optional<HiveColumnHandle> column)
+        {
+            this.kind = requireNonNull(kind, "kind is null");
+            this.column = requireNonNull(column, "column is null");
+            checkArgument(kind == AggregateKind.COUNT || column.isPresent(), "%s requires a column", kind);
+            column.ifPresent(handle -> checkArgument(isSupported(kind, handle.getType()), "%s is not supported for %s", kind, handle));
+        }
+
+        public AggregateKind getKind()
+        {
+            return kind;
+        }
+
+        /**
+         * Returns the aggregated column, or empty for {@code count(*)}.
+         */
+        public Optional<HiveColumnHandle> getColumn()
+        {
+            return column;
+        }
+    }
+
+    private static class Accumulator
+    {
+        private final AggregateKind kind;
+        private final Optional<HiveColumnHandle> column;
+
+        private long count;
+        private Long min;
+        private Long max;
+
+        public Accumulator(StatisticsAggregate aggregate)
+        {
+            this.kind = aggregate.getKind();
+            this.column = aggregate.getColumn();
+        }
+
+        public Optional<HiveColumnHandle> getColumn()
+        {
+            return column;
+        }
+
+        public void addCount(long rows)
+        {
+            count += rows;
+        }
+
+        public boolean addOrcStatistics(OrcTypeKind typeKind, ColumnStatistics statistics)
+        {
+            if (statistics == null || !statistics.hasNumberOfValues()) {
+                return false;
+            }
+            if (kind == AggregateKind.COUNT) {
+                count += statistics.getNumberOfValues();
+                return true;
+            }
+            if (statistics.getNumberOfValues() == 0) {
+                return true;
+            }
+
+            Type type = column.get().getType();
+            if (type.equals(DATE)) {
+                DateStatistics dateStatistics = statistics.getDateStatistics();
+                if (typeKind != OrcTypeKind.DATE || dateStatistics == null || dateStatistics.getMin() == null || dateStatistics.getMax() == null) {
+                    return false;
+                }
+                return addRange(dateStatistics.getMin(), dateStatistics.getMax());
+            }
+            IntegerStatistics integerStatistics = statistics.getIntegerStatistics();
+            if (!isIntegerKind(typeKind) || integerStatistics == null || integerStatistics.getMin() == null || integerStatistics.getMax() == null) {
+                return false;
+            }
+            return addRange(integerStatistics.getMin(), integerStatistics.getMax());
+        }
+
+        public boolean addParquetStatistics(long rowCount, PrimitiveType primitiveType, Statistics<?> statistics)
+        {
+            if (rowCount == 0) {
+                return true;
+            }
+            if (statistics == null || statistics.isEmpty() || statistics.getNumNulls() < 0) {
+                return false;
+            }
+            if (kind == AggregateKind.COUNT) {
+                count += rowCount - statistics.getNumNulls();
+                return true;
+            }
+            if (!statistics.hasNonNullValue()) {
+                return statistics.getNumNulls() == rowCount;
+            }
+
+            OriginalType originalType = primitiveType.getOriginalType();
+            boolean date = originalType == OriginalType.DATE;
+            if (date != column.get().getType().equals(DATE)) {
+                return false;
+            }
+            if (!date && originalType != null && originalType != OriginalType.INT_8 && originalType != OriginalType.INT_16 && originalType != OriginalType.INT_32 && originalType != OriginalType.INT_64) {
+                return false;
+            }
+            if (statistics instanceof IntStatistics && primitiveType.getPrimitiveTypeName() == INT32) {
+                IntStatistics intStatistics = (IntStatistics) statistics;
+                return addRange(intStatistics.getMin(), intStatistics.getMax());
+            }
+            if (statistics instanceof LongStatistics && primitiveType.getPrimitiveTypeName() == INT64 && !date) {
+                LongStatistics longStatistics = (LongStatistics) statistics;
+                return addRange(longStatistics.getMin(), longStatistics.getMax());
+            }
+            return false;
+        }
+
+        private boolean addRange(long fileMin, long fileMax)
+        {
+            // statistics outside the range of the column type come from a file written with a different type
+            if (fileMin > fileMax || !isInRange(column.get().getType(), fileMin) || !isInRange(column.get().getType(), fileMax)) {
+                return false;
+            }
+            min = (min == null) ? fileMin : Math.min(min, fileMin);
+            max = (max == null) ? fileMax : Math.max(max, fileMax);
+            return true;
+        }
+
+        public void merge(Accumulator other)
+        {
+            count += other.count;
+            if (other.min != null) {
+                min = (min == null) ? other.min : Math.min(min, other.min);
+            }
+            if (other.max != null) {
+                max = (max == null) ? other.max : Math.max(max, other.max);
+            }
+        }
+
+        public Object getValue()
+        {
+            switch (kind) {
+                case COUNT:
+                    return count;
+                case MIN:
+                    return min;
+                case MAX:
+                    return max;
+            }
+            throw new IllegalStateException("Unexpected aggregate: " + kind);
+        }
+
+        private static boolean isIntegerKind(OrcTypeKind typeKind)
+        {
+            return typeKind == BYTE || typeKind == SHORT || typeKind == INT || typeKind == LONG;
+        }
+
+        private static boolean isInRange(Type type, long value)
+        {
+            if (type.equals(TINYINT)) {
+                return value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE;
+            }
+            if (type.equals(SMALLINT)) {
+                return value >= Short.MIN_VALUE && value <= Short.MAX_VALUE;
+            }
+            if (type.equals(INTEGER) || type.equals(DATE)) {
+                return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+            }
+            return true;
+        }
+    }
+}
@@ -16,6 +16,7 @@ package io.prestosql.plugin.hive;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
+import io.prestosql.plugin.hive.metastore.SortingColumn;
 import io.prestosql.plugin.hive.util.HiveBucketing.BucketingVersion;
 
 import java.util.List;
@@ -36,19 +37,43 @@ public class HiveBucketHandle
     // Number of buckets the table will appear to have when the Hive connector
     // presents the table to the engine for read.
     private final int readBucketCount;
+    // Sort order of the rows within each bucket file, as specified in table metadata
+    private final List<SortingColumn> sortedBy;
+    // Whether each bucket is read as a single split in sortedBy order, because the engine relies on it
+    private final boolean sortedRead;
+
+    public HiveBucketHandle(
+            List<HiveColumnHandle> columns,
+            BucketingVersion bucketingVersion,
+            int tableBucketCount,
+            int readBucketCount,
+            List<SortingColumn> sortedBy)
+    {
+        this(columns, bucketingVersion, tableBucketCount, readBucketCount, sortedBy, false);
+    }
 
     @JsonCreator
     public HiveBucketHandle(
             @JsonProperty("columns") List<HiveColumnHandle> columns,
             @JsonProperty("bucketingVersion") BucketingVersion bucketingVersion,
             @JsonProperty("tableBucketCount") int tableBucketCount,
-            @JsonProperty("readBucketCount") int readBucketCount)
+            @JsonProperty("readBucketCount") int readBucketCount,
+            @JsonProperty("sortedBy") List<SortingColumn> sortedBy,
+            @JsonProperty("sortedRead") boolean sortedRead)
     {
         this.columns = requireNonNull(columns, "columns is null");
         columns.forEach(column -> checkArgument(column.isBaseColumn(), format("projected column %s is not allowed for bucketing", column)));
         this.bucketingVersion = requireNonNull(bucketingVersion, "bucketingVersion is null");
         this.tableBucketCount = tableBucketCount;
         this.readBucketCount = readBucketCount;
+        this.sortedBy = ImmutableList.copyOf(requireNonNull(sortedBy, "sortedBy is null"));
+        checkArgument(!sortedRead || !sortedBy.isEmpty(), "sortedRead requires sortedBy");
+        this.sortedRead = sortedRead;
+    }
+
+    public HiveBucketHandle withSortedRead()
+    {
+        return new HiveBucketHandle(columns, bucketingVersion, tableBucketCount, readBucketCount, sortedBy, true);
     }
 
     @JsonProperty
@@ -75,6 +100,18 @@ public class HiveBucketHandle
         return readBucketCount;
     }
 
+    @JsonProperty
+    public List<SortingColumn> getSortedBy()
+    {
+        return sortedBy;
+    }
+
+    @JsonProperty
+    public boolean isSortedRead()
+    {
+        return sortedRead;
+    }
+
     public HiveBucketProperty toTableBucketProperty()
     {
         return new HiveBucketProperty(
@@ -83,7 +120,7 @@ public class HiveBucketHandle
                         .collect(toList()),
                 bucketingVersion,
                 tableBucketCount,
-                ImmutableList.of());
+                sortedBy);
     }
 
     @Override
@@ -99,13 +136,15 @@ public class HiveBucketHandle
         return Objects.equals(this.columns, other.columns) &&
                 this.bucketingVersion == other.bucketingVersion &&
                 this.tableBucketCount == other.tableBucketCount &&
-                this.readBucketCount == other.readBucketCount;
+                this.readBucketCount == other.readBucketCount &&
+                Objects.equals(this.sortedBy, other.sortedBy) &&
+                this.sortedRead == other.sortedRead;
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(columns, bucketingVersion, tableBucketCount, readBucketCount);
+        return Objects.hash(columns, bucketingVersion, tableBucketCount, readBucketCount, sortedBy, sortedRead);
     }
 
     @Override
@@ -116,6 +155,8 @@ public class HiveBucketHandle
                 .add("bucketingVersion", bucketingVersion)
                 .add("tableBucketCount", tableBucketCount)
                 .add("readBucketCount", readBucketCount)
+                .add("sortedBy", sortedBy)
+                .add("sortedRead", sortedRead)
                 .toString();
     }
 }
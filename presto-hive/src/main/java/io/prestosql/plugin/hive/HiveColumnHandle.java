@@ -72,6 +72,9 @@ public class HiveColumnHandle
     public static final int UPDATE_ROW_ID_COLUMN_INDEX = -16;
     public static final String UPDATE_ROW_ID_COLUMN_NAME = "$row_id";
 
+    public static final int STATISTICS_AGGREGATE_COLUMN_INDEX = -17;
+    public static final String STATISTICS_AGGREGATE_COLUMN_PREFIX = "$statistics_aggregate_";
+
     public enum ColumnType
     {
         PARTITION_KEY,
@@ -280,6 +283,14 @@ public class HiveColumnHandle
         return createBaseColumn(PARTITION_COLUMN_NAME, PARTITION_COLUMN_INDEX, PARTITION_HIVE_TYPE, PARTITION_TYPE_SIGNATURE, SYNTHESIZED, Optional.empty());
     }
 
+    /**
+     * A column returning the result of an aggregation computed from file statistics, see {@link HiveTableHandle#getStatisticsAggregateValues()}.
+     */
+    public static HiveColumnHandle statisticsAggregateColumnHandle(int aggregateIndex, Type type)
+    {
+        return createBaseColumn(STATISTICS_AGGREGATE_COLUMN_PREFIX + aggregateIndex, STATISTICS_AGGREGATE_COLUMN_INDEX, toHiveType(type), type, SYNTHESIZED, Optional.empty());
+    }
+
     public static boolean isPathColumnHandle(HiveColumnHandle column)
     {
         return column.getBaseHiveColumnIndex() == PATH_COLUMN_INDEX;
@@ -309,4 +320,9 @@ public class HiveColumnHandle
     {
         return column.getBaseHiveColumnIndex() == UPDATE_ROW_ID_COLUMN_INDEX;
     }
+
+    public static boolean isStatisticsAggregateColumnHandle(HiveColumnHandle column)
+    {
+        return column.getBaseHiveColumnIndex() == STATISTICS_AGGREGATE_COLUMN_INDEX;
+    }
 }
@@ -36,9 +36,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.TimeZone;
 
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.prestosql.plugin.hive.HiveSessionProperties.InsertExistingPartitionsBehavior.APPEND;
 import static io.prestosql.plugin.hive.HiveSessionProperties.InsertExistingPartitionsBehavior.ERROR;
+import static java.util.concurrent.TimeUnit.HOURS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 
 @DefunctConfig({
@@ -57,12 +59,14 @@ public class HiveConfig
     private static final Splitter SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
 
     private DataSize maxSplitSize = DataSize.of(64, MEGABYTE);
+    private DataSize coalescedSplitTargetSize = DataSize.ofBytes(0);
     private int maxPartitionsPerScan = 100_000;
     private int maxOutstandingSplits = 1_000;
     private DataSize maxOutstandingSplitsSize = DataSize.of(256, MEGABYTE);
     private int maxSplitIteratorThreads = 1_000;
     private int minPartitionBatchSize = 10;
     private int maxPartitionBatchSize = 100;
+    private int partitionLoaderConcurrency = 4;
     private int maxInitialSplits = 200;
     private int splitLoaderConcurrency = 4;
     private Integer maxSplitsPerSecond;
@@ -104,6 +108,7 @@ public class HiveConfig
     private boolean skipTargetCleanupOnRollback;
 
     private boolean bucketExecutionEnabled = true;
+    private boolean sortedBucketReadsEnabled;
     private boolean sortedWritingEnabled = true;
 
     private boolean optimizeMismatchedBucketCount;
@@ -124,6 +129,11 @@ public class HiveConfig
     private Duration fileStatusCacheExpireAfterWrite = new Duration(1, MINUTES);
     private long fileStatusCacheMaxSize = 1000 * 1000;
     private List<String> fileStatusCacheTables = ImmutableList.of();
+    private Optional<String> fileStatusCachePersistentDirectory = Optional.empty();
+    private DataSize fileStatusCachePersistentMaxSize = DataSize.of(1, GIGABYTE);
+    private Duration fileStatusCachePersistentExpireAfterWrite = new Duration(1, HOURS);
+    private DataSize fileMetadataCacheMaxSize = DataSize.of(32, MEGABYTE);
+    private Duration fileMetadataCacheExpireAfterWrite = new Duration(1, HOURS);
     private boolean translateHiveViews;
 
     private Optional<Duration> hiveTransactionHeartbeatInterval = Optional.empty();
@@ -135,6 +145,10 @@ public class HiveConfig
 
     private boolean projectionPushdownEnabled = true;
 
+    private boolean statisticsAggregationPushdownEnabled;
+    private int statisticsAggregationPushdownMaxFiles = 1_000;
+    private int statisticsAggregationPushdownThreads = 16;
+
     private Duration dynamicFilteringProbeBlockingTimeout = new Duration(0, MINUTES);
 
     private HiveTimestampPrecision timestampPrecision = HiveTimestampPrecision.MILLISECONDS;
@@ -297,6 +311,20 @@ public class HiveConfig
         return this;
     }
 
+    @NotNull
+    public DataSize getCoalescedSplitTargetSize()
+    {
+        return coalescedSplitTargetSize;
+    }
+
+    @Config("hive.coalesced-split-target-size")
+    @ConfigDescription("Target size of splits combining multiple small files of a partition, zero disables combining")
+    public HiveConfig setCoalescedSplitTargetSize(DataSize coalescedSplitTargetSize)
+    {
+        this.coalescedSplitTargetSize = coalescedSplitTargetSize;
+        return this;
+    }
+
     @Min(1)
     public int getMaxPartitionsPerScan()
     {
@@ -406,6 +434,20 @@ public class HiveConfig
         return this;
     }
 
+    @Min(1)
+    public int getPartitionLoaderConcurrency()
+    {
+        return partitionLoaderConcurrency;
+    }
+
+    @Config("hive.metastore.partition-loader-concurrency")
+    @ConfigDescription("Number of partition batches loaded from the metastore concurrently, ahead of split generation")
+    public HiveConfig setPartitionLoaderConcurrency(int partitionLoaderConcurrency)
+    {
+        this.partitionLoaderConcurrency = partitionLoaderConcurrency;
+        return this;
+    }
+
     public HiveStorageFormat getHiveStorageFormat()
     {
         return hiveStorageFormat;
@@ -693,6 +735,75 @@ public class HiveConfig
         return this;
     }
 
+    @NotNull
+    public Optional<String> getFileStatusCachePersistentDirectory()
+    {
+        return fileStatusCachePersistentDirectory;
+    }
+
+    @Config("hive.file-status-cache-persistent-directory")
+    @ConfigDescription("Local directory where cached directory listings are kept across restarts")
+    public HiveConfig setFileStatusCachePersistentDirectory(String fileStatusCachePersistentDirectory)
+    {
+        this.fileStatusCachePersistentDirectory = Optional.ofNullable(fileStatusCachePersistentDirectory);
+        return this;
+    }
+
+    @NotNull
+    public DataSize getFileStatusCachePersistentMaxSize()
+    {
+        return fileStatusCachePersistentMaxSize;
+    }
+
+    @Config("hive.file-status-cache-persistent-size")
+    @ConfigDescription("Maximum total size of the directory listings kept on disk")
+    public HiveConfig setFileStatusCachePersistentMaxSize(DataSize fileStatusCachePersistentMaxSize)
+    {
+        this.fileStatusCachePersistentMaxSize = fileStatusCachePersistentMaxSize;
+        return this;
+    }
+
+    @NotNull
+    public Duration getFileStatusCachePersistentExpireAfterWrite()
+    {
+        return fileStatusCachePersistentExpireAfterWrite;
+    }
+
+    @Config("hive.file-status-cache-persistent-expire-time")
+    @ConfigDescription("How long a directory listing kept on disk is used, when the directory modification time is unchanged or not tracked")
+    public HiveConfig setFileStatusCachePersistentExpireAfterWrite(Duration fileStatusCachePersistentExpireAfterWrite)
+    {
+        this.fileStatusCachePersistentExpireAfterWrite = fileStatusCachePersistentExpireAfterWrite;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getFileMetadataCacheMaxSize()
+    {
+        return fileMetadataCacheMaxSize;
+    }
+
+    @Config("hive.file-metadata-cache-size")
+    @ConfigDescription("Maximum total heap size of decoded ORC and Parquet file footers cached on each worker, zero disables the cache")
+    public HiveConfig setFileMetadataCacheMaxSize(DataSize fileMetadataCacheMaxSize)
+    {
+        this.fileMetadataCacheMaxSize = fileMetadataCacheMaxSize;
+        return this;
+    }
+
+    @NotNull
+    public Duration getFileMetadataCacheExpireAfterWrite()
+    {
+        return fileMetadataCacheExpireAfterWrite;
+    }
+
+    @Config("hive.file-metadata-cache-expire-time")
+    public HiveConfig setFileMetadataCacheExpireAfterWrite(Duration fileMetadataCacheExpireAfterWrite)
+    {
+        this.fileMetadataCacheExpireAfterWrite = fileMetadataCacheExpireAfterWrite;
+        return this;
+    }
+
     public boolean isSkipDeletionForAlter()
     {
         return skipDeletionForAlter;
@@ -732,6 +843,19 @@ public class HiveConfig
         return this;
     }
 
+    public boolean isSortedBucketReadsEnabled()
+    {
+        return sortedBucketReadsEnabled;
+    }
+
+    @Config("hive.sorted-bucket-reads-enabled")
+    @ConfigDescription("Expose the sort order of bucketed sorted tables to the engine, reading each bucket as a single sorted split")
+    public HiveConfig setSortedBucketReadsEnabled(boolean sortedBucketReadsEnabled)
+    {
+        this.sortedBucketReadsEnabled = sortedBucketReadsEnabled;
+        return this;
+    }
+
     public boolean isSortedWritingEnabled()
     {
         return sortedWritingEnabled;
@@ -955,6 +1079,47 @@ public class HiveConfig
         return this;
     }
 
+    public boolean isStatisticsAggregationPushdownEnabled()
+    {
+        return statisticsAggregationPushdownEnabled;
+    }
+
+    @Config("hive.statistics-aggregation-pushdown-enabled")
+    @ConfigDescription("Compute count, min and max aggregations from ORC and Parquet file statistics when possible")
+    public HiveConfig setStatisticsAggregationPushdownEnabled(boolean statisticsAggregationPushdownEnabled)
+    {
+        this.statisticsAggregationPushdownEnabled = statisticsAggregationPushdownEnabled;
+        return this;
+    }
+
+    @Min(1)
+    public int getStatisticsAggregationPushdownMaxFiles()
+    {
+        return statisticsAggregationPushdownMaxFiles;
+    }
+
+    @Config("hive.statistics-aggregation-pushdown-max-files")
+    @ConfigDescription("Maximum number of files whose statistics are read to compute an aggregation during planning")
+    public HiveConfig setStatisticsAggregationPushdownMaxFiles(int statisticsAggregationPushdownMaxFiles)
+    {
+        this.statisticsAggregationPushdownMaxFiles = statisticsAggregationPushdownMaxFiles;
+        return this;
+    }
+
+    @Min(1)
+    public int getStatisticsAggregationPushdownThreads()
+    {
+        return statisticsAggregationPushdownThreads;
+    }
+
+    @Config("hive.statistics-aggregation-pushdown-threads")
+    @ConfigDescription("Number of threads reading the file footers to compute an aggregation during planning")
+    public HiveConfig setStatisticsAggregationPushdownThreads(int statisticsAggregationPushdownThreads)
+    {
+        this.statisticsAggregationPushdownThreads = statisticsAggregationPushdownThreads;
+        return this;
+    }
+
     @NotNull
     public Duration getDynamicFilteringProbeBlockingTimeout()
     {
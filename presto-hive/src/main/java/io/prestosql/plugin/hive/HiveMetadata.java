@@ -28,6 +28,8 @@ import com.google.common.collect.Sets;
 import io.airlift.json.JsonCodec;
 import io.airlift.slice.Slice;
 import io.prestosql.plugin.base.CatalogName;
+import io.prestosql.plugin.hive.FileStatisticsAggregator.AggregateKind;
+import io.prestosql.plugin.hive.FileStatisticsAggregator.StatisticsAggregate;
 import io.prestosql.plugin.hive.HdfsEnvironment.HdfsContext;
 import io.prestosql.plugin.hive.HiveApplyProjectionUtil.ProjectedColumnRepresentation;
 import io.prestosql.plugin.hive.LocationService.WriteInfo;
@@ -43,6 +45,7 @@ import io.prestosql.plugin.hive.metastore.Partition;
 import io.prestosql.plugin.hive.metastore.PrincipalPrivileges;
 import io.prestosql.plugin.hive.metastore.SemiTransactionalHiveMetastore;
 import io.prestosql.plugin.hive.metastore.SortingColumn;
+import io.prestosql.plugin.hive.metastore.Storage;
 import io.prestosql.plugin.hive.metastore.StorageFormat;
 import io.prestosql.plugin.hive.metastore.Table;
 import io.prestosql.plugin.hive.security.AccessControlMetadata;
@@ -50,10 +53,13 @@ import io.prestosql.plugin.hive.statistics.HiveStatisticsProvider;
 import io.prestosql.plugin.hive.util.HiveBucketing;
 import io.prestosql.plugin.hive.util.HiveUtil;
 import io.prestosql.plugin.hive.util.HiveWriteUtils;
+import io.prestosql.plugin.hive.util.ZOrder;
 import io.prestosql.spi.ErrorType;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.StandardErrorCode;
 import io.prestosql.spi.block.Block;
+import io.prestosql.spi.connector.AggregateFunction;
+import io.prestosql.spi.connector.AggregationApplicationResult;
 import io.prestosql.spi.connector.Assignment;
 import io.prestosql.spi.connector.CatalogSchemaName;
 import io.prestosql.spi.connector.ColumnHandle;
@@ -74,10 +80,12 @@ import io.prestosql.spi.connector.Constraint;
 import io.prestosql.spi.connector.ConstraintApplicationResult;
 import io.prestosql.spi.connector.DiscretePredicates;
 import io.prestosql.spi.connector.InMemoryRecordSet;
+import io.prestosql.spi.connector.LocalProperty;
 import io.prestosql.spi.connector.ProjectionApplicationResult;
 import io.prestosql.spi.connector.SchemaNotFoundException;
 import io.prestosql.spi.connector.SchemaTableName;
 import io.prestosql.spi.connector.SchemaTablePrefix;
+import io.prestosql.spi.connector.SortingProperty;
 import io.prestosql.spi.connector.SystemTable;
 import io.prestosql.spi.connector.TableNotFoundException;
 import io.prestosql.spi.connector.ViewNotFoundException;
@@ -139,6 +147,7 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Iterables.concat;
+import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.google.common.collect.Streams.stream;
 import static io.prestosql.plugin.hive.HiveAnalyzeProperties.getColumnNames;
 import static io.prestosql.plugin.hive.HiveAnalyzeProperties.getPartitionList;
@@ -156,6 +165,7 @@ import static io.prestosql.plugin.hive.HiveColumnHandle.FILE_SIZE_COLUMN_NAME;
 import static io.prestosql.plugin.hive.HiveColumnHandle.PARTITION_COLUMN_NAME;
 import static io.prestosql.plugin.hive.HiveColumnHandle.PATH_COLUMN_NAME;
 import static io.prestosql.plugin.hive.HiveColumnHandle.createBaseColumn;
+import static io.prestosql.plugin.hive.HiveColumnHandle.statisticsAggregateColumnHandle;
 import static io.prestosql.plugin.hive.HiveColumnHandle.updateRowIdColumnHandle;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_COLUMN_ORDER_MISMATCH;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_CONCURRENT_MODIFICATION_DETECTED;
@@ -175,7 +185,10 @@ import static io.prestosql.plugin.hive.HiveSessionProperties.isOptimizedMismatch
 import static io.prestosql.plugin.hive.HiveSessionProperties.isProjectionPushdownEnabled;
 import static io.prestosql.plugin.hive.HiveSessionProperties.isRespectTableFormat;
 import static io.prestosql.plugin.hive.HiveSessionProperties.isSortedWritingEnabled;
+import static io.prestosql.plugin.hive.HiveSessionProperties.isStatisticsAggregationPushdownEnabled;
 import static io.prestosql.plugin.hive.HiveSessionProperties.isStatisticsEnabled;
+import static io.prestosql.plugin.hive.HiveSplitManager.OBJECT_NOT_READABLE;
+import static io.prestosql.plugin.hive.HiveSplitManager.PRESTO_OFFLINE;
 import static io.prestosql.plugin.hive.HiveTableProperties.ANALYZE_COLUMNS_PROPERTY;
 import static io.prestosql.plugin.hive.HiveTableProperties.AVRO_SCHEMA_URL;
 import static io.prestosql.plugin.hive.HiveTableProperties.BUCKETED_BY_PROPERTY;
@@ -194,6 +207,7 @@ import static io.prestosql.plugin.hive.HiveTableProperties.SORTED_BY_PROPERTY;
 import static io.prestosql.plugin.hive.HiveTableProperties.STORAGE_FORMAT_PROPERTY;
 import static io.prestosql.plugin.hive.HiveTableProperties.TEXTFILE_FIELD_SEPARATOR;
 import static io.prestosql.plugin.hive.HiveTableProperties.TEXTFILE_FIELD_SEPARATOR_ESCAPE;
+import static io.prestosql.plugin.hive.HiveTableProperties.Z_ORDER_BY_PROPERTY;
 import static io.prestosql.plugin.hive.HiveTableProperties.getAnalyzeColumns;
 import static io.prestosql.plugin.hive.HiveTableProperties.getAvroSchemaUrl;
 import static io.prestosql.plugin.hive.HiveTableProperties.getBucketProperty;
@@ -206,6 +220,7 @@ import static io.prestosql.plugin.hive.HiveTableProperties.getOrcBloomFilterColu
 import static io.prestosql.plugin.hive.HiveTableProperties.getOrcBloomFilterFpp;
 import static io.prestosql.plugin.hive.HiveTableProperties.getPartitionedBy;
 import static io.prestosql.plugin.hive.HiveTableProperties.getSingleCharacterProperty;
+import static io.prestosql.plugin.hive.HiveTableProperties.getZOrderBy;
 import static io.prestosql.plugin.hive.HiveTableProperties.isTransactional;
 import static io.prestosql.plugin.hive.HiveType.HIVE_STRING;
 import static io.prestosql.plugin.hive.HiveType.toHiveType;
@@ -232,6 +247,7 @@ import static io.prestosql.plugin.hive.util.CompressionConfigUtil.configureCompr
 import static io.prestosql.plugin.hive.util.ConfigurationUtils.toJobConf;
 import static io.prestosql.plugin.hive.util.HiveBucketing.bucketedOnTimestamp;
 import static io.prestosql.plugin.hive.util.HiveBucketing.getHiveBucketHandle;
+import static io.prestosql.plugin.hive.util.HiveBucketing.isSortedBucketRead;
 import static io.prestosql.plugin.hive.util.HiveUtil.columnExtraInfo;
 import static io.prestosql.plugin.hive.util.HiveUtil.getPartitionKeyColumnHandles;
 import static io.prestosql.plugin.hive.util.HiveUtil.hiveColumnHandles;
@@ -286,6 +302,8 @@ public class HiveMetadata
     private static final String ORC_BLOOM_FILTER_COLUMNS_KEY = "orc.bloom.filter.columns";
     private static final String ORC_BLOOM_FILTER_FPP_KEY = "orc.bloom.filter.fpp";
 
+    public static final String Z_ORDER_BY_KEY = "presto.z_order_by";
+
     public static final String SKIP_HEADER_COUNT_KEY = serdeConstants.HEADER_COUNT;
     public static final String SKIP_FOOTER_COUNT_KEY = serdeConstants.FOOTER_COUNT;
 
@@ -315,6 +333,7 @@ public class HiveMetadata
     private final String prestoVersion;
     private final HiveStatisticsProvider hiveStatisticsProvider;
     private final AccessControlMetadata accessControlMetadata;
+    private final FileStatisticsAggregator fileStatisticsAggregator;
 
     public HiveMetadata(
             CatalogName catalogName,
@@ -330,7 +349,8 @@ public class HiveMetadata
             JsonCodec<PartitionUpdate> partitionUpdateCodec,
             String prestoVersion,
             HiveStatisticsProvider hiveStatisticsProvider,
-            AccessControlMetadata accessControlMetadata)
+            AccessControlMetadata accessControlMetadata,
+            FileStatisticsAggregator fileStatisticsAggregator)
     {
         this.catalogName = requireNonNull(catalogName, "catalogName is null");
         this.metastore = requireNonNull(metastore, "metastore is null");
@@ -346,6 +366,7 @@ public class HiveMetadata
         this.prestoVersion = requireNonNull(prestoVersion, "prestoVersion is null");
         this.hiveStatisticsProvider = requireNonNull(hiveStatisticsProvider, "hiveStatisticsProvider is null");
         this.accessControlMetadata = requireNonNull(accessControlMetadata, "accessControlMetadata is null");
+        this.fileStatisticsAggregator = requireNonNull(fileStatisticsAggregator, "fileStatisticsAggregator is null");
     }
 
     public SemiTransactionalHiveMetastore getMetastore()
@@ -615,6 +636,12 @@ public class HiveMetadata
             properties.put(ORC_BLOOM_FILTER_FPP, Double.parseDouble(orcBloomFilterFfp));
         }
 
+        // Z-order clustering
+        String zOrderBy = table.getParameters().get(Z_ORDER_BY_KEY);
+        if (zOrderBy != null) {
+            properties.put(Z_ORDER_BY_PROPERTY, Splitter.on(',').trimResults().omitEmptyStrings().splitToList(zOrderBy));
+        }
+
         // Avro specific property
         String avroSchemaUrl = table.getParameters().get(AVRO_SCHEMA_URL_KEY);
         if (avroSchemaUrl != null) {
@@ -926,6 +953,13 @@ public class HiveMetadata
             tableProperties.put(ORC_BLOOM_FILTER_FPP_KEY, String.valueOf(getOrcBloomFilterFpp(tableMetadata.getProperties())));
         }
 
+        // Z-order clustering
+        List<String> zOrderBy = getZOrderBy(tableMetadata.getProperties());
+        if (zOrderBy != null && !zOrderBy.isEmpty()) {
+            validateZOrderBy(tableMetadata, bucketProperty, zOrderBy);
+            tableProperties.put(Z_ORDER_BY_KEY, Joiner.on(",").join(zOrderBy));
+        }
+
         // Avro specific properties
         String avroSchemaUrl = getAvroSchemaUrl(tableMetadata.getProperties());
         if (avroSchemaUrl != null) {
@@ -1006,6 +1040,31 @@ public class HiveMetadata
         return tableProperties.build();
     }
 
+    private static void validateZOrderBy(ConnectorTableMetadata tableMetadata, Optional<HiveBucketProperty> bucketProperty, List<String> zOrderBy)
+    {
+        if (bucketProperty.isPresent() && !bucketProperty.get().getSortedBy().isEmpty()) {
+            throw new PrestoException(INVALID_TABLE_PROPERTY, format("Cannot specify both %s and %s table properties", Z_ORDER_BY_PROPERTY, SORTED_BY_PROPERTY));
+        }
+        if (ImmutableSet.copyOf(zOrderBy).size() != zOrderBy.size()) {
+            throw new PrestoException(INVALID_TABLE_PROPERTY, format("Duplicate columns in %s table property: %s", Z_ORDER_BY_PROPERTY, zOrderBy));
+        }
+        Map<String, Type> columnTypes = tableMetadata.getColumns().stream()
+                .collect(toImmutableMap(ColumnMetadata::getName, ColumnMetadata::getType));
+        Set<String> partitionedBy = ImmutableSet.copyOf(getPartitionedBy(tableMetadata.getProperties()));
+        for (String column : zOrderBy) {
+            Type type = columnTypes.get(column);
+            if (type == null) {
+                throw new PrestoException(INVALID_TABLE_PROPERTY, format("Z-order column '%s' does not exist in table", column));
+            }
+            if (partitionedBy.contains(column)) {
+                throw new PrestoException(INVALID_TABLE_PROPERTY, format("Z-order column '%s' cannot be a partition column", column));
+            }
+            if (!ZOrder.isSupportedType(type)) {
+                throw new PrestoException(INVALID_TABLE_PROPERTY, format("Z-order column '%s' has unsupported type: %s", column, type));
+            }
+        }
+    }
+
     private static void checkFormatForProperty(HiveStorageFormat actualStorageFormat, HiveStorageFormat expectedStorageFormat, String propertyName)
     {
         if (actualStorageFormat != expectedStorageFormat) {
@@ -2091,12 +2150,24 @@ public class HiveMetadata
                             .collect(toImmutableList())));
         }
 
+        Optional<Set<ColumnHandle>> streamPartitioningColumns = Optional.empty();
+        List<LocalProperty<ColumnHandle>> localProperties = ImmutableList.of();
+        if (hiveTable.getBucketHandle().isPresent() && hiveTable.getBucketHandle().get().isSortedRead()) {
+            // each bucket is read by a single split, in the order the bucket file was written
+            HiveBucketHandle bucketHandle = hiveTable.getBucketHandle().get();
+            Map<String, ColumnHandle> columnHandles = getColumnHandles(session, hiveTable);
+            streamPartitioningColumns = Optional.of(ImmutableSet.<ColumnHandle>copyOf(bucketHandle.getColumns()));
+            localProperties = bucketHandle.getSortedBy().stream()
+                    .<LocalProperty<ColumnHandle>>map(column -> new SortingProperty<>(columnHandles.get(column.getColumnName()), column.getOrder().getSortOrder()))
+                    .collect(toImmutableList());
+        }
+
         return new ConnectorTableProperties(
                 predicate,
                 tablePartitioning,
-                Optional.empty(),
+                streamPartitioningColumns,
                 discretePredicates,
-                ImmutableList.of());
+                localProperties);
     }
 
     @Override
@@ -2104,6 +2175,10 @@ public class HiveMetadata
     {
         HiveTableHandle handle = (HiveTableHandle) tableHandle;
         checkArgument(handle.getAnalyzePartitionValues().isEmpty() || constraint.getSummary().isAll(), "Analyze should not have a constraint");
+        if (handle.isAggregatedFromStatistics()) {
+            // the only columns are the aggregation results, which are filtered by the engine
+            return Optional.empty();
+        }
 
         HivePartitionResult partitionResult = partitionManager.getPartitions(metastore, new HiveIdentity(session), handle, constraint);
         HiveTableHandle newHandle = partitionManager.applyPartitionResult(handle, partitionResult, constraint.getPredicateColumns());
@@ -2138,6 +2213,36 @@ public class HiveMetadata
         }
     }
 
+    @Override
+    public Optional<ConnectorTableHandle> applySortedRead(ConnectorSession session, ConnectorTableHandle tableHandle)
+    {
+        HiveTableHandle handle = (HiveTableHandle) tableHandle;
+        Optional<HiveBucketHandle> bucketHandle = handle.getBucketHandle();
+        if (bucketHandle.isEmpty() || bucketHandle.get().isSortedRead()) {
+            return Optional.empty();
+        }
+
+        HiveIdentity identity = new HiveIdentity(session);
+        List<HivePartition> partitions = partitionManager.getOrLoadPartitions(metastore, identity, handle);
+        if (!isSortedBucketRead(session, bucketHandle.get(), partitions.size())) {
+            return Optional.empty();
+        }
+        if (!handle.getPartitionColumns().isEmpty() && !partitions.isEmpty()) {
+            // a partition that is not bucketed and sorted like the table is read unsorted
+            String partitionName = getOnlyElement(partitions).getPartitionId();
+            Optional<HiveBucketProperty> partitionBucketProperty = metastore.getPartitionsByNames(identity, handle.getSchemaName(), handle.getTableName(), ImmutableList.of(partitionName))
+                    .getOrDefault(partitionName, Optional.empty())
+                    .flatMap(partition -> partition.getStorage().getBucketProperty());
+            if (partitionBucketProperty.isEmpty() ||
+                    partitionBucketProperty.get().getBucketCount() != bucketHandle.get().getTableBucketCount() ||
+                    !partitionBucketProperty.get().getSortedBy().equals(bucketHandle.get().getSortedBy())) {
+                return Optional.empty();
+            }
+        }
+
+        return Optional.of(handle.withBucketHandle(bucketHandle.get().withSortedRead()));
+    }
+
     @Override
     public Optional<ProjectionApplicationResult<ConnectorTableHandle>> applyProjection(
             ConnectorSession session,
@@ -2236,6 +2341,159 @@ public class HiveMetadata
                 column.getComment());
     }
 
+    @Override
+    public Optional<AggregationApplicationResult<ConnectorTableHandle>> applyAggregation(
+            ConnectorSession session,
+            ConnectorTableHandle handle,
+            List<AggregateFunction> aggregates,
+            Map<String, ColumnHandle> assignments,
+            List<List<ColumnHandle>> groupingSets)
+    {
+        HiveTableHandle hiveTable = (HiveTableHandle) handle;
+        if (!isStatisticsAggregationPushdownEnabled(session) ||
+                hiveTable.isAggregatedFromStatistics() ||
+                hiveTable.getAnalyzePartitionValues().isPresent() ||
+                hiveTable.getBucketFilter().isPresent() ||
+                !groupingSets.equals(ImmutableList.of(ImmutableList.of()))) {
+            return Optional.empty();
+        }
+
+        // file statistics cover all rows of a file, so only filters enforced by partition pruning are allowed
+        boolean partitionFiltersOnly = hiveTable.getCompactEffectivePredicate().getDomains()
+                .map(domains -> domains.keySet().stream().allMatch(HiveColumnHandle::isPartitionKey))
+                .orElse(false);
+        if (!partitionFiltersOnly) {
+            return Optional.empty();
+        }
+
+        ImmutableList.Builder<StatisticsAggregate> statisticsAggregates = ImmutableList.builder();
+        for (AggregateFunction aggregate : aggregates) {
+            Optional<StatisticsAggregate> statisticsAggregate = toStatisticsAggregate(aggregate, assignments);
+            if (statisticsAggregate.isEmpty()) {
+                return Optional.empty();
+            }
+            statisticsAggregates.add(statisticsAggregate.get());
+        }
+
+        HiveIdentity identity = new HiveIdentity(session);
+        SchemaTableName tableName = hiveTable.getSchemaTableName();
+        Table table = metastore.getTable(identity, tableName.getSchemaName(), tableName.getTableName())
+                .orElseThrow(() -> new TableNotFoundException(tableName));
+        // deleted rows of transactional tables are only known by reading the delete deltas
+        if (isTransactionalTable(table.getParameters()) || table.getParameters().containsKey(OBJECT_NOT_READABLE)) {
+            return Optional.empty();
+        }
+
+        Optional<List<Storage>> storages = getAggregatedStorages(identity, table, partitionManager.getOrLoadPartitions(metastore, identity, hiveTable));
+        if (storages.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<List<Object>> values = fileStatisticsAggregator.aggregate(session, tableName.getSchemaName(), tableName.getTableName(), storages.get(), statisticsAggregates.build());
+        if (values.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // the results are returned by the scan as a single row, so that no aggregation remains in the plan
+        ImmutableList.Builder<ConnectorExpression> projections = ImmutableList.builder();
+        ImmutableList.Builder<Assignment> resultAssignments = ImmutableList.builder();
+        ImmutableMap.Builder<String, Long> resultValues = ImmutableMap.builder();
+        for (int i = 0; i < aggregates.size(); i++) {
+            Type outputType = aggregates.get(i).getOutputType();
+            HiveColumnHandle resultColumn = statisticsAggregateColumnHandle(i, outputType);
+            projections.add(new Variable(resultColumn.getName(), outputType));
+            resultAssignments.add(new Assignment(resultColumn.getName(), resultColumn, outputType));
+            Object value = values.get().get(i);
+            if (value != null) {
+                resultValues.put(resultColumn.getName(), (Long) value);
+            }
+        }
+        return Optional.of(new AggregationApplicationResult<>(
+                hiveTable.withStatisticsAggregateValues(resultValues.build()),
+                projections.build(),
+                resultAssignments.build(),
+                ImmutableMap.of()));
+    }
+
+    private static Optional<StatisticsAggregate> toStatisticsAggregate(AggregateFunction aggregate, Map<String, ColumnHandle> assignments)
+    {
+        if (aggregate.isDistinct() || aggregate.getFilter().isPresent() || !aggregate.getSortItems().isEmpty()) {
+            return Optional.empty();
+        }
+
+        AggregateKind kind;
+        switch (aggregate.getFunctionName()) {
+            case "count":
+                kind = AggregateKind.COUNT;
+                break;
+            case "min":
+                kind = AggregateKind.MIN;
+                break;
+            case "max":
+                kind = AggregateKind.MAX;
+                break;
+            default:
+                return Optional.empty();
+        }
+
+        List<ConnectorExpression> inputs = aggregate.getInputs();
+        if (inputs.isEmpty()) {
+            return kind == AggregateKind.COUNT ? Optional.of(new StatisticsAggregate(kind, Optional.empty())) : Optional.empty();
+        }
+        if (inputs.size() != 1 || !(inputs.get(0) instanceof Variable)) {
+            return Optional.empty();
+        }
+        HiveColumnHandle column = (HiveColumnHandle) assignments.get(((Variable) inputs.get(0)).getName());
+        if (column.getColumnType() != REGULAR || !column.isBaseColumn() || !FileStatisticsAggregator.isSupported(kind, column.getType())) {
+            return Optional.empty();
+        }
+        return Optional.of(new StatisticsAggregate(kind, Optional.of(column)));
+    }
+
+    private Optional<List<Storage>> getAggregatedStorages(HiveIdentity identity, Table table, List<HivePartition> partitions)
+    {
+        if (table.getPartitionColumns().isEmpty()) {
+            return Optional.of(ImmutableList.of(table.getStorage()));
+        }
+        if (partitions.size() > fileStatisticsAggregator.getMaxFiles()) {
+            return Optional.empty();
+        }
+
+        List<String> partitionNames = partitions.stream()
+                .map(HivePartition::getPartitionId)
+                .collect(toImmutableList());
+        Map<String, Optional<Partition>> partitionsByName = metastore.getPartitionsByNames(identity, table.getDatabaseName(), table.getTableName(), partitionNames);
+        ImmutableList.Builder<Storage> storages = ImmutableList.builder();
+        for (String partitionName : partitionNames) {
+            Optional<Partition> partition = partitionsByName.getOrDefault(partitionName, Optional.empty());
+            if (partition.isEmpty() ||
+                    partition.get().getParameters().containsKey(OBJECT_NOT_READABLE) ||
+                    partition.get().getParameters().containsKey(PRESTO_OFFLINE) ||
+                    getProtectMode(partition.get()).offline ||
+                    !hasSameDataColumns(table, partition.get())) {
+                // left to the split loader, which reports the partition or coerces its columns
+                return Optional.empty();
+            }
+            storages.add(partition.get().getStorage());
+        }
+        return Optional.of(storages.build());
+    }
+
+    private static boolean hasSameDataColumns(Table table, Partition partition)
+    {
+        List<Column> tableColumns = table.getDataColumns();
+        List<Column> partitionColumns = partition.getColumns();
+        if (tableColumns.size() != partitionColumns.size()) {
+            return false;
+        }
+        for (int i = 0; i < tableColumns.size(); i++) {
+            if (!tableColumns.get(i).getName().equals(partitionColumns.get(i).getName()) ||
+                    !tableColumns.get(i).getType().equals(partitionColumns.get(i).getType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public Optional<ConnectorPartitioningHandle> getCommonPartitioningHandle(ConnectorSession session, ConnectorPartitioningHandle left, ConnectorPartitioningHandle right)
     {
@@ -2310,6 +2568,9 @@ public class HiveMetadata
         checkArgument(
                 largerBucketCount % smallerBucketCount == 0 && Integer.bitCount(largerBucketCount / smallerBucketCount) == 1,
                 "The requested partitioning is not a valid alternative for the table layout");
+        checkArgument(
+                !bucketHandle.isSortedRead() || hivePartitioningHandle.getBucketCount() == bucketHandle.getTableBucketCount(),
+                "A sorted read cannot change the bucket count of the table");
 
         return new HiveTableHandle(
                 hiveTable.getSchemaName(),
@@ -2323,12 +2584,15 @@ public class HiveMetadata
                         bucketHandle.getColumns(),
                         bucketHandle.getBucketingVersion(),
                         bucketHandle.getTableBucketCount(),
-                        hivePartitioningHandle.getBucketCount())),
+                        hivePartitioningHandle.getBucketCount(),
+                        bucketHandle.getSortedBy(),
+                        bucketHandle.isSortedRead())),
                 hiveTable.getBucketFilter(),
                 hiveTable.getAnalyzePartitionValues(),
                 hiveTable.getAnalyzeColumnNames(),
                 Optional.empty(),
-                hiveTable.getTransaction());
+                hiveTable.getTransaction(),
+                hiveTable.getStatisticsAggregateValues());
     }
 
     @VisibleForTesting
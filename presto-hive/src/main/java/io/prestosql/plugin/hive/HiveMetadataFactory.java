@@ -56,6 +56,7 @@ public class HiveMetadataFactory
     private final AccessControlMetadataFactory accessControlMetadataFactory;
     private final Optional<Duration> hiveTransactionHeartbeatInterval;
     private final ScheduledExecutorService heartbeatService;
+    private final FileStatisticsAggregator fileStatisticsAggregator;
 
     @Inject
     @SuppressWarnings("deprecation")
@@ -72,7 +73,8 @@ public class HiveMetadataFactory
             LocationService locationService,
             JsonCodec<PartitionUpdate> partitionUpdateCodec,
             NodeVersion nodeVersion,
-            AccessControlMetadataFactory accessControlMetadataFactory)
+            AccessControlMetadataFactory accessControlMetadataFactory,
+            FileStatisticsAggregator fileStatisticsAggregator)
     {
         this(
                 catalogName,
@@ -95,7 +97,8 @@ public class HiveMetadataFactory
                 executorService,
                 heartbeatService,
                 nodeVersion.toString(),
-                accessControlMetadataFactory);
+                accessControlMetadataFactory,
+                fileStatisticsAggregator);
     }
 
     public HiveMetadataFactory(
@@ -119,7 +122,8 @@ public class HiveMetadataFactory
             ExecutorService executorService,
             ScheduledExecutorService heartbeatService,
             String prestoVersion,
-            AccessControlMetadataFactory accessControlMetadataFactory)
+            AccessControlMetadataFactory accessControlMetadataFactory,
+            FileStatisticsAggregator fileStatisticsAggregator)
     {
         this.catalogName = requireNonNull(catalogName, "catalogName is null");
         this.skipDeletionForAlter = skipDeletionForAlter;
@@ -143,6 +147,7 @@ public class HiveMetadataFactory
         renameExecution = new BoundedExecutor(executorService, maxConcurrentFileRenames);
         dropExecutor = new BoundedExecutor(executorService, maxConcurrentMetastoreDrops);
         this.heartbeatService = requireNonNull(heartbeatService, "heartbeatService is null");
+        this.fileStatisticsAggregator = requireNonNull(fileStatisticsAggregator, "fileStatisticsAggregator is null");
     }
 
     @Override
@@ -172,6 +177,7 @@ public class HiveMetadataFactory
                 partitionUpdateCodec,
                 prestoVersion,
                 new MetastoreHiveStatisticsProvider(metastore),
-                accessControlMetadataFactory.create(metastore));
+                accessControlMetadataFactory.create(metastore),
+                fileStatisticsAggregator);
     }
 }
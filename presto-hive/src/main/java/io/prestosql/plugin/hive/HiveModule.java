@@ -24,6 +24,7 @@ import io.airlift.event.client.EventClient;
 import io.prestosql.plugin.base.CatalogName;
 import io.prestosql.plugin.hive.metastore.MetastoreConfig;
 import io.prestosql.plugin.hive.metastore.SemiTransactionalHiveMetastore;
+import io.prestosql.plugin.hive.orc.ForOrcStripeFlush;
 import io.prestosql.plugin.hive.orc.OrcFileWriterFactory;
 import io.prestosql.plugin.hive.orc.OrcPageSourceFactory;
 import io.prestosql.plugin.hive.orc.OrcReaderConfig;
@@ -47,6 +48,8 @@ import io.prestosql.spi.type.TypeManager;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Function;
@@ -58,6 +61,7 @@ import static io.airlift.json.JsonBinder.jsonBinder;
 import static io.airlift.json.JsonCodecBinder.jsonCodecBinder;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static org.weakref.jmx.guice.ExportBinder.newExporter;
 
@@ -81,6 +85,8 @@ public class HiveModule
 
         binder.bind(CachingDirectoryLister.class).in(Scopes.SINGLETON);
         newExporter(binder).export(CachingDirectoryLister.class).withGeneratedName();
+        binder.bind(PersistentDirectoryListingCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(PersistentDirectoryListingCache.class).withGeneratedName();
 
         binder.bind(HiveWriterStats.class).in(Scopes.SINGLETON);
         newExporter(binder).export(HiveWriterStats.class).withGeneratedName();
@@ -102,6 +108,10 @@ public class HiveModule
         binder.bind(FileFormatDataSourceStats.class).in(Scopes.SINGLETON);
         newExporter(binder).export(FileFormatDataSourceStats.class).withGeneratedName();
 
+        binder.bind(FileMetadataCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(FileMetadataCache.class).withGeneratedName();
+        binder.bind(FileStatisticsAggregator.class).in(Scopes.SINGLETON);
+
         Multibinder<HivePageSourceFactory> pageSourceFactoryBinder = newSetBinder(binder, HivePageSourceFactory.class);
         pageSourceFactoryBinder.addBinding().to(OrcPageSourceFactory.class).in(Scopes.SINGLETON);
         pageSourceFactoryBinder.addBinding().to(ParquetPageSourceFactory.class).in(Scopes.SINGLETON);
@@ -146,6 +156,19 @@ public class HiveModule
                 daemonThreadsNamed("hive-heartbeat-" + catalogName + "-%s"));
     }
 
+    @ForOrcStripeFlush
+    @Singleton
+    @Provides
+    public Optional<Executor> createOrcStripeFlushExecutor(CatalogName catalogName, OrcWriterConfig orcWriterConfig)
+    {
+        if (orcWriterConfig.getStripeFlushThreads() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(newFixedThreadPool(
+                orcWriterConfig.getStripeFlushThreads(),
+                daemonThreadsNamed("hive-orc-stripe-flush-" + catalogName + "-%s")));
+    }
+
     @Singleton
     @Provides
     public Function<HiveTransactionHandle, SemiTransactionalHiveMetastore> createMetastoreGetter(HiveTransactionManager transactionManager)
@@ -22,10 +22,13 @@ import io.prestosql.plugin.hive.HdfsEnvironment.HdfsContext;
 import io.prestosql.plugin.hive.HivePageSourceFactory.ReaderPageSourceWithProjections;
 import io.prestosql.plugin.hive.HiveRecordCursorProvider.ReaderRecordCursorWithProjections;
 import io.prestosql.plugin.hive.HiveSplit.BucketConversion;
+import io.prestosql.plugin.hive.HiveSplit.CoalescedFile;
 import io.prestosql.plugin.hive.acid.AcidTransaction;
 import io.prestosql.plugin.hive.orc.OrcFileWriterFactory;
 import io.prestosql.plugin.hive.orc.OrcPageSource;
 import io.prestosql.plugin.hive.util.HiveBucketing.BucketingVersion;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ConnectorPageSource;
 import io.prestosql.spi.connector.ConnectorPageSourceProvider;
@@ -35,6 +38,7 @@ import io.prestosql.spi.connector.ConnectorTableHandle;
 import io.prestosql.spi.connector.ConnectorTransactionHandle;
 import io.prestosql.spi.connector.DynamicFilter;
 import io.prestosql.spi.connector.EmptyPageSource;
+import io.prestosql.spi.connector.FixedPageSource;
 import io.prestosql.spi.connector.RecordCursor;
 import io.prestosql.spi.connector.RecordPageSource;
 import io.prestosql.spi.predicate.TupleDomain;
@@ -53,6 +57,7 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Properties;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
@@ -62,11 +67,13 @@ import static io.prestosql.plugin.hive.HiveColumnHandle.ColumnType.PARTITION_KEY
 import static io.prestosql.plugin.hive.HiveColumnHandle.ColumnType.REGULAR;
 import static io.prestosql.plugin.hive.HiveColumnHandle.ColumnType.SYNTHESIZED;
 import static io.prestosql.plugin.hive.HiveColumnHandle.isRowIdColumnHandle;
+import static io.prestosql.plugin.hive.HiveColumnHandle.isStatisticsAggregateColumnHandle;
 import static io.prestosql.plugin.hive.HivePageSourceProvider.ColumnMapping.toColumnHandles;
 import static io.prestosql.plugin.hive.HiveUpdatablePageSource.ACID_ROW_STRUCT_COLUMN_ID;
 import static io.prestosql.plugin.hive.HiveUpdatablePageSource.ORIGINAL_FILE_PATH_MATCHER;
 import static io.prestosql.plugin.hive.orc.OrcTypeToHiveTypeTranslator.fromOrcTypeToHiveType;
 import static io.prestosql.plugin.hive.util.HiveUtil.getPrefilledColumnValue;
+import static io.prestosql.spi.predicate.Utils.nativeValueToBlock;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
@@ -129,6 +136,28 @@ public class HivePageSourceProvider
                 .collect(toList());
 
         HiveSplit hiveSplit = (HiveSplit) split;
+        if (hiveTable.isAggregatedFromStatistics()) {
+            // the aggregation results computed during planning, as a single row
+            Map<String, Long> values = hiveTable.getStatisticsAggregateValues().get();
+            Block[] blocks = new Block[hiveColumns.size()];
+            for (int i = 0; i < hiveColumns.size(); i++) {
+                HiveColumnHandle column = hiveColumns.get(i);
+                checkArgument(isStatisticsAggregateColumnHandle(column), "Unexpected column: %s", column);
+                blocks[i] = nativeValueToBlock(column.getType(), values.get(column.getName()));
+            }
+            return new FixedPageSource(ImmutableList.of(new Page(1, blocks)));
+        }
+
+        if (!hiveSplit.getCoalescedFiles().isEmpty()) {
+            ImmutableList.Builder<Supplier<ConnectorPageSource>> pageSources = ImmutableList.builder();
+            pageSources.add(() -> createPageSource(transaction, session, withoutCoalescedFiles(hiveSplit), tableHandle, columns, dynamicFilter));
+            for (CoalescedFile file : hiveSplit.getCoalescedFiles()) {
+                HiveSplit fileSplit = createFileSplit(hiveSplit, file);
+                pageSources.add(() -> createPageSource(transaction, session, fileSplit, tableHandle, columns, dynamicFilter));
+            }
+            return new CoalescedPageSource(pageSources.build());
+        }
+
         Path path = new Path(hiveSplit.getPath());
         boolean originalFile = ORIGINAL_FILE_PATH_MATCHER.matcher(path.toString()).matches();
 
@@ -190,6 +219,35 @@ public class HivePageSourceProvider
         throw new RuntimeException("Could not find a file reader for split " + hiveSplit);
     }
 
+    private static HiveSplit withoutCoalescedFiles(HiveSplit split)
+    {
+        return createFileSplit(split, new CoalescedFile(split.getPath(), split.getLength(), split.getFileModifiedTime()));
+    }
+
+    private static HiveSplit createFileSplit(HiveSplit split, CoalescedFile file)
+    {
+        return new HiveSplit(
+                split.getDatabase(),
+                split.getTable(),
+                split.getPartitionName(),
+                file.getPath(),
+                0,
+                file.getLength(),
+                file.getLength(),
+                file.getFileModifiedTime(),
+                split.getSchema(),
+                split.getPartitionKeys(),
+                split.getAddresses(),
+                split.getBucketNumber(),
+                split.getStatementId(),
+                split.isForceLocalScheduling(),
+                split.getTableToPartitionMapping(),
+                split.getBucketConversion(),
+                split.isS3SelectPushdownEnabled(),
+                split.getAcidInfo(),
+                ImmutableList.of());
+    }
+
     public static Optional<ConnectorPageSource> createHivePageSource(
             Set<HivePageSourceFactory> pageSourceFactories,
             Set<HiveRecordCursorProvider> cursorProviders,
@@ -242,6 +300,7 @@ public class HivePageSourceProvider
                     start,
                     length,
                     estimatedFileSize,
+                    fileModifiedTime,
                     schema,
                     desiredColumns,
                     effectivePredicate,
@@ -46,6 +46,7 @@ import static java.util.Locale.ENGLISH;
 public final class HiveSessionProperties
 {
     private static final String BUCKET_EXECUTION_ENABLED = "bucket_execution_enabled";
+    private static final String SORTED_BUCKET_READS_ENABLED = "sorted_bucket_reads_enabled";
     private static final String FORCE_LOCAL_SCHEDULING = "force_local_scheduling";
     private static final String INSERT_EXISTING_PARTITIONS_BEHAVIOR = "insert_existing_partitions_behavior";
     private static final String ORC_BLOOM_FILTERS_ENABLED = "orc_bloom_filters_enabled";
@@ -75,8 +76,10 @@ public final class HiveSessionProperties
     private static final String PARQUET_MAX_READ_BLOCK_SIZE = "parquet_max_read_block_size";
     private static final String PARQUET_WRITER_BLOCK_SIZE = "parquet_writer_block_size";
     private static final String PARQUET_WRITER_PAGE_SIZE = "parquet_writer_page_size";
+    private static final String PARQUET_WRITER_DICTIONARY_MAX_MEMORY = "parquet_writer_dictionary_max_memory";
     private static final String MAX_SPLIT_SIZE = "max_split_size";
     private static final String MAX_INITIAL_SPLIT_SIZE = "max_initial_split_size";
+    private static final String COALESCED_SPLIT_TARGET_SIZE = "coalesced_split_target_size";
     private static final String RCFILE_OPTIMIZED_WRITER_VALIDATE = "rcfile_optimized_writer_validate";
     private static final String SORTED_WRITING_ENABLED = "sorted_writing_enabled";
     private static final String STATISTICS_ENABLED = "statistics_enabled";
@@ -90,6 +93,7 @@ public final class HiveSessionProperties
     private static final String IGNORE_ABSENT_PARTITIONS = "ignore_absent_partitions";
     private static final String QUERY_PARTITION_FILTER_REQUIRED = "query_partition_filter_required";
     private static final String PROJECTION_PUSHDOWN_ENABLED = "projection_pushdown_enabled";
+    private static final String STATISTICS_AGGREGATION_PUSHDOWN_ENABLED = "statistics_aggregation_pushdown_enabled";
     private static final String TIMESTAMP_PRECISION = "timestamp_precision";
     private static final String PARQUET_OPTIMIZED_WRITER_ENABLED = "experimental_parquet_optimized_writer_enabled";
     private static final String DYNAMIC_FILTERING_PROBE_BLOCKING_TIMEOUT = "dynamic_filtering_probe_blocking_timeout";
@@ -130,6 +134,11 @@ public final class HiveSessionProperties
                         "Enable bucket-aware execution: only use a single worker per bucket",
                         hiveConfig.isBucketExecutionEnabled(),
                         false),
+                booleanProperty(
+                        SORTED_BUCKET_READS_ENABLED,
+                        "Allow merge joins to read each bucket of bucketed sorted tables as a single sorted split",
+                        hiveConfig.isSortedBucketReadsEnabled(),
+                        false),
                 booleanProperty(
                         FORCE_LOCAL_SCHEDULING,
                         "Only schedule splits on workers colocated with data node",
@@ -294,6 +303,11 @@ public final class HiveSessionProperties
                         "Parquet: Writer page size",
                         parquetWriterConfig.getPageSize(),
                         false),
+                dataSizeProperty(
+                        PARQUET_WRITER_DICTIONARY_MAX_MEMORY,
+                        "Parquet: Maximum memory used by the dictionaries of a file",
+                        parquetWriterConfig.getDictionaryMaxMemory(),
+                        false),
                 dataSizeProperty(
                         MAX_SPLIT_SIZE,
                         "Max split size",
@@ -304,6 +318,11 @@ public final class HiveSessionProperties
                         "Max initial split size",
                         hiveConfig.getMaxInitialSplitSize(),
                         true),
+                dataSizeProperty(
+                        COALESCED_SPLIT_TARGET_SIZE,
+                        "Target size of splits combining multiple small files, zero disables combining",
+                        hiveConfig.getCoalescedSplitTargetSize(),
+                        false),
                 booleanProperty(
                         RCFILE_OPTIMIZED_WRITER_VALIDATE,
                         "RCFile: Validate writer files",
@@ -369,6 +388,11 @@ public final class HiveSessionProperties
                         "Projection push down enabled for hive",
                         hiveConfig.isProjectionPushdownEnabled(),
                         false),
+                booleanProperty(
+                        STATISTICS_AGGREGATION_PUSHDOWN_ENABLED,
+                        "Compute count, min and max aggregations from ORC and Parquet file statistics when possible",
+                        hiveConfig.isStatisticsAggregationPushdownEnabled(),
+                        false),
                 enumProperty(
                         TIMESTAMP_PRECISION,
                         "Precision for timestamp columns in Hive tables",
@@ -397,6 +421,11 @@ public final class HiveSessionProperties
         return session.getProperty(BUCKET_EXECUTION_ENABLED, Boolean.class);
     }
 
+    public static boolean isSortedBucketReadsEnabled(ConnectorSession session)
+    {
+        return session.getProperty(SORTED_BUCKET_READS_ENABLED, Boolean.class);
+    }
+
     public static boolean isForceLocalScheduling(ConnectorSession session)
     {
         return session.getProperty(FORCE_LOCAL_SCHEDULING, Boolean.class);
@@ -567,6 +596,11 @@ public final class HiveSessionProperties
         return session.getProperty(PARQUET_WRITER_PAGE_SIZE, DataSize.class);
     }
 
+    public static DataSize getParquetWriterDictionaryMaxMemory(ConnectorSession session)
+    {
+        return session.getProperty(PARQUET_WRITER_DICTIONARY_MAX_MEMORY, DataSize.class);
+    }
+
     public static DataSize getMaxSplitSize(ConnectorSession session)
     {
         return session.getProperty(MAX_SPLIT_SIZE, DataSize.class);
@@ -577,6 +611,11 @@ public final class HiveSessionProperties
         return session.getProperty(MAX_INITIAL_SPLIT_SIZE, DataSize.class);
     }
 
+    public static DataSize getCoalescedSplitTargetSize(ConnectorSession session)
+    {
+        return session.getProperty(COALESCED_SPLIT_TARGET_SIZE, DataSize.class);
+    }
+
     public static boolean isRcfileOptimizedWriterValidate(ConnectorSession session)
     {
         return session.getProperty(RCFILE_OPTIMIZED_WRITER_VALIDATE, Boolean.class);
@@ -646,6 +685,11 @@ public final class HiveSessionProperties
         return session.getProperty(PROJECTION_PUSHDOWN_ENABLED, Boolean.class);
     }
 
+    public static boolean isStatisticsAggregationPushdownEnabled(ConnectorSession session)
+    {
+        return session.getProperty(STATISTICS_AGGREGATION_PUSHDOWN_ENABLED, Boolean.class);
+    }
+
     public static HiveTimestampPrecision getTimestampPrecision(ConnectorSession session)
     {
         return session.getProperty(TIMESTAMP_PRECISION, HiveTimestampPrecision.class);
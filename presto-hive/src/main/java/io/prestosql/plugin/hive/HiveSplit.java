@@ -52,6 +52,7 @@ public class HiveSplit
     private final Optional<BucketConversion> bucketConversion;
     private final boolean s3SelectPushdownEnabled;
     private final Optional<AcidInfo> acidInfo;
+    private final List<CoalescedFile> coalescedFiles;
 
     @JsonCreator
     public HiveSplit(
@@ -72,7 +73,8 @@ public class HiveSplit
             @JsonProperty("tableToPartitionMapping") TableToPartitionMapping tableToPartitionMapping,
             @JsonProperty("bucketConversion") Optional<BucketConversion> bucketConversion,
             @JsonProperty("s3SelectPushdownEnabled") boolean s3SelectPushdownEnabled,
-            @JsonProperty("acidInfo") Optional<AcidInfo> acidInfo)
+            @JsonProperty("acidInfo") Optional<AcidInfo> acidInfo,
+            @JsonProperty("coalescedFiles") List<CoalescedFile> coalescedFiles)
     {
         checkArgument(start >= 0, "start must be positive");
         checkArgument(length >= 0, "length must be positive");
@@ -88,6 +90,7 @@ public class HiveSplit
         requireNonNull(tableToPartitionMapping, "tableToPartitionMapping is null");
         requireNonNull(bucketConversion, "bucketConversion is null");
         requireNonNull(acidInfo, "acidInfo is null");
+        requireNonNull(coalescedFiles, "coalescedFiles is null");
 
         this.database = database;
         this.table = table;
@@ -107,6 +110,7 @@ public class HiveSplit
         this.bucketConversion = bucketConversion;
         this.s3SelectPushdownEnabled = s3SelectPushdownEnabled;
         this.acidInfo = acidInfo;
+        this.coalescedFiles = ImmutableList.copyOf(coalescedFiles);
     }
 
     @JsonProperty
@@ -224,6 +228,15 @@ public class HiveSplit
         return acidInfo;
     }
 
+    /**
+     * Whole small files read after the file of this split, by the same driver.
+     */
+    @JsonProperty
+    public List<CoalescedFile> getCoalescedFiles()
+    {
+        return coalescedFiles;
+    }
+
     @Override
     public Object getInfo()
     {
@@ -238,6 +251,7 @@ public class HiveSplit
                 .put("forceLocalScheduling", forceLocalScheduling)
                 .put("partitionName", partitionName)
                 .put("s3SelectPushdownEnabled", s3SelectPushdownEnabled)
+                .put("coalescedFileCount", coalescedFiles.size())
                 .build();
     }
 
@@ -252,6 +266,73 @@ public class HiveSplit
                 .toString();
     }
 
+    public static class CoalescedFile
+    {
+        private final String path;
+        private final long length;
+        private final long fileModifiedTime;
+
+        @JsonCreator
+        public CoalescedFile(
+                @JsonProperty("path") String path,
+                @JsonProperty("length") long length,
+                @JsonProperty("fileModifiedTime") long fileModifiedTime)
+        {
+            checkArgument(length >= 0, "length must be positive");
+            this.path = requireNonNull(path, "path is null");
+            this.length = length;
+            this.fileModifiedTime = fileModifiedTime;
+        }
+
+        @JsonProperty
+        public String getPath()
+        {
+            return path;
+        }
+
+        @JsonProperty
+        public long getLength()
+        {
+            return length;
+        }
+
+        @JsonProperty
+        public long getFileModifiedTime()
+        {
+            return fileModifiedTime;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CoalescedFile that = (CoalescedFile) o;
+            return length == that.length &&
+                    fileModifiedTime == that.fileModifiedTime &&
+                    path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(path, length, fileModifiedTime);
+        }
+
+        @Override
+        public String toString()
+        {
+            return toStringHelper(this)
+                    .addValue(path)
+                    .addValue(length)
+                    .toString();
+        }
+    }
+
     public static class BucketConversion
     {
         private final BucketingVersion bucketingVersion;
@@ -26,6 +26,7 @@ import io.prestosql.plugin.hive.metastore.Column;
 import io.prestosql.plugin.hive.metastore.Partition;
 import io.prestosql.plugin.hive.metastore.SemiTransactionalHiveMetastore;
 import io.prestosql.plugin.hive.metastore.Table;
+import io.prestosql.plugin.hive.util.ConcurrentBatchLoader;
 import io.prestosql.plugin.hive.util.HiveBucketing.HiveBucketFilter;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.VersionEmbedder;
@@ -45,13 +46,17 @@ import org.weakref.jmx.Nested;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Properties;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
@@ -94,10 +99,12 @@ public class HiveSplitManager
     private final HdfsEnvironment hdfsEnvironment;
     private final DirectoryLister directoryLister;
     private final Executor executor;
+    private final Executor partitionLoaderExecutor;
     private final int maxOutstandingSplits;
     private final DataSize maxOutstandingSplitsSize;
     private final int minPartitionBatchSize;
     private final int maxPartitionBatchSize;
+    private final int partitionLoaderConcurrency;
     private final int maxInitialSplits;
     private final int splitLoaderConcurrency;
     private final int maxSplitsPerSecond;
@@ -124,11 +131,14 @@ public class HiveSplitManager
                 hdfsEnvironment,
                 directoryLister,
                 versionEmbedder.embedVersion(new BoundedExecutor(executorService, hiveConfig.getMaxSplitIteratorThreads())),
+                // not bounded by the split iterator threads, which block waiting for the partitions
+                versionEmbedder.embedVersion(executorService),
                 new CounterStat(),
                 hiveConfig.getMaxOutstandingSplits(),
                 hiveConfig.getMaxOutstandingSplitsSize(),
                 hiveConfig.getMinPartitionBatchSize(),
                 hiveConfig.getMaxPartitionBatchSize(),
+                hiveConfig.getPartitionLoaderConcurrency(),
                 hiveConfig.getMaxInitialSplits(),
                 hiveConfig.getSplitLoaderConcurrency(),
                 hiveConfig.getMaxSplitsPerSecond(),
@@ -143,11 +153,13 @@ public class HiveSplitManager
             HdfsEnvironment hdfsEnvironment,
             DirectoryLister directoryLister,
             Executor executor,
+            Executor partitionLoaderExecutor,
             CounterStat highMemorySplitSourceCounter,
             int maxOutstandingSplits,
             DataSize maxOutstandingSplitsSize,
             int minPartitionBatchSize,
             int maxPartitionBatchSize,
+            int partitionLoaderConcurrency,
             int maxInitialSplits,
             int splitLoaderConcurrency,
             @Nullable Integer maxSplitsPerSecond,
@@ -160,12 +172,15 @@ public class HiveSplitManager
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.directoryLister = requireNonNull(directoryLister, "directoryLister is null");
         this.executor = new ErrorCodedExecutor(executor);
+        this.partitionLoaderExecutor = new ErrorCodedExecutor(partitionLoaderExecutor);
         this.highMemorySplitSourceCounter = requireNonNull(highMemorySplitSourceCounter, "highMemorySplitSourceCounter is null");
         checkArgument(maxOutstandingSplits >= 1, "maxOutstandingSplits must be at least 1");
         this.maxOutstandingSplits = maxOutstandingSplits;
         this.maxOutstandingSplitsSize = maxOutstandingSplitsSize;
         this.minPartitionBatchSize = minPartitionBatchSize;
         this.maxPartitionBatchSize = maxPartitionBatchSize;
+        checkArgument(partitionLoaderConcurrency >= 1, "partitionLoaderConcurrency must be at least 1");
+        this.partitionLoaderConcurrency = partitionLoaderConcurrency;
         this.maxInitialSplits = maxInitialSplits;
         this.splitLoaderConcurrency = splitLoaderConcurrency;
         this.maxSplitsPerSecond = firstNonNull(maxSplitsPerSecond, Integer.MAX_VALUE);
@@ -195,6 +210,31 @@ public class HiveSplitManager
             throw new HiveNotReadableException(tableName, Optional.empty(), tableNotReadable);
         }
 
+        // aggregates computed from file footer statistics travel in the table handle, so a single empty split
+        // is enough for the page source to return them
+        if (hiveTable.isAggregatedFromStatistics()) {
+            return new FixedSplitSource(ImmutableList.of(new HiveSplit(
+                    tableName.getSchemaName(),
+                    tableName.getTableName(),
+                    UNPARTITIONED_ID,
+                    table.getStorage().getLocation(),
+                    0,
+                    0,
+                    0,
+                    0,
+                    new Properties(),
+                    ImmutableList.of(),
+                    ImmutableList.of(),
+                    OptionalInt.empty(),
+                    0,
+                    false,
+                    TableToPartitionMapping.empty(),
+                    Optional.empty(),
+                    false,
+                    Optional.empty(),
+                    ImmutableList.of())));
+        }
+
         // get partitions
         List<HivePartition> partitions = partitionManager.getOrLoadPartitions(metastore, new HiveIdentity(session), hiveTable);
 
@@ -215,10 +255,12 @@ public class HiveSplitManager
         // sort partitions
         partitions = Ordering.natural().onResultOf(HivePartition::getPartitionId).reverse().sortedCopy(partitions);
 
-        Iterable<HivePartitionMetadata> hivePartitions = getPartitionMetadata(session, metastore, table, tableName, partitions, bucketHandle.map(HiveBucketHandle::toTableBucketProperty));
+        List<ConcurrentBatchLoader<?, ?>> partitionLoaders = new ArrayList<>();
+        Iterable<HivePartitionMetadata> hivePartitions = getPartitionMetadata(session, metastore, table, tableName, partitions, bucketHandle.map(HiveBucketHandle::toTableBucketProperty), partitionLoaders::add);
 
-        // Only one thread per partition is usable when a table is not transactional
-        int concurrency = isTransactionalTable(table.getParameters()) ? splitLoaderConcurrency : min(splitLoaderConcurrency, partitions.size());
+        // Only one thread per partition is usable when a table is not transactional, unless nested directories are listed concurrently
+        int concurrency = isTransactionalTable(table.getParameters()) || recursiveDfsWalkerEnabled ? splitLoaderConcurrency : min(splitLoaderConcurrency, partitions.size());
+        boolean sortedBucketRead = bucketHandle.map(HiveBucketHandle::isSortedRead).orElse(false);
         HiveSplitLoader hiveSplitLoader = new BackgroundHiveSplitLoader(
                 table,
                 hiveTable.getTransaction(),
@@ -227,7 +269,7 @@ public class HiveSplitManager
                 dynamicFilter,
                 getDynamicFilteringProbeBlockingTimeout(session),
                 typeManager,
-                createBucketSplitInfo(bucketHandle, bucketFilter),
+                createBucketSplitInfo(bucketHandle, bucketFilter, sortedBucketRead),
                 session,
                 hdfsEnvironment,
                 namenodeStats,
@@ -238,6 +280,9 @@ public class HiveSplitManager
                 !hiveTable.getPartitionColumns().isEmpty() && isIgnoreAbsentPartitions(session),
                 metastore.getValidWriteIds(session, hiveTable)
                         .map(validTxnWriteIdList -> validTxnWriteIdList.getTableValidWriteIdList(table.getDatabaseName() + "." + table.getTableName())));
+        if (!partitionLoaders.isEmpty()) {
+            hiveSplitLoader = cancelPartitionLoadsOnStop(hiveSplitLoader, partitionLoaders);
+        }
 
         HiveSplitSource splitSource;
         switch (splitSchedulingStrategy) {
@@ -282,7 +327,7 @@ public class HiveSplitManager
         return highMemorySplitSourceCounter;
     }
 
-    private Iterable<HivePartitionMetadata> getPartitionMetadata(ConnectorSession session, SemiTransactionalHiveMetastore metastore, Table table, SchemaTableName tableName, List<HivePartition> hivePartitions, Optional<HiveBucketProperty> bucketProperty)
+    private Iterable<HivePartitionMetadata> getPartitionMetadata(ConnectorSession session, SemiTransactionalHiveMetastore metastore, Table table, SchemaTableName tableName, List<HivePartition> hivePartitions, Optional<HiveBucketProperty> bucketProperty, Consumer<ConcurrentBatchLoader<?, ?>> partitionLoaderCallback)
     {
         if (hivePartitions.isEmpty()) {
             return ImmutableList.of();
@@ -296,7 +341,7 @@ public class HiveSplitManager
         }
 
         Iterable<List<HivePartition>> partitionNameBatches = partitionExponentially(hivePartitions, minPartitionBatchSize, maxPartitionBatchSize);
-        Iterable<List<HivePartitionMetadata>> partitionBatches = transform(partitionNameBatches, partitionBatch -> {
+        Function<List<HivePartition>, List<HivePartitionMetadata>> partitionBatchLoader = partitionBatch -> {
             Map<String, Optional<Partition>> batch = metastore.getPartitionsByNames(
                     new HiveIdentity(session),
                     tableName.getSchemaName(),
@@ -371,10 +416,41 @@ public class HiveSplitManager
             }
 
             return results.build();
-        });
+        };
+        if (partitionLoaderConcurrency == 1) {
+            return concat(transform(partitionNameBatches, partitionBatchLoader::apply));
+        }
+        // Load the batches up to partitionLoaderConcurrency ahead of the split loader, so that it can
+        // list the partitions already returned while the next ones are fetched
+        ConcurrentBatchLoader<List<HivePartition>, List<HivePartitionMetadata>> partitionBatches = new ConcurrentBatchLoader<>(
+                partitionNameBatches,
+                partitionBatchLoader,
+                partitionLoaderConcurrency,
+                partitionLoaderExecutor);
+        partitionLoaderCallback.accept(partitionBatches);
         return concat(partitionBatches);
     }
 
+    private static HiveSplitLoader cancelPartitionLoadsOnStop(HiveSplitLoader splitLoader, List<ConcurrentBatchLoader<?, ?>> partitionLoaders)
+    {
+        return new HiveSplitLoader()
+        {
+            @Override
+            public void start(HiveSplitSource splitSource)
+            {
+                splitLoader.start(splitSource);
+            }
+
+            @Override
+            public void stop()
+            {
+                // the split source stops the loader when the query fails, or finishes before all splits are loaded
+                splitLoader.stop();
+                partitionLoaders.forEach(ConcurrentBatchLoader::cancel);
+            }
+        };
+    }
+
     private TableToPartitionMapping getTableToPartitionMapping(ConnectorSession session, SchemaTableName tableName, String partName, List<Column> tableColumns, List<Column> partitionColumns)
     {
         if (isPartitionUseColumnNames(session)) {
@@ -15,11 +15,14 @@ package io.prestosql.plugin.hive;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.log.Logger;
 import io.airlift.stats.CounterStat;
 import io.airlift.units.DataSize;
+import io.prestosql.plugin.hive.HiveSplit.CoalescedFile;
 import io.prestosql.plugin.hive.InternalHiveSplit.InternalHiveBlock;
 import io.prestosql.plugin.hive.util.AsyncQueue;
 import io.prestosql.plugin.hive.util.AsyncQueue.BorrowResult;
@@ -31,8 +34,12 @@ import io.prestosql.spi.connector.ConnectorSplit;
 import io.prestosql.spi.connector.ConnectorSplitSource;
 
 import java.io.FileNotFoundException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -46,6 +53,7 @@ import java.util.function.Predicate;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.concurrent.MoreFutures.failedFuture;
@@ -54,6 +62,7 @@ import static io.airlift.units.DataSize.succinctBytes;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_EXCEEDED_SPLIT_BUFFERING_LIMIT;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_FILE_NOT_FOUND;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_UNKNOWN_ERROR;
+import static io.prestosql.plugin.hive.HiveSessionProperties.getCoalescedSplitTargetSize;
 import static io.prestosql.plugin.hive.HiveSessionProperties.getMaxInitialSplitSize;
 import static io.prestosql.plugin.hive.HiveSessionProperties.getMaxSplitSize;
 import static io.prestosql.plugin.hive.HiveSplitSource.StateKind.CLOSED;
@@ -69,6 +78,8 @@ class HiveSplitSource
 {
     private static final Logger log = Logger.get(HiveSplitSource.class);
 
+    private static final int MAX_COALESCED_FILES = 256;
+
     private final String queryId;
     private final String databaseName;
     private final String tableName;
@@ -79,6 +90,7 @@ class HiveSplitSource
     private final DataSize maxSplitSize;
     private final DataSize maxInitialSplitSize;
     private final AtomicInteger remainingInitialSplits;
+    private final long coalescedSplitTargetBytes;
 
     private final HiveSplitLoader splitLoader;
     private final AtomicReference<State> stateReference;
@@ -112,6 +124,7 @@ class HiveSplitSource
         this.maxSplitSize = getMaxSplitSize(session);
         this.maxInitialSplitSize = getMaxInitialSplitSize(session);
         this.remainingInitialSplits = new AtomicInteger(maxInitialSplits);
+        this.coalescedSplitTargetBytes = getCoalescedSplitTargetSize(session).toBytes();
     }
 
     public static HiveSplitSource allAtOnce(
@@ -335,8 +348,15 @@ class HiveSplitSource
         ListenableFuture<List<ConnectorSplit>> future = queues.borrowBatchAsync(bucketNumber, maxSize, internalSplits -> {
             ImmutableList.Builder<InternalHiveSplit> splitsToInsertBuilder = ImmutableList.builder();
             ImmutableList.Builder<ConnectorSplit> resultBuilder = ImmutableList.builder();
+            ListMultimap<Entry<String, OptionalInt>, InternalHiveSplit> smallFiles = LinkedListMultimap.create();
             int removedEstimatedSizeInBytes = 0;
             for (InternalHiveSplit internalSplit : internalSplits) {
+                if (isSmallFile(internalSplit)) {
+                    // files of one partition and bucket share schema and partition keys, so they can be read by one split
+                    smallFiles.put(new SimpleImmutableEntry<>(internalSplit.getPartitionName(), internalSplit.getBucketNumber()), internalSplit);
+                    continue;
+                }
+
                 long maxSplitBytes = maxSplitSize.toBytes();
                 if (remainingInitialSplits.get() > 0) {
                     if (remainingInitialSplits.getAndDecrement() > 0) {
@@ -380,7 +400,8 @@ class HiveSplitSource
                         internalSplit.getTableToPartitionMapping(),
                         internalSplit.getBucketConversion(),
                         internalSplit.isS3SelectPushdownEnabled(),
-                        internalSplit.getAcidInfo()));
+                        internalSplit.getAcidInfo(),
+                        ImmutableList.of()));
 
                 internalSplit.increaseStart(splitBytes);
 
@@ -391,11 +412,27 @@ class HiveSplitSource
                     splitsToInsertBuilder.add(internalSplit);
                 }
             }
+            for (Collection<InternalHiveSplit> files : smallFiles.asMap().values()) {
+                List<InternalHiveSplit> group = new ArrayList<>();
+                long groupBytes = 0;
+                for (InternalHiveSplit file : files) {
+                    long fileBytes = file.getEnd() - file.getStart();
+                    if (!group.isEmpty() && (groupBytes + fileBytes > coalescedSplitTargetBytes || group.size() >= MAX_COALESCED_FILES)) {
+                        resultBuilder.add(createCoalescedSplit(group));
+                        group = new ArrayList<>();
+                        groupBytes = 0;
+                    }
+                    group.add(file);
+                    groupBytes += fileBytes;
+                    removedEstimatedSizeInBytes += file.getEstimatedSizeInBytes();
+                }
+                resultBuilder.add(createCoalescedSplit(group));
+            }
             estimatedSplitSizeInBytes.addAndGet(-removedEstimatedSizeInBytes);
 
             List<InternalHiveSplit> splitsToInsert = splitsToInsertBuilder.build();
             List<ConnectorSplit> result = resultBuilder.build();
-            bufferedInternalSplitCount.addAndGet(splitsToInsert.size() - result.size());
+            bufferedInternalSplitCount.addAndGet(splitsToInsert.size() - internalSplits.size());
 
             return new AsyncQueue.BorrowResult<>(splitsToInsert, result);
         });
@@ -423,6 +460,43 @@ class HiveSplitSource
         return toCompletableFuture(transform);
     }
 
+    private boolean isSmallFile(InternalHiveSplit internalSplit)
+    {
+        return coalescedSplitTargetBytes > 0 &&
+                internalSplit.isCoalescable() &&
+                internalSplit.getStart() == 0 &&
+                internalSplit.getEnd() == internalSplit.getEstimatedFileSize() &&
+                internalSplit.getEstimatedFileSize() < coalescedSplitTargetBytes;
+    }
+
+    private HiveSplit createCoalescedSplit(List<InternalHiveSplit> files)
+    {
+        InternalHiveSplit first = files.get(0);
+        List<CoalescedFile> coalescedFiles = files.subList(1, files.size()).stream()
+                .map(file -> new CoalescedFile(file.getPath(), file.getEnd(), file.getFileModifiedTime()))
+                .collect(toImmutableList());
+        return new HiveSplit(
+                databaseName,
+                tableName,
+                first.getPartitionName(),
+                first.getPath(),
+                first.getStart(),
+                first.getEnd() - first.getStart(),
+                first.getEstimatedFileSize(),
+                first.getFileModifiedTime(),
+                first.getSchema(),
+                first.getPartitionKeys(),
+                first.currentBlock().getAddresses(),
+                first.getBucketNumber(),
+                first.getStatementId(),
+                first.isForceLocalScheduling(),
+                first.getTableToPartitionMapping(),
+                first.getBucketConversion(),
+                first.isS3SelectPushdownEnabled(),
+                first.getAcidInfo(),
+                coalescedFiles);
+    }
+
     @Override
     public boolean isFinished()
     {
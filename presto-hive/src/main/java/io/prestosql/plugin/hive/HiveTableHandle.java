@@ -52,6 +52,7 @@ public class HiveTableHandle
     private final Optional<Set<String>> analyzeColumnNames;
     private final Optional<Set<ColumnHandle>> constraintColumns;
     private final AcidTransaction transaction;
+    private final Optional<Map<String, Long>> statisticsAggregateValues;
 
     @JsonCreator
     public HiveTableHandle(
@@ -64,7 +65,8 @@ public class HiveTableHandle
             @JsonProperty("bucketFilter") Optional<HiveBucketFilter> bucketFilter,
             @JsonProperty("analyzePartitionValues") Optional<List<List<String>>> analyzePartitionValues,
             @JsonProperty("analyzeColumnNames") Optional<Set<String>> analyzeColumnNames,
-            @JsonProperty("transaction") AcidTransaction transaction)
+            @JsonProperty("transaction") AcidTransaction transaction,
+            @JsonProperty("statisticsAggregateValues") Optional<Map<String, Long>> statisticsAggregateValues)
     {
         this(
                 schemaName,
@@ -79,7 +81,8 @@ public class HiveTableHandle
                 analyzePartitionValues,
                 analyzeColumnNames,
                 Optional.empty(),
-                transaction);
+                transaction,
+                statisticsAggregateValues);
     }
 
     public HiveTableHandle(
@@ -102,7 +105,8 @@ public class HiveTableHandle
                 Optional.empty(),
                 Optional.empty(),
                 Optional.empty(),
-                NO_ACID_TRANSACTION);
+                NO_ACID_TRANSACTION,
+                Optional.empty());
     }
 
     public HiveTableHandle(
@@ -118,7 +122,8 @@ public class HiveTableHandle
             Optional<List<List<String>>> analyzePartitionValues,
             Optional<Set<String>> analyzeColumnNames,
             Optional<Set<ColumnHandle>> constraintColumns,
-            AcidTransaction transaction)
+            AcidTransaction transaction,
+            Optional<Map<String, Long>> statisticsAggregateValues)
     {
         this.schemaName = requireNonNull(schemaName, "schemaName is null");
         this.tableName = requireNonNull(tableName, "tableName is null");
@@ -133,6 +138,7 @@ public class HiveTableHandle
         this.analyzeColumnNames = requireNonNull(analyzeColumnNames, "analyzeColumnNames is null").map(ImmutableSet::copyOf);
         this.constraintColumns = requireNonNull(constraintColumns, "constraintColumns is null");
         this.transaction = requireNonNull(transaction, "transaction is null");
+        this.statisticsAggregateValues = requireNonNull(statisticsAggregateValues, "statisticsAggregateValues is null").map(ImmutableMap::copyOf);
     }
 
     public HiveTableHandle withAnalyzePartitionValues(List<List<String>> analyzePartitionValues)
@@ -150,7 +156,8 @@ public class HiveTableHandle
                 Optional.of(analyzePartitionValues),
                 analyzeColumnNames,
                 constraintColumns,
-                transaction);
+                transaction,
+                statisticsAggregateValues);
     }
 
     public HiveTableHandle withAnalyzeColumnNames(Set<String> analyzeColumnNames)
@@ -168,7 +175,8 @@ public class HiveTableHandle
                 analyzePartitionValues,
                 Optional.of(analyzeColumnNames),
                 constraintColumns,
-                transaction);
+                transaction,
+                statisticsAggregateValues);
     }
 
     public HiveTableHandle withTransaction(AcidTransaction transaction)
@@ -186,7 +194,46 @@ public class HiveTableHandle
                 analyzePartitionValues,
                 analyzeColumnNames,
                 constraintColumns,
-                transaction);
+                transaction,
+                statisticsAggregateValues);
+    }
+
+    public HiveTableHandle withBucketHandle(HiveBucketHandle bucketHandle)
+    {
+        return new HiveTableHandle(
+                schemaName,
+                tableName,
+                tableParameters,
+                partitionColumns,
+                partitions,
+                compactEffectivePredicate,
+                enforcedConstraint,
+                Optional.of(bucketHandle),
+                bucketFilter,
+                analyzePartitionValues,
+                analyzeColumnNames,
+                constraintColumns,
+                transaction,
+                statisticsAggregateValues);
+    }
+
+    public HiveTableHandle withStatisticsAggregateValues(Map<String, Long> statisticsAggregateValues)
+    {
+        return new HiveTableHandle(
+                schemaName,
+                tableName,
+                tableParameters,
+                partitionColumns,
+                partitions,
+                compactEffectivePredicate,
+                enforcedConstraint,
+                Optional.empty(),
+                bucketFilter,
+                analyzePartitionValues,
+                analyzeColumnNames,
+                constraintColumns,
+                transaction,
+                Optional.of(statisticsAggregateValues));
     }
 
     @JsonProperty
@@ -263,6 +310,23 @@ public class HiveTableHandle
         return transaction;
     }
 
+    /**
+     * The results of an aggregation over this table computed from file statistics during planning,
+     * keyed by the name of the statistics aggregate column returning them. The scan then produces a
+     * single row with these values. Aggregates missing from the map are null.
+     */
+    @JsonProperty
+    public Optional<Map<String, Long>> getStatisticsAggregateValues()
+    {
+        return statisticsAggregateValues;
+    }
+
+    @JsonIgnore
+    public boolean isAggregatedFromStatistics()
+    {
+        return statisticsAggregateValues.isPresent();
+    }
+
     // do not serialize constraint columns as they are not needed on workers
     @JsonIgnore
     public Optional<Set<ColumnHandle>> getConstraintColumns()
@@ -321,7 +385,8 @@ public class HiveTableHandle
                 Objects.equals(bucketHandle, that.bucketHandle) &&
                 Objects.equals(bucketFilter, that.bucketFilter) &&
                 Objects.equals(analyzePartitionValues, that.analyzePartitionValues) &&
-                Objects.equals(transaction, that.transaction);
+                Objects.equals(transaction, that.transaction) &&
+                Objects.equals(statisticsAggregateValues, that.statisticsAggregateValues);
     }
 
     @Override
@@ -338,7 +403,8 @@ public class HiveTableHandle
                 bucketHandle,
                 bucketFilter,
                 analyzePartitionValues,
-                transaction);
+                transaction,
+                statisticsAggregateValues);
     }
 
     @Override
@@ -71,6 +71,7 @@ public class HiveTableProperties
     public static final String CSV_QUOTE = "csv_quote";
     public static final String CSV_ESCAPE = "csv_escape";
     public static final String TRANSACTIONAL = "transactional";
+    public static final String Z_ORDER_BY_PROPERTY = "z_order_by";
 
     private final List<PropertyMetadata<?>> tableProperties;
 
@@ -156,7 +157,19 @@ public class HiveTableProperties
                 stringProperty(CSV_SEPARATOR, "CSV separator character", null, false),
                 stringProperty(CSV_QUOTE, "CSV quote character", null, false),
                 stringProperty(CSV_ESCAPE, "CSV escape character", null, false),
-                booleanProperty(TRANSACTIONAL, "Table is transactional", null, false));
+                booleanProperty(TRANSACTIONAL, "Table is transactional", null, false),
+                new PropertyMetadata<>(
+                        Z_ORDER_BY_PROPERTY,
+                        "Columns to cluster written files by, using Z-order",
+                        new ArrayType(VARCHAR),
+                        List.class,
+                        ImmutableList.of(),
+                        false,
+                        value -> ((Collection<?>) value).stream()
+                                .map(String.class::cast)
+                                .map(name -> name.toLowerCase(ENGLISH))
+                                .collect(toImmutableList()),
+                        value -> value));
     }
 
     public List<PropertyMetadata<?>> getTableProperties()
@@ -258,6 +271,12 @@ public class HiveTableProperties
         return (List<String>) tableProperties.get(ORC_BLOOM_FILTER_COLUMNS);
     }
 
+    @SuppressWarnings("unchecked")
+    public static List<String> getZOrderBy(Map<String, Object> tableProperties)
+    {
+        return (List<String>) tableProperties.get(Z_ORDER_BY_PROPERTY);
+    }
+
     public static Double getOrcBloomFilterFpp(Map<String, Object> tableProperties)
     {
         return (Double) tableProperties.get(ORC_BLOOM_FILTER_FPP);
@@ -13,6 +13,7 @@
  */
 package io.prestosql.plugin.hive;
 
+import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -81,6 +82,7 @@ import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_PATH_ALREADY_EXISTS;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_TABLE_READ_ONLY;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_UNSUPPORTED_FORMAT;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_WRITER_OPEN_ERROR;
+import static io.prestosql.plugin.hive.HiveMetadata.Z_ORDER_BY_KEY;
 import static io.prestosql.plugin.hive.HiveSessionProperties.getCompressionCodec;
 import static io.prestosql.plugin.hive.HiveSessionProperties.getInsertExistingPartitionsBehavior;
 import static io.prestosql.plugin.hive.HiveSessionProperties.getTemporaryStagingDirectoryPath;
@@ -521,7 +523,8 @@ public class HiveWriterFactory
                     hiveWriter.getRowCount()));
         };
 
-        if (!sortedBy.isEmpty()) {
+        String zOrderBy = schema.getProperty(Z_ORDER_BY_KEY);
+        if (!sortedBy.isEmpty() || zOrderBy != null) {
             FileSystem fileSystem;
             Path tempFilePath;
             if (sortedWritingTempStagingPathEnabled) {
@@ -552,29 +555,54 @@ public class HiveWriterFactory
                 columnIndexes.put(dataColumns.get(i).getName(), i);
             }
 
-            List<Integer> sortFields = new ArrayList<>();
-            List<SortOrder> sortOrders = new ArrayList<>();
-            for (SortingColumn column : sortedBy) {
-                Integer index = columnIndexes.get(column.getColumnName());
-                if (index == null) {
-                    throw new PrestoException(HIVE_INVALID_METADATA, format("Sorting column '%s' does exist in table '%s.%s'", column.getColumnName(), schemaName, tableName));
+            if (sortedBy.isEmpty()) {
+                // z_order_by cannot be combined with sorted_by, so the Z-order is the only order of the file
+                List<Integer> zOrderFields = new ArrayList<>();
+                for (String column : Splitter.on(',').trimResults().omitEmptyStrings().split(zOrderBy)) {
+                    Integer index = columnIndexes.get(column);
+                    if (index == null) {
+                        throw new PrestoException(HIVE_INVALID_METADATA, format("Z-order column '%s' does not exist in table '%s.%s'", column, schemaName, tableName));
+                    }
+                    zOrderFields.add(index);
                 }
-                sortFields.add(index);
-                sortOrders.add(column.getOrder().getSortOrder());
+
+                hiveFileWriter = new ZOrderFileWriter(
+                        fileSystem,
+                        tempFilePath,
+                        hiveFileWriter,
+                        sortBufferSize,
+                        maxOpenSortFiles,
+                        types,
+                        zOrderFields,
+                        pageSorter,
+                        typeManager.getTypeOperators(),
+                        OrcFileWriterFactory::createOrcDataSink);
             }
+            else {
+                List<Integer> sortFields = new ArrayList<>();
+                List<SortOrder> sortOrders = new ArrayList<>();
+                for (SortingColumn column : sortedBy) {
+                    Integer index = columnIndexes.get(column.getColumnName());
+                    if (index == null) {
+                        throw new PrestoException(HIVE_INVALID_METADATA, format("Sorting column '%s' does exist in table '%s.%s'", column.getColumnName(), schemaName, tableName));
+                    }
+                    sortFields.add(index);
+                    sortOrders.add(column.getOrder().getSortOrder());
+                }
 
-            hiveFileWriter = new SortingFileWriter(
-                    fileSystem,
-                    tempFilePath,
-                    hiveFileWriter,
-                    sortBufferSize,
-                    maxOpenSortFiles,
-                    types,
-                    sortFields,
-                    sortOrders,
-                    pageSorter,
-                    typeManager.getTypeOperators(),
-                    OrcFileWriterFactory::createOrcDataSink);
+                hiveFileWriter = new SortingFileWriter(
+                        fileSystem,
+                        tempFilePath,
+                        hiveFileWriter,
+                        sortBufferSize,
+                        maxOpenSortFiles,
+                        types,
+                        sortFields,
+                        sortOrders,
+                        pageSorter,
+                        typeManager.getTypeOperators(),
+                        OrcFileWriterFactory::createOrcDataSink);
+            }
         }
 
         return new HiveWriter(
@@ -58,6 +58,7 @@ public class InternalHiveSplit
     private final Optional<BucketConversion> bucketConversion;
     private final boolean s3SelectPushdownEnabled;
     private final Optional<AcidInfo> acidInfo;
+    private final boolean coalescable;
 
     private long start;
     private int currentBlockIndex;
@@ -79,7 +80,8 @@ public class InternalHiveSplit
             TableToPartitionMapping tableToPartitionMapping,
             Optional<BucketConversion> bucketConversion,
             boolean s3SelectPushdownEnabled,
-            Optional<AcidInfo> acidInfo)
+            Optional<AcidInfo> acidInfo,
+            boolean coalescable)
     {
         checkArgument(start >= 0, "start must be positive");
         checkArgument(end >= 0, "length must be positive");
@@ -111,6 +113,7 @@ public class InternalHiveSplit
         this.bucketConversion = bucketConversion;
         this.s3SelectPushdownEnabled = s3SelectPushdownEnabled;
         this.acidInfo = acidInfo;
+        this.coalescable = coalescable;
     }
 
     public String getPath()
@@ -227,6 +230,14 @@ public class InternalHiveSplit
         return acidInfo;
     }
 
+    /**
+     * Whether this split can be read together with other small files of the partition, when it covers a whole file.
+     */
+    public boolean isCoalescable()
+    {
+        return coalescable;
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,485 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive;
+
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.airlift.log.Logger;
+import io.airlift.stats.CounterStat;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.Path;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import javax.inject.Inject;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static com.google.common.hash.Hashing.sha256;
+import static java.lang.Math.min;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Locale.ENGLISH;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Directory listings kept in files on local disk, so that they survive restarts. A listing
+ * is used only for the location it was taken from, until it expires, and, when the file system
+ * tracks directory modification times, while the modification time of the directory matches
+ * the one observed before it was listed. Object stores do not keep modification times for
+ * directories, so their listings are valid until they expire.
+ * See {@link #hasDirectoryModificationTimes(FileSystem)}.
+ * <p>
+ * Listings are read from disk only when requested, and the least recently used files are
+ * deleted when their total size exceeds the limit. The directory may be shared by several
+ * coordinators: a listing stored by another process is found when it is requested, and a
+ * listing deleted by another process is treated as missing. Each process enforces the size
+ * limit on the listings it knows about.
+ */
+public class PersistentDirectoryListingCache
+{
+    private static final Logger log = Logger.get(PersistentDirectoryListingCache.class);
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String LISTING_SUFFIX = ".listing";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    // temporary files older than this were left behind by a write interrupted by a restart
+    private static final long ABANDONED_TEMPORARY_FILE_AGE_MILLIS = HOURS.toMillis(1);
+    private static final long NO_MODIFICATION_TIME = -1;
+    // directories in these file systems are key prefixes, which report no modification time
+    private static final Set<String> OBJECT_STORE_SCHEMES = ImmutableSet.of("s3", "s3a", "s3n", "gs", "wasb", "wasbs");
+
+    private final Optional<java.nio.file.Path> directory;
+    private final long maxSize;
+    private final Duration expireAfterWrite;
+    // file name to file size, populated from the directory on first use
+    private final Supplier<Cache<String, Long>> index;
+
+    private final CounterStat hits = new CounterStat();
+    private final CounterStat misses = new CounterStat();
+    private final CounterStat failures = new CounterStat();
+
+    @Inject
+    public PersistentDirectoryListingCache(HiveConfig hiveConfig)
+    {
+        this(
+                hiveConfig.getFileStatusCachePersistentDirectory().map(java.nio.file.Path::of),
+                hiveConfig.getFileStatusCachePersistentMaxSize(),
+                hiveConfig.getFileStatusCachePersistentExpireAfterWrite());
+    }
+
+    public PersistentDirectoryListingCache(Optional<java.nio.file.Path> directory, DataSize maxSize, Duration expireAfterWrite)
+    {
+        this.directory = requireNonNull(directory, "directory is null");
+        this.maxSize = requireNonNull(maxSize, "maxSize is null").toBytes();
+        this.expireAfterWrite = requireNonNull(expireAfterWrite, "expireAfterWrite is null");
+        this.index = Suppliers.memoize(this::loadIndex);
+    }
+
+    public static PersistentDirectoryListingCache disabled()
+    {
+        return new PersistentDirectoryListingCache(Optional.empty(), DataSize.ofBytes(0), new Duration(0, MILLISECONDS));
+    }
+
+    public boolean isEnabled()
+    {
+        return directory.isPresent();
+    }
+
+    /**
+     * Whether the modification time of a directory in {@code fileSystem} changes when files are added or
+     * removed, so that it can be used to validate the stored listings.
+     */
+    public static boolean hasDirectoryModificationTimes(FileSystem fileSystem)
+    {
+        String scheme = fileSystem.getUri().getScheme();
+        return scheme == null || !OBJECT_STORE_SCHEMES.contains(scheme.toLowerCase(ENGLISH));
+    }
+
+    /**
+     * Returns the listing of {@code path} if it was stored for the given directory modification time and has not expired.
+     * Without a directory modification time, the listing is valid until it expires.
+     */
+    public Optional<List<LocatedFileStatus>> get(Path path, OptionalLong directoryModificationTime)
+    {
+        if (directory.isEmpty()) {
+            return Optional.empty();
+        }
+        String fileName = fileName(path);
+        if (index.get().getIfPresent(fileName) == null && !addStoredListing(fileName)) {
+            misses.update(1);
+            return Optional.empty();
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(directory.get().resolve(fileName))))) {
+            Optional<List<LocatedFileStatus>> listing = readListing(input, path, directoryModificationTime);
+            if (listing.isPresent()) {
+                hits.update(1);
+                return listing;
+            }
+        }
+        catch (NoSuchFileException ignored) {
+            // deleted concurrently
+        }
+        catch (IOException | RuntimeException e) {
+            failures.update(1);
+            log.warn(e, "Failed to read cached listing of %s", path);
+        }
+        remove(fileName);
+        misses.update(1);
+        return Optional.empty();
+    }
+
+    /**
+     * Stores the listing of {@code path}, which must have been taken after the directory modification time was read.
+     */
+    public void put(Path path, OptionalLong directoryModificationTime, List<LocatedFileStatus> files)
+    {
+        if (directory.isEmpty()) {
+            return;
+        }
+        Cache<String, Long> index = this.index.get();
+        String fileName = fileName(path);
+        java.nio.file.Path target = directory.get().resolve(fileName);
+        java.nio.file.Path temporary = directory.get().resolve(fileName + "." + UUID.randomUUID() + TEMPORARY_SUFFIX);
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                writeListing(output, path, directoryModificationTime.orElse(NO_MODIFICATION_TIME), System.currentTimeMillis(), files);
+            }
+            Files.move(temporary, target, ATOMIC_MOVE, REPLACE_EXISTING);
+            index.put(fileName, Files.size(target));
+        }
+        catch (IOException | RuntimeException e) {
+            failures.update(1);
+            log.warn(e, "Failed to cache listing of %s", path);
+            deleteQuietly(temporary);
+        }
+    }
+
+    @Managed
+    public void flushCache()
+    {
+        if (directory.isPresent()) {
+            Cache<String, Long> index = this.index.get();
+            for (String fileName : ImmutableList.copyOf(index.asMap().keySet())) {
+                remove(fileName);
+            }
+        }
+    }
+
+    @Managed
+    public long getSize()
+    {
+        if (directory.isEmpty()) {
+            return 0;
+        }
+        return index.get().asMap().values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    @Managed
+    public long getFileCount()
+    {
+        if (directory.isEmpty()) {
+            return 0;
+        }
+        return index.get().size();
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getHits()
+    {
+        return hits;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getMisses()
+    {
+        return misses;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getFailures()
+    {
+        return failures;
+    }
+
+    private Cache<String, Long> loadIndex()
+    {
+        java.nio.file.Path directory = this.directory.orElseThrow();
+        Cache<String, Long> index = CacheBuilder.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((String fileName, Long size) -> (int) min(size, Integer.MAX_VALUE))
+                .removalListener(this::onRemoval)
+                .build();
+        try {
+            Files.createDirectories(directory);
+            // register the oldest files first, so that they are evicted first
+            try (Stream<java.nio.file.Path> files = Files.list(directory)) {
+                files.map(PersistentDirectoryListingCache::toIndexEntry)
+                        .flatMap(Optional::stream)
+                        .sorted(Comparator.comparingLong(IndexEntry::getLastModified))
+                        .forEach(entry -> index.put(entry.getFileName(), entry.getSize()));
+            }
+        }
+        catch (IOException e) {
+            // listings are not read or written to a missing directory, so only the benefit of the cache is lost
+            failures.update(1);
+            log.warn(e, "Failed to load cached listings from %s", directory);
+        }
+        return index;
+    }
+
+    /**
+     * Adds a listing stored by another process sharing the directory after the index was loaded.
+     */
+    private boolean addStoredListing(String fileName)
+    {
+        try {
+            index.get().put(fileName, Files.size(directory.orElseThrow().resolve(fileName)));
+            return true;
+        }
+        catch (NoSuchFileException e) {
+            return false;
+        }
+        catch (IOException e) {
+            failures.update(1);
+            log.warn(e, "Failed to read size of cached listing %s", fileName);
+            return false;
+        }
+    }
+
+    private static Optional<IndexEntry> toIndexEntry(java.nio.file.Path file)
+    {
+        String fileName = file.getFileName().toString();
+        try {
+            if (fileName.endsWith(TEMPORARY_SUFFIX)) {
+                // recent ones may still be written by another process sharing the directory
+                if (System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis() >= ABANDONED_TEMPORARY_FILE_AGE_MILLIS) {
+                    Files.deleteIfExists(file);
+                }
+                return Optional.empty();
+            }
+            if (!fileName.endsWith(LISTING_SUFFIX) || !Files.isRegularFile(file)) {
+                return Optional.empty();
+            }
+            return Optional.of(new IndexEntry(fileName, Files.size(file), Files.getLastModifiedTime(file).toMillis()));
+        }
+        catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void onRemoval(RemovalNotification<String, Long> notification)
+    {
+        if (notification.wasEvicted()) {
+            deleteQuietly(directory.orElseThrow().resolve(notification.getKey()));
+        }
+    }
+
+    private void remove(String fileName)
+    {
+        index.get().invalidate(fileName);
+        deleteQuietly(directory.orElseThrow().resolve(fileName));
+    }
+
+    private static void deleteQuietly(java.nio.file.Path file)
+    {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e) {
+            log.warn(e, "Failed to delete %s", file);
+        }
+    }
+
+    private static String fileName(Path path)
+    {
+        return sha256().hashString(path.toString(), UTF_8) + LISTING_SUFFIX;
+    }
+
+    private Optional<List<LocatedFileStatus>> readListing(DataInputStream input, Path path, OptionalLong directoryModificationTime)
+            throws IOException
+    {
+        if (input.readInt() != FORMAT_VERSION) {
+            return Optional.empty();
+        }
+        String location = readString(input);
+        long modificationTime = input.readLong();
+        long writeTime = input.readLong();
+        if (!location.equals(path.toString()) ||
+                modificationTime != directoryModificationTime.orElse(NO_MODIFICATION_TIME) ||
+                System.currentTimeMillis() - writeTime >= expireAfterWrite.toMillis()) {
+            return Optional.empty();
+        }
+
+        int fileCount = input.readInt();
+        ImmutableList.Builder<LocatedFileStatus> files = ImmutableList.builderWithExpectedSize(fileCount);
+        for (int i = 0; i < fileCount; i++) {
+            files.add(readFileStatus(input));
+        }
+        return Optional.of(files.build());
+    }
+
+    private static void writeListing(DataOutputStream output, Path path, long directoryModificationTime, long writeTime, List<LocatedFileStatus> files)
+            throws IOException
+    {
+        output.writeInt(FORMAT_VERSION);
+        writeString(output, path.toString());
+        output.writeLong(directoryModificationTime);
+        output.writeLong(writeTime);
+        output.writeInt(files.size());
+        for (LocatedFileStatus file : files) {
+            writeFileStatus(output, file);
+        }
+    }
+
+    private static void writeFileStatus(DataOutputStream output, LocatedFileStatus file)
+            throws IOException
+    {
+        writeString(output, file.getPath().toString());
+        output.writeLong(file.getLen());
+        output.writeBoolean(file.isDirectory());
+        output.writeShort(file.getReplication());
+        output.writeLong(file.getBlockSize());
+        output.writeLong(file.getModificationTime());
+        output.writeLong(file.getAccessTime());
+
+        BlockLocation[] blockLocations = firstNonNull(file.getBlockLocations(), new BlockLocation[0]);
+        output.writeInt(blockLocations.length);
+        for (BlockLocation blockLocation : blockLocations) {
+            output.writeLong(blockLocation.getOffset());
+            output.writeLong(blockLocation.getLength());
+            writeStrings(output, blockLocation.getNames());
+            writeStrings(output, blockLocation.getHosts());
+        }
+    }
+
+    private static LocatedFileStatus readFileStatus(DataInputStream input)
+            throws IOException
+    {
+        Path path = new Path(readString(input));
+        long length = input.readLong();
+        boolean directory = input.readBoolean();
+        short replication = input.readShort();
+        long blockSize = input.readLong();
+        long modificationTime = input.readLong();
+        long accessTime = input.readLong();
+
+        BlockLocation[] blockLocations = new BlockLocation[input.readInt()];
+        for (int i = 0; i < blockLocations.length; i++) {
+            long offset = input.readLong();
+            long blockLength = input.readLong();
+            String[] names = readStrings(input);
+            String[] hosts = readStrings(input);
+            blockLocations[i] = new BlockLocation(names, hosts, offset, blockLength);
+        }
+        return new LocatedFileStatus(length, directory, replication, blockSize, modificationTime, accessTime, null, null, null, null, path, blockLocations);
+    }
+
+    private static void writeStrings(DataOutputStream output, String[] values)
+            throws IOException
+    {
+        output.writeInt(values.length);
+        for (String value : values) {
+            writeString(output, value);
+        }
+    }
+
+    private static String[] readStrings(DataInputStream input)
+            throws IOException
+    {
+        String[] values = new String[input.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString(input);
+        }
+        return values;
+    }
+
+    private static void writeString(DataOutputStream output, String value)
+            throws IOException
+    {
+        // DataOutput.writeUTF is limited to 64KB, which long object store keys could exceed
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input)
+            throws IOException
+    {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static class IndexEntry
+    {
+        private final String fileName;
+        private final long size;
+        private final long lastModified;
+
+        public IndexEntry(String fileName, long size, long lastModified)
+        {
+            this.fileName = requireNonNull(fileName, "fileName is null");
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        public String getFileName()
+        {
+            return fileName;
+        }
+
+        public long getSize()
+        {
+            return size;
+        }
+
+        public long getLastModified()
+        {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.units.DataSize;
+import io.prestosql.plugin.hive.SortingFileWriter.TempFileSinkFactory;
+import io.prestosql.plugin.hive.util.ZOrder;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PageSorter;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.TypeOperators;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.prestosql.spi.connector.SortOrder.ASC_NULLS_FIRST;
+import static io.prestosql.spi.type.VarbinaryType.VARBINARY;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes rows clustered by the Z-order of several columns. The Z-order address is
+ * appended to each page as an extra column, the rows are sorted on it using a
+ * {@link SortingFileWriter}, and the address is removed again before the rows
+ * reach the output writer. The first rows are buffered to normalize the Z-order
+ * to their value ranges.
+ */
+public class ZOrderFileWriter
+        implements FileWriter
+{
+    private static final int SAMPLE_POSITIONS = 10_000;
+
+    private final List<Type> types;
+    private final List<Integer> zOrderFields;
+    private final FileWriter sortingWriter;
+
+    private final List<Page> samplePages = new ArrayList<>();
+    private long samplePositions;
+    private long sampleRetainedBytes;
+    private ZOrder zOrder;
+
+    public ZOrderFileWriter(
+            FileSystem fileSystem,
+            Path tempFilePrefix,
+            FileWriter outputWriter,
+            DataSize maxMemory,
+            int maxOpenTempFiles,
+            List<Type> types,
+            List<Integer> zOrderFields,
+            PageSorter pageSorter,
+            TypeOperators typeOperators,
+            TempFileSinkFactory tempFileSinkFactory)
+    {
+        this.types = ImmutableList.copyOf(requireNonNull(types, "types is null"));
+        this.zOrderFields = ImmutableList.copyOf(requireNonNull(zOrderFields, "zOrderFields is null"));
+        checkArgument(!zOrderFields.isEmpty(), "zOrderFields is empty");
+
+        int addressChannel = types.size();
+        this.sortingWriter = new SortingFileWriter(
+                fileSystem,
+                tempFilePrefix,
+                new AddressRemovingFileWriter(outputWriter, addressChannel),
+                maxMemory,
+                maxOpenTempFiles,
+                ImmutableList.<Type>builder()
+                        .addAll(types)
+                        .add(VARBINARY)
+                        .build(),
+                ImmutableList.of(addressChannel),
+                ImmutableList.of(ASC_NULLS_FIRST),
+                pageSorter,
+                typeOperators,
+                tempFileSinkFactory);
+    }
+
+    @Override
+    public long getWrittenBytes()
+    {
+        return sortingWriter.getWrittenBytes();
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return sortingWriter.getSystemMemoryUsage() + sampleRetainedBytes;
+    }
+
+    @Override
+    public void appendRows(Page dataPage)
+    {
+        if (zOrder != null) {
+            sortingWriter.appendRows(dataPage.appendColumn(zOrder.computeAddresses(dataPage)));
+            return;
+        }
+
+        samplePages.add(dataPage);
+        samplePositions += dataPage.getPositionCount();
+        sampleRetainedBytes += dataPage.getRetainedSizeInBytes();
+        if (samplePositions >= SAMPLE_POSITIONS) {
+            flushSample();
+        }
+    }
+
+    @Override
+    public void commit()
+    {
+        if (zOrder == null) {
+            flushSample();
+        }
+        sortingWriter.commit();
+    }
+
+    @Override
+    public void rollback()
+    {
+        samplePages.clear();
+        sampleRetainedBytes = 0;
+        sortingWriter.rollback();
+    }
+
+    private void flushSample()
+    {
+        zOrder = ZOrder.create(samplePages, zOrderFields, types);
+        for (Page page : samplePages) {
+            sortingWriter.appendRows(page.appendColumn(zOrder.computeAddresses(page)));
+        }
+        samplePages.clear();
+        sampleRetainedBytes = 0;
+    }
+
+    @Override
+    public long getValidationCpuNanos()
+    {
+        return sortingWriter.getValidationCpuNanos();
+    }
+
+    @Override
+    public Optional<Runnable> getVerificationTask()
+    {
+        return sortingWriter.getVerificationTask();
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("zOrderFields", zOrderFields)
+                .add("sortingWriter", sortingWriter)
+                .toString();
+    }
+
+    private static class AddressRemovingFileWriter
+            implements FileWriter
+    {
+        private final FileWriter delegate;
+        private final int[] dataChannels;
+
+        public AddressRemovingFileWriter(FileWriter delegate, int addressChannel)
+        {
+            this.delegate = requireNonNull(delegate, "delegate is null");
+            this.dataChannels = IntStream.range(0, addressChannel).toArray();
+        }
+
+        @Override
+        public long getWrittenBytes()
+        {
+            return delegate.getWrittenBytes();
+        }
+
+        @Override
+        public long getSystemMemoryUsage()
+        {
+            return delegate.getSystemMemoryUsage();
+        }
+
+        @Override
+        public void appendRows(Page dataPage)
+        {
+            delegate.appendRows(dataPage.getColumns(dataChannels));
+        }
+
+        @Override
+        public void commit()
+        {
+            delegate.commit();
+        }
+
+        @Override
+        public void rollback()
+        {
+            delegate.rollback();
+        }
+
+        @Override
+        public long getValidationCpuNanos()
+        {
+            return delegate.getValidationCpuNanos();
+        }
+
+        @Override
+        public Optional<Runnable> getVerificationTask()
+        {
+            return delegate.getVerificationTask();
+        }
+
+        @Override
+        public String toString()
+        {
+            return delegate.toString();
+        }
+    }
+}
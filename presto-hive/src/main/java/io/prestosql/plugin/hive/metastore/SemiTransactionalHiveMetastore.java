@@ -741,33 +741,37 @@ public class SemiTransactionalHiveMetastore
         return Optional.of(resultBuilder.build());
     }
 
-    public synchronized Map<String, Optional<Partition>> getPartitionsByNames(HiveIdentity identity, String databaseName, String tableName, List<String> partitionNames)
+    public Map<String, Optional<Partition>> getPartitionsByNames(HiveIdentity identity, String databaseName, String tableName, List<String> partitionNames)
     {
-        checkReadable();
-        TableSource tableSource = getTableSource(databaseName, tableName);
-        Map<List<String>, Action<PartitionAndMore>> partitionActionsOfTable = partitionActions.computeIfAbsent(new SchemaTableName(databaseName, tableName), k -> new HashMap<>());
         ImmutableList.Builder<String> partitionNamesToQueryBuilder = ImmutableList.builder();
         ImmutableMap.Builder<String, Optional<Partition>> resultBuilder = ImmutableMap.builder();
-        for (String partitionName : partitionNames) {
-            List<String> partitionValues = toPartitionValues(partitionName);
-            Action<PartitionAndMore> partitionAction = partitionActionsOfTable.get(partitionValues);
-            if (partitionAction == null) {
-                switch (tableSource) {
-                    case PRE_EXISTING_TABLE:
-                        partitionNamesToQueryBuilder.add(partitionName);
-                        break;
-                    case CREATED_IN_THIS_TRANSACTION:
-                        resultBuilder.put(partitionName, Optional.empty());
-                        break;
-                    default:
-                        throw new UnsupportedOperationException("unknown table source");
+        synchronized (this) {
+            checkReadable();
+            TableSource tableSource = getTableSource(databaseName, tableName);
+            Map<List<String>, Action<PartitionAndMore>> partitionActionsOfTable = partitionActions.computeIfAbsent(new SchemaTableName(databaseName, tableName), k -> new HashMap<>());
+            for (String partitionName : partitionNames) {
+                List<String> partitionValues = toPartitionValues(partitionName);
+                Action<PartitionAndMore> partitionAction = partitionActionsOfTable.get(partitionValues);
+                if (partitionAction == null) {
+                    switch (tableSource) {
+                        case PRE_EXISTING_TABLE:
+                            partitionNamesToQueryBuilder.add(partitionName);
+                            break;
+                        case CREATED_IN_THIS_TRANSACTION:
+                            resultBuilder.put(partitionName, Optional.empty());
+                            break;
+                        default:
+                            throw new UnsupportedOperationException("unknown table source");
+                    }
+                }
+                else {
+                    resultBuilder.put(partitionName, getPartitionFromPartitionAction(partitionAction));
                 }
-            }
-            else {
-                resultBuilder.put(partitionName, getPartitionFromPartitionAction(partitionAction));
             }
         }
 
+        // partitions not modified in this transaction are read without holding the lock,
+        // so that the split manager can load several batches of partitions concurrently
         List<String> partitionNamesToQuery = partitionNamesToQueryBuilder.build();
         if (!partitionNamesToQuery.isEmpty()) {
             Map<String, Optional<Partition>> delegateResult = delegate.getPartitionsByNames(
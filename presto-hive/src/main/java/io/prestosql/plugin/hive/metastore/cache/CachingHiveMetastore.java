@@ -18,6 +18,7 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.SetMultimap;
 import com.google.common.util.concurrent.UncheckedExecutionException;
@@ -632,7 +633,7 @@ public class CachingHiveMetastore
     {
         tableStatisticsCache.asMap().keySet().stream()
                 .filter(table -> table.getKey().getDatabaseName().equals(databaseName) && table.getKey().getTableName().equals(tableName))
-                .forEach(tableCache::invalidate);
+                .forEach(tableStatisticsCache::invalidate);
     }
 
     private Partition getExistingPartition(HiveIdentity identity, Table table, List<String> partitionValues)
@@ -846,6 +847,75 @@ public class CachingHiveMetastore
         return delegate.listGrantedPrincipals(role);
     }
 
+    /**
+     * Invalidates only the entries affected by a change made to the metastore outside of this cache.
+     */
+    public void invalidate(MetastoreEvent event)
+    {
+        String databaseName = event.getDatabaseName();
+        if (event.getType().isDatabaseEvent()) {
+            invalidateDatabase(databaseName);
+            tableNamesCache.invalidate(databaseName);
+            viewNamesCache.invalidate(databaseName);
+            return;
+        }
+
+        String tableName = event.getTableName().orElseThrow();
+        switch (event.getType()) {
+            case CREATE_TABLE:
+            case DROP_TABLE:
+            case ALTER_TABLE:
+                invalidateTable(databaseName, tableName);
+                return;
+            case ADD_PARTITION:
+            case DROP_PARTITION:
+                invalidatePartitionNames(databaseName, tableName);
+                invalidatePartitions(databaseName, tableName, event.getPartitionValues());
+                return;
+            case ALTER_PARTITION:
+                invalidatePartitions(databaseName, tableName, event.getPartitionValues());
+                return;
+            case INSERT:
+                if (event.getPartitionValues().map(List::isEmpty).orElse(true)) {
+                    // basic statistics of an unpartitioned table are kept in the table parameters
+                    invalidateTableCache(databaseName, tableName);
+                    invalidateTableStatisticsCache(databaseName, tableName);
+                }
+                if (!event.getPartitionValues().map(List::isEmpty).orElse(false)) {
+                    invalidatePartitions(databaseName, tableName, event.getPartitionValues());
+                }
+                return;
+            default:
+                throw new IllegalArgumentException("Unsupported event type: " + event.getType());
+        }
+    }
+
+    private void invalidatePartitionNames(String databaseName, String tableName)
+    {
+        HiveTableName hiveTableName = hiveTableName(databaseName, tableName);
+        partitionFilterCache.asMap().keySet().stream()
+                .filter(partitionFilter -> partitionFilter.getKey().getHiveTableName().equals(hiveTableName))
+                .forEach(partitionFilterCache::invalidate);
+    }
+
+    private void invalidatePartitions(String databaseName, String tableName, Optional<List<List<String>>> partitionValues)
+    {
+        if (partitionValues.isEmpty()) {
+            invalidatePartitionCache(databaseName, tableName);
+            return;
+        }
+        HiveTableName hiveTableName = hiveTableName(databaseName, tableName);
+        Set<List<String>> values = ImmutableSet.copyOf(partitionValues.get());
+        partitionCache.asMap().keySet().stream()
+                .filter(partitionName -> partitionName.getKey().getHiveTableName().equals(hiveTableName))
+                .filter(partitionName -> values.contains(partitionName.getKey().getPartitionValues()))
+                .forEach(partitionCache::invalidate);
+        partitionStatisticsCache.asMap().keySet().stream()
+                .filter(partitionName -> partitionName.getKey().getHiveTableName().equals(hiveTableName))
+                .filter(partitionName -> values.contains(partitionName.getKey().getPartitionValues()))
+                .forEach(partitionStatisticsCache::invalidate);
+    }
+
     private void invalidatePartitionCache(String databaseName, String tableName)
     {
         HiveTableName hiveTableName = hiveTableName(databaseName, tableName);
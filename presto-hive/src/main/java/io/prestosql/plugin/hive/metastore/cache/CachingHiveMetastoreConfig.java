@@ -14,6 +14,7 @@
 package io.prestosql.plugin.hive.metastore.cache;
 
 import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
 import io.airlift.units.Duration;
 import io.airlift.units.MinDuration;
 
@@ -29,6 +30,8 @@ public class CachingHiveMetastoreConfig
     private Optional<Duration> metastoreRefreshInterval = Optional.empty();
     private long metastoreCacheMaximumSize = 10000;
     private int maxMetastoreRefreshThreads = 100;
+    private boolean eventInvalidationEnabled;
+    private Duration eventPollInterval = new Duration(2, TimeUnit.SECONDS);
 
     @NotNull
     public Duration getMetastoreCacheTtl()
@@ -81,4 +84,31 @@ public class CachingHiveMetastoreConfig
         this.maxMetastoreRefreshThreads = maxMetastoreRefreshThreads;
         return this;
     }
+
+    public boolean isEventInvalidationEnabled()
+    {
+        return eventInvalidationEnabled;
+    }
+
+    @Config("hive.metastore-cache-event-invalidation")
+    @ConfigDescription("Invalidate cached metadata using the metastore notification log, allowing long cache TTLs")
+    public CachingHiveMetastoreConfig setEventInvalidationEnabled(boolean eventInvalidationEnabled)
+    {
+        this.eventInvalidationEnabled = eventInvalidationEnabled;
+        return this;
+    }
+
+    @NotNull
+    @MinDuration("1ms")
+    public Duration getEventPollInterval()
+    {
+        return eventPollInterval;
+    }
+
+    @Config("hive.metastore-event-poll-interval")
+    public CachingHiveMetastoreConfig setEventPollInterval(Duration eventPollInterval)
+    {
+        this.eventPollInterval = eventPollInterval;
+        return this;
+    }
 }
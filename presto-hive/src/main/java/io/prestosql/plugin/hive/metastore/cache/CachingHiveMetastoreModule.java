@@ -16,6 +16,7 @@ package io.prestosql.plugin.hive.metastore.cache;
 import com.google.inject.Binder;
 import com.google.inject.Module;
 import com.google.inject.Provides;
+import com.google.inject.Scopes;
 import io.prestosql.plugin.base.CatalogName;
 import io.prestosql.plugin.hive.metastore.HiveMetastore;
 import io.prestosql.plugin.hive.metastore.HiveMetastoreDecorator;
@@ -42,6 +43,10 @@ public class CachingHiveMetastoreModule
         newOptionalBinder(binder, HiveMetastoreDecorator.class);
         newExporter(binder).export(HiveMetastore.class)
                 .as(generator -> generator.generatedNameOf(CachingHiveMetastore.class));
+
+        newOptionalBinder(binder, MetastoreEventSource.class);
+        binder.bind(MetastoreEventInvalidator.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(MetastoreEventInvalidator.class).withGeneratedName();
     }
 
     @Provides
@@ -0,0 +1,162 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.metastore.cache;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.concurrent.Immutable;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A change made to the metastore by any client, as reported by a {@link MetastoreEventSource}.
+ */
+@Immutable
+public class MetastoreEvent
+{
+    public enum Type
+    {
+        CREATE_DATABASE,
+        DROP_DATABASE,
+        ALTER_DATABASE,
+        CREATE_TABLE,
+        DROP_TABLE,
+        ALTER_TABLE,
+        ADD_PARTITION,
+        DROP_PARTITION,
+        ALTER_PARTITION,
+        INSERT;
+
+        public boolean isDatabaseEvent()
+        {
+            return this == CREATE_DATABASE || this == DROP_DATABASE || this == ALTER_DATABASE;
+        }
+    }
+
+    private final long eventId;
+    private final Type type;
+    private final String databaseName;
+    private final Optional<String> tableName;
+    // empty when the event does not name the affected partitions
+    private final Optional<List<List<String>>> partitionValues;
+
+    @JsonCreator
+    public MetastoreEvent(
+            @JsonProperty("eventId") long eventId,
+            @JsonProperty("type") Type type,
+            @JsonProperty("databaseName") String databaseName,
+            @JsonProperty("tableName") Optional<String> tableName,
+            @JsonProperty("partitionValues") Optional<List<List<String>>> partitionValues)
+    {
+        this.eventId = eventId;
+        this.type = requireNonNull(type, "type is null");
+        this.databaseName = requireNonNull(databaseName, "databaseName is null");
+        this.tableName = requireNonNull(tableName, "tableName is null");
+        this.partitionValues = requireNonNull(partitionValues, "partitionValues is null")
+                .map(values -> values.stream()
+                        .map(ImmutableList::copyOf)
+                        .collect(toImmutableList()));
+        checkArgument(type.isDatabaseEvent() || tableName.isPresent(), "tableName is required for %s", type);
+    }
+
+    public static MetastoreEvent databaseEvent(long eventId, Type type, String databaseName)
+    {
+        return new MetastoreEvent(eventId, type, databaseName, Optional.empty(), Optional.empty());
+    }
+
+    public static MetastoreEvent tableEvent(long eventId, Type type, String databaseName, String tableName)
+    {
+        return new MetastoreEvent(eventId, type, databaseName, Optional.of(tableName), Optional.empty());
+    }
+
+    public static MetastoreEvent partitionEvent(long eventId, Type type, String databaseName, String tableName, Optional<List<List<String>>> partitionValues)
+    {
+        return new MetastoreEvent(eventId, type, databaseName, Optional.of(tableName), partitionValues);
+    }
+
+    @JsonProperty
+    public long getEventId()
+    {
+        return eventId;
+    }
+
+    @JsonProperty
+    public Type getType()
+    {
+        return type;
+    }
+
+    @JsonProperty
+    public String getDatabaseName()
+    {
+        return databaseName;
+    }
+
+    @JsonProperty
+    public Optional<String> getTableName()
+    {
+        return tableName;
+    }
+
+    @JsonProperty
+    public Optional<List<List<String>>> getPartitionValues()
+    {
+        return partitionValues;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MetastoreEvent that = (MetastoreEvent) o;
+        return eventId == that.eventId &&
+                type == that.type &&
+                databaseName.equals(that.databaseName) &&
+                tableName.equals(that.tableName) &&
+                partitionValues.equals(that.partitionValues);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(eventId, type, databaseName, tableName, partitionValues);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("eventId", eventId)
+                .add("type", type)
+                .add("databaseName", databaseName)
+                .add("tableName", tableName.orElse(null))
+                .add("partitionValues", partitionValues.orElse(null))
+                .omitNullValues()
+                .toString();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.metastore.cache;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airlift.log.Logger;
+import io.airlift.stats.CounterStat;
+import io.airlift.units.Duration;
+import io.prestosql.plugin.base.CatalogName;
+import io.prestosql.plugin.hive.metastore.HiveMetastore;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.concurrent.GuardedBy;
+import javax.inject.Inject;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Follows the metastore event log and invalidates the affected {@link CachingHiveMetastore} entries,
+ * so that changes made by other metastore clients become visible without waiting for the cache TTL.
+ */
+public class MetastoreEventInvalidator
+{
+    private static final Logger log = Logger.get(MetastoreEventInvalidator.class);
+
+    @VisibleForTesting
+    static final int MAX_EVENTS_PER_REQUEST = 1000;
+
+    private final Optional<CachingHiveMetastore> metastore;
+    private final Optional<MetastoreEventSource> eventSource;
+    private final Duration pollInterval;
+    private final ScheduledExecutorService executor;
+
+    @GuardedBy("this")
+    private OptionalLong lastEventId = OptionalLong.empty();
+
+    private final CounterStat processedEvents = new CounterStat();
+    private final CounterStat pollFailures = new CounterStat();
+    private final CounterStat cacheFlushes = new CounterStat();
+
+    @Inject
+    public MetastoreEventInvalidator(
+            CatalogName catalogName,
+            HiveMetastore metastore,
+            Optional<MetastoreEventSource> eventSource,
+            CachingHiveMetastoreConfig config)
+    {
+        requireNonNull(catalogName, "catalogName is null");
+        requireNonNull(metastore, "metastore is null");
+        requireNonNull(eventSource, "eventSource is null");
+        requireNonNull(config, "config is null");
+        checkArgument(!config.isEventInvalidationEnabled() || eventSource.isPresent(), "Event based cache invalidation is not supported by the configured metastore");
+
+        boolean enabled = config.isEventInvalidationEnabled() && metastore instanceof CachingHiveMetastore;
+        this.metastore = Optional.of(metastore)
+                .filter(ignored -> enabled)
+                .map(CachingHiveMetastore.class::cast);
+        this.eventSource = eventSource.filter(ignored -> enabled);
+        this.pollInterval = config.getEventPollInterval();
+        this.executor = newSingleThreadScheduledExecutor(daemonThreadsNamed("hive-metastore-events-" + catalogName + "-%s"));
+    }
+
+    @VisibleForTesting
+    MetastoreEventInvalidator(CachingHiveMetastore metastore, MetastoreEventSource eventSource, Duration pollInterval)
+    {
+        this.metastore = Optional.of(requireNonNull(metastore, "metastore is null"));
+        this.eventSource = Optional.of(requireNonNull(eventSource, "eventSource is null"));
+        this.pollInterval = requireNonNull(pollInterval, "pollInterval is null");
+        this.executor = newSingleThreadScheduledExecutor(daemonThreadsNamed("hive-metastore-events-%s"));
+    }
+
+    @PostConstruct
+    public void start()
+    {
+        if (metastore.isEmpty()) {
+            return;
+        }
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            }
+            catch (Throwable e) {
+                // the position in the log is kept, so the missed events are processed by the next poll
+                pollFailures.update(1);
+                log.warn(e, "Error processing metastore events");
+            }
+        }, 0, pollInterval.toMillis(), MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        executor.shutdownNow();
+    }
+
+    @VisibleForTesting
+    synchronized void poll()
+    {
+        if (metastore.isEmpty()) {
+            return;
+        }
+        CachingHiveMetastore cache = metastore.get();
+        MetastoreEventSource source = eventSource.orElseThrow();
+
+        long currentEventId = source.getCurrentEventId();
+        if (lastEventId.isEmpty() || currentEventId < lastEventId.getAsLong()) {
+            // nothing is known about changes made before the first poll, or the log was reset
+            flush(cache, currentEventId);
+            return;
+        }
+
+        long fromEventId = lastEventId.getAsLong();
+        while (fromEventId < currentEventId) {
+            long toEventId = min(currentEventId, fromEventId + MAX_EVENTS_PER_REQUEST);
+            List<MetastoreEvent> events;
+            try {
+                events = source.getEvents(fromEventId, toEventId);
+            }
+            catch (MetastoreEventsUnavailableException e) {
+                log.warn("%s, flushing metastore cache", e.getMessage());
+                flush(cache, currentEventId);
+                return;
+            }
+            for (MetastoreEvent event : events) {
+                cache.invalidate(event);
+            }
+            processedEvents.update(events.size());
+            fromEventId = toEventId;
+            lastEventId = OptionalLong.of(fromEventId);
+        }
+    }
+
+    @GuardedBy("this")
+    private void flush(CachingHiveMetastore cache, long currentEventId)
+    {
+        // record the position first, so changes racing with the flush are replayed by the next poll
+        lastEventId = OptionalLong.of(currentEventId);
+        cache.flushCache();
+        cacheFlushes.update(1);
+    }
+
+    @Managed
+    public synchronized long getLastEventId()
+    {
+        return lastEventId.orElse(-1);
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getProcessedEvents()
+    {
+        return processedEvents;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getPollFailures()
+    {
+        return pollFailures;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getCacheFlushes()
+    {
+        return cacheFlushes;
+    }
+}
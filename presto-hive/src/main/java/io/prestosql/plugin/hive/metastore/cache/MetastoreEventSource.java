@@ -0,0 +1,37 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.metastore.cache;
+
+import java.util.List;
+
+/**
+ * Ordered log of changes made to the metastore, used to invalidate cached metadata
+ * instead of relying on expiration alone.
+ */
+public interface MetastoreEventSource
+{
+    /**
+     * Returns the id of the most recent event in the log.
+     */
+    long getCurrentEventId();
+
+    /**
+     * Returns the events with ids greater than {@code fromEventId} and not greater than
+     * {@code toEventId}, in order. Events that do not affect cached metadata may be omitted.
+     *
+     * @throws MetastoreEventsUnavailableException if some of the requested events
+     * are no longer retained by the log
+     */
+    List<MetastoreEvent> getEvents(long fromEventId, long toEventId);
+}
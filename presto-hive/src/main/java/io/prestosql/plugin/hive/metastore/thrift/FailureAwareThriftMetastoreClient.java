@@ -23,6 +23,7 @@ import org.apache.hadoop.hive.metastore.api.HiveObjectPrivilege;
 import org.apache.hadoop.hive.metastore.api.HiveObjectRef;
 import org.apache.hadoop.hive.metastore.api.LockRequest;
 import org.apache.hadoop.hive.metastore.api.LockResponse;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.PrincipalType;
 import org.apache.hadoop.hive.metastore.api.PrivilegeBag;
@@ -405,6 +406,20 @@ public class FailureAwareThriftMetastoreClient
         runWithHandle(() -> delegate.abortTransaction(transactionId));
     }
 
+    @Override
+    public long getCurrentNotificationEventId()
+            throws TException
+    {
+        return runWithHandle(delegate::getCurrentNotificationEventId);
+    }
+
+    @Override
+    public List<NotificationEvent> getNextNotificationEvents(long lastEventId, int maxEvents)
+            throws TException
+    {
+        return runWithHandle(() -> delegate.getNextNotificationEvents(lastEventId, maxEvents));
+    }
+
     @Override
     public List<TxnToWriteId> allocateTableWriteIds(String database, String tableName, List<Long> transactionIds)
             throws TException
@@ -78,6 +78,7 @@ import org.apache.hadoop.hive.metastore.api.MetaException;
 import org.apache.hadoop.hive.metastore.api.NoSuchLockException;
 import org.apache.hadoop.hive.metastore.api.NoSuchObjectException;
 import org.apache.hadoop.hive.metastore.api.NoSuchTxnException;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.PrincipalType;
 import org.apache.hadoop.hive.metastore.api.PrivilegeBag;
@@ -1776,6 +1777,46 @@ public class ThriftHiveMetastore
         }
     }
 
+    @Override
+    public long getCurrentNotificationEventId()
+    {
+        try {
+            return retry()
+                    .stopOnIllegalExceptions()
+                    .run("getCurrentNotificationEventId", stats.getGetCurrentNotificationEventId().wrap(() -> {
+                        try (ThriftMetastoreClient client = createMetastoreClient()) {
+                            return client.getCurrentNotificationEventId();
+                        }
+                    }));
+        }
+        catch (TException e) {
+            throw new PrestoException(HIVE_METASTORE_ERROR, e);
+        }
+        catch (Exception e) {
+            throw propagate(e);
+        }
+    }
+
+    @Override
+    public List<NotificationEvent> getNextNotificationEvents(long lastEventId, int maxEvents)
+    {
+        try {
+            return retry()
+                    .stopOnIllegalExceptions()
+                    .run("getNextNotificationEvents", stats.getGetNextNotificationEvents().wrap(() -> {
+                        try (ThriftMetastoreClient client = createMetastoreClient()) {
+                            return client.getNextNotificationEvents(lastEventId, maxEvents);
+                        }
+                    }));
+        }
+        catch (TException e) {
+            throw new PrestoException(HIVE_METASTORE_ERROR, e);
+        }
+        catch (Exception e) {
+            throw propagate(e);
+        }
+    }
+
     @Override
     public long allocateWriteId(HiveIdentity identity, String dbName, String tableName, long transactionId)
     {
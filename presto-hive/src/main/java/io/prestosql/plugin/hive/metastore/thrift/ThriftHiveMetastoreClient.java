@@ -51,6 +51,9 @@ import org.apache.hadoop.hive.metastore.api.HiveObjectRef;
 import org.apache.hadoop.hive.metastore.api.LockRequest;
 import org.apache.hadoop.hive.metastore.api.LockResponse;
 import org.apache.hadoop.hive.metastore.api.MetaException;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.NotificationEventRequest;
+import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
 import org.apache.hadoop.hive.metastore.api.OpenTxnRequest;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.PartitionsStatsRequest;
@@ -532,6 +535,23 @@ public class ThriftHiveMetastoreClient
         return client.get_delegation_token(userName, userName);
     }
 
+    @Override
+    public long getCurrentNotificationEventId()
+            throws TException
+    {
+        return client.get_current_notificationEventId().getEventId();
+    }
+
+    @Override
+    public List<NotificationEvent> getNextNotificationEvents(long lastEventId, int maxEvents)
+            throws TException
+    {
+        NotificationEventRequest request = new NotificationEventRequest(lastEventId);
+        request.setMaxEvents(maxEvents);
+        NotificationEventResponse response = client.get_next_notification(request);
+        return response.isSetEvents() ? response.getEvents() : ImmutableList.of();
+    }
+
     @Override
     public List<TxnToWriteId> allocateTableWriteIds(String dbName, String tableName, List<Long> transactionIds)
             throws TException
@@ -32,6 +32,7 @@ import org.apache.hadoop.hive.metastore.api.DataOperationType;
 import org.apache.hadoop.hive.metastore.api.Database;
 import org.apache.hadoop.hive.metastore.api.EnvironmentContext;
 import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.Table;
 
@@ -163,6 +164,16 @@ public interface ThriftMetastore
         return Optional.empty();
     }
 
+    default long getCurrentNotificationEventId()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    default List<NotificationEvent> getNextNotificationEvents(long lastEventId, int maxEvents)
+    {
+        throw new UnsupportedOperationException();
+    }
+
     default long allocateWriteId(HiveIdentity identity, String dbName, String tableName, long transactionId)
     {
         throw new UnsupportedOperationException();
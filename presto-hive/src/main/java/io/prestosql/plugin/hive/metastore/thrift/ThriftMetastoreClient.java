@@ -22,6 +22,7 @@ import org.apache.hadoop.hive.metastore.api.HiveObjectPrivilege;
 import org.apache.hadoop.hive.metastore.api.HiveObjectRef;
 import org.apache.hadoop.hive.metastore.api.LockRequest;
 import org.apache.hadoop.hive.metastore.api.LockResponse;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.PrincipalType;
 import org.apache.hadoop.hive.metastore.api.PrivilegeBag;
@@ -189,6 +190,18 @@ public interface ThriftMetastoreClient
     String getDelegationToken(String userName)
             throws TException;
 
+    default long getCurrentNotificationEventId()
+            throws TException
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    default List<NotificationEvent> getNextNotificationEvents(long lastEventId, int maxEvents)
+            throws TException
+    {
+        throw new UnsupportedOperationException();
+    }
+
     default List<TxnToWriteId> allocateTableWriteIds(String database, String tableName, List<Long> transactionIds)
             throws TException
     {
@@ -0,0 +1,205 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.metastore.thrift;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import io.airlift.json.ObjectMapperProvider;
+import io.airlift.log.Logger;
+import io.prestosql.plugin.hive.metastore.cache.MetastoreEvent;
+import io.prestosql.plugin.hive.metastore.cache.MetastoreEventSource;
+import io.prestosql.plugin.hive.metastore.cache.MetastoreEventsUnavailableException;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+
+import javax.inject.Inject;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static com.google.common.base.Strings.nullToEmpty;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.Type.ADD_PARTITION;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.Type.ALTER_DATABASE;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.Type.ALTER_PARTITION;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.Type.ALTER_TABLE;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.Type.CREATE_DATABASE;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.Type.CREATE_TABLE;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.Type.DROP_DATABASE;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.Type.DROP_PARTITION;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.Type.DROP_TABLE;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.Type.INSERT;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.databaseEvent;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.partitionEvent;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.tableEvent;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Locale.ENGLISH;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the notification log maintained by the Hive metastore {@code DbNotificationListener}.
+ */
+public class ThriftMetastoreEventSource
+        implements MetastoreEventSource
+{
+    private static final Logger log = Logger.get(ThriftMetastoreEventSource.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapperProvider().get();
+    private static final int MAX_EVENTS_PER_REQUEST = 1000;
+
+    private final ThriftMetastore metastore;
+
+    @Inject
+    public ThriftMetastoreEventSource(ThriftMetastore metastore)
+    {
+        this.metastore = requireNonNull(metastore, "metastore is null");
+    }
+
+    @Override
+    public long getCurrentEventId()
+    {
+        return metastore.getCurrentNotificationEventId();
+    }
+
+    @Override
+    public List<MetastoreEvent> getEvents(long fromEventId, long toEventId)
+    {
+        ImmutableList.Builder<MetastoreEvent> events = ImmutableList.builder();
+        long lastEventId = fromEventId;
+        while (lastEventId < toEventId) {
+            List<NotificationEvent> batch = metastore.getNextNotificationEvents(lastEventId, toIntExact(min(toEventId - lastEventId, MAX_EVENTS_PER_REQUEST)));
+            if (batch.isEmpty()) {
+                break;
+            }
+            // event ids are allocated sequentially, a gap means the metastore already expired these events
+            long firstEventId = batch.get(0).getEventId();
+            if (firstEventId > lastEventId + 1) {
+                throw new MetastoreEventsUnavailableException(lastEventId, firstEventId);
+            }
+            for (NotificationEvent event : batch) {
+                if (event.getEventId() > toEventId) {
+                    return events.build();
+                }
+                events.addAll(toMetastoreEvents(event));
+                lastEventId = event.getEventId();
+            }
+        }
+        return events.build();
+    }
+
+    private static List<MetastoreEvent> toMetastoreEvents(NotificationEvent event)
+    {
+        long eventId = event.getEventId();
+        String databaseName = nullToEmpty(event.getDbName()).toLowerCase(ENGLISH);
+        String tableName = nullToEmpty(event.getTableName()).toLowerCase(ENGLISH);
+
+        switch (nullToEmpty(event.getEventType())) {
+            case "CREATE_DATABASE":
+                return ImmutableList.of(databaseEvent(eventId, CREATE_DATABASE, databaseName));
+            case "DROP_DATABASE":
+                return ImmutableList.of(databaseEvent(eventId, DROP_DATABASE, databaseName));
+            case "ALTER_DATABASE":
+                return ImmutableList.of(databaseEvent(eventId, ALTER_DATABASE, databaseName));
+            case "CREATE_TABLE":
+                return ImmutableList.of(tableEvent(eventId, CREATE_TABLE, databaseName, tableName));
+            case "DROP_TABLE":
+                return ImmutableList.of(tableEvent(eventId, DROP_TABLE, databaseName, tableName));
+            case "ALTER_TABLE":
+                ImmutableList.Builder<MetastoreEvent> events = ImmutableList.builder();
+                events.add(tableEvent(eventId, ALTER_TABLE, databaseName, tableName));
+                // the event names the table after the change, the message names it before a rename
+                readMessage(event).ifPresent(message -> {
+                    String previousDatabaseName = message.path("db").asText(databaseName).toLowerCase(ENGLISH);
+                    String previousTableName = message.path("table").asText(tableName).toLowerCase(ENGLISH);
+                    if (!previousDatabaseName.equals(databaseName) || !previousTableName.equals(tableName)) {
+                        events.add(tableEvent(eventId, ALTER_TABLE, previousDatabaseName, previousTableName));
+                    }
+                });
+                return events.build();
+            case "ADD_PARTITION":
+                return ImmutableList.of(partitionEvent(eventId, ADD_PARTITION, databaseName, tableName, readPartitionValuesList(event, "partitions")));
+            case "DROP_PARTITION":
+                return ImmutableList.of(partitionEvent(eventId, DROP_PARTITION, databaseName, tableName, readPartitionValuesList(event, "partitions")));
+            case "ALTER_PARTITION":
+                return ImmutableList.of(partitionEvent(eventId, ALTER_PARTITION, databaseName, tableName, readPartitionValues(event, "keyValues")));
+            case "INSERT":
+                return ImmutableList.of(partitionEvent(eventId, INSERT, databaseName, tableName, readPartitionValues(event, "partKeyVals")));
+            default:
+                // transaction, function, constraint and other events do not affect cached metadata
+                return ImmutableList.of();
+        }
+    }
+
+    private static Optional<List<List<String>>> readPartitionValuesList(NotificationEvent event, String field)
+    {
+        return readMessage(event)
+                .map(message -> message.get(field))
+                .filter(JsonNode::isArray)
+                .map(partitions -> {
+                    ImmutableList.Builder<List<String>> values = ImmutableList.builder();
+                    partitions.forEach(partition -> values.add(toPartitionValues(partition)));
+                    return values.build();
+                });
+    }
+
+    private static Optional<List<List<String>>> readPartitionValues(NotificationEvent event, String field)
+    {
+        return readMessage(event)
+                .map(message -> message.get(field))
+                .filter(JsonNode::isObject)
+                .map(partition -> {
+                    List<String> values = toPartitionValues(partition);
+                    return values.isEmpty() ? ImmutableList.of() : ImmutableList.of(values);
+                });
+    }
+
+    private static List<String> toPartitionValues(JsonNode partition)
+    {
+        // partition key values are written in the order of the table partition columns
+        ImmutableList.Builder<String> values = ImmutableList.builder();
+        Iterator<Map.Entry<String, JsonNode>> fields = partition.fields();
+        while (fields.hasNext()) {
+            values.add(fields.next().getValue().asText());
+        }
+        return values.build();
+    }
+
+    private static Optional<JsonNode> readMessage(NotificationEvent event)
+    {
+        String message = event.getMessage();
+        if (message == null) {
+            return Optional.empty();
+        }
+        try {
+            if (nullToEmpty(event.getMessageFormat()).startsWith("gzip")) {
+                try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(message)))) {
+                    return Optional.of(OBJECT_MAPPER.readTree(input));
+                }
+            }
+            return Optional.of(OBJECT_MAPPER.readTree(message.getBytes(UTF_8)));
+        }
+        catch (IOException | IllegalArgumentException e) {
+            // the affected entries are invalidated at a coarser granularity
+            log.debug(e, "Unable to decode message of metastore event %s", event.getEventId());
+            return Optional.empty();
+        }
+    }
+}
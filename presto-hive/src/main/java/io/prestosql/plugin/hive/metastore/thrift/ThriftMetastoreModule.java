@@ -21,6 +21,7 @@ import io.prestosql.plugin.hive.ForRecordingHiveMetastore;
 import io.prestosql.plugin.hive.metastore.HiveMetastore;
 import io.prestosql.plugin.hive.metastore.RecordingHiveMetastoreModule;
 import io.prestosql.plugin.hive.metastore.cache.CachingHiveMetastoreModule;
+import io.prestosql.plugin.hive.metastore.cache.MetastoreEventSource;
 
 import static io.airlift.configuration.ConfigBinder.configBinder;
 import static org.weakref.jmx.guice.ExportBinder.newExporter;
@@ -41,6 +42,9 @@ public class ThriftMetastoreModule
         newExporter(binder).export(ThriftMetastore.class)
                 .as(generator -> generator.generatedNameOf(ThriftHiveMetastore.class));
 
+        OptionalBinder.newOptionalBinder(binder, MetastoreEventSource.class)
+                .setBinding().to(ThriftMetastoreEventSource.class).in(Scopes.SINGLETON);
+
         binder.bind(HiveMetastore.class)
                 .annotatedWith(ForRecordingHiveMetastore.class)
                 .to(BridgingHiveMetastore.class)
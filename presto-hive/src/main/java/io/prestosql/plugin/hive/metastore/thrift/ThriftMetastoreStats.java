@@ -65,6 +65,8 @@ public class ThriftMetastoreStats
     private final ThriftMetastoreApiStats alterPartitions = new ThriftMetastoreApiStats();
     private final ThriftMetastoreApiStats addDynamicPartitions = new ThriftMetastoreApiStats();
     private final ThriftMetastoreApiStats alterTransactionalTable = new ThriftMetastoreApiStats();
+    private final ThriftMetastoreApiStats getCurrentNotificationEventId = new ThriftMetastoreApiStats();
+    private final ThriftMetastoreApiStats getNextNotificationEvents = new ThriftMetastoreApiStats();
 
     @Managed
     @Nested
@@ -394,4 +396,18 @@ public class ThriftMetastoreStats
     {
         return alterTransactionalTable;
     }
+
+    @Managed
+    @Nested
+    public ThriftMetastoreApiStats getGetCurrentNotificationEventId()
+    {
+        return getCurrentNotificationEventId;
+    }
+
+    @Managed
+    @Nested
+    public ThriftMetastoreApiStats getGetNextNotificationEvents()
+    {
+        return getNextNotificationEvents;
+    }
 }
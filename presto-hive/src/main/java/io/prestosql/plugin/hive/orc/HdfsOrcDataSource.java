@@ -13,18 +13,25 @@
  */
 package io.prestosql.plugin.hive.orc;
 
+import com.google.common.collect.ImmutableMap;
 import io.airlift.slice.Slice;
 import io.prestosql.orc.AbstractOrcDataSource;
+import io.prestosql.orc.DiskRange;
 import io.prestosql.orc.OrcDataSourceId;
 import io.prestosql.orc.OrcReaderOptions;
 import io.prestosql.plugin.hive.FileFormatDataSourceStats;
 import io.prestosql.plugin.hive.util.FSDataInputStreamTail;
+import io.prestosql.plugin.hive.util.FileRange;
+import io.prestosql.plugin.hive.util.VectoredReadable;
 import io.prestosql.spi.PrestoException;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.hdfs.BlockMissingException;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_FILESYSTEM_ERROR;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_MISSING_DATA;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_UNKNOWN_ERROR;
@@ -81,14 +88,56 @@ public class HdfsOrcDataSource
             throw e;
         }
         catch (Exception e) {
-            String message = format("Error reading from %s at position %s", this, position);
-            if (e instanceof BlockMissingException) {
-                throw new PrestoException(HIVE_MISSING_DATA, message, e);
-            }
-            if (e instanceof IOException) {
-                throw new PrestoException(HIVE_FILESYSTEM_ERROR, message, e);
+            throw readError(format("Error reading from %s at position %s", this, position), e);
+        }
+    }
+
+    @Override
+    protected boolean isBatchedReadSupported()
+    {
+        return inputStream.getWrappedStream() instanceof VectoredReadable;
+    }
+
+    @Override
+    protected Map<DiskRange, Slice> readInternal(List<DiskRange> diskRanges)
+            throws IOException
+    {
+        if (diskRanges.size() < 2 || !isBatchedReadSupported()) {
+            return super.readInternal(diskRanges);
+        }
+
+        List<FileRange> fileRanges = diskRanges.stream()
+                .map(diskRange -> new FileRange(diskRange.getOffset(), diskRange.getLength()))
+                .collect(toImmutableList());
+        try {
+            long readStart = System.nanoTime();
+            Map<FileRange, Slice> buffers = ((VectoredReadable) inputStream.getWrappedStream()).readFully(fileRanges);
+            long readBytes = 0;
+            ImmutableMap.Builder<DiskRange, Slice> result = ImmutableMap.builder();
+            for (int i = 0; i < diskRanges.size(); i++) {
+                result.put(diskRanges.get(i), buffers.get(fileRanges.get(i)));
+                readBytes += diskRanges.get(i).getLength();
             }
-            throw new PrestoException(HIVE_UNKNOWN_ERROR, message, e);
+            stats.readDataBytesPerSecond(readBytes, System.nanoTime() - readStart);
+            return result.build();
+        }
+        catch (PrestoException e) {
+            // just in case there is a Presto wrapper or hook
+            throw e;
+        }
+        catch (Exception e) {
+            throw readError(format("Error reading %s ranges from %s", diskRanges.size(), this), e);
+        }
+    }
+
+    private static PrestoException readError(String message, Exception e)
+    {
+        if (e instanceof BlockMissingException) {
+            return new PrestoException(HIVE_MISSING_DATA, message, e);
+        }
+        if (e instanceof IOException) {
+            return new PrestoException(HIVE_FILESYSTEM_ERROR, message, e);
         }
+        return new PrestoException(HIVE_UNKNOWN_ERROR, message, e);
     }
 }
@@ -47,6 +47,7 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -93,7 +94,8 @@ public class OrcFileWriter
             Map<String, String> metadata,
             Optional<Supplier<OrcDataSource>> validationInputFactory,
             OrcWriteValidationMode validationMode,
-            OrcWriterStats stats)
+            OrcWriterStats stats,
+            Optional<Executor> stripeFlushExecutor)
     {
         requireNonNull(orcDataSink, "orcDataSink is null");
         this.transaction = requireNonNull(transaction, "transaction is null");
@@ -123,7 +125,8 @@ public class OrcFileWriter
                 metadata,
                 validationInputFactory.isPresent(),
                 validationMode,
-                stats);
+                stats,
+                stripeFlushExecutor);
     }
 
     @Override
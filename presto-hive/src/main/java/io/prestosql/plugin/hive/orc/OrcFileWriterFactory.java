@@ -52,6 +52,7 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Properties;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import static io.prestosql.orc.metadata.OrcType.createRootOrcType;
@@ -86,6 +87,7 @@ public class OrcFileWriterFactory
     private final OrcWriterStats stats = new OrcWriterStats();
     private final OrcWriterOptions orcWriterOptions;
     private final boolean writeLegacyVersion;
+    private final Optional<Executor> stripeFlushExecutor;
 
     @Inject
     public OrcFileWriterFactory(
@@ -94,7 +96,8 @@ public class OrcFileWriterFactory
             NodeVersion nodeVersion,
             OrcWriterConfig orcWriterConfig,
             FileFormatDataSourceStats readStats,
-            OrcWriterConfig config)
+            OrcWriterConfig config,
+            @ForOrcStripeFlush Optional<Executor> stripeFlushExecutor)
     {
         this(
                 hdfsEnvironment,
@@ -102,7 +105,8 @@ public class OrcFileWriterFactory
                 nodeVersion,
                 requireNonNull(orcWriterConfig, "orcWriterConfig is null").isUseLegacyVersion(),
                 readStats,
-                requireNonNull(config, "config is null").toOrcWriterOptions());
+                requireNonNull(config, "config is null").toOrcWriterOptions(),
+                stripeFlushExecutor);
     }
 
     public OrcFileWriterFactory(
@@ -112,6 +116,18 @@ public class OrcFileWriterFactory
             boolean writeLegacyVersion,
             FileFormatDataSourceStats readStats,
             OrcWriterOptions orcWriterOptions)
+    {
+        this(hdfsEnvironment, typeManager, nodeVersion, writeLegacyVersion, readStats, orcWriterOptions, Optional.empty());
+    }
+
+    private OrcFileWriterFactory(
+            HdfsEnvironment hdfsEnvironment,
+            TypeManager typeManager,
+            NodeVersion nodeVersion,
+            boolean writeLegacyVersion,
+            FileFormatDataSourceStats readStats,
+            OrcWriterOptions orcWriterOptions,
+            Optional<Executor> stripeFlushExecutor)
     {
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
@@ -119,6 +135,7 @@ public class OrcFileWriterFactory
         this.writeLegacyVersion = writeLegacyVersion;
         this.readStats = requireNonNull(readStats, "stats is null");
         this.orcWriterOptions = requireNonNull(orcWriterOptions, "orcWriterOptions is null");
+        this.stripeFlushExecutor = requireNonNull(stripeFlushExecutor, "stripeFlushExecutor is null");
     }
 
     @Managed
@@ -222,7 +239,8 @@ public class OrcFileWriterFactory
                             .build(),
                     validationInputFactory,
                     getOrcOptimizedWriterValidateMode(session),
-                    stats));
+                    stats,
+                    stripeFlushExecutor));
         }
         catch (IOException e) {
             throw new PrestoException(HIVE_WRITER_OPEN_ERROR, "Error creating ORC file", e);
@@ -228,6 +228,11 @@ public class OrcPageSource
         {
             return new OriginalFileRowIdAdaptation(startingRowId, bucketId);
         }
+
+        static ColumnAdaptation positionColumn()
+        {
+            return new PositionAdaptation();
+        }
     }
 
     private static class NullColumn
@@ -366,4 +371,25 @@ public class OrcPageSource
             return new LongArrayBlock(positionCount, Optional.empty(), translatedRowIds);
         }
     }
+
+    private static class PositionAdaptation
+            implements ColumnAdaptation
+    {
+        @Override
+        public Block block(Page sourcePage, MaskDeletedRowsFunction maskDeletedRowsFunction, long filePosition)
+        {
+            int positionCount = sourcePage.getPositionCount();
+            long[] positions = new long[positionCount];
+            for (int index = 0; index < positionCount; index++) {
+                positions[index] = filePosition + index;
+            }
+            return maskDeletedRowsFunction.apply(new LongArrayBlock(positionCount, Optional.empty(), positions));
+        }
+
+        @Override
+        public String toString()
+        {
+            return toStringHelper(this).toString();
+        }
+    }
 }
@@ -22,6 +22,7 @@ import io.prestosql.orc.OrcWriterOptions;
 
 import javax.validation.constraints.DecimalMax;
 import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 @DefunctConfig("hive.orc.optimized-writer.enabled")
@@ -34,6 +35,7 @@ public class OrcWriterConfig
     private boolean useLegacyVersion;
     private double validationPercentage;
     private OrcWriteValidationMode validationMode = OrcWriteValidationMode.BOTH;
+    private int stripeFlushThreads;
 
     public OrcWriterOptions toOrcWriterOptions()
     {
@@ -178,4 +180,18 @@ public class OrcWriterConfig
         this.validationMode = validationMode;
         return this;
     }
+
+    @Min(0)
+    public int getStripeFlushThreads()
+    {
+        return stripeFlushThreads;
+    }
+
+    @Config("hive.orc.writer.stripe-flush-threads")
+    @ConfigDescription("Number of threads encoding and compressing completed stripes in the background. When 0, stripes are flushed by the writing thread.")
+    public OrcWriterConfig setStripeFlushThreads(int stripeFlushThreads)
+    {
+        this.stripeFlushThreads = stripeFlushThreads;
+        return this;
+    }
 }
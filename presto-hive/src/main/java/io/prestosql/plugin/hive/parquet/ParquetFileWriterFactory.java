@@ -85,6 +85,7 @@ public class ParquetFileWriterFactory
         ParquetWriterOptions parquetWriterOptions = ParquetWriterOptions.builder()
                 .setMaxPageSize(HiveSessionProperties.getParquetWriterPageSize(session))
                 .setMaxBlockSize(HiveSessionProperties.getParquetWriterBlockSize(session))
+                .setMaxDictionaryMemory(HiveSessionProperties.getParquetWriterDictionaryMaxMemory(session))
                 .build();
 
         CompressionCodecName compressionCodecName = getCompression(conf);
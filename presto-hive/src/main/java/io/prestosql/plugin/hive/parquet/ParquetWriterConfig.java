@@ -20,12 +20,15 @@ import io.airlift.units.DataSize;
 import io.prestosql.parquet.writer.ParquetWriterOptions;
 import org.apache.parquet.hadoop.ParquetWriter;
 
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+
 public class ParquetWriterConfig
 {
     private boolean parquetOptimizedWriterEnabled;
 
     private DataSize blockSize = DataSize.ofBytes(ParquetWriter.DEFAULT_BLOCK_SIZE);
     private DataSize pageSize = DataSize.ofBytes(ParquetWriter.DEFAULT_PAGE_SIZE);
+    private DataSize dictionaryMaxMemory = DataSize.of(16, MEGABYTE);
 
     public DataSize getBlockSize()
     {
@@ -53,6 +56,19 @@ public class ParquetWriterConfig
         return this;
     }
 
+    public DataSize getDictionaryMaxMemory()
+    {
+        return dictionaryMaxMemory;
+    }
+
+    @Config("parquet.writer.dictionary-max-memory")
+    @ConfigDescription("Maximum memory used by the dictionaries of all columns of a file before columns fall back to plain or delta encoding")
+    public ParquetWriterConfig setDictionaryMaxMemory(DataSize dictionaryMaxMemory)
+    {
+        this.dictionaryMaxMemory = dictionaryMaxMemory;
+        return this;
+    }
+
     public boolean isParquetOptimizedWriterEnabled()
     {
         return parquetOptimizedWriterEnabled;
@@ -72,6 +88,7 @@ public class ParquetWriterConfig
         return ParquetWriterOptions.builder()
                 .setMaxBlockSize(getBlockSize())
                 .setMaxPageSize(getPageSize())
+                .setMaxDictionaryMemory(getDictionaryMaxMemory())
                 .build();
     }
 }
@@ -21,6 +21,7 @@ import io.airlift.configuration.DefunctConfig;
 import io.airlift.configuration.validation.FileExists;
 import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
+import io.airlift.units.MaxDataSize;
 import io.airlift.units.MinDataSize;
 import io.airlift.units.MinDuration;
 
@@ -65,6 +66,9 @@ public class HiveS3Config
     private PrestoS3AclType s3AclType = PrestoS3AclType.PRIVATE;
     private boolean skipGlacierObjects;
     private boolean requesterPaysEnabled;
+    private DataSize s3RangedReadMaxCoalesceGap = DataSize.of(1, MEGABYTE);
+    private DataSize s3RangedReadMaxCoalescedSize = DataSize.of(16, MEGABYTE);
+    private int s3RangedReadMaxThreads = 16;
 
     public String getS3AwsAccessKey()
     {
@@ -462,4 +466,48 @@ public class HiveS3Config
         this.requesterPaysEnabled = requesterPaysEnabled;
         return this;
     }
+
+    @NotNull
+    public DataSize getS3RangedReadMaxCoalesceGap()
+    {
+        return s3RangedReadMaxCoalesceGap;
+    }
+
+    @Config("hive.s3.ranged-read.max-coalesce-gap")
+    @ConfigDescription("Maximum gap between two ranges of a vectored read that are fetched with a single GET request")
+    public HiveS3Config setS3RangedReadMaxCoalesceGap(DataSize s3RangedReadMaxCoalesceGap)
+    {
+        this.s3RangedReadMaxCoalesceGap = s3RangedReadMaxCoalesceGap;
+        return this;
+    }
+
+    @NotNull
+    @MinDataSize("1MB")
+    @MaxDataSize("1GB")
+    public DataSize getS3RangedReadMaxCoalescedSize()
+    {
+        return s3RangedReadMaxCoalescedSize;
+    }
+
+    @Config("hive.s3.ranged-read.max-coalesced-size")
+    @ConfigDescription("Maximum size of a single GET request issued for coalesced ranges of a vectored read")
+    public HiveS3Config setS3RangedReadMaxCoalescedSize(DataSize s3RangedReadMaxCoalescedSize)
+    {
+        this.s3RangedReadMaxCoalescedSize = s3RangedReadMaxCoalescedSize;
+        return this;
+    }
+
+    @Min(1)
+    public int getS3RangedReadMaxThreads()
+    {
+        return s3RangedReadMaxThreads;
+    }
+
+    @Config("hive.s3.ranged-read.max-threads")
+    @ConfigDescription("Maximum number of concurrent GET requests issued by a vectored read")
+    public HiveS3Config setS3RangedReadMaxThreads(int s3RangedReadMaxThreads)
+    {
+        this.s3RangedReadMaxThreads = s3RangedReadMaxThreads;
+        return this;
+    }
 }
@@ -39,6 +39,9 @@ import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_MULTIPART_MIN_FI
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_MULTIPART_MIN_PART_SIZE;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_PATH_STYLE_ACCESS;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_PIN_CLIENT_TO_CURRENT_REGION;
+import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_RANGED_READ_MAX_COALESCED_SIZE;
+import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_RANGED_READ_MAX_COALESCE_GAP;
+import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_RANGED_READ_MAX_THREADS;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_REQUESTER_PAYS_ENABLED;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_SECRET_KEY;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_SIGNER_CLASS;
@@ -86,6 +89,9 @@ public class PrestoS3ConfigurationInitializer
     private final String signerClass;
     private final boolean requesterPaysEnabled;
     private final boolean skipGlacierObjects;
+    private final DataSize rangedReadMaxCoalesceGap;
+    private final DataSize rangedReadMaxCoalescedSize;
+    private final int rangedReadMaxThreads;
 
     @Inject
     public PrestoS3ConfigurationInitializer(HiveS3Config config)
@@ -120,6 +126,9 @@ public class PrestoS3ConfigurationInitializer
         this.aclType = config.getS3AclType();
         this.skipGlacierObjects = config.isSkipGlacierObjects();
         this.requesterPaysEnabled = config.isRequesterPaysEnabled();
+        this.rangedReadMaxCoalesceGap = config.getS3RangedReadMaxCoalesceGap();
+        this.rangedReadMaxCoalescedSize = config.getS3RangedReadMaxCoalescedSize();
+        this.rangedReadMaxThreads = config.getS3RangedReadMaxThreads();
     }
 
     @Override
@@ -180,5 +189,8 @@ public class PrestoS3ConfigurationInitializer
         config.set(S3_ACL_TYPE, aclType.name());
         config.setBoolean(S3_SKIP_GLACIER_OBJECTS, skipGlacierObjects);
         config.setBoolean(S3_REQUESTER_PAYS_ENABLED, requesterPaysEnabled);
+        config.setLong(S3_RANGED_READ_MAX_COALESCE_GAP, rangedReadMaxCoalesceGap.toBytes());
+        config.setLong(S3_RANGED_READ_MAX_COALESCED_SIZE, rangedReadMaxCoalescedSize.toBytes());
+        config.setInt(S3_RANGED_READ_MAX_THREADS, rangedReadMaxThreads);
     }
 }
@@ -62,13 +62,22 @@ import com.amazonaws.services.s3.transfer.Upload;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 import com.google.common.collect.AbstractSequentialIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
 import com.google.common.io.Closer;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import io.airlift.concurrent.BoundedExecutor;
 import io.airlift.log.Logger;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
 import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.prestosql.plugin.hive.util.FSDataInputStreamTail;
+import io.prestosql.plugin.hive.util.FileRange;
+import io.prestosql.plugin.hive.util.VectoredReadable;
 import org.apache.hadoop.conf.Configurable;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
@@ -99,6 +108,7 @@ import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -106,6 +116,10 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.amazonaws.regions.Regions.US_EAST_1;
@@ -122,6 +136,8 @@ import static com.google.common.base.Throwables.throwIfInstanceOf;
 import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.Iterables.toArray;
+import static com.google.common.util.concurrent.Futures.allAsList;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.prestosql.plugin.hive.aws.AwsCurrentRegionHolder.getCurrentRegionFromEC2Metadata;
 import static io.prestosql.plugin.hive.util.RetryDriver.retry;
@@ -133,7 +149,9 @@ import static java.net.HttpURLConnection.HTTP_FORBIDDEN;
 import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
 import static java.nio.file.Files.createDirectories;
 import static java.nio.file.Files.createTempFile;
+import static java.util.Comparator.comparingLong;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.hadoop.fs.FSExceptionMessages.CANNOT_SEEK_PAST_EOF;
 import static org.apache.hadoop.fs.FSExceptionMessages.NEGATIVE_SEEK;
@@ -175,6 +193,9 @@ public class PrestoS3FileSystem
     public static final String S3_SKIP_GLACIER_OBJECTS = "presto.s3.skip-glacier-objects";
     public static final String S3_REQUESTER_PAYS_ENABLED = "presto.s3.requester-pays.enabled";
     public static final String S3_STORAGE_CLASS = "presto.s3.storage-class";
+    public static final String S3_RANGED_READ_MAX_COALESCE_GAP = "presto.s3.ranged-read.max-coalesce-gap";
+    public static final String S3_RANGED_READ_MAX_COALESCED_SIZE = "presto.s3.ranged-read.max-coalesced-size";
+    public static final String S3_RANGED_READ_MAX_THREADS = "presto.s3.ranged-read.max-threads";
 
     static final String S3_DIRECTORY_OBJECT_CONTENT_TYPE = "application/x-directory";
 
@@ -189,6 +210,9 @@ public class PrestoS3FileSystem
     private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
     private static final String S3_CUSTOM_SIGNER = "PrestoS3CustomSigner";
     private static final Set<String> GLACIER_STORAGE_CLASSES = ImmutableSet.of(Glacier.toString(), DeepArchive.toString());
+    // file system instances are created per user and bucket, so they share the ranged read threads
+    private static final ExecutorService RANGED_READ_EXECUTOR_SERVICE = newCachedThreadPool(daemonThreadsNamed("s3-ranged-read-%s"));
+    private static final Map<Integer, Executor> RANGED_READ_EXECUTORS = new ConcurrentHashMap<>();
 
     private URI uri;
     private Path workingDirectory;
@@ -211,6 +235,9 @@ public class PrestoS3FileSystem
     private boolean skipGlacierObjects;
     private boolean requesterPaysEnabled;
     private PrestoS3StorageClass s3StorageClass;
+    private long rangedReadMaxCoalesceGap;
+    private long rangedReadMaxCoalescedSize;
+    private Executor rangedReadExecutor;
 
     @Override
     public void initialize(URI uri, Configuration conf)
@@ -255,6 +282,10 @@ public class PrestoS3FileSystem
         this.skipGlacierObjects = conf.getBoolean(S3_SKIP_GLACIER_OBJECTS, defaults.isSkipGlacierObjects());
         this.requesterPaysEnabled = conf.getBoolean(S3_REQUESTER_PAYS_ENABLED, defaults.isRequesterPaysEnabled());
         this.s3StorageClass = conf.getEnum(S3_STORAGE_CLASS, defaults.getS3StorageClass());
+        this.rangedReadMaxCoalesceGap = conf.getLong(S3_RANGED_READ_MAX_COALESCE_GAP, defaults.getS3RangedReadMaxCoalesceGap().toBytes());
+        this.rangedReadMaxCoalescedSize = conf.getLong(S3_RANGED_READ_MAX_COALESCED_SIZE, defaults.getS3RangedReadMaxCoalescedSize().toBytes());
+        int rangedReadMaxThreads = conf.getInt(S3_RANGED_READ_MAX_THREADS, defaults.getS3RangedReadMaxThreads());
+        this.rangedReadExecutor = RANGED_READ_EXECUTORS.computeIfAbsent(rangedReadMaxThreads, threads -> new BoundedExecutor(RANGED_READ_EXECUTOR_SERVICE, threads));
 
         ClientConfiguration configuration = new ClientConfiguration()
                 .withMaxErrorRetry(maxErrorRetries)
@@ -422,8 +453,18 @@ public class PrestoS3FileSystem
     public FSDataInputStream open(Path path, int bufferSize)
     {
         return new FSDataInputStream(
-                new BufferedFSInputStream(
-                        new PrestoS3InputStream(s3, getBucketName(uri), path, requesterPaysEnabled, maxAttempts, maxBackoffTime, maxRetryTime),
+                new PrestoS3BufferedInputStream(
+                        new PrestoS3InputStream(
+                                s3,
+                                getBucketName(uri),
+                                path,
+                                requesterPaysEnabled,
+                                maxAttempts,
+                                maxBackoffTime,
+                                maxRetryTime,
+                                rangedReadMaxCoalesceGap,
+                                rangedReadMaxCoalescedSize,
+                                rangedReadExecutor),
                         bufferSize));
     }
 
@@ -937,8 +978,59 @@ public class PrestoS3FileSystem
         return Optional.of(new BasicAWSCredentials(accessKey, secretKey));
     }
 
+    @VisibleForTesting
+    static List<FileRange> coalesceRanges(Collection<FileRange> ranges, long maxCoalesceGap, long maxCoalescedSize)
+    {
+        if (ranges.isEmpty()) {
+            return ImmutableList.of();
+        }
+
+        // sort ranges by start offset
+        List<FileRange> sortedRanges = new ArrayList<>(ranges);
+        sortedRanges.sort(comparingLong(FileRange::getOffset));
+
+        ImmutableList.Builder<FileRange> result = ImmutableList.builder();
+        long start = sortedRanges.get(0).getOffset();
+        long end = sortedRanges.get(0).getEnd();
+        for (int i = 1; i < sortedRanges.size(); i++) {
+            FileRange current = sortedRanges.get(i);
+            long mergedEnd = max(end, current.getEnd());
+            if (current.getOffset() - end <= maxCoalesceGap && mergedEnd - start <= maxCoalescedSize) {
+                end = mergedEnd;
+            }
+            else {
+                result.add(new FileRange(start, toIntExact(end - start)));
+                start = current.getOffset();
+                end = current.getEnd();
+            }
+        }
+        result.add(new FileRange(start, toIntExact(end - start)));
+        return result.build();
+    }
+
+    private static class PrestoS3BufferedInputStream
+            extends BufferedFSInputStream
+            implements VectoredReadable
+    {
+        private final PrestoS3InputStream stream;
+
+        public PrestoS3BufferedInputStream(PrestoS3InputStream stream, int bufferSize)
+        {
+            super(stream, bufferSize);
+            this.stream = stream;
+        }
+
+        @Override
+        public Map<FileRange, Slice> readFully(Collection<FileRange> ranges)
+                throws IOException
+        {
+            return stream.readFully(ranges);
+        }
+    }
+
     private static class PrestoS3InputStream
             extends FSInputStream
+            implements VectoredReadable
     {
         private final AmazonS3 s3;
         private final String bucket;
@@ -947,6 +1039,9 @@ public class PrestoS3FileSystem
         private final int maxAttempts;
         private final Duration maxBackoffTime;
         private final Duration maxRetryTime;
+        private final long maxCoalesceGap;
+        private final long maxCoalescedSize;
+        private final Executor rangedReadExecutor;
 
         private final AtomicBoolean closed = new AtomicBoolean();
 
@@ -954,7 +1049,17 @@ public class PrestoS3FileSystem
         private long streamPosition;
         private long nextReadPosition;
 
-        public PrestoS3InputStream(AmazonS3 s3, String bucket, Path path, boolean requesterPaysEnabled, int maxAttempts, Duration maxBackoffTime, Duration maxRetryTime)
+        public PrestoS3InputStream(
+                AmazonS3 s3,
+                String bucket,
+                Path path,
+                boolean requesterPaysEnabled,
+                int maxAttempts,
+                Duration maxBackoffTime,
+                Duration maxRetryTime,
+                long maxCoalesceGap,
+                long maxCoalescedSize,
+                Executor rangedReadExecutor)
         {
             this.s3 = requireNonNull(s3, "s3 is null");
             this.bucket = requireNonNull(bucket, "bucket is null");
@@ -965,6 +1070,77 @@ public class PrestoS3FileSystem
             this.maxAttempts = maxAttempts;
             this.maxBackoffTime = requireNonNull(maxBackoffTime, "maxBackoffTime is null");
             this.maxRetryTime = requireNonNull(maxRetryTime, "maxRetryTime is null");
+
+            checkArgument(maxCoalesceGap >= 0, "maxCoalesceGap cannot be negative");
+            checkArgument(maxCoalescedSize > 0, "maxCoalescedSize must be positive");
+            checkArgument(maxCoalescedSize <= Integer.MAX_VALUE, "maxCoalescedSize must fit in a single buffer");
+            this.maxCoalesceGap = maxCoalesceGap;
+            this.maxCoalescedSize = maxCoalescedSize;
+            this.rangedReadExecutor = requireNonNull(rangedReadExecutor, "rangedReadExecutor is null");
+        }
+
+        @Override
+        public Map<FileRange, Slice> readFully(Collection<FileRange> ranges)
+                throws IOException
+        {
+            checkClosed();
+            Set<FileRange> requestedRanges = ImmutableSet.copyOf(ranges);
+            if (requestedRanges.isEmpty()) {
+                return ImmutableMap.of();
+            }
+
+            List<FileRange> coalescedRanges = coalesceRanges(requestedRanges, maxCoalesceGap, maxCoalescedSize);
+            STATS.newRangedRead(requestedRanges.size(), coalescedRanges.size());
+
+            // issue one ranged GET per coalesced range, all but the first on the bounded executor
+            List<ListenableFuture<Slice>> futures = new ArrayList<>(coalescedRanges.size());
+            for (FileRange range : coalescedRanges.subList(1, coalescedRanges.size())) {
+                ListenableFutureTask<Slice> task = ListenableFutureTask.create(() -> readRange(range));
+                rangedReadExecutor.execute(task);
+                futures.add(task);
+            }
+
+            List<Slice> buffers;
+            try {
+                Slice firstBuffer = readRange(coalescedRanges.get(0));
+                buffers = ImmutableList.<Slice>builder()
+                        .add(firstBuffer)
+                        .addAll(allAsList(futures).get())
+                        .build();
+            }
+            catch (ExecutionException e) {
+                throwIfInstanceOf(e.getCause(), IOException.class);
+                throwIfUnchecked(e.getCause());
+                throw new IOException(e.getCause());
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            finally {
+                futures.forEach(future -> future.cancel(true));
+            }
+
+            ImmutableMap.Builder<FileRange, Slice> result = ImmutableMap.builder();
+            for (FileRange range : requestedRanges) {
+                for (int i = 0; i < coalescedRanges.size(); i++) {
+                    FileRange coalescedRange = coalescedRanges.get(i);
+                    if (coalescedRange.contains(range)) {
+                        int offset = toIntExact(range.getOffset() - coalescedRange.getOffset());
+                        result.put(range, buffers.get(i).slice(offset, range.getLength()));
+                        break;
+                    }
+                }
+            }
+            return result.build();
+        }
+
+        private Slice readRange(FileRange range)
+                throws IOException
+        {
+            byte[] buffer = new byte[range.getLength()];
+            readFully(range.getOffset(), buffer, 0, buffer.length);
+            return Slices.wrappedBuffer(buffer);
         }
 
         @Override
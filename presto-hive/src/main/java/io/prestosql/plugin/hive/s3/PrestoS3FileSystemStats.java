@@ -44,6 +44,8 @@ public class PrestoS3FileSystemStats
     private final CounterStat getObjectRetries = new CounterStat();
     private final CounterStat getMetadataRetries = new CounterStat();
     private final CounterStat readRetries = new CounterStat();
+    private final CounterStat rangedReadRanges = new CounterStat();
+    private final CounterStat rangedReadRequests = new CounterStat();
 
     // see AWSRequestMetrics
     private final CounterStat awsRequestCount = new CounterStat();
@@ -214,6 +216,20 @@ public class PrestoS3FileSystemStats
         return readRetries;
     }
 
+    @Managed
+    @Nested
+    public CounterStat getRangedReadRanges()
+    {
+        return rangedReadRanges;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getRangedReadRequests()
+    {
+        return rangedReadRequests;
+    }
+
     public void connectionOpened()
     {
         activeConnections.update(1);
@@ -329,4 +345,10 @@ public class PrestoS3FileSystemStats
     {
         readRetries.update(1);
     }
+
+    public void newRangedRead(int ranges, int requests)
+    {
+        rangedReadRanges.update(ranges);
+        rangedReadRequests.update(requests);
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.util;
+
+import com.google.common.collect.AbstractIterator;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * Loads batches in the background, up to {@code concurrency} ahead of the consumer,
+ * and returns the results in the original batch order. Can be iterated only once.
+ * Loads that have not started yet are cancelled when a load fails or {@link #cancel()} is called.
+ */
+@ThreadSafe
+public class ConcurrentBatchLoader<T, R>
+        implements Iterable<R>
+{
+    private final Iterable<T> batches;
+    private final Function<T, R> loader;
+    private final int concurrency;
+    private final Executor executor;
+
+    @GuardedBy("this")
+    private final Queue<CompletableFuture<R>> loading = new ArrayDeque<>();
+    @GuardedBy("this")
+    private boolean iterated;
+    @GuardedBy("this")
+    private boolean cancelled;
+
+    public ConcurrentBatchLoader(Iterable<T> batches, Function<T, R> loader, int concurrency, Executor executor)
+    {
+        this.batches = requireNonNull(batches, "batches is null");
+        this.loader = requireNonNull(loader, "loader is null");
+        checkArgument(concurrency >= 1, "concurrency must be at least 1");
+        this.concurrency = concurrency;
+        this.executor = requireNonNull(executor, "executor is null");
+    }
+
+    @Override
+    public synchronized Iterator<R> iterator()
+    {
+        checkState(!iterated, "Batches can be iterated only once");
+        iterated = true;
+        Iterator<T> pending = batches.iterator();
+        return new AbstractIterator<>()
+        {
+            @Override
+            protected R computeNext()
+            {
+                CompletableFuture<R> next = startLoads(pending);
+                if (next == null) {
+                    return endOfData();
+                }
+                try {
+                    return getFutureValue(next);
+                }
+                catch (RuntimeException e) {
+                    cancel();
+                    throw e;
+                }
+            }
+        };
+    }
+
+    public synchronized void cancel()
+    {
+        cancelled = true;
+        loading.forEach(future -> future.cancel(true));
+        loading.clear();
+    }
+
+    private synchronized CompletableFuture<R> startLoads(Iterator<T> pending)
+    {
+        checkState(!cancelled, "Loading was cancelled");
+        while (loading.size() < concurrency && pending.hasNext()) {
+            T batch = pending.next();
+            loading.add(supplyAsync(() -> loader.apply(batch), executor));
+        }
+        return loading.poll();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.util;
+
+import java.util.Objects;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.addExact;
+
+public final class FileRange
+{
+    private final long offset;
+    private final int length;
+
+    public FileRange(long offset, int length)
+    {
+        checkArgument(offset >= 0, "offset is negative");
+        checkArgument(length >= 0, "length is negative");
+
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public long getOffset()
+    {
+        return offset;
+    }
+
+    public int getLength()
+    {
+        return length;
+    }
+
+    public long getEnd()
+    {
+        return addExact(offset, length);
+    }
+
+    public boolean contains(FileRange range)
+    {
+        return offset <= range.getOffset() && range.getEnd() <= getEnd();
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        FileRange that = (FileRange) obj;
+        return offset == that.offset &&
+                length == that.length;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(offset, length);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("offset", offset)
+                .add("length", length)
+                .toString();
+    }
+}
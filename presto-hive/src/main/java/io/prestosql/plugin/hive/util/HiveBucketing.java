@@ -23,6 +23,7 @@ import io.prestosql.plugin.hive.HiveBucketProperty;
 import io.prestosql.plugin.hive.HiveColumnHandle;
 import io.prestosql.plugin.hive.HiveType;
 import io.prestosql.plugin.hive.metastore.Column;
+import io.prestosql.plugin.hive.metastore.SortingColumn;
 import io.prestosql.plugin.hive.metastore.Table;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PrestoException;
@@ -53,6 +54,8 @@ import static com.google.common.collect.Lists.cartesianProduct;
 import static io.prestosql.plugin.hive.HiveColumnHandle.BUCKET_COLUMN_NAME;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_INVALID_METADATA;
 import static io.prestosql.plugin.hive.HiveSessionProperties.getTimestampPrecision;
+import static io.prestosql.plugin.hive.HiveSessionProperties.isBucketExecutionEnabled;
+import static io.prestosql.plugin.hive.HiveSessionProperties.isSortedBucketReadsEnabled;
 import static io.prestosql.plugin.hive.util.HiveBucketing.BucketingVersion.BUCKETING_V1;
 import static io.prestosql.plugin.hive.util.HiveBucketing.BucketingVersion.BUCKETING_V2;
 import static io.prestosql.plugin.hive.util.HiveUtil.getRegularColumnHandles;
@@ -176,6 +179,20 @@ public final class HiveBucketing
         return (hashCode & Integer.MAX_VALUE) % bucketCount;
     }
 
+    /**
+     * Returns true if each bucket can be read as a single split whose rows are in the
+     * declared sort order. This is only possible when every bucket is backed by one
+     * file, so reads spanning several partitions or bucket counts are excluded.
+     */
+    public static boolean isSortedBucketRead(ConnectorSession session, HiveBucketHandle bucketHandle, int partitionCount)
+    {
+        return isSortedBucketReadsEnabled(session) &&
+                isBucketExecutionEnabled(session) &&
+                !bucketHandle.getSortedBy().isEmpty() &&
+                bucketHandle.getReadBucketCount() == bucketHandle.getTableBucketCount() &&
+                partitionCount <= 1;
+    }
+
     public static Optional<HiveBucketHandle> getHiveBucketHandle(ConnectorSession session, Table table, TypeManager typeManager)
     {
         Optional<HiveBucketProperty> hiveBucketProperty = table.getStorage().getBucketProperty();
@@ -200,7 +217,8 @@ public final class HiveBucketing
 
         BucketingVersion bucketingVersion = hiveBucketProperty.get().getBucketingVersion();
         int bucketCount = hiveBucketProperty.get().getBucketCount();
-        return Optional.of(new HiveBucketHandle(bucketColumns.build(), bucketingVersion, bucketCount, bucketCount));
+        List<SortingColumn> sortedBy = hiveBucketProperty.get().getSortedBy();
+        return Optional.of(new HiveBucketHandle(bucketColumns.build(), bucketingVersion, bucketCount, bucketCount, sortedBy));
     }
 
     public static Optional<HiveBucketFilter> getHiveBucketFilter(Table table, TupleDomain<ColumnHandle> effectivePredicate)
@@ -29,6 +29,8 @@ import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_FILESYSTEM_ERROR;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_FILE_NOT_FOUND;
@@ -52,6 +54,7 @@ public class HiveFileIterator
     private final NamenodeStats namenodeStats;
     private final NestedDirectoryPolicy nestedDirectoryPolicy;
     private final boolean ignoreAbsentPartitions;
+    private final Optional<Consumer<Path>> nestedDirectoryConsumer;
 
     private Iterator<LocatedFileStatus> remoteIterator = emptyIterator();
 
@@ -63,6 +66,24 @@ public class HiveFileIterator
             NamenodeStats namenodeStats,
             NestedDirectoryPolicy nestedDirectoryPolicy,
             boolean ignoreAbsentPartitions)
+    {
+        this(table, path, fileSystem, directoryLister, namenodeStats, nestedDirectoryPolicy, ignoreAbsentPartitions, Optional.empty());
+    }
+
+    /**
+     * With {@link NestedDirectoryPolicy#RECURSE} and a {@code nestedDirectoryConsumer}, nested directories
+     * are handed to the consumer instead of being listed by this iterator, so that they can be listed
+     * concurrently by another iterator.
+     */
+    public HiveFileIterator(
+            Table table,
+            Path path,
+            FileSystem fileSystem,
+            DirectoryLister directoryLister,
+            NamenodeStats namenodeStats,
+            NestedDirectoryPolicy nestedDirectoryPolicy,
+            boolean ignoreAbsentPartitions,
+            Optional<Consumer<Path>> nestedDirectoryConsumer)
     {
         paths.addLast(requireNonNull(path, "path is null"));
         this.table = requireNonNull(table, "table is null");
@@ -71,6 +92,7 @@ public class HiveFileIterator
         this.namenodeStats = requireNonNull(namenodeStats, "namenodeStats is null");
         this.nestedDirectoryPolicy = requireNonNull(nestedDirectoryPolicy, "nestedDirectoryPolicy is null");
         this.ignoreAbsentPartitions = ignoreAbsentPartitions;
+        this.nestedDirectoryConsumer = requireNonNull(nestedDirectoryConsumer, "nestedDirectoryConsumer is null");
     }
 
     @Override
@@ -91,7 +113,12 @@ public class HiveFileIterator
                         case IGNORED:
                             continue;
                         case RECURSE:
-                            paths.add(status.getPath());
+                            if (nestedDirectoryConsumer.isPresent()) {
+                                nestedDirectoryConsumer.get().accept(status.getPath());
+                            }
+                            else {
+                                paths.add(status.getPath());
+                            }
                             continue;
                         case FAIL:
                             throw new NestedDirectoryNotAllowedException(status.getPath());
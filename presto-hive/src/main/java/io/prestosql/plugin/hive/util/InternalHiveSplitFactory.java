@@ -204,6 +204,15 @@ public class InternalHiveSplitFactory
             statementId = bucketStatementCounters.computeIfAbsent(bucketNumberIndex, index -> new AtomicInteger()).getAndIncrement();
         }
 
+        forceLocalScheduling = forceLocalScheduling && allBlocksHaveAddress(blocks);
+        boolean useS3SelectPushdown = s3SelectPushdownEnabled && S3SelectPushdown.isCompressionCodecSupported(inputFormat, path);
+        // deletes need a statement id for each file, and the other cases need per-file handling on the worker or scheduler
+        boolean coalescable = !transaction.isDelete() &&
+                !forceLocalScheduling &&
+                !useS3SelectPushdown &&
+                bucketConversion.isEmpty() &&
+                acidInfo.isEmpty();
+
         return Optional.of(new InternalHiveSplit(
                 partitionName,
                 pathString,
@@ -217,11 +226,12 @@ public class InternalHiveSplitFactory
                 bucketNumber,
                 statementId,
                 splittable,
-                forceLocalScheduling && allBlocksHaveAddress(blocks),
+                forceLocalScheduling,
                 tableToPartitionMapping,
                 bucketConversion,
-                s3SelectPushdownEnabled && S3SelectPushdown.isCompressionCodecSupported(inputFormat, path),
-                acidInfo));
+                useS3SelectPushdown,
+                acidInfo,
+                coalescable));
     }
 
     private static void checkBlocks(List<InternalHiveBlock> blocks, long start, long length)
@@ -28,6 +28,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
@@ -86,6 +87,7 @@ public class TempFileWriter
                 ImmutableMap.of(),
                 false,
                 OrcWriteValidationMode.BOTH,
-                new OrcWriterStats());
+                new OrcWriterStats(),
+                Optional.empty());
     }
 }
@@ -0,0 +1,35 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.util;
+
+import io.airlift.slice.Slice;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Implemented by file system input streams that can fetch many ranges of
+ * a file at once, typically by coalescing nearby ranges and issuing the
+ * resulting requests concurrently.
+ */
+public interface VectoredReadable
+{
+    /**
+     * Reads all the given ranges fully. The returned map contains an entry
+     * for every requested range. The position of the stream is not changed.
+     */
+    Map<FileRange, Slice> readFully(Collection<FileRange> ranges)
+            throws IOException;
+}
@@ -0,0 +1,255 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.util;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.type.CharType;
+import io.prestosql.spi.type.RealType;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.VarbinaryType;
+import io.prestosql.spi.type.VarcharType;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.Slices.EMPTY_SLICE;
+import static io.airlift.slice.Slices.wrappedBuffer;
+import static io.prestosql.spi.type.VarbinaryType.VARBINARY;
+import static java.lang.Float.intBitsToFloat;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Computes Z-order addresses, which interleave the bits of several columns so that rows
+ * sorted by the address are clustered on all of the columns at once. Each value is first
+ * mapped to an unsigned 64-bit key that preserves the order of the type, and the address
+ * is the bitwise interleaving of these keys, compared as unsigned bytes.
+ * <p>
+ * Interleaving raw keys would let the column with the widest range dominate the order, and
+ * strings sharing a long prefix would all map to the same key. The keys are therefore
+ * normalized to the value ranges of a sample of the rows: the common prefix of the sampled
+ * strings is skipped, and the bits shared by all sampled keys are shifted out, so the varying
+ * bits of every column start at the most significant bit. Values outside the sampled range
+ * are clamped to the smallest or largest key.
+ */
+public final class ZOrder
+{
+    private final List<Integer> channels;
+    private final List<Type> types;
+    private final Slice[] commonPrefixes;
+    private final int[] commonBits;
+    private final long[] commonKeyPrefixes;
+
+    private ZOrder(List<Integer> channels, List<Type> types, Slice[] commonPrefixes, int[] commonBits, long[] commonKeyPrefixes)
+    {
+        this.channels = ImmutableList.copyOf(requireNonNull(channels, "channels is null"));
+        this.types = ImmutableList.copyOf(requireNonNull(types, "types is null"));
+        this.commonPrefixes = requireNonNull(commonPrefixes, "commonPrefixes is null");
+        this.commonBits = requireNonNull(commonBits, "commonBits is null");
+        this.commonKeyPrefixes = requireNonNull(commonKeyPrefixes, "commonKeyPrefixes is null");
+    }
+
+    /**
+     * Creates the Z-order of the channels, normalized to the value ranges of the sample pages.
+     */
+    public static ZOrder create(List<Page> samplePages, List<Integer> channels, List<Type> types)
+    {
+        checkArgument(!channels.isEmpty(), "channels is empty");
+        Slice[] commonPrefixes = new Slice[channels.size()];
+        int[] commonBits = new int[channels.size()];
+        long[] commonKeyPrefixes = new long[channels.size()];
+        for (int i = 0; i < channels.size(); i++) {
+            int channel = channels.get(i);
+            Type type = types.get(channel);
+
+            Slice commonPrefix = EMPTY_SLICE;
+            if (type.getJavaType() == Slice.class) {
+                commonPrefix = null;
+                for (Page page : samplePages) {
+                    Block block = page.getBlock(channel);
+                    for (int position = 0; position < page.getPositionCount(); position++) {
+                        if (!block.isNull(position)) {
+                            commonPrefix = commonPrefix(commonPrefix, type.getSlice(block, position));
+                        }
+                    }
+                }
+                if (commonPrefix == null) {
+                    commonPrefix = EMPTY_SLICE;
+                }
+            }
+            commonPrefixes[i] = commonPrefix;
+
+            long minKey = -1;
+            long maxKey = 0;
+            for (Page page : samplePages) {
+                Block block = page.getBlock(channel);
+                for (int position = 0; position < page.getPositionCount(); position++) {
+                    if (!block.isNull(position)) {
+                        long key = getOrderedKey(type, block, position, commonPrefix);
+                        minKey = Long.compareUnsigned(key, minKey) < 0 ? key : minKey;
+                        maxKey = Long.compareUnsigned(key, maxKey) > 0 ? key : maxKey;
+                    }
+                }
+            }
+            if (Long.compareUnsigned(minKey, maxKey) < 0) {
+                commonBits[i] = Long.numberOfLeadingZeros(minKey ^ maxKey);
+                commonKeyPrefixes[i] = commonBits[i] == 0 ? 0 : minKey >>> (Long.SIZE - commonBits[i]);
+            }
+        }
+        return new ZOrder(channels, types, commonPrefixes, commonBits, commonKeyPrefixes);
+    }
+
+    public static boolean isSupportedType(Type type)
+    {
+        Class<?> javaType = type.getJavaType();
+        return javaType == long.class ||
+                javaType == double.class ||
+                javaType == boolean.class ||
+                type instanceof VarcharType ||
+                type instanceof CharType ||
+                type instanceof VarbinaryType;
+    }
+
+    /**
+     * Returns a VARBINARY block with the Z-order address of each position of the page.
+     */
+    public Block computeAddresses(Page page)
+    {
+        int positionCount = page.getPositionCount();
+        long[] keys = new long[channels.size()];
+        byte[] address = new byte[channels.size() * Long.BYTES];
+        BlockBuilder blockBuilder = VARBINARY.createBlockBuilder(null, positionCount, address.length);
+        for (int position = 0; position < positionCount; position++) {
+            for (int i = 0; i < channels.size(); i++) {
+                int channel = channels.get(i);
+                keys[i] = getNormalizedKey(i, page.getBlock(channel), position);
+            }
+            interleave(keys, address);
+            VARBINARY.writeSlice(blockBuilder, wrappedBuffer(address));
+        }
+        return blockBuilder.build();
+    }
+
+    private long getNormalizedKey(int column, Block block, int position)
+    {
+        if (block.isNull(position)) {
+            return 0;
+        }
+        long key = getOrderedKey(types.get(channels.get(column)), block, position, commonPrefixes[column]);
+        int bits = commonBits[column];
+        if (bits == 0) {
+            return key;
+        }
+        int compare = Long.compareUnsigned(key >>> (Long.SIZE - bits), commonKeyPrefixes[column]);
+        if (compare < 0) {
+            return 0;
+        }
+        if (compare > 0) {
+            return -1;
+        }
+        return key << bits;
+    }
+
+    static void interleave(long[] keys, byte[] address)
+    {
+        Arrays.fill(address, (byte) 0);
+        int bit = 0;
+        for (int sourceBit = Long.SIZE - 1; sourceBit >= 0; sourceBit--) {
+            for (long key : keys) {
+                if (((key >>> sourceBit) & 1) != 0) {
+                    address[bit >>> 3] |= (byte) (0x80 >>> (bit & 7));
+                }
+                bit++;
+            }
+        }
+    }
+
+    static long getOrderedKey(Type type, Block block, int position)
+    {
+        return getOrderedKey(type, block, position, EMPTY_SLICE);
+    }
+
+    /**
+     * Maps a value to a 64-bit key whose unsigned order matches the order of the type.
+     * Nulls map to the smallest key. Strings are represented by their first eight bytes
+     * after the common prefix, and strings not starting with it are clamped.
+     */
+    static long getOrderedKey(Type type, Block block, int position, Slice commonPrefix)
+    {
+        if (block.isNull(position)) {
+            return 0;
+        }
+        if (type instanceof RealType) {
+            return getOrderedKey(intBitsToFloat(toIntExact(type.getLong(block, position))));
+        }
+        Class<?> javaType = type.getJavaType();
+        if (javaType == long.class) {
+            return type.getLong(block, position) ^ Long.MIN_VALUE;
+        }
+        if (javaType == double.class) {
+            return getOrderedKey(type.getDouble(block, position));
+        }
+        if (javaType == boolean.class) {
+            return type.getBoolean(block, position) ? -1 : 1;
+        }
+        if (javaType == Slice.class) {
+            Slice slice = type.getSlice(block, position);
+            int prefixLength = commonPrefix.length();
+            if (prefixLength > 0) {
+                int compare = slice.compareTo(0, min(slice.length(), prefixLength), commonPrefix, 0, prefixLength);
+                if (compare < 0) {
+                    return 0;
+                }
+                if (compare > 0) {
+                    return -1;
+                }
+            }
+            long key = 0;
+            for (int i = prefixLength; i < prefixLength + Long.BYTES; i++) {
+                key <<= Byte.SIZE;
+                if (i < slice.length()) {
+                    key |= slice.getByte(i) & 0xFF;
+                }
+            }
+            return key;
+        }
+        throw new IllegalArgumentException("Unsupported type for Z-order: " + type);
+    }
+
+    private static long getOrderedKey(double value)
+    {
+        long bits = Double.doubleToLongBits(value);
+        // negative values have the sign bit set and sort in reverse order of their magnitude
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+
+    private static Slice commonPrefix(Slice prefix, Slice value)
+    {
+        if (prefix == null) {
+            return value.copy();
+        }
+        int length = min(prefix.length(), value.length());
+        int common = 0;
+        while (common < length && prefix.getByte(common) == value.getByte(common)) {
+            common++;
+        }
+        return common == prefix.length() ? prefix : prefix.slice(0, common);
+    }
+}
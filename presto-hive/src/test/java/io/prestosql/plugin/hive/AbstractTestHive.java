@@ -53,7 +53,9 @@ import io.prestosql.plugin.hive.metastore.thrift.TestingMetastoreLocator;
 import io.prestosql.plugin.hive.metastore.thrift.ThriftHiveMetastore;
 import io.prestosql.plugin.hive.metastore.thrift.ThriftMetastoreConfig;
 import io.prestosql.plugin.hive.orc.OrcPageSource;
+import io.prestosql.plugin.hive.orc.OrcReaderConfig;
 import io.prestosql.plugin.hive.parquet.ParquetPageSource;
+import io.prestosql.plugin.hive.parquet.ParquetReaderConfig;
 import io.prestosql.plugin.hive.rcfile.RcFilePageSource;
 import io.prestosql.plugin.hive.s3.HiveS3Config;
 import io.prestosql.plugin.hive.s3.PrestoS3ConfigurationInitializer;
@@ -782,7 +784,15 @@ public abstract class AbstractTestHive
                 newFixedThreadPool(2),
                 heartbeatService,
                 TEST_SERVER_VERSION,
-                SqlStandardAccessControlMetadata::new);
+                SqlStandardAccessControlMetadata::new,
+                new FileStatisticsAggregator(
+                        hdfsEnvironment,
+                        new FileFormatDataSourceStats(),
+                        FileMetadataCache.disabled(),
+                        new OrcReaderConfig().toOrcReaderOptions(),
+                        new ParquetReaderConfig().toParquetReaderOptions(),
+                        1000,
+                        executor));
         transactionManager = new HiveTransactionManager();
         splitManager = new HiveSplitManager(
                 transactionHandle -> ((HiveMetadata) transactionManager.get(transactionHandle)).getMetastore(),
@@ -791,11 +801,13 @@ public abstract class AbstractTestHive
                 hdfsEnvironment,
                 new CachingDirectoryLister(hiveConfig),
                 directExecutor(),
+                directExecutor(),
                 new CounterStat(),
                 100,
                 hiveConfig.getMaxOutstandingSplitsSize(),
                 hiveConfig.getMinPartitionBatchSize(),
                 hiveConfig.getMaxPartitionBatchSize(),
+                hiveConfig.getPartitionLoaderConcurrency(),
                 hiveConfig.getMaxInitialSplits(),
                 hiveConfig.getSplitLoaderConcurrency(),
                 hiveConfig.getMaxSplitsPerSecond(),
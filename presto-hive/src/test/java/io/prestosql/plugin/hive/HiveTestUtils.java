@@ -60,6 +60,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
@@ -135,10 +136,11 @@ public final class HiveTestUtils
     public static Set<HivePageSourceFactory> getDefaultHivePageSourceFactories(HdfsEnvironment hdfsEnvironment, HiveConfig hiveConfig)
     {
         FileFormatDataSourceStats stats = new FileFormatDataSourceStats();
+        FileMetadataCache fileMetadataCache = new FileMetadataCache(hiveConfig);
         return ImmutableSet.<HivePageSourceFactory>builder()
                 .add(new RcFilePageSourceFactory(TYPE_MANAGER, hdfsEnvironment, stats, hiveConfig))
-                .add(new OrcPageSourceFactory(new OrcReaderConfig(), hdfsEnvironment, stats, hiveConfig))
-                .add(new ParquetPageSourceFactory(hdfsEnvironment, stats, new ParquetReaderConfig(), hiveConfig))
+                .add(new OrcPageSourceFactory(new OrcReaderConfig(), hdfsEnvironment, stats, hiveConfig, fileMetadataCache))
+                .add(new ParquetPageSourceFactory(hdfsEnvironment, stats, new ParquetReaderConfig(), hiveConfig, fileMetadataCache))
                 .build();
     }
 
@@ -165,7 +167,8 @@ public final class HiveTestUtils
                 new NodeVersion("test_version"),
                 new OrcWriterConfig(),
                 new FileFormatDataSourceStats(),
-                new OrcWriterConfig());
+                new OrcWriterConfig(),
+                Optional.empty());
     }
 
     public static List<Type> getTypes(List<? extends ColumnHandle> columnHandles)
@@ -302,7 +302,7 @@ public class TestBackgroundHiveSplitLoader
                 RETURNED_PATH_DOMAIN,
                 Optional.of(new HiveBucketFilter(ImmutableSet.of(0, 1))),
                 PARTITIONED_TABLE,
-                Optional.of(new HiveBucketHandle(BUCKET_COLUMN_HANDLES, BUCKETING_V1, BUCKET_COUNT, BUCKET_COUNT)));
+                Optional.of(new HiveBucketHandle(BUCKET_COLUMN_HANDLES, BUCKETING_V1, BUCKET_COUNT, BUCKET_COUNT, ImmutableList.of())));
 
         HiveSplitSource hiveSplitSource = hiveSplitSource(backgroundHiveSplitLoader);
         backgroundHiveSplitLoader.start(hiveSplitSource);
@@ -325,7 +325,8 @@ public class TestBackgroundHiveSplitLoader
                                 getRegularColumnHandles(PARTITIONED_TABLE, TYPE_MANAGER, TIMESTAMP_PRECISION),
                                 BUCKETING_V1,
                                 BUCKET_COUNT,
-                                BUCKET_COUNT)));
+                                BUCKET_COUNT,
+                                ImmutableList.of())));
 
         HiveSplitSource hiveSplitSource = hiveSplitSource(backgroundHiveSplitLoader);
         backgroundHiveSplitLoader.start(hiveSplitSource);
@@ -527,7 +528,7 @@ public class TestBackgroundHiveSplitLoader
                 DynamicFilter.EMPTY,
                 Duration.valueOf("0s"),
                 TYPE_MANAGER,
-                createBucketSplitInfo(Optional.empty(), Optional.empty()),
+                createBucketSplitInfo(Optional.empty(), Optional.empty(), false),
                 SESSION,
                 new TestingHdfsEnvironment(TEST_FILES),
                 new NamenodeStats(),
@@ -574,7 +575,7 @@ public class TestBackgroundHiveSplitLoader
                 TupleDomain.all(),
                 Optional.empty(),
                 SIMPLE_TABLE,
-                Optional.of(new HiveBucketHandle(BUCKET_COLUMN_HANDLES, BUCKETING_V1, BUCKET_COUNT, BUCKET_COUNT)));
+                Optional.of(new HiveBucketHandle(BUCKET_COLUMN_HANDLES, BUCKETING_V1, BUCKET_COUNT, BUCKET_COUNT, ImmutableList.of())));
 
         HiveSplitSource hiveSplitSource = hiveSplitSource(backgroundHiveSplitLoader);
         backgroundHiveSplitLoader.start(hiveSplitSource);
@@ -713,6 +714,61 @@ public class TestBackgroundHiveSplitLoader
         deleteRecursively(tablePath, ALLOW_INSECURE);
     }
 
+    @Test
+    public void testRecursiveDirectoriesListedConcurrently()
+            throws Exception
+    {
+        java.nio.file.Path tablePath = Files.createTempDirectory("TestBackgroundHiveSplitLoader");
+        Table table = table(
+                tablePath.toString(),
+                ImmutableList.of(),
+                Optional.empty(),
+                ImmutableMap.of());
+
+        ImmutableList.Builder<String> filePaths = ImmutableList.builder();
+        filePaths.add(tablePath + "/file");
+        for (int i = 0; i < 4; i++) {
+            filePaths.add(tablePath + "/dir_" + i + "/file");
+            for (int j = 0; j < 3; j++) {
+                filePaths.add(tablePath + "/dir_" + i + "/sub_" + j + "/file");
+            }
+        }
+        for (String path : filePaths.build()) {
+            File file = new File(path);
+            assertTrue(file.getParentFile().exists() || file.getParentFile().mkdirs(), "Failed creating directory " + file.getParentFile());
+            Files.write(file.toPath(), "test".getBytes(UTF_8));
+        }
+
+        BackgroundHiveSplitLoader backgroundHiveSplitLoader = new BackgroundHiveSplitLoader(
+                table,
+                NO_ACID_TRANSACTION,
+                ImmutableList.of(new HivePartitionMetadata(new HivePartition(table.getSchemaTableName()), Optional.empty(), TableToPartitionMapping.empty())),
+                TupleDomain.all(),
+                DynamicFilter.EMPTY,
+                Duration.valueOf("0s"),
+                TYPE_MANAGER,
+                Optional.empty(),
+                SESSION,
+                HDFS_ENVIRONMENT,
+                new NamenodeStats(),
+                new CachingDirectoryLister(new HiveConfig()),
+                executor,
+                4,
+                true,
+                false,
+                Optional.empty());
+
+        HiveSplitSource hiveSplitSource = hiveSplitSource(backgroundHiveSplitLoader);
+        backgroundHiveSplitLoader.start(hiveSplitSource);
+        List<String> splits = drain(hiveSplitSource);
+        assertEquals(splits.size(), 17);
+        for (String path : filePaths.build()) {
+            assertTrue(splits.stream().anyMatch(split -> split.endsWith(path)), format("%s not found in splits %s", path, splits));
+        }
+
+        deleteRecursively(tablePath, ALLOW_INSECURE);
+    }
+
     @Test
     public void testValidateFileBuckets()
     {
@@ -878,7 +934,7 @@ public class TestBackgroundHiveSplitLoader
                 dynamicFilter,
                 dynamicFilteringProbeBlockingTimeout,
                 TYPE_MANAGER,
-                createBucketSplitInfo(bucketHandle, hiveBucketFilter),
+                createBucketSplitInfo(bucketHandle, hiveBucketFilter, false),
                 SESSION,
                 hdfsEnvironment,
                 new NamenodeStats(),
@@ -934,7 +990,7 @@ public class TestBackgroundHiveSplitLoader
                 DynamicFilter.EMPTY,
                 Duration.valueOf("0s"),
                 TYPE_MANAGER,
-                createBucketSplitInfo(Optional.empty(), Optional.empty()),
+                createBucketSplitInfo(Optional.empty(), Optional.empty(), false),
                 connectorSession,
                 new TestingHdfsEnvironment(TEST_FILES),
                 new NamenodeStats(),
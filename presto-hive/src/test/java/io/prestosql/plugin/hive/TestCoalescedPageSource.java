@@ -0,0 +1,84 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive;
+
+import com.google.common.collect.ImmutableList;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.connector.FixedPageSource;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestCoalescedPageSource
+{
+    @Test
+    public void testReadsFilesInOrder()
+            throws IOException
+    {
+        AtomicInteger created = new AtomicInteger();
+        ConnectorPageSource pageSource = new CoalescedPageSource(ImmutableList.of(
+                pageSource(created, 1, 2),
+                pageSource(created),
+                pageSource(created, 3)));
+
+        assertEquals(created.get(), 0);
+        assertEquals(BIGINT.getLong(pageSource.getNextPage().getBlock(0), 0), 1);
+        assertEquals(created.get(), 1);
+        assertEquals(BIGINT.getLong(pageSource.getNextPage().getBlock(0), 0), 2);
+        assertEquals(BIGINT.getLong(pageSource.getNextPage().getBlock(0), 0), 3);
+        assertEquals(created.get(), 3);
+        assertFalse(pageSource.isFinished());
+        assertNull(pageSource.getNextPage());
+        assertTrue(pageSource.isFinished());
+        pageSource.close();
+    }
+
+    @Test
+    public void testClose()
+            throws IOException
+    {
+        AtomicInteger created = new AtomicInteger();
+        ConnectorPageSource pageSource = new CoalescedPageSource(ImmutableList.of(pageSource(created, 1), pageSource(created, 2)));
+
+        pageSource.getNextPage();
+        pageSource.close();
+        assertTrue(pageSource.isFinished());
+        assertNull(pageSource.getNextPage());
+        assertEquals(created.get(), 1);
+    }
+
+    private static Supplier<ConnectorPageSource> pageSource(AtomicInteger created, long... values)
+    {
+        return () -> {
+            created.incrementAndGet();
+            ImmutableList.Builder<Page> pages = ImmutableList.builder();
+            for (long value : values) {
+                BlockBuilder blockBuilder = BIGINT.createBlockBuilder(null, 1);
+                BIGINT.writeLong(blockBuilder, value);
+                pages.add(new Page(blockBuilder.build()));
+            }
+            return new FixedPageSource(pages.build());
+        };
+    }
+}
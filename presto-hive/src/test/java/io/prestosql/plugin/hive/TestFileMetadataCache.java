@@ -0,0 +1,87 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive;
+
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.prestosql.orc.FileOrcDataSource;
+import io.prestosql.orc.OrcDataSource;
+import io.prestosql.orc.OrcFileTail;
+import io.prestosql.orc.OrcReaderOptions;
+import org.apache.hadoop.fs.Path;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+import static io.airlift.testing.Assertions.assertGreaterThan;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class TestFileMetadataCache
+{
+    private static final File TEST_FILE = new File(TestFileMetadataCache.class.getClassLoader().getResource("nationFile25kRowsSortedOnNationKey/bucket_00000").getPath());
+    private static final Path TEST_PATH = new Path(TEST_FILE.toURI());
+
+    @Test
+    public void testOrcFileTail()
+            throws Exception
+    {
+        FileMetadataCache cache = new FileMetadataCache(DataSize.of(1, MEGABYTE), new Duration(1, HOURS));
+
+        OrcFileTail fileTail;
+        try (OrcDataSource dataSource = new FileOrcDataSource(TEST_FILE, new OrcReaderOptions())) {
+            fileTail = cache.getOrcFileTail(TEST_PATH, TEST_FILE.length(), 1, dataSource).orElseThrow();
+            assertTrue(dataSource.getReadBytes() > 0);
+            assertTrue(fileTail.getSerializedSize() > 0);
+            // the cache is weighed by the decoded size, which exceeds the encoded size
+            assertGreaterThan(fileTail.getRetainedSizeInBytes(), (long) fileTail.getSerializedSize());
+        }
+        assertEquals(cache.getMissCount(), 1);
+
+        // same file version is served from the cache without touching the file
+        try (OrcDataSource dataSource = new FileOrcDataSource(TEST_FILE, new OrcReaderOptions())) {
+            assertSame(cache.getOrcFileTail(TEST_PATH, TEST_FILE.length(), 1, dataSource).orElseThrow(), fileTail);
+            assertEquals(dataSource.getReadBytes(), 0);
+        }
+        assertEquals(cache.getHitCount(), 1);
+
+        // a file rewritten in place is read again
+        try (OrcDataSource dataSource = new FileOrcDataSource(TEST_FILE, new OrcReaderOptions())) {
+            cache.getOrcFileTail(TEST_PATH, TEST_FILE.length(), 2, dataSource).orElseThrow();
+            assertTrue(dataSource.getReadBytes() > 0);
+        }
+        assertEquals(cache.getMissCount(), 2);
+        assertEquals(cache.getSize(), 2);
+
+        cache.flushCache();
+        assertEquals(cache.getSize(), 0);
+    }
+
+    @Test
+    public void testDisabled()
+            throws Exception
+    {
+        FileMetadataCache cache = FileMetadataCache.disabled();
+        for (int i = 0; i < 2; i++) {
+            try (OrcDataSource dataSource = new FileOrcDataSource(TEST_FILE, new OrcReaderOptions())) {
+                cache.getOrcFileTail(TEST_PATH, TEST_FILE.length(), 1, dataSource).orElseThrow();
+                assertTrue(dataSource.getReadBytes() > 0);
+            }
+        }
+        assertEquals(cache.getRequestCount(), 0);
+    }
+}
@@ -37,6 +37,7 @@ public class TestHiveConfig
     {
         assertRecordedDefaults(recordDefaults(HiveConfig.class)
                 .setMaxSplitSize(DataSize.of(64, Unit.MEGABYTE))
+                .setCoalescedSplitTargetSize(DataSize.ofBytes(0))
                 .setMaxPartitionsPerScan(100_000)
                 .setMaxOutstandingSplits(1_000)
                 .setMaxOutstandingSplitsSize(DataSize.of(256, Unit.MEGABYTE))
@@ -45,6 +46,7 @@ public class TestHiveConfig
                 .setPerTransactionMetastoreCacheMaximumSize(1000)
                 .setMinPartitionBatchSize(10)
                 .setMaxPartitionBatchSize(100)
+                .setPartitionLoaderConcurrency(4)
                 .setMaxInitialSplits(200)
                 .setMaxInitialSplitSize(DataSize.of(32, Unit.MEGABYTE))
                 .setSplitLoaderConcurrency(4)
@@ -75,6 +77,7 @@ public class TestHiveConfig
                 .setSkipDeletionForAlter(false)
                 .setSkipTargetCleanupOnRollback(false)
                 .setBucketExecutionEnabled(true)
+                .setSortedBucketReadsEnabled(false)
                 .setTableStatisticsEnabled(true)
                 .setOptimizeMismatchedBucketCount(false)
                 .setWritesToNonManagedTablesEnabled(false)
@@ -89,6 +92,11 @@ public class TestHiveConfig
                 .setFileStatusCacheExpireAfterWrite(new Duration(1, TimeUnit.MINUTES))
                 .setFileStatusCacheMaxSize(1000 * 1000)
                 .setFileStatusCacheTables("")
+                .setFileStatusCachePersistentDirectory(null)
+                .setFileStatusCachePersistentMaxSize(DataSize.of(1, Unit.GIGABYTE))
+                .setFileStatusCachePersistentExpireAfterWrite(new Duration(1, TimeUnit.HOURS))
+                .setFileMetadataCacheMaxSize(DataSize.of(32, Unit.MEGABYTE))
+                .setFileMetadataCacheExpireAfterWrite(new Duration(1, TimeUnit.HOURS))
                 .setTranslateHiveViews(false)
                 .setHiveTransactionHeartbeatInterval(null)
                 .setHiveTransactionHeartbeatThreads(5)
@@ -96,6 +104,9 @@ public class TestHiveConfig
                 .setQueryPartitionFilterRequired(false)
                 .setPartitionUseColumnNames(false)
                 .setProjectionPushdownEnabled(true)
+                .setStatisticsAggregationPushdownEnabled(false)
+                .setStatisticsAggregationPushdownMaxFiles(1000)
+                .setStatisticsAggregationPushdownThreads(16)
                 .setDynamicFilteringProbeBlockingTimeout(new Duration(0, TimeUnit.MINUTES))
                 .setTimestampPrecision(HiveTimestampPrecision.MILLISECONDS));
     }
@@ -105,6 +116,7 @@ public class TestHiveConfig
     {
         Map<String, String> properties = new ImmutableMap.Builder<String, String>()
                 .put("hive.max-split-size", "256MB")
+                .put("hive.coalesced-split-target-size", "32MB")
                 .put("hive.max-partitions-per-scan", "123")
                 .put("hive.max-outstanding-splits", "10")
                 .put("hive.max-outstanding-splits-size", "32MB")
@@ -113,6 +125,7 @@ public class TestHiveConfig
                 .put("hive.per-transaction-metastore-cache-maximum-size", "500")
                 .put("hive.metastore.partition-batch-size.min", "1")
                 .put("hive.metastore.partition-batch-size.max", "1000")
+                .put("hive.metastore.partition-loader-concurrency", "8")
                 .put("hive.max-initial-splits", "10")
                 .put("hive.max-initial-split-size", "16MB")
                 .put("hive.split-loader-concurrency", "1")
@@ -142,6 +155,7 @@ public class TestHiveConfig
                 .put("hive.skip-deletion-for-alter", "true")
                 .put("hive.skip-target-cleanup-on-rollback", "true")
                 .put("hive.bucket-execution", "false")
+                .put("hive.sorted-bucket-reads-enabled", "true")
                 .put("hive.sorted-writing", "false")
                 .put("hive.table-statistics-enabled", "false")
                 .put("hive.optimize-mismatched-bucket-count", "true")
@@ -157,6 +171,11 @@ public class TestHiveConfig
                 .put("hive.file-status-cache-tables", "foo.bar1, foo.bar2")
                 .put("hive.file-status-cache-size", "1000")
                 .put("hive.file-status-cache-expire-time", "30m")
+                .put("hive.file-status-cache-persistent-directory", "/var/cache/presto/listings")
+                .put("hive.file-status-cache-persistent-size", "10GB")
+                .put("hive.file-status-cache-persistent-expire-time", "12h")
+                .put("hive.file-metadata-cache-size", "64MB")
+                .put("hive.file-metadata-cache-expire-time", "15m")
                 .put("hive.translate-hive-views", "true")
                 .put("hive.transaction-heartbeat-interval", "10s")
                 .put("hive.transaction-heartbeat-threads", "10")
@@ -164,12 +183,16 @@ public class TestHiveConfig
                 .put("hive.query-partition-filter-required", "true")
                 .put("hive.partition-use-column-names", "true")
                 .put("hive.projection-pushdown-enabled", "false")
+                .put("hive.statistics-aggregation-pushdown-enabled", "true")
+                .put("hive.statistics-aggregation-pushdown-max-files", "200")
+                .put("hive.statistics-aggregation-pushdown-threads", "4")
                 .put("hive.dynamic-filtering-probe-blocking-timeout", "10s")
                 .put("hive.timestamp-precision", "NANOSECONDS")
                 .build();
 
         HiveConfig expected = new HiveConfig()
                 .setMaxSplitSize(DataSize.of(256, Unit.MEGABYTE))
+                .setCoalescedSplitTargetSize(DataSize.of(32, Unit.MEGABYTE))
                 .setMaxPartitionsPerScan(123)
                 .setMaxOutstandingSplits(10)
                 .setMaxOutstandingSplitsSize(DataSize.of(32, Unit.MEGABYTE))
@@ -178,6 +201,7 @@ public class TestHiveConfig
                 .setPerTransactionMetastoreCacheMaximumSize(500)
                 .setMinPartitionBatchSize(1)
                 .setMaxPartitionBatchSize(1000)
+                .setPartitionLoaderConcurrency(8)
                 .setMaxInitialSplits(10)
                 .setMaxInitialSplitSize(DataSize.of(16, Unit.MEGABYTE))
                 .setSplitLoaderConcurrency(1)
@@ -207,6 +231,7 @@ public class TestHiveConfig
                 .setSkipDeletionForAlter(true)
                 .setSkipTargetCleanupOnRollback(true)
                 .setBucketExecutionEnabled(false)
+                .setSortedBucketReadsEnabled(true)
                 .setSortedWritingEnabled(false)
                 .setTableStatisticsEnabled(false)
                 .setOptimizeMismatchedBucketCount(true)
@@ -222,6 +247,11 @@ public class TestHiveConfig
                 .setFileStatusCacheTables("foo.bar1,foo.bar2")
                 .setFileStatusCacheMaxSize(1000)
                 .setFileStatusCacheExpireAfterWrite(new Duration(30, TimeUnit.MINUTES))
+                .setFileStatusCachePersistentDirectory("/var/cache/presto/listings")
+                .setFileStatusCachePersistentMaxSize(DataSize.of(10, Unit.GIGABYTE))
+                .setFileStatusCachePersistentExpireAfterWrite(new Duration(12, TimeUnit.HOURS))
+                .setFileMetadataCacheMaxSize(DataSize.of(64, Unit.MEGABYTE))
+                .setFileMetadataCacheExpireAfterWrite(new Duration(15, TimeUnit.MINUTES))
                 .setTranslateHiveViews(true)
                 .setHiveTransactionHeartbeatInterval(new Duration(10, TimeUnit.SECONDS))
                 .setHiveTransactionHeartbeatThreads(10)
@@ -229,6 +259,9 @@ public class TestHiveConfig
                 .setQueryPartitionFilterRequired(true)
                 .setPartitionUseColumnNames(true)
                 .setProjectionPushdownEnabled(false)
+                .setStatisticsAggregationPushdownEnabled(true)
+                .setStatisticsAggregationPushdownMaxFiles(200)
+                .setStatisticsAggregationPushdownThreads(4)
                 .setDynamicFilteringProbeBlockingTimeout(new Duration(10, TimeUnit.SECONDS))
                 .setTimestampPrecision(HiveTimestampPrecision.NANOSECONDS);
 
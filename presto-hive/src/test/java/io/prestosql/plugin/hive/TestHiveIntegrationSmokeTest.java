@@ -40,7 +40,10 @@ import io.prestosql.spi.type.TimestampType;
 import io.prestosql.spi.type.Type;
 import io.prestosql.spi.type.VarcharType;
 import io.prestosql.sql.planner.Plan;
+import io.prestosql.sql.planner.plan.AggregationNode;
 import io.prestosql.sql.planner.plan.ExchangeNode;
+import io.prestosql.sql.planner.plan.FilterNode;
+import io.prestosql.sql.planner.plan.MergeJoinNode;
 import io.prestosql.sql.planner.planprinter.IoPlanPrinter.ColumnConstraint;
 import io.prestosql.sql.planner.planprinter.IoPlanPrinter.EstimatedStatsAndCost;
 import io.prestosql.sql.planner.planprinter.IoPlanPrinter.FormattedDomain;
@@ -95,6 +98,9 @@ import static io.prestosql.SystemSessionProperties.DYNAMIC_SCHEDULE_FOR_GROUPED_
 import static io.prestosql.SystemSessionProperties.ENABLE_DYNAMIC_FILTERING;
 import static io.prestosql.SystemSessionProperties.GROUPED_EXECUTION;
 import static io.prestosql.SystemSessionProperties.JOIN_DISTRIBUTION_TYPE;
+import static io.prestosql.SystemSessionProperties.MERGE_JOIN;
+import static io.prestosql.SystemSessionProperties.SCALE_WRITERS;
+import static io.prestosql.SystemSessionProperties.TASK_WRITER_COUNT;
 import static io.prestosql.plugin.hive.HiveColumnHandle.BUCKET_COLUMN_NAME;
 import static io.prestosql.plugin.hive.HiveColumnHandle.FILE_MODIFIED_TIME_COLUMN_NAME;
 import static io.prestosql.plugin.hive.HiveColumnHandle.FILE_SIZE_COLUMN_NAME;
@@ -125,6 +131,7 @@ import static io.prestosql.spi.type.VarcharType.VARCHAR;
 import static io.prestosql.spi.type.VarcharType.createUnboundedVarcharType;
 import static io.prestosql.spi.type.VarcharType.createVarcharType;
 import static io.prestosql.sql.analyzer.FeaturesConfig.JoinDistributionType.BROADCAST;
+import static io.prestosql.sql.analyzer.FeaturesConfig.JoinDistributionType.PARTITIONED;
 import static io.prestosql.sql.planner.optimizations.PlanNodeSearcher.searchFrom;
 import static io.prestosql.sql.planner.planprinter.PlanPrinter.textLogicalPlan;
 import static io.prestosql.testing.MaterializedResult.resultBuilder;
@@ -4520,6 +4527,47 @@ public class TestHiveIntegrationSmokeTest
         assertUpdate(sessionUsingColumnIndex, "DROP TABLE " + tableName);
     }
 
+    @Test
+    public void testStatisticsAggregationPushdown()
+    {
+        testStatisticsAggregationPushdown(HiveStorageFormat.ORC);
+        testStatisticsAggregationPushdown(HiveStorageFormat.PARQUET);
+    }
+
+    private void testStatisticsAggregationPushdown(HiveStorageFormat storageFormat)
+    {
+        Session session = Session.builder(getSession())
+                .setCatalogSessionProperty(catalog, "statistics_aggregation_pushdown_enabled", "true")
+                .build();
+        String tableName = "test_statistics_aggregation_pushdown_" + storageFormat.name().toLowerCase(ENGLISH);
+
+        assertUpdate(format("CREATE TABLE %s (a bigint, b integer, c date, d varchar, p bigint) WITH (format = '%s', partitioned_by = ARRAY['p'])", tableName, storageFormat));
+        assertUpdate(format("INSERT INTO %s VALUES (1, 10, DATE '2020-01-01', 'x', 1), (2, NULL, DATE '2020-02-01', 'y', 1), (NULL, 30, NULL, NULL, 2)", tableName), 3);
+        assertUpdate(format("INSERT INTO %s VALUES (-5, 40, DATE '2019-12-31', 'z', 2)", tableName), 1);
+
+        assertQuery(session, "SELECT count(*), count(a), min(a), max(a), min(b), max(b), min(c), max(c) FROM " + tableName,
+                "VALUES (4, 3, -5, 2, 10, 40, DATE '2019-12-31', DATE '2020-02-01')");
+        assertQuery(session, "SELECT count(*), min(a), max(b) FROM " + tableName + " WHERE p = 2",
+                "VALUES (2, -5, 40)");
+        assertQuery(session, "SELECT count(*), min(a) FROM " + tableName + " WHERE p = 3",
+                "VALUES (0, NULL)");
+        assertThat(query(session, "SELECT count(*), count(a), min(a), max(a), min(b), max(b), min(c), max(c) FROM " + tableName)).isFullyPushedDown();
+        assertThat(query(session, "SELECT count(*), min(a), max(b) FROM " + tableName + " WHERE p = 2")).isFullyPushedDown();
+        assertThat(query(session, "SELECT count(*), min(a) FROM " + tableName + " WHERE p = 3")).isFullyPushedDown();
+        // disabled by default
+        assertThat(query("SELECT count(*), min(a) FROM " + tableName)).isNotFullyPushedDown(AggregationNode.class);
+
+        // not answerable from file statistics, falls back to scanning
+        assertQuery(session, "SELECT min(d), max(d) FROM " + tableName, "VALUES ('x', 'z')");
+        assertThat(query(session, "SELECT min(d), max(d) FROM " + tableName)).isNotFullyPushedDown(AggregationNode.class);
+        assertQuery(session, "SELECT count(*), max(a) FROM " + tableName + " WHERE b > 10", "VALUES (2, -5)");
+        assertThat(query(session, "SELECT count(*), max(a) FROM " + tableName + " WHERE b > 10")).isNotFullyPushedDown(FilterNode.class);
+        assertQuery(session, "SELECT p, count(*) FROM " + tableName + " GROUP BY p", "VALUES (1, 2), (2, 2)");
+        assertQuery(session, "SELECT count(DISTINCT a) FROM " + tableName, "VALUES 3");
+
+        assertUpdate("DROP TABLE " + tableName);
+    }
+
     @Test
     public void testParquetWithMissingColumns()
     {
@@ -5272,6 +5320,103 @@ public class TestHiveIntegrationSmokeTest
         };
     }
 
+    @Test
+    public void testMergeJoin()
+    {
+        try {
+            assertUpdate(
+                    "CREATE TABLE test_merge_join_orders\n" +
+                            "WITH (bucket_count = 4, bucketed_by = ARRAY['orderkey'], sorted_by = ARRAY['orderkey']) AS\n" +
+                            "SELECT orderkey, custkey FROM orders",
+                    15000);
+            assertUpdate(
+                    "CREATE TABLE test_merge_join_lineitem\n" +
+                            "WITH (bucket_count = 4, bucketed_by = ARRAY['orderkey'], sorted_by = ARRAY['orderkey']) AS\n" +
+                            "SELECT orderkey, linenumber FROM lineitem",
+                    "SELECT count(*) FROM lineitem");
+            assertUpdate(
+                    "CREATE TABLE test_merge_join_unsorted\n" +
+                            "WITH (bucket_count = 4, bucketed_by = ARRAY['orderkey']) AS\n" +
+                            "SELECT orderkey, linenumber FROM lineitem",
+                    "SELECT count(*) FROM lineitem");
+
+            Session mergeJoin = Session.builder(getSession())
+                    .setSystemProperty(MERGE_JOIN, "true")
+                    .setSystemProperty(COLOCATED_JOIN, "true")
+                    .setSystemProperty(GROUPED_EXECUTION, "true")
+                    .setSystemProperty(JOIN_DISTRIBUTION_TYPE, PARTITIONED.name())
+                    .setCatalogSessionProperty(catalog, "sorted_bucket_reads_enabled", "true")
+                    .build();
+            Session sortedReadsDisabled = Session.builder(mergeJoin)
+                    .setCatalogSessionProperty(catalog, "sorted_bucket_reads_enabled", "false")
+                    .build();
+
+            @Language("SQL") String join = "SELECT o.orderkey, o.custkey, l.linenumber FROM test_merge_join_orders o JOIN test_merge_join_lineitem l ON o.orderkey = l.orderkey";
+            @Language("SQL") String joinUnsorted = "SELECT o.orderkey, o.custkey, l.linenumber FROM test_merge_join_orders o JOIN test_merge_join_unsorted l ON o.orderkey = l.orderkey";
+            @Language("SQL") String expected = "SELECT o.orderkey, o.custkey, l.linenumber FROM orders o JOIN lineitem l ON o.orderkey = l.orderkey";
+
+            assertQuery(mergeJoin, join, expected, assertMergeJoin(true));
+            assertQuery(sortedReadsDisabled, join, expected, assertMergeJoin(false));
+            assertQuery(mergeJoin, joinUnsorted, expected, assertMergeJoin(false));
+
+            // buckets with several files are only rejected by scans of a merge join
+            assertUpdate("INSERT INTO test_merge_join_lineitem SELECT orderkey, linenumber FROM lineitem", "SELECT count(*) FROM lineitem");
+            assertQuery(mergeJoin, "SELECT count(*), sum(linenumber) FROM test_merge_join_lineitem", "SELECT 2 * count(*), 2 * sum(linenumber) FROM lineitem");
+            assertQuery(mergeJoin, "SELECT orderkey, count(*) FROM test_merge_join_lineitem GROUP BY orderkey", "SELECT orderkey, 2 * count(*) FROM lineitem GROUP BY orderkey");
+            assertQueryFails(mergeJoin, join, ".* A merge join requires a single file per bucket.*");
+        }
+        finally {
+            assertUpdate("DROP TABLE IF EXISTS test_merge_join_orders");
+            assertUpdate("DROP TABLE IF EXISTS test_merge_join_lineitem");
+            assertUpdate("DROP TABLE IF EXISTS test_merge_join_unsorted");
+        }
+    }
+
+    private Consumer<Plan> assertMergeJoin(boolean expectedMergeJoin)
+    {
+        return plan -> {
+            boolean actualMergeJoin = searchFrom(plan.getRoot())
+                    .where(MergeJoinNode.class::isInstance)
+                    .matches();
+            if (actualMergeJoin != expectedMergeJoin) {
+                Metadata metadata = ((DistributedQueryRunner) getQueryRunner()).getCoordinator().getMetadata();
+                String formattedPlan = textLogicalPlan(plan.getRoot(), plan.getTypes(), metadata, StatsAndCosts.empty(), getSession(), 0, false);
+                throw new AssertionError(format("Expected merge join to be %s. Actual plan is [\n\n%s\n]", expectedMergeJoin ? "chosen" : "not chosen", formattedPlan));
+            }
+        };
+    }
+
+    @Test
+    public void testZOrderBy()
+    {
+        // a single writer produces a single file, whose row order is the order of the scan
+        Session singleWriter = Session.builder(getSession())
+                .setSystemProperty(SCALE_WRITERS, "true")
+                .setSystemProperty(TASK_WRITER_COUNT, "1")
+                .build();
+        // x has a much wider range than y, and the grid is written in x order
+        assertUpdate(
+                singleWriter,
+                "CREATE TABLE test_z_order_by WITH (format = 'ORC', z_order_by = ARRAY['x', 'y']) AS\n" +
+                        "SELECT x * 1048576 x, y FROM UNNEST(sequence(0, 63)) a(x) CROSS JOIN UNNEST(sequence(0, 63)) b(y)",
+                4096);
+        try {
+            assertQuery("SELECT count(DISTINCT \"$path\") FROM test_z_order_by", "VALUES 1");
+
+            // the file starts with the lower left quadrant of the grid, so both columns cluster the rows
+            List<MaterializedRow> rows = computeActual("SELECT x, y FROM test_z_order_by").getMaterializedRows();
+            assertEquals(rows.size(), 4096);
+            for (int i = 0; i < rows.size(); i++) {
+                long x = (long) rows.get(i).getField(0);
+                long y = (long) rows.get(i).getField(1);
+                assertEquals(x < 32 * 1048576 && y < 32, i < 1024, format("row %s is (%s, %s)", i, x, y));
+            }
+        }
+        finally {
+            assertUpdate("DROP TABLE test_z_order_by");
+        }
+    }
+
     @Test
     public void testRcTextCharDecoding()
     {
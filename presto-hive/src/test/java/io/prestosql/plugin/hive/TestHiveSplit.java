@@ -79,7 +79,8 @@ public class TestHiveSplit
                         16,
                         ImmutableList.of(createBaseColumn("col", 5, HIVE_LONG, BIGINT, ColumnType.REGULAR, Optional.of("comment"))))),
                 false,
-                Optional.of(acidInfo));
+                Optional.of(acidInfo),
+                ImmutableList.of(new HiveSplit.CoalescedFile("path2", 12, 34)));
 
         String json = codec.toJson(expected);
         HiveSplit actual = codec.fromJson(json);
@@ -100,5 +101,6 @@ public class TestHiveSplit
         assertEquals(actual.isForceLocalScheduling(), expected.isForceLocalScheduling());
         assertEquals(actual.isS3SelectPushdownEnabled(), expected.isS3SelectPushdownEnabled());
         assertEquals(actual.getAcidInfo().get(), expected.getAcidInfo().get());
+        assertEquals(actual.getCoalescedFiles(), expected.getCoalescedFiles());
     }
 }
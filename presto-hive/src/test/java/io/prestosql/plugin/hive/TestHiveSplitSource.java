@@ -31,11 +31,13 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static io.airlift.testing.Assertions.assertContains;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.prestosql.plugin.hive.HiveSessionProperties.getMaxInitialSplitSize;
 import static io.prestosql.plugin.hive.HiveTestUtils.SESSION;
+import static io.prestosql.plugin.hive.HiveTestUtils.getHiveSession;
 import static io.prestosql.spi.connector.NotPartitionedPartitionHandle.NOT_PARTITIONED;
 import static java.lang.Math.toIntExact;
 import static org.testng.Assert.assertEquals;
@@ -106,6 +108,36 @@ public class TestHiveSplitSource
         assertEquals(second.getLength(), fileSize.toBytes() - halfOfSize);
     }
 
+    @Test
+    public void testCoalesceSmallFiles()
+    {
+        HiveSplitSource hiveSplitSource = HiveSplitSource.allAtOnce(
+                getHiveSession(new HiveConfig().setCoalescedSplitTargetSize(DataSize.ofBytes(250))),
+                "database",
+                "table",
+                10,
+                10,
+                DataSize.of(1, MEGABYTE),
+                Integer.MAX_VALUE,
+                new TestingHiveSplitLoader(),
+                Executors.newSingleThreadExecutor(),
+                new CounterStat());
+
+        for (int i = 0; i < 5; i++) {
+            hiveSplitSource.addToQueue(new TestSplit(i));
+        }
+        hiveSplitSource.addToQueue(new TestSplit(5, OptionalInt.empty(), DataSize.ofBytes(1000)));
+        assertEquals(hiveSplitSource.getBufferedInternalSplitCount(), 6);
+
+        List<HiveSplit> splits = getSplits(hiveSplitSource, 10).stream()
+                .map(HiveSplit.class::cast)
+                .collect(toImmutableList());
+        assertEquals(splits.stream().map(split -> split.getCoalescedFiles().size()).collect(toImmutableList()), ImmutableList.of(0, 1, 1, 0));
+        assertEquals(splits.get(0).getLength(), 1000);
+        assertEquals(splits.get(1).getCoalescedFiles().get(0).getLength(), 100);
+        assertEquals(hiveSplitSource.getBufferedInternalSplitCount(), 0);
+    }
+
     @Test
     public void testFail()
     {
@@ -338,7 +370,8 @@ public class TestHiveSplitSource
                     TableToPartitionMapping.empty(),
                     Optional.empty(),
                     false,
-                    Optional.empty());
+                    Optional.empty(),
+                    true);
         }
 
         private static Properties properties(String key, String value)
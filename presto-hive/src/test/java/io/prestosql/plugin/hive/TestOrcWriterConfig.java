@@ -43,7 +43,8 @@ public class TestOrcWriterConfig
                 .setDefaultBloomFilterFpp(0.05)
                 .setUseLegacyVersion(false)
                 .setValidationPercentage(0.0)
-                .setValidationMode(OrcWriteValidationMode.BOTH));
+                .setValidationMode(OrcWriteValidationMode.BOTH)
+                .setStripeFlushThreads(0));
     }
 
     @Test
@@ -61,6 +62,7 @@ public class TestOrcWriterConfig
                 .put("hive.orc.writer.use-legacy-version-number", "true")
                 .put("hive.orc.writer.validation-percentage", "0.16")
                 .put("hive.orc.writer.validation-mode", "DETAILED")
+                .put("hive.orc.writer.stripe-flush-threads", "4")
                 .build();
 
         OrcWriterConfig expected = new OrcWriterConfig()
@@ -74,7 +76,8 @@ public class TestOrcWriterConfig
                 .setDefaultBloomFilterFpp(0.96)
                 .setUseLegacyVersion(true)
                 .setValidationPercentage(0.16)
-                .setValidationMode(OrcWriteValidationMode.DETAILED);
+                .setValidationMode(OrcWriteValidationMode.DETAILED)
+                .setStripeFlushThreads(4);
 
         assertFullMapping(properties, expected);
     }
@@ -0,0 +1,295 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.prestosql.plugin.hive.metastore.Column;
+import io.prestosql.plugin.hive.metastore.StorageFormat;
+import io.prestosql.plugin.hive.metastore.Table;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.apache.hadoop.hive.metastore.TableType;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.units.DataSize.Unit.KILOBYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static io.prestosql.plugin.hive.HiveStorageFormat.CSV;
+import static io.prestosql.plugin.hive.HiveType.HIVE_STRING;
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestPersistentDirectoryListingCache
+{
+    private static final Path DIRECTORY = new Path("hdfs://namenode/table/ds=2020-01-01");
+
+    private java.nio.file.Path cacheDirectory;
+
+    @BeforeMethod
+    public void setUp()
+            throws IOException
+    {
+        cacheDirectory = createTempDirectory("listing-cache");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(cacheDirectory, ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testPersistAcrossRestart()
+    {
+        List<LocatedFileStatus> files = listing(DIRECTORY, 3);
+
+        PersistentDirectoryListingCache cache = new PersistentDirectoryListingCache(Optional.of(cacheDirectory), DataSize.of(1, MEGABYTE), new Duration(1, HOURS));
+        assertTrue(cache.get(DIRECTORY, OptionalLong.of(1)).isEmpty());
+        cache.put(DIRECTORY, OptionalLong.of(1), files);
+        assertListing(cache.get(DIRECTORY, OptionalLong.of(1)).orElseThrow(), files);
+        assertEquals(cache.getHits().getTotalCount(), 1);
+        assertEquals(cache.getMisses().getTotalCount(), 1);
+
+        // a new instance finds the listing written by the previous one
+        PersistentDirectoryListingCache restarted = new PersistentDirectoryListingCache(Optional.of(cacheDirectory), DataSize.of(1, MEGABYTE), new Duration(1, HOURS));
+        assertEquals(restarted.getFileCount(), 1);
+        assertListing(restarted.get(DIRECTORY, OptionalLong.of(1)).orElseThrow(), files);
+
+        restarted.flushCache();
+        assertEquals(restarted.getFileCount(), 0);
+        assertTrue(restarted.get(DIRECTORY, OptionalLong.of(1)).isEmpty());
+    }
+
+    @Test
+    public void testDirectoryModified()
+    {
+        PersistentDirectoryListingCache cache = new PersistentDirectoryListingCache(Optional.of(cacheDirectory), DataSize.of(1, MEGABYTE), new Duration(1, HOURS));
+        cache.put(DIRECTORY, OptionalLong.of(1), listing(DIRECTORY, 3));
+
+        // the stored listing is dropped once the directory has changed
+        assertTrue(cache.get(DIRECTORY, OptionalLong.of(2)).isEmpty());
+        assertEquals(cache.getFileCount(), 0);
+        assertTrue(cache.get(DIRECTORY, OptionalLong.of(1)).isEmpty());
+    }
+
+    @Test
+    public void testExpiration()
+    {
+        PersistentDirectoryListingCache cache = new PersistentDirectoryListingCache(Optional.of(cacheDirectory), DataSize.of(1, MEGABYTE), new Duration(0, MILLISECONDS));
+        cache.put(DIRECTORY, OptionalLong.of(1), listing(DIRECTORY, 3));
+        assertTrue(cache.get(DIRECTORY, OptionalLong.of(1)).isEmpty());
+    }
+
+    @Test
+    public void testEvictionBySize()
+    {
+        PersistentDirectoryListingCache cache = new PersistentDirectoryListingCache(Optional.of(cacheDirectory), DataSize.of(16, KILOBYTE), new Duration(1, HOURS));
+        for (int i = 0; i < 100; i++) {
+            Path directory = new Path(DIRECTORY, "bucket=" + i);
+            cache.put(directory, OptionalLong.of(1), listing(directory, 10));
+        }
+        assertTrue(cache.getFileCount() < 100);
+        assertTrue(cache.getSize() <= DataSize.of(16, KILOBYTE).toBytes());
+        assertTrue(cache.get(new Path(DIRECTORY, "bucket=0"), OptionalLong.of(1)).isEmpty());
+        assertTrue(cache.get(new Path(DIRECTORY, "bucket=99"), OptionalLong.of(1)).isPresent());
+    }
+
+    @Test
+    public void testDisabled()
+    {
+        PersistentDirectoryListingCache cache = PersistentDirectoryListingCache.disabled();
+        assertFalse(cache.isEnabled());
+        cache.put(DIRECTORY, OptionalLong.of(1), listing(DIRECTORY, 3));
+        assertTrue(cache.get(DIRECTORY, OptionalLong.of(1)).isEmpty());
+    }
+
+    @Test
+    public void testWithoutDirectoryModificationTime()
+    {
+        PersistentDirectoryListingCache cache = new PersistentDirectoryListingCache(Optional.of(cacheDirectory), DataSize.of(1, MEGABYTE), new Duration(1, HOURS));
+        List<LocatedFileStatus> files = listing(DIRECTORY, 3);
+        cache.put(DIRECTORY, OptionalLong.empty(), files);
+
+        // valid until it expires
+        assertListing(cache.get(DIRECTORY, OptionalLong.empty()).orElseThrow(), files);
+
+        // not used to answer a listing validated by a directory modification time
+        assertTrue(cache.get(DIRECTORY, OptionalLong.of(1)).isEmpty());
+        assertTrue(cache.get(DIRECTORY, OptionalLong.empty()).isEmpty());
+
+        PersistentDirectoryListingCache expiring = new PersistentDirectoryListingCache(Optional.of(cacheDirectory), DataSize.of(1, MEGABYTE), new Duration(0, MILLISECONDS));
+        expiring.put(DIRECTORY, OptionalLong.empty(), files);
+        assertTrue(expiring.get(DIRECTORY, OptionalLong.empty()).isEmpty());
+    }
+
+    @Test
+    public void testSharedDirectory()
+    {
+        PersistentDirectoryListingCache first = new PersistentDirectoryListingCache(Optional.of(cacheDirectory), DataSize.of(1, MEGABYTE), new Duration(1, HOURS));
+        PersistentDirectoryListingCache second = new PersistentDirectoryListingCache(Optional.of(cacheDirectory), DataSize.of(1, MEGABYTE), new Duration(1, HOURS));
+        assertEquals(first.getFileCount(), 0);
+        assertEquals(second.getFileCount(), 0);
+
+        // a listing stored by one process is found by another one that loaded the directory earlier
+        List<LocatedFileStatus> files = listing(DIRECTORY, 3);
+        first.put(DIRECTORY, OptionalLong.of(1), files);
+        assertListing(second.get(DIRECTORY, OptionalLong.of(1)).orElseThrow(), files);
+        assertEquals(second.getFileCount(), 1);
+
+        // a listing deleted by another process is a miss
+        first.flushCache();
+        assertTrue(second.get(DIRECTORY, OptionalLong.of(1)).isEmpty());
+        assertEquals(second.getFileCount(), 0);
+        assertEquals(second.getFailures().getTotalCount(), 0);
+    }
+
+    @Test
+    public void testFileSystemsWithDirectoryModificationTimes()
+    {
+        assertTrue(PersistentDirectoryListingCache.hasDirectoryModificationTimes(fileSystem("hdfs://namenode/")));
+        assertTrue(PersistentDirectoryListingCache.hasDirectoryModificationTimes(fileSystem("file:///")));
+        assertFalse(PersistentDirectoryListingCache.hasDirectoryModificationTimes(fileSystem("s3://bucket/")));
+        assertFalse(PersistentDirectoryListingCache.hasDirectoryModificationTimes(fileSystem("S3A://bucket/")));
+        assertFalse(PersistentDirectoryListingCache.hasDirectoryModificationTimes(fileSystem("gs://bucket/")));
+    }
+
+    @Test
+    public void testListingWithoutDirectoryModificationTime()
+            throws IOException
+    {
+        java.nio.file.Path tableDirectory = createTempDirectory("table");
+        try {
+            Files.createFile(tableDirectory.resolve("file0"));
+            Path path = new Path(tableDirectory.toUri());
+            PersistentDirectoryListingCache cache = new PersistentDirectoryListingCache(Optional.of(cacheDirectory), DataSize.of(1, MEGABYTE), new Duration(1, HOURS));
+
+            // like an object store, reports no directory modification time, so the stored listing is valid until it expires
+            RawLocalFileSystem withoutModificationTimes = new RawLocalFileSystem()
+            {
+                @Override
+                public FileStatus getFileStatus(Path path)
+                {
+                    return new FileStatus(0, true, 1, 0, 0, path);
+                }
+            };
+            withoutModificationTimes.initialize(URI.create("file:///"), new Configuration(false));
+            assertEquals(listFileNames(new CachingDirectoryLister(new Duration(1, HOURS), 1000, ImmutableList.of("*"), cache), withoutModificationTimes, path), ImmutableList.of("file0"));
+            assertEquals(cache.getFileCount(), 1);
+
+            // a restarted lister uses the stored listing, even though the directory has changed since
+            Files.createFile(tableDirectory.resolve("file1"));
+            assertEquals(listFileNames(new CachingDirectoryLister(new Duration(1, HOURS), 1000, ImmutableList.of("*"), cache), withoutModificationTimes, path), ImmutableList.of("file0"));
+            assertEquals(cache.getHits().getTotalCount(), 1);
+
+            // the listing is not valid for a file system that reports the directory modification time
+            RawLocalFileSystem local = new RawLocalFileSystem();
+            local.initialize(URI.create("file:///"), new Configuration(false));
+            assertEquals(ImmutableSet.copyOf(listFileNames(new CachingDirectoryLister(new Duration(1, HOURS), 1000, ImmutableList.of("*"), cache), local, path)), ImmutableSet.of("file0", "file1"));
+            assertEquals(cache.getFileCount(), 1);
+        }
+        finally {
+            deleteRecursively(tableDirectory, ALLOW_INSECURE);
+        }
+    }
+
+    private static List<String> listFileNames(DirectoryLister lister, FileSystem fileSystem, Path path)
+            throws IOException
+    {
+        ImmutableList.Builder<String> fileNames = ImmutableList.builder();
+        RemoteIterator<LocatedFileStatus> files = lister.list(fileSystem, table(), path);
+        while (files.hasNext()) {
+            fileNames.add(files.next().getPath().getName());
+        }
+        return fileNames.build();
+    }
+
+    private static FileSystem fileSystem(String uri)
+    {
+        RawLocalFileSystem fileSystem = new RawLocalFileSystem()
+        {
+            @Override
+            public URI getUri()
+            {
+                return URI.create(uri);
+            }
+        };
+        fileSystem.setConf(new Configuration(false));
+        return fileSystem;
+    }
+
+    private static Table table()
+    {
+        Table.Builder table = Table.builder()
+                .setDatabaseName("test_schema")
+                .setTableName("test_table")
+                .setOwner("test_owner")
+                .setTableType(TableType.MANAGED_TABLE.toString())
+                .setDataColumns(ImmutableList.of(new Column("col1", HIVE_STRING, Optional.empty())));
+        table.getStorageBuilder()
+                .setStorageFormat(StorageFormat.fromHiveStorageFormat(CSV))
+                .setLocation("s3://bucket/table");
+        return table.build();
+    }
+
+    private static List<LocatedFileStatus> listing(Path directory, int fileCount)
+    {
+        ImmutableList.Builder<LocatedFileStatus> files = ImmutableList.builder();
+        for (int i = 0; i < fileCount; i++) {
+            BlockLocation[] blocks = {new BlockLocation(new String[] {"host1:50010"}, new String[] {"host1"}, 0, 1000 + i)};
+            files.add(new LocatedFileStatus(1000 + i, false, 3, 64 * 1024 * 1024, 12345 + i, 0, null, null, null, null, new Path(directory, "file" + i), blocks));
+        }
+        return files.build();
+    }
+
+    private static void assertListing(List<LocatedFileStatus> actual, List<LocatedFileStatus> expected)
+    {
+        assertEquals(actual.size(), expected.size());
+        for (int i = 0; i < actual.size(); i++) {
+            LocatedFileStatus actualFile = actual.get(i);
+            LocatedFileStatus expectedFile = expected.get(i);
+            assertEquals(actualFile.getPath(), expectedFile.getPath());
+            assertEquals(actualFile.getLen(), expectedFile.getLen());
+            assertEquals(actualFile.isDirectory(), expectedFile.isDirectory());
+            assertEquals(actualFile.getModificationTime(), expectedFile.getModificationTime());
+            assertEquals(actualFile.getBlockSize(), expectedFile.getBlockSize());
+            assertEquals(actualFile.getBlockLocations().length, expectedFile.getBlockLocations().length);
+            assertEquals(actualFile.getBlockLocations()[0].getOffset(), expectedFile.getBlockLocations()[0].getOffset());
+            assertEquals(actualFile.getBlockLocations()[0].getLength(), expectedFile.getBlockLocations()[0].getLength());
+        }
+    }
+}
@@ -395,7 +395,8 @@ public enum FileFormat
                 TableToPartitionMapping.empty(),
                 Optional.empty(),
                 false,
-                Optional.empty());
+                Optional.empty(),
+                ImmutableList.of());
 
         ConnectorPageSource hivePageSource = factory.createPageSource(
                 TestingConnectorTransactionHandle.INSTANCE,
@@ -470,6 +471,7 @@ public enum FileFormat
                         0,
                         targetFile.length(),
                         targetFile.length(),
+                        targetFile.lastModified(),
                         schema,
                         readColumns,
                         TupleDomain.all(),
@@ -606,7 +608,8 @@ public enum FileFormat
                     ImmutableMap.of(),
                     false,
                     BOTH,
-                    new OrcWriterStats());
+                    new OrcWriterStats(),
+                    Optional.empty());
         }
 
         @Override
@@ -0,0 +1,129 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.metastore.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.airlift.json.ObjectMapperProvider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Event log kept in a file with one JSON encoded {@link MetastoreEvent} per line,
+ * standing in for the metastore notification log in tests.
+ */
+public class FileMetastoreEventSource
+        implements MetastoreEventSource
+{
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapperProvider().get();
+
+    private final Path file;
+
+    public FileMetastoreEventSource(Path file)
+    {
+        this.file = requireNonNull(file, "file is null");
+    }
+
+    public synchronized void addEvent(MetastoreEvent event)
+    {
+        try {
+            Files.writeString(file, toJson(event) + "\n", UTF_8, CREATE, APPEND);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Drops the events preceding {@code eventId}, like the metastore does for old notifications.
+     */
+    public synchronized void expireEventsBefore(long eventId)
+    {
+        List<String> retained = readEvents().stream()
+                .filter(event -> event.getEventId() >= eventId)
+                .map(FileMetastoreEventSource::toJson)
+                .collect(toImmutableList());
+        try {
+            Files.write(file, retained, UTF_8);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized long getCurrentEventId()
+    {
+        List<MetastoreEvent> events = readEvents();
+        return events.isEmpty() ? 0 : events.get(events.size() - 1).getEventId();
+    }
+
+    @Override
+    public synchronized List<MetastoreEvent> getEvents(long fromEventId, long toEventId)
+    {
+        List<MetastoreEvent> events = readEvents();
+        if (!events.isEmpty() && events.get(0).getEventId() > fromEventId + 1) {
+            throw new MetastoreEventsUnavailableException(fromEventId, events.get(0).getEventId());
+        }
+        return events.stream()
+                .filter(event -> event.getEventId() > fromEventId && event.getEventId() <= toEventId)
+                .collect(toImmutableList());
+    }
+
+    private List<MetastoreEvent> readEvents()
+    {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        try {
+            return Files.readAllLines(file, UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .map(FileMetastoreEventSource::fromJson)
+                    .collect(toImmutableList());
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toJson(MetastoreEvent event)
+    {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(event);
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static MetastoreEvent fromJson(String line)
+    {
+        try {
+            return OBJECT_MAPPER.readValue(line, MetastoreEvent.class);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -37,6 +37,7 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
@@ -49,6 +50,10 @@ import static io.prestosql.plugin.hive.HiveTestUtils.HDFS_ENVIRONMENT;
 import static io.prestosql.plugin.hive.metastore.HiveColumnStatistics.createIntegerColumnStatistics;
 import static io.prestosql.plugin.hive.metastore.cache.CachingHiveMetastore.cachingHiveMetastore;
 import static io.prestosql.plugin.hive.metastore.cache.CachingHiveMetastore.memoizeMetastore;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.Type.ALTER_PARTITION;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.Type.ALTER_TABLE;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.partitionEvent;
+import static io.prestosql.plugin.hive.metastore.cache.MetastoreEvent.tableEvent;
 import static io.prestosql.plugin.hive.metastore.thrift.MockThriftMetastoreClient.BAD_DATABASE;
 import static io.prestosql.plugin.hive.metastore.thrift.MockThriftMetastoreClient.BAD_PARTITION;
 import static io.prestosql.plugin.hive.metastore.thrift.MockThriftMetastoreClient.PARTITION_COLUMN_NAMES;
@@ -60,6 +65,8 @@ import static io.prestosql.plugin.hive.metastore.thrift.MockThriftMetastoreClien
 import static io.prestosql.plugin.hive.metastore.thrift.MockThriftMetastoreClient.TEST_ROLES;
 import static io.prestosql.plugin.hive.metastore.thrift.MockThriftMetastoreClient.TEST_TABLE;
 import static io.prestosql.testing.TestingConnectorSession.SESSION;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.function.Function.identity;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -260,6 +267,76 @@ public class TestCachingHiveMetastore
         assertEquals(mockClient.getAccessCount(), 5);
     }
 
+    @Test
+    public void testEventInvalidation()
+            throws Exception
+    {
+        Path eventLog = createTempFile("metastore-events", ".json");
+        try {
+            FileMetastoreEventSource eventSource = new FileMetastoreEventSource(eventLog);
+            MetastoreEventInvalidator invalidator = new MetastoreEventInvalidator(metastore, eventSource, new Duration(1, TimeUnit.SECONDS));
+            invalidator.poll();
+
+            Table table = metastore.getTable(IDENTITY, TEST_DATABASE, TEST_TABLE).get();
+            assertEquals(metastore.getPartitionsByNames(IDENTITY, table, ImmutableList.of(TEST_PARTITION1, TEST_PARTITION2)).size(), 2);
+            assertEquals(mockClient.getAccessCount(), 2);
+
+            // only the altered partition is reloaded
+            eventSource.addEvent(partitionEvent(1, ALTER_PARTITION, TEST_DATABASE, TEST_TABLE, Optional.of(ImmutableList.of(TEST_PARTITION_VALUES1))));
+            invalidator.poll();
+            assertEquals(invalidator.getLastEventId(), 1);
+            assertNotNull(metastore.getTable(IDENTITY, TEST_DATABASE, TEST_TABLE));
+            assertEquals(metastore.getPartitionsByNames(IDENTITY, table, ImmutableList.of(TEST_PARTITION1, TEST_PARTITION2)).size(), 2);
+            assertEquals(mockClient.getAccessCount(), 3);
+
+            // changes to other tables do not affect cached entries
+            eventSource.addEvent(tableEvent(2, ALTER_TABLE, TEST_DATABASE, "other_table"));
+            invalidator.poll();
+            assertNotNull(metastore.getTable(IDENTITY, TEST_DATABASE, TEST_TABLE));
+            assertEquals(metastore.getPartitionsByNames(IDENTITY, table, ImmutableList.of(TEST_PARTITION1, TEST_PARTITION2)).size(), 2);
+            assertEquals(mockClient.getAccessCount(), 3);
+
+            eventSource.addEvent(tableEvent(3, ALTER_TABLE, TEST_DATABASE, TEST_TABLE));
+            invalidator.poll();
+            assertNotNull(metastore.getTable(IDENTITY, TEST_DATABASE, TEST_TABLE));
+            assertEquals(mockClient.getAccessCount(), 4);
+            assertEquals(invalidator.getProcessedEvents().getTotalCount(), 3);
+            assertEquals(invalidator.getCacheFlushes().getTotalCount(), 1);
+        }
+        finally {
+            deleteIfExists(eventLog);
+        }
+    }
+
+    @Test
+    public void testExpiredEventsFlushCache()
+            throws Exception
+    {
+        Path eventLog = createTempFile("metastore-events", ".json");
+        try {
+            FileMetastoreEventSource eventSource = new FileMetastoreEventSource(eventLog);
+            MetastoreEventInvalidator invalidator = new MetastoreEventInvalidator(metastore, eventSource, new Duration(1, TimeUnit.SECONDS));
+            invalidator.poll();
+
+            assertNotNull(metastore.getTable(IDENTITY, TEST_DATABASE, TEST_TABLE));
+            assertEquals(mockClient.getAccessCount(), 1);
+
+            // the event naming the cached table is gone before it was processed
+            eventSource.addEvent(tableEvent(1, ALTER_TABLE, TEST_DATABASE, TEST_TABLE));
+            eventSource.addEvent(tableEvent(2, ALTER_TABLE, TEST_DATABASE, "other_table"));
+            eventSource.expireEventsBefore(2);
+            invalidator.poll();
+            assertEquals(invalidator.getLastEventId(), 2);
+            assertEquals(invalidator.getCacheFlushes().getTotalCount(), 2);
+
+            assertNotNull(metastore.getTable(IDENTITY, TEST_DATABASE, TEST_TABLE));
+            assertEquals(mockClient.getAccessCount(), 2);
+        }
+        finally {
+            deleteIfExists(eventLog);
+        }
+    }
+
     @Test
     public void testListRoles()
     {
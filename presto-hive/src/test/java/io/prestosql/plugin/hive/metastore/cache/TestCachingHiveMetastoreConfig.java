@@ -33,7 +33,9 @@ public class TestCachingHiveMetastoreConfig
                 .setMetastoreCacheTtl(new Duration(0, TimeUnit.SECONDS))
                 .setMetastoreRefreshInterval(null)
                 .setMetastoreCacheMaximumSize(10000)
-                .setMaxMetastoreRefreshThreads(100));
+                .setMaxMetastoreRefreshThreads(100)
+                .setEventInvalidationEnabled(false)
+                .setEventPollInterval(new Duration(2, TimeUnit.SECONDS)));
     }
 
     @Test
@@ -44,13 +46,17 @@ public class TestCachingHiveMetastoreConfig
                 .put("hive.metastore-refresh-interval", "30m")
                 .put("hive.metastore-cache-maximum-size", "5000")
                 .put("hive.metastore-refresh-max-threads", "2500")
+                .put("hive.metastore-cache-event-invalidation", "true")
+                .put("hive.metastore-event-poll-interval", "10s")
                 .build();
 
         CachingHiveMetastoreConfig expected = new CachingHiveMetastoreConfig()
                 .setMetastoreCacheTtl(new Duration(2, TimeUnit.HOURS))
                 .setMetastoreRefreshInterval(new Duration(30, TimeUnit.MINUTES))
                 .setMetastoreCacheMaximumSize(5000)
-                .setMaxMetastoreRefreshThreads(2500);
+                .setMaxMetastoreRefreshThreads(2500)
+                .setEventInvalidationEnabled(true)
+                .setEventPollInterval(new Duration(10, TimeUnit.SECONDS));
 
         assertFullMapping(properties, expected);
     }
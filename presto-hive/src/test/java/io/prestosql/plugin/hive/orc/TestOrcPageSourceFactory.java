@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.prestosql.plugin.hive.AcidInfo;
 import io.prestosql.plugin.hive.FileFormatDataSourceStats;
+import io.prestosql.plugin.hive.FileMetadataCache;
 import io.prestosql.plugin.hive.HiveColumnHandle;
 import io.prestosql.plugin.hive.HiveConfig;
 import io.prestosql.plugin.hive.HivePageSourceFactory;
@@ -78,7 +79,8 @@ public class TestOrcPageSourceFactory
             new OrcReaderConfig(),
             HDFS_ENVIRONMENT,
             new FileFormatDataSourceStats(),
-            new HiveConfig());
+            new HiveConfig(),
+            new FileMetadataCache(new HiveConfig()));
 
     @Test
     public void testFullFileRead()
@@ -195,6 +197,7 @@ public class TestOrcPageSourceFactory
                 0,
                 fileSize,
                 fileSize,
+                new File(filePath).lastModified(),
                 createSchema(),
                 columnHandles,
                 tupleDomain,
@@ -33,7 +33,8 @@ public class TestParquetWriterConfig
         assertRecordedDefaults(recordDefaults(ParquetWriterConfig.class)
                 .setParquetOptimizedWriterEnabled(false)
                 .setBlockSize(DataSize.ofBytes(ParquetWriter.DEFAULT_BLOCK_SIZE))
-                .setPageSize(DataSize.ofBytes(ParquetWriter.DEFAULT_PAGE_SIZE)));
+                .setPageSize(DataSize.ofBytes(ParquetWriter.DEFAULT_PAGE_SIZE))
+                .setDictionaryMaxMemory(DataSize.of(16, MEGABYTE)));
     }
 
     @Test
@@ -57,12 +58,14 @@ public class TestParquetWriterConfig
         Map<String, String> properties = Map.of(
                 "parquet.experimental-optimized-writer.enabled", "true",
                 "parquet.writer.block-size", "234MB",
-                "parquet.writer.page-size", "11MB");
+                "parquet.writer.page-size", "11MB",
+                "parquet.writer.dictionary-max-memory", "7MB");
 
         ParquetWriterConfig expected = new ParquetWriterConfig()
                 .setParquetOptimizedWriterEnabled(true)
                 .setBlockSize(DataSize.of(234, MEGABYTE))
-                .setPageSize(DataSize.of(11, MEGABYTE));
+                .setPageSize(DataSize.of(11, MEGABYTE))
+                .setDictionaryMaxMemory(DataSize.of(7, MEGABYTE));
 
         assertFullMapping(properties, expected);
     }
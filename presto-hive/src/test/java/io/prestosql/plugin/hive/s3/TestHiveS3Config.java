@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableMap;
 import io.airlift.units.DataSize;
 import io.airlift.units.DataSize.Unit;
 import io.airlift.units.Duration;
+import io.airlift.units.MaxDataSize;
 import org.testng.annotations.Test;
 
 import java.io.File;
@@ -30,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 import static io.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
 import static io.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
 import static io.airlift.configuration.testing.ConfigAssertions.recordDefaults;
+import static io.airlift.testing.ValidationAssertions.assertFailsValidation;
 
 public class TestHiveS3Config
 {
@@ -66,7 +68,10 @@ public class TestHiveS3Config
                 .setS3UserAgentPrefix("")
                 .setS3AclType(PrestoS3AclType.PRIVATE)
                 .setSkipGlacierObjects(false)
-                .setRequesterPaysEnabled(false));
+                .setRequesterPaysEnabled(false)
+                .setS3RangedReadMaxCoalesceGap(DataSize.of(1, Unit.MEGABYTE))
+                .setS3RangedReadMaxCoalescedSize(DataSize.of(16, Unit.MEGABYTE))
+                .setS3RangedReadMaxThreads(16));
     }
 
     @Test
@@ -106,6 +111,9 @@ public class TestHiveS3Config
                 .put("hive.s3.upload-acl-type", "PUBLIC_READ")
                 .put("hive.s3.skip-glacier-objects", "true")
                 .put("hive.s3.requester-pays.enabled", "true")
+                .put("hive.s3.ranged-read.max-coalesce-gap", "256kB")
+                .put("hive.s3.ranged-read.max-coalesced-size", "32MB")
+                .put("hive.s3.ranged-read.max-threads", "4")
                 .build();
 
         HiveS3Config expected = new HiveS3Config()
@@ -138,8 +146,22 @@ public class TestHiveS3Config
                 .setS3UserAgentPrefix("user-agent-prefix")
                 .setS3AclType(PrestoS3AclType.PUBLIC_READ)
                 .setSkipGlacierObjects(true)
-                .setRequesterPaysEnabled(true);
+                .setRequesterPaysEnabled(true)
+                .setS3RangedReadMaxCoalesceGap(DataSize.of(256, Unit.KILOBYTE))
+                .setS3RangedReadMaxCoalescedSize(DataSize.of(32, Unit.MEGABYTE))
+                .setS3RangedReadMaxThreads(4);
 
         assertFullMapping(properties, expected);
     }
+
+    @Test
+    public void testValidation()
+    {
+        assertFailsValidation(
+                new HiveS3Config()
+                        .setS3RangedReadMaxCoalescedSize(DataSize.of(4, Unit.GIGABYTE)),
+                "s3RangedReadMaxCoalescedSize",
+                "must be less than or equal to 1GB",
+                MaxDataSize.class);
+    }
 }
@@ -29,15 +29,22 @@ import com.amazonaws.services.s3.model.CannedAccessControlList;
 import com.amazonaws.services.s3.model.EncryptionMaterials;
 import com.amazonaws.services.s3.model.EncryptionMaterialsProvider;
 import com.amazonaws.services.s3.model.GetObjectMetadataRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.StorageClass;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClient;
 import com.google.common.base.VerifyException;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.airlift.slice.Slice;
 import io.prestosql.plugin.hive.s3.PrestoS3FileSystem.UnrecoverableS3OperationException;
+import io.prestosql.plugin.hive.util.FileRange;
+import io.prestosql.plugin.hive.util.VectoredReadable;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
@@ -50,6 +57,7 @@ import org.testng.annotations.Test;
 
 import javax.crypto.spec.SecretKeySpec;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.URI;
@@ -61,6 +69,7 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.io.MoreFiles.deleteRecursively;
@@ -80,12 +89,15 @@ import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_MAX_CLIENT_RETRI
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_MAX_RETRY_TIME;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_PATH_STYLE_ACCESS;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_PIN_CLIENT_TO_CURRENT_REGION;
+import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_RANGED_READ_MAX_COALESCE_GAP;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_SECRET_KEY;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_SESSION_TOKEN;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_SKIP_GLACIER_OBJECTS;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_STAGING_DIRECTORY;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_USER_AGENT_PREFIX;
 import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.S3_USER_AGENT_SUFFIX;
+import static io.prestosql.plugin.hive.s3.PrestoS3FileSystem.coalesceRanges;
+import static java.lang.Math.toIntExact;
 import static java.net.HttpURLConnection.HTTP_FORBIDDEN;
 import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
@@ -788,6 +800,72 @@ public class TestPrestoS3FileSystem
         }
     }
 
+    @Test
+    public void testCoalesceRanges()
+    {
+        assertEquals(coalesceRanges(ImmutableList.of(), 10, 100), ImmutableList.of());
+
+        // ranges within the gap are merged, regardless of the input order
+        assertEquals(
+                coalesceRanges(ImmutableList.of(new FileRange(30, 10), new FileRange(0, 10), new FileRange(15, 5)), 10, 100),
+                ImmutableList.of(new FileRange(0, 40)));
+
+        // ranges further apart than the gap are read separately
+        assertEquals(
+                coalesceRanges(ImmutableList.of(new FileRange(0, 10), new FileRange(21, 10)), 10, 100),
+                ImmutableList.of(new FileRange(0, 10), new FileRange(21, 10)));
+
+        // overlapping and nested ranges are merged
+        assertEquals(
+                coalesceRanges(ImmutableList.of(new FileRange(0, 50), new FileRange(10, 10), new FileRange(40, 20)), 0, 100),
+                ImmutableList.of(new FileRange(0, 60)));
+
+        // merging stops at the maximum coalesced size
+        assertEquals(
+                coalesceRanges(ImmutableList.of(new FileRange(0, 40), new FileRange(40, 40), new FileRange(80, 40)), 10, 100),
+                ImmutableList.of(new FileRange(0, 80), new FileRange(80, 40)));
+    }
+
+    @Test
+    public void testVectoredRead()
+            throws Exception
+    {
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        List<long[]> requestedRanges = new CopyOnWriteArrayList<>();
+        MockAmazonS3 s3 = new MockAmazonS3()
+        {
+            @Override
+            public S3Object getObject(GetObjectRequest getObjectRequest)
+            {
+                long[] range = getObjectRequest.getRange();
+                requestedRanges.add(range);
+                S3Object object = new S3Object();
+                object.setObjectContent(new ByteArrayInputStream(data, toIntExact(range[0]), toIntExact(range[1] - range[0] + 1)));
+                return object;
+            }
+        };
+        Configuration configuration = new Configuration(false);
+        configuration.setLong(S3_RANGED_READ_MAX_COALESCE_GAP, 10);
+        try (PrestoS3FileSystem fs = new PrestoS3FileSystem()) {
+            fs.initialize(new URI("s3n://test-bucket/"), configuration);
+            fs.setS3Client(s3);
+            try (FSDataInputStream inputStream = fs.open(new Path("s3n://test-bucket/test"))) {
+                List<FileRange> ranges = ImmutableList.of(new FileRange(500, 100), new FileRange(0, 10), new FileRange(15, 5));
+                Map<FileRange, Slice> buffers = ((VectoredReadable) inputStream.getWrappedStream()).readFully(ranges);
+                assertEquals(buffers.keySet(), ImmutableSet.copyOf(ranges));
+                for (FileRange range : ranges) {
+                    assertEquals(buffers.get(range).getBytes(), Arrays.copyOfRange(data, toIntExact(range.getOffset()), toIntExact(range.getEnd())));
+                }
+            }
+        }
+
+        // the two ranges within the coalesce gap are fetched with a single request
+        assertEquals(requestedRanges.size(), 2);
+    }
+
     private static List<LocatedFileStatus> remoteIteratorToList(RemoteIterator<LocatedFileStatus> statuses)
             throws IOException
     {
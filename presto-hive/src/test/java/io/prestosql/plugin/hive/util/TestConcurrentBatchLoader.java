@@ -0,0 +1,165 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.SettableFuture;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestConcurrentBatchLoader
+{
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp()
+    {
+        executor = newCachedThreadPool(daemonThreadsNamed("test-concurrent-batch-loader-%s"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test(timeOut = 10_000)
+    public void testLoadsAheadInOrder()
+            throws Exception
+    {
+        List<Integer> batches = IntStream.range(0, 10).boxed().collect(toImmutableList());
+        Map<Integer, SettableFuture<?>> released = new ConcurrentHashMap<>();
+        batches.forEach(batch -> released.put(batch, SettableFuture.create()));
+        CountDownLatch started = new CountDownLatch(3);
+        AtomicInteger loads = new AtomicInteger();
+
+        ConcurrentBatchLoader<Integer, String> loader = new ConcurrentBatchLoader<>(
+                batches,
+                batch -> {
+                    loads.incrementAndGet();
+                    started.countDown();
+                    getFutureValue(released.get(batch));
+                    return "batch" + batch;
+                },
+                3,
+                executor);
+
+        // release the batches in reverse order, so that the last started load completes first
+        executor.execute(() -> {
+            try {
+                started.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            for (int batch = batches.size() - 1; batch >= 0; batch--) {
+                released.get(batch).set(null);
+            }
+        });
+
+        Iterator<String> iterator = loader.iterator();
+        assertEquals(iterator.next(), "batch0");
+        // three loads were in flight before the first batch was returned
+        assertTrue(started.await(0, SECONDS));
+        assertThat(ImmutableList.copyOf(iterator))
+                .isEqualTo(IntStream.range(1, 10).mapToObj(batch -> "batch" + batch).collect(toImmutableList()));
+        assertEquals(loads.get(), batches.size());
+    }
+
+    @Test(timeOut = 10_000)
+    public void testCancel()
+    {
+        AtomicInteger loads = new AtomicInteger();
+        List<Runnable> submitted = new CopyOnWriteArrayList<>();
+        ConcurrentBatchLoader<Integer, Integer> loader = new ConcurrentBatchLoader<>(
+                ImmutableList.of(0, 1, 2, 3),
+                batch -> {
+                    loads.incrementAndGet();
+                    return batch;
+                },
+                3,
+                submitted::add);
+        Iterator<Integer> iterator = loader.iterator();
+        SettableFuture<Integer> first = SettableFuture.create();
+        executor.execute(() -> first.set(iterator.next()));
+
+        // the consumer waits for the first batch, with two more loads submitted ahead of it
+        while (submitted.size() < 3) {
+            Thread.onSpinWait();
+        }
+        submitted.get(0).run();
+        assertEquals(getFutureValue(first), (Integer) 0);
+
+        // the split source stopped the loader, so the loads that have not started must not run
+        loader.cancel();
+        submitted.forEach(Runnable::run);
+        assertEquals(loads.get(), 1);
+        assertEquals(submitted.size(), 3);
+        assertThatThrownBy(iterator::hasNext)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Loading was cancelled");
+    }
+
+    @Test(timeOut = 10_000)
+    public void testFailureCancelsPendingLoads()
+    {
+        AtomicInteger loads = new AtomicInteger();
+        ConcurrentBatchLoader<Integer, Integer> loader = new ConcurrentBatchLoader<>(
+                ImmutableList.of(0, 1, 2, 3),
+                batch -> {
+                    loads.incrementAndGet();
+                    throw new IllegalArgumentException("load failed");
+                },
+                1,
+                executor);
+        Iterator<Integer> iterator = loader.iterator();
+        assertThatThrownBy(iterator::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("load failed");
+        assertEquals(loads.get(), 1);
+    }
+
+    @Test
+    public void testIterateOnce()
+    {
+        ConcurrentBatchLoader<Integer, Integer> loader = new ConcurrentBatchLoader<>(ImmutableList.of(), batch -> batch, 2, executor);
+        assertFalse(loader.iterator().hasNext());
+        assertThatThrownBy(loader::iterator)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Batches can be iterated only once");
+    }
+}
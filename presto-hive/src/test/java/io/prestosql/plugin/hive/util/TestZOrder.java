@@ -0,0 +1,180 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.util;
+
+import com.google.common.collect.ImmutableList;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.type.ArrayType;
+import io.prestosql.spi.type.Type;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.prestosql.plugin.hive.util.ZOrder.getOrderedKey;
+import static io.prestosql.plugin.hive.util.ZOrder.interleave;
+import static io.prestosql.plugin.hive.util.ZOrder.isSupportedType;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.RealType.REAL;
+import static io.prestosql.spi.type.VarbinaryType.VARBINARY;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static java.lang.Float.floatToRawIntBits;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestZOrder
+{
+    @Test
+    public void testSupportedTypes()
+    {
+        assertTrue(isSupportedType(BIGINT));
+        assertTrue(isSupportedType(DOUBLE));
+        assertTrue(isSupportedType(REAL));
+        assertTrue(isSupportedType(VARCHAR));
+        assertTrue(isSupportedType(VARBINARY));
+        assertFalse(isSupportedType(new ArrayType(BIGINT)));
+    }
+
+    @Test
+    public void testOrderedKeys()
+    {
+        assertOrdered(BIGINT, null, Long.MIN_VALUE, -5L, -1L, 0L, 1L, 100L, Long.MAX_VALUE);
+        assertOrdered(DOUBLE, null, Double.NEGATIVE_INFINITY, -1.5, -0.5, 0.0, 0.5, 2.5, Double.POSITIVE_INFINITY);
+        assertOrdered(REAL,
+                null,
+                (long) floatToRawIntBits(-3.0f),
+                (long) floatToRawIntBits(-1.0f),
+                (long) floatToRawIntBits(0.0f),
+                (long) floatToRawIntBits(1.0f),
+                (long) floatToRawIntBits(3.0f));
+        assertOrdered(VARCHAR, null, "", "a", "ab", "b", "bcdefghi", "z");
+    }
+
+    @Test
+    public void testInterleave()
+    {
+        byte[] address = new byte[16];
+
+        interleave(new long[] {Long.MIN_VALUE, 0}, address);
+        assertEquals(address[0], (byte) 0x80);
+
+        interleave(new long[] {0, Long.MIN_VALUE}, address);
+        assertEquals(address[0], (byte) 0x40);
+
+        interleave(new long[] {1, 1}, address);
+        assertEquals(address[15], (byte) 0x03);
+        for (int i = 0; i < 15; i++) {
+            assertEquals(address[i], (byte) 0);
+        }
+    }
+
+    @Test
+    public void testComputeAddresses()
+    {
+        List<Type> types = ImmutableList.of(BIGINT, BIGINT, VARCHAR);
+        Page page = new Page(
+                createBlock(BIGINT, 0L, 0L, 1L, 1L),
+                createBlock(BIGINT, 0L, 1L, 0L, 1L),
+                createBlock(VARCHAR, "a", "b", "c", "d"));
+
+        Block addresses = ZOrder.create(ImmutableList.of(page), ImmutableList.of(0, 1), types).computeAddresses(page);
+        assertEquals(addresses.getPositionCount(), 4);
+        for (int position = 0; position < 4; position++) {
+            assertEquals(addresses.getSliceLength(position), 16);
+        }
+
+        // the points of a 2x2 grid are visited in Z-order
+        for (int position = 1; position < 4; position++) {
+            assertTrue(VARBINARY.getSlice(addresses, position - 1).compareTo(VARBINARY.getSlice(addresses, position)) < 0);
+        }
+    }
+
+    @Test
+    public void testNormalizedRanges()
+    {
+        // a 4x4 grid of a column with a wide range and string column sharing a long prefix
+        List<Type> types = ImmutableList.of(BIGINT, VARCHAR);
+        BlockBuilder wide = BIGINT.createBlockBuilder(null, 16);
+        BlockBuilder prefixed = VARCHAR.createBlockBuilder(null, 16);
+        for (int x = 0; x < 4; x++) {
+            for (int y = 0; y < 4; y++) {
+                BIGINT.writeLong(wide, x * (1L << 40));
+                VARCHAR.writeSlice(prefixed, utf8Slice("https://example.com/page/" + y));
+            }
+        }
+        Page page = new Page(wide.build(), prefixed.build());
+        Block addresses = ZOrder.create(ImmutableList.of(page), ImmutableList.of(0, 1), types).computeAddresses(page);
+
+        // both columns contribute to the leading bits, so the lower left quadrant of the grid sorts first
+        for (int position = 0; position < 16; position++) {
+            boolean lowerLeft = position / 4 < 2 && position % 4 < 2;
+            for (int other = 0; other < 16; other++) {
+                boolean otherLowerLeft = other / 4 < 2 && other % 4 < 2;
+                if (lowerLeft && !otherLowerLeft) {
+                    assertTrue(VARBINARY.getSlice(addresses, position).compareTo(VARBINARY.getSlice(addresses, other)) < 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testValuesOutsideSampleRange()
+    {
+        List<Type> types = ImmutableList.of(BIGINT);
+        ZOrder zOrder = ZOrder.create(ImmutableList.of(new Page(createBlock(BIGINT, 100L, 200L))), ImmutableList.of(0), types);
+        Block addresses = zOrder.computeAddresses(new Page(createBlock(BIGINT, null, -5L, 100L, 150L, 200L, 1_000_000L)));
+
+        // the order is preserved, although values outside the sampled range are clamped
+        for (int position = 1; position < addresses.getPositionCount(); position++) {
+            assertTrue(VARBINARY.getSlice(addresses, position - 1).compareTo(VARBINARY.getSlice(addresses, position)) <= 0);
+        }
+        assertTrue(VARBINARY.getSlice(addresses, 2).compareTo(VARBINARY.getSlice(addresses, 3)) < 0);
+        assertTrue(VARBINARY.getSlice(addresses, 3).compareTo(VARBINARY.getSlice(addresses, 4)) < 0);
+    }
+
+    private static void assertOrdered(Type type, Object... values)
+    {
+        Block block = createBlock(type, values);
+        for (int position = 1; position < values.length; position++) {
+            long previous = getOrderedKey(type, block, position - 1);
+            long current = getOrderedKey(type, block, position);
+            assertTrue(Long.compareUnsigned(previous, current) < 0, "values are not ordered: " + Arrays.asList(values[position - 1], values[position]));
+        }
+    }
+
+    private static Block createBlock(Type type, Object... values)
+    {
+        BlockBuilder blockBuilder = type.createBlockBuilder(null, values.length);
+        for (Object value : values) {
+            if (value == null) {
+                blockBuilder.appendNull();
+            }
+            else if (value instanceof Long) {
+                type.writeLong(blockBuilder, (Long) value);
+            }
+            else if (value instanceof Double) {
+                type.writeDouble(blockBuilder, (Double) value);
+            }
+            else {
+                type.writeSlice(blockBuilder, utf8Slice((String) value));
+            }
+        }
+        return blockBuilder.build();
+    }
+}
@@ -25,16 +25,19 @@ public class CommitTaskData
     private final String path;
     private final MetricsWrapper metrics;
     private final Optional<String> partitionDataJson;
+    private final Optional<String> referencedDataFile;
 
     @JsonCreator
     public CommitTaskData(
             @JsonProperty("path") String path,
             @JsonProperty("metrics") MetricsWrapper metrics,
-            @JsonProperty("partitionDataJson") Optional<String> partitionDataJson)
+            @JsonProperty("partitionDataJson") Optional<String> partitionDataJson,
+            @JsonProperty("referencedDataFile") Optional<String> referencedDataFile)
     {
         this.path = requireNonNull(path, "path is null");
         this.metrics = requireNonNull(metrics, "metrics is null");
         this.partitionDataJson = requireNonNull(partitionDataJson, "partitionDataJson is null");
+        this.referencedDataFile = requireNonNull(referencedDataFile, "referencedDataFile is null");
     }
 
     @JsonProperty
@@ -54,4 +57,13 @@ public class CommitTaskData
     {
         return partitionDataJson;
     }
+
+    /**
+     * The data file whose rows are deleted, if this is a positional delete file.
+     */
+    @JsonProperty
+    public Optional<String> getReferencedDataFile()
+    {
+        return referencedDataFile;
+    }
 }
@@ -98,7 +98,12 @@ public class HiveTableOperations
 
     public HiveTableOperations(HiveMetastore metastore, HdfsEnvironment hdfsEnvironment, HdfsContext hdfsContext, HiveIdentity identity, String database, String table)
     {
-        this(new HdfsFileIo(hdfsEnvironment, hdfsContext), metastore, identity, database, table, Optional.empty(), Optional.empty());
+        this(new HdfsFileIo(hdfsEnvironment, hdfsContext), metastore, identity, database, table);
+    }
+
+    public HiveTableOperations(FileIO fileIo, HiveMetastore metastore, HiveIdentity identity, String database, String table)
+    {
+        this(fileIo, metastore, identity, database, table, Optional.empty(), Optional.empty());
     }
 
     public HiveTableOperations(HiveMetastore metastore, HdfsEnvironment hdfsEnvironment, HdfsContext hdfsContext, HiveIdentity identity, String database, String table, String owner, String location)
@@ -21,11 +21,16 @@ import io.prestosql.spi.type.Type;
 import java.util.Objects;
 import java.util.Optional;
 
+import static io.prestosql.spi.type.BigintType.BIGINT;
 import static java.util.Objects.requireNonNull;
 
 public class IcebergColumnHandle
         implements ColumnHandle
 {
+    // Iceberg reserves the top of the field ID space for metadata columns; this is the ID of the row position column
+    public static final int ROW_ID_COLUMN_ID = Integer.MAX_VALUE - 2;
+    public static final String ROW_ID_COLUMN_NAME = "$row_id";
+
     private final int id;
     private final String name;
     private final Type type;
@@ -68,6 +73,16 @@ public class IcebergColumnHandle
         return comment;
     }
 
+    public boolean isRowIdColumn()
+    {
+        return id == ROW_ID_COLUMN_ID;
+    }
+
+    public static IcebergColumnHandle createRowIdColumnHandle()
+    {
+        return new IcebergColumnHandle(ROW_ID_COLUMN_ID, ROW_ID_COLUMN_NAME, BIGINT, Optional.empty());
+    }
+
     @Override
     public int hashCode()
     {
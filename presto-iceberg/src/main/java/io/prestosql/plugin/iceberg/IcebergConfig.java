@@ -14,11 +14,15 @@
 package io.prestosql.plugin.iceberg;
 
 import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+import io.airlift.units.DataSize;
 import io.prestosql.plugin.hive.HiveCompressionCodec;
 import org.apache.iceberg.FileFormat;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.prestosql.plugin.hive.HiveCompressionCodec.GZIP;
 import static io.prestosql.plugin.iceberg.IcebergFileFormat.ORC;
 
@@ -26,6 +30,8 @@ public class IcebergConfig
 {
     private IcebergFileFormat fileFormat = ORC;
     private HiveCompressionCodec compressionCodec = GZIP;
+    private int manifestLoaderConcurrency = 8;
+    private DataSize manifestCacheMaxSize = DataSize.of(64, MEGABYTE);
 
     @NotNull
     public FileFormat getFileFormat()
@@ -52,4 +58,32 @@ public class IcebergConfig
         this.compressionCodec = compressionCodec;
         return this;
     }
+
+    @Min(1)
+    public int getManifestLoaderConcurrency()
+    {
+        return manifestLoaderConcurrency;
+    }
+
+    @Config("iceberg.manifest-loader-concurrency")
+    @ConfigDescription("Number of manifest files read in parallel while planning splits of a table scan")
+    public IcebergConfig setManifestLoaderConcurrency(int manifestLoaderConcurrency)
+    {
+        this.manifestLoaderConcurrency = manifestLoaderConcurrency;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getManifestCacheMaxSize()
+    {
+        return manifestCacheMaxSize;
+    }
+
+    @Config("iceberg.manifest-cache-size")
+    @ConfigDescription("Maximum estimated memory of the parsed manifests cached on the coordinator, zero disables the cache")
+    public IcebergConfig setManifestCacheMaxSize(DataSize manifestCacheMaxSize)
+    {
+        this.manifestCacheMaxSize = manifestCacheMaxSize;
+        return this;
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.iceberg;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.iceberg.FileFormat;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A positional delete file that applies to the data file of a split.
+ */
+public class IcebergDeleteFile
+{
+    private final String path;
+    private final FileFormat fileFormat;
+    private final long fileSizeInBytes;
+
+    @JsonCreator
+    public IcebergDeleteFile(
+            @JsonProperty("path") String path,
+            @JsonProperty("fileFormat") FileFormat fileFormat,
+            @JsonProperty("fileSizeInBytes") long fileSizeInBytes)
+    {
+        this.path = requireNonNull(path, "path is null");
+        this.fileFormat = requireNonNull(fileFormat, "fileFormat is null");
+        this.fileSizeInBytes = fileSizeInBytes;
+    }
+
+    @JsonProperty
+    public String getPath()
+    {
+        return path;
+    }
+
+    @JsonProperty
+    public FileFormat getFileFormat()
+    {
+        return fileFormat;
+    }
+
+    @JsonProperty
+    public long getFileSizeInBytes()
+    {
+        return fileSizeInBytes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .addValue(path)
+                .add("fileFormat", fileFormat)
+                .toString();
+    }
+}
@@ -26,6 +26,7 @@ import io.prestosql.plugin.hive.FileFormatDataSourceStats;
 import io.prestosql.plugin.hive.HdfsEnvironment;
 import io.prestosql.plugin.hive.HdfsEnvironment.HdfsContext;
 import io.prestosql.plugin.hive.NodeVersion;
+import io.prestosql.plugin.hive.orc.ForOrcStripeFlush;
 import io.prestosql.plugin.hive.orc.HdfsOrcDataSource;
 import io.prestosql.plugin.hive.orc.OrcWriterConfig;
 import io.prestosql.spi.PrestoException;
@@ -46,6 +47,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
@@ -63,6 +65,7 @@ import static io.prestosql.plugin.iceberg.IcebergSessionProperties.getOrcWriterM
 import static io.prestosql.plugin.iceberg.IcebergSessionProperties.getOrcWriterMinStripeSize;
 import static io.prestosql.plugin.iceberg.IcebergSessionProperties.getOrcWriterValidateMode;
 import static io.prestosql.plugin.iceberg.IcebergSessionProperties.getParquetWriterBlockSize;
+import static io.prestosql.plugin.iceberg.IcebergSessionProperties.getParquetWriterDictionaryMaxMemory;
 import static io.prestosql.plugin.iceberg.IcebergSessionProperties.getParquetWriterPageSize;
 import static io.prestosql.plugin.iceberg.IcebergSessionProperties.isOrcWriterValidate;
 import static io.prestosql.plugin.iceberg.TypeConverter.toOrcType;
@@ -80,6 +83,7 @@ public class IcebergFileWriterFactory
     private final FileFormatDataSourceStats readStats;
     private final OrcWriterStats orcWriterStats = new OrcWriterStats();
     private final OrcWriterOptions orcWriterOptions;
+    private final Optional<Executor> orcStripeFlushExecutor;
 
     @Inject
     public IcebergFileWriterFactory(
@@ -87,7 +91,8 @@ public class IcebergFileWriterFactory
             TypeManager typeManager,
             NodeVersion nodeVersion,
             FileFormatDataSourceStats readStats,
-            OrcWriterConfig orcWriterConfig)
+            OrcWriterConfig orcWriterConfig,
+            @ForOrcStripeFlush Optional<Executor> orcStripeFlushExecutor)
     {
         checkArgument(!requireNonNull(orcWriterConfig, "orcWriterConfig is null").isUseLegacyVersion(), "the ORC writer shouldn't be configured to use a legacy version");
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
@@ -95,6 +100,7 @@ public class IcebergFileWriterFactory
         this.nodeVersion = requireNonNull(nodeVersion, "nodeVersion is null");
         this.readStats = requireNonNull(readStats, "readStats is null");
         this.orcWriterOptions = orcWriterConfig.toOrcWriterOptions();
+        this.orcStripeFlushExecutor = requireNonNull(orcStripeFlushExecutor, "orcStripeFlushExecutor is null");
     }
 
     @Managed
@@ -145,6 +151,7 @@ public class IcebergFileWriterFactory
             ParquetWriterOptions parquetWriterOptions = ParquetWriterOptions.builder()
                     .setMaxPageSize(getParquetWriterPageSize(session))
                     .setMaxPageSize(getParquetWriterBlockSize(session))
+                    .setMaxDictionaryMemory(getParquetWriterDictionaryMaxMemory(session))
                     .build();
 
             return new IcebergParquetFileWriter(
@@ -227,7 +234,8 @@ public class IcebergFileWriterFactory
                             .build(),
                     validationInputFactory,
                     getOrcWriterValidateMode(session),
-                    orcWriterStats);
+                    orcWriterStats,
+                    orcStripeFlushExecutor);
         }
         catch (IOException e) {
             throw new PrestoException(ICEBERG_WRITER_OPEN_ERROR, "Error creating ORC file", e);
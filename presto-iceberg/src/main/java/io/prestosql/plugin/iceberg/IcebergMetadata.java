@@ -16,6 +16,8 @@ package io.prestosql.plugin.iceberg;
 import com.google.common.base.VerifyException;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import io.airlift.json.JsonCodec;
 import io.airlift.slice.Slice;
 import io.prestosql.plugin.base.classloader.ClassLoaderSafeSystemTable;
@@ -29,6 +31,7 @@ import io.prestosql.plugin.hive.metastore.Database;
 import io.prestosql.plugin.hive.metastore.HiveMetastore;
 import io.prestosql.plugin.hive.metastore.HivePrincipal;
 import io.prestosql.plugin.hive.metastore.Table;
+import io.prestosql.plugin.hive.util.ZOrder;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.connector.CatalogSchemaName;
 import io.prestosql.spi.connector.ColumnHandle;
@@ -59,9 +62,11 @@ import org.apache.hadoop.fs.Path;
 import org.apache.iceberg.AppendFiles;
 import org.apache.iceberg.DataFiles;
 import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.FileMetadata;
 import org.apache.iceberg.PartitionField;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.PartitionSpecParser;
+import org.apache.iceberg.RowDelta;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.SchemaParser;
 import org.apache.iceberg.Snapshot;
@@ -93,17 +98,25 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static io.prestosql.plugin.hive.HiveMetadata.TABLE_COMMENT;
 import static io.prestosql.plugin.hive.util.HiveWriteUtils.getTableDefaultLocation;
 import static io.prestosql.plugin.iceberg.ExpressionConverter.toIcebergExpression;
+import static io.prestosql.plugin.iceberg.IcebergColumnHandle.createRowIdColumnHandle;
 import static io.prestosql.plugin.iceberg.IcebergSchemaProperties.getSchemaLocation;
 import static io.prestosql.plugin.iceberg.IcebergTableProperties.FILE_FORMAT_PROPERTY;
+import static io.prestosql.plugin.iceberg.IcebergTableProperties.FORMAT_VERSION_PROPERTY;
 import static io.prestosql.plugin.iceberg.IcebergTableProperties.PARTITIONING_PROPERTY;
+import static io.prestosql.plugin.iceberg.IcebergTableProperties.Z_ORDER_BY_PROPERTY;
 import static io.prestosql.plugin.iceberg.IcebergTableProperties.getFileFormat;
+import static io.prestosql.plugin.iceberg.IcebergTableProperties.getFormatVersion;
 import static io.prestosql.plugin.iceberg.IcebergTableProperties.getPartitioning;
 import static io.prestosql.plugin.iceberg.IcebergTableProperties.getTableLocation;
+import static io.prestosql.plugin.iceberg.IcebergTableProperties.getZOrderBy;
+import static io.prestosql.plugin.iceberg.IcebergUtil.Z_ORDER_BY_KEY;
 import static io.prestosql.plugin.iceberg.IcebergUtil.getColumns;
 import static io.prestosql.plugin.iceberg.IcebergUtil.getDataPath;
 import static io.prestosql.plugin.iceberg.IcebergUtil.getFileFormat;
+import static io.prestosql.plugin.iceberg.IcebergUtil.getFormatVersion;
 import static io.prestosql.plugin.iceberg.IcebergUtil.getIcebergTable;
 import static io.prestosql.plugin.iceberg.IcebergUtil.getTableComment;
+import static io.prestosql.plugin.iceberg.IcebergUtil.getZOrderBy;
 import static io.prestosql.plugin.iceberg.IcebergUtil.isIcebergTable;
 import static io.prestosql.plugin.iceberg.PartitionFields.parsePartitionFields;
 import static io.prestosql.plugin.iceberg.PartitionFields.toPartitionFields;
@@ -111,9 +124,10 @@ import static io.prestosql.plugin.iceberg.TableType.DATA;
 import static io.prestosql.plugin.iceberg.TypeConverter.toIcebergType;
 import static io.prestosql.plugin.iceberg.TypeConverter.toPrestoType;
 import static io.prestosql.spi.StandardErrorCode.INVALID_SCHEMA_PROPERTY;
+import static io.prestosql.spi.StandardErrorCode.INVALID_TABLE_PROPERTY;
 import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
 import static io.prestosql.spi.StandardErrorCode.SCHEMA_NOT_EMPTY;
-import static io.prestosql.spi.type.BigintType.BIGINT;
+import static java.lang.String.format;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Function.identity;
@@ -401,14 +415,27 @@ public class IcebergMetadata
             throw new TableAlreadyExistsException(schemaTableName);
         }
 
-        ImmutableMap.Builder<String, String> propertiesBuilder = ImmutableMap.builderWithExpectedSize(2);
+        ImmutableMap.Builder<String, String> propertiesBuilder = ImmutableMap.builderWithExpectedSize(3);
         FileFormat fileFormat = getFileFormat(tableMetadata.getProperties());
         propertiesBuilder.put(DEFAULT_FILE_FORMAT, fileFormat.toString());
         if (tableMetadata.getComment().isPresent()) {
             propertiesBuilder.put(TABLE_COMMENT, tableMetadata.getComment().get());
         }
+        List<String> zOrderBy = getZOrderBy(tableMetadata.getProperties());
+        if (!zOrderBy.isEmpty()) {
+            validateZOrderBy(tableMetadata.getColumns(), zOrderBy);
+            propertiesBuilder.put(Z_ORDER_BY_KEY, String.join(",", zOrderBy));
+        }
+
+        int formatVersion = getFormatVersion(tableMetadata.getProperties());
+        if (formatVersion != 1 && formatVersion != 2) {
+            throw new PrestoException(INVALID_TABLE_PROPERTY, format("Unsupported %s: %s", FORMAT_VERSION_PROPERTY, formatVersion));
+        }
 
         TableMetadata metadata = newTableMetadata(schema, partitionSpec, targetPath, propertiesBuilder.build());
+        if (formatVersion != 1) {
+            metadata = metadata.upgradeToFormatVersion(formatVersion);
+        }
 
         transaction = createTableTransaction(tableName, operations, metadata);
 
@@ -419,7 +446,25 @@ public class IcebergMetadata
                 PartitionSpecParser.toJson(metadata.spec()),
                 getColumns(metadata.schema(), typeManager),
                 targetPath,
-                fileFormat);
+                fileFormat,
+                zOrderBy);
+    }
+
+    private static void validateZOrderBy(List<ColumnMetadata> columns, List<String> zOrderBy)
+    {
+        if (ImmutableSet.copyOf(zOrderBy).size() != zOrderBy.size()) {
+            throw new PrestoException(INVALID_TABLE_PROPERTY, "Duplicate columns in " + Z_ORDER_BY_PROPERTY + " table property: " + zOrderBy);
+        }
+        Map<String, ColumnMetadata> columnsByName = Maps.uniqueIndex(columns, ColumnMetadata::getName);
+        for (String column : zOrderBy) {
+            ColumnMetadata columnMetadata = columnsByName.get(column);
+            if (columnMetadata == null) {
+                throw new PrestoException(INVALID_TABLE_PROPERTY, "Z-order column does not exist in table: " + column);
+            }
+            if (!ZOrder.isSupportedType(columnMetadata.getType())) {
+                throw new PrestoException(INVALID_TABLE_PROPERTY, "Z-order column '" + column + "' has unsupported type: " + columnMetadata.getType());
+            }
+        }
     }
 
     @Override
@@ -443,7 +488,8 @@ public class IcebergMetadata
                 PartitionSpecParser.toJson(icebergTable.spec()),
                 getColumns(icebergTable.schema(), typeManager),
                 getDataPath(icebergTable.location()),
-                getFileFormat(icebergTable));
+                getFileFormat(icebergTable),
+                getZOrderBy(icebergTable));
     }
 
     @Override
@@ -456,10 +502,7 @@ public class IcebergMetadata
                 .map(slice -> commitTaskCodec.fromJson(slice.getBytes()))
                 .collect(toImmutableList());
 
-        Type[] partitionColumnTypes = icebergTable.spec().fields().stream()
-                .map(field -> field.transform().getResultType(
-                        icebergTable.schema().findType(field.sourceId())))
-                .toArray(Type[]::new);
+        Type[] partitionColumnTypes = getPartitionColumnTypes(icebergTable);
 
         AppendFiles appendFiles = transaction.newFastAppend();
         for (CommitTaskData task : commitTasks) {
@@ -487,10 +530,18 @@ public class IcebergMetadata
                 .collect(toImmutableList())));
     }
 
+    private static Type[] getPartitionColumnTypes(org.apache.iceberg.Table icebergTable)
+    {
+        return icebergTable.spec().fields().stream()
+                .map(field -> field.transform().getResultType(
+                        icebergTable.schema().findType(field.sourceId())))
+                .toArray(Type[]::new);
+    }
+
     @Override
     public ColumnHandle getUpdateRowIdColumnHandle(ConnectorSession session, ConnectorTableHandle tableHandle)
     {
-        return new IcebergColumnHandle(0, "$row_id", BIGINT, Optional.empty());
+        return createRowIdColumnHandle();
     }
 
     @Override
@@ -555,6 +606,14 @@ public class IcebergMetadata
         if (!icebergTable.spec().fields().isEmpty()) {
             properties.put(PARTITIONING_PROPERTY, toPartitionFields(icebergTable.spec()));
         }
+        List<String> zOrderBy = getZOrderBy(icebergTable);
+        if (!zOrderBy.isEmpty()) {
+            properties.put(Z_ORDER_BY_PROPERTY, zOrderBy);
+        }
+        int formatVersion = getFormatVersion(icebergTable);
+        if (formatVersion != 1) {
+            properties.put(FORMAT_VERSION_PROPERTY, formatVersion);
+        }
 
         return new ConnectorTableMetadata(table, columns, properties.build(), getTableComment(icebergTable));
     }
@@ -601,7 +660,65 @@ public class IcebergMetadata
     @Override
     public ConnectorTableHandle beginDelete(ConnectorSession session, ConnectorTableHandle tableHandle)
     {
-        throw new PrestoException(NOT_SUPPORTED, "This connector only supports delete where one or more partitions are deleted entirely");
+        IcebergTableHandle table = (IcebergTableHandle) tableHandle;
+        org.apache.iceberg.Table icebergTable = getIcebergTable(metastore, hdfsEnvironment, session, table.getSchemaTableName());
+
+        // row-level deletes need positional delete files, which only exist in format version 2
+        if (getFormatVersion(icebergTable) < 2) {
+            throw new PrestoException(NOT_SUPPORTED, "This connector only supports delete where one or more partitions are deleted entirely");
+        }
+        if (getFileFormat(icebergTable) != FileFormat.ORC) {
+            throw new PrestoException(NOT_SUPPORTED, "Row-level deletes are only supported for ORC data files");
+        }
+
+        transaction = icebergTable.newTransaction();
+
+        return table;
+    }
+
+    @Override
+    public void finishDelete(ConnectorSession session, ConnectorTableHandle tableHandle, Collection<Slice> fragments)
+    {
+        IcebergTableHandle table = (IcebergTableHandle) tableHandle;
+        org.apache.iceberg.Table icebergTable = transaction.table();
+
+        List<CommitTaskData> commitTasks = fragments.stream()
+                .map(slice -> commitTaskCodec.fromJson(slice.getBytes()))
+                .collect(toImmutableList());
+
+        Type[] partitionColumnTypes = getPartitionColumnTypes(icebergTable);
+
+        Set<String> referencedDataFiles = commitTasks.stream()
+                .map(CommitTaskData::getReferencedDataFile)
+                .flatMap(Optional::stream)
+                .collect(toImmutableSet());
+
+        // fail if the deleted data files were removed, or rows matching the predicate were added, since the snapshot the scan read
+        RowDelta rowDelta = transaction.newRowDelta()
+                .validateDataFilesExist(referencedDataFiles)
+                .validateDeletedFiles()
+                .validateNoConflictingAppends(toIcebergExpression(table.getPredicate()));
+        table.getSnapshotId().ifPresent(rowDelta::validateFromSnapshot);
+        for (CommitTaskData task : commitTasks) {
+            HdfsContext context = new HdfsContext(session, table.getSchemaName(), table.getTableName());
+
+            FileMetadata.Builder builder = FileMetadata.deleteFileBuilder(icebergTable.spec())
+                    .ofPositionDeletes()
+                    .withInputFile(new HdfsInputFile(new Path(task.getPath()), hdfsEnvironment, context))
+                    .withFormat(FileFormat.fromFileName(task.getPath()))
+                    .withMetrics(task.getMetrics().metrics());
+
+            if (!icebergTable.spec().fields().isEmpty()) {
+                String partitionDataJson = task.getPartitionDataJson()
+                        .orElseThrow(() -> new VerifyException("No partition data for partitioned table"));
+                builder.withPartition(PartitionData.fromJson(partitionDataJson, partitionColumnTypes));
+            }
+
+            rowDelta.addDeletes(builder.build());
+        }
+
+        rowDelta.commit();
+        transaction.commitTransaction();
     }
 
     @Override
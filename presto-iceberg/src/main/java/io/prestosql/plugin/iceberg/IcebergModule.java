@@ -15,13 +15,17 @@ package io.prestosql.plugin.iceberg;
 
 import com.google.inject.Binder;
 import com.google.inject.Module;
+import com.google.inject.Provides;
 import com.google.inject.Scopes;
 import com.google.inject.multibindings.Multibinder;
+import io.prestosql.plugin.base.CatalogName;
 import io.prestosql.plugin.hive.FileFormatDataSourceStats;
+import io.prestosql.plugin.hive.FileMetadataCache;
 import io.prestosql.plugin.hive.HiveConfig;
 import io.prestosql.plugin.hive.HiveHdfsModule;
 import io.prestosql.plugin.hive.HiveNodePartitioningProvider;
 import io.prestosql.plugin.hive.metastore.MetastoreConfig;
+import io.prestosql.plugin.hive.orc.ForOrcStripeFlush;
 import io.prestosql.plugin.hive.orc.OrcReaderConfig;
 import io.prestosql.plugin.hive.orc.OrcWriterConfig;
 import io.prestosql.plugin.hive.parquet.ParquetReaderConfig;
@@ -32,9 +36,18 @@ import io.prestosql.spi.connector.ConnectorPageSourceProvider;
 import io.prestosql.spi.connector.ConnectorSplitManager;
 import io.prestosql.spi.procedure.Procedure;
 
+import javax.inject.Singleton;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.airlift.configuration.ConfigBinder.configBinder;
 import static io.airlift.json.JsonCodecBinder.jsonCodecBinder;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.weakref.jmx.guice.ExportBinder.newExporter;
 
 public class IcebergModule
@@ -72,10 +85,37 @@ public class IcebergModule
         binder.bind(FileFormatDataSourceStats.class).in(Scopes.SINGLETON);
         newExporter(binder).export(FileFormatDataSourceStats.class).withGeneratedName();
 
+        binder.bind(FileMetadataCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(FileMetadataCache.class).withGeneratedName();
+
+        binder.bind(ManifestCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(ManifestCache.class).withGeneratedName();
+
         binder.bind(IcebergFileWriterFactory.class).in(Scopes.SINGLETON);
         newExporter(binder).export(IcebergFileWriterFactory.class).withGeneratedName();
 
         Multibinder<Procedure> procedures = newSetBinder(binder, Procedure.class);
         procedures.addBinding().toProvider(RollbackToSnapshotProcedure.class).in(Scopes.SINGLETON);
     }
+
+    @ForIcebergSplitManager
+    @Singleton
+    @Provides
+    public ExecutorService createSplitManagerExecutor(CatalogName catalogName)
+    {
+        return newCachedThreadPool(daemonThreadsNamed("iceberg-split-manager-" + catalogName + "-%s"));
+    }
+
+    @ForOrcStripeFlush
+    @Singleton
+    @Provides
+    public Optional<Executor> createOrcStripeFlushExecutor(CatalogName catalogName, OrcWriterConfig orcWriterConfig)
+    {
+        if (orcWriterConfig.getStripeFlushThreads() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(newFixedThreadPool(
+                orcWriterConfig.getStripeFlushThreads(),
+                daemonThreadsNamed("iceberg-orc-stripe-flush-" + catalogName + "-%s")));
+    }
 }
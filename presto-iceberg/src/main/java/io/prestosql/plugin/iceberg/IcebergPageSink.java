@@ -16,12 +16,14 @@ package io.prestosql.plugin.iceberg;
 import com.google.common.collect.ImmutableList;
 import io.airlift.json.JsonCodec;
 import io.airlift.slice.Slice;
+import io.airlift.units.DataSize;
 import io.prestosql.plugin.hive.HdfsEnvironment;
 import io.prestosql.plugin.hive.HdfsEnvironment.HdfsContext;
 import io.prestosql.plugin.iceberg.PartitionTransforms.ColumnTransform;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PageIndexer;
 import io.prestosql.spi.PageIndexerFactory;
+import io.prestosql.spi.PageSorter;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.ConnectorPageSink;
@@ -36,8 +38,10 @@ import io.prestosql.spi.type.RealType;
 import io.prestosql.spi.type.SmallintType;
 import io.prestosql.spi.type.TinyintType;
 import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.TypeOperators;
 import io.prestosql.spi.type.VarbinaryType;
 import io.prestosql.spi.type.VarcharType;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.iceberg.FileFormat;
@@ -46,6 +50,7 @@ import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.transforms.Transform;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -60,7 +65,9 @@ import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.airlift.slice.Slices.wrappedBuffer;
 import static io.prestosql.plugin.hive.util.ConfigurationUtils.toJobConf;
+import static io.prestosql.plugin.iceberg.IcebergErrorCode.ICEBERG_INVALID_METADATA;
 import static io.prestosql.plugin.iceberg.IcebergErrorCode.ICEBERG_TOO_MANY_OPEN_PARTITIONS;
+import static io.prestosql.plugin.iceberg.IcebergErrorCode.ICEBERG_WRITER_OPEN_ERROR;
 import static io.prestosql.plugin.iceberg.PartitionTransforms.getColumnTransform;
 import static io.prestosql.plugin.iceberg.util.Timestamps.getTimestampTz;
 import static io.prestosql.plugin.iceberg.util.Timestamps.timestampTzToMicros;
@@ -94,6 +101,12 @@ public class IcebergPageSink
     private final ConnectorSession session;
     private final FileFormat fileFormat;
     private final PagePartitioner pagePartitioner;
+    private final List<Type> inputTypes;
+    private final List<Integer> zOrderFields;
+    private final PageSorter pageSorter;
+    private final TypeOperators typeOperators;
+    private final DataSize sortBufferSize;
+    private final int maxOpenSortFiles;
 
     private final List<WriteContext> writers = new ArrayList<>();
 
@@ -112,7 +125,12 @@ public class IcebergPageSink
             List<IcebergColumnHandle> inputColumns,
             JsonCodec<CommitTaskData> jsonCodec,
             ConnectorSession session,
-            FileFormat fileFormat)
+            FileFormat fileFormat,
+            List<String> zOrderBy,
+            PageSorter pageSorter,
+            TypeOperators typeOperators,
+            DataSize sortBufferSize,
+            int maxOpenSortFiles)
     {
         requireNonNull(inputColumns, "inputColumns is null");
         this.outputSchema = requireNonNull(outputSchema, "outputSchema is null");
@@ -126,6 +144,14 @@ public class IcebergPageSink
         this.session = requireNonNull(session, "session is null");
         this.fileFormat = requireNonNull(fileFormat, "fileFormat is null");
         this.pagePartitioner = new PagePartitioner(pageIndexerFactory, toPartitionColumns(inputColumns, partitionSpec));
+        this.inputTypes = inputColumns.stream()
+                .map(IcebergColumnHandle::getType)
+                .collect(toImmutableList());
+        this.zOrderFields = toZOrderFields(inputColumns, requireNonNull(zOrderBy, "zOrderBy is null"));
+        this.pageSorter = requireNonNull(pageSorter, "pageSorter is null");
+        this.typeOperators = requireNonNull(typeOperators, "typeOperators is null");
+        this.sortBufferSize = requireNonNull(sortBufferSize, "sortBufferSize is null");
+        this.maxOpenSortFiles = maxOpenSortFiles;
     }
 
     @Override
@@ -165,7 +191,8 @@ public class IcebergPageSink
             CommitTaskData task = new CommitTaskData(
                     context.getPath().toString(),
                     new MetricsWrapper(context.writer.getMetrics()),
-                    context.getPartitionData().map(PartitionData::toJson));
+                    context.getPartitionData().map(PartitionData::toJson),
+                    Optional.empty());
 
             commitTasks.add(wrappedBuffer(jsonCodec.toJsonBytes(task)));
         }
@@ -314,6 +341,27 @@ public class IcebergPageSink
                 hdfsContext,
                 fileFormat);
 
+        if (!zOrderFields.isEmpty()) {
+            Path tempFilePath = new Path(outputPath.getParent(), ".tmp-sort." + outputPath.getName());
+            FileSystem fileSystem;
+            try {
+                fileSystem = hdfsEnvironment.getFileSystem(hdfsContext, tempFilePath);
+            }
+            catch (IOException e) {
+                throw new PrestoException(ICEBERG_WRITER_OPEN_ERROR, e);
+            }
+            writer = new IcebergZOrderFileWriter(
+                    fileSystem,
+                    tempFilePath,
+                    writer,
+                    sortBufferSize,
+                    maxOpenSortFiles,
+                    inputTypes,
+                    zOrderFields,
+                    pageSorter,
+                    typeOperators);
+        }
+
         return new WriteContext(writer, outputPath, partitionData);
     }
 
@@ -381,6 +429,24 @@ public class IcebergPageSink
         throw new UnsupportedOperationException("Type not supported as partition column: " + type.getDisplayName());
     }
 
+    private static List<Integer> toZOrderFields(List<IcebergColumnHandle> handles, List<String> zOrderBy)
+    {
+        Map<String, Integer> nameChannels = new HashMap<>();
+        for (int i = 0; i < handles.size(); i++) {
+            nameChannels.put(handles.get(i).getName(), i);
+        }
+
+        return zOrderBy.stream()
+                .map(name -> {
+                    Integer channel = nameChannels.get(name);
+                    if (channel == null) {
+                        throw new PrestoException(ICEBERG_INVALID_METADATA, "Z-order column not found: " + name);
+                    }
+                    return channel;
+                })
+                .collect(toImmutableList());
+    }
+
     private static List<PartitionColumn> toPartitionColumns(List<IcebergColumnHandle> handles, PartitionSpec partitionSpec)
     {
         Map<Integer, Integer> idChannels = new HashMap<>();
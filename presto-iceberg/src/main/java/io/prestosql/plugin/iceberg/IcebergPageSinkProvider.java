@@ -14,15 +14,19 @@
 package io.prestosql.plugin.iceberg;
 
 import io.airlift.json.JsonCodec;
+import io.airlift.units.DataSize;
 import io.prestosql.plugin.hive.HdfsEnvironment;
 import io.prestosql.plugin.hive.HdfsEnvironment.HdfsContext;
+import io.prestosql.plugin.hive.HiveConfig;
 import io.prestosql.spi.PageIndexerFactory;
+import io.prestosql.spi.PageSorter;
 import io.prestosql.spi.connector.ConnectorInsertTableHandle;
 import io.prestosql.spi.connector.ConnectorOutputTableHandle;
 import io.prestosql.spi.connector.ConnectorPageSink;
 import io.prestosql.spi.connector.ConnectorPageSinkProvider;
 import io.prestosql.spi.connector.ConnectorSession;
 import io.prestosql.spi.connector.ConnectorTransactionHandle;
+import io.prestosql.spi.type.TypeManager;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.PartitionSpecParser;
 import org.apache.iceberg.Schema;
@@ -39,18 +43,29 @@ public class IcebergPageSinkProvider
     private final JsonCodec<CommitTaskData> jsonCodec;
     private final IcebergFileWriterFactory fileWriterFactory;
     private final PageIndexerFactory pageIndexerFactory;
+    private final PageSorter pageSorter;
+    private final TypeManager typeManager;
+    private final DataSize sortBufferSize;
+    private final int maxOpenSortFiles;
 
     @Inject
     public IcebergPageSinkProvider(
             HdfsEnvironment hdfsEnvironment,
             JsonCodec<CommitTaskData> jsonCodec,
             IcebergFileWriterFactory fileWriterFactory,
-            PageIndexerFactory pageIndexerFactory)
+            PageIndexerFactory pageIndexerFactory,
+            PageSorter pageSorter,
+            TypeManager typeManager,
+            HiveConfig hiveConfig)
     {
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.jsonCodec = requireNonNull(jsonCodec, "jsonCodec is null");
         this.fileWriterFactory = requireNonNull(fileWriterFactory, "fileWriterFactory is null");
         this.pageIndexerFactory = requireNonNull(pageIndexerFactory, "pageIndexerFactory is null");
+        this.pageSorter = requireNonNull(pageSorter, "pageSorter is null");
+        this.typeManager = requireNonNull(typeManager, "typeManager is null");
+        this.sortBufferSize = hiveConfig.getWriterSortBufferSize();
+        this.maxOpenSortFiles = hiveConfig.getMaxOpenSortFiles();
     }
 
     @Override
@@ -81,6 +96,11 @@ public class IcebergPageSinkProvider
                 tableHandle.getInputColumns(),
                 jsonCodec,
                 session,
-                tableHandle.getFileFormat());
+                tableHandle.getFileFormat(),
+                tableHandle.getZOrderBy(),
+                pageSorter,
+                typeManager.getTypeOperators(),
+                sortBufferSize,
+                maxOpenSortFiles);
     }
 }
@@ -13,6 +13,7 @@
  */
 package io.prestosql.plugin.iceberg;
 
+import com.google.common.collect.ImmutableList;
 import io.airlift.slice.Slice;
 import io.airlift.slice.SliceUtf8;
 import io.prestosql.spi.Page;
@@ -20,6 +21,7 @@ import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.block.RunLengthEncodedBlock;
 import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.connector.UpdatablePageSource;
 import io.prestosql.spi.predicate.Utils;
 import io.prestosql.spi.type.DecimalType;
 import io.prestosql.spi.type.Decimals;
@@ -32,8 +34,11 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static com.google.common.base.Throwables.throwIfInstanceOf;
 import static io.airlift.slice.Slices.utf8Slice;
@@ -41,6 +46,7 @@ import static io.prestosql.plugin.iceberg.IcebergErrorCode.ICEBERG_BAD_DATA;
 import static io.prestosql.plugin.iceberg.IcebergErrorCode.ICEBERG_INVALID_PARTITION_VALUE;
 import static io.prestosql.plugin.iceberg.util.Timestamps.timestampTzFromMicros;
 import static io.prestosql.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
+import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
 import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.BooleanType.BOOLEAN;
 import static io.prestosql.spi.type.DateType.DATE;
@@ -59,29 +65,43 @@ import static java.lang.Float.parseFloat;
 import static java.lang.Long.parseLong;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
 public class IcebergPageSource
-        implements ConnectorPageSource
+        implements UpdatablePageSource
 {
     private final Block[] prefilledBlocks;
     private final int[] delegateIndexes;
     private final ConnectorPageSource delegate;
+    private final Optional<PositionDeleteFilter> deleteFilter;
+    private final int rowPositionChannel;
+    private final Optional<IcebergPositionDeleteWriter> deleteWriter;
 
+    /**
+     * The delegate produces the non-partition columns in order. When {@code deleteFilter} is present
+     * and no row ID column is requested, the delegate produces the file row position as an extra
+     * trailing channel.
+     */
     public IcebergPageSource(
             List<IcebergColumnHandle> columns,
             Map<Integer, String> partitionKeys,
             ConnectorPageSource delegate,
+            Optional<PositionDeleteFilter> deleteFilter,
+            Optional<IcebergPositionDeleteWriter> deleteWriter,
             TimeZoneKey timeZoneKey)
     {
         int size = requireNonNull(columns, "columns is null").size();
         requireNonNull(partitionKeys, "partitionKeys is null");
         this.delegate = requireNonNull(delegate, "delegate is null");
+        this.deleteFilter = requireNonNull(deleteFilter, "deleteFilter is null");
+        this.deleteWriter = requireNonNull(deleteWriter, "deleteWriter is null");
 
         this.prefilledBlocks = new Block[size];
         this.delegateIndexes = new int[size];
 
         int outputIndex = 0;
         int delegateIndex = 0;
+        int rowIdChannel = -1;
         for (IcebergColumnHandle column : columns) {
             if (partitionKeys.containsKey(column.getId())) {
                 String partitionValue = partitionKeys.get(column.getId());
@@ -91,11 +111,15 @@ public class IcebergPageSource
                 delegateIndexes[outputIndex] = -1;
             }
             else {
+                if (column.isRowIdColumn()) {
+                    rowIdChannel = delegateIndex;
+                }
                 delegateIndexes[outputIndex] = delegateIndex;
                 delegateIndex++;
             }
             outputIndex++;
         }
+        this.rowPositionChannel = rowIdChannel == -1 ? delegateIndex : rowIdChannel;
     }
 
     @Override
@@ -124,6 +148,9 @@ public class IcebergPageSource
             if (dataPage == null) {
                 return null;
             }
+            if (deleteFilter.isPresent()) {
+                dataPage = deleteFilter.get().filter(dataPage, rowPositionChannel);
+            }
             int batchSize = dataPage.getPositionCount();
             Block[] blocks = new Block[prefilledBlocks.length];
             for (int i = 0; i < prefilledBlocks.length; i++) {
@@ -143,6 +170,19 @@ public class IcebergPageSource
         }
     }
 
+    @Override
+    public void deleteRows(Block rowIds)
+    {
+        deleteWriter.orElseThrow(() -> new PrestoException(NOT_SUPPORTED, "Deleting rows is not supported for this table"))
+                .appendPositions(rowIds);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Slice>> finish()
+    {
+        return completedFuture(deleteWriter.map(IcebergPositionDeleteWriter::finish).orElseGet(ImmutableList::of));
+    }
+
     @Override
     public void close()
     {
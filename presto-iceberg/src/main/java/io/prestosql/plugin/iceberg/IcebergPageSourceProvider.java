@@ -15,11 +15,14 @@ package io.prestosql.plugin.iceberg;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import io.airlift.json.JsonCodec;
+import io.airlift.slice.Slice;
 import io.prestosql.memory.context.AggregatedMemoryContext;
 import io.prestosql.orc.OrcColumn;
 import io.prestosql.orc.OrcCorruptionException;
 import io.prestosql.orc.OrcDataSource;
 import io.prestosql.orc.OrcDataSourceId;
+import io.prestosql.orc.OrcFileTail;
 import io.prestosql.orc.OrcReader;
 import io.prestosql.orc.OrcReaderOptions;
 import io.prestosql.orc.OrcRecordReader;
@@ -32,9 +35,9 @@ import io.prestosql.parquet.ParquetDataSourceId;
 import io.prestosql.parquet.ParquetReaderOptions;
 import io.prestosql.parquet.RichColumnDescriptor;
 import io.prestosql.parquet.predicate.Predicate;
-import io.prestosql.parquet.reader.MetadataReader;
 import io.prestosql.parquet.reader.ParquetReader;
 import io.prestosql.plugin.hive.FileFormatDataSourceStats;
+import io.prestosql.plugin.hive.FileMetadataCache;
 import io.prestosql.plugin.hive.HdfsEnvironment;
 import io.prestosql.plugin.hive.HdfsEnvironment.HdfsContext;
 import io.prestosql.plugin.hive.orc.HdfsOrcDataSource;
@@ -44,7 +47,9 @@ import io.prestosql.plugin.hive.orc.OrcReaderConfig;
 import io.prestosql.plugin.hive.parquet.HdfsParquetDataSource;
 import io.prestosql.plugin.hive.parquet.ParquetPageSource;
 import io.prestosql.plugin.hive.parquet.ParquetReaderConfig;
+import io.prestosql.spi.Page;
 import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ConnectorPageSource;
 import io.prestosql.spi.connector.ConnectorPageSourceProvider;
@@ -74,6 +79,7 @@ import javax.inject.Inject;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -83,19 +89,24 @@ import java.util.function.Function;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.Maps.uniqueIndex;
+import static io.airlift.slice.Slices.utf8Slice;
 import static io.prestosql.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static io.prestosql.orc.OrcReader.INITIAL_BATCH_SIZE;
+import static io.prestosql.orc.OrcReader.wrapWithCacheIfTiny;
 import static io.prestosql.parquet.ParquetTypeUtils.getColumnIO;
 import static io.prestosql.parquet.ParquetTypeUtils.getDescriptors;
 import static io.prestosql.parquet.ParquetTypeUtils.getParquetTypeByName;
 import static io.prestosql.parquet.predicate.PredicateUtils.buildPredicate;
 import static io.prestosql.parquet.predicate.PredicateUtils.predicateMatches;
 import static io.prestosql.plugin.hive.parquet.ParquetColumnIOConverter.constructField;
+import static io.prestosql.plugin.iceberg.IcebergColumnHandle.createRowIdColumnHandle;
 import static io.prestosql.plugin.iceberg.IcebergErrorCode.ICEBERG_BAD_DATA;
 import static io.prestosql.plugin.iceberg.IcebergErrorCode.ICEBERG_CANNOT_OPEN_SPLIT;
 import static io.prestosql.plugin.iceberg.IcebergErrorCode.ICEBERG_CURSOR_ERROR;
 import static io.prestosql.plugin.iceberg.IcebergErrorCode.ICEBERG_FILESYSTEM_ERROR;
 import static io.prestosql.plugin.iceberg.IcebergErrorCode.ICEBERG_MISSING_DATA;
+import static io.prestosql.plugin.iceberg.IcebergPositionDeleteWriter.DELETE_FILE_PATH_ID;
+import static io.prestosql.plugin.iceberg.IcebergPositionDeleteWriter.DELETE_FILE_POS_ID;
 import static io.prestosql.plugin.iceberg.IcebergSessionProperties.getOrcLazyReadSmallRanges;
 import static io.prestosql.plugin.iceberg.IcebergSessionProperties.getOrcMaxBufferSize;
 import static io.prestosql.plugin.iceberg.IcebergSessionProperties.getOrcMaxMergeDistance;
@@ -108,6 +119,8 @@ import static io.prestosql.plugin.iceberg.IcebergSessionProperties.isOrcBloomFil
 import static io.prestosql.plugin.iceberg.IcebergSessionProperties.isOrcNestedLazy;
 import static io.prestosql.plugin.iceberg.TypeConverter.ORC_ICEBERG_ID_KEY;
 import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
 import static java.lang.String.format;
 import static java.util.Locale.ENGLISH;
 import static java.util.Objects.requireNonNull;
@@ -122,18 +135,27 @@ public class IcebergPageSourceProvider
     private final FileFormatDataSourceStats fileFormatDataSourceStats;
     private final OrcReaderOptions orcReaderOptions;
     private final ParquetReaderOptions parquetReaderOptions;
+    private final FileMetadataCache fileMetadataCache;
+    private final IcebergFileWriterFactory fileWriterFactory;
+    private final JsonCodec<CommitTaskData> jsonCodec;
 
     @Inject
     public IcebergPageSourceProvider(
             HdfsEnvironment hdfsEnvironment,
             FileFormatDataSourceStats fileFormatDataSourceStats,
             OrcReaderConfig orcReaderConfig,
-            ParquetReaderConfig parquetReaderConfig)
+            ParquetReaderConfig parquetReaderConfig,
+            FileMetadataCache fileMetadataCache,
+            IcebergFileWriterFactory fileWriterFactory,
+            JsonCodec<CommitTaskData> jsonCodec)
     {
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.fileFormatDataSourceStats = requireNonNull(fileFormatDataSourceStats, "fileFormatDataSourceStats is null");
         this.orcReaderOptions = requireNonNull(orcReaderConfig, "orcReaderConfig is null").toOrcReaderOptions();
         this.parquetReaderOptions = requireNonNull(parquetReaderConfig, "parquetReaderConfig is null").toParquetReaderOptions();
+        this.fileMetadataCache = requireNonNull(fileMetadataCache, "fileMetadataCache is null");
+        this.fileWriterFactory = requireNonNull(fileWriterFactory, "fileWriterFactory is null");
+        this.jsonCodec = requireNonNull(jsonCodec, "jsonCodec is null");
     }
 
     @Override
@@ -160,6 +182,34 @@ public class IcebergPageSourceProvider
                 .collect(toImmutableList());
 
         HdfsContext hdfsContext = new HdfsContext(session, table.getSchemaName(), table.getTableName());
+
+        Optional<PositionDeleteFilter> deleteFilter = Optional.empty();
+        List<IcebergColumnHandle> delegateColumns = regularColumns;
+        boolean rowIdRequested = regularColumns.stream().anyMatch(IcebergColumnHandle::isRowIdColumn);
+        if (!split.getDeletes().isEmpty()) {
+            deleteFilter = Optional.of(readPositionDeletes(session, hdfsContext, split));
+            if (!rowIdRequested) {
+                // the filter needs the file row position of every row
+                delegateColumns = ImmutableList.<IcebergColumnHandle>builder()
+                        .addAll(regularColumns)
+                        .add(createRowIdColumnHandle())
+                        .build();
+            }
+        }
+
+        Optional<IcebergPositionDeleteWriter> deleteWriter = Optional.empty();
+        if (rowIdRequested) {
+            deleteWriter = Optional.of(new IcebergPositionDeleteWriter(
+                    split.getPath(),
+                    split.getPartitionDataJson(),
+                    split.getFileFormat(),
+                    fileWriterFactory,
+                    hdfsEnvironment,
+                    hdfsContext,
+                    session,
+                    jsonCodec));
+        }
+
         ConnectorPageSource dataPageSource = createDataPageSource(
                 session,
                 hdfsContext,
@@ -167,10 +217,55 @@ public class IcebergPageSourceProvider
                 split.getStart(),
                 split.getLength(),
                 split.getFileFormat(),
-                regularColumns,
+                delegateColumns,
                 table.getPredicate());
 
-        return new IcebergPageSource(icebergColumns, partitionKeys, dataPageSource, session.getTimeZoneKey());
+        return new IcebergPageSource(icebergColumns, partitionKeys, dataPageSource, deleteFilter, deleteWriter, session.getTimeZoneKey());
+    }
+
+    private PositionDeleteFilter readPositionDeletes(ConnectorSession session, HdfsContext hdfsContext, IcebergSplit split)
+    {
+        IcebergColumnHandle filePathColumn = new IcebergColumnHandle(DELETE_FILE_PATH_ID, "file_path", VARCHAR, Optional.empty());
+        IcebergColumnHandle positionColumn = new IcebergColumnHandle(DELETE_FILE_POS_ID, "pos", BIGINT, Optional.empty());
+        Slice dataFilePath = utf8Slice(split.getPath());
+        // delete files are sorted by data file path, so row group statistics skip most entries for other files
+        TupleDomain<IcebergColumnHandle> predicate = TupleDomain.withColumnDomains(ImmutableMap.of(filePathColumn, Domain.singleValue(VARCHAR, dataFilePath)));
+
+        long[] positions = new long[0];
+        int positionCount = 0;
+        for (IcebergDeleteFile deleteFile : split.getDeletes()) {
+            try (ConnectorPageSource pageSource = createDataPageSource(
+                    session,
+                    hdfsContext,
+                    new Path(deleteFile.getPath()),
+                    0,
+                    deleteFile.getFileSizeInBytes(),
+                    deleteFile.getFileFormat(),
+                    ImmutableList.of(filePathColumn, positionColumn),
+                    predicate)) {
+                while (!pageSource.isFinished()) {
+                    Page page = pageSource.getNextPage();
+                    if (page == null) {
+                        continue;
+                    }
+                    Block filePaths = page.getBlock(0).getLoadedBlock();
+                    Block filePositions = page.getBlock(1).getLoadedBlock();
+                    if (positionCount + page.getPositionCount() > positions.length) {
+                        positions = Arrays.copyOf(positions, Math.max(positionCount + page.getPositionCount(), positions.length * 2));
+                    }
+                    for (int position = 0; position < page.getPositionCount(); position++) {
+                        if (VARCHAR.getSlice(filePaths, position).equals(dataFilePath)) {
+                            positions[positionCount] = BIGINT.getLong(filePositions, position);
+                            positionCount++;
+                        }
+                    }
+                }
+            }
+            catch (IOException e) {
+                throw new PrestoException(ICEBERG_FILESYSTEM_ERROR, e);
+            }
+        }
+        return PositionDeleteFilter.create(positions, positionCount);
     }
 
     private ConnectorPageSource createDataPageSource(
@@ -201,6 +296,7 @@ public class IcebergPageSourceProvider
                         start,
                         length,
                         fileSize,
+                        fileStatus.getModificationTime(),
                         dataColumns,
                         predicate,
                         orcReaderOptions
@@ -212,7 +308,8 @@ public class IcebergPageSourceProvider
                                 .withLazyReadSmallRanges(getOrcLazyReadSmallRanges(session))
                                 .withNestedLazy(isOrcNestedLazy(session))
                                 .withBloomFiltersEnabled(isOrcBloomFiltersEnabled(session)),
-                        fileFormatDataSourceStats);
+                        fileFormatDataSourceStats,
+                        fileMetadataCache);
             case PARQUET:
                 return createParquetPageSource(
                         hdfsEnvironment,
@@ -226,7 +323,8 @@ public class IcebergPageSourceProvider
                                 .withFailOnCorruptedStatistics(isFailOnCorruptedParquetStatistics(session))
                                 .withMaxReadBlockSize(getParquetMaxReadBlockSize(session)),
                         predicate,
-                        fileFormatDataSourceStats);
+                        fileFormatDataSourceStats,
+                        fileMetadataCache);
         }
         throw new PrestoException(NOT_SUPPORTED, "File format not supported for Iceberg: " + fileFormat);
     }
@@ -239,10 +337,12 @@ public class IcebergPageSourceProvider
             long start,
             long length,
             long fileSize,
+            long fileModifiedTime,
             List<IcebergColumnHandle> columns,
             TupleDomain<IcebergColumnHandle> effectivePredicate,
             OrcReaderOptions options,
-            FileFormatDataSourceStats stats)
+            FileFormatDataSourceStats stats,
+            FileMetadataCache fileMetadataCache)
     {
         OrcDataSource orcDataSource = null;
         try {
@@ -255,8 +355,11 @@ public class IcebergPageSourceProvider
                     inputStream,
                     stats);
 
-            OrcReader reader = OrcReader.createOrcReader(orcDataSource, options)
+            // load tiny files before the tail is read, so a cache miss does not read them twice
+            OrcDataSource readerDataSource = wrapWithCacheIfTiny(orcDataSource, options.getTinyStripeThreshold());
+            OrcFileTail fileTail = fileMetadataCache.getOrcFileTail(path, fileSize, fileModifiedTime, readerDataSource)
                     .orElseThrow(() -> new PrestoException(ICEBERG_BAD_DATA, "ORC file is zero length"));
+            OrcReader reader = OrcReader.createOrcReader(readerDataSource, options, fileTail);
             List<OrcColumn> fileColumns = reader.getRootColumn().getNestedColumns();
             Map<Integer, OrcColumn> fileColumnsByIcebergId = fileColumns.stream()
                     .filter(orcColumn -> orcColumn.getAttributes().containsKey(ORC_ICEBERG_ID_KEY))
@@ -284,7 +387,10 @@ public class IcebergPageSourceProvider
                     orcColumn = fileColumnsByIcebergId.get(column.getId());
                 }
                 Type readType = column.getType();
-                if (orcColumn != null) {
+                if (column.isRowIdColumn()) {
+                    columnAdaptations.add(ColumnAdaptation.positionColumn());
+                }
+                else if (orcColumn != null) {
                     int sourceIndex = fileReadColumns.size();
                     columnAdaptations.add(ColumnAdaptation.sourceColumn(sourceIndex));
                     fileReadColumns.add(orcColumn);
@@ -351,8 +457,13 @@ public class IcebergPageSourceProvider
             List<IcebergColumnHandle> regularColumns,
             ParquetReaderOptions options,
             TupleDomain<IcebergColumnHandle> effectivePredicate,
-            FileFormatDataSourceStats fileFormatDataSourceStats)
+            FileFormatDataSourceStats fileFormatDataSourceStats,
+            FileMetadataCache fileMetadataCache)
     {
+        if (regularColumns.stream().anyMatch(IcebergColumnHandle::isRowIdColumn)) {
+            throw new PrestoException(NOT_SUPPORTED, "Row-level deletes are only supported for ORC data files");
+        }
+
         AggregatedMemoryContext systemMemoryContext = newSimpleAggregatedMemoryContext();
 
         ParquetDataSource dataSource = null;
@@ -363,7 +474,7 @@ public class IcebergPageSourceProvider
             FSDataInputStream inputStream = hdfsEnvironment.doAs(user, () -> fileSystem.open(path));
             dataSource = new HdfsParquetDataSource(new ParquetDataSourceId(path.toString()), estimatedFileSize, inputStream, fileFormatDataSourceStats, options);
             ParquetDataSource theDataSource = dataSource; // extra variable required for lambda below
-            ParquetMetadata parquetMetadata = hdfsEnvironment.doAs(user, () -> MetadataReader.readFooter(theDataSource));
+            ParquetMetadata parquetMetadata = hdfsEnvironment.doAs(user, () -> fileMetadataCache.getParquetMetadata(path, estimatedFileSize, fileStatus.getModificationTime(), theDataSource));
             FileMetaData fileMetaData = parquetMetadata.getFileMetaData();
             MessageType fileSchema = fileMetaData.getSchema();
 
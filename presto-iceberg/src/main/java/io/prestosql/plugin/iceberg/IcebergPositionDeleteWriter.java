@@ -0,0 +1,157 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.iceberg;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.json.JsonCodec;
+import io.airlift.slice.Slice;
+import io.prestosql.plugin.hive.HdfsEnvironment;
+import io.prestosql.plugin.hive.HdfsEnvironment.HdfsContext;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.LongArrayBlock;
+import io.prestosql.spi.block.RunLengthEncodedBlock;
+import io.prestosql.spi.connector.ConnectorSession;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.types.Types.LongType;
+import org.apache.iceberg.types.Types.NestedField;
+import org.apache.iceberg.types.Types.StringType;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.airlift.slice.Slices.wrappedBuffer;
+import static io.prestosql.plugin.hive.util.ConfigurationUtils.toJobConf;
+import static io.prestosql.spi.predicate.Utils.nativeValueToBlock;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+import static java.util.UUID.randomUUID;
+
+/**
+ * Collects the positions of rows deleted from a single data file and writes
+ * them to an Iceberg positional delete file next to the data file.
+ */
+public class IcebergPositionDeleteWriter
+{
+    // field IDs reserved by the Iceberg spec for the columns of positional delete files
+    public static final int DELETE_FILE_PATH_ID = Integer.MAX_VALUE - 101;
+    public static final int DELETE_FILE_POS_ID = Integer.MAX_VALUE - 102;
+
+    public static final Schema POSITION_DELETE_SCHEMA = new Schema(
+            NestedField.required(DELETE_FILE_PATH_ID, "file_path", StringType.get()),
+            NestedField.required(DELETE_FILE_POS_ID, "pos", LongType.get()));
+
+    private static final int MAX_PAGE_POSITIONS = 4096;
+
+    private final String dataFilePath;
+    private final Optional<String> partitionDataJson;
+    private final FileFormat fileFormat;
+    private final IcebergFileWriterFactory fileWriterFactory;
+    private final HdfsEnvironment hdfsEnvironment;
+    private final HdfsContext hdfsContext;
+    private final ConnectorSession session;
+    private final JsonCodec<CommitTaskData> jsonCodec;
+
+    private long[] deletedPositions = new long[0];
+    private int deletedPositionCount;
+
+    public IcebergPositionDeleteWriter(
+            String dataFilePath,
+            Optional<String> partitionDataJson,
+            FileFormat fileFormat,
+            IcebergFileWriterFactory fileWriterFactory,
+            HdfsEnvironment hdfsEnvironment,
+            HdfsContext hdfsContext,
+            ConnectorSession session,
+            JsonCodec<CommitTaskData> jsonCodec)
+    {
+        this.dataFilePath = requireNonNull(dataFilePath, "dataFilePath is null");
+        this.partitionDataJson = requireNonNull(partitionDataJson, "partitionDataJson is null");
+        this.fileFormat = requireNonNull(fileFormat, "fileFormat is null");
+        this.fileWriterFactory = requireNonNull(fileWriterFactory, "fileWriterFactory is null");
+        this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
+        this.hdfsContext = requireNonNull(hdfsContext, "hdfsContext is null");
+        this.session = requireNonNull(session, "session is null");
+        this.jsonCodec = requireNonNull(jsonCodec, "jsonCodec is null");
+    }
+
+    public void appendPositions(Block rowPositions)
+    {
+        int positionCount = rowPositions.getPositionCount();
+        if (deletedPositionCount + positionCount > deletedPositions.length) {
+            deletedPositions = Arrays.copyOf(deletedPositions, Math.max(deletedPositionCount + positionCount, deletedPositions.length * 2));
+        }
+        for (int position = 0; position < positionCount; position++) {
+            deletedPositions[deletedPositionCount] = BIGINT.getLong(rowPositions, position);
+            deletedPositionCount++;
+        }
+    }
+
+    /**
+     * Writes the delete file and returns its {@link CommitTaskData}, or nothing if no rows were deleted.
+     */
+    public Collection<Slice> finish()
+    {
+        if (deletedPositionCount == 0) {
+            return ImmutableList.of();
+        }
+
+        // the spec requires positional delete files to be sorted by file and position
+        long[] positions = Arrays.copyOf(deletedPositions, deletedPositionCount);
+        Arrays.sort(positions);
+
+        Path outputPath = new Path(new Path(dataFilePath).getParent(), fileFormat.addExtension("delete-" + randomUUID()));
+        IcebergFileWriter writer = hdfsEnvironment.doAs(session.getUser(), () -> {
+            JobConf jobConf = toJobConf(hdfsEnvironment.getConfiguration(hdfsContext, outputPath));
+            IcebergFileWriter fileWriter = fileWriterFactory.createFileWriter(outputPath, POSITION_DELETE_SCHEMA, jobConf, session, hdfsContext, fileFormat);
+            try {
+                Block dataFilePathBlock = nativeValueToBlock(VARCHAR, utf8Slice(dataFilePath));
+                for (int offset = 0; offset < positions.length; offset += MAX_PAGE_POSITIONS) {
+                    int length = min(MAX_PAGE_POSITIONS, positions.length - offset);
+                    fileWriter.appendRows(new Page(
+                            length,
+                            new RunLengthEncodedBlock(dataFilePathBlock, length),
+                            new LongArrayBlock(length, Optional.empty(), Arrays.copyOfRange(positions, offset, offset + length))));
+                }
+                fileWriter.commit();
+            }
+            catch (RuntimeException e) {
+                try {
+                    fileWriter.rollback();
+                }
+                catch (RuntimeException rollbackException) {
+                    if (e != rollbackException) {
+                        e.addSuppressed(rollbackException);
+                    }
+                }
+                throw e;
+            }
+            return fileWriter;
+        });
+
+        CommitTaskData task = new CommitTaskData(
+                outputPath.toString(),
+                new MetricsWrapper(writer.getMetrics()),
+                partitionDataJson,
+                Optional.of(dataFilePath));
+        return ImmutableList.of(wrappedBuffer(jsonCodec.toJsonBytes(task)));
+    }
+}
@@ -61,6 +61,7 @@ public final class IcebergSessionProperties
     private static final String PARQUET_MAX_READ_BLOCK_SIZE = "parquet_max_read_block_size";
     private static final String PARQUET_WRITER_BLOCK_SIZE = "parquet_writer_block_size";
     private static final String PARQUET_WRITER_PAGE_SIZE = "parquet_writer_page_size";
+    private static final String PARQUET_WRITER_DICTIONARY_MAX_MEMORY = "parquet_writer_dictionary_max_memory";
     private final List<PropertyMetadata<?>> sessionProperties;
 
     @Inject
@@ -182,6 +183,11 @@ public final class IcebergSessionProperties
                         "Parquet: Writer page size",
                         parquetWriterConfig.getPageSize(),
                         false))
+                .add(dataSizeProperty(
+                        PARQUET_WRITER_DICTIONARY_MAX_MEMORY,
+                        "Parquet: Maximum memory used by the dictionaries of a file",
+                        parquetWriterConfig.getDictionaryMaxMemory(),
+                        false))
                 .build();
     }
 
@@ -296,4 +302,9 @@ public final class IcebergSessionProperties
     {
         return session.getProperty(PARQUET_WRITER_PAGE_SIZE, DataSize.class);
     }
+
+    public static DataSize getParquetWriterDictionaryMaxMemory(ConnectorSession session)
+    {
+        return session.getProperty(PARQUET_WRITER_DICTIONARY_MAX_MEMORY, DataSize.class);
+    }
 }
@@ -24,6 +24,7 @@ import org.apache.iceberg.FileFormat;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static java.util.Objects.requireNonNull;
@@ -37,6 +38,8 @@ public class IcebergSplit
     private final FileFormat fileFormat;
     private final List<HostAddress> addresses;
     private final Map<Integer, String> partitionKeys;
+    private final Optional<String> partitionDataJson;
+    private final List<IcebergDeleteFile> deletes;
 
     @JsonCreator
     public IcebergSplit(
@@ -45,7 +48,9 @@ public class IcebergSplit
             @JsonProperty("length") long length,
             @JsonProperty("fileFormat") FileFormat fileFormat,
             @JsonProperty("addresses") List<HostAddress> addresses,
-            @JsonProperty("partitionKeys") Map<Integer, String> partitionKeys)
+            @JsonProperty("partitionKeys") Map<Integer, String> partitionKeys,
+            @JsonProperty("partitionDataJson") Optional<String> partitionDataJson,
+            @JsonProperty("deletes") List<IcebergDeleteFile> deletes)
     {
         this.path = requireNonNull(path, "path is null");
         this.start = start;
@@ -53,6 +58,8 @@ public class IcebergSplit
         this.fileFormat = requireNonNull(fileFormat, "fileFormat is null");
         this.addresses = ImmutableList.copyOf(requireNonNull(addresses, "addresses is null"));
         this.partitionKeys = Collections.unmodifiableMap(requireNonNull(partitionKeys, "partitionKeys is null"));
+        this.partitionDataJson = requireNonNull(partitionDataJson, "partitionDataJson is null");
+        this.deletes = ImmutableList.copyOf(requireNonNull(deletes, "deletes is null"));
     }
 
     @Override
@@ -98,6 +105,18 @@ public class IcebergSplit
         return partitionKeys;
     }
 
+    @JsonProperty
+    public Optional<String> getPartitionDataJson()
+    {
+        return partitionDataJson;
+    }
+
+    @JsonProperty
+    public List<IcebergDeleteFile> getDeletes()
+    {
+        return deletes;
+    }
+
     @Override
     public Object getInfo()
     {
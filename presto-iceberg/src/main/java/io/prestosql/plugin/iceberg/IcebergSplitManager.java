@@ -16,6 +16,7 @@ package io.prestosql.plugin.iceberg;
 import com.google.common.collect.ImmutableList;
 import io.prestosql.plugin.base.classloader.ClassLoaderSafeConnectorSplitSource;
 import io.prestosql.plugin.hive.HdfsEnvironment;
+import io.prestosql.plugin.hive.HdfsEnvironment.HdfsContext;
 import io.prestosql.plugin.hive.metastore.HiveMetastore;
 import io.prestosql.spi.connector.ConnectorSession;
 import io.prestosql.spi.connector.ConnectorSplitManager;
@@ -26,9 +27,13 @@ import io.prestosql.spi.connector.DynamicFilter;
 import io.prestosql.spi.connector.FixedSplitSource;
 import org.apache.iceberg.Table;
 import org.apache.iceberg.TableScan;
+import org.apache.iceberg.io.FileIO;
 
 import javax.inject.Inject;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
 import static io.prestosql.plugin.iceberg.ExpressionConverter.toIcebergExpression;
 import static io.prestosql.plugin.iceberg.IcebergUtil.getIcebergTable;
 import static java.util.Objects.requireNonNull;
@@ -38,12 +43,23 @@ public class IcebergSplitManager
 {
     private final IcebergTransactionManager transactionManager;
     private final HdfsEnvironment hdfsEnvironment;
+    private final ManifestCache manifestCache;
+    private final Executor executor;
+    private final int manifestLoaderConcurrency;
 
     @Inject
-    public IcebergSplitManager(IcebergTransactionManager transactionManager, HdfsEnvironment hdfsEnvironment)
+    public IcebergSplitManager(
+            IcebergTransactionManager transactionManager,
+            HdfsEnvironment hdfsEnvironment,
+            ManifestCache manifestCache,
+            IcebergConfig config,
+            @ForIcebergSplitManager ExecutorService executorService)
     {
         this.transactionManager = requireNonNull(transactionManager, "transactionManager is null");
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
+        this.manifestCache = requireNonNull(manifestCache, "manifestCache is null");
+        this.executor = requireNonNull(executorService, "executorService is null");
+        this.manifestLoaderConcurrency = config.getManifestLoaderConcurrency();
     }
 
     @Override
@@ -61,7 +77,9 @@ public class IcebergSplitManager
         }
 
         HiveMetastore metastore = transactionManager.get(transaction).getMetastore();
-        Table icebergTable = getIcebergTable(metastore, hdfsEnvironment, session, table.getSchemaTableName());
+        HdfsContext hdfsContext = new HdfsContext(session, table.getSchemaName(), table.getTableName());
+        FileIO fileIo = new HdfsFileIo(hdfsEnvironment, hdfsContext);
+        Table icebergTable = getIcebergTable(metastore, fileIo, session, table.getSchemaTableName());
 
         TableScan tableScan = icebergTable.newScan()
                 .filter(toIcebergExpression(table.getPredicate()))
@@ -69,7 +87,13 @@ public class IcebergSplitManager
 
         // TODO Use residual. Right now there is no way to propagate residual to presto but at least we can
         //      propagate it at split level so the parquet pushdown can leverage it.
-        IcebergSplitSource splitSource = new IcebergSplitSource(tableScan.planTasks());
+        IcebergSplitSource splitSource = new IcebergSplitSource(
+                tableScan,
+                fileIo,
+                manifestCache,
+                executor,
+                manifestLoaderConcurrency);
+        splitSource.start();
 
         return new ClassLoaderSafeConnectorSplitSource(splitSource, Thread.currentThread().getContextClassLoader());
     }
@@ -14,85 +14,235 @@
 package io.prestosql.plugin.iceberg;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Streams;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.prestosql.plugin.hive.util.AsyncQueue;
+import io.prestosql.plugin.hive.util.ConcurrentBatchLoader;
+import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.classloader.ThreadContextClassLoader;
 import io.prestosql.spi.connector.ConnectorPartitionHandle;
 import io.prestosql.spi.connector.ConnectorSplit;
 import io.prestosql.spi.connector.ConnectorSplitSource;
 import org.apache.iceberg.CombinedScanTask;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.FileContent;
 import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.ManifestContent;
+import org.apache.iceberg.ManifestFile;
 import org.apache.iceberg.PartitionField;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.StructLike;
+import org.apache.iceberg.TableScan;
+import org.apache.iceberg.expressions.Evaluator;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.InclusiveMetricsEvaluator;
+import org.apache.iceberg.expressions.ManifestEvaluator;
+import org.apache.iceberg.expressions.Projections;
 import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.FileIO;
 import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types.NestedField;
 
 import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
-import static com.google.common.collect.Iterators.limit;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.airlift.concurrent.MoreFutures.toCompletableFuture;
 import static io.prestosql.plugin.iceberg.IcebergUtil.getIdentityPartitions;
+import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
-import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.apache.iceberg.TableProperties.SPLIT_SIZE;
+import static org.apache.iceberg.TableProperties.SPLIT_SIZE_DEFAULT;
 import static org.apache.iceberg.types.Type.TypeID.BINARY;
 import static org.apache.iceberg.types.Type.TypeID.FIXED;
+import static org.apache.iceberg.util.PropertyUtil.propertyAsLong;
 
+/**
+ * Plans the splits of a table scan in the background. The manifests of the scan are read
+ * in parallel, at most {@code manifestLoaderConcurrency} ahead of the planning, and the
+ * splits of each manifest are queued as soon as it has been read, so the first splits
+ * are available long before the last manifest has been read. The parsed manifests are
+ * shared across queries through the {@link ManifestCache}.
+ */
 public class IcebergSplitSource
         implements ConnectorSplitSource
 {
-    private final CloseableIterable<CombinedScanTask> combinedScanIterable;
-    private final Iterator<FileScanTask> fileScanIterator;
+    private static final int MAX_OUTSTANDING_SPLITS = 1000;
+
+    private final TableScan tableScan;
+    private final FileIO fileIo;
+    private final ManifestCache manifestCache;
+    private final Executor executor;
+    private final int manifestLoaderConcurrency;
+    private final ClassLoader classLoader;
+    private final AsyncQueue<ConnectorSplit> queue;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile ConcurrentBatchLoader<ManifestFile, List<ConnectorSplit>> manifestLoader;
+    private volatile boolean closed;
+
+    public IcebergSplitSource(
+            TableScan tableScan,
+            FileIO fileIo,
+            ManifestCache manifestCache,
+            Executor executor,
+            int manifestLoaderConcurrency)
+    {
+        this.tableScan = requireNonNull(tableScan, "tableScan is null");
+        this.fileIo = requireNonNull(fileIo, "fileIo is null");
+        this.manifestCache = requireNonNull(manifestCache, "manifestCache is null");
+        this.executor = requireNonNull(executor, "executor is null");
+        checkArgument(manifestLoaderConcurrency >= 1, "manifestLoaderConcurrency must be at least 1");
+        this.manifestLoaderConcurrency = manifestLoaderConcurrency;
+        this.classLoader = getClass().getClassLoader();
+        this.queue = new AsyncQueue<>(MAX_OUTSTANDING_SPLITS, executor);
+    }
+
+    public void start()
+    {
+        executor.execute(this::loadSplits);
+    }
+
+    private void loadSplits()
+    {
+        try (ThreadContextClassLoader ignored = new ThreadContextClassLoader(classLoader)) {
+            List<ManifestFile> manifests = manifestCache.getManifests(tableScan.snapshot());
+            if (manifests.stream().anyMatch(manifest -> manifest.content() == ManifestContent.DELETES)) {
+                // Iceberg matches delete files to data files by sequence numbers, which the data files do not expose
+                loadSplitsFromTableScan();
+            }
+            else {
+                loadSplitsFromManifests(manifests);
+            }
+        }
+        catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+        finally {
+            queue.finish();
+        }
+    }
+
+    private void loadSplitsFromManifests(List<ManifestFile> manifests)
+    {
+        Map<Integer, PartitionSpec> specs = tableScan.table().specs();
+        Expression filter = tableScan.filter();
+        long splitSize = propertyAsLong(tableScan.table().properties(), SPLIT_SIZE, SPLIT_SIZE_DEFAULT);
+
+        // skip the manifests whose partition summaries do not match the filter
+        List<ManifestFile> scannedManifests = manifests.stream()
+                .filter(manifest -> ManifestEvaluator.forRowFilter(filter, specs.get(manifest.partitionSpecId()), true).eval(manifest))
+                .collect(toImmutableList());
+        manifestLoader = new ConcurrentBatchLoader<>(
+                scannedManifests,
+                manifest -> planSplits(manifest, specs, filter, splitSize),
+                manifestLoaderConcurrency,
+                executor);
+        if (closed) {
+            return;
+        }
+        for (List<ConnectorSplit> splits : manifestLoader) {
+            for (ConnectorSplit split : splits) {
+                if (closed) {
+                    return;
+                }
+                // blocks while the queue is full
+                getFutureValue(queue.offer(split));
+            }
+        }
+    }
 
-    public IcebergSplitSource(CloseableIterable<CombinedScanTask> combinedScanIterable)
+    private List<ConnectorSplit> planSplits(ManifestFile manifest, Map<Integer, PartitionSpec> specs, Expression filter, long splitSize)
     {
-        this.combinedScanIterable = requireNonNull(combinedScanIterable, "combinedScanIterable is null");
+        try (ThreadContextClassLoader ignored = new ThreadContextClassLoader(classLoader)) {
+            PartitionSpec spec = specs.get(manifest.partitionSpecId());
+            Evaluator partitionEvaluator = new Evaluator(spec.partitionType(), Projections.inclusive(spec).project(filter));
+            InclusiveMetricsEvaluator metricsEvaluator = new InclusiveMetricsEvaluator(tableScan.schema(), filter);
 
-        this.fileScanIterator = Streams.stream(combinedScanIterable)
-                .map(CombinedScanTask::files)
-                .flatMap(Collection::stream)
-                .iterator();
+            ImmutableList.Builder<ConnectorSplit> splits = ImmutableList.builder();
+            for (DataFile file : manifestCache.getDataFiles(manifest, fileIo, specs)) {
+                if (!partitionEvaluator.eval(file.partition()) || !metricsEvaluator.eval(file)) {
+                    continue;
+                }
+                for (long start = 0; start < file.fileSizeInBytes(); start += splitSize) {
+                    long length = Math.min(splitSize, file.fileSizeInBytes() - start);
+                    splits.add(toIcebergSplit(file, spec, start, length, ImmutableList.of()));
+                }
+            }
+            return splits.build();
+        }
+    }
+
+    private void loadSplitsFromTableScan()
+            throws IOException
+    {
+        try (CloseableIterable<CombinedScanTask> combinedScanTasks = tableScan.planTasks()) {
+            for (CombinedScanTask combinedScanTask : combinedScanTasks) {
+                for (FileScanTask task : combinedScanTask.files()) {
+                    if (closed) {
+                        return;
+                    }
+                    // blocks while the queue is full
+                    getFutureValue(queue.offer(toIcebergSplit(task.file(), task.spec(), task.start(), task.length(), getDeletes(task))));
+                }
+            }
+        }
     }
 
     @Override
     public CompletableFuture<ConnectorSplitBatch> getNextBatch(ConnectorPartitionHandle partitionHandle, int maxSize)
     {
-        // TODO: move this to a background thread
-        List<ConnectorSplit> splits = new ArrayList<>();
-        Iterator<FileScanTask> iterator = limit(fileScanIterator, maxSize);
-        while (iterator.hasNext()) {
-            FileScanTask task = iterator.next();
-            splits.add(toIcebergSplit(task));
-        }
-        return completedFuture(new ConnectorSplitBatch(splits, isFinished()));
+        ListenableFuture<ConnectorSplitBatch> batch = Futures.transform(
+                queue.getBatchAsync(maxSize),
+                splits -> {
+                    throwIfFailed();
+                    return new ConnectorSplitBatch(splits, queue.isFinished());
+                },
+                directExecutor());
+        return toCompletableFuture(batch);
     }
 
     @Override
     public boolean isFinished()
     {
-        return !fileScanIterator.hasNext();
+        throwIfFailed();
+        return queue.isFinished();
     }
 
     @Override
     public void close()
     {
-        try {
-            combinedScanIterable.close();
+        closed = true;
+        ConcurrentBatchLoader<ManifestFile, List<ConnectorSplit>> manifestLoader = this.manifestLoader;
+        if (manifestLoader != null) {
+            manifestLoader.cancel();
         }
-        catch (IOException e) {
-            throw new UncheckedIOException(e);
+        // unblocks the split loader if it is waiting for space in the queue
+        queue.finish();
+    }
+
+    private void throwIfFailed()
+    {
+        Throwable throwable = failure.get();
+        if (throwable != null) {
+            throwIfUnchecked(throwable);
+            throw new RuntimeException(throwable);
         }
     }
 
-    private ConnectorSplit toIcebergSplit(FileScanTask task)
+    private static ConnectorSplit toIcebergSplit(DataFile file, PartitionSpec spec, long start, long length, List<IcebergDeleteFile> deletes)
     {
         // TODO: We should leverage residual expression and convert that to TupleDomain.
         //       The predicate here is used by readers for predicate push down at reader level,
@@ -100,18 +250,57 @@ public class IcebergSplitSource
         //       on reader side evaluating a condition that we know will always be true.
 
         return new IcebergSplit(
-                task.file().path().toString(),
-                task.start(),
-                task.length(),
-                task.file().format(),
+                file.path().toString(),
+                start,
+                length,
+                file.format(),
                 ImmutableList.of(),
-                getPartitionKeys(task));
+                getPartitionKeys(file, spec),
+                getPartitionDataJson(file, spec),
+                deletes);
+    }
+
+    private static Optional<String> getPartitionDataJson(DataFile file, PartitionSpec spec)
+    {
+        if (spec.fields().isEmpty()) {
+            return Optional.empty();
+        }
+
+        // needed to attach delete files written for this data file to its partition
+        StructLike partition = file.partition();
+        List<NestedField> fields = spec.partitionType().fields();
+        Object[] values = new Object[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            Object value = partition.get(i, fields.get(i).type().typeId().javaClass());
+            if (value instanceof CharSequence) {
+                value = value.toString();
+            }
+            else if (value instanceof ByteBuffer) {
+                ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                value = bytes;
+            }
+            values[i] = value;
+        }
+        return Optional.of(new PartitionData(values).toJson());
+    }
+
+    private static List<IcebergDeleteFile> getDeletes(FileScanTask task)
+    {
+        return task.deletes().stream()
+                .map(deleteFile -> {
+                    if (deleteFile.content() != FileContent.POSITION_DELETES) {
+                        throw new PrestoException(NOT_SUPPORTED, "Iceberg equality delete files are not supported: " + deleteFile.path());
+                    }
+                    return new IcebergDeleteFile(deleteFile.path().toString(), deleteFile.format(), deleteFile.fileSizeInBytes());
+                })
+                .collect(toImmutableList());
     }
 
-    private static Map<Integer, String> getPartitionKeys(FileScanTask scanTask)
+    private static Map<Integer, String> getPartitionKeys(DataFile file, PartitionSpec spec)
     {
-        StructLike partition = scanTask.file().partition();
-        PartitionSpec spec = scanTask.spec();
+        StructLike partition = file.partition();
         Map<PartitionField, Integer> fieldToIndex = getIdentityPartitions(spec);
         Map<Integer, String> partitionKeys = new HashMap<>();
 
@@ -26,6 +26,7 @@ import java.util.Map;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.prestosql.spi.session.PropertyMetadata.enumProperty;
+import static io.prestosql.spi.session.PropertyMetadata.integerProperty;
 import static io.prestosql.spi.session.PropertyMetadata.stringProperty;
 import static io.prestosql.spi.type.VarcharType.VARCHAR;
 import static java.util.Locale.ENGLISH;
@@ -35,6 +36,8 @@ public class IcebergTableProperties
     public static final String FILE_FORMAT_PROPERTY = "format";
     public static final String PARTITIONING_PROPERTY = "partitioning";
     public static final String LOCATION_PROPERTY = "location";
+    public static final String Z_ORDER_BY_PROPERTY = "z_order_by";
+    public static final String FORMAT_VERSION_PROPERTY = "format_version";
 
     private final List<PropertyMetadata<?>> tableProperties;
 
@@ -64,6 +67,22 @@ public class IcebergTableProperties
                         "File system location URI for the table",
                         null,
                         false))
+                .add(new PropertyMetadata<>(
+                        Z_ORDER_BY_PROPERTY,
+                        "Columns to cluster written files by, using Z-order",
+                        new ArrayType(VARCHAR),
+                        List.class,
+                        ImmutableList.of(),
+                        false,
+                        value -> ((Collection<?>) value).stream()
+                                .map(name -> ((String) name).toLowerCase(ENGLISH))
+                                .collect(toImmutableList()),
+                        value -> value))
+                .add(integerProperty(
+                        FORMAT_VERSION_PROPERTY,
+                        "Iceberg table format version",
+                        1,
+                        false))
                 .build();
     }
 
@@ -88,4 +107,16 @@ public class IcebergTableProperties
     {
         return (String) tableProperties.get(LOCATION_PROPERTY);
     }
+
+    @SuppressWarnings("unchecked")
+    public static List<String> getZOrderBy(Map<String, Object> tableProperties)
+    {
+        List<String> zOrderBy = (List<String>) tableProperties.get(Z_ORDER_BY_PROPERTY);
+        return zOrderBy == null ? ImmutableList.of() : ImmutableList.copyOf(zOrderBy);
+    }
+
+    public static int getFormatVersion(Map<String, Object> tableProperties)
+    {
+        return (int) tableProperties.get(FORMAT_VERSION_PROPERTY);
+    }
 }
@@ -13,6 +13,8 @@
  */
 package io.prestosql.plugin.iceberg;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.prestosql.plugin.hive.HdfsEnvironment;
 import io.prestosql.plugin.hive.HdfsEnvironment.HdfsContext;
@@ -24,12 +26,14 @@ import io.prestosql.spi.connector.SchemaTableName;
 import io.prestosql.spi.type.TypeManager;
 import org.apache.iceberg.BaseTable;
 import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.HasTableOperations;
 import org.apache.iceberg.HistoryEntry;
 import org.apache.iceberg.PartitionField;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.Table;
 import org.apache.iceberg.TableOperations;
+import org.apache.iceberg.io.FileIO;
 
 import java.util.List;
 import java.util.Locale;
@@ -50,6 +54,8 @@ import static org.apache.iceberg.TableProperties.DEFAULT_FILE_FORMAT_DEFAULT;
 
 final class IcebergUtil
 {
+    public static final String Z_ORDER_BY_KEY = "presto.z-order-by";
+
     private static final Pattern SIMPLE_NAME = Pattern.compile("[a-z][a-z0-9]*");
 
     private IcebergUtil() {}
@@ -62,8 +68,13 @@ final class IcebergUtil
     public static Table getIcebergTable(HiveMetastore metastore, HdfsEnvironment hdfsEnvironment, ConnectorSession session, SchemaTableName table)
     {
         HdfsContext hdfsContext = new HdfsContext(session, table.getSchemaName(), table.getTableName());
+        return getIcebergTable(metastore, new HdfsFileIo(hdfsEnvironment, hdfsContext), session, table);
+    }
+
+    public static Table getIcebergTable(HiveMetastore metastore, FileIO fileIo, ConnectorSession session, SchemaTableName table)
+    {
         HiveIdentity identity = new HiveIdentity(session);
-        TableOperations operations = new HiveTableOperations(metastore, hdfsEnvironment, hdfsContext, identity, table.getSchemaName(), table.getTableName());
+        TableOperations operations = new HiveTableOperations(fileIo, metastore, identity, table.getSchemaName(), table.getTableName());
         return new BaseTable(operations, quotedTableName(table));
     }
 
@@ -119,6 +130,20 @@ final class IcebergUtil
                 .toUpperCase(Locale.ENGLISH));
     }
 
+    public static List<String> getZOrderBy(Table table)
+    {
+        String zOrderBy = table.properties().get(Z_ORDER_BY_KEY);
+        if (zOrderBy == null) {
+            return ImmutableList.of();
+        }
+        return Splitter.on(',').trimResults().omitEmptyStrings().splitToList(zOrderBy);
+    }
+
+    public static int getFormatVersion(Table table)
+    {
+        return ((HasTableOperations) table).operations().current().formatVersion();
+    }
+
     public static Optional<String> getTableComment(Table table)
     {
         return Optional.ofNullable(table.properties().get(TABLE_COMMENT));
@@ -34,6 +34,7 @@ public class IcebergWritableTableHandle
     private final List<IcebergColumnHandle> inputColumns;
     private final String outputPath;
     private final FileFormat fileFormat;
+    private final List<String> zOrderBy;
 
     @JsonCreator
     public IcebergWritableTableHandle(
@@ -43,7 +44,8 @@ public class IcebergWritableTableHandle
             @JsonProperty("partitionSpecAsJson") String partitionSpecAsJson,
             @JsonProperty("inputColumns") List<IcebergColumnHandle> inputColumns,
             @JsonProperty("outputPath") String outputPath,
-            @JsonProperty("fileFormat") FileFormat fileFormat)
+            @JsonProperty("fileFormat") FileFormat fileFormat,
+            @JsonProperty("zOrderBy") List<String> zOrderBy)
     {
         this.schemaName = requireNonNull(schemaName, "schemaName is null");
         this.tableName = requireNonNull(tableName, "tableName is null");
@@ -52,6 +54,7 @@ public class IcebergWritableTableHandle
         this.inputColumns = ImmutableList.copyOf(requireNonNull(inputColumns, "inputColumns is null"));
         this.outputPath = requireNonNull(outputPath, "filePrefix is null");
         this.fileFormat = requireNonNull(fileFormat, "fileFormat is null");
+        this.zOrderBy = ImmutableList.copyOf(requireNonNull(zOrderBy, "zOrderBy is null"));
     }
 
     @JsonProperty
@@ -96,6 +99,12 @@ public class IcebergWritableTableHandle
         return fileFormat;
     }
 
+    @JsonProperty
+    public List<String> getZOrderBy()
+    {
+        return zOrderBy;
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,67 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.iceberg;
+
+import io.airlift.units.DataSize;
+import io.prestosql.plugin.hive.ZOrderFileWriter;
+import io.prestosql.plugin.hive.orc.OrcFileWriterFactory;
+import io.prestosql.spi.PageSorter;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.TypeOperators;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.iceberg.Metrics;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+public class IcebergZOrderFileWriter
+        extends ZOrderFileWriter
+        implements IcebergFileWriter
+{
+    private final IcebergFileWriter outputWriter;
+
+    public IcebergZOrderFileWriter(
+            FileSystem fileSystem,
+            Path tempFilePrefix,
+            IcebergFileWriter outputWriter,
+            DataSize maxMemory,
+            int maxOpenTempFiles,
+            List<Type> types,
+            List<Integer> zOrderFields,
+            PageSorter pageSorter,
+            TypeOperators typeOperators)
+    {
+        super(
+                fileSystem,
+                tempFilePrefix,
+                outputWriter,
+                maxMemory,
+                maxOpenTempFiles,
+                types,
+                zOrderFields,
+                pageSorter,
+                typeOperators,
+                OrcFileWriterFactory::createOrcDataSink);
+        this.outputWriter = requireNonNull(outputWriter, "outputWriter is null");
+    }
+
+    @Override
+    public Metrics getMetrics()
+    {
+        // all rows have been written to the output writer by the time the writer is committed
+        return outputWriter.getMetrics();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.iceberg;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.airlift.units.DataSize;
+import io.prestosql.spi.PrestoException;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.ManifestFiles;
+import org.apache.iceberg.ManifestReader;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.io.FileIO;
+import org.weakref.jmx.Managed;
+
+import javax.inject.Inject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Streams.stream;
+import static io.prestosql.plugin.iceberg.IcebergErrorCode.ICEBERG_FILESYSTEM_ERROR;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Coordinator-wide cache of the parsed entries of Iceberg manifest lists and manifest files,
+ * keyed by path. Iceberg never rewrites these files in place, so cached entries
+ * cannot go stale. Entries are weighed by their estimated retained size.
+ */
+public class ManifestCache
+{
+    private static final int INSTANCE_SIZE = 128;
+    private static final int MAP_ENTRY_SIZE = 64;
+
+    private final Optional<Cache<String, List<?>>> cache;
+
+    @Inject
+    public ManifestCache(IcebergConfig config)
+    {
+        this(config.getManifestCacheMaxSize());
+    }
+
+    public ManifestCache(DataSize maxSize)
+    {
+        requireNonNull(maxSize, "maxSize is null");
+        if (maxSize.toBytes() == 0) {
+            this.cache = Optional.empty();
+            return;
+        }
+        this.cache = Optional.of(CacheBuilder.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Weigher<String, List<?>>) (key, value) -> estimateSize(value))
+                .recordStats()
+                .build());
+    }
+
+    public static ManifestCache disabled()
+    {
+        return new ManifestCache(DataSize.ofBytes(0));
+    }
+
+    /**
+     * Returns the manifests of the snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    public List<ManifestFile> getManifests(Snapshot snapshot)
+    {
+        String manifestListLocation = snapshot.manifestListLocation();
+        if (manifestListLocation == null) {
+            // manifests of snapshots written before manifest lists are embedded in the table metadata
+            return snapshot.allManifests();
+        }
+        return (List<ManifestFile>) get(manifestListLocation, () -> ImmutableList.copyOf(snapshot.allManifests()));
+    }
+
+    /**
+     * Returns the live data files of the manifest, with their column statistics.
+     */
+    @SuppressWarnings("unchecked")
+    public List<DataFile> getDataFiles(ManifestFile manifest, FileIO fileIo, Map<Integer, PartitionSpec> specs)
+    {
+        return (List<DataFile>) get(manifest.path(), () -> readDataFiles(manifest, fileIo, specs));
+    }
+
+    private List<?> get(String path, Supplier<List<?>> loader)
+    {
+        if (cache.isEmpty()) {
+            return loader.get();
+        }
+        try {
+            return cache.get().get(path, loader::get);
+        }
+        catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw new PrestoException(ICEBERG_FILESYSTEM_ERROR, "Failed to read manifest: " + path, e.getCause());
+        }
+    }
+
+    private static List<DataFile> readDataFiles(ManifestFile manifest, FileIO fileIo, Map<Integer, PartitionSpec> specs)
+    {
+        try (ManifestReader<DataFile> reader = ManifestFiles.read(manifest, fileIo, specs)) {
+            // the reader may reuse the file objects
+            return stream(reader)
+                    .map(DataFile::copy)
+                    .collect(toImmutableList());
+        }
+        catch (IOException e) {
+            throw new PrestoException(ICEBERG_FILESYSTEM_ERROR, "Failed to read manifest: " + manifest.path(), e);
+        }
+    }
+
+    private static int estimateSize(List<?> entries)
+    {
+        long size = INSTANCE_SIZE;
+        for (Object entry : entries) {
+            if (entry instanceof DataFile) {
+                size += estimateSize((DataFile) entry);
+            }
+            else {
+                ManifestFile manifest = (ManifestFile) entry;
+                size += INSTANCE_SIZE + 2L * manifest.path().length();
+                if (manifest.partitions() != null) {
+                    size += (long) manifest.partitions().size() * MAP_ENTRY_SIZE;
+                }
+            }
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private static long estimateSize(DataFile file)
+    {
+        return INSTANCE_SIZE + 2L * file.path().length() +
+                estimateSize(file.columnSizes()) +
+                estimateSize(file.valueCounts()) +
+                estimateSize(file.nullValueCounts()) +
+                estimateBoundsSize(file.lowerBounds()) +
+                estimateBoundsSize(file.upperBounds());
+    }
+
+    private static long estimateSize(Map<Integer, Long> values)
+    {
+        return values == null ? 0 : (long) values.size() * MAP_ENTRY_SIZE;
+    }
+
+    private static long estimateBoundsSize(Map<Integer, ByteBuffer> bounds)
+    {
+        if (bounds == null) {
+            return 0;
+        }
+        long size = 0;
+        for (ByteBuffer bound : bounds.values()) {
+            size += MAP_ENTRY_SIZE + bound.capacity();
+        }
+        return size;
+    }
+
+    @Managed
+    public void flushCache()
+    {
+        cache.ifPresent(Cache::invalidateAll);
+    }
+
+    @Managed
+    public long getSize()
+    {
+        return cache.map(Cache::size).orElse(0L);
+    }
+
+    @Managed
+    public Double getHitRate()
+    {
+        return cache.map(value -> value.stats().hitRate()).orElse(0.0);
+    }
+
+    @Managed
+    public long getHitCount()
+    {
+        return cache.map(value -> value.stats().hitCount()).orElse(0L);
+    }
+
+    @Managed
+    public long getMissCount()
+    {
+        return cache.map(value -> value.stats().missCount()).orElse(0L);
+    }
+
+    @Managed
+    public long getEvictionCount()
+    {
+        return cache.map(value -> value.stats().evictionCount()).orElse(0L);
+    }
+}
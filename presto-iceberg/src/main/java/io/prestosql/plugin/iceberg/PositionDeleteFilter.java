@@ -0,0 +1,111 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.iceberg;
+
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.LazyBlock;
+
+import java.util.Arrays;
+
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Removes rows deleted by positional delete files from the pages of a data file.
+ * The deleted positions are kept as a sorted array, which is compact for the small
+ * number of deletes typical of row-level corrections and can be probed with a
+ * binary search per page followed by a linear merge.
+ */
+public final class PositionDeleteFilter
+{
+    private final long[] deletedPositions;
+
+    private PositionDeleteFilter(long[] deletedPositions)
+    {
+        this.deletedPositions = requireNonNull(deletedPositions, "deletedPositions is null");
+    }
+
+    /**
+     * Creates a filter for the given positions, which may be unordered and contain duplicates.
+     */
+    public static PositionDeleteFilter create(long[] positions, int positionCount)
+    {
+        long[] sorted = Arrays.copyOf(positions, positionCount);
+        Arrays.sort(sorted);
+        int distinctCount = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinctCount] = sorted[i];
+                distinctCount++;
+            }
+        }
+        return new PositionDeleteFilter(Arrays.copyOf(sorted, distinctCount));
+    }
+
+    public int getDeletedPositionCount()
+    {
+        return deletedPositions.length;
+    }
+
+    /**
+     * Returns the rows of the page that were not deleted. The row positions in the
+     * specified channel must be increasing, as they are for pages read from a file.
+     */
+    public Page filter(Page page, int rowPositionChannel)
+    {
+        int positionCount = page.getPositionCount();
+        if (positionCount == 0 || deletedPositions.length == 0) {
+            return page;
+        }
+
+        Block rowPositions = page.getBlock(rowPositionChannel);
+        long firstRowPosition = BIGINT.getLong(rowPositions, 0);
+        long lastRowPosition = BIGINT.getLong(rowPositions, positionCount - 1);
+
+        int deleteIndex = Arrays.binarySearch(deletedPositions, firstRowPosition);
+        if (deleteIndex < 0) {
+            deleteIndex = -(deleteIndex + 1);
+        }
+        if (deleteIndex == deletedPositions.length || deletedPositions[deleteIndex] > lastRowPosition) {
+            return page;
+        }
+
+        int[] retainedPositions = new int[positionCount];
+        int retainedCount = 0;
+        for (int position = 0; position < positionCount; position++) {
+            long rowPosition = BIGINT.getLong(rowPositions, position);
+            while (deleteIndex < deletedPositions.length && deletedPositions[deleteIndex] < rowPosition) {
+                deleteIndex++;
+            }
+            if (deleteIndex < deletedPositions.length && deletedPositions[deleteIndex] == rowPosition) {
+                continue;
+            }
+            retainedPositions[retainedCount] = position;
+            retainedCount++;
+        }
+
+        if (retainedCount == positionCount) {
+            return page;
+        }
+
+        int finalRetainedCount = retainedCount;
+        Block[] blocks = new Block[page.getChannelCount()];
+        for (int channel = 0; channel < blocks.length; channel++) {
+            Block block = page.getBlock(channel);
+            blocks[channel] = new LazyBlock(retainedCount, () -> block.getPositions(retainedPositions, 0, finalRetainedCount));
+        }
+        return new Page(retainedCount, blocks);
+    }
+}
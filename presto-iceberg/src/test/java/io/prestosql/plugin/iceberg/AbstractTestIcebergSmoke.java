@@ -985,6 +985,40 @@ public abstract class AbstractTestIcebergSmoke
         dropTable("test_metadata_delete");
     }
 
+    @Test
+    public void testRowLevelDelete()
+    {
+        assertUpdate("" +
+                        "CREATE TABLE test_row_level_delete " +
+                        "WITH (format_version = 2, partitioning = ARRAY['linestatus']) " +
+                        "AS SELECT orderkey, linenumber, linestatus FROM tpch.tiny.lineitem",
+                "SELECT count(*) FROM lineitem");
+
+        if (format != FileFormat.ORC) {
+            assertQueryFails("DELETE FROM test_row_level_delete WHERE linenumber = 3", "Row-level deletes are only supported for ORC data files");
+            dropTable("test_row_level_delete");
+            return;
+        }
+
+        assertUpdate("DELETE FROM test_row_level_delete WHERE linenumber = 3", "SELECT count(*) FROM lineitem WHERE linenumber = 3");
+        assertQuery("SELECT * FROM test_row_level_delete", "SELECT orderkey, linenumber, linestatus FROM lineitem WHERE linenumber <> 3");
+
+        assertUpdate(
+                "DELETE FROM test_row_level_delete WHERE orderkey % 2 = 0 AND linestatus = 'F'",
+                "SELECT count(*) FROM lineitem WHERE linenumber <> 3 AND orderkey % 2 = 0 AND linestatus = 'F'");
+        assertQuery(
+                "SELECT * FROM test_row_level_delete",
+                "SELECT orderkey, linenumber, linestatus FROM lineitem WHERE linenumber <> 3 AND (orderkey % 2 <> 0 OR linestatus <> 'F')");
+
+        // whole partitions are still removed without writing delete files
+        assertUpdate("DELETE FROM test_row_level_delete WHERE linestatus = 'O'");
+        assertQuery(
+                "SELECT * FROM test_row_level_delete",
+                "SELECT orderkey, linenumber, linestatus FROM lineitem WHERE linenumber <> 3 AND orderkey % 2 <> 0 AND linestatus = 'F'");
+
+        dropTable("test_row_level_delete");
+    }
+
     @Test
     public void testInSet()
     {
@@ -14,6 +14,7 @@
 package io.prestosql.plugin.iceberg;
 
 import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
 import io.prestosql.plugin.hive.HiveCompressionCodec;
 import org.testng.annotations.Test;
 
@@ -22,6 +23,7 @@ import java.util.Map;
 import static io.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
 import static io.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
 import static io.airlift.configuration.testing.ConfigAssertions.recordDefaults;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.prestosql.plugin.hive.HiveCompressionCodec.GZIP;
 import static io.prestosql.plugin.iceberg.IcebergFileFormat.ORC;
 import static io.prestosql.plugin.iceberg.IcebergFileFormat.PARQUET;
@@ -33,7 +35,9 @@ public class TestIcebergConfig
     {
         assertRecordedDefaults(recordDefaults(IcebergConfig.class)
                 .setFileFormat(ORC)
-                .setCompressionCodec(GZIP));
+                .setCompressionCodec(GZIP)
+                .setManifestLoaderConcurrency(8)
+                .setManifestCacheMaxSize(DataSize.of(64, MEGABYTE)));
     }
 
     @Test
@@ -42,11 +46,15 @@ public class TestIcebergConfig
         Map<String, String> properties = new ImmutableMap.Builder<String, String>()
                 .put("iceberg.file-format", "Parquet")
                 .put("iceberg.compression-codec", "NONE")
+                .put("iceberg.manifest-loader-concurrency", "3")
+                .put("iceberg.manifest-cache-size", "5MB")
                 .build();
 
         IcebergConfig expected = new IcebergConfig()
                 .setFileFormat(PARQUET)
-                .setCompressionCodec(HiveCompressionCodec.NONE);
+                .setCompressionCodec(HiveCompressionCodec.NONE)
+                .setManifestLoaderConcurrency(3)
+                .setManifestCacheMaxSize(DataSize.of(5, MEGABYTE));
 
         assertFullMapping(properties, expected);
     }
@@ -0,0 +1,244 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.iceberg;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.prestosql.spi.connector.ConnectorSplit;
+import io.prestosql.spi.connector.ConnectorSplitSource.ConnectorSplitBatch;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.Metrics;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableScan;
+import org.apache.iceberg.hadoop.HadoopTables;
+import org.apache.iceberg.io.FileIO;
+import org.apache.iceberg.io.InputFile;
+import org.apache.iceberg.io.OutputFile;
+import org.apache.iceberg.types.Types.LongType;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.io.Files.createTempDir;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static io.prestosql.spi.connector.NotPartitionedPartitionHandle.NOT_PARTITIONED;
+import static io.prestosql.testing.assertions.Assert.assertEventually;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.iceberg.TableProperties.SPLIT_SIZE;
+import static org.apache.iceberg.expressions.Expressions.equal;
+import static org.apache.iceberg.types.Conversions.toByteBuffer;
+import static org.apache.iceberg.types.Types.NestedField.optional;
+import static org.testng.Assert.assertEquals;
+
+public class TestIcebergSplitSource
+{
+    private static final int MANIFEST_COUNT = 10;
+
+    private File location;
+    private Table table;
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp()
+    {
+        executor = newCachedThreadPool(daemonThreadsNamed("test-iceberg-split-source-%s"));
+        location = createTempDir();
+        Schema schema = new Schema(optional(1, "id", LongType.get()));
+        table = new HadoopTables(new Configuration(false)).create(
+                schema,
+                PartitionSpec.unpartitioned(),
+                ImmutableMap.of(SPLIT_SIZE, "100"),
+                location.getPath());
+        // every append writes a separate manifest
+        for (int i = 0; i < MANIFEST_COUNT; i++) {
+            table.newFastAppend()
+                    .appendFile(dataFile(i))
+                    .commit();
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        executor.shutdownNow();
+        deleteRecursively(location.toPath(), ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testSplits()
+    {
+        List<IcebergSplit> splits = getSplits(table.newScan(), new BlockingFileIo(table.io(), Integer.MAX_VALUE), ManifestCache.disabled());
+        assertEquals(splits.size(), MANIFEST_COUNT * 3);
+
+        // files are split by the target split size of the table
+        List<IcebergSplit> fileSplits = splits.stream()
+                .filter(split -> split.getPath().equals("/data/file-3.parquet"))
+                .collect(toImmutableList());
+        assertEquals(fileSplits.stream().map(IcebergSplit::getStart).collect(toImmutableList()), ImmutableList.of(0L, 100L, 200L));
+        assertEquals(fileSplits.stream().map(IcebergSplit::getLength).collect(toImmutableList()), ImmutableList.of(100L, 100L, 50L));
+    }
+
+    @Test
+    public void testFilter()
+    {
+        // files are pruned by their column statistics
+        List<IcebergSplit> splits = getSplits(table.newScan().filter(equal("id", 35L)), new BlockingFileIo(table.io(), Integer.MAX_VALUE), ManifestCache.disabled());
+        assertEquals(splits.stream().map(IcebergSplit::getPath).distinct().collect(toImmutableList()), ImmutableList.of("/data/file-3.parquet"));
+    }
+
+    @Test
+    public void testCachedManifests()
+    {
+        ManifestCache manifestCache = new ManifestCache(DataSize.of(1, MEGABYTE));
+        BlockingFileIo fileIo = new BlockingFileIo(table.io(), Integer.MAX_VALUE);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(getSplits(table.newScan(), fileIo, manifestCache).size(), MANIFEST_COUNT * 3);
+        }
+        assertEquals(fileIo.getOpenedFiles(), MANIFEST_COUNT);
+    }
+
+    @Test(timeOut = 30_000)
+    public void testManifestReadsAreBounded()
+            throws InterruptedException
+    {
+        // manifests are read in parallel even when they are not cached
+        BlockingFileIo fileIo = new BlockingFileIo(table.io(), 0);
+        IcebergSplitSource splitSource = new IcebergSplitSource(table.newScan(), fileIo, ManifestCache.disabled(), executor, 2);
+        splitSource.start();
+
+        assertEventually(new Duration(10, SECONDS), () -> assertEquals(fileIo.getOpenedFiles(), 2));
+        MILLISECONDS.sleep(100);
+        assertEquals(fileIo.getOpenedFiles(), 2);
+
+        // each consumed manifest lets one more read start
+        fileIo.release(2);
+        assertEventually(new Duration(10, SECONDS), () -> assertEquals(fileIo.getOpenedFiles(), 4));
+        MILLISECONDS.sleep(100);
+        assertEquals(fileIo.getOpenedFiles(), 4);
+
+        fileIo.release(MANIFEST_COUNT);
+        assertEquals(getSplits(splitSource).size(), MANIFEST_COUNT * 3);
+        assertEquals(fileIo.getOpenedFiles(), MANIFEST_COUNT);
+    }
+
+    private List<IcebergSplit> getSplits(TableScan tableScan, FileIO fileIo, ManifestCache manifestCache)
+    {
+        IcebergSplitSource splitSource = new IcebergSplitSource(tableScan, fileIo, manifestCache, executor, 2);
+        splitSource.start();
+        return getSplits(splitSource);
+    }
+
+    private static List<IcebergSplit> getSplits(IcebergSplitSource splitSource)
+    {
+        ImmutableList.Builder<IcebergSplit> splits = ImmutableList.builder();
+        try {
+            while (true) {
+                ConnectorSplitBatch batch = getFutureValue(splitSource.getNextBatch(NOT_PARTITIONED, 100));
+                for (ConnectorSplit split : batch.getSplits()) {
+                    splits.add((IcebergSplit) split);
+                }
+                if (batch.isNoMoreSplits()) {
+                    return splits.build();
+                }
+            }
+        }
+        finally {
+            splitSource.close();
+        }
+    }
+
+    private static DataFile dataFile(int index)
+    {
+        // the file holds the ids from 10 * index to 10 * index + 9
+        return DataFiles.builder(PartitionSpec.unpartitioned())
+                .withPath("/data/file-" + index + ".parquet")
+                .withFormat(FileFormat.PARQUET)
+                .withFileSizeInBytes(250)
+                .withMetrics(new Metrics(
+                        10L,
+                        ImmutableMap.of(1, 250L),
+                        ImmutableMap.of(1, 10L),
+                        ImmutableMap.of(1, 0L),
+                        ImmutableMap.of(1, toByteBuffer(LongType.get(), 10L * index)),
+                        ImmutableMap.of(1, toByteBuffer(LongType.get(), 10L * index + 9))))
+                .build();
+    }
+
+    private static class BlockingFileIo
+            implements FileIO
+    {
+        private final FileIO delegate;
+        private final Semaphore manifestReads;
+        private final AtomicInteger openedFiles = new AtomicInteger();
+
+        public BlockingFileIo(FileIO delegate, int manifestReads)
+        {
+            this.delegate = requireNonNull(delegate, "delegate is null");
+            this.manifestReads = new Semaphore(manifestReads);
+        }
+
+        @Override
+        public InputFile newInputFile(String path)
+        {
+            openedFiles.incrementAndGet();
+            manifestReads.acquireUninterruptibly();
+            return delegate.newInputFile(path);
+        }
+
+        @Override
+        public OutputFile newOutputFile(String path)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteFile(String path)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        public void release(int reads)
+        {
+            manifestReads.release(reads);
+        }
+
+        public int getOpenedFiles()
+        {
+            return openedFiles.get();
+        }
+    }
+}
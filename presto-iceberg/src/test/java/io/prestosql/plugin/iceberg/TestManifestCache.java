@@ -0,0 +1,166 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.iceberg;
+
+import com.google.common.collect.ImmutableSet;
+import io.airlift.units.DataSize;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.hadoop.HadoopTables;
+import org.apache.iceberg.io.FileIO;
+import org.apache.iceberg.io.InputFile;
+import org.apache.iceberg.io.OutputFile;
+import org.apache.iceberg.types.Types.LongType;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.io.Files.createTempDir;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.Objects.requireNonNull;
+import static org.apache.iceberg.types.Types.NestedField.optional;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class TestManifestCache
+{
+    private File location;
+    private Table table;
+
+    @BeforeClass
+    public void setUp()
+    {
+        location = createTempDir();
+        Schema schema = new Schema(optional(1, "id", LongType.get()));
+        table = new HadoopTables(new Configuration(false)).create(schema, PartitionSpec.unpartitioned(), location.getPath());
+        table.newFastAppend()
+                .appendFile(dataFile("/data/a.parquet"))
+                .appendFile(dataFile("/data/b.parquet"))
+                .commit();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(location.toPath(), ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testManifestsAreCached()
+    {
+        ManifestCache cache = new ManifestCache(DataSize.of(1, MEGABYTE));
+        CountingFileIo fileIo = new CountingFileIo(table.io());
+        Snapshot snapshot = table.currentSnapshot();
+
+        List<ManifestFile> manifests = cache.getManifests(snapshot);
+        assertEquals(manifests.size(), 1);
+        assertSame(cache.getManifests(snapshot), manifests);
+
+        // the parsed data files are served from the cache
+        for (int i = 0; i < 2; i++) {
+            List<DataFile> dataFiles = cache.getDataFiles(manifests.get(0), fileIo, table.specs());
+            assertEquals(getPaths(dataFiles), ImmutableSet.of("/data/a.parquet", "/data/b.parquet"));
+        }
+        assertEquals(fileIo.getOpenedFiles(), 1);
+        assertEquals(cache.getSize(), 2);
+        assertEquals(cache.getHitCount(), 2);
+
+        cache.flushCache();
+        assertEquals(cache.getSize(), 0);
+    }
+
+    @Test
+    public void testDisabled()
+    {
+        ManifestCache cache = ManifestCache.disabled();
+        CountingFileIo fileIo = new CountingFileIo(table.io());
+
+        ManifestFile manifest = cache.getManifests(table.currentSnapshot()).get(0);
+        for (int i = 0; i < 2; i++) {
+            List<DataFile> dataFiles = cache.getDataFiles(manifest, fileIo, table.specs());
+            assertEquals(getPaths(dataFiles), ImmutableSet.of("/data/a.parquet", "/data/b.parquet"));
+        }
+        assertEquals(fileIo.getOpenedFiles(), 2);
+        assertEquals(cache.getSize(), 0);
+    }
+
+    private static DataFile dataFile(String path)
+    {
+        return DataFiles.builder(PartitionSpec.unpartitioned())
+                .withPath(path)
+                .withFormat(FileFormat.PARQUET)
+                .withFileSizeInBytes(100)
+                .withRecordCount(10)
+                .build();
+    }
+
+    private static ImmutableSet<String> getPaths(List<DataFile> dataFiles)
+    {
+        return dataFiles.stream()
+                .map(dataFile -> dataFile.path().toString())
+                .collect(toImmutableSet());
+    }
+
+    private static class CountingFileIo
+            implements FileIO
+    {
+        private final FileIO delegate;
+        private final AtomicInteger openedFiles = new AtomicInteger();
+
+        public CountingFileIo(FileIO delegate)
+        {
+            this.delegate = requireNonNull(delegate, "delegate is null");
+        }
+
+        @Override
+        public InputFile newInputFile(String path)
+        {
+            openedFiles.incrementAndGet();
+            return delegate.newInputFile(path);
+        }
+
+        @Override
+        public OutputFile newOutputFile(String path)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteFile(String path)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        public int getOpenedFiles()
+        {
+            return openedFiles.get();
+        }
+    }
+}
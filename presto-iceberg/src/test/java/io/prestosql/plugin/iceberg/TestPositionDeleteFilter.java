@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.iceberg;
+
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.LongArrayBlock;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class TestPositionDeleteFilter
+{
+    @Test
+    public void testCreate()
+    {
+        PositionDeleteFilter filter = PositionDeleteFilter.create(new long[] {7, 3, 7, 1, 3, 99}, 5);
+        assertEquals(filter.getDeletedPositionCount(), 3);
+    }
+
+    @Test
+    public void testFilter()
+    {
+        PositionDeleteFilter filter = PositionDeleteFilter.create(new long[] {2, 11, 12, 14, 40}, 5);
+
+        Page page = filter.filter(createPage(10, 5), 1);
+        assertRowPositions(page, 10, 13);
+        assertEquals(BIGINT.getLong(page.getBlock(0), 0), 100);
+        assertEquals(BIGINT.getLong(page.getBlock(0), 1), 130);
+    }
+
+    @Test
+    public void testFilterAll()
+    {
+        PositionDeleteFilter filter = PositionDeleteFilter.create(new long[] {0, 1, 2}, 3);
+        assertEquals(filter.filter(createPage(0, 3), 1).getPositionCount(), 0);
+    }
+
+    @Test
+    public void testNoDeletesInPage()
+    {
+        PositionDeleteFilter filter = PositionDeleteFilter.create(new long[] {5, 50}, 2);
+        Page page = createPage(10, 20);
+        assertSame(filter.filter(page, 1), page);
+
+        page = createPage(100, 20);
+        assertSame(filter.filter(page, 1), page);
+
+        PositionDeleteFilter empty = PositionDeleteFilter.create(new long[0], 0);
+        assertSame(empty.filter(page, 1), page);
+    }
+
+    private static Page createPage(long firstRowPosition, int positionCount)
+    {
+        long[] values = new long[positionCount];
+        long[] rowPositions = new long[positionCount];
+        for (int i = 0; i < positionCount; i++) {
+            rowPositions[i] = firstRowPosition + i;
+            values[i] = rowPositions[i] * 10;
+        }
+        return new Page(
+                positionCount,
+                new LongArrayBlock(positionCount, Optional.empty(), values),
+                new LongArrayBlock(positionCount, Optional.empty(), rowPositions));
+    }
+
+    private static void assertRowPositions(Page page, long... expected)
+    {
+        Block rowPositions = page.getBlock(1);
+        assertEquals(page.getPositionCount(), expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(BIGINT.getLong(rowPositions, i), expected[i]);
+        }
+    }
+}
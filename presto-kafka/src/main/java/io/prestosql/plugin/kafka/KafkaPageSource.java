@@ -0,0 +1,296 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.kafka;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import io.prestosql.decoder.RowDecoder;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PageBuilder;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.type.MapType;
+import io.prestosql.spi.type.Type;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.slice.Slices.wrappedBuffer;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldManager.HEADERS_FIELD;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldManager.KEY_CORRUPT_FIELD;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldManager.KEY_FIELD;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldManager.KEY_LENGTH_FIELD;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldManager.MESSAGE_CORRUPT_FIELD;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldManager.MESSAGE_FIELD;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldManager.MESSAGE_LENGTH_FIELD;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldManager.OFFSET_TIMESTAMP_FIELD;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldManager.PARTITION_ID_FIELD;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldManager.PARTITION_OFFSET_FIELD;
+import static io.prestosql.spi.type.Timestamps.MICROSECONDS_PER_MILLISECOND;
+import static io.prestosql.spi.type.TypeUtils.writeNativeValue;
+import static java.lang.Math.max;
+import static java.util.Collections.emptyIterator;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the messages of a split in batches and decodes each batch column by column
+ * directly into the blocks of the resulting page.
+ */
+public class KafkaPageSource
+        implements ConnectorPageSource
+{
+    private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
+    private static final int CONSUMER_POLL_TIMEOUT = 100;
+    private static final int MAX_MESSAGES_PER_PAGE = 1024;
+
+    private final KafkaSplit split;
+    private final List<KafkaColumnHandle> columnHandles;
+    private final RowDecoder keyDecoder;
+    private final RowDecoder messageDecoder;
+    private final List<KafkaColumnHandle> keyColumns;
+    private final List<Integer> keyChannels;
+    private final List<KafkaColumnHandle> messageColumns;
+    private final List<Integer> messageChannels;
+
+    private final TopicPartition topicPartition;
+    private final KafkaConsumer<byte[], byte[]> kafkaConsumer;
+    private final PageBuilder pageBuilder;
+
+    private Iterator<ConsumerRecord<byte[], byte[]>> records = emptyIterator();
+    private long completedBytes;
+    private long readTimeNanos;
+    private boolean finished;
+
+    KafkaPageSource(
+            KafkaSplit split,
+            KafkaConsumerFactory consumerFactory,
+            List<KafkaColumnHandle> columnHandles,
+            RowDecoder keyDecoder,
+            RowDecoder messageDecoder)
+    {
+        this.split = requireNonNull(split, "split is null");
+        requireNonNull(consumerFactory, "consumerFactory is null");
+        this.columnHandles = ImmutableList.copyOf(requireNonNull(columnHandles, "columnHandles is null"));
+        this.keyDecoder = requireNonNull(keyDecoder, "keyDecoder is null");
+        this.messageDecoder = requireNonNull(messageDecoder, "messageDecoder is null");
+
+        this.pageBuilder = new PageBuilder(columnHandles.stream()
+                .map(KafkaColumnHandle::getType)
+                .collect(toImmutableList()));
+
+        ImmutableList.Builder<KafkaColumnHandle> keyColumns = ImmutableList.builder();
+        ImmutableList.Builder<Integer> keyChannels = ImmutableList.builder();
+        ImmutableList.Builder<KafkaColumnHandle> messageColumns = ImmutableList.builder();
+        ImmutableList.Builder<Integer> messageChannels = ImmutableList.builder();
+        for (int channel = 0; channel < columnHandles.size(); channel++) {
+            KafkaColumnHandle column = columnHandles.get(channel);
+            if (column.isInternal()) {
+                continue;
+            }
+            if (column.isKeyCodec()) {
+                keyColumns.add(column);
+                keyChannels.add(channel);
+            }
+            else {
+                messageColumns.add(column);
+                messageChannels.add(channel);
+            }
+        }
+        this.keyColumns = keyColumns.build();
+        this.keyChannels = keyChannels.build();
+        this.messageColumns = messageColumns.build();
+        this.messageChannels = messageChannels.build();
+
+        topicPartition = new TopicPartition(split.getTopicName(), split.getPartitionId());
+        kafkaConsumer = consumerFactory.create();
+        kafkaConsumer.assign(ImmutableList.of(topicPartition));
+        kafkaConsumer.seek(topicPartition, split.getMessagesRange().getBegin());
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return completedBytes;
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return readTimeNanos;
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return finished;
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        verify(pageBuilder.isEmpty());
+
+        long start = System.nanoTime();
+        List<ConsumerRecord<byte[], byte[]>> messages = new ArrayList<>(MAX_MESSAGES_PER_PAGE);
+        while (!finished && messages.size() < MAX_MESSAGES_PER_PAGE) {
+            if (!records.hasNext()) {
+                if (kafkaConsumer.position(topicPartition) >= split.getMessagesRange().getEnd()) {
+                    finished = true;
+                    break;
+                }
+                records = kafkaConsumer.poll(CONSUMER_POLL_TIMEOUT).iterator();
+                continue;
+            }
+
+            ConsumerRecord<byte[], byte[]> message = records.next();
+            if (message.offset() >= split.getMessagesRange().getEnd()) {
+                finished = true;
+                break;
+            }
+            completedBytes += max(message.serializedKeySize(), 0) + max(message.serializedValueSize(), 0);
+            messages.add(message);
+        }
+        readTimeNanos += System.nanoTime() - start;
+
+        if (messages.isEmpty()) {
+            return null;
+        }
+
+        List<byte[]> keys = new ArrayList<>(messages.size());
+        List<byte[]> values = new ArrayList<>(messages.size());
+        for (ConsumerRecord<byte[], byte[]> message : messages) {
+            keys.add(message.key() == null ? EMPTY_BYTE_ARRAY : message.key());
+            values.add(message.value() == null ? EMPTY_BYTE_ARRAY : message.value());
+        }
+
+        pageBuilder.declarePositions(messages.size());
+        boolean[] keyDecoded = keyDecoder.decodeRows(keys, keyColumns, getBlockBuilders(keyChannels));
+        boolean[] messageDecoded = messageDecoder.decodeRows(values, messageColumns, getBlockBuilders(messageChannels));
+
+        for (int channel = 0; channel < columnHandles.size(); channel++) {
+            KafkaColumnHandle columnHandle = columnHandles.get(channel);
+            if (!columnHandle.isInternal()) {
+                continue;
+            }
+
+            Type type = columnHandle.getType();
+            BlockBuilder output = pageBuilder.getBlockBuilder(channel);
+            for (int position = 0; position < messages.size(); position++) {
+                ConsumerRecord<byte[], byte[]> message = messages.get(position);
+                switch (columnHandle.getName()) {
+                    case PARTITION_OFFSET_FIELD:
+                        type.writeLong(output, message.offset());
+                        break;
+                    case MESSAGE_FIELD:
+                        writeBytes(type, output, values.get(position));
+                        break;
+                    case MESSAGE_LENGTH_FIELD:
+                        type.writeLong(output, values.get(position).length);
+                        break;
+                    case KEY_FIELD:
+                        writeBytes(type, output, keys.get(position));
+                        break;
+                    case KEY_LENGTH_FIELD:
+                        type.writeLong(output, keys.get(position).length);
+                        break;
+                    case OFFSET_TIMESTAMP_FIELD:
+                        type.writeLong(output, message.timestamp() * MICROSECONDS_PER_MILLISECOND);
+                        break;
+                    case KEY_CORRUPT_FIELD:
+                        type.writeBoolean(output, !keyDecoded[position]);
+                        break;
+                    case HEADERS_FIELD:
+                        writeHeaders((MapType) type, output, message.headers());
+                        break;
+                    case MESSAGE_CORRUPT_FIELD:
+                        type.writeBoolean(output, !messageDecoded[position]);
+                        break;
+                    case PARTITION_ID_FIELD:
+                        type.writeLong(output, message.partition());
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unknown internal field " + columnHandle.getName());
+                }
+            }
+        }
+
+        Page page = pageBuilder.build();
+        pageBuilder.reset();
+        return page;
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return pageBuilder.getRetainedSizeInBytes();
+    }
+
+    @Override
+    public void close()
+    {
+        kafkaConsumer.close();
+    }
+
+    private List<BlockBuilder> getBlockBuilders(List<Integer> channels)
+    {
+        return channels.stream()
+                .map(pageBuilder::getBlockBuilder)
+                .collect(toImmutableList());
+    }
+
+    private static void writeBytes(Type type, BlockBuilder output, byte[] value)
+    {
+        if (value.length == 0) {
+            output.appendNull();
+        }
+        else {
+            type.writeSlice(output, wrappedBuffer(value));
+        }
+    }
+
+    private static void writeHeaders(MapType varcharMapType, BlockBuilder output, Headers headers)
+    {
+        Type keyType = varcharMapType.getTypeParameters().get(0);
+        Type valueArrayType = varcharMapType.getTypeParameters().get(1);
+        Type valueType = valueArrayType.getTypeParameters().get(0);
+
+        BlockBuilder builder = output.beginBlockEntry();
+
+        // Group by keys and collect values as array.
+        Multimap<String, byte[]> headerMap = ArrayListMultimap.create();
+        for (Header header : headers) {
+            headerMap.put(header.key(), header.value());
+        }
+
+        for (String headerKey : headerMap.keySet()) {
+            writeNativeValue(keyType, builder, headerKey);
+            BlockBuilder arrayBuilder = builder.beginBlockEntry();
+            for (byte[] value : headerMap.get(headerKey)) {
+                writeNativeValue(valueType, arrayBuilder, value);
+            }
+            builder.closeEntry();
+        }
+
+        output.closeEntry();
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.kafka;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static org.testng.Assert.assertEquals;
+
+public class TestRange
+{
+    @Test
+    public void testPartition()
+    {
+        assertPartitions(new Range(0, 10), 3, "[0, 3)", "[3, 6)", "[6, 9)", "[9, 10)");
+        assertPartitions(new Range(5, 11), 3, "[5, 8)", "[8, 11)");
+        assertPartitions(new Range(5, 6), 100, "[5, 6)");
+        assertPartitions(new Range(7, 7), 3);
+    }
+
+    private static void assertPartitions(Range range, int partitionSize, String... expected)
+    {
+        List<String> partitions = range.partition(partitionSize).stream()
+                .map(partition -> "[" + partition.getBegin() + ", " + partition.getEnd() + ")")
+                .collect(toImmutableList());
+        assertEquals(partitions, List.of(expected));
+    }
+}
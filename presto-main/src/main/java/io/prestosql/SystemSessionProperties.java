@@ -75,6 +75,7 @@ public final class SystemSessionProperties
     public static final String DICTIONARY_AGGREGATION = "dictionary_aggregation";
     public static final String PLAN_WITH_TABLE_NODE_PARTITIONING = "plan_with_table_node_partitioning";
     public static final String SPATIAL_JOIN = "spatial_join";
+    public static final String MERGE_JOIN = "merge_join";
     public static final String SPATIAL_PARTITIONING_TABLE_NAME = "spatial_partitioning_table_name";
     public static final String COLOCATED_JOIN = "colocated_join";
     public static final String CONCURRENT_LIFESPANS_PER_NODE = "concurrent_lifespans_per_task";
@@ -333,6 +334,11 @@ public final class SystemSessionProperties
                         "Use spatial index for spatial join when possible",
                         featuresConfig.isSpatialJoinsEnabled(),
                         false),
+                booleanProperty(
+                        MERGE_JOIN,
+                        "Experimental: Use a merge join for colocated inputs that are sorted on the join keys",
+                        featuresConfig.isMergeJoinsEnabled(),
+                        false),
                 stringProperty(
                         SPATIAL_PARTITIONING_TABLE_NAME,
                         "Name of the table containing spatial partitioning scheme",
@@ -719,6 +725,11 @@ public final class SystemSessionProperties
         return session.getSystemProperty(SPATIAL_JOIN, Boolean.class);
     }
 
+    public static boolean isMergeJoinEnabled(Session session)
+    {
+        return session.getSystemProperty(MERGE_JOIN, Boolean.class);
+    }
+
     public static Optional<String> getSpatialPartitioningTableName(Session session)
     {
         return Optional.ofNullable(session.getSystemProperty(SPATIAL_PARTITIONING_TABLE_NAME, String.class));
@@ -379,6 +379,8 @@ public interface Metadata
 
     Optional<TableHandle> applySample(Session session, TableHandle table, SampleType sampleType, double sampleRatio);
 
+    Optional<TableHandle> applySortedRead(Session session, TableHandle table);
+
     Optional<AggregationApplicationResult<TableHandle>> applyAggregation(
             Session session,
             TableHandle table,
@@ -1207,6 +1207,25 @@ public final class MetadataManager
                         Optional.empty()));
     }
 
+    @Override
+    public Optional<TableHandle> applySortedRead(Session session, TableHandle table)
+    {
+        CatalogName catalogName = table.getCatalogName();
+        ConnectorMetadata metadata = getMetadata(session, catalogName);
+
+        if (metadata.usesLegacyTableLayouts()) {
+            return Optional.empty();
+        }
+
+        ConnectorSession connectorSession = session.toConnectorSession(catalogName);
+        return metadata.applySortedRead(connectorSession, table.getConnectorHandle())
+                .map(result -> new TableHandle(
+                        catalogName,
+                        result,
+                        table.getTransaction(),
+                        Optional.empty()));
+    }
+
     @Override
     public Optional<AggregationApplicationResult<TableHandle>> applyAggregation(
             Session session,
@@ -0,0 +1,167 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.prestosql.execution.Lifespan;
+import io.prestosql.memory.context.LocalMemoryContext;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PrestoException;
+import io.prestosql.sql.planner.plan.PlanNodeId;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
+import static java.util.Objects.requireNonNull;
+
+public class MergeJoinBuildOperator
+        implements Operator
+{
+    public static class MergeJoinBuildOperatorFactory
+            implements OperatorFactory
+    {
+        private final int operatorId;
+        private final PlanNodeId planNodeId;
+        private final JoinBridgeManager<MergeJoinSource> mergeJoinSourceManager;
+        private final Set<Lifespan> lifespansWithOperator = ConcurrentHashMap.newKeySet();
+
+        private boolean closed;
+
+        public MergeJoinBuildOperatorFactory(int operatorId, PlanNodeId planNodeId, JoinBridgeManager<MergeJoinSource> mergeJoinSourceManager)
+        {
+            this.operatorId = operatorId;
+            this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
+            this.mergeJoinSourceManager = requireNonNull(mergeJoinSourceManager, "mergeJoinSourceManager is null");
+        }
+
+        @Override
+        public Operator createOperator(DriverContext driverContext)
+        {
+            checkState(!closed, "Factory is already closed");
+            if (!lifespansWithOperator.add(driverContext.getLifespan())) {
+                throw new PrestoException(NOT_SUPPORTED, "Merge join requires a single sorted build input for each lifespan");
+            }
+            OperatorContext operatorContext = driverContext.addOperatorContext(operatorId, planNodeId, MergeJoinBuildOperator.class.getSimpleName());
+            return new MergeJoinBuildOperator(operatorContext, mergeJoinSourceManager.getJoinBridge(driverContext.getLifespan()));
+        }
+
+        @Override
+        public void noMoreOperators(Lifespan lifespan)
+        {
+            // a lifespan without build input, e.g. an empty bucket, still has to let the probe side finish
+            if (!lifespansWithOperator.contains(lifespan)) {
+                mergeJoinSourceManager.getJoinBridge(lifespan).noMorePages();
+            }
+        }
+
+        @Override
+        public void noMoreOperators()
+        {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+
+        @Override
+        public OperatorFactory duplicate()
+        {
+            throw new UnsupportedOperationException("Merge join build cannot be duplicated");
+        }
+    }
+
+    private final OperatorContext operatorContext;
+    private final MergeJoinSource mergeJoinSource;
+    private final LocalMemoryContext localUserMemoryContext;
+
+    private ListenableFuture<?> blocked = NOT_BLOCKED;
+    private boolean finishing;
+
+    public MergeJoinBuildOperator(OperatorContext operatorContext, MergeJoinSource mergeJoinSource)
+    {
+        this.operatorContext = requireNonNull(operatorContext, "operatorContext is null");
+        this.mergeJoinSource = requireNonNull(mergeJoinSource, "mergeJoinSource is null");
+        this.localUserMemoryContext = operatorContext.localUserMemoryContext();
+    }
+
+    @Override
+    public OperatorContext getOperatorContext()
+    {
+        return operatorContext;
+    }
+
+    @Override
+    public void finish()
+    {
+        if (finishing) {
+            return;
+        }
+        finishing = true;
+        mergeJoinSource.noMorePages();
+        localUserMemoryContext.setBytes(0);
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return finishing;
+    }
+
+    @Override
+    public ListenableFuture<?> isBlocked()
+    {
+        if (blocked.isDone()) {
+            blocked = NOT_BLOCKED;
+            localUserMemoryContext.setBytes(mergeJoinSource.getBufferedBytes());
+        }
+        return blocked;
+    }
+
+    @Override
+    public boolean needsInput()
+    {
+        return !finishing && blocked.isDone();
+    }
+
+    @Override
+    public void addInput(Page page)
+    {
+        requireNonNull(page, "page is null");
+        checkState(needsInput(), "Operator does not need input");
+
+        if (page.getPositionCount() == 0) {
+            return;
+        }
+
+        // the probe side reads the page from another thread
+        page = page.getLoadedPage();
+        blocked = mergeJoinSource.addPage(page);
+        localUserMemoryContext.setBytes(mergeJoinSource.getBufferedBytes());
+        operatorContext.recordOutput(page.getSizeInBytes(), page.getPositionCount());
+    }
+
+    @Override
+    public Page getOutput()
+    {
+        return null;
+    }
+
+    @Override
+    public void close()
+    {
+        finish();
+    }
+}
@@ -0,0 +1,522 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.prestosql.execution.Lifespan;
+import io.prestosql.memory.context.LocalMemoryContext;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PageBuilder;
+import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.connector.SortOrder;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.TypeOperators;
+import io.prestosql.sql.planner.plan.PlanNodeId;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.prestosql.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
+import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
+import static io.prestosql.spi.function.InvocationConvention.InvocationArgumentConvention.BLOCK_POSITION;
+import static io.prestosql.spi.function.InvocationConvention.InvocationReturnConvention.FAIL_ON_NULL;
+import static io.prestosql.spi.function.InvocationConvention.simpleConvention;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Inner join of two inputs that are both sorted on the join keys. The build side is
+ * streamed through a {@link MergeJoinSource}; only the build rows sharing the key
+ * of the current probe row are retained.
+ */
+public class MergeJoinOperator
+        implements Operator
+{
+    public static class MergeJoinOperatorFactory
+            implements OperatorFactory
+    {
+        private final int operatorId;
+        private final PlanNodeId planNodeId;
+        private final JoinBridgeManager<MergeJoinSource> joinBridgeManager;
+        private final List<Type> probeTypes;
+        private final List<Integer> probeJoinChannels;
+        private final List<Integer> probeOutputChannels;
+        private final List<Integer> buildJoinChannels;
+        private final List<Integer> buildOutputChannels;
+        private final List<SortOrder> sortOrders;
+        private final TypeOperators typeOperators;
+        private final Set<Lifespan> lifespansWithOperator = ConcurrentHashMap.newKeySet();
+        private boolean closed;
+
+        public MergeJoinOperatorFactory(
+                int operatorId,
+                PlanNodeId planNodeId,
+                JoinBridgeManager<MergeJoinSource> joinBridgeManager,
+                List<Type> probeTypes,
+                List<Integer> probeJoinChannels,
+                List<Integer> probeOutputChannels,
+                List<Integer> buildJoinChannels,
+                List<Integer> buildOutputChannels,
+                List<SortOrder> sortOrders,
+                TypeOperators typeOperators)
+        {
+            this.operatorId = operatorId;
+            this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
+            this.joinBridgeManager = requireNonNull(joinBridgeManager, "joinBridgeManager is null");
+            this.probeTypes = ImmutableList.copyOf(requireNonNull(probeTypes, "probeTypes is null"));
+            this.probeJoinChannels = ImmutableList.copyOf(requireNonNull(probeJoinChannels, "probeJoinChannels is null"));
+            this.probeOutputChannels = ImmutableList.copyOf(requireNonNull(probeOutputChannels, "probeOutputChannels is null"));
+            this.buildJoinChannels = ImmutableList.copyOf(requireNonNull(buildJoinChannels, "buildJoinChannels is null"));
+            this.buildOutputChannels = ImmutableList.copyOf(requireNonNull(buildOutputChannels, "buildOutputChannels is null"));
+            this.sortOrders = ImmutableList.copyOf(requireNonNull(sortOrders, "sortOrders is null"));
+            this.typeOperators = requireNonNull(typeOperators, "typeOperators is null");
+            checkArgument(probeJoinChannels.size() == buildJoinChannels.size(), "probe and build join channels do not match");
+            checkArgument(probeJoinChannels.size() == sortOrders.size(), "sort orders do not match join channels");
+            joinBridgeManager.incrementProbeFactoryCount();
+        }
+
+        @Override
+        public Operator createOperator(DriverContext driverContext)
+        {
+            checkState(!closed, "Factory is already closed");
+            Lifespan lifespan = driverContext.getLifespan();
+            if (!lifespansWithOperator.add(lifespan)) {
+                throw new PrestoException(NOT_SUPPORTED, "Merge join requires a single sorted probe input for each lifespan");
+            }
+            MergeJoinSource mergeJoinSource = joinBridgeManager.getJoinBridge(lifespan);
+
+            OperatorContext operatorContext = driverContext.addOperatorContext(operatorId, planNodeId, MergeJoinOperator.class.getSimpleName());
+
+            joinBridgeManager.probeOperatorCreated(lifespan);
+            return new MergeJoinOperator(
+                    operatorContext,
+                    mergeJoinSource,
+                    probeTypes,
+                    probeJoinChannels,
+                    probeOutputChannels,
+                    joinBridgeManager.getBuildOutputTypes(),
+                    buildJoinChannels,
+                    buildOutputChannels,
+                    sortOrders,
+                    typeOperators,
+                    () -> joinBridgeManager.probeOperatorClosed(lifespan));
+        }
+
+        @Override
+        public void noMoreOperators()
+        {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            joinBridgeManager.probeOperatorFactoryClosedForAllLifespans();
+        }
+
+        @Override
+        public void noMoreOperators(Lifespan lifespan)
+        {
+            // a lifespan without probe input must not leave the build side blocked on a full buffer
+            if (!lifespansWithOperator.contains(lifespan)) {
+                joinBridgeManager.getJoinBridge(lifespan).probeFinished();
+            }
+            joinBridgeManager.probeOperatorFactoryClosed(lifespan);
+        }
+
+        @Override
+        public OperatorFactory duplicate()
+        {
+            throw new UnsupportedOperationException("Merge join cannot be duplicated");
+        }
+    }
+
+    private final OperatorContext operatorContext;
+    private final LocalMemoryContext localUserMemoryContext;
+    private final MergeJoinSource mergeJoinSource;
+    private final List<Type> probeTypes;
+    private final int[] probeJoinChannels;
+    private final int[] probeOutputChannels;
+    private final List<Type> buildTypes;
+    private final int[] buildJoinChannels;
+    private final int[] buildOutputChannels;
+    private final List<MethodHandle> orderingOperators;
+    private final Runnable afterClose;
+    private final PageBuilder pageBuilder;
+
+    private ListenableFuture<?> blocked = NOT_BLOCKED;
+    private boolean finishing;
+    private boolean closed;
+
+    private Page probePage;
+    private int probePosition;
+
+    private Page buildPage;
+    private int buildPosition;
+    private boolean buildFinished;
+
+    // build rows with the same key; the group is complete once a build row with a larger key has been seen
+    private final List<Page> matchPages = new ArrayList<>();
+    // the regions in matchPages retain their whole build page, so each build page is only counted once
+    private Page lastMatchBuildPage;
+    private long matchRetainedBytes;
+    private boolean matchComplete;
+    // position within the group of the next row to join with the current probe row
+    private int matchPageIndex;
+    private int matchPosition;
+
+    public MergeJoinOperator(
+            OperatorContext operatorContext,
+            MergeJoinSource mergeJoinSource,
+            List<Type> probeTypes,
+            List<Integer> probeJoinChannels,
+            List<Integer> probeOutputChannels,
+            List<Type> buildTypes,
+            List<Integer> buildJoinChannels,
+            List<Integer> buildOutputChannels,
+            List<SortOrder> sortOrders,
+            TypeOperators typeOperators,
+            Runnable afterClose)
+    {
+        this.operatorContext = requireNonNull(operatorContext, "operatorContext is null");
+        this.localUserMemoryContext = operatorContext.localUserMemoryContext();
+        this.mergeJoinSource = requireNonNull(mergeJoinSource, "mergeJoinSource is null");
+        this.probeTypes = ImmutableList.copyOf(requireNonNull(probeTypes, "probeTypes is null"));
+        this.probeJoinChannels = Ints.toArray(requireNonNull(probeJoinChannels, "probeJoinChannels is null"));
+        this.probeOutputChannels = Ints.toArray(requireNonNull(probeOutputChannels, "probeOutputChannels is null"));
+        this.buildTypes = ImmutableList.copyOf(requireNonNull(buildTypes, "buildTypes is null"));
+        this.buildJoinChannels = Ints.toArray(requireNonNull(buildJoinChannels, "buildJoinChannels is null"));
+        this.buildOutputChannels = Ints.toArray(requireNonNull(buildOutputChannels, "buildOutputChannels is null"));
+        this.afterClose = requireNonNull(afterClose, "afterClose is null");
+        requireNonNull(sortOrders, "sortOrders is null");
+        requireNonNull(typeOperators, "typeOperators is null");
+
+        ImmutableList.Builder<MethodHandle> orderingOperators = ImmutableList.builder();
+        for (int i = 0; i < this.probeJoinChannels.length; i++) {
+            Type type = this.probeTypes.get(this.probeJoinChannels[i]);
+            checkArgument(type.equals(this.buildTypes.get(this.buildJoinChannels[i])), "probe and build join key types do not match");
+            orderingOperators.add(typeOperators.getOrderingOperator(type, sortOrders.get(i), simpleConvention(FAIL_ON_NULL, BLOCK_POSITION, BLOCK_POSITION)));
+        }
+        this.orderingOperators = orderingOperators.build();
+
+        this.pageBuilder = new PageBuilder(ImmutableList.<Type>builder()
+                .addAll(probeOutputChannels.stream().map(this.probeTypes::get).collect(toImmutableList()))
+                .addAll(buildOutputChannels.stream().map(this.buildTypes::get).collect(toImmutableList()))
+                .build());
+    }
+
+    @Override
+    public OperatorContext getOperatorContext()
+    {
+        return operatorContext;
+    }
+
+    @Override
+    public ListenableFuture<?> isBlocked()
+    {
+        return blocked;
+    }
+
+    @Override
+    public boolean needsInput()
+    {
+        return !finishing && probePage == null && !isFinished();
+    }
+
+    @Override
+    public void addInput(Page page)
+    {
+        requireNonNull(page, "page is null");
+        checkState(needsInput(), "Operator does not need input");
+        if (page.getPositionCount() == 0) {
+            return;
+        }
+        probePage = page;
+        probePosition = 0;
+        updateMemoryUsage();
+    }
+
+    @Override
+    public Page getOutput()
+    {
+        if (!blocked.isDone()) {
+            return null;
+        }
+        blocked = NOT_BLOCKED;
+
+        join();
+        updateMemoryUsage();
+
+        if (pageBuilder.isFull() || (probePage == null && !pageBuilder.isEmpty())) {
+            Page output = pageBuilder.build();
+            pageBuilder.reset();
+            return output;
+        }
+        return null;
+    }
+
+    @Override
+    public void finish()
+    {
+        finishing = true;
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        if (!pageBuilder.isEmpty()) {
+            return false;
+        }
+        // the remaining probe rows cannot match once the build side is exhausted
+        return (finishing && probePage == null) || (buildFinished && matchPages.isEmpty());
+    }
+
+    @Override
+    public void close()
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        probePage = null;
+        buildPage = null;
+        clearMatch();
+        localUserMemoryContext.setBytes(0);
+        mergeJoinSource.probeFinished();
+        afterClose.run();
+    }
+
+    private void join()
+    {
+        while (probePage != null && !pageBuilder.isFull()) {
+            if (probePosition >= probePage.getPositionCount()) {
+                probePage = null;
+                return;
+            }
+            if (hasNullKey(probePage, probePosition, probeJoinChannels)) {
+                probePosition++;
+                continue;
+            }
+
+            if (!matchPages.isEmpty()) {
+                if (!matchComplete && !completeMatch()) {
+                    return;
+                }
+                int compare = compare(probePage, probePosition, probeJoinChannels, matchPages.get(0), 0, buildJoinChannels);
+                if (compare < 0) {
+                    probePosition++;
+                }
+                else if (compare == 0) {
+                    if (!appendMatches()) {
+                        return;
+                    }
+                    probePosition++;
+                }
+                else {
+                    clearMatch();
+                }
+                continue;
+            }
+
+            if (!advanceBuild()) {
+                return;
+            }
+            if (buildFinished) {
+                probePage = null;
+                return;
+            }
+            if (hasNullKey(buildPage, buildPosition, buildJoinChannels)) {
+                buildPosition++;
+                continue;
+            }
+            int compare = compare(probePage, probePosition, probeJoinChannels, buildPage, buildPosition, buildJoinChannels);
+            if (compare < 0) {
+                probePosition++;
+            }
+            else if (compare > 0) {
+                buildPosition++;
+            }
+            else {
+                startMatch();
+            }
+        }
+    }
+
+    /**
+     * Positions the build cursor on an unread row. Returns false if the operator
+     * has to wait for the build side.
+     */
+    private boolean advanceBuild()
+    {
+        while (!buildFinished && (buildPage == null || buildPosition >= buildPage.getPositionCount())) {
+            Page page = mergeJoinSource.pollPage();
+            if (page == null) {
+                if (mergeJoinSource.isFinished()) {
+                    buildPage = null;
+                    buildFinished = true;
+                    return true;
+                }
+                blocked = mergeJoinSource.whenPageAvailable();
+                return false;
+            }
+            buildPage = page;
+            buildPosition = 0;
+        }
+        return true;
+    }
+
+    private void startMatch()
+    {
+        int start = buildPosition;
+        int end = start + 1;
+        while (end < buildPage.getPositionCount() && compare(buildPage, start, buildJoinChannels, buildPage, end, buildJoinChannels) == 0) {
+            end++;
+        }
+        addMatchRows(start, end - start);
+        buildPosition = end;
+        matchComplete = end < buildPage.getPositionCount();
+    }
+
+    /**
+     * Reads build pages until the first row past the current key group.
+     * Returns false if the operator has to wait for the build side.
+     */
+    private boolean completeMatch()
+    {
+        Page key = matchPages.get(0);
+        while (!matchComplete) {
+            if (!advanceBuild()) {
+                return false;
+            }
+            if (buildFinished) {
+                matchComplete = true;
+                return true;
+            }
+            int start = buildPosition;
+            int end = start;
+            while (end < buildPage.getPositionCount() && compare(key, 0, buildJoinChannels, buildPage, end, buildJoinChannels) == 0) {
+                end++;
+            }
+            if (end > start) {
+                addMatchRows(start, end - start);
+            }
+            buildPosition = end;
+            matchComplete = end < buildPage.getPositionCount();
+        }
+        return true;
+    }
+
+    private void addMatchRows(int start, int length)
+    {
+        matchPages.add(buildPage.getRegion(start, length));
+        if (buildPage != lastMatchBuildPage) {
+            lastMatchBuildPage = buildPage;
+            matchRetainedBytes += buildPage.getRetainedSizeInBytes();
+        }
+    }
+
+    private void clearMatch()
+    {
+        matchPages.clear();
+        lastMatchBuildPage = null;
+        matchRetainedBytes = 0;
+        matchComplete = false;
+        matchPageIndex = 0;
+        matchPosition = 0;
+    }
+
+    /**
+     * Joins the current probe row with the key group. Returns false if the
+     * output page filled up before all rows of the group were joined.
+     */
+    private boolean appendMatches()
+    {
+        while (matchPageIndex < matchPages.size()) {
+            Page matchPage = matchPages.get(matchPageIndex);
+            while (matchPosition < matchPage.getPositionCount()) {
+                if (pageBuilder.isFull()) {
+                    return false;
+                }
+                appendRow(matchPage, matchPosition);
+                matchPosition++;
+            }
+            matchPageIndex++;
+            matchPosition = 0;
+        }
+        matchPageIndex = 0;
+        return true;
+    }
+
+    private void appendRow(Page buildRowPage, int buildRowPosition)
+    {
+        pageBuilder.declarePosition();
+        int outputChannel = 0;
+        for (int channel : probeOutputChannels) {
+            probeTypes.get(channel).appendTo(probePage.getBlock(channel), probePosition, pageBuilder.getBlockBuilder(outputChannel));
+            outputChannel++;
+        }
+        for (int channel : buildOutputChannels) {
+            buildTypes.get(channel).appendTo(buildRowPage.getBlock(channel), buildRowPosition, pageBuilder.getBlockBuilder(outputChannel));
+            outputChannel++;
+        }
+    }
+
+    private int compare(Page left, int leftPosition, int[] leftChannels, Page right, int rightPosition, int[] rightChannels)
+    {
+        try {
+            for (int i = 0; i < leftChannels.length; i++) {
+                Block leftBlock = left.getBlock(leftChannels[i]);
+                Block rightBlock = right.getBlock(rightChannels[i]);
+                int compare = (int) orderingOperators.get(i).invokeExact(leftBlock, leftPosition, rightBlock, rightPosition);
+                if (compare != 0) {
+                    return compare;
+                }
+            }
+            return 0;
+        }
+        catch (Throwable throwable) {
+            throwIfUnchecked(throwable);
+            throw new PrestoException(GENERIC_INTERNAL_ERROR, throwable);
+        }
+    }
+
+    private static boolean hasNullKey(Page page, int position, int[] joinChannels)
+    {
+        for (int channel : joinChannels) {
+            if (page.getBlock(channel).isNull(position)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void updateMemoryUsage()
+    {
+        long bytes = matchRetainedBytes + pageBuilder.getRetainedSizeInBytes();
+        if (probePage != null) {
+            bytes += probePage.getRetainedSizeInBytes();
+        }
+        if (buildPage != null && buildPage != lastMatchBuildPage) {
+            bytes += buildPage.getRetainedSizeInBytes();
+        }
+        localUserMemoryContext.setBytes(bytes);
+    }
+}
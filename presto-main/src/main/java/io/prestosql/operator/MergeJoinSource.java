@@ -0,0 +1,175 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.prestosql.spi.Page;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.prestosql.operator.Operator.NOT_BLOCKED;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Streams the sorted pages of the build side of a merge join to the probe side.
+ * The buffer is bounded, so the build pipeline only runs ahead of the probe
+ * by {@code maxBufferedBytes} instead of materializing the whole build input.
+ */
+@ThreadSafe
+public class MergeJoinSource
+        implements JoinBridge
+{
+    private final long maxBufferedBytes;
+
+    @GuardedBy("this")
+    private final Queue<Page> pages = new ArrayDeque<>();
+    @GuardedBy("this")
+    private long bufferedBytes;
+    @GuardedBy("this")
+    private boolean noMorePages;
+    @GuardedBy("this")
+    private boolean probeFinished;
+    @GuardedBy("this")
+    private SettableFuture<?> notFull = SettableFuture.create();
+    @GuardedBy("this")
+    private SettableFuture<?> notEmpty = SettableFuture.create();
+
+    private final SettableFuture<?> buildFinished = SettableFuture.create();
+
+    public MergeJoinSource(long maxBufferedBytes)
+    {
+        checkArgument(maxBufferedBytes > 0, "maxBufferedBytes must be positive");
+        this.maxBufferedBytes = maxBufferedBytes;
+        notFull.set(null);
+    }
+
+    /**
+     * Returns a future that completes when the buffer has room for more pages.
+     */
+    public ListenableFuture<?> addPage(Page page)
+    {
+        requireNonNull(page, "page is null");
+        SettableFuture<?> pageAvailable;
+        ListenableFuture<?> spaceAvailable;
+        synchronized (this) {
+            if (probeFinished) {
+                return NOT_BLOCKED;
+            }
+            pages.add(page);
+            bufferedBytes += page.getRetainedSizeInBytes();
+            if (bufferedBytes >= maxBufferedBytes && notFull.isDone()) {
+                notFull = SettableFuture.create();
+            }
+            pageAvailable = notEmpty;
+            spaceAvailable = notFull;
+        }
+        pageAvailable.set(null);
+        return spaceAvailable;
+    }
+
+    public void noMorePages()
+    {
+        SettableFuture<?> pageAvailable;
+        synchronized (this) {
+            noMorePages = true;
+            pageAvailable = notEmpty;
+        }
+        pageAvailable.set(null);
+        buildFinished.set(null);
+    }
+
+    public synchronized long getBufferedBytes()
+    {
+        return bufferedBytes;
+    }
+
+    /**
+     * Returns the next buffered page, or null if no page is currently available.
+     */
+    public Page pollPage()
+    {
+        Page page;
+        SettableFuture<?> spaceAvailable = null;
+        synchronized (this) {
+            page = pages.poll();
+            if (page == null) {
+                if (!noMorePages && notEmpty.isDone()) {
+                    notEmpty = SettableFuture.create();
+                }
+                return null;
+            }
+            bufferedBytes -= page.getRetainedSizeInBytes();
+            if (bufferedBytes < maxBufferedBytes) {
+                spaceAvailable = notFull;
+            }
+        }
+        if (spaceAvailable != null) {
+            spaceAvailable.set(null);
+        }
+        return page;
+    }
+
+    public synchronized ListenableFuture<?> whenPageAvailable()
+    {
+        if (!pages.isEmpty() || noMorePages) {
+            return NOT_BLOCKED;
+        }
+        return notEmpty;
+    }
+
+    public synchronized boolean isFinished()
+    {
+        return noMorePages && pages.isEmpty();
+    }
+
+    /**
+     * Called when the probe side no longer needs build pages. Buffered pages are
+     * released and the build side is never blocked again, so it can run to completion.
+     */
+    public void probeFinished()
+    {
+        SettableFuture<?> spaceAvailable;
+        synchronized (this) {
+            probeFinished = true;
+            pages.clear();
+            bufferedBytes = 0;
+            spaceAvailable = notFull;
+        }
+        spaceAvailable.set(null);
+    }
+
+    @Override
+    public OuterPositionIterator getOuterPositionIterator()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void destroy()
+    {
+        probeFinished();
+    }
+
+    @Override
+    public ListenableFuture<?> whenBuildFinishes()
+    {
+        return buildFinished;
+    }
+}
@@ -76,6 +76,7 @@ public class FeaturesConfig
     private boolean dynamicScheduleForGroupedExecution;
     private int concurrentLifespansPerTask;
     private boolean spatialJoinsEnabled = true;
+    private boolean mergeJoinsEnabled;
     private JoinReorderingStrategy joinReorderingStrategy = JoinReorderingStrategy.AUTOMATIC;
     private int maxReorderedJoins = 9;
     private boolean redistributeWrites = true;
@@ -321,6 +322,19 @@ public class FeaturesConfig
         return this;
     }
 
+    public boolean isMergeJoinsEnabled()
+    {
+        return mergeJoinsEnabled;
+    }
+
+    @Config("merge-joins-enabled")
+    @ConfigDescription("Experimental: Use a merge join for colocated inputs that are sorted on the join keys")
+    public FeaturesConfig setMergeJoinsEnabled(boolean mergeJoinsEnabled)
+    {
+        this.mergeJoinsEnabled = mergeJoinsEnabled;
+        return this;
+    }
+
     public JoinReorderingStrategy getJoinReorderingStrategy()
     {
         return joinReorderingStrategy;
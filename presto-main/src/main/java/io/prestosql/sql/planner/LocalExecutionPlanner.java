@@ -67,6 +67,7 @@ import io.prestosql.operator.LookupJoinOperators;
 import io.prestosql.operator.LookupOuterOperator.LookupOuterOperatorFactory;
 import io.prestosql.operator.LookupSourceFactory;
 import io.prestosql.operator.MarkDistinctOperator.MarkDistinctOperatorFactory;
+import io.prestosql.operator.MergeJoinSource;
 import io.prestosql.operator.MergeOperator.MergeOperatorFactory;
 import io.prestosql.operator.NestedLoopJoinBridge;
 import io.prestosql.operator.NestedLoopJoinPagesSupplier;
@@ -163,6 +164,7 @@ import io.prestosql.sql.planner.plan.IndexSourceNode;
 import io.prestosql.sql.planner.plan.JoinNode;
 import io.prestosql.sql.planner.plan.LimitNode;
 import io.prestosql.sql.planner.plan.MarkDistinctNode;
+import io.prestosql.sql.planner.plan.MergeJoinNode;
 import io.prestosql.sql.planner.plan.OutputNode;
 import io.prestosql.sql.planner.plan.PlanNode;
 import io.prestosql.sql.planner.plan.PlanNodeId;
@@ -245,6 +247,8 @@ import static io.prestosql.SystemSessionProperties.isSpillOrderBy;
 import static io.prestosql.SystemSessionProperties.isSpillWindowOperator;
 import static io.prestosql.operator.DistinctLimitOperator.DistinctLimitOperatorFactory;
 import static io.prestosql.operator.JoinUtils.isBuildSideReplicated;
+import static io.prestosql.operator.MergeJoinBuildOperator.MergeJoinBuildOperatorFactory;
+import static io.prestosql.operator.MergeJoinOperator.MergeJoinOperatorFactory;
 import static io.prestosql.operator.NestedLoopBuildOperator.NestedLoopBuildOperatorFactory;
 import static io.prestosql.operator.NestedLoopJoinOperator.NestedLoopJoinOperatorFactory;
 import static io.prestosql.operator.PipelineExecutionStrategy.GROUPED_EXECUTION;
@@ -1759,6 +1763,66 @@ public class LocalExecutionPlanner
             throw new VerifyException("No valid spatial relationship found for spatial join");
         }
 
+        @Override
+        public PhysicalOperation visitMergeJoin(MergeJoinNode node, LocalExecutionPlanContext context)
+        {
+            PhysicalOperation probeSource = node.getLeft().accept(this, context);
+
+            LocalExecutionPlanContext buildContext = context.createSubContext();
+            PhysicalOperation buildSource = node.getRight().accept(this, buildContext);
+
+            checkState(
+                    probeSource.getPipelineExecutionStrategy() == GROUPED_EXECUTION && buildSource.getPipelineExecutionStrategy() == GROUPED_EXECUTION,
+                    "Both sources of a merge join are expected to be GROUPED_EXECUTION.");
+            checkArgument(buildContext.getDriverInstanceCount().orElse(1) == 1, "Expected local execution to not be parallel");
+            checkArgument(context.getDriverInstanceCount().orElse(1) == 1, "Expected local execution to not be parallel");
+
+            JoinBridgeManager<MergeJoinSource> mergeJoinSourceManager = new JoinBridgeManager<>(
+                    false,
+                    probeSource.getPipelineExecutionStrategy(),
+                    buildSource.getPipelineExecutionStrategy(),
+                    lifespan -> new MergeJoinSource(maxLocalExchangeBufferSize.toBytes()),
+                    buildSource.getTypes());
+            MergeJoinBuildOperatorFactory mergeJoinBuildOperatorFactory = new MergeJoinBuildOperatorFactory(
+                    buildContext.getNextOperatorId(),
+                    node.getId(),
+                    mergeJoinSourceManager);
+
+            context.addDriverFactory(
+                    buildContext.isInputDriver(),
+                    false,
+                    ImmutableList.<OperatorFactory>builder()
+                            .addAll(buildSource.getOperatorFactories())
+                            .add(mergeJoinBuildOperatorFactory)
+                            .build(),
+                    buildContext.getDriverInstanceCount(),
+                    buildSource.getPipelineExecutionStrategy());
+
+            // build output mapping
+            ImmutableMap.Builder<Symbol, Integer> outputMappings = ImmutableMap.builder();
+            List<Symbol> outputSymbols = node.getOutputSymbols();
+            for (int i = 0; i < outputSymbols.size(); i++) {
+                Symbol symbol = outputSymbols.get(i);
+                outputMappings.put(symbol, i);
+            }
+
+            List<Symbol> probeSymbols = Lists.transform(node.getCriteria(), JoinNode.EquiJoinClause::getLeft);
+            List<Symbol> buildSymbols = Lists.transform(node.getCriteria(), JoinNode.EquiJoinClause::getRight);
+
+            OperatorFactory operatorFactory = new MergeJoinOperatorFactory(
+                    context.getNextOperatorId(),
+                    node.getId(),
+                    mergeJoinSourceManager,
+                    probeSource.getTypes(),
+                    getChannelsForSymbols(probeSymbols, probeSource.getLayout()),
+                    getChannelsForSymbols(node.getLeftOutputSymbols(), probeSource.getLayout()),
+                    getChannelsForSymbols(buildSymbols, buildSource.getLayout()),
+                    getChannelsForSymbols(node.getRightOutputSymbols(), buildSource.getLayout()),
+                    node.getSortOrders(),
+                    typeOperators);
+            return new PhysicalOperation(operatorFactory, outputMappings.build(), context, probeSource);
+        }
+
         private Optional<PhysicalOperation> tryCreateSpatialJoin(
                 LocalExecutionPlanContext context,
                 SpatialJoinNode node,
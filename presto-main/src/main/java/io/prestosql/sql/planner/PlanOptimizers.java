@@ -189,6 +189,7 @@ import io.prestosql.sql.planner.optimizations.CheckSubqueryNodesAreRewritten;
 import io.prestosql.sql.planner.optimizations.HashGenerationOptimizer;
 import io.prestosql.sql.planner.optimizations.IndexJoinOptimizer;
 import io.prestosql.sql.planner.optimizations.LimitPushDown;
+import io.prestosql.sql.planner.optimizations.MergeJoinOptimizer;
 import io.prestosql.sql.planner.optimizations.MetadataQueryOptimizer;
 import io.prestosql.sql.planner.optimizations.OptimizeMixedDistinctAggregations;
 import io.prestosql.sql.planner.optimizations.PlanOptimizer;
@@ -738,6 +739,8 @@ public class PlanOptimizers
                         .add(new InlineProjections())
                         .build()));
 
+        builder.add(new MergeJoinOptimizer(metadata, typeOperators, typeAnalyzer));
+
         // Optimizers above this don't understand local exchanges, so be careful moving this.
         builder.add(new AddLocalExchanges(metadata, typeOperators, typeAnalyzer));
 
@@ -0,0 +1,279 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.sql.planner.optimizations;
+
+import com.google.common.collect.ImmutableList;
+import io.prestosql.Session;
+import io.prestosql.execution.warnings.WarningCollector;
+import io.prestosql.metadata.Metadata;
+import io.prestosql.spi.connector.ConstantProperty;
+import io.prestosql.spi.connector.LocalProperty;
+import io.prestosql.spi.connector.SortOrder;
+import io.prestosql.spi.connector.SortingProperty;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.TypeOperators;
+import io.prestosql.sql.DynamicFilters;
+import io.prestosql.sql.planner.PartitioningHandle;
+import io.prestosql.sql.planner.PlanNodeIdAllocator;
+import io.prestosql.sql.planner.Symbol;
+import io.prestosql.sql.planner.SymbolAllocator;
+import io.prestosql.sql.planner.TypeAnalyzer;
+import io.prestosql.sql.planner.TypeProvider;
+import io.prestosql.sql.planner.plan.DynamicFilterId;
+import io.prestosql.sql.planner.plan.FilterNode;
+import io.prestosql.sql.planner.plan.JoinNode;
+import io.prestosql.sql.planner.plan.JoinNode.EquiJoinClause;
+import io.prestosql.sql.planner.plan.MergeJoinNode;
+import io.prestosql.sql.planner.plan.PlanNode;
+import io.prestosql.sql.planner.plan.ProjectNode;
+import io.prestosql.sql.planner.plan.SimplePlanRewriter;
+import io.prestosql.sql.planner.plan.TableScanNode;
+import io.prestosql.sql.tree.Expression;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.prestosql.SystemSessionProperties.isGroupedExecutionEnabled;
+import static io.prestosql.SystemSessionProperties.isMergeJoinEnabled;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.RealType.REAL;
+import static io.prestosql.sql.ExpressionUtils.combineConjuncts;
+import static io.prestosql.sql.ExpressionUtils.extractConjuncts;
+import static io.prestosql.sql.planner.plan.JoinNode.DistributionType.PARTITIONED;
+import static io.prestosql.sql.planner.plan.JoinNode.Type.INNER;
+import static io.prestosql.sql.tree.BooleanLiteral.TRUE_LITERAL;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Replaces a colocated inner join with a {@link MergeJoinNode} when both sides are table
+ * scans that the connectors can read sorted on the join keys in the same order. The merge join
+ * streams the build side instead of building a hash table from it. The scans are only switched
+ * to sorted reads when the merge join is chosen, since sorted reads are usually less parallel.
+ * <p>
+ * This must run after exchanges have been added, so that it only sees joins whose inputs
+ * are read within the same fragment, and before local exchanges are added.
+ */
+public class MergeJoinOptimizer
+        implements PlanOptimizer
+{
+    private final Metadata metadata;
+    private final TypeOperators typeOperators;
+    private final TypeAnalyzer typeAnalyzer;
+
+    public MergeJoinOptimizer(Metadata metadata, TypeOperators typeOperators, TypeAnalyzer typeAnalyzer)
+    {
+        this.metadata = requireNonNull(metadata, "metadata is null");
+        this.typeOperators = requireNonNull(typeOperators, "typeOperators is null");
+        this.typeAnalyzer = requireNonNull(typeAnalyzer, "typeAnalyzer is null");
+    }
+
+    @Override
+    public PlanNode optimize(PlanNode plan, Session session, TypeProvider types, SymbolAllocator symbolAllocator, PlanNodeIdAllocator idAllocator, WarningCollector warningCollector)
+    {
+        if (!isMergeJoinEnabled(session) || !isGroupedExecutionEnabled(session)) {
+            return plan;
+        }
+        return SimplePlanRewriter.rewriteWith(new Rewriter(session, types), plan);
+    }
+
+    private class Rewriter
+            extends SimplePlanRewriter<Void>
+    {
+        private final Session session;
+        private final TypeProvider types;
+
+        public Rewriter(Session session, TypeProvider types)
+        {
+            this.session = requireNonNull(session, "session is null");
+            this.types = requireNonNull(types, "types is null");
+        }
+
+        @Override
+        public PlanNode visitJoin(JoinNode node, RewriteContext<Void> context)
+        {
+            JoinNode rewritten = (JoinNode) context.defaultRewrite(node);
+            if (rewritten.getType() != INNER ||
+                    rewritten.getCriteria().isEmpty() ||
+                    rewritten.getFilter().isPresent() ||
+                    rewritten.getDistributionType().orElse(null) != PARTITIONED ||
+                    !isPartitionedTableScan(rewritten.getLeft()) ||
+                    !isPartitionedTableScan(rewritten.getRight())) {
+                return rewritten;
+            }
+
+            Map<Symbol, Symbol> leftToRight = new HashMap<>();
+            for (EquiJoinClause clause : rewritten.getCriteria()) {
+                Type type = types.get(clause.getLeft());
+                // ordering considers NaN values equal, which a join must not
+                if (type.equals(DOUBLE) || type.equals(REAL) || !type.equals(types.get(clause.getRight()))) {
+                    return rewritten;
+                }
+                if (leftToRight.put(clause.getLeft(), clause.getRight()) != null) {
+                    return rewritten;
+                }
+            }
+
+            // only scans that the connector can read sorted report their sort order
+            Optional<PlanNode> left = applySortedRead(rewritten.getLeft());
+            Optional<PlanNode> right = applySortedRead(rewritten.getRight());
+            if (left.isEmpty() || right.isEmpty()) {
+                return rewritten;
+            }
+            // a scan read with a compatible but different bucketing is no longer sorted per bucket
+            if (!getPartitioningHandle(left.get()).equals(getPartitioningHandle(right.get()))) {
+                return rewritten;
+            }
+
+            ActualProperties leftProperties = PropertyDerivations.derivePropertiesRecursively(left.get(), metadata, typeOperators, session, types, typeAnalyzer);
+            Optional<List<SortingProperty<Symbol>>> leftOrdering = getJoinKeyOrdering(leftProperties.getLocalProperties(), leftToRight.keySet());
+            if (leftOrdering.isEmpty()) {
+                return rewritten;
+            }
+
+            List<EquiJoinClause> criteria = leftOrdering.get().stream()
+                    .map(property -> new EquiJoinClause(property.getColumn(), leftToRight.get(property.getColumn())))
+                    .collect(toImmutableList());
+            List<SortOrder> sortOrders = leftOrdering.get().stream()
+                    .map(SortingProperty::getOrder)
+                    .collect(toImmutableList());
+            List<Symbol> leftKeys = criteria.stream()
+                    .map(EquiJoinClause::getLeft)
+                    .collect(toImmutableList());
+            List<Symbol> rightKeys = criteria.stream()
+                    .map(EquiJoinClause::getRight)
+                    .collect(toImmutableList());
+
+            ActualProperties rightProperties = PropertyDerivations.derivePropertiesRecursively(right.get(), metadata, typeOperators, session, types, typeAnalyzer);
+            ImmutableList.Builder<LocalProperty<Symbol>> rightOrdering = ImmutableList.builder();
+            for (int i = 0; i < rightKeys.size(); i++) {
+                rightOrdering.add(new SortingProperty<>(rightKeys.get(i), sortOrders.get(i)));
+            }
+            if (LocalProperties.match(rightProperties.getLocalProperties(), rightOrdering.build()).stream().anyMatch(Optional::isPresent)) {
+                return rewritten;
+            }
+
+            // every key must be read by a single stream, so that each side is one sorted sequence per lifespan
+            if (!StreamPropertyDerivations.derivePropertiesRecursively(left.get(), metadata, typeOperators, session, types, typeAnalyzer).isPartitionedOn(leftKeys) ||
+                    !StreamPropertyDerivations.derivePropertiesRecursively(right.get(), metadata, typeOperators, session, types, typeAnalyzer).isPartitionedOn(rightKeys)) {
+                return rewritten;
+            }
+
+            // there is no hash build to collect dynamic filters from
+            Set<DynamicFilterId> dynamicFilters = rewritten.getDynamicFilters().keySet();
+            return new MergeJoinNode(
+                    rewritten.getId(),
+                    removeDynamicFilters(left.get(), dynamicFilters),
+                    right.get(),
+                    criteria,
+                    sortOrders,
+                    rewritten.getLeftOutputSymbols(),
+                    rewritten.getRightOutputSymbols());
+        }
+
+        private boolean isPartitionedTableScan(PlanNode node)
+        {
+            while (node instanceof ProjectNode || node instanceof FilterNode) {
+                node = node.getSources().get(0);
+            }
+            return node instanceof TableScanNode &&
+                    metadata.getTableProperties(session, ((TableScanNode) node).getTable()).getTablePartitioning().isPresent();
+        }
+
+        private PartitioningHandle getPartitioningHandle(PlanNode node)
+        {
+            while (node instanceof ProjectNode || node instanceof FilterNode) {
+                node = node.getSources().get(0);
+            }
+            return metadata.getTableProperties(session, ((TableScanNode) node).getTable()).getTablePartitioning().get().getPartitioningHandle();
+        }
+
+        /**
+         * Replaces the table scan below projections and filters with one that reads the table sorted,
+         * if the connector supports it.
+         */
+        private Optional<PlanNode> applySortedRead(PlanNode node)
+        {
+            if (node instanceof ProjectNode || node instanceof FilterNode) {
+                return applySortedRead(node.getSources().get(0))
+                        .map(source -> node.replaceChildren(ImmutableList.of(source)));
+            }
+            TableScanNode tableScan = (TableScanNode) node;
+            return metadata.applySortedRead(session, tableScan.getTable())
+                    .map(table -> new TableScanNode(
+                            tableScan.getId(),
+                            table,
+                            tableScan.getOutputSymbols(),
+                            tableScan.getAssignments(),
+                            tableScan.getEnforcedConstraint()));
+        }
+    }
+
+    /**
+     * Returns the sorting properties of the join keys if the leading local properties
+     * sort the input on all of them.
+     */
+    private static Optional<List<SortingProperty<Symbol>>> getJoinKeyOrdering(List<LocalProperty<Symbol>> localProperties, Set<Symbol> joinKeys)
+    {
+        Set<Symbol> remaining = new HashSet<>(joinKeys);
+        ImmutableList.Builder<SortingProperty<Symbol>> ordering = ImmutableList.builder();
+        for (LocalProperty<Symbol> property : localProperties) {
+            if (remaining.isEmpty()) {
+                break;
+            }
+            if (property instanceof ConstantProperty && !joinKeys.contains(((ConstantProperty<Symbol>) property).getColumn())) {
+                continue;
+            }
+            if (!(property instanceof SortingProperty)) {
+                return Optional.empty();
+            }
+            SortingProperty<Symbol> sortingProperty = (SortingProperty<Symbol>) property;
+            if (!remaining.remove(sortingProperty.getColumn())) {
+                return Optional.empty();
+            }
+            ordering.add(sortingProperty);
+        }
+        if (!remaining.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(ordering.build());
+    }
+
+    private PlanNode removeDynamicFilters(PlanNode node, Set<DynamicFilterId> dynamicFilters)
+    {
+        if (node instanceof ProjectNode) {
+            ProjectNode project = (ProjectNode) node;
+            return project.replaceChildren(ImmutableList.of(removeDynamicFilters(project.getSource(), dynamicFilters)));
+        }
+        if (node instanceof FilterNode) {
+            FilterNode filter = (FilterNode) node;
+            PlanNode source = removeDynamicFilters(filter.getSource(), dynamicFilters);
+            List<Expression> conjuncts = extractConjuncts(filter.getPredicate()).stream()
+                    .filter(conjunct -> DynamicFilters.getDescriptor(conjunct)
+                            .map(descriptor -> !dynamicFilters.contains(descriptor.getId()))
+                            .orElse(true))
+                    .collect(toImmutableList());
+            Expression predicate = combineConjuncts(metadata, conjuncts);
+            if (predicate.equals(TRUE_LITERAL)) {
+                return source;
+            }
+            return new FilterNode(filter.getId(), source, predicate);
+        }
+        return node;
+    }
+}
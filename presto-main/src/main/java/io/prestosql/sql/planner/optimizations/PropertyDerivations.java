@@ -56,6 +56,7 @@ import io.prestosql.sql.planner.plan.IndexSourceNode;
 import io.prestosql.sql.planner.plan.JoinNode;
 import io.prestosql.sql.planner.plan.LimitNode;
 import io.prestosql.sql.planner.plan.MarkDistinctNode;
+import io.prestosql.sql.planner.plan.MergeJoinNode;
 import io.prestosql.sql.planner.plan.OutputNode;
 import io.prestosql.sql.planner.plan.PlanNode;
 import io.prestosql.sql.planner.plan.PlanVisitor;
@@ -471,6 +472,24 @@ public final class PropertyDerivations
             }
         }
 
+        @Override
+        public ActualProperties visitMergeJoin(MergeJoinNode node, List<ActualProperties> inputProperties)
+        {
+            ActualProperties probeProperties = inputProperties.get(0)
+                    .translate(column -> filterOrRewrite(node.getOutputSymbols(), node.getCriteria(), column));
+            ActualProperties buildProperties = inputProperties.get(1)
+                    .translate(column -> filterOrRewrite(node.getOutputSymbols(), node.getCriteria(), column));
+
+            Map<Symbol, NullableValue> constants = new HashMap<>();
+            constants.putAll(probeProperties.getConstants());
+            constants.putAll(buildProperties.getConstants());
+
+            // merging preserves the order of the probe side
+            return ActualProperties.builderFrom(probeProperties)
+                    .constants(constants)
+                    .build();
+        }
+
         @Override
         public ActualProperties visitSemiJoin(SemiJoinNode node, List<ActualProperties> inputProperties)
         {
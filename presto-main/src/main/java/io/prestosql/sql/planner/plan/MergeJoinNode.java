@@ -0,0 +1,143 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.sql.planner.plan;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.prestosql.spi.connector.SortOrder;
+import io.prestosql.sql.planner.Symbol;
+import io.prestosql.sql.planner.plan.JoinNode.EquiJoinClause;
+
+import javax.annotation.concurrent.Immutable;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Inner equi-join of two inputs that are both sorted on the join criteria,
+ * in the order of the criteria and with the given sort orders.
+ * Rows are matched by merging the inputs, so neither side is buffered in full.
+ */
+@Immutable
+public class MergeJoinNode
+        extends PlanNode
+{
+    private final PlanNode left;
+    private final PlanNode right;
+    private final List<EquiJoinClause> criteria;
+    private final List<SortOrder> sortOrders;
+    private final List<Symbol> leftOutputSymbols;
+    private final List<Symbol> rightOutputSymbols;
+
+    @JsonCreator
+    public MergeJoinNode(
+            @JsonProperty("id") PlanNodeId id,
+            @JsonProperty("left") PlanNode left,
+            @JsonProperty("right") PlanNode right,
+            @JsonProperty("criteria") List<EquiJoinClause> criteria,
+            @JsonProperty("sortOrders") List<SortOrder> sortOrders,
+            @JsonProperty("leftOutputSymbols") List<Symbol> leftOutputSymbols,
+            @JsonProperty("rightOutputSymbols") List<Symbol> rightOutputSymbols)
+    {
+        super(id);
+        this.left = requireNonNull(left, "left is null");
+        this.right = requireNonNull(right, "right is null");
+        this.criteria = ImmutableList.copyOf(requireNonNull(criteria, "criteria is null"));
+        this.sortOrders = ImmutableList.copyOf(requireNonNull(sortOrders, "sortOrders is null"));
+        this.leftOutputSymbols = ImmutableList.copyOf(requireNonNull(leftOutputSymbols, "leftOutputSymbols is null"));
+        this.rightOutputSymbols = ImmutableList.copyOf(requireNonNull(rightOutputSymbols, "rightOutputSymbols is null"));
+
+        checkArgument(!criteria.isEmpty(), "criteria is empty");
+        checkArgument(criteria.size() == sortOrders.size(), "criteria and sortOrders sizes don't match");
+
+        Set<Symbol> leftSymbols = ImmutableSet.copyOf(left.getOutputSymbols());
+        Set<Symbol> rightSymbols = ImmutableSet.copyOf(right.getOutputSymbols());
+        checkArgument(leftSymbols.containsAll(leftOutputSymbols), "Left source inputs do not contain all left output symbols");
+        checkArgument(rightSymbols.containsAll(rightOutputSymbols), "Right source inputs do not contain all right output symbols");
+        criteria.forEach(equiJoinClause ->
+                checkArgument(
+                        leftSymbols.contains(equiJoinClause.getLeft()) &&
+                                rightSymbols.contains(equiJoinClause.getRight()),
+                        "Equality join criteria should be normalized according to join sides: %s", equiJoinClause));
+    }
+
+    @JsonProperty("left")
+    public PlanNode getLeft()
+    {
+        return left;
+    }
+
+    @JsonProperty("right")
+    public PlanNode getRight()
+    {
+        return right;
+    }
+
+    @JsonProperty("criteria")
+    public List<EquiJoinClause> getCriteria()
+    {
+        return criteria;
+    }
+
+    @JsonProperty("sortOrders")
+    public List<SortOrder> getSortOrders()
+    {
+        return sortOrders;
+    }
+
+    @JsonProperty("leftOutputSymbols")
+    public List<Symbol> getLeftOutputSymbols()
+    {
+        return leftOutputSymbols;
+    }
+
+    @JsonProperty("rightOutputSymbols")
+    public List<Symbol> getRightOutputSymbols()
+    {
+        return rightOutputSymbols;
+    }
+
+    @Override
+    public List<PlanNode> getSources()
+    {
+        return ImmutableList.of(left, right);
+    }
+
+    @Override
+    public List<Symbol> getOutputSymbols()
+    {
+        return ImmutableList.<Symbol>builder()
+                .addAll(leftOutputSymbols)
+                .addAll(rightOutputSymbols)
+                .build();
+    }
+
+    @Override
+    public <R, C> R accept(PlanVisitor<R, C> visitor, C context)
+    {
+        return visitor.visitMergeJoin(this, context);
+    }
+
+    @Override
+    public PlanNode replaceChildren(List<PlanNode> newChildren)
+    {
+        checkArgument(newChildren.size() == 2, "expected newChildren to contain 2 nodes");
+        return new MergeJoinNode(getId(), newChildren.get(0), newChildren.get(1), criteria, sortOrders, leftOutputSymbols, rightOutputSymbols);
+    }
+}
@@ -481,6 +481,12 @@ public abstract class AbstractMockMetadata
         return Optional.empty();
     }
 
+    @Override
+    public Optional<TableHandle> applySortedRead(Session session, TableHandle table)
+    {
+        return Optional.empty();
+    }
+
     @Override
     public Optional<AggregationApplicationResult<TableHandle>> applyAggregation(
             Session session,
@@ -0,0 +1,205 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator;
+
+import com.google.common.collect.ImmutableList;
+import io.prestosql.RowPagesBuilder;
+import io.prestosql.operator.MergeJoinBuildOperator.MergeJoinBuildOperatorFactory;
+import io.prestosql.operator.MergeJoinOperator.MergeJoinOperatorFactory;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.connector.SortOrder;
+import io.prestosql.spi.type.TypeOperators;
+import io.prestosql.sql.planner.plan.PlanNodeId;
+import io.prestosql.testing.MaterializedResult;
+import io.prestosql.testing.TestingTaskContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.collect.Iterables.concat;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.prestosql.RowPagesBuilder.rowPagesBuilder;
+import static io.prestosql.SessionTestUtils.TEST_SESSION;
+import static io.prestosql.operator.OperatorAssertion.assertOperatorEquals;
+import static io.prestosql.operator.ValuesOperator.ValuesOperatorFactory;
+import static io.prestosql.spi.connector.SortOrder.ASC_NULLS_LAST;
+import static io.prestosql.spi.connector.SortOrder.DESC_NULLS_FIRST;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static io.prestosql.testing.MaterializedResult.resultBuilder;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+
+@Test(singleThreaded = true)
+public class TestMergeJoinOperator
+{
+    private final TypeOperators typeOperators = new TypeOperators();
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduledExecutor;
+
+    @BeforeClass
+    public void setUp()
+    {
+        executor = newCachedThreadPool(daemonThreadsNamed(getClass().getSimpleName() + "-%s"));
+        scheduledExecutor = newScheduledThreadPool(2, daemonThreadsNamed(getClass().getSimpleName() + "-scheduledExecutor-%s"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+    {
+        executor.shutdownNow();
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testMergeJoin()
+    {
+        TaskContext taskContext = createTaskContext();
+        // build, with a group of equal keys spanning two pages
+        RowPagesBuilder buildPages = rowPagesBuilder(BIGINT, VARCHAR)
+                .row(1L, "a")
+                .row(2L, "b")
+                .row(2L, "c")
+                .pageBreak()
+                .row(2L, "d")
+                .row(4L, "e")
+                .row(null, "f");
+
+        // probe
+        RowPagesBuilder probePages = rowPagesBuilder(BIGINT, BIGINT);
+        List<Page> probeInput = probePages
+                .row(0L, 100L)
+                .row(2L, 101L)
+                .row(2L, 102L)
+                .pageBreak()
+                .row(3L, 103L)
+                .row(4L, 104L)
+                .row(null, 105L)
+                .build();
+        MergeJoinOperatorFactory joinOperatorFactory = newJoinOperatorFactoryWithCompletedBuild(taskContext, probePages, buildPages, ASC_NULLS_LAST);
+
+        // expected
+        MaterializedResult expected = resultBuilder(taskContext.getSession(), concat(probePages.getTypes(), buildPages.getTypes()))
+                .row(2L, 101L, 2L, "b")
+                .row(2L, 101L, 2L, "c")
+                .row(2L, 101L, 2L, "d")
+                .row(2L, 102L, 2L, "b")
+                .row(2L, 102L, 2L, "c")
+                .row(2L, 102L, 2L, "d")
+                .row(4L, 104L, 4L, "e")
+                .build();
+
+        assertOperatorEquals(joinOperatorFactory, taskContext.addPipelineContext(0, true, true, false).addDriverContext(), probeInput, expected);
+    }
+
+    @Test
+    public void testMergeJoinDescending()
+    {
+        TaskContext taskContext = createTaskContext();
+        // build
+        RowPagesBuilder buildPages = rowPagesBuilder(BIGINT, VARCHAR)
+                .row(null, "a")
+                .row(5L, "b")
+                .row(3L, "c");
+
+        // probe, with rows remaining after the build side is exhausted
+        RowPagesBuilder probePages = rowPagesBuilder(BIGINT, BIGINT);
+        List<Page> probeInput = probePages
+                .row(null, 100L)
+                .row(5L, 101L)
+                .row(4L, 102L)
+                .row(3L, 103L)
+                .pageBreak()
+                .row(2L, 104L)
+                .row(1L, 105L)
+                .build();
+        MergeJoinOperatorFactory joinOperatorFactory = newJoinOperatorFactoryWithCompletedBuild(taskContext, probePages, buildPages, DESC_NULLS_FIRST);
+
+        // expected
+        MaterializedResult expected = resultBuilder(taskContext.getSession(), concat(probePages.getTypes(), buildPages.getTypes()))
+                .row(5L, 101L, 5L, "b")
+                .row(3L, 103L, 3L, "c")
+                .build();
+
+        assertOperatorEquals(joinOperatorFactory, taskContext.addPipelineContext(0, true, true, false).addDriverContext(), probeInput, expected);
+    }
+
+    @Test
+    public void testEmptyBuild()
+    {
+        TaskContext taskContext = createTaskContext();
+        RowPagesBuilder buildPages = rowPagesBuilder(BIGINT, VARCHAR);
+
+        RowPagesBuilder probePages = rowPagesBuilder(BIGINT, BIGINT);
+        List<Page> probeInput = probePages
+                .row(1L, 100L)
+                .row(2L, 101L)
+                .build();
+        MergeJoinOperatorFactory joinOperatorFactory = newJoinOperatorFactoryWithCompletedBuild(taskContext, probePages, buildPages, ASC_NULLS_LAST);
+
+        MaterializedResult expected = resultBuilder(taskContext.getSession(), concat(probePages.getTypes(), buildPages.getTypes()))
+                .build();
+
+        assertOperatorEquals(joinOperatorFactory, taskContext.addPipelineContext(0, true, true, false).addDriverContext(), probeInput, expected);
+    }
+
+    private TaskContext createTaskContext()
+    {
+        return TestingTaskContext.createTaskContext(executor, scheduledExecutor, TEST_SESSION);
+    }
+
+    private MergeJoinOperatorFactory newJoinOperatorFactoryWithCompletedBuild(TaskContext taskContext, RowPagesBuilder probePages, RowPagesBuilder buildPages, SortOrder sortOrder)
+    {
+        DriverContext driverContext = taskContext.addPipelineContext(0, true, true, false).addDriverContext();
+
+        ValuesOperatorFactory valuesOperatorFactory = new ValuesOperatorFactory(0, new PlanNodeId("test"), buildPages.build());
+
+        JoinBridgeManager<MergeJoinSource> mergeJoinSourceManager = new JoinBridgeManager<>(
+                false,
+                PipelineExecutionStrategy.UNGROUPED_EXECUTION,
+                PipelineExecutionStrategy.UNGROUPED_EXECUTION,
+                lifespan -> new MergeJoinSource(1024 * 1024),
+                buildPages.getTypes());
+        MergeJoinBuildOperatorFactory mergeJoinBuildOperatorFactory = new MergeJoinBuildOperatorFactory(1, new PlanNodeId("test"), mergeJoinSourceManager);
+        MergeJoinOperatorFactory joinOperatorFactory = new MergeJoinOperatorFactory(
+                3,
+                new PlanNodeId("test"),
+                mergeJoinSourceManager,
+                probePages.getTypes(),
+                ImmutableList.of(0),
+                ImmutableList.of(0, 1),
+                ImmutableList.of(0),
+                ImmutableList.of(0, 1),
+                ImmutableList.of(sortOrder),
+                typeOperators);
+        Operator valuesOperator = valuesOperatorFactory.createOperator(driverContext);
+        Operator mergeJoinBuildOperator = mergeJoinBuildOperatorFactory.createOperator(driverContext);
+        Driver driver = Driver.createDriver(driverContext,
+                valuesOperator,
+                mergeJoinBuildOperator);
+
+        valuesOperatorFactory.noMoreOperators();
+        mergeJoinBuildOperatorFactory.noMoreOperators();
+
+        while (!mergeJoinBuildOperator.isFinished()) {
+            driver.process();
+        }
+
+        return joinOperatorFactory;
+    }
+}
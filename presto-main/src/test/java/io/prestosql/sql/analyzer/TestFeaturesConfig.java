@@ -56,6 +56,7 @@ public class TestFeaturesConfig
                 .setConcurrentLifespansPerTask(0)
                 .setColocatedJoinsEnabled(false)
                 .setSpatialJoinsEnabled(true)
+                .setMergeJoinsEnabled(false)
                 .setJoinReorderingStrategy(JoinReorderingStrategy.AUTOMATIC)
                 .setMaxReorderedJoins(9)
                 .setRedistributeWrites(true)
@@ -134,6 +135,7 @@ public class TestFeaturesConfig
                 .put("concurrent-lifespans-per-task", "1")
                 .put("colocated-joins-enabled", "true")
                 .put("spatial-joins-enabled", "false")
+                .put("merge-joins-enabled", "true")
                 .put("optimizer.join-reordering-strategy", "NONE")
                 .put("optimizer.max-reordered-joins", "5")
                 .put("redistribute-writes", "false")
@@ -202,6 +204,7 @@ public class TestFeaturesConfig
                 .setConcurrentLifespansPerTask(1)
                 .setColocatedJoinsEnabled(true)
                 .setSpatialJoinsEnabled(false)
+                .setMergeJoinsEnabled(true)
                 .setJoinReorderingStrategy(NONE)
                 .setMaxReorderedJoins(5)
                 .setRedistributeWrites(false)
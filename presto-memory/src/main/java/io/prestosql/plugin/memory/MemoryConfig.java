@@ -14,6 +14,7 @@
 package io.prestosql.plugin.memory;
 
 import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
 import io.airlift.units.DataSize;
 
 import javax.validation.constraints.NotNull;
@@ -23,6 +24,7 @@ public class MemoryConfig
     private int splitsPerNode = Runtime.getRuntime().availableProcessors();
     private DataSize maxDataPerNode = DataSize.of(128, DataSize.Unit.MEGABYTE);
     private boolean enableLazyDynamicFiltering = true;
+    private boolean enablePageCompaction;
 
     @NotNull
     public int getSplitsPerNode()
@@ -61,4 +63,17 @@ public class MemoryConfig
         this.enableLazyDynamicFiltering = enableLazyDynamicFiltering;
         return this;
     }
+
+    public boolean isEnablePageCompaction()
+    {
+        return enablePageCompaction;
+    }
+
+    @Config("memory.enable-page-compaction")
+    @ConfigDescription("Store blocks with a single repeated value or few distinct values as run-length or dictionary encoded blocks")
+    public MemoryConfig setEnablePageCompaction(boolean enablePageCompaction)
+    {
+        this.enablePageCompaction = enablePageCompaction;
+        return this;
+    }
 }
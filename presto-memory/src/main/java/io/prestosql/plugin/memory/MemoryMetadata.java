@@ -35,14 +35,18 @@ import io.prestosql.spi.connector.ConnectorTableHandle;
 import io.prestosql.spi.connector.ConnectorTableMetadata;
 import io.prestosql.spi.connector.ConnectorTableProperties;
 import io.prestosql.spi.connector.ConnectorViewDefinition;
+import io.prestosql.spi.connector.Constraint;
+import io.prestosql.spi.connector.ConstraintApplicationResult;
 import io.prestosql.spi.connector.LimitApplicationResult;
 import io.prestosql.spi.connector.SampleType;
 import io.prestosql.spi.connector.SchemaNotFoundException;
 import io.prestosql.spi.connector.SchemaTableName;
 import io.prestosql.spi.connector.SchemaTablePrefix;
 import io.prestosql.spi.connector.ViewNotFoundException;
+import io.prestosql.spi.predicate.TupleDomain;
 import io.prestosql.spi.security.PrestoPrincipal;
 import io.prestosql.spi.statistics.ComputedStatistics;
+import io.prestosql.spi.type.Type;
 
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
@@ -237,9 +241,11 @@ public class MemoryMetadata
         checkState(!nodes.isEmpty(), "No Memory nodes available");
 
         ImmutableList.Builder<ColumnInfo> columns = ImmutableList.builder();
+        ImmutableList.Builder<Type> columnTypes = ImmutableList.builder();
         for (int i = 0; i < tableMetadata.getColumns().size(); i++) {
             ColumnMetadata column = tableMetadata.getColumns().get(i);
             columns.add(new ColumnInfo(new MemoryColumnHandle(i), column.getName(), column.getType()));
+            columnTypes.add(column.getType());
         }
 
         tableIds.put(tableMetadata.getTable(), tableId);
@@ -250,7 +256,7 @@ public class MemoryMetadata
                 columns.build(),
                 new HashMap<>()));
 
-        return new MemoryOutputTableHandle(tableId, ImmutableSet.copyOf(tableIds.values()));
+        return new MemoryOutputTableHandle(tableId, ImmutableSet.copyOf(tableIds.values()), columnTypes.build());
     }
 
     private void checkSchemaExists(String schemaName)
@@ -284,7 +290,10 @@ public class MemoryMetadata
     public synchronized MemoryInsertTableHandle beginInsert(ConnectorSession session, ConnectorTableHandle tableHandle, List<ColumnHandle> columns)
     {
         MemoryTableHandle memoryTableHandle = (MemoryTableHandle) tableHandle;
-        return new MemoryInsertTableHandle(memoryTableHandle.getId(), ImmutableSet.copyOf(tableIds.values()));
+        List<Type> columnTypes = tables.get(memoryTableHandle.getId()).getColumns().stream()
+                .map(ColumnInfo::getType)
+                .collect(toImmutableList());
+        return new MemoryInsertTableHandle(memoryTableHandle.getId(), ImmutableSet.copyOf(tableIds.values()), columnTypes);
     }
 
     @Override
@@ -401,8 +410,13 @@ public class MemoryMetadata
             return Optional.empty();
         }
 
+        // the limit would be applied to rows which have not been filtered yet
+        if (!table.getConstraint().isAll()) {
+            return Optional.empty();
+        }
+
         return Optional.of(new LimitApplicationResult<>(
-                new MemoryTableHandle(table.getId(), OptionalLong.of(limit), OptionalDouble.empty()),
+                new MemoryTableHandle(table.getId(), OptionalLong.of(limit), OptionalDouble.empty(), table.getConstraint()),
                 true));
     }
 
@@ -415,6 +429,27 @@ public class MemoryMetadata
             return Optional.empty();
         }
 
-        return Optional.of(new MemoryTableHandle(table.getId(), table.getLimit(), OptionalDouble.of(table.getSampleRatio().orElse(1) * sampleRatio)));
+        return Optional.of(new MemoryTableHandle(table.getId(), table.getLimit(), OptionalDouble.of(table.getSampleRatio().orElse(1) * sampleRatio), table.getConstraint()));
+    }
+
+    @Override
+    public Optional<ConstraintApplicationResult<ConnectorTableHandle>> applyFilter(ConnectorSession session, ConnectorTableHandle handle, Constraint constraint)
+    {
+        MemoryTableHandle table = (MemoryTableHandle) handle;
+
+        // the limit applies to the rows before the filter
+        if (table.getLimit().isPresent()) {
+            return Optional.empty();
+        }
+
+        TupleDomain<ColumnHandle> newConstraint = table.getConstraint().intersect(constraint.getSummary());
+        if (newConstraint.equals(table.getConstraint())) {
+            return Optional.empty();
+        }
+
+        // the constraint only prunes whole pages, so the engine must still apply the filter to the remaining rows
+        return Optional.of(new ConstraintApplicationResult<>(
+                new MemoryTableHandle(table.getId(), table.getLimit(), table.getSampleRatio(), newConstraint),
+                constraint.getSummary()));
     }
 }
@@ -70,6 +70,9 @@ public final class MemoryPageSourceProvider
         List<Integer> columnIndexes = columns.stream()
                 .map(MemoryColumnHandle.class::cast)
                 .map(MemoryColumnHandle::getColumnIndex).collect(toList());
+        TupleDomain<Integer> constraint = memoryTable.getConstraint()
+                .intersect(dynamicFilter.getCurrentPredicate())
+                .transform(column -> ((MemoryColumnHandle) column).getColumnIndex());
         List<Page> pages = pagesStore.getPages(
                 tableId,
                 partNumber,
@@ -77,7 +80,8 @@ public final class MemoryPageSourceProvider
                 columnIndexes,
                 expectedRows,
                 memorySplit.getLimit(),
-                sampleRatio);
+                sampleRatio,
+                constraint);
 
         return new DynamicFilteringPageSource(new FixedPageSource(pages), columns, dynamicFilter, enableLazyDynamicFiltering);
     }
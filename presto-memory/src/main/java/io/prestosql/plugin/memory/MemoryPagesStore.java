@@ -13,15 +13,28 @@
  */
 package io.prestosql.plugin.memory;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.block.DictionaryBlock;
+import io.prestosql.spi.block.RunLengthEncodedBlock;
+import io.prestosql.spi.predicate.Domain;
+import io.prestosql.spi.predicate.Range;
+import io.prestosql.spi.predicate.TupleDomain;
+import io.prestosql.spi.predicate.ValueSet;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.TypeManager;
+import io.prestosql.spi.type.TypeOperators;
 
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -31,81 +44,113 @@ import java.util.Map;
 import java.util.OptionalDouble;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static io.prestosql.plugin.memory.MemoryErrorCode.MEMORY_LIMIT_EXCEEDED;
 import static io.prestosql.plugin.memory.MemoryErrorCode.MISSING_DATA;
+import static io.prestosql.spi.function.InvocationConvention.InvocationArgumentConvention.BLOCK_POSITION;
+import static io.prestosql.spi.function.InvocationConvention.InvocationReturnConvention.FAIL_ON_NULL;
+import static io.prestosql.spi.function.InvocationConvention.simpleConvention;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.RealType.REAL;
+import static io.prestosql.spi.type.TypeUtils.readNativeValue;
+import static java.lang.Float.intBitsToFloat;
+import static java.lang.Math.toIntExact;
 import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
 
 @ThreadSafe
 public class MemoryPagesStore
 {
     private final long maxBytes;
+    private final boolean enablePageCompaction;
+    private final TypeOperators typeOperators;
 
-    @GuardedBy("this")
-    private long currentBytes;
+    private final AtomicLong currentBytes = new AtomicLong();
 
-    private final Map<Long, TableData> tables = new HashMap<>();
+    private final Map<Long, TableData> tables = new ConcurrentHashMap<>();
 
     @Inject
-    public MemoryPagesStore(MemoryConfig config)
+    public MemoryPagesStore(MemoryConfig config, TypeManager typeManager)
+    {
+        this(config, requireNonNull(typeManager, "typeManager is null").getTypeOperators());
+    }
+
+    @VisibleForTesting
+    public MemoryPagesStore(MemoryConfig config, TypeOperators typeOperators)
     {
         this.maxBytes = config.getMaxDataPerNode().toBytes();
+        this.enablePageCompaction = config.isEnablePageCompaction();
+        this.typeOperators = requireNonNull(typeOperators, "typeOperators is null");
     }
 
-    public synchronized void initialize(long tableId)
+    public void initialize(long tableId, List<Type> columnTypes)
     {
-        if (!tables.containsKey(tableId)) {
-            tables.put(tableId, new TableData());
-        }
+        tables.computeIfAbsent(tableId, ignored -> new TableData(columnTypes));
     }
 
-    public synchronized void add(Long tableId, Page page)
+    public void add(Long tableId, Page page)
     {
-        if (!contains(tableId)) {
-            throw new PrestoException(MISSING_DATA, "Failed to find table on a worker.");
-        }
+        TableData tableData = getTableData(tableId);
 
         page.compact();
+        if (enablePageCompaction) {
+            page = compactPage(page, tableData.getColumnTypes());
+        }
+        StoredPage storedPage = new StoredPage(page, computeZoneMap(page, tableData.getColumnTypes()));
 
-        long newSize = currentBytes + page.getRetainedSizeInBytes();
-        if (maxBytes < newSize) {
+        long retainedSize = page.getRetainedSizeInBytes();
+        if (currentBytes.addAndGet(retainedSize) > maxBytes) {
+            currentBytes.addAndGet(-retainedSize);
             throw new PrestoException(MEMORY_LIMIT_EXCEEDED, format("Memory limit [%d] for memory connector exceeded", maxBytes));
         }
-        currentBytes = newSize;
-
-        TableData tableData = tables.get(tableId);
-        tableData.add(page);
+        if (!tableData.add(storedPage)) {
+            // the table was dropped concurrently
+            currentBytes.addAndGet(-retainedSize);
+            throw new PrestoException(MISSING_DATA, "Failed to find table on a worker.");
+        }
     }
 
-    public synchronized List<Page> getPages(
+    public List<Page> getPages(
             Long tableId,
             int partNumber,
             int totalParts,
             List<Integer> columnIndexes,
             long expectedRows,
             OptionalLong limit,
-            OptionalDouble sampleRatio)
+            OptionalDouble sampleRatio,
+            TupleDomain<Integer> constraint)
     {
-        if (!contains(tableId)) {
-            throw new PrestoException(MISSING_DATA, "Failed to find table on a worker.");
-        }
-        TableData tableData = tables.get(tableId);
-        if (tableData.getRows() < expectedRows) {
+        TableData tableData = getTableData(tableId);
+        List<StoredPage> pages = tableData.getPages();
+        long rows = tableData.getRows();
+        if (rows < expectedRows) {
             throw new PrestoException(MISSING_DATA,
-                    format("Expected to find [%s] rows on a worker, but found [%s].", expectedRows, tableData.getRows()));
+                    format("Expected to find [%s] rows on a worker, but found [%s].", expectedRows, rows));
+        }
+        if (constraint.isNone()) {
+            return ImmutableList.of();
         }
+        Map<Integer, Domain> domains = constraint.getDomains().get();
 
         ImmutableList.Builder<Page> partitionedPages = ImmutableList.builder();
 
         boolean done = false;
         long totalRows = 0;
-        for (int i = partNumber; i < tableData.getPages().size() && !done; i += totalParts) {
+        for (int i = partNumber; i < pages.size() && !done; i += totalParts) {
             if (sampleRatio.isPresent() && ThreadLocalRandom.current().nextDouble() >= sampleRatio.getAsDouble()) {
                 continue;
             }
 
-            Page page = tableData.getPages().get(i);
+            StoredPage storedPage = pages.get(i);
+            if (!storedPage.mayMatch(domains)) {
+                continue;
+            }
+
+            Page page = storedPage.getPage();
             totalRows += page.getPositionCount();
             if (limit.isPresent() && totalRows > limit.getAsLong()) {
                 page = page.getRegion(0, (int) (page.getPositionCount() - (totalRows - limit.getAsLong())));
@@ -117,7 +162,7 @@ public class MemoryPagesStore
         return partitionedPages.build();
     }
 
-    public synchronized boolean contains(Long tableId)
+    public boolean contains(Long tableId)
     {
         return tables.containsKey(tableId);
     }
@@ -142,14 +187,21 @@ public class MemoryPagesStore
             Map.Entry<Long, TableData> tablePagesEntry = tableDataIterator.next();
             Long tableId = tablePagesEntry.getKey();
             if (tableId < latestTableId && !activeTableIds.contains(tableId)) {
-                for (Page removedPage : tablePagesEntry.getValue().getPages()) {
-                    currentBytes -= removedPage.getRetainedSizeInBytes();
-                }
                 tableDataIterator.remove();
+                currentBytes.addAndGet(-tablePagesEntry.getValue().drop());
             }
         }
     }
 
+    private TableData getTableData(Long tableId)
+    {
+        TableData tableData = tables.get(tableId);
+        if (tableData == null) {
+            throw new PrestoException(MISSING_DATA, "Failed to find table on a worker.");
+        }
+        return tableData;
+    }
+
     private static Page getColumns(Page page, List<Integer> columnIndexes)
     {
         Block[] outputBlocks = new Block[columnIndexes.size()];
@@ -161,25 +213,272 @@ public class MemoryPagesStore
         return new Page(page.getPositionCount(), outputBlocks);
     }
 
+    /**
+     * Returns the minimum and maximum value of each orderable column of the page.
+     * Columns without usable statistics get an unrestricted domain.
+     */
+    private Domain[] computeZoneMap(Page page, List<Type> columnTypes)
+    {
+        Domain[] domains = new Domain[columnTypes.size()];
+        for (int channel = 0; channel < columnTypes.size(); channel++) {
+            domains[channel] = computeDomain(columnTypes.get(channel), page.getBlock(channel), page.getPositionCount());
+        }
+        return domains;
+    }
+
+    private Domain computeDomain(Type type, Block block, int positionCount)
+    {
+        Class<?> javaType = type.getJavaType();
+        if (!type.isOrderable() || (javaType != long.class && javaType != double.class && javaType != Slice.class)) {
+            return Domain.all(type);
+        }
+
+        MethodHandle comparison = typeOperators.getComparisonOperator(type, simpleConvention(FAIL_ON_NULL, BLOCK_POSITION, BLOCK_POSITION));
+        boolean hasNull = false;
+        int min = -1;
+        int max = -1;
+        for (int position = 0; position < positionCount; position++) {
+            if (block.isNull(position)) {
+                hasNull = true;
+                continue;
+            }
+            if (isNaN(type, block, position)) {
+                // NaN is not ordered with respect to other values
+                return Domain.all(type);
+            }
+            if (min < 0) {
+                min = position;
+                max = position;
+                continue;
+            }
+            if (compare(comparison, block, position, min) < 0) {
+                min = position;
+            }
+            else if (compare(comparison, block, position, max) > 0) {
+                max = position;
+            }
+        }
+
+        if (min < 0) {
+            return hasNull ? Domain.onlyNull(type) : Domain.none(type);
+        }
+        Range range = Range.range(type, readNativeValue(type, block, min), true, readNativeValue(type, block, max), true);
+        return Domain.create(ValueSet.ofRanges(range), hasNull);
+    }
+
+    private static boolean isNaN(Type type, Block block, int position)
+    {
+        if (type.equals(DOUBLE)) {
+            return Double.isNaN(DOUBLE.getDouble(block, position));
+        }
+        if (type.equals(REAL)) {
+            return Float.isNaN(intBitsToFloat(toIntExact(REAL.getLong(block, position))));
+        }
+        return false;
+    }
+
+    private static long compare(MethodHandle comparison, Block block, int position, int otherPosition)
+    {
+        try {
+            return (long) comparison.invokeExact(block, position, block, otherPosition);
+        }
+        catch (Throwable t) {
+            throwIfUnchecked(t);
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Replaces blocks holding a single repeated value with run-length encoded blocks, and variable
+     * width blocks with few distinct values with dictionary blocks, when that reduces their size.
+     */
+    private Page compactPage(Page page, List<Type> columnTypes)
+    {
+        int positionCount = page.getPositionCount();
+        if (positionCount < 2) {
+            return page;
+        }
+
+        Block[] blocks = new Block[page.getChannelCount()];
+        for (int channel = 0; channel < blocks.length; channel++) {
+            Block block = page.getBlock(channel);
+            Type type = columnTypes.get(channel);
+            blocks[channel] = block;
+            if (!type.isComparable()) {
+                continue;
+            }
+
+            MethodHandle distinctFrom = typeOperators.getDistinctFromOperator(type, simpleConvention(FAIL_ON_NULL, BLOCK_POSITION, BLOCK_POSITION));
+            if (isSingleValue(distinctFrom, block, positionCount)) {
+                blocks[channel] = new RunLengthEncodedBlock(block.getSingleValueBlock(0), positionCount);
+            }
+            else if (type.getJavaType() == Slice.class) {
+                Block dictionaryBlock = createDictionaryBlock(type, distinctFrom, block, positionCount);
+                if (dictionaryBlock != null && dictionaryBlock.getRetainedSizeInBytes() < block.getRetainedSizeInBytes()) {
+                    blocks[channel] = dictionaryBlock;
+                }
+            }
+        }
+        return new Page(positionCount, blocks);
+    }
+
+    private static boolean isSingleValue(MethodHandle distinctFrom, Block block, int positionCount)
+    {
+        for (int position = 1; position < positionCount; position++) {
+            if (isDistinctFrom(distinctFrom, block, 0, position)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Block createDictionaryBlock(Type type, MethodHandle distinctFrom, Block block, int positionCount)
+    {
+        MethodHandle hashCode = typeOperators.getHashCodeOperator(type, simpleConvention(FAIL_ON_NULL, BLOCK_POSITION));
+        int maxDictionarySize = positionCount / 2;
+
+        // maps the hash of a value to the first positions of the distinct values with that hash
+        Map<Long, List<Integer>> positionsByHash = new HashMap<>();
+        List<Integer> dictionaryPositions = new ArrayList<>();
+        int nullId = -1;
+        int[] ids = new int[positionCount];
+        for (int position = 0; position < positionCount; position++) {
+            if (block.isNull(position)) {
+                if (nullId < 0) {
+                    nullId = dictionaryPositions.size();
+                    dictionaryPositions.add(position);
+                }
+                ids[position] = nullId;
+            }
+            else {
+                List<Integer> candidates = positionsByHash.computeIfAbsent(hash(hashCode, block, position), ignored -> new ArrayList<>(1));
+                int id = -1;
+                for (int candidate : candidates) {
+                    if (!block.isNull(dictionaryPositions.get(candidate)) && !isDistinctFrom(distinctFrom, block, dictionaryPositions.get(candidate), position)) {
+                        id = candidate;
+                        break;
+                    }
+                }
+                if (id < 0) {
+                    id = dictionaryPositions.size();
+                    dictionaryPositions.add(position);
+                    candidates.add(id);
+                }
+                ids[position] = id;
+            }
+            if (dictionaryPositions.size() > maxDictionarySize) {
+                return null;
+            }
+        }
+
+        BlockBuilder dictionary = type.createBlockBuilder(null, dictionaryPositions.size());
+        for (int position : dictionaryPositions) {
+            type.appendTo(block, position, dictionary);
+        }
+        return new DictionaryBlock(dictionary.build(), ids);
+    }
+
+    private static boolean isDistinctFrom(MethodHandle distinctFrom, Block block, int position, int otherPosition)
+    {
+        try {
+            return (boolean) distinctFrom.invokeExact(block, position, block, otherPosition);
+        }
+        catch (Throwable t) {
+            throwIfUnchecked(t);
+            throw new RuntimeException(t);
+        }
+    }
+
+    private static long hash(MethodHandle hashCode, Block block, int position)
+    {
+        try {
+            return (long) hashCode.invokeExact(block, position);
+        }
+        catch (Throwable t) {
+            throwIfUnchecked(t);
+            throw new RuntimeException(t);
+        }
+    }
+
+    private static final class StoredPage
+    {
+        private final Page page;
+        private final Domain[] zoneMap;
+
+        private StoredPage(Page page, Domain[] zoneMap)
+        {
+            this.page = requireNonNull(page, "page is null");
+            this.zoneMap = requireNonNull(zoneMap, "zoneMap is null");
+        }
+
+        private Page getPage()
+        {
+            return page;
+        }
+
+        private boolean mayMatch(Map<Integer, Domain> domains)
+        {
+            for (Map.Entry<Integer, Domain> entry : domains.entrySet()) {
+                if (!zoneMap[entry.getKey()].overlaps(entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     private static final class TableData
     {
-        private final List<Page> pages = new ArrayList<>();
+        private final List<Type> columnTypes;
+
+        @GuardedBy("this")
+        private final List<StoredPage> pages = new ArrayList<>();
+        @GuardedBy("this")
         private long rows;
+        @GuardedBy("this")
+        private long retainedBytes;
+        @GuardedBy("this")
+        private boolean dropped;
+
+        private TableData(List<Type> columnTypes)
+        {
+            this.columnTypes = ImmutableList.copyOf(requireNonNull(columnTypes, "columnTypes is null"));
+        }
 
-        public void add(Page page)
+        private List<Type> getColumnTypes()
         {
+            return columnTypes;
+        }
+
+        private synchronized boolean add(StoredPage page)
+        {
+            if (dropped) {
+                return false;
+            }
             pages.add(page);
-            rows += page.getPositionCount();
+            rows += page.getPage().getPositionCount();
+            retainedBytes += page.getPage().getRetainedSizeInBytes();
+            return true;
         }
 
-        private List<Page> getPages()
+        private synchronized List<StoredPage> getPages()
         {
-            return pages;
+            return ImmutableList.copyOf(pages);
         }
 
-        private long getRows()
+        private synchronized long getRows()
         {
             return rows;
         }
+
+        /**
+         * Marks the table as dropped and returns the number of bytes it retained.
+         */
+        private synchronized long drop()
+        {
+            dropped = true;
+            pages.clear();
+            return retainedBytes;
+        }
     }
 }
@@ -50,6 +50,9 @@ public final class MemorySplitManager
             DynamicFilter dynamicFilter)
     {
         MemoryTableHandle table = (MemoryTableHandle) handle;
+        if (table.getConstraint().isNone()) {
+            return new FixedSplitSource(ImmutableList.of());
+        }
 
         List<MemoryDataFragment> dataFragments = metadata.getDataFragments(table.getId());
 
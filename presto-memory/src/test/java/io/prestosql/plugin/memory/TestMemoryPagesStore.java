@@ -14,23 +14,37 @@
 package io.prestosql.plugin.memory;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.airlift.units.DataSize;
 import io.prestosql.spi.HostAddress;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.block.Block;
 import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.block.DictionaryBlock;
+import io.prestosql.spi.block.RunLengthEncodedBlock;
 import io.prestosql.spi.connector.ConnectorInsertTableHandle;
 import io.prestosql.spi.connector.ConnectorOutputTableHandle;
 import io.prestosql.spi.connector.ConnectorPageSink;
+import io.prestosql.spi.predicate.Domain;
+import io.prestosql.spi.predicate.Range;
+import io.prestosql.spi.predicate.TupleDomain;
+import io.prestosql.spi.predicate.ValueSet;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.TypeOperators;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.List;
 import java.util.OptionalDouble;
 import java.util.OptionalLong;
 
+import static io.airlift.slice.Slices.utf8Slice;
 import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
 import static io.prestosql.testing.TestingConnectorSession.SESSION;
+import static java.lang.Math.toIntExact;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
@@ -46,7 +60,12 @@ public class TestMemoryPagesStore
     @BeforeMethod
     public void setUp()
     {
-        pagesStore = new MemoryPagesStore(new MemoryConfig().setMaxDataPerNode(DataSize.of(1, DataSize.Unit.MEGABYTE)));
+        setUp(new MemoryConfig().setMaxDataPerNode(DataSize.of(1, DataSize.Unit.MEGABYTE)));
+    }
+
+    private void setUp(MemoryConfig config)
+    {
+        pagesStore = new MemoryPagesStore(config, new TypeOperators());
         pageSinkProvider = new MemoryPageSinkProvider(pagesStore, HostAddress.fromString("localhost:8080"));
     }
 
@@ -54,7 +73,7 @@ public class TestMemoryPagesStore
     public void testCreateEmptyTable()
     {
         createTable(0L, 0L);
-        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty()), ImmutableList.of());
+        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all()), ImmutableList.of());
     }
 
     @Test
@@ -62,28 +81,28 @@ public class TestMemoryPagesStore
     {
         createTable(0L, 0L);
         insertToTable(0L, 0L);
-        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), POSITIONS_PER_PAGE, OptionalLong.empty(), OptionalDouble.empty()).size(), 1);
+        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), POSITIONS_PER_PAGE, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all()).size(), 1);
     }
 
     @Test
     public void testInsertPageWithoutCreate()
     {
         insertToTable(0L, 0L);
-        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), POSITIONS_PER_PAGE, OptionalLong.empty(), OptionalDouble.empty()).size(), 1);
+        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), POSITIONS_PER_PAGE, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all()).size(), 1);
     }
 
     @Test(expectedExceptions = PrestoException.class)
     public void testReadFromUnknownTable()
     {
-        pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty());
+        pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all());
     }
 
     @Test(expectedExceptions = PrestoException.class)
     public void testTryToReadFromEmptyTable()
     {
         createTable(0L, 0L);
-        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty()), ImmutableList.of());
-        pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 42, OptionalLong.empty(), OptionalDouble.empty());
+        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all()), ImmutableList.of());
+        pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 42, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all());
     }
 
     @Test
@@ -118,38 +137,105 @@ public class TestMemoryPagesStore
         insertToTable(0L, createOneMegaBytePage(), 0L);
     }
 
+    @Test
+    public void testZoneMapPruning()
+    {
+        createTable(0L, 0L);
+        insertToTable(0L, createBigintPage(1, 10), 0L);
+        insertToTable(0L, createBigintPage(11, 20), 0L);
+        insertToTable(0L, createBigintPage(21, 30), 0L);
+
+        assertEquals(getPages(TupleDomain.all()).size(), 3);
+        assertEquals(getPages(TupleDomain.none()).size(), 0);
+        assertEquals(getPages(TupleDomain.withColumnDomains(ImmutableMap.of(0, Domain.singleValue(BIGINT, 15L)))).size(), 1);
+        assertEquals(getPages(TupleDomain.withColumnDomains(ImmutableMap.of(0, Domain.singleValue(BIGINT, 100L)))).size(), 0);
+        assertEquals(getPages(TupleDomain.withColumnDomains(ImmutableMap.of(0, Domain.onlyNull(BIGINT)))).size(), 0);
+        assertEquals(getPages(TupleDomain.withColumnDomains(ImmutableMap.of(0, Domain.create(ValueSet.ofRanges(Range.range(BIGINT, 10L, true, 11L, true)), false)))).size(), 2);
+    }
+
+    @Test
+    public void testPageCompaction()
+    {
+        setUp(new MemoryConfig().setEnablePageCompaction(true));
+
+        BlockBuilder constant = BIGINT.createBlockBuilder(null, 100);
+        BlockBuilder repeated = VARCHAR.createBlockBuilder(null, 100);
+        BlockBuilder unique = VARCHAR.createBlockBuilder(null, 100);
+        for (int i = 0; i < 100; i++) {
+            BIGINT.writeLong(constant, 42);
+            VARCHAR.writeSlice(repeated, utf8Slice("some rather long repeated value " + (i % 3)));
+            VARCHAR.writeSlice(unique, utf8Slice("value " + i));
+        }
+        Page page = new Page(constant.build(), repeated.build(), unique.build());
+
+        List<Type> types = ImmutableList.of(BIGINT, VARCHAR, VARCHAR);
+        createTable(0L, types, 0L);
+        insertToTable(0L, types, page, 0L);
+
+        List<Page> pages = pagesStore.getPages(0L, 0, 1, ImmutableList.of(0, 1, 2), 100, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all());
+        assertEquals(pages.size(), 1);
+        Page stored = pages.get(0);
+        assertTrue(stored.getBlock(0) instanceof RunLengthEncodedBlock);
+        assertTrue(stored.getBlock(1) instanceof DictionaryBlock);
+        assertFalse(stored.getBlock(2) instanceof DictionaryBlock);
+        for (int channel = 0; channel < page.getChannelCount(); channel++) {
+            Type type = types.get(channel);
+            Block expected = page.getBlock(channel);
+            Block actual = stored.getBlock(channel);
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                assertEquals(type.getObjectValue(SESSION, actual, position), type.getObjectValue(SESSION, expected, position));
+            }
+        }
+        assertTrue(stored.getRetainedSizeInBytes() < page.getRetainedSizeInBytes());
+    }
+
+    private List<Page> getPages(TupleDomain<Integer> constraint)
+    {
+        return pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 30, OptionalLong.empty(), OptionalDouble.empty(), constraint);
+    }
+
     private void insertToTable(long tableId, Long... activeTableIds)
     {
         insertToTable(tableId, createPage(), activeTableIds);
     }
 
     private void insertToTable(long tableId, Page page, Long... activeTableIds)
+    {
+        insertToTable(tableId, ImmutableList.of(BIGINT), page, activeTableIds);
+    }
+
+    private void insertToTable(long tableId, List<Type> types, Page page, Long... activeTableIds)
     {
         ConnectorPageSink pageSink = pageSinkProvider.createPageSink(
                 MemoryTransactionHandle.INSTANCE,
                 SESSION,
-                createMemoryInsertTableHandle(tableId, activeTableIds));
+                createMemoryInsertTableHandle(tableId, types, activeTableIds));
         pageSink.appendPage(page);
         pageSink.finish();
     }
 
     private void createTable(long tableId, Long... activeTableIds)
+    {
+        createTable(tableId, ImmutableList.of(BIGINT), activeTableIds);
+    }
+
+    private void createTable(long tableId, List<Type> types, Long... activeTableIds)
     {
         ConnectorPageSink pageSink = pageSinkProvider.createPageSink(
                 MemoryTransactionHandle.INSTANCE,
                 SESSION,
-                createMemoryOutputTableHandle(tableId, activeTableIds));
+                createMemoryOutputTableHandle(tableId, types, activeTableIds));
         pageSink.finish();
     }
 
-    private static ConnectorOutputTableHandle createMemoryOutputTableHandle(long tableId, Long... activeTableIds)
+    private static ConnectorOutputTableHandle createMemoryOutputTableHandle(long tableId, List<Type> types, Long... activeTableIds)
     {
-        return new MemoryOutputTableHandle(tableId, ImmutableSet.copyOf(activeTableIds));
+        return new MemoryOutputTableHandle(tableId, ImmutableSet.copyOf(activeTableIds), types);
     }
 
-    private static ConnectorInsertTableHandle createMemoryInsertTableHandle(long tableId, Long[] activeTableIds)
+    private static ConnectorInsertTableHandle createMemoryInsertTableHandle(long tableId, List<Type> types, Long[] activeTableIds)
     {
-        return new MemoryInsertTableHandle(tableId, ImmutableSet.copyOf(activeTableIds));
+        return new MemoryInsertTableHandle(tableId, ImmutableSet.copyOf(activeTableIds), types);
     }
 
     private static Page createPage()
@@ -159,6 +245,15 @@ public class TestMemoryPagesStore
         return new Page(0, blockBuilder.build());
     }
 
+    private static Page createBigintPage(long from, long to)
+    {
+        BlockBuilder blockBuilder = BIGINT.createBlockBuilder(null, toIntExact(to - from + 1));
+        for (long value = from; value <= to; value++) {
+            BIGINT.writeLong(blockBuilder, value);
+        }
+        return new Page(blockBuilder.build());
+    }
+
     private static Page createOneMegaBytePage()
     {
         BlockBuilder blockBuilder = BIGINT.createFixedSizeBlockBuilder(POSITIONS_PER_PAGE);
@@ -0,0 +1,95 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.mongodb;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+public final class MongoAggregate
+{
+    public enum Function
+    {
+        COUNT, MIN, MAX, SUM, AVG
+    }
+
+    private final Function function;
+    private final Optional<MongoColumnHandle> input;
+    private final MongoColumnHandle output;
+
+    @JsonCreator
+    public MongoAggregate(
+            @JsonProperty("function") Function function,
+            @JsonProperty("input") Optional<MongoColumnHandle> input,
+            @JsonProperty("output") MongoColumnHandle output)
+    {
+        this.function = requireNonNull(function, "function is null");
+        this.input = requireNonNull(input, "input is null");
+        this.output = requireNonNull(output, "output is null");
+        checkArgument(input.isPresent() || function == Function.COUNT, "input is required for %s", function);
+    }
+
+    @JsonProperty
+    public Function getFunction()
+    {
+        return function;
+    }
+
+    /**
+     * Returns the aggregated column, or empty for {@code count(*)}.
+     */
+    @JsonProperty
+    public Optional<MongoColumnHandle> getInput()
+    {
+        return input;
+    }
+
+    @JsonProperty
+    public MongoColumnHandle getOutput()
+    {
+        return output;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MongoAggregate that = (MongoAggregate) o;
+        return function == that.function &&
+                input.equals(that.input) &&
+                output.equals(that.output);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(function, input, output);
+    }
+
+    @Override
+    public String toString()
+    {
+        return function + "(" + input.map(MongoColumnHandle::getName).orElse("*") + ")";
+    }
+}
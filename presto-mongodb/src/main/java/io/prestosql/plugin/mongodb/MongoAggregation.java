@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.mongodb;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A grouped or global aggregation evaluated by MongoDB with a {@code $group} stage.
+ */
+public final class MongoAggregation
+{
+    private final List<MongoColumnHandle> groupingColumns;
+    private final List<MongoAggregate> aggregates;
+
+    @JsonCreator
+    public MongoAggregation(
+            @JsonProperty("groupingColumns") List<MongoColumnHandle> groupingColumns,
+            @JsonProperty("aggregates") List<MongoAggregate> aggregates)
+    {
+        this.groupingColumns = ImmutableList.copyOf(requireNonNull(groupingColumns, "groupingColumns is null"));
+        this.aggregates = ImmutableList.copyOf(requireNonNull(aggregates, "aggregates is null"));
+    }
+
+    @JsonProperty
+    public List<MongoColumnHandle> getGroupingColumns()
+    {
+        return groupingColumns;
+    }
+
+    @JsonProperty
+    public List<MongoAggregate> getAggregates()
+    {
+        return aggregates;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MongoAggregation that = (MongoAggregation) o;
+        return groupingColumns.equals(that.groupingColumns) &&
+                aggregates.equals(that.aggregates);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(groupingColumns, aggregates);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "groupBy=" + groupingColumns + ", aggregates=" + aggregates;
+    }
+}
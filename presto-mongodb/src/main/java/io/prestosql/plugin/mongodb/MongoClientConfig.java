@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableList;
 import com.mongodb.MongoCredential;
 import com.mongodb.ServerAddress;
 import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
 import io.airlift.configuration.DefunctConfig;
 
 import javax.validation.constraints.Min;
@@ -47,6 +48,7 @@ public class MongoClientConfig
     private int connectionTimeout = 10_000;
     private int socketTimeout;
     private int maxConnectionIdleTime;
+    private boolean chunkSplitsEnabled;
     private boolean socketKeepAlive;
     private boolean sslEnabled;
 
@@ -321,4 +323,17 @@ public class MongoClientConfig
         this.maxConnectionIdleTime = maxConnectionIdleTime;
         return this;
     }
+
+    public boolean isChunkSplitsEnabled()
+    {
+        return chunkSplitsEnabled;
+    }
+
+    @Config("mongodb.chunk-splits.enabled")
+    @ConfigDescription("Read sharded collections with one split per chunk")
+    public MongoClientConfig setChunkSplitsEnabled(boolean chunkSplitsEnabled)
+    {
+        this.chunkSplitsEnabled = chunkSplitsEnabled;
+        return this;
+    }
 }
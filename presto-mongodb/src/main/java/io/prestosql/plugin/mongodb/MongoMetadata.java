@@ -15,9 +15,13 @@ package io.prestosql.plugin.mongodb;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.airlift.log.Logger;
 import io.airlift.slice.Slice;
 import io.prestosql.plugin.mongodb.MongoIndex.MongodbIndexKey;
+import io.prestosql.spi.connector.AggregateFunction;
+import io.prestosql.spi.connector.AggregationApplicationResult;
+import io.prestosql.spi.connector.Assignment;
 import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ColumnMetadata;
 import io.prestosql.spi.connector.ConnectorInsertTableHandle;
@@ -31,23 +35,43 @@ import io.prestosql.spi.connector.ConnectorTableMetadata;
 import io.prestosql.spi.connector.ConnectorTableProperties;
 import io.prestosql.spi.connector.Constraint;
 import io.prestosql.spi.connector.ConstraintApplicationResult;
+import io.prestosql.spi.connector.LimitApplicationResult;
 import io.prestosql.spi.connector.LocalProperty;
 import io.prestosql.spi.connector.NotFoundException;
 import io.prestosql.spi.connector.SchemaTableName;
 import io.prestosql.spi.connector.SchemaTablePrefix;
+import io.prestosql.spi.connector.SortItem;
 import io.prestosql.spi.connector.SortingProperty;
 import io.prestosql.spi.connector.TableNotFoundException;
+import io.prestosql.spi.connector.TopNApplicationResult;
+import io.prestosql.spi.expression.ConnectorExpression;
+import io.prestosql.spi.expression.Variable;
+import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.predicate.TupleDomain;
 import io.prestosql.spi.statistics.ComputedStatistics;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.VarcharType;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.prestosql.plugin.mongodb.ObjectIdType.OBJECT_ID;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.BooleanType.BOOLEAN;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.SmallintType.SMALLINT;
+import static io.prestosql.spi.type.TimestampType.TIMESTAMP_MILLIS;
+import static io.prestosql.spi.type.TinyintType.TINYINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
 import static java.util.Locale.ENGLISH;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -57,6 +81,18 @@ public class MongoMetadata
 {
     private static final Logger log = Logger.get(MongoMetadata.class);
 
+    private static final String AGGREGATE_COLUMN_PREFIX = "_presto_aggregate_";
+
+    private static final Set<Type> NUMERIC_TYPES = ImmutableSet.of(TINYINT, SMALLINT, INTEGER, BIGINT, DOUBLE);
+    private static final Set<Type> GROUPING_TYPES = ImmutableSet.<Type>builder()
+            .addAll(NUMERIC_TYPES)
+            .add(BOOLEAN, VARCHAR, OBJECT_ID)
+            .build();
+    private static final Set<Type> SORT_TYPES = ImmutableSet.<Type>builder()
+            .addAll(NUMERIC_TYPES)
+            .add(BOOLEAN, VARCHAR, TIMESTAMP_MILLIS)
+            .build();
+
     private final MongoSession mongoSession;
 
     private final AtomicReference<Runnable> rollbackAction = new AtomicReference<>();
@@ -225,6 +261,10 @@ public class MongoMetadata
     {
         MongoTableHandle tableHandle = (MongoTableHandle) table;
 
+        if (tableHandle.getAggregation().isPresent()) {
+            return new ConnectorTableProperties();
+        }
+
         Optional<Set<ColumnHandle>> partitioningColumns = Optional.empty(); //TODO: sharding key
         ImmutableList.Builder<LocalProperty<ColumnHandle>> localProperties = ImmutableList.builder();
 
@@ -255,6 +295,11 @@ public class MongoMetadata
     {
         MongoTableHandle handle = (MongoTableHandle) table;
 
+        if (handle.getAggregation().isPresent() || handle.getLimit().isPresent()) {
+            // the filter would have to be applied after the aggregation or the limit
+            return Optional.empty();
+        }
+
         TupleDomain<ColumnHandle> oldDomain = handle.getConstraint();
         TupleDomain<ColumnHandle> newDomain = oldDomain.intersect(constraint.getSummary());
         if (oldDomain.equals(newDomain)) {
@@ -263,9 +308,206 @@ public class MongoMetadata
 
         handle = new MongoTableHandle(
                 handle.getSchemaTableName(),
-                newDomain);
+                newDomain,
+                handle.getAggregation(),
+                handle.getSort(),
+                handle.getLimit());
+
+        return Optional.of(new ConstraintApplicationResult<>(handle, getUnenforcedConstraint(constraint.getSummary())));
+    }
+
+    /**
+     * Returns the part of the constraint that cannot be translated to a MongoDB query.
+     */
+    private static TupleDomain<ColumnHandle> getUnenforcedConstraint(TupleDomain<ColumnHandle> constraint)
+    {
+        if (constraint.getDomains().isEmpty()) {
+            return constraint;
+        }
+        Map<ColumnHandle, Domain> unenforced = new HashMap<>();
+        constraint.getDomains().get().forEach((column, domain) -> {
+            if (MongoSession.buildPredicate((MongoColumnHandle) column, domain).isEmpty()) {
+                unenforced.put(column, domain);
+            }
+        });
+        return TupleDomain.withColumnDomains(unenforced);
+    }
+
+    @Override
+    public Optional<LimitApplicationResult<ConnectorTableHandle>> applyLimit(ConnectorSession session, ConnectorTableHandle table, long limit)
+    {
+        MongoTableHandle handle = (MongoTableHandle) table;
+
+        if (limit > Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+        if (handle.getLimit().isPresent() && handle.getLimit().getAsLong() <= limit) {
+            return Optional.empty();
+        }
+
+        handle = new MongoTableHandle(
+                handle.getSchemaTableName(),
+                handle.getConstraint(),
+                handle.getAggregation(),
+                handle.getSort(),
+                OptionalLong.of(limit));
+
+        // every split applies the limit, so the engine still has to limit their union
+        return Optional.of(new LimitApplicationResult<>(handle, false));
+    }
+
+    @Override
+    public Optional<TopNApplicationResult<ConnectorTableHandle>> applyTopN(
+            ConnectorSession session,
+            ConnectorTableHandle table,
+            long topNCount,
+            List<SortItem> sortItems,
+            Map<String, ColumnHandle> assignments)
+    {
+        MongoTableHandle handle = (MongoTableHandle) table;
+
+        if (handle.getLimit().isPresent()) {
+            // the limit is applied before the sort, or the TopN has already been pushed down
+            return Optional.empty();
+        }
+        if (topNCount > Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+
+        ImmutableList.Builder<MongoSortItem> sort = ImmutableList.builder();
+        for (SortItem sortItem : sortItems) {
+            MongoColumnHandle column = (MongoColumnHandle) assignments.get(sortItem.getName());
+            if (!isPushdownColumn(column, SORT_TYPES)) {
+                return Optional.empty();
+            }
+            sort.add(new MongoSortItem(column.getName(), sortItem.getSortOrder()));
+        }
+
+        handle = new MongoTableHandle(
+                handle.getSchemaTableName(),
+                handle.getConstraint(),
+                handle.getAggregation(),
+                sort.build(),
+                OptionalLong.of(topNCount));
+
+        return Optional.of(new TopNApplicationResult<>(handle, false));
+    }
+
+    @Override
+    public Optional<AggregationApplicationResult<ConnectorTableHandle>> applyAggregation(
+            ConnectorSession session,
+            ConnectorTableHandle table,
+            List<AggregateFunction> aggregates,
+            Map<String, ColumnHandle> assignments,
+            List<List<ColumnHandle>> groupingSets)
+    {
+        MongoTableHandle handle = (MongoTableHandle) table;
+
+        if (handle.getAggregation().isPresent() || handle.getLimit().isPresent()) {
+            // handle's limit is applied after aggregations, so we cannot apply aggregations if limit is already set
+            return Optional.empty();
+        }
+
+        if (groupingSets.size() != 1) {
+            return Optional.empty();
+        }
+
+        List<MongoColumnHandle> groupingColumns = groupingSets.get(0).stream()
+                .map(MongoColumnHandle.class::cast)
+                .collect(toImmutableList());
+        if (!groupingColumns.stream().allMatch(column -> isPushdownColumn(column, GROUPING_TYPES))) {
+            return Optional.empty();
+        }
+
+        ImmutableList.Builder<MongoAggregate> mongoAggregates = ImmutableList.builder();
+        ImmutableList.Builder<ConnectorExpression> projections = ImmutableList.builder();
+        ImmutableList.Builder<Assignment> resultAssignments = ImmutableList.builder();
+        for (int i = 0; i < aggregates.size(); i++) {
+            AggregateFunction aggregate = aggregates.get(i);
+            MongoColumnHandle output = new MongoColumnHandle(AGGREGATE_COLUMN_PREFIX + i, aggregate.getOutputType(), false);
+            Optional<MongoAggregate> mongoAggregate = toMongoAggregate(aggregate, assignments, output);
+            if (mongoAggregate.isEmpty()) {
+                return Optional.empty();
+            }
+
+            mongoAggregates.add(mongoAggregate.get());
+            projections.add(new Variable(output.getName(), output.getType()));
+            resultAssignments.add(new Assignment(output.getName(), output, output.getType()));
+        }
+
+        handle = new MongoTableHandle(
+                handle.getSchemaTableName(),
+                handle.getConstraint(),
+                Optional.of(new MongoAggregation(groupingColumns, mongoAggregates.build())),
+                ImmutableList.of(),
+                OptionalLong.empty());
 
-        return Optional.of(new ConstraintApplicationResult<>(handle, constraint.getSummary()));
+        return Optional.of(new AggregationApplicationResult<>(handle, projections.build(), resultAssignments.build(), ImmutableMap.of()));
+    }
+
+    private static Optional<MongoAggregate> toMongoAggregate(AggregateFunction aggregate, Map<String, ColumnHandle> assignments, MongoColumnHandle output)
+    {
+        if (aggregate.isDistinct() || aggregate.getFilter().isPresent() || !aggregate.getSortItems().isEmpty()) {
+            return Optional.empty();
+        }
+
+        Type outputType = aggregate.getOutputType();
+        if (aggregate.getInputs().isEmpty()) {
+            if (aggregate.getFunctionName().equals("count") && outputType.equals(BIGINT)) {
+                return Optional.of(new MongoAggregate(MongoAggregate.Function.COUNT, Optional.empty(), output));
+            }
+            return Optional.empty();
+        }
+
+        if (aggregate.getInputs().size() != 1 || !(aggregate.getInputs().get(0) instanceof Variable)) {
+            return Optional.empty();
+        }
+        MongoColumnHandle input = (MongoColumnHandle) assignments.get(((Variable) aggregate.getInputs().get(0)).getName());
+        Type inputType = input.getType();
+
+        MongoAggregate.Function function;
+        switch (aggregate.getFunctionName()) {
+            case "count":
+                if (!isPushdownColumn(input, GROUPING_TYPES) || !outputType.equals(BIGINT)) {
+                    return Optional.empty();
+                }
+                function = MongoAggregate.Function.COUNT;
+                break;
+            case "min":
+            case "max":
+                if (!isPushdownColumn(input, SORT_TYPES) || !outputType.equals(inputType)) {
+                    return Optional.empty();
+                }
+                function = aggregate.getFunctionName().equals("min") ? MongoAggregate.Function.MIN : MongoAggregate.Function.MAX;
+                break;
+            case "sum":
+                // MongoDB sums integers as 64-bit integers and switches to doubles on overflow, which the page source reports
+                if (!isPushdownColumn(input, NUMERIC_TYPES) || !outputType.equals(inputType.equals(DOUBLE) ? DOUBLE : BIGINT)) {
+                    return Optional.empty();
+                }
+                function = MongoAggregate.Function.SUM;
+                break;
+            case "avg":
+                if (!isPushdownColumn(input, NUMERIC_TYPES) || !outputType.equals(DOUBLE)) {
+                    return Optional.empty();
+                }
+                function = MongoAggregate.Function.AVG;
+                break;
+            default:
+                return Optional.empty();
+        }
+
+        return Optional.of(new MongoAggregate(function, Optional.of(input), output));
+    }
+
+    /**
+     * Whether the column is a top level field MongoDB can compare the same way as the engine.
+     */
+    private static boolean isPushdownColumn(MongoColumnHandle column, Set<Type> supportedTypes)
+    {
+        return !column.getName().contains(".") &&
+                !column.getName().startsWith("$") &&
+                (supportedTypes.contains(column.getType()) || (supportedTypes.contains(VARCHAR) && column.getType() instanceof VarcharType));
     }
 
     private void setRollback(Runnable action)
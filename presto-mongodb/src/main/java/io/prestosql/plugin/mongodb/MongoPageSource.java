@@ -13,6 +13,7 @@
  */
 package io.prestosql.plugin.mongodb;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.primitives.Shorts;
 import com.google.common.primitives.SignedBytes;
 import com.mongodb.client.MongoCursor;
@@ -40,10 +41,13 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.airlift.slice.Slices.wrappedBuffer;
 import static io.prestosql.plugin.mongodb.ObjectIdType.OBJECT_ID;
@@ -51,6 +55,7 @@ import static io.prestosql.plugin.mongodb.TypeUtils.isArrayType;
 import static io.prestosql.plugin.mongodb.TypeUtils.isMapType;
 import static io.prestosql.plugin.mongodb.TypeUtils.isRowType;
 import static io.prestosql.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
+import static io.prestosql.spi.StandardErrorCode.NUMERIC_VALUE_OUT_OF_RANGE;
 import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.Chars.truncateToLengthAndTrimSpaces;
 import static io.prestosql.spi.type.DateTimeEncoding.packDateTimeWithZone;
@@ -81,8 +86,11 @@ public class MongoPageSource
     private final MongoCursor<Document> cursor;
     private final List<String> columnNames;
     private final List<Type> columnTypes;
+    private final Set<String> integerSumColumns;
+    private final Optional<Document> emptyAggregationResult;
     private Document currentDoc;
     private long count;
+    private long totalCount;
     private boolean finished;
 
     private final PageBuilder pageBuilder;
@@ -90,11 +98,24 @@ public class MongoPageSource
     public MongoPageSource(
             MongoSession mongoSession,
             MongoTableHandle tableHandle,
-            List<MongoColumnHandle> columns)
+            List<MongoColumnHandle> columns,
+            Optional<Document> chunkFilter)
     {
         this.columnNames = columns.stream().map(MongoColumnHandle::getName).collect(toList());
         this.columnTypes = columns.stream().map(MongoColumnHandle::getType).collect(toList());
-        this.cursor = mongoSession.execute(tableHandle, columns);
+        this.integerSumColumns = tableHandle.getAggregation()
+                .map(aggregation -> aggregation.getAggregates().stream()
+                        .filter(aggregate -> aggregate.getFunction() == MongoAggregate.Function.SUM)
+                        .map(MongoAggregate::getOutput)
+                        .filter(output -> output.getType().equals(BIGINT))
+                        .map(MongoColumnHandle::getName)
+                        .collect(toImmutableSet()))
+                .orElse(ImmutableSet.of());
+        // $group returns no document for an empty input, while a global aggregation returns a single row
+        this.emptyAggregationResult = tableHandle.getAggregation()
+                .filter(aggregation -> aggregation.getGroupingColumns().isEmpty())
+                .map(MongoPageSource::emptyAggregationResult);
+        this.cursor = mongoSession.execute(tableHandle, columns, chunkFilter);
         currentDoc = null;
 
         pageBuilder = new PageBuilder(columnTypes);
@@ -132,16 +153,16 @@ public class MongoPageSource
         for (int i = 0; i < ROWS_PER_REQUEST; i++) {
             if (!cursor.hasNext()) {
                 finished = true;
+                if (totalCount == 0 && emptyAggregationResult.isPresent()) {
+                    appendRow(emptyAggregationResult.get());
+                }
                 break;
             }
             currentDoc = cursor.next();
             count++;
+            totalCount++;
 
-            pageBuilder.declarePosition();
-            for (int column = 0; column < columnTypes.size(); column++) {
-                BlockBuilder output = pageBuilder.getBlockBuilder(column);
-                appendTo(columnTypes.get(column), currentDoc.get(columnNames.get(column)), output);
-            }
+            appendRow(currentDoc);
         }
 
         Page page = pageBuilder.build();
@@ -149,6 +170,39 @@ public class MongoPageSource
         return page;
     }
 
+    private void appendRow(Document document)
+    {
+        pageBuilder.declarePosition();
+        for (int column = 0; column < columnTypes.size(); column++) {
+            BlockBuilder output = pageBuilder.getBlockBuilder(column);
+            String columnName = columnNames.get(column);
+            Object value = document.get(columnName);
+            if (integerSumColumns.contains(columnName)) {
+                checkIntegerSum(value);
+            }
+            appendTo(columnTypes.get(column), value, output);
+        }
+    }
+
+    private static void checkIntegerSum(Object value)
+    {
+        // MongoDB returns a double when a sum of 64-bit integers overflows
+        if (value instanceof Double && ((double) value >= 0x1p63 || (double) value < -0x1p63)) {
+            throw new PrestoException(NUMERIC_VALUE_OUT_OF_RANGE, "bigint addition overflow: " + value);
+        }
+    }
+
+    private static Document emptyAggregationResult(MongoAggregation aggregation)
+    {
+        Document result = new Document();
+        for (MongoAggregate aggregate : aggregation.getAggregates()) {
+            if (aggregate.getFunction() == MongoAggregate.Function.COUNT) {
+                result.append(aggregate.getOutput().getName(), 0L);
+            }
+        }
+        return result;
+    }
+
     private void appendTo(Type type, Object value, BlockBuilder output)
     {
         if (value == null) {
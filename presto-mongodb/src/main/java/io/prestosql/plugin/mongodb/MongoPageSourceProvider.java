@@ -22,10 +22,12 @@ import io.prestosql.spi.connector.ConnectorSplit;
 import io.prestosql.spi.connector.ConnectorTableHandle;
 import io.prestosql.spi.connector.ConnectorTransactionHandle;
 import io.prestosql.spi.predicate.TupleDomain;
+import org.bson.Document;
 
 import javax.inject.Inject;
 
 import java.util.List;
+import java.util.Optional;
 
 import static java.util.Objects.requireNonNull;
 
@@ -56,6 +58,8 @@ public class MongoPageSourceProvider
             handles.add((MongoColumnHandle) handle);
         }
 
-        return new MongoPageSource(mongoSession, tableHandle, handles.build());
+        Optional<Document> chunkFilter = ((MongoSplit) split).getChunkFilter().map(Document::parse);
+
+        return new MongoPageSource(mongoSession, tableHandle, handles.build(), chunkFilter);
     }
 }
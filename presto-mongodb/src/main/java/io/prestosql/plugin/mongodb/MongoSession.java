@@ -25,6 +25,7 @@ import com.google.common.primitives.Shorts;
 import com.google.common.primitives.SignedBytes;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.mongodb.MongoClient;
+import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
@@ -52,6 +53,7 @@ import io.prestosql.spi.type.TypeSignature;
 import io.prestosql.spi.type.TypeSignatureParameter;
 import io.prestosql.spi.type.VarcharType;
 import org.bson.Document;
+import org.bson.types.MinKey;
 import org.bson.types.ObjectId;
 
 import java.util.ArrayList;
@@ -80,6 +82,7 @@ import static io.prestosql.spi.type.TinyintType.TINYINT;
 import static io.prestosql.spi.type.VarcharType.createUnboundedVarcharType;
 import static java.lang.Math.toIntExact;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Locale.ENGLISH;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.HOURS;
@@ -112,6 +115,26 @@ public class MongoSession
     private static final String IN_OP = "$in";
     private static final String NOTIN_OP = "$nin";
 
+    private static final String COND_OP = "$cond";
+    private static final String IF_NULL_OP = "$ifNull";
+    private static final String TYPE_OP = "$type";
+    private static final String SUM_OP = "$sum";
+    private static final String MIN_OP = "$min";
+    private static final String MAX_OP = "$max";
+    private static final String AVG_OP = "$avg";
+
+    private static final String MATCH_STAGE = "$match";
+    private static final String GROUP_STAGE = "$group";
+    private static final String PROJECT_STAGE = "$project";
+    private static final String ADD_FIELDS_STAGE = "$addFields";
+    private static final String SORT_STAGE = "$sort";
+    private static final String LIMIT_STAGE = "$limit";
+
+    private static final List<String> NUMBER_TYPES = ImmutableList.of("int", "long", "double", "decimal");
+    private static final String SUM_COUNT_SUFFIX = "_count";
+    private static final String NULL_FLAG_PREFIX = "_presto_null_";
+    private static final String CONFIG_DATABASE = "config";
+
     private final TypeManager typeManager;
     private final MongoClient client;
 
@@ -270,40 +293,265 @@ public class MongoSession
         return MongoIndex.parse(getCollection(tableName).listIndexes());
     }
 
-    public MongoCursor<Document> execute(MongoTableHandle tableHandle, List<MongoColumnHandle> columns)
+    public MongoCursor<Document> execute(MongoTableHandle tableHandle, List<MongoColumnHandle> columns, Optional<Document> chunkFilter)
     {
+        MongoCollection<Document> collection = getCollection(tableHandle.getSchemaTableName());
+        Document query = buildQuery(tableHandle.getConstraint());
+        if (chunkFilter.isPresent()) {
+            query = query.isEmpty() ? chunkFilter.get() : new Document(AND_OP, ImmutableList.of(query, chunkFilter.get()));
+        }
+
+        if (tableHandle.getAggregation().isPresent() || !tableHandle.getSort().isEmpty()) {
+            List<Document> pipeline = buildPipeline(query, tableHandle, columns);
+            log.debug("Aggregate documents: collection: %s, pipeline: %s", tableHandle.getSchemaTableName(), pipeline);
+            AggregateIterable<Document> iterable = collection.aggregate(pipeline).allowDiskUse(true);
+            if (cursorBatchSize != 0) {
+                iterable.batchSize(cursorBatchSize);
+            }
+            return iterable.iterator();
+        }
+
         Document output = new Document();
         for (MongoColumnHandle column : columns) {
             output.append(column.getName(), 1);
         }
-        MongoCollection<Document> collection = getCollection(tableHandle.getSchemaTableName());
-        Document query = buildQuery(tableHandle.getConstraint());
         FindIterable<Document> iterable = collection.find(query).projection(output);
         log.debug("Find documents: collection: %s, filter: %s, projection: %s", tableHandle.getSchemaTableName(), query.toJson(), output.toJson());
 
         if (cursorBatchSize != 0) {
             iterable.batchSize(cursorBatchSize);
         }
+        tableHandle.getLimit().ifPresent(limit -> iterable.limit(toIntExact(limit)));
 
         return iterable.iterator();
     }
 
+    @VisibleForTesting
+    static List<Document> buildPipeline(Document query, MongoTableHandle tableHandle, List<MongoColumnHandle> columns)
+    {
+        ImmutableList.Builder<Document> pipeline = ImmutableList.builder();
+        if (!query.isEmpty()) {
+            pipeline.add(new Document(MATCH_STAGE, query));
+        }
+
+        if (tableHandle.getAggregation().isPresent()) {
+            MongoAggregation aggregation = tableHandle.getAggregation().get();
+            pipeline.add(new Document(GROUP_STAGE, buildGroup(aggregation)));
+            pipeline.add(new Document(PROJECT_STAGE, buildAggregationProjection(aggregation)));
+        }
+        else {
+            Document output = new Document();
+            for (MongoColumnHandle column : columns) {
+                output.append(column.getName(), 1);
+            }
+            for (MongoSortItem sortItem : tableHandle.getSort()) {
+                output.append(sortItem.getField(), 1);
+            }
+            if (!output.isEmpty()) {
+                pipeline.add(new Document(PROJECT_STAGE, output));
+            }
+        }
+
+        if (!tableHandle.getSort().isEmpty()) {
+            // MongoDB orders null and missing values before all other values, so other null orderings sort on a flag first
+            Document nullFlags = new Document();
+            Document sort = new Document();
+            for (int i = 0; i < tableHandle.getSort().size(); i++) {
+                MongoSortItem sortItem = tableHandle.getSort().get(i);
+                boolean ascending = sortItem.getSortOrder().isAscending();
+                boolean nullsFirst = sortItem.getSortOrder().isNullsFirst();
+                if (ascending != nullsFirst) {
+                    String flag = NULL_FLAG_PREFIX + i;
+                    nullFlags.append(flag, new Document(COND_OP, asList(isNullExpression(sortItem.getField()), 1, 0)));
+                    sort.append(flag, nullsFirst ? -1 : 1);
+                }
+                sort.append(sortItem.getField(), ascending ? 1 : -1);
+            }
+            if (!nullFlags.isEmpty()) {
+                pipeline.add(new Document(ADD_FIELDS_STAGE, nullFlags));
+            }
+            pipeline.add(new Document(SORT_STAGE, sort));
+        }
+
+        tableHandle.getLimit().ifPresent(limit -> pipeline.add(new Document(LIMIT_STAGE, limit)));
+
+        return pipeline.build();
+    }
+
+    private static Document buildGroup(MongoAggregation aggregation)
+    {
+        Document key = null;
+        if (!aggregation.getGroupingColumns().isEmpty()) {
+            // missing fields are grouped together with null values, as the connector reads both as NULL
+            key = new Document();
+            for (MongoColumnHandle column : aggregation.getGroupingColumns()) {
+                key.append(column.getName(), new Document(IF_NULL_OP, asList(fieldPath(column.getName()), null)));
+            }
+        }
+
+        Document group = new Document("_id", key);
+        for (MongoAggregate aggregate : aggregation.getAggregates()) {
+            String output = aggregate.getOutput().getName();
+            Optional<String> input = aggregate.getInput().map(MongoColumnHandle::getName);
+            switch (aggregate.getFunction()) {
+                case COUNT:
+                    group.append(output, new Document(SUM_OP, input
+                            .map(name -> (Object) new Document(COND_OP, asList(isNullExpression(name), 0, 1)))
+                            .orElse(1)));
+                    break;
+                case MIN:
+                    group.append(output, new Document(MIN_OP, fieldPath(input.get())));
+                    break;
+                case MAX:
+                    group.append(output, new Document(MAX_OP, fieldPath(input.get())));
+                    break;
+                case SUM:
+                    // $sum returns 0 when there are no numeric values, while SQL returns NULL
+                    group.append(output, new Document(SUM_OP, fieldPath(input.get())));
+                    group.append(output + SUM_COUNT_SUFFIX, new Document(SUM_OP, new Document(COND_OP, asList(isNumberExpression(input.get()), 1, 0))));
+                    break;
+                case AVG:
+                    group.append(output, new Document(AVG_OP, fieldPath(input.get())));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported aggregate function: " + aggregate.getFunction());
+            }
+        }
+        return group;
+    }
+
+    private static Document buildAggregationProjection(MongoAggregation aggregation)
+    {
+        // grouping column named _id replaces the exclusion of the group key
+        Document projection = new Document("_id", 0);
+        for (MongoColumnHandle column : aggregation.getGroupingColumns()) {
+            projection.append(column.getName(), fieldPath("_id." + column.getName()));
+        }
+        for (MongoAggregate aggregate : aggregation.getAggregates()) {
+            String output = aggregate.getOutput().getName();
+            if (aggregate.getFunction() == MongoAggregate.Function.SUM) {
+                projection.append(output, new Document(COND_OP, asList(
+                        new Document(EQ_OP, asList(fieldPath(output + SUM_COUNT_SUFFIX), 0)),
+                        null,
+                        fieldPath(output))));
+            }
+            else {
+                projection.append(output, 1);
+            }
+        }
+        return projection;
+    }
+
+    private static String fieldPath(String field)
+    {
+        return "$" + field;
+    }
+
+    private static Document isNullExpression(String field)
+    {
+        return new Document(EQ_OP, asList(new Document(IF_NULL_OP, asList(fieldPath(field), null)), null));
+    }
+
+    private static Document isNumberExpression(String field)
+    {
+        return new Document(IN_OP, asList(new Document(TYPE_OP, fieldPath(field)), NUMBER_TYPES));
+    }
+
+    /**
+     * Returns filters that partition a sharded collection along the chunks of its shard key,
+     * or an empty list when the collection is not sharded on a single ranged key.
+     */
+    public List<Document> getChunkFilters(SchemaTableName tableName)
+    {
+        String schemaName = toRemoteSchemaName(tableName.getSchemaName());
+        String namespace = schemaName + "." + toRemoteTableName(schemaName, tableName.getTableName());
+        MongoDatabase config = client.getDatabase(CONFIG_DATABASE);
+
+        Document collection = config.getCollection("collections").find(new Document("_id", namespace)).first();
+        if (collection == null || collection.getBoolean("dropped", false)) {
+            return ImmutableList.of();
+        }
+        Document shardKey = (Document) collection.get("key");
+        if (shardKey == null || shardKey.size() != 1 || !(shardKey.values().iterator().next() instanceof Number)) {
+            // compound keys cannot be expressed as ranges of one field, and hashed chunks are ranges of hashes
+            return ImmutableList.of();
+        }
+        String field = shardKey.keySet().iterator().next();
+
+        // chunks reference their collection by namespace before MongoDB 5.0, and by uuid since
+        Document chunkQuery = new Document("ns", namespace);
+        if (collection.containsKey("uuid")) {
+            chunkQuery = new Document(OR_OP, ImmutableList.of(chunkQuery, new Document("uuid", collection.get("uuid"))));
+        }
+        List<Object> boundaries = new ArrayList<>();
+        for (Document chunk : config.getCollection("chunks").find(chunkQuery).sort(new Document("min", 1))) {
+            Object min = ((Document) chunk.get("min")).get(field);
+            if (!(min instanceof MinKey)) {
+                boundaries.add(min);
+            }
+        }
+        return buildChunkFilters(field, boundaries);
+    }
+
+    @VisibleForTesting
+    static List<Document> buildChunkFilters(String field, List<Object> boundaries)
+    {
+        if (boundaries.isEmpty() || boundaries.contains(null)) {
+            return ImmutableList.of();
+        }
+        // range operators only match values of the same BSON type, so boundaries of mixed types cannot be used
+        Class<?> boundaryType = bsonComparisonType(boundaries.get(0));
+        if (boundaries.stream().anyMatch(boundary -> bsonComparisonType(boundary) != boundaryType)) {
+            return ImmutableList.of();
+        }
+
+        ImmutableList.Builder<Document> filters = ImmutableList.builder();
+        // the first range also covers null, missing and differently typed values, so that the ranges cover the collection
+        filters.add(new Document(field, new Document(NOT_OP, new Document(GTE_OP, boundaries.get(0)))));
+        for (int i = 0; i < boundaries.size(); i++) {
+            Document range = new Document(GTE_OP, boundaries.get(i));
+            if (i + 1 < boundaries.size()) {
+                range.append(LT_OP, boundaries.get(i + 1));
+            }
+            filters.add(new Document(field, range));
+        }
+        return filters.build();
+    }
+
+    private static Class<?> bsonComparisonType(Object value)
+    {
+        return value instanceof Number ? Number.class : value.getClass();
+    }
+
     @VisibleForTesting
     static Document buildQuery(TupleDomain<ColumnHandle> tupleDomain)
     {
         Document query = new Document();
+        List<Document> conjuncts = new ArrayList<>();
         if (tupleDomain.getDomains().isPresent()) {
             for (Map.Entry<ColumnHandle, Domain> entry : tupleDomain.getDomains().get().entrySet()) {
                 MongoColumnHandle column = (MongoColumnHandle) entry.getKey();
                 Optional<Document> predicate = buildPredicate(column, entry.getValue());
-                predicate.ifPresent(query::putAll);
+                if (predicate.isEmpty()) {
+                    continue;
+                }
+                // predicates of several columns may each be an $or, which must not replace each other
+                if (predicate.get().keySet().stream().anyMatch(query::containsKey)) {
+                    conjuncts.add(predicate.get());
+                }
+                else {
+                    query.putAll(predicate.get());
+                }
             }
         }
+        if (!conjuncts.isEmpty()) {
+            query.append(AND_OP, conjuncts);
+        }
 
         return query;
     }
 
-    private static Optional<Document> buildPredicate(MongoColumnHandle column, Domain domain)
+    static Optional<Document> buildPredicate(MongoColumnHandle column, Domain domain)
     {
         String name = column.getName();
         Type type = column.getType();
@@ -20,6 +20,7 @@ import io.prestosql.spi.HostAddress;
 import io.prestosql.spi.connector.ConnectorSplit;
 
 import java.util.List;
+import java.util.Optional;
 
 import static java.util.Objects.requireNonNull;
 
@@ -27,11 +28,15 @@ public class MongoSplit
         implements ConnectorSplit
 {
     private final List<HostAddress> addresses;
+    private final Optional<String> chunkFilter;
 
     @JsonCreator
-    public MongoSplit(@JsonProperty("addresses") List<HostAddress> addresses)
+    public MongoSplit(
+            @JsonProperty("addresses") List<HostAddress> addresses,
+            @JsonProperty("chunkFilter") Optional<String> chunkFilter)
     {
         this.addresses = ImmutableList.copyOf(requireNonNull(addresses, "addresses is null"));
+        this.chunkFilter = requireNonNull(chunkFilter, "chunkFilter is null");
     }
 
     @Override
@@ -47,6 +52,15 @@ public class MongoSplit
         return addresses;
     }
 
+    /**
+     * Returns the JSON filter selecting the shard key range of this split, or empty when the split reads the whole collection.
+     */
+    @JsonProperty
+    public Optional<String> getChunkFilter()
+    {
+        return chunkFilter;
+    }
+
     @Override
     public Object getInfo()
     {
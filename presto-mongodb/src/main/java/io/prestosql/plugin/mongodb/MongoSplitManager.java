@@ -14,6 +14,8 @@
 package io.prestosql.plugin.mongodb;
 
 import com.google.common.collect.ImmutableList;
+import com.mongodb.MongoException;
+import io.airlift.log.Logger;
 import io.prestosql.spi.HostAddress;
 import io.prestosql.spi.connector.ConnectorSession;
 import io.prestosql.spi.connector.ConnectorSplitManager;
@@ -22,25 +24,36 @@ import io.prestosql.spi.connector.ConnectorTableHandle;
 import io.prestosql.spi.connector.ConnectorTransactionHandle;
 import io.prestosql.spi.connector.DynamicFilter;
 import io.prestosql.spi.connector.FixedSplitSource;
+import io.prestosql.spi.connector.SchemaTableName;
+import org.bson.Document;
 
 import javax.inject.Inject;
 
 import java.util.List;
+import java.util.Optional;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.prestosql.spi.HostAddress.fromParts;
+import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 public class MongoSplitManager
         implements ConnectorSplitManager
 {
+    private static final Logger log = Logger.get(MongoSplitManager.class);
+
+    private final MongoSession mongoSession;
     private final List<HostAddress> addresses;
+    private final boolean chunkSplitsEnabled;
 
     @Inject
-    public MongoSplitManager(MongoClientConfig config)
+    public MongoSplitManager(MongoSession mongoSession, MongoClientConfig config)
     {
+        this.mongoSession = requireNonNull(mongoSession, "mongoSession is null");
         this.addresses = config.getSeeds().stream()
                 .map(s -> fromParts(s.getHost(), s.getPort()))
                 .collect(toList());
+        this.chunkSplitsEnabled = config.isChunkSplitsEnabled();
     }
 
     @Override
@@ -51,8 +64,32 @@ public class MongoSplitManager
             SplitSchedulingStrategy splitSchedulingStrategy,
             DynamicFilter dynamicFilter)
     {
-        MongoSplit split = new MongoSplit(addresses);
+        MongoTableHandle tableHandle = (MongoTableHandle) table;
+
+        // aggregations are computed in full by a single pipeline
+        if (chunkSplitsEnabled && tableHandle.getAggregation().isEmpty()) {
+            List<Document> chunkFilters = getChunkFilters(tableHandle.getSchemaTableName());
+            if (!chunkFilters.isEmpty()) {
+                return new FixedSplitSource(chunkFilters.stream()
+                        .map(filter -> new MongoSplit(addresses, Optional.of(filter.toJson())))
+                        .collect(toImmutableList()));
+            }
+        }
+
+        MongoSplit split = new MongoSplit(addresses, Optional.empty());
 
         return new FixedSplitSource(ImmutableList.of(split));
     }
+
+    private List<Document> getChunkFilters(SchemaTableName tableName)
+    {
+        try {
+            return mongoSession.getChunkFilters(tableName);
+        }
+        catch (MongoException e) {
+            // reading the cluster metadata requires privileges on the config database
+            log.warn(e, "Failed to read chunks of %s, reading it with a single split", tableName);
+            return ImmutableList.of();
+        }
+    }
 }
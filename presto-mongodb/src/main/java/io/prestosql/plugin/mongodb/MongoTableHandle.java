@@ -15,12 +15,16 @@ package io.prestosql.plugin.mongodb;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
 import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ConnectorTableHandle;
 import io.prestosql.spi.connector.SchemaTableName;
 import io.prestosql.spi.predicate.TupleDomain;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 import static java.util.Objects.requireNonNull;
 
@@ -29,19 +33,28 @@ public class MongoTableHandle
 {
     private final SchemaTableName schemaTableName;
     private final TupleDomain<ColumnHandle> constraint;
+    private final Optional<MongoAggregation> aggregation;
+    private final List<MongoSortItem> sort;
+    private final OptionalLong limit;
 
     public MongoTableHandle(SchemaTableName schemaTableName)
     {
-        this(schemaTableName, TupleDomain.all());
+        this(schemaTableName, TupleDomain.all(), Optional.empty(), ImmutableList.of(), OptionalLong.empty());
     }
 
     @JsonCreator
     public MongoTableHandle(
             @JsonProperty("schemaTableName") SchemaTableName schemaTableName,
-            @JsonProperty("constraint") TupleDomain<ColumnHandle> constraint)
+            @JsonProperty("constraint") TupleDomain<ColumnHandle> constraint,
+            @JsonProperty("aggregation") Optional<MongoAggregation> aggregation,
+            @JsonProperty("sort") List<MongoSortItem> sort,
+            @JsonProperty("limit") OptionalLong limit)
     {
         this.schemaTableName = requireNonNull(schemaTableName, "schemaTableName is null");
         this.constraint = requireNonNull(constraint, "constraint is null");
+        this.aggregation = requireNonNull(aggregation, "aggregation is null");
+        this.sort = ImmutableList.copyOf(requireNonNull(sort, "sort is null"));
+        this.limit = requireNonNull(limit, "limit is null");
     }
 
     @JsonProperty
@@ -56,10 +69,31 @@ public class MongoTableHandle
         return constraint;
     }
 
+    /**
+     * Aggregation applied to the documents matching the constraint, before sort and limit.
+     */
+    @JsonProperty
+    public Optional<MongoAggregation> getAggregation()
+    {
+        return aggregation;
+    }
+
+    @JsonProperty
+    public List<MongoSortItem> getSort()
+    {
+        return sort;
+    }
+
+    @JsonProperty
+    public OptionalLong getLimit()
+    {
+        return limit;
+    }
+
     @Override
     public int hashCode()
     {
-        return Objects.hash(schemaTableName, constraint);
+        return Objects.hash(schemaTableName, constraint, aggregation, sort, limit);
     }
 
     @Override
@@ -73,12 +107,21 @@ public class MongoTableHandle
         }
         MongoTableHandle other = (MongoTableHandle) obj;
         return Objects.equals(this.schemaTableName, other.schemaTableName) &&
-                Objects.equals(this.constraint, other.constraint);
+                Objects.equals(this.constraint, other.constraint) &&
+                Objects.equals(this.aggregation, other.aggregation) &&
+                Objects.equals(this.sort, other.sort) &&
+                Objects.equals(this.limit, other.limit);
     }
 
     @Override
     public String toString()
     {
-        return schemaTableName.toString();
+        StringBuilder builder = new StringBuilder(schemaTableName.toString());
+        aggregation.ifPresent(value -> builder.append(" ").append(value));
+        if (!sort.isEmpty()) {
+            builder.append(" sort=").append(sort);
+        }
+        limit.ifPresent(value -> builder.append(" limit=").append(value));
+        return builder.toString();
     }
 }
@@ -42,6 +42,7 @@ public class TestMongoClientConfig
                 .setSocketKeepAlive(false)
                 .setSslEnabled(false)
                 .setMaxConnectionIdleTime(0)
+                .setChunkSplitsEnabled(false)
                 .setCursorBatchSize(0)
                 .setReadPreference(ReadPreferenceType.PRIMARY)
                 .setWriteConcern(WriteConcernType.ACKNOWLEDGED)
@@ -65,6 +66,7 @@ public class TestMongoClientConfig
                 .put("mongodb.socket-keep-alive", "true")
                 .put("mongodb.ssl.enabled", "true")
                 .put("mongodb.max-connection-idle-time", "180000")
+                .put("mongodb.chunk-splits.enabled", "true")
                 .put("mongodb.cursor-batch-size", "1")
                 .put("mongodb.read-preference", "NEAREST")
                 .put("mongodb.write-concern", "UNACKNOWLEDGED")
@@ -85,6 +87,7 @@ public class TestMongoClientConfig
                 .setSocketKeepAlive(true)
                 .setSslEnabled(true)
                 .setMaxConnectionIdleTime(180_000)
+                .setChunkSplitsEnabled(true)
                 .setCursorBatchSize(1)
                 .setReadPreference(ReadPreferenceType.NEAREST)
                 .setWriteConcern(WriteConcernType.UNACKNOWLEDGED)
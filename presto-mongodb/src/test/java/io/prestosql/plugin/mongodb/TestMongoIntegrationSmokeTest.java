@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.mongodb.MongoClient;
 import com.mongodb.client.MongoCollection;
+import io.prestosql.sql.planner.plan.TopNNode;
 import io.prestosql.testing.AbstractTestIntegrationSmokeTest;
 import io.prestosql.testing.MaterializedResult;
 import io.prestosql.testing.MaterializedRow;
@@ -37,6 +38,7 @@ import static io.prestosql.tpch.TpchTable.ORDERS;
 import static io.prestosql.tpch.TpchTable.REGION;
 import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
@@ -357,6 +359,54 @@ public class TestMongoIntegrationSmokeTest
         assertUpdate("DROP TABLE test.null_predicates");
     }
 
+    @Test
+    public void testAggregationPushdown()
+    {
+        assertThat(query("SELECT orderstatus, count(*), count(orderpriority), sum(custkey), min(totalprice), max(orderpriority), avg(shippriority) FROM orders GROUP BY orderstatus"))
+                .isFullyPushedDown();
+        assertThat(query("SELECT count(*), sum(totalprice) FROM orders WHERE orderkey < 1000")).isFullyPushedDown();
+        // a global aggregation over no documents still returns a row
+        assertThat(query("SELECT count(*), sum(custkey), max(totalprice) FROM orders WHERE orderkey < 0")).isFullyPushedDown();
+
+        assertUpdate("CREATE TABLE test.aggregation_pushdown(name varchar, value bigint)");
+
+        MongoCollection<Document> collection = client.getDatabase("test").getCollection("aggregation_pushdown");
+        collection.insertOne(new Document(ImmutableMap.of("name", "a", "value", 1L)));
+        collection.insertOne(new Document(ImmutableMap.of("name", "a")));
+        collection.insertOne(new Document(Document.parse("{\"name\": \"b\", \"value\": null}")));
+        collection.insertOne(new Document(ImmutableMap.of("value", 5L)));
+
+        assertThat(query("SELECT name, count(*), count(value), sum(value), min(value) FROM test.aggregation_pushdown GROUP BY name"))
+                .matches("VALUES (CAST('a' AS varchar), BIGINT '2', BIGINT '1', BIGINT '1', BIGINT '1'), ('b', 1, 0, NULL, NULL), (NULL, 1, 1, 5, 5)")
+                .isFullyPushedDown();
+
+        assertUpdate("DROP TABLE test.aggregation_pushdown");
+    }
+
+    @Test
+    public void testTopNPushdown()
+    {
+        assertThat(query("SELECT orderkey FROM orders ORDER BY totalprice DESC, orderkey LIMIT 5")).isNotFullyPushedDown(TopNNode.class);
+        assertQueryOrdered("SELECT orderkey FROM orders ORDER BY totalprice DESC, orderkey LIMIT 5");
+        assertQueryOrdered("SELECT orderstatus, count(*) FROM orders GROUP BY orderstatus ORDER BY count(*) DESC LIMIT 2");
+
+        assertUpdate("CREATE TABLE test.topn_pushdown(value bigint)");
+
+        MongoCollection<Document> collection = client.getDatabase("test").getCollection("topn_pushdown");
+        collection.insertOne(new Document(Document.parse("{\"value\": null}")));
+        collection.insertOne(new Document(ImmutableMap.of("value", 3L)));
+        collection.insertOne(new Document(ImmutableMap.of("value", 1L)));
+        collection.insertOne(new Document());
+
+        // MongoDB orders nulls first, so other null orderings must not drop values
+        assertQueryOrdered("SELECT value FROM test.topn_pushdown ORDER BY value LIMIT 2", "VALUES 1, 3");
+        assertQueryOrdered("SELECT value FROM test.topn_pushdown ORDER BY value DESC LIMIT 2", "VALUES 3, 1");
+        assertQueryOrdered("SELECT value FROM test.topn_pushdown ORDER BY value NULLS FIRST LIMIT 3", "VALUES NULL, NULL, 1");
+        assertQueryOrdered("SELECT value FROM test.topn_pushdown ORDER BY value DESC NULLS FIRST LIMIT 3", "VALUES NULL, NULL, 3");
+
+        assertUpdate("DROP TABLE test.topn_pushdown");
+    }
+
     private void assertOneNotNullResult(String query)
     {
         MaterializedResult results = getQueryRunner().execute(getSession(), query).toTestTypes();
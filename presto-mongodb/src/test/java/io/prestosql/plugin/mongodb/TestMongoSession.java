@@ -15,13 +15,20 @@ package io.prestosql.plugin.mongodb;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.prestosql.spi.connector.ColumnHandle;
+import io.prestosql.spi.connector.SchemaTableName;
+import io.prestosql.spi.connector.SortOrder;
 import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.predicate.TupleDomain;
 import io.prestosql.spi.predicate.ValueSet;
 import org.bson.Document;
 import org.testng.annotations.Test;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.prestosql.spi.predicate.Range.equal;
 import static io.prestosql.spi.predicate.Range.greaterThan;
@@ -103,4 +110,108 @@ public class TestMongoSession
                 new Document(COL1.getName(), new Document("$eq", null))));
         assertEquals(query, expected);
     }
+
+    @Test
+    public void testBuildQueryOrOnSeveralColumns()
+    {
+        TupleDomain<ColumnHandle> tupleDomain = TupleDomain.withColumnDomains(ImmutableMap.of(
+                COL1, Domain.create(ValueSet.ofRanges(lessThan(BIGINT, 100L), greaterThan(BIGINT, 200L)), false),
+                COL2, Domain.create(ValueSet.ofRanges(lessThan(createUnboundedVarcharType(), utf8Slice("a")), greaterThan(createUnboundedVarcharType(), utf8Slice("b"))), false)));
+
+        Document query = MongoSession.buildQuery(tupleDomain);
+        assertEquals(query.keySet(), ImmutableSet.of("$or", "$and"));
+        List<?> conjuncts = (List<?>) query.get("$and");
+        assertEquals(conjuncts.size(), 1);
+        assertEquals(
+                ImmutableSet.of(new Document("$or", query.get("$or")), conjuncts.get(0)),
+                ImmutableSet.of(
+                        new Document("$or", asList(
+                                new Document(COL1.getName(), new Document("$lt", 100L)),
+                                new Document(COL1.getName(), new Document("$gt", 200L)))),
+                        new Document("$or", asList(
+                                new Document(COL2.getName(), new Document("$lt", "a")),
+                                new Document(COL2.getName(), new Document("$gt", "b"))))));
+    }
+
+    @Test
+    public void testBuildAggregationPipeline()
+    {
+        MongoColumnHandle count = new MongoColumnHandle("_presto_aggregate_0", BIGINT, false);
+        MongoColumnHandle sum = new MongoColumnHandle("_presto_aggregate_1", BIGINT, false);
+        MongoTableHandle tableHandle = new MongoTableHandle(
+                new SchemaTableName("schema", "table"),
+                TupleDomain.all(),
+                Optional.of(new MongoAggregation(
+                        ImmutableList.of(COL2),
+                        ImmutableList.of(
+                                new MongoAggregate(MongoAggregate.Function.COUNT, Optional.empty(), count),
+                                new MongoAggregate(MongoAggregate.Function.SUM, Optional.of(COL1), sum)))),
+                ImmutableList.of(new MongoSortItem(count.getName(), SortOrder.DESC_NULLS_LAST)),
+                OptionalLong.of(10));
+
+        Document query = new Document(COL1.getName(), new Document("$gt", 100L));
+        List<Document> pipeline = MongoSession.buildPipeline(query, tableHandle, ImmutableList.of(COL2, count, sum));
+        assertEquals(pipeline, ImmutableList.of(
+                new Document("$match", query),
+                new Document("$group", new Document()
+                        .append("_id", new Document(COL2.getName(), new Document("$ifNull", asList("$col2", null))))
+                        .append(count.getName(), new Document("$sum", 1))
+                        .append(sum.getName(), new Document("$sum", "$col1"))
+                        .append(sum.getName() + "_count", new Document("$sum", new Document("$cond", asList(
+                                new Document("$in", asList(new Document("$type", "$col1"), ImmutableList.of("int", "long", "double", "decimal"))),
+                                1,
+                                0))))),
+                new Document("$project", new Document()
+                        .append("_id", 0)
+                        .append(COL2.getName(), "$_id.col2")
+                        .append(count.getName(), 1)
+                        .append(sum.getName(), new Document("$cond", asList(
+                                new Document("$eq", asList("$" + sum.getName() + "_count", 0)),
+                                null,
+                                "$" + sum.getName())))),
+                new Document("$sort", new Document(count.getName(), -1)),
+                new Document("$limit", 10L)));
+    }
+
+    @Test
+    public void testBuildTopNPipeline()
+    {
+        MongoTableHandle tableHandle = new MongoTableHandle(
+                new SchemaTableName("schema", "table"),
+                TupleDomain.all(),
+                Optional.empty(),
+                ImmutableList.of(
+                        new MongoSortItem(COL1.getName(), SortOrder.ASC_NULLS_LAST),
+                        new MongoSortItem(COL2.getName(), SortOrder.DESC_NULLS_LAST)),
+                OptionalLong.of(5));
+
+        List<Document> pipeline = MongoSession.buildPipeline(new Document(), tableHandle, ImmutableList.of(COL3));
+        assertEquals(pipeline, ImmutableList.of(
+                new Document("$project", new Document()
+                        .append(COL3.getName(), 1)
+                        .append(COL1.getName(), 1)
+                        .append(COL2.getName(), 1)),
+                new Document("$addFields", new Document("_presto_null_0", new Document("$cond", asList(
+                        new Document("$eq", asList(new Document("$ifNull", asList("$col1", null)), null)),
+                        1,
+                        0)))),
+                new Document("$sort", new Document()
+                        .append("_presto_null_0", 1)
+                        .append(COL1.getName(), 1)
+                        .append(COL2.getName(), -1)),
+                new Document("$limit", 5L)));
+    }
+
+    @Test
+    public void testBuildChunkFilters()
+    {
+        assertEquals(MongoSession.buildChunkFilters("key", ImmutableList.of(10, 20L)), ImmutableList.of(
+                new Document("key", new Document("$not", new Document("$gte", 10))),
+                new Document("key", new Document("$gte", 10).append("$lt", 20L)),
+                new Document("key", new Document("$gte", 20L))));
+
+        // boundaries of different types cannot be expressed as ranges
+        assertEquals(MongoSession.buildChunkFilters("key", ImmutableList.of(10, "abc")), ImmutableList.of());
+        assertEquals(MongoSession.buildChunkFilters("key", ImmutableList.of()), ImmutableList.of());
+    }
 }
@@ -15,8 +15,12 @@ package io.prestosql.plugin.mongodb;
 
 import com.google.common.collect.ImmutableList;
 import io.airlift.json.JsonCodec;
+import io.prestosql.spi.HostAddress;
+import org.bson.Document;
 import org.testng.annotations.Test;
 
+import java.util.Optional;
+
 import static org.testng.Assert.assertEquals;
 
 public class TestMongoSplit
@@ -26,11 +30,26 @@ public class TestMongoSplit
     @Test
     public void testJsonRoundTrip()
     {
-        MongoSplit expected = new MongoSplit(ImmutableList.of());
+        MongoSplit expected = new MongoSplit(ImmutableList.of(), Optional.empty());
 
         String json = codec.toJson(expected);
         MongoSplit actual = codec.fromJson(json);
 
         assertEquals(actual.getAddresses(), ImmutableList.of());
+        assertEquals(actual.getChunkFilter(), Optional.empty());
+    }
+
+    @Test
+    public void testJsonRoundTripWithChunkFilter()
+    {
+        String chunkFilter = new Document("key", new Document("$gte", 10L)).toJson();
+        MongoSplit expected = new MongoSplit(ImmutableList.of(HostAddress.fromParts("localhost", 27017)), Optional.of(chunkFilter));
+
+        String json = codec.toJson(expected);
+        MongoSplit actual = codec.fromJson(json);
+
+        assertEquals(actual.getAddresses(), expected.getAddresses());
+        assertEquals(actual.getChunkFilter(), Optional.of(chunkFilter));
+        assertEquals(Document.parse(actual.getChunkFilter().get()), new Document("key", new Document("$gte", 10L)));
     }
 }
@@ -13,10 +13,16 @@
  */
 package io.prestosql.plugin.mongodb;
 
+import com.google.common.collect.ImmutableList;
 import io.airlift.json.JsonCodec;
 import io.prestosql.spi.connector.SchemaTableName;
+import io.prestosql.spi.connector.SortOrder;
+import io.prestosql.spi.predicate.TupleDomain;
 import org.testng.annotations.Test;
 
+import java.util.Optional;
+import java.util.OptionalLong;
+
 import static org.testng.Assert.assertEquals;
 
 public class TestMongoTableHandle
@@ -33,4 +39,20 @@ public class TestMongoTableHandle
 
         assertEquals(actual.getSchemaTableName(), expected.getSchemaTableName());
     }
+
+    @Test
+    public void testRoundTripWithSortAndLimit()
+    {
+        MongoTableHandle expected = new MongoTableHandle(
+                new SchemaTableName("schema", "table"),
+                TupleDomain.all(),
+                Optional.empty(),
+                ImmutableList.of(new MongoSortItem("col", SortOrder.DESC_NULLS_FIRST)),
+                OptionalLong.of(10));
+
+        String json = codec.toJson(expected);
+        MongoTableHandle actual = codec.fromJson(json);
+
+        assertEquals(actual, expected);
+    }
 }
@@ -56,6 +56,7 @@ public class MySqlClientModule
         connectionProperties.setProperty("useUnicode", "true");
         connectionProperties.setProperty("characterEncoding", "utf8");
         connectionProperties.setProperty("tinyInt1isBit", "false");
+        connectionProperties.setProperty("rewriteBatchedStatements", Boolean.toString(mySqlConfig.isDriverRewriteBatchedStatements()));
         if (mySqlConfig.isAutoReconnect()) {
             connectionProperties.setProperty("autoReconnect", String.valueOf(mySqlConfig.isAutoReconnect()));
             connectionProperties.setProperty("maxReconnects", String.valueOf(mySqlConfig.getMaxReconnects()));
@@ -31,6 +31,8 @@ public class MySqlConfig
     // implementation, which throw SQL exception when a table disappears during listing.
     // Using `useInformationSchema=false` may provide more diagnostic information (see https://github.com/prestosql/presto/issues/1597)
     private boolean driverUseInformationSchema = true;
+    // Lets the driver send each batch of inserted rows as multi-row INSERT statements
+    private boolean driverRewriteBatchedStatements = true;
 
     public boolean isAutoReconnect()
     {
@@ -81,4 +83,17 @@ public class MySqlConfig
         this.driverUseInformationSchema = driverUseInformationSchema;
         return this;
     }
+
+    public boolean isDriverRewriteBatchedStatements()
+    {
+        return driverRewriteBatchedStatements;
+    }
+
+    @Config("mysql.jdbc.rewrite-batched-statements")
+    @ConfigDescription("Value of rewriteBatchedStatements MySQL JDBC driver connection property")
+    public MySqlConfig setDriverRewriteBatchedStatements(boolean driverRewriteBatchedStatements)
+    {
+        this.driverRewriteBatchedStatements = driverRewriteBatchedStatements;
+        return this;
+    }
 }
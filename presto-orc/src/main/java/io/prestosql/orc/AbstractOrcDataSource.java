@@ -22,9 +22,10 @@ import io.prestosql.orc.stream.OrcDataReader;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
@@ -54,6 +55,32 @@ public abstract class AbstractOrcDataSource
     protected abstract void readInternal(long position, byte[] buffer, int bufferOffset, int bufferLength)
             throws IOException;
 
+    /**
+     * Reads the given non-overlapping disk ranges. Data sources backed by storage
+     * that can serve several ranges at once should override this method.
+     */
+    protected Map<DiskRange, Slice> readInternal(List<DiskRange> diskRanges)
+            throws IOException
+    {
+        ImmutableMap.Builder<DiskRange, Slice> buffers = ImmutableMap.builder();
+        for (DiskRange diskRange : diskRanges) {
+            byte[] buffer = new byte[diskRange.getLength()];
+            readInternal(diskRange.getOffset(), buffer, 0, buffer.length);
+            buffers.put(diskRange, Slices.wrappedBuffer(buffer));
+        }
+        return buffers.build();
+    }
+
+    /**
+     * Returns true if {@link #readInternal(List)} fetches several ranges faster
+     * than reading them one at a time, in which case lazily read ranges are
+     * loaded together on first access.
+     */
+    protected boolean isBatchedReadSupported()
+    {
+        return false;
+    }
+
     @Override
     public OrcDataSourceId getId()
     {
@@ -155,12 +182,16 @@ public abstract class AbstractOrcDataSource
             return ImmutableMap.of();
         }
 
-        Iterable<DiskRange> mergedRanges = mergeAdjacentDiskRanges(diskRanges.values(), options.getMaxMergeDistance(), options.getMaxBufferSize());
+        List<DiskRange> mergedRanges = mergeAdjacentDiskRanges(diskRanges.values(), options.getMaxMergeDistance(), options.getMaxBufferSize());
 
         ImmutableMap.Builder<K, OrcDataReader> slices = ImmutableMap.builder();
         if (options.isLazyReadSmallRanges()) {
+            Optional<LazyBatchLoader> batchLoader = Optional.empty();
+            if (mergedRanges.size() > 1 && isBatchedReadSupported()) {
+                batchLoader = Optional.of(new LazyBatchLoader(mergedRanges));
+            }
             for (DiskRange mergedRange : mergedRanges) {
-                LazyBufferLoader mergedRangeLazyLoader = new LazyBufferLoader(mergedRange);
+                LazyBufferLoader mergedRangeLazyLoader = new LazyBufferLoader(mergedRange, batchLoader);
                 for (Entry<K, DiskRange> diskRangeEntry : diskRanges.entrySet()) {
                     DiskRange diskRange = diskRangeEntry.getValue();
                     if (mergedRange.contains(diskRange)) {
@@ -170,13 +201,8 @@ public abstract class AbstractOrcDataSource
             }
         }
         else {
-            Map<DiskRange, Slice> buffers = new LinkedHashMap<>();
-            for (DiskRange mergedRange : mergedRanges) {
-                // read full range in one request
-                Slice buffer = readFully(mergedRange.getOffset(), mergedRange.getLength());
-                buffers.put(mergedRange, buffer);
-            }
-
+            // read all merged ranges at once, so the data source can fetch them concurrently
+            Map<DiskRange, Slice> buffers = readFully(mergedRanges);
             for (Entry<K, DiskRange> entry : diskRanges.entrySet()) {
                 slices.put(entry.getKey(), new MemoryOrcDataReader(id, getDiskRangeSlice(entry.getValue(), buffers), entry.getValue().getLength()));
             }
@@ -187,6 +213,20 @@ public abstract class AbstractOrcDataSource
         return sliceStreams;
     }
 
+    private Map<DiskRange, Slice> readFully(List<DiskRange> diskRanges)
+            throws IOException
+    {
+        long start = System.nanoTime();
+
+        Map<DiskRange, Slice> buffers = readInternal(diskRanges);
+
+        readTimeNanos += System.nanoTime() - start;
+        for (DiskRange diskRange : diskRanges) {
+            readBytes += diskRange.getLength();
+        }
+        return buffers;
+    }
+
     private <K> Map<K, OrcDataReader> readLargeDiskRanges(Map<K, DiskRange> diskRanges)
     {
         if (diskRanges.isEmpty()) {
@@ -207,14 +247,40 @@ public abstract class AbstractOrcDataSource
         return id.toString();
     }
 
+    private final class LazyBatchLoader
+    {
+        private final List<DiskRange> diskRanges;
+        private Map<DiskRange, Slice> buffers;
+
+        public LazyBatchLoader(List<DiskRange> diskRanges)
+        {
+            this.diskRanges = requireNonNull(diskRanges, "diskRanges is null");
+        }
+
+        public Slice load(DiskRange diskRange)
+        {
+            if (buffers == null) {
+                try {
+                    buffers = readFully(diskRanges);
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return buffers.get(diskRange);
+        }
+    }
+
     private final class LazyBufferLoader
     {
         private final DiskRange diskRange;
+        private final Optional<LazyBatchLoader> batchLoader;
         private Slice bufferSlice;
 
-        public LazyBufferLoader(DiskRange diskRange)
+        public LazyBufferLoader(DiskRange diskRange, Optional<LazyBatchLoader> batchLoader)
         {
             this.diskRange = requireNonNull(diskRange, "diskRange is null");
+            this.batchLoader = requireNonNull(batchLoader, "batchLoader is null");
         }
 
         public Slice loadNestedDiskRangeBuffer(DiskRange nestedDiskRange)
@@ -231,6 +297,10 @@ public abstract class AbstractOrcDataSource
             if (bufferSlice != null) {
                 return;
             }
+            if (batchLoader.isPresent()) {
+                bufferSlice = batchLoader.get().load(diskRange);
+                return;
+            }
             try {
                 bufferSlice = readFully(diskRange.getOffset(), diskRange.getLength());
             }
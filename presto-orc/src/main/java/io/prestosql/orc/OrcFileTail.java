@@ -0,0 +1,179 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.orc;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+import io.prestosql.orc.metadata.CompressionKind;
+import io.prestosql.orc.metadata.Footer;
+import io.prestosql.orc.metadata.Metadata;
+import io.prestosql.orc.metadata.OrcColumnId;
+import io.prestosql.orc.metadata.OrcType;
+import io.prestosql.orc.metadata.PostScript.HiveWriterVersion;
+import io.prestosql.orc.metadata.StripeInformation;
+import io.prestosql.orc.metadata.statistics.ColumnStatistics;
+import io.prestosql.orc.metadata.statistics.StripeStatistics;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.sizeOfByteArray;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decoded postscript, footer and metadata of an ORC file.
+ */
+public final class OrcFileTail
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(OrcFileTail.class).instanceSize();
+    private static final int FOOTER_INSTANCE_SIZE = ClassLayout.parseClass(Footer.class).instanceSize();
+    private static final int METADATA_INSTANCE_SIZE = ClassLayout.parseClass(Metadata.class).instanceSize();
+    private static final int STRIPE_INFORMATION_INSTANCE_SIZE = ClassLayout.parseClass(StripeInformation.class).instanceSize();
+    private static final int ORC_TYPE_INSTANCE_SIZE = ClassLayout.parseClass(OrcType.class).instanceSize();
+    private static final int ORC_COLUMN_ID_INSTANCE_SIZE = ClassLayout.parseClass(OrcColumnId.class).instanceSize();
+    private static final int STRING_INSTANCE_SIZE = ClassLayout.parseClass(String.class).instanceSize();
+
+    private final List<Integer> version;
+    private final HiveWriterVersion hiveWriterVersion;
+    private final int bufferSize;
+    private final CompressionKind compressionKind;
+    private final Footer footer;
+    private final Metadata metadata;
+    private final int serializedSize;
+    private final long retainedSizeInBytes;
+
+    public OrcFileTail(
+            List<Integer> version,
+            HiveWriterVersion hiveWriterVersion,
+            int bufferSize,
+            CompressionKind compressionKind,
+            Footer footer,
+            Metadata metadata,
+            int serializedSize)
+    {
+        this.version = ImmutableList.copyOf(requireNonNull(version, "version is null"));
+        this.hiveWriterVersion = requireNonNull(hiveWriterVersion, "hiveWriterVersion is null");
+        this.bufferSize = bufferSize;
+        this.compressionKind = requireNonNull(compressionKind, "compressionKind is null");
+        this.footer = requireNonNull(footer, "footer is null");
+        this.metadata = requireNonNull(metadata, "metadata is null");
+        checkArgument(serializedSize >= 0, "serializedSize is negative");
+        this.serializedSize = serializedSize;
+        this.retainedSizeInBytes = INSTANCE_SIZE + getRetainedSize(footer) + getRetainedSize(metadata);
+    }
+
+    public List<Integer> getVersion()
+    {
+        return version;
+    }
+
+    public HiveWriterVersion getHiveWriterVersion()
+    {
+        return hiveWriterVersion;
+    }
+
+    public int getBufferSize()
+    {
+        return bufferSize;
+    }
+
+    public CompressionKind getCompressionKind()
+    {
+        return compressionKind;
+    }
+
+    public Footer getFooter()
+    {
+        return footer;
+    }
+
+    public Metadata getMetadata()
+    {
+        return metadata;
+    }
+
+    /**
+     * Size of the postscript, footer and metadata as stored in the file.
+     */
+    public int getSerializedSize()
+    {
+        return serializedSize;
+    }
+
+    /**
+     * Estimated size of the decoded postscript, footer and metadata on the heap.
+     */
+    public long getRetainedSizeInBytes()
+    {
+        return retainedSizeInBytes;
+    }
+
+    private static long getRetainedSize(Footer footer)
+    {
+        long size = FOOTER_INSTANCE_SIZE + (long) footer.getStripes().size() * STRIPE_INFORMATION_INSTANCE_SIZE;
+        size += footer.getTypes().stream()
+                .mapToLong(OrcFileTail::getRetainedSize)
+                .sum();
+        if (footer.getFileStats().isPresent()) {
+            size += footer.getFileStats().get().stream()
+                    .mapToLong(ColumnStatistics::getRetainedSizeInBytes)
+                    .sum();
+        }
+        for (Entry<String, Slice> entry : footer.getUserMetadata().entrySet()) {
+            size += getRetainedSize(entry.getKey()) + entry.getValue().getRetainedSize();
+        }
+        return size;
+    }
+
+    private static long getRetainedSize(OrcType type)
+    {
+        long size = ORC_TYPE_INSTANCE_SIZE + (long) type.getFieldCount() * ORC_COLUMN_ID_INSTANCE_SIZE;
+        for (String fieldName : type.getFieldNames()) {
+            size += getRetainedSize(fieldName);
+        }
+        for (Entry<String, String> attribute : type.getAttributes().entrySet()) {
+            size += getRetainedSize(attribute.getKey()) + getRetainedSize(attribute.getValue());
+        }
+        return size;
+    }
+
+    private static long getRetainedSize(Metadata metadata)
+    {
+        return METADATA_INSTANCE_SIZE + metadata.getStripeStatsList().stream()
+                .flatMap(Optional::stream)
+                .mapToLong(StripeStatistics::getRetainedSizeInBytes)
+                .sum();
+    }
+
+    private static long getRetainedSize(String value)
+    {
+        return STRING_INSTANCE_SIZE + sizeOfByteArray(value.length());
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("version", version)
+                .add("hiveWriterVersion", hiveWriterVersion)
+                .add("bufferSize", bufferSize)
+                .add("compressionKind", compressionKind)
+                .add("serializedSize", serializedSize)
+                .toString();
+    }
+}
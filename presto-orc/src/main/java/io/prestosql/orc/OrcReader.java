@@ -94,6 +94,12 @@ public class OrcReader
         return createOrcReader(orcDataSource, options, Optional.empty());
     }
 
+    public static OrcReader createOrcReader(OrcDataSource orcDataSource, OrcReaderOptions options, OrcFileTail fileTail)
+            throws IOException
+    {
+        return new OrcReader(wrapWithCacheIfTiny(orcDataSource, options.getTinyStripeThreshold()), options, Optional.empty(), fileTail);
+    }
+
     private static Optional<OrcReader> createOrcReader(
             OrcDataSource orcDataSource,
             OrcReaderOptions options,
@@ -102,6 +108,21 @@ public class OrcReader
     {
         orcDataSource = wrapWithCacheIfTiny(orcDataSource, options.getTinyStripeThreshold());
 
+        Optional<OrcFileTail> fileTail = readFileTail(orcDataSource);
+        if (fileTail.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new OrcReader(orcDataSource, options, writeValidation, fileTail.get()));
+    }
+
+    /**
+     * Reads and decodes the postscript, footer and metadata of the file. The result does not
+     * reference the data source, so it can be reused to open further readers over the same file.
+     */
+    public static Optional<OrcFileTail> readFileTail(OrcDataSource orcDataSource)
+            throws IOException
+    {
         // read the tail of the file, and check if the file is actually empty
         long estimatedFileSize = orcDataSource.getEstimatedSize();
         if (estimatedFileSize > 0 && estimatedFileSize <= MAGIC.length()) {
@@ -114,21 +135,7 @@ public class OrcReader
             return Optional.empty();
         }
 
-        return Optional.of(new OrcReader(orcDataSource, options, writeValidation, fileTail));
-    }
-
-    private OrcReader(
-            OrcDataSource orcDataSource,
-            OrcReaderOptions options,
-            Optional<OrcWriteValidation> writeValidation,
-            Slice fileTail)
-            throws IOException
-    {
-        this.options = requireNonNull(options, "options is null");
-        this.orcDataSource = orcDataSource;
-        this.metadataReader = new ExceptionWrappingMetadataReader(orcDataSource.getId(), new OrcMetadataReader());
-
-        this.writeValidation = requireNonNull(writeValidation, "writeValidation is null");
+        ExceptionWrappingMetadataReader metadataReader = new ExceptionWrappingMetadataReader(orcDataSource.getId(), new OrcMetadataReader());
 
         //
         // Read the file tail:
@@ -166,16 +173,14 @@ public class OrcReader
 
         // verify this is a supported version
         checkOrcVersion(orcDataSource, postScript.getVersion());
-        validateWrite(validation -> validation.getVersion().equals(postScript.getVersion()), "Unexpected version");
 
-        this.bufferSize = toIntExact(postScript.getCompressionBlockSize());
+        int bufferSize = toIntExact(postScript.getCompressionBlockSize());
 
         // check compression codec is supported
-        this.compressionKind = postScript.getCompression();
-        this.decompressor = createOrcDecompressor(orcDataSource.getId(), compressionKind, bufferSize);
-        validateWrite(validation -> validation.getCompression() == compressionKind, "Unexpected compression");
+        CompressionKind compressionKind = postScript.getCompression();
+        Optional<OrcDecompressor> decompressor = createOrcDecompressor(orcDataSource.getId(), compressionKind, bufferSize);
 
-        this.hiveWriterVersion = postScript.getHiveWriterVersion();
+        HiveWriterVersion hiveWriterVersion = postScript.getHiveWriterVersion();
 
         int footerSize = toIntExact(postScript.getFooterLength());
         int metadataSize = toIntExact(postScript.getMetadataLength());
@@ -193,20 +198,57 @@ public class OrcReader
         }
 
         // read metadata
+        Metadata metadata;
         Slice metadataSlice = completeFooterSlice.slice(0, metadataSize);
         try (InputStream metadataInputStream = new OrcInputStream(OrcChunkLoader.create(orcDataSource.getId(), metadataSlice, decompressor, newSimpleAggregatedMemoryContext()))) {
-            this.metadata = metadataReader.readMetadata(hiveWriterVersion, metadataInputStream);
+            metadata = metadataReader.readMetadata(hiveWriterVersion, metadataInputStream);
         }
 
         // read footer
+        Footer footer;
         Slice footerSlice = completeFooterSlice.slice(metadataSize, footerSize);
         try (InputStream footerInputStream = new OrcInputStream(OrcChunkLoader.create(orcDataSource.getId(), footerSlice, decompressor, newSimpleAggregatedMemoryContext()))) {
-            this.footer = metadataReader.readFooter(hiveWriterVersion, footerInputStream);
+            footer = metadataReader.readFooter(hiveWriterVersion, footerInputStream);
         }
         if (footer.getTypes().size() == 0) {
             throw new OrcCorruptionException(orcDataSource.getId(), "File has no columns");
         }
 
+        return Optional.of(new OrcFileTail(
+                postScript.getVersion(),
+                hiveWriterVersion,
+                bufferSize,
+                compressionKind,
+                footer,
+                metadata,
+                completeFooterSize));
+    }
+
+    private OrcReader(
+            OrcDataSource orcDataSource,
+            OrcReaderOptions options,
+            Optional<OrcWriteValidation> writeValidation,
+            OrcFileTail fileTail)
+            throws IOException
+    {
+        this.options = requireNonNull(options, "options is null");
+        this.orcDataSource = orcDataSource;
+        this.metadataReader = new ExceptionWrappingMetadataReader(orcDataSource.getId(), new OrcMetadataReader());
+
+        this.writeValidation = requireNonNull(writeValidation, "writeValidation is null");
+
+        requireNonNull(fileTail, "fileTail is null");
+        validateWrite(validation -> validation.getVersion().equals(fileTail.getVersion()), "Unexpected version");
+
+        this.bufferSize = fileTail.getBufferSize();
+        this.compressionKind = fileTail.getCompressionKind();
+        this.decompressor = createOrcDecompressor(orcDataSource.getId(), compressionKind, bufferSize);
+        validateWrite(validation -> validation.getCompression() == compressionKind, "Unexpected compression");
+
+        this.hiveWriterVersion = fileTail.getHiveWriterVersion();
+        this.metadata = fileTail.getMetadata();
+        this.footer = fileTail.getFooter();
+
         this.rootColumn = createOrcColumn("", "", new OrcColumnId(0), footer.getTypes(), orcDataSource.getId());
 
         validateWrite(validation -> validation.getColumnNames().equals(getColumnNames()), "Unexpected column names");
@@ -334,7 +376,12 @@ public class OrcReader
                 exceptionTransform);
     }
 
-    private static OrcDataSource wrapWithCacheIfTiny(OrcDataSource dataSource, DataSize maxCacheSize)
+    /**
+     * Reads files no larger than the given size into memory with a single read, and returns
+     * the given data source otherwise. Callers that read the file tail themselves should
+     * wrap the data source first, so a tiny file is not read twice.
+     */
+    public static OrcDataSource wrapWithCacheIfTiny(OrcDataSource dataSource, DataSize maxCacheSize)
             throws IOException
     {
         if (dataSource instanceof MemoryOrcDataSource || dataSource instanceof CachingOrcDataSource) {
@@ -471,6 +518,11 @@ public class OrcReader
             return fullyProjectedLayout();
         }
 
+        public ProjectedLayout getFieldLayout(OrcColumn nestedColumn)
+        {
+            return getFieldLayout(nestedColumn.getColumnName().toLowerCase(ENGLISH));
+        }
+
         public static ProjectedLayout fullyProjectedLayout()
         {
             return new ProjectedLayout(Optional.empty());
@@ -482,6 +534,28 @@ public class OrcReader
                 return fullyProjectedLayout();
             }
 
+            switch (root.getColumnType()) {
+                case STRUCT:
+                    return createStructProjectedLayout(root, dereferences);
+                case LIST:
+                    // a dereference of an array of structs applies to every element
+                    OrcColumn elementColumn = root.getNestedColumns().get(0);
+                    return new ProjectedLayout(Optional.of(ImmutableMap.of(
+                            elementColumn.getColumnName(), createProjectedLayout(elementColumn, dereferences))));
+                case MAP:
+                    // a dereference of a map with struct values applies to every value, while keys are always read
+                    OrcColumn keyColumn = root.getNestedColumns().get(0);
+                    OrcColumn valueColumn = root.getNestedColumns().get(1);
+                    return new ProjectedLayout(Optional.of(ImmutableMap.of(
+                            keyColumn.getColumnName(), fullyProjectedLayout(),
+                            valueColumn.getColumnName(), createProjectedLayout(valueColumn, dereferences))));
+                default:
+                    return fullyProjectedLayout();
+            }
+        }
+
+        private static ProjectedLayout createStructProjectedLayout(OrcColumn root, List<List<String>> dereferences)
+        {
             Map<String, List<List<String>>> dereferencesByField = dereferences.stream().collect(
                     Collectors.groupingBy(
                             sequence -> sequence.get(0),
@@ -16,7 +16,6 @@ package io.prestosql.orc;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.io.Closer;
 import io.airlift.slice.Slice;
@@ -232,7 +231,8 @@ public class OrcRecordReader
                 legacyFileTimeZone.toTimeZone().toZoneId(),
                 decompressor,
                 orcTypes,
-                ImmutableSet.copyOf(readColumns),
+                readColumns,
+                readLayouts,
                 rowsInRowGroup,
                 predicate,
                 hiveWriterVersion,
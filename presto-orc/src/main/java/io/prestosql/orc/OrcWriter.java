@@ -16,6 +16,8 @@ package io.prestosql.orc;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
 import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
 import io.prestosql.orc.OrcWriteValidation.OrcWriteValidationBuilder;
@@ -50,6 +52,7 @@ import javax.annotation.Nullable;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -59,12 +62,16 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.airlift.slice.Slices.utf8Slice;
@@ -111,8 +118,22 @@ public final class OrcWriter
     private final List<ClosedStripe> closedStripes = new ArrayList<>();
     private final ColumnMetadata<OrcType> orcTypes;
 
-    private final List<ColumnWriter> columnWriters;
-    private final DictionaryCompressionOptimizer dictionaryCompressionOptimizer;
+    private final Supplier<StripeWriters> stripeWritersFactory;
+    private StripeWriters stripeWriters;
+
+    // when a stripe flush executor is provided, completed stripes are encoded and compressed in
+    // the background while the next stripe is buffered by a second set of column writers
+    private final Optional<Executor> stripeFlushExecutor;
+    @Nullable
+    private StripeWriters spareStripeWriters;
+    @Nullable
+    private StripeWriters pendingStripeWriters;
+    @Nullable
+    private ListenableFuture<EncodedStripe> pendingStripe;
+    private FlushReason pendingFlushReason;
+    private int pendingStripeBufferedBytes;
+    private long backgroundStripeWritersRetainedBytes;
+
     private int stripeRowCount;
     private int rowGroupRowCount;
     private int bufferedBytes;
@@ -139,7 +160,8 @@ public final class OrcWriter
             Map<String, String> userMetadata,
             boolean validate,
             OrcWriteValidationMode validationMode,
-            OrcWriterStats stats)
+            OrcWriterStats stats,
+            Optional<Executor> stripeFlushExecutor)
     {
         this.validationBuilder = validate ? new OrcWriteValidationBuilder(validationMode, types)
                 .setStringStatisticsLimitInBytes(toIntExact(options.getMaxStringStatisticsLimit().toBytes())) : null;
@@ -164,6 +186,7 @@ public final class OrcWriter
         this.userMetadata.put(PRESTO_ORC_WRITER_VERSION_METADATA_KEY, PRESTO_ORC_WRITER_VERSION);
         this.metadataWriter = new CompressedMetadataWriter(new OrcMetadataWriter(writeLegacyVersion), compression, maxCompressionBufferSize);
         this.stats = requireNonNull(stats, "stats is null");
+        this.stripeFlushExecutor = requireNonNull(stripeFlushExecutor, "stripeFlushExecutor is null");
 
         requireNonNull(columnNames, "columnNames is null");
         this.orcTypes = requireNonNull(orcTypes, "orcTypes is null");
@@ -172,39 +195,15 @@ public final class OrcWriter
         // create column writers
         OrcType rootType = orcTypes.get(ROOT_COLUMN);
         checkArgument(rootType.getFieldCount() == types.size());
-        ImmutableList.Builder<ColumnWriter> columnWriters = ImmutableList.builder();
-        ImmutableSet.Builder<SliceDictionaryColumnWriter> sliceColumnWriters = ImmutableSet.builder();
-        for (int fieldId = 0; fieldId < types.size(); fieldId++) {
-            OrcColumnId fieldColumnIndex = rootType.getFieldTypeIndex(fieldId);
-            Type fieldType = types.get(fieldId);
-            ColumnWriter columnWriter = createColumnWriter(
-                    fieldColumnIndex,
-                    orcTypes,
-                    fieldType,
-                    compression,
-                    maxCompressionBufferSize,
-                    options.getMaxStringStatisticsLimit(),
-                    getBloomFilterBuilder(options, columnNames.get(fieldId)));
-            columnWriters.add(columnWriter);
-
-            if (columnWriter instanceof SliceDictionaryColumnWriter) {
-                sliceColumnWriters.add((SliceDictionaryColumnWriter) columnWriter);
-            }
-            else {
-                for (ColumnWriter nestedColumnWriter : columnWriter.getNestedColumnWriters()) {
-                    if (nestedColumnWriter instanceof SliceDictionaryColumnWriter) {
-                        sliceColumnWriters.add((SliceDictionaryColumnWriter) nestedColumnWriter);
-                    }
-                }
-            }
-        }
-        this.columnWriters = columnWriters.build();
-        this.dictionaryCompressionOptimizer = new DictionaryCompressionOptimizer(
-                sliceColumnWriters.build(),
+        int dictionaryMaxMemoryBytes = toIntExact(requireNonNull(options.getDictionaryMaxMemory(), "dictionaryMaxMemory is null").toBytes());
+        this.stripeWritersFactory = () -> createStripeWriters(
+                rootType,
+                columnNames,
+                options,
+                writeLegacyVersion,
                 stripeMinBytes,
-                stripeMaxBytes,
-                stripeMaxRowCount,
-                toIntExact(requireNonNull(options.getDictionaryMaxMemory(), "dictionaryMaxMemory is null").toBytes()));
+                dictionaryMaxMemoryBytes);
+        this.stripeWriters = stripeWritersFactory.get();
 
         for (Entry<String, String> entry : this.userMetadata.entrySet()) {
             recordValidation(validation -> validation.addMetadataProperty(entry.getKey(), utf8Slice(entry.getValue())));
@@ -223,11 +222,11 @@ public final class OrcWriter
     }
 
     /**
-     * Number of pending bytes not yet flushed.
+     * Number of pending bytes not yet flushed, including the stripe being encoded in the background.
      */
     public int getBufferedBytes()
     {
-        return bufferedBytes;
+        return bufferedBytes + pendingStripeBufferedBytes;
     }
 
     public int getStripeRowCount()
@@ -239,6 +238,7 @@ public final class OrcWriter
     {
         return INSTANCE_SIZE +
                 columnWritersRetainedBytes +
+                backgroundStripeWritersRetainedBytes +
                 closedStripesRetainedBytes +
                 orcDataSink.getRetainedSizeInBytes() +
                 (validationBuilder == null ? 0 : validationBuilder.getRetainedSize()) +
@@ -253,12 +253,17 @@ public final class OrcWriter
             return;
         }
 
-        checkArgument(page.getChannelCount() == columnWriters.size());
+        checkArgument(page.getChannelCount() == types.size());
 
         if (validationBuilder != null) {
             validationBuilder.addPage(page);
         }
 
+        // write out the stripe encoded in the background as soon as it is ready, to release its memory
+        if (pendingStripe != null && pendingStripe.isDone()) {
+            finishPendingStripe();
+        }
+
         while (page != null) {
             // align page to row group boundaries
             int chunkRows = min(page.getPositionCount(), min(rowGroupMaxRowCount - rowGroupRowCount, stripeMaxRowCount - stripeRowCount));
@@ -289,6 +294,8 @@ public final class OrcWriter
     private void writeChunk(Page chunk)
             throws IOException
     {
+        List<ColumnWriter> columnWriters = stripeWriters.getColumnWriters();
+        DictionaryCompressionOptimizer dictionaryCompressionOptimizer = stripeWriters.getDictionaryCompressionOptimizer();
         if (rowGroupRowCount == 0) {
             columnWriters.forEach(ColumnWriter::beginRowGroup);
         }
@@ -326,19 +333,98 @@ public final class OrcWriter
             flushStripe(DICTIONARY_FULL);
         }
 
-        columnWritersRetainedBytes = columnWriters.stream().mapToLong(ColumnWriter::getRetainedBytes).sum();
+        columnWritersRetainedBytes = stripeWriters.getRetainedBytes();
     }
 
     private void finishRowGroup()
     {
         Map<OrcColumnId, ColumnStatistics> columnStatistics = new HashMap<>();
-        columnWriters.forEach(columnWriter -> columnStatistics.putAll(columnWriter.finishRowGroup()));
+        stripeWriters.getColumnWriters().forEach(columnWriter -> columnStatistics.putAll(columnWriter.finishRowGroup()));
         recordValidation(validation -> validation.addRowGroupStatistics(columnStatistics));
         rowGroupRowCount = 0;
     }
 
     private void flushStripe(FlushReason flushReason)
             throws IOException
+    {
+        // at most one stripe is encoded in the background, so the previous one must be written first
+        finishPendingStripe();
+
+        StripeWriters flushedStripeWriters = stripeWriters;
+        if (stripeRowCount == 0) {
+            verify(flushReason == CLOSED, "An empty stripe is not allowed");
+            // column writers must be closed or the reset call will fail
+            flushedStripeWriters.getColumnWriters().forEach(ColumnWriter::close);
+            writeStripe(Optional.empty(), flushReason);
+            flushedStripeWriters.reset();
+            return;
+        }
+
+        if (rowGroupRowCount > 0) {
+            finishRowGroup();
+        }
+
+        int flushedStripeRowCount = stripeRowCount;
+        int flushedBufferedBytes = bufferedBytes;
+        // stripe validation is recorded in stripe order together with the row group statistics, so it requires a synchronous flush
+        if (stripeFlushExecutor.isPresent() && validationBuilder == null && flushReason != CLOSED) {
+            ListenableFutureTask<EncodedStripe> task = ListenableFutureTask.create(() -> encodeStripe(flushedStripeWriters, flushedStripeRowCount, flushedBufferedBytes));
+            pendingStripe = task;
+            pendingStripeWriters = flushedStripeWriters;
+            pendingFlushReason = flushReason;
+            pendingStripeBufferedBytes = flushedBufferedBytes;
+            backgroundStripeWritersRetainedBytes = flushedStripeWriters.getRetainedBytes();
+
+            stripeWriters = spareStripeWriters == null ? stripeWritersFactory.get() : spareStripeWriters;
+            spareStripeWriters = null;
+            stripeFlushExecutor.get().execute(task);
+        }
+        else {
+            writeStripe(Optional.of(encodeStripe(flushedStripeWriters, flushedStripeRowCount, flushedBufferedBytes)), flushReason);
+            flushedStripeWriters.reset();
+        }
+
+        // open next stripe
+        rowGroupRowCount = 0;
+        stripeRowCount = 0;
+        bufferedBytes = toIntExact(stripeWriters.getBufferedBytes());
+        columnWritersRetainedBytes = stripeWriters.getRetainedBytes();
+    }
+
+    private void finishPendingStripe()
+            throws IOException
+    {
+        if (pendingStripe == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        EncodedStripe encodedStripe;
+        try {
+            encodedStripe = pendingStripe.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        catch (ExecutionException e) {
+            throwIfInstanceOf(e.getCause(), IOException.class);
+            throwIfUnchecked(e.getCause());
+            throw new IOException(e.getCause());
+        }
+        stats.recordStripeFlushWait(System.nanoTime() - start);
+        pendingStripe = null;
+        pendingStripeBufferedBytes = 0;
+
+        writeStripe(Optional.of(encodedStripe), pendingFlushReason);
+        pendingStripeWriters.reset();
+        spareStripeWriters = pendingStripeWriters;
+        pendingStripeWriters = null;
+        backgroundStripeWritersRetainedBytes = spareStripeWriters.getRetainedBytes();
+    }
+
+    private void writeStripe(Optional<EncodedStripe> encodedStripe, FlushReason flushReason)
+            throws IOException
     {
         List<OrcDataOutput> outputData = new ArrayList<>();
         long stripeStartOffset = orcDataSink.size();
@@ -348,7 +434,10 @@ public final class OrcWriter
             stripeStartOffset += MAGIC.length();
         }
         // add stripe data
-        outputData.addAll(bufferStripeData(stripeStartOffset, flushReason));
+        if (encodedStripe.isPresent()) {
+            outputData.addAll(encodedStripe.get().getOutputData());
+            recordStripe(encodedStripe.get(), stripeStartOffset, flushReason);
+        }
         // if the file is being closed, add the file footer
         if (flushReason == CLOSED) {
             outputData.addAll(bufferFileFooter());
@@ -356,35 +445,38 @@ public final class OrcWriter
 
         // write all data
         orcDataSink.write(outputData);
+    }
 
-        // open next stripe
-        columnWriters.forEach(ColumnWriter::reset);
-        dictionaryCompressionOptimizer.reset();
-        rowGroupRowCount = 0;
-        stripeRowCount = 0;
-        bufferedBytes = toIntExact(columnWriters.stream().mapToLong(ColumnWriter::getBufferedBytes).sum());
+    private void recordStripe(EncodedStripe encodedStripe, long stripeStartOffset, FlushReason flushReason)
+    {
+        StripeStatistics statistics = encodedStripe.getStatistics();
+        recordValidation(validation -> validation.addStripeStatistics(stripeStartOffset, statistics));
+        StripeInformation stripeInformation = new StripeInformation(
+                encodedStripe.getRowCount(),
+                stripeStartOffset,
+                encodedStripe.getIndexLength(),
+                encodedStripe.getDataLength(),
+                encodedStripe.getFooterLength());
+        ClosedStripe closedStripe = new ClosedStripe(stripeInformation, statistics);
+        closedStripes.add(closedStripe);
+        closedStripesRetainedBytes += closedStripe.getRetainedSizeInBytes();
+        recordValidation(validation -> validation.addStripe(stripeInformation.getNumberOfRows()));
+        stats.recordStripeWritten(flushReason, stripeInformation.getTotalLength(), stripeInformation.getNumberOfRows(), encodedStripe.getDictionaryMemoryBytes());
     }
 
     /**
      * Collect the data for for the stripe.  This is not the actual data, but
-     * instead are functions that know how to write the data.
+     * instead are functions that know how to write the data.  This method only
+     * uses the given column writers, so it can run outside of the writer thread.
      */
-    private List<OrcDataOutput> bufferStripeData(long stripeStartOffset, FlushReason flushReason)
+    private EncodedStripe encodeStripe(StripeWriters stripeWriters, int stripeRowCount, int bufferedBytes)
             throws IOException
     {
-        if (stripeRowCount == 0) {
-            verify(flushReason == CLOSED, "An empty stripe is not allowed");
-            // column writers must be closed or the reset call will fail
-            columnWriters.forEach(ColumnWriter::close);
-            return ImmutableList.of();
-        }
-
-        if (rowGroupRowCount > 0) {
-            finishRowGroup();
-        }
+        List<ColumnWriter> columnWriters = stripeWriters.getColumnWriters();
+        CompressedMetadataWriter metadataWriter = stripeWriters.getMetadataWriter();
 
         // convert any dictionary encoded column with a low compression ratio to direct
-        dictionaryCompressionOptimizer.finalOptimize(bufferedBytes);
+        stripeWriters.getDictionaryCompressionOptimizer().finalOptimize(bufferedBytes);
 
         columnWriters.forEach(ColumnWriter::close);
 
@@ -443,15 +535,14 @@ public final class OrcWriter
 
         // create final stripe statistics
         StripeStatistics statistics = new StripeStatistics(toColumnMetadata(columnStatistics, orcTypes.size()));
-        recordValidation(validation -> validation.addStripeStatistics(stripeStartOffset, statistics));
-        StripeInformation stripeInformation = new StripeInformation(stripeRowCount, stripeStartOffset, indexLength, dataLength, footer.length());
-        ClosedStripe closedStripe = new ClosedStripe(stripeInformation, statistics);
-        closedStripes.add(closedStripe);
-        closedStripesRetainedBytes += closedStripe.getRetainedSizeInBytes();
-        recordValidation(validation -> validation.addStripe(stripeInformation.getNumberOfRows()));
-        stats.recordStripeWritten(flushReason, stripeInformation.getTotalLength(), stripeInformation.getNumberOfRows(), dictionaryCompressionOptimizer.getDictionaryMemoryBytes());
-
-        return outputData;
+        return new EncodedStripe(
+                outputData,
+                stripeRowCount,
+                indexLength,
+                dataLength,
+                footer.length(),
+                statistics,
+                stripeWriters.getDictionaryCompressionOptimizer().getDictionaryMemoryBytes());
     }
 
     @Override
@@ -468,6 +559,11 @@ public final class OrcWriter
         try (Closeable ignored = orcDataSink) {
             flushStripe(CLOSED);
         }
+        finally {
+            if (pendingStripe != null) {
+                pendingStripe.cancel(true);
+            }
+        }
     }
 
     public enum OrcOperation
@@ -571,6 +667,51 @@ public final class OrcWriter
         return fileStats;
     }
 
+    private StripeWriters createStripeWriters(
+            OrcType rootType,
+            List<String> columnNames,
+            OrcWriterOptions options,
+            boolean writeLegacyVersion,
+            int stripeMinBytes,
+            int dictionaryMaxMemoryBytes)
+    {
+        ImmutableList.Builder<ColumnWriter> columnWriters = ImmutableList.builder();
+        ImmutableSet.Builder<SliceDictionaryColumnWriter> sliceColumnWriters = ImmutableSet.builder();
+        for (int fieldId = 0; fieldId < types.size(); fieldId++) {
+            OrcColumnId fieldColumnIndex = rootType.getFieldTypeIndex(fieldId);
+            Type fieldType = types.get(fieldId);
+            ColumnWriter columnWriter = createColumnWriter(
+                    fieldColumnIndex,
+                    orcTypes,
+                    fieldType,
+                    compression,
+                    maxCompressionBufferSize,
+                    options.getMaxStringStatisticsLimit(),
+                    getBloomFilterBuilder(options, columnNames.get(fieldId)));
+            columnWriters.add(columnWriter);
+
+            if (columnWriter instanceof SliceDictionaryColumnWriter) {
+                sliceColumnWriters.add((SliceDictionaryColumnWriter) columnWriter);
+            }
+            else {
+                for (ColumnWriter nestedColumnWriter : columnWriter.getNestedColumnWriters()) {
+                    if (nestedColumnWriter instanceof SliceDictionaryColumnWriter) {
+                        sliceColumnWriters.add((SliceDictionaryColumnWriter) nestedColumnWriter);
+                    }
+                }
+            }
+        }
+        DictionaryCompressionOptimizer dictionaryCompressionOptimizer = new DictionaryCompressionOptimizer(
+                sliceColumnWriters.build(),
+                stripeMinBytes,
+                stripeMaxBytes,
+                stripeMaxRowCount,
+                dictionaryMaxMemoryBytes);
+        // the metadata writer is not thread safe, so each set of column writers has its own for the stripe index and footer
+        CompressedMetadataWriter stripeMetadataWriter = new CompressedMetadataWriter(new OrcMetadataWriter(writeLegacyVersion), compression, maxCompressionBufferSize);
+        return new StripeWriters(columnWriters.build(), dictionaryCompressionOptimizer, stripeMetadataWriter);
+    }
+
     private static Supplier<BloomFilterBuilder> getBloomFilterBuilder(OrcWriterOptions options, String columnName)
     {
         if (options.isBloomFilterColumn(columnName)) {
@@ -607,6 +748,115 @@ public final class OrcWriter
         return Optional.of(new ColumnMetadata<>(fileStats.build()));
     }
 
+    private static class StripeWriters
+    {
+        private final List<ColumnWriter> columnWriters;
+        private final DictionaryCompressionOptimizer dictionaryCompressionOptimizer;
+        private final CompressedMetadataWriter metadataWriter;
+
+        public StripeWriters(List<ColumnWriter> columnWriters, DictionaryCompressionOptimizer dictionaryCompressionOptimizer, CompressedMetadataWriter metadataWriter)
+        {
+            this.columnWriters = ImmutableList.copyOf(requireNonNull(columnWriters, "columnWriters is null"));
+            this.dictionaryCompressionOptimizer = requireNonNull(dictionaryCompressionOptimizer, "dictionaryCompressionOptimizer is null");
+            this.metadataWriter = requireNonNull(metadataWriter, "metadataWriter is null");
+        }
+
+        public List<ColumnWriter> getColumnWriters()
+        {
+            return columnWriters;
+        }
+
+        public DictionaryCompressionOptimizer getDictionaryCompressionOptimizer()
+        {
+            return dictionaryCompressionOptimizer;
+        }
+
+        public CompressedMetadataWriter getMetadataWriter()
+        {
+            return metadataWriter;
+        }
+
+        public long getBufferedBytes()
+        {
+            return columnWriters.stream().mapToLong(ColumnWriter::getBufferedBytes).sum();
+        }
+
+        public long getRetainedBytes()
+        {
+            return columnWriters.stream().mapToLong(ColumnWriter::getRetainedBytes).sum();
+        }
+
+        public void reset()
+        {
+            columnWriters.forEach(ColumnWriter::reset);
+            dictionaryCompressionOptimizer.reset();
+        }
+    }
+
+    private static class EncodedStripe
+    {
+        private final List<OrcDataOutput> outputData;
+        private final int rowCount;
+        private final long indexLength;
+        private final long dataLength;
+        private final int footerLength;
+        private final StripeStatistics statistics;
+        private final int dictionaryMemoryBytes;
+
+        public EncodedStripe(
+                List<OrcDataOutput> outputData,
+                int rowCount,
+                long indexLength,
+                long dataLength,
+                int footerLength,
+                StripeStatistics statistics,
+                int dictionaryMemoryBytes)
+        {
+            this.outputData = ImmutableList.copyOf(requireNonNull(outputData, "outputData is null"));
+            this.rowCount = rowCount;
+            this.indexLength = indexLength;
+            this.dataLength = dataLength;
+            this.footerLength = footerLength;
+            this.statistics = requireNonNull(statistics, "statistics is null");
+            this.dictionaryMemoryBytes = dictionaryMemoryBytes;
+        }
+
+        public List<OrcDataOutput> getOutputData()
+        {
+            return outputData;
+        }
+
+        public int getRowCount()
+        {
+            return rowCount;
+        }
+
+        public long getIndexLength()
+        {
+            return indexLength;
+        }
+
+        public long getDataLength()
+        {
+            return dataLength;
+        }
+
+        public int getFooterLength()
+        {
+            return footerLength;
+        }
+
+        public StripeStatistics getStatistics()
+        {
+            return statistics;
+        }
+
+        public int getDictionaryMemoryBytes()
+        {
+            return dictionaryMemoryBytes;
+        }
+    }
+
     private static class ClosedStripe
     {
         private static final int INSTANCE_SIZE = ClassLayout.parseClass(ClosedStripe.class).instanceSize() + ClassLayout.parseClass(StripeInformation.class).instanceSize();
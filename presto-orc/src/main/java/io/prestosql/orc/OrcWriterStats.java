@@ -13,6 +13,7 @@
  */
 package io.prestosql.orc;
 
+import io.airlift.stats.TimeStat;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
 
@@ -23,6 +24,8 @@ import static io.prestosql.orc.OrcWriterStats.FlushReason.CLOSED;
 import static io.prestosql.orc.OrcWriterStats.FlushReason.DICTIONARY_FULL;
 import static io.prestosql.orc.OrcWriterStats.FlushReason.MAX_BYTES;
 import static io.prestosql.orc.OrcWriterStats.FlushReason.MAX_ROWS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public class OrcWriterStats
 {
@@ -37,6 +40,7 @@ public class OrcWriterStats
     private final OrcWriterFlushStats dictionaryFullFlush = new OrcWriterFlushStats(DICTIONARY_FULL.name());
     private final OrcWriterFlushStats closedFlush = new OrcWriterFlushStats(CLOSED.name());
     private final AtomicLong writerSizeInBytes = new AtomicLong();
+    private final TimeStat stripeFlushWaitTime = new TimeStat(MILLISECONDS);
 
     public void recordStripeWritten(FlushReason flushReason, long stripeBytes, int stripeRows, int dictionaryBytes)
     {
@@ -49,6 +53,11 @@ public class OrcWriterStats
         writerSizeInBytes.addAndGet(deltaInBytes);
     }
 
+    public void recordStripeFlushWait(long waitTimeNanos)
+    {
+        stripeFlushWaitTime.add(waitTimeNanos, NANOSECONDS);
+    }
+
     @Managed
     @Nested
     public OrcWriterFlushStats getAllFlush()
@@ -90,6 +99,13 @@ public class OrcWriterStats
         return writerSizeInBytes.get();
     }
 
+    @Managed
+    @Nested
+    public TimeStat getStripeFlushWaitTime()
+    {
+        return stripeFlushWaitTime;
+    }
+
     private OrcWriterFlushStats getFlushStats(FlushReason flushReason)
     {
         switch (flushReason) {
@@ -116,6 +132,7 @@ public class OrcWriterStats
                 .add("dictionaryFullFlush", dictionaryFullFlush)
                 .add("closedFlush", closedFlush)
                 .add("writerSizeInBytes", writerSizeInBytes.get())
+                .add("stripeFlushWaitTime", stripeFlushWaitTime)
                 .toString();
     }
 }
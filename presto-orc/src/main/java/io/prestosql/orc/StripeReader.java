@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import io.airlift.slice.Slice;
 import io.prestosql.memory.context.AggregatedMemoryContext;
+import io.prestosql.orc.OrcReader.ProjectedLayout;
 import io.prestosql.orc.checkpoint.InvalidCheckpointException;
 import io.prestosql.orc.checkpoint.StreamCheckpoint;
 import io.prestosql.orc.metadata.ColumnEncoding;
@@ -49,7 +50,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -94,7 +94,8 @@ public class StripeReader
             ZoneId legacyFileTimeZone,
             Optional<OrcDecompressor> decompressor,
             ColumnMetadata<OrcType> types,
-            Set<OrcColumn> readColumns,
+            List<OrcColumn> readColumns,
+            List<ProjectedLayout> readLayouts,
             OptionalInt rowsInRowGroup,
             OrcPredicate predicate,
             HiveWriterVersion hiveWriterVersion,
@@ -105,7 +106,9 @@ public class StripeReader
         this.legacyFileTimeZone = requireNonNull(legacyFileTimeZone, "legacyFileTimeZone is null");
         this.decompressor = requireNonNull(decompressor, "decompressor is null");
         this.types = requireNonNull(types, "types is null");
-        this.includedOrcColumnIds = getIncludeColumns(requireNonNull(readColumns, "readColumns is null"));
+        this.includedOrcColumnIds = getIncludeColumns(
+                requireNonNull(readColumns, "readColumns is null"),
+                requireNonNull(readLayouts, "readLayouts is null"));
         this.rowsInRowGroup = rowsInRowGroup;
         this.predicate = requireNonNull(predicate, "predicate is null");
         this.hiveWriterVersion = requireNonNull(hiveWriterVersion, "hiveWriterVersion is null");
@@ -507,18 +510,25 @@ public class StripeReader
         return streamDiskRanges.build();
     }
 
-    private static Set<OrcColumnId> getIncludeColumns(Set<OrcColumn> includedColumns)
+    private static Set<OrcColumnId> getIncludeColumns(List<OrcColumn> includedColumns, List<ProjectedLayout> readLayouts)
     {
+        checkArgument(includedColumns.size() == readLayouts.size(), "readColumns and readLayouts must have the same size");
         Set<OrcColumnId> result = new LinkedHashSet<>();
-        includeColumnsRecursive(result, includedColumns);
+        for (int i = 0; i < includedColumns.size(); i++) {
+            includeColumnsRecursive(result, includedColumns.get(i), readLayouts.get(i));
+        }
         return result;
     }
 
-    private static void includeColumnsRecursive(Set<OrcColumnId> result, Collection<OrcColumn> readColumns)
+    private static void includeColumnsRecursive(Set<OrcColumnId> result, OrcColumn column, ProjectedLayout readLayout)
     {
-        for (OrcColumn column : readColumns) {
-            result.add(column.getColumnId());
-            includeColumnsRecursive(result, column.getNestedColumns());
+        result.add(column.getColumnId());
+        for (OrcColumn nestedColumn : column.getNestedColumns()) {
+            // nested fields pruned by the projection are neither read from disk nor decoded
+            ProjectedLayout nestedLayout = readLayout.getFieldLayout(nestedColumn);
+            if (nestedLayout != null) {
+                includeColumnsRecursive(result, nestedColumn, nestedLayout);
+            }
         }
     }
 
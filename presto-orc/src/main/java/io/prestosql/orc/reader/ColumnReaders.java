@@ -68,11 +68,11 @@ public final class ColumnReaders
             case TIMESTAMP_INSTANT:
                 return new TimestampColumnReader(type, column, systemMemoryContext.newLocalMemoryContext(ColumnReaders.class.getSimpleName()));
             case LIST:
-                return new ListColumnReader(type, column, systemMemoryContext, blockFactory);
+                return new ListColumnReader(type, column, projectedLayout, systemMemoryContext, blockFactory);
             case STRUCT:
                 return new StructColumnReader(type, column, projectedLayout, systemMemoryContext, blockFactory);
             case MAP:
-                return new MapColumnReader(type, column, systemMemoryContext, blockFactory);
+                return new MapColumnReader(type, column, projectedLayout, systemMemoryContext, blockFactory);
             case DECIMAL:
                 return new DecimalColumnReader(type, column, systemMemoryContext.newLocalMemoryContext(ColumnReaders.class.getSimpleName()));
             case UNION:
@@ -624,7 +624,8 @@ public class OrcTester
                 ImmutableMap.of(),
                 true,
                 BOTH,
-                stats);
+                stats,
+                Optional.empty());
 
         BlockBuilder blockBuilder = type.createBlockBuilder(null, 1024);
         while (values.hasNext()) {
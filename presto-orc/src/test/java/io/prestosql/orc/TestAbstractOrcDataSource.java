@@ -0,0 +1,139 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.orc;
+
+import com.google.common.collect.ImmutableMap;
+import io.airlift.slice.Slice;
+import io.prestosql.orc.stream.OrcDataReader;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.lang.Math.toIntExact;
+import static org.testng.Assert.assertEquals;
+
+public class TestAbstractOrcDataSource
+{
+    private static final int FAR_OFFSET = toIntExact(MEGABYTE.inBytes() * 10);
+
+    @Test
+    public void testLazyBatchedRead()
+            throws IOException
+    {
+        TestingDataSource dataSource = new TestingDataSource(true);
+        Map<String, OrcDataReader> readers = dataSource.readFully(ImmutableMap.of(
+                "first", new DiskRange(0, 100),
+                "second", new DiskRange(FAR_OFFSET, 100)));
+
+        // nothing is read until a range is accessed
+        assertEquals(dataSource.getReadBytes(), 0);
+
+        // the first access loads both merged ranges in one batch
+        assertContents(readers.get("first").seekBuffer(0), 0);
+        assertEquals(dataSource.getBatchedReads(), 1);
+        assertEquals(dataSource.getReadBytes(), 200);
+
+        assertContents(readers.get("second").seekBuffer(0), FAR_OFFSET);
+        assertEquals(dataSource.getBatchedReads(), 1);
+        assertEquals(dataSource.getReadBytes(), 200);
+    }
+
+    @Test
+    public void testLazyRead()
+            throws IOException
+    {
+        TestingDataSource dataSource = new TestingDataSource(false);
+        Map<String, OrcDataReader> readers = dataSource.readFully(ImmutableMap.of(
+                "first", new DiskRange(0, 100),
+                "second", new DiskRange(FAR_OFFSET, 100)));
+
+        assertContents(readers.get("first").seekBuffer(0), 0);
+        assertEquals(dataSource.getBatchedReads(), 0);
+        assertEquals(dataSource.getReadBytes(), 100);
+
+        assertContents(readers.get("second").seekBuffer(0), FAR_OFFSET);
+        assertEquals(dataSource.getReadBytes(), 200);
+    }
+
+    @Test
+    public void testEagerRead()
+            throws IOException
+    {
+        TestingDataSource dataSource = new TestingDataSource(false, new OrcReaderOptions().withLazyReadSmallRanges(false));
+        Map<String, OrcDataReader> readers = dataSource.readFully(ImmutableMap.of(
+                "first", new DiskRange(0, 100),
+                "second", new DiskRange(FAR_OFFSET, 100)));
+
+        assertEquals(dataSource.getBatchedReads(), 1);
+        assertEquals(dataSource.getReadBytes(), 200);
+        assertContents(readers.get("first").seekBuffer(0), 0);
+        assertContents(readers.get("second").seekBuffer(0), FAR_OFFSET);
+    }
+
+    private static void assertContents(Slice slice, long offset)
+    {
+        assertEquals(slice.length(), 100);
+        for (int i = 0; i < slice.length(); i++) {
+            assertEquals(slice.getByte(i), (byte) (offset + i));
+        }
+    }
+
+    private static class TestingDataSource
+            extends AbstractOrcDataSource
+    {
+        private final boolean batchedReadSupported;
+        private int batchedReads;
+
+        public TestingDataSource(boolean batchedReadSupported)
+        {
+            this(batchedReadSupported, new OrcReaderOptions());
+        }
+
+        public TestingDataSource(boolean batchedReadSupported, OrcReaderOptions options)
+        {
+            super(new OrcDataSourceId("test"), FAR_OFFSET * 2L, options);
+            this.batchedReadSupported = batchedReadSupported;
+        }
+
+        public int getBatchedReads()
+        {
+            return batchedReads;
+        }
+
+        @Override
+        protected boolean isBatchedReadSupported()
+        {
+            return batchedReadSupported;
+        }
+
+        @Override
+        protected Map<DiskRange, Slice> readInternal(List<DiskRange> diskRanges)
+                throws IOException
+        {
+            batchedReads++;
+            return super.readInternal(diskRanges);
+        }
+
+        @Override
+        protected void readInternal(long position, byte[] buffer, int bufferOffset, int bufferLength)
+        {
+            for (int i = 0; i < bufferLength; i++) {
+                buffer[bufferOffset + i] = (byte) (position + i);
+            }
+        }
+    }
+}
@@ -38,10 +38,15 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.airlift.testing.Assertions.assertGreaterThan;
 import static io.airlift.testing.Assertions.assertGreaterThanOrEqual;
+import static io.airlift.testing.Assertions.assertLessThan;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.prestosql.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static io.prestosql.orc.OrcTester.READER_OPTIONS;
@@ -49,10 +54,16 @@ import static io.prestosql.orc.StripeReader.isIndexStream;
 import static io.prestosql.orc.TestingOrcPredicate.ORC_ROW_GROUP_SIZE;
 import static io.prestosql.orc.TestingOrcPredicate.ORC_STRIPE_SIZE;
 import static io.prestosql.orc.metadata.CompressionKind.NONE;
+import static io.prestosql.orc.metadata.CompressionKind.ZSTD;
+import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.VarcharType.VARCHAR;
 import static java.lang.Math.toIntExact;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.joda.time.DateTimeZone.UTC;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 
 public class TestOrcWriter
 {
@@ -83,7 +94,8 @@ public class TestOrcWriter
                     ImmutableMap.of(),
                     true,
                     validationMode,
-                    new OrcWriterStats());
+                    new OrcWriterStats(),
+                    Optional.empty());
 
             // write down some data with unsorted streams
             String[] data = new String[] {"a", "bbbbb", "ccc", "dd", "eeee"};
@@ -136,4 +148,126 @@ public class TestOrcWriter
             }
         }
     }
+
+    @Test
+    public void testBackgroundStripeFlush()
+            throws IOException
+    {
+        ExecutorService executor = newFixedThreadPool(2, daemonThreadsNamed("test-stripe-flush-%s"));
+        try (TempFile tempFile = new TempFile()) {
+            List<String> columnNames = ImmutableList.of("id", "name");
+            List<Type> types = ImmutableList.of(BIGINT, VARCHAR);
+            OrcWriterStats stats = new OrcWriterStats();
+
+            OrcWriter writer = new OrcWriter(
+                    new OutputStreamOrcDataSink(new FileOutputStream(tempFile.getFile())),
+                    columnNames,
+                    types,
+                    OrcType.createRootOrcType(columnNames, types),
+                    ZSTD,
+                    new OrcWriterOptions()
+                            .withStripeMinSize(DataSize.of(0, MEGABYTE))
+                            .withStripeMaxRowCount(1000)
+                            .withRowGroupMaxRowCount(100),
+                    false,
+                    ImmutableMap.of(),
+                    false,
+                    OrcWriteValidationMode.BOTH,
+                    stats,
+                    Optional.of(executor));
+
+            int rowCount = 10_500;
+            for (int start = 0; start < rowCount; start += 1500) {
+                writer.write(createIdNamePage(start, Math.min(1500, rowCount - start)));
+            }
+            writer.close();
+            assertEquals(writer.getFileRowCount(), rowCount);
+            assertEquals(stats.getAllFlush().getStripeRows().getAllTime().getCount(), 11.0);
+
+            OrcDataSource orcDataSource = new FileOrcDataSource(tempFile.getFile(), READER_OPTIONS);
+            OrcReader orcReader = OrcReader.createOrcReader(orcDataSource, READER_OPTIONS)
+                    .orElseThrow(() -> new RuntimeException("File is empty"));
+            assertEquals(orcReader.getFooter().getNumberOfRows(), rowCount);
+            assertEquals(orcReader.getFooter().getStripes().size(), 11);
+
+            try (OrcRecordReader recordReader = orcReader.createRecordReader(
+                    orcReader.getRootColumn().getNestedColumns(),
+                    types,
+                    OrcPredicate.TRUE,
+                    UTC,
+                    newSimpleAggregatedMemoryContext(),
+                    OrcReader.INITIAL_BATCH_SIZE,
+                    RuntimeException::new)) {
+                int expected = 0;
+                for (Page page = recordReader.nextPage(); page != null; page = recordReader.nextPage()) {
+                    page = page.getLoadedPage();
+                    for (int position = 0; position < page.getPositionCount(); position++) {
+                        assertEquals(BIGINT.getLong(page.getBlock(0), position), expected);
+                        assertEquals(VARCHAR.getSlice(page.getBlock(1), position).toStringUtf8(), "name_" + (expected % 17));
+                        expected++;
+                    }
+                }
+                assertEquals(expected, rowCount);
+                assertNull(recordReader.nextPage());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBufferedBytesIncludeBackgroundStripe()
+            throws IOException
+    {
+        List<Runnable> stripeFlushTasks = new ArrayList<>();
+        try (TempFile tempFile = new TempFile()) {
+            List<String> columnNames = ImmutableList.of("id", "name");
+            List<Type> types = ImmutableList.of(BIGINT, VARCHAR);
+
+            OrcWriter writer = new OrcWriter(
+                    new OutputStreamOrcDataSink(new FileOutputStream(tempFile.getFile())),
+                    columnNames,
+                    types,
+                    OrcType.createRootOrcType(columnNames, types),
+                    ZSTD,
+                    new OrcWriterOptions()
+                            .withStripeMinSize(DataSize.of(0, MEGABYTE))
+                            .withStripeMaxRowCount(1000)
+                            .withRowGroupMaxRowCount(100),
+                    false,
+                    ImmutableMap.of(),
+                    false,
+                    OrcWriteValidationMode.BOTH,
+                    new OrcWriterStats(),
+                    Optional.of(stripeFlushTasks::add));
+
+            // the full stripe is handed off, but not encoded yet
+            writer.write(createIdNamePage(0, 1000));
+            assertEquals(stripeFlushTasks.size(), 1);
+            assertEquals(writer.getWrittenBytes(), 0);
+            int bufferedBytes = writer.getBufferedBytes();
+            assertGreaterThan(bufferedBytes, 0);
+
+            // once encoded, the stripe is written out with the next page
+            stripeFlushTasks.get(0).run();
+            writer.write(createIdNamePage(1000, 10));
+            assertGreaterThan(writer.getWrittenBytes(), 0L);
+            assertLessThan(writer.getBufferedBytes(), bufferedBytes);
+
+            writer.close();
+            assertEquals(writer.getFileRowCount(), 1010);
+        }
+    }
+
+    private static Page createIdNamePage(int start, int positions)
+    {
+        BlockBuilder idBuilder = BIGINT.createBlockBuilder(null, positions);
+        BlockBuilder nameBuilder = VARCHAR.createBlockBuilder(null, positions);
+        for (int i = start; i < start + positions; i++) {
+            BIGINT.writeLong(idBuilder, i);
+            VARCHAR.writeSlice(nameBuilder, Slices.utf8Slice("name_" + (i % 17)));
+        }
+        return new Page(idBuilder.build(), nameBuilder.build());
+    }
 }
@@ -21,9 +21,11 @@ import io.airlift.units.DataSize;
 import io.prestosql.metadata.Metadata;
 import io.prestosql.orc.metadata.OrcType;
 import io.prestosql.spi.Page;
+import io.prestosql.spi.block.ArrayBlock;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.block.BlockBuilder;
 import io.prestosql.spi.block.RowBlock;
+import io.prestosql.spi.type.ArrayType;
 import io.prestosql.spi.type.NamedTypeSignature;
 import io.prestosql.spi.type.RowFieldName;
 import io.prestosql.spi.type.StandardTypes;
@@ -44,6 +46,7 @@ import java.util.Optional;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.prestosql.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static io.prestosql.metadata.MetadataManager.createTestMetadataManager;
+import static io.prestosql.orc.OrcReader.ProjectedLayout.createProjectedLayout;
 import static io.prestosql.orc.OrcTester.READER_OPTIONS;
 import static io.prestosql.orc.OrcWriteValidation.OrcWriteValidationMode.BOTH;
 import static io.prestosql.orc.TestingOrcPredicate.ORC_ROW_GROUP_SIZE;
@@ -211,28 +214,55 @@ public class TestStructColumnReader
         assertEquals(actual.get(1), "field_c_value");
     }
 
+    @Test
+    public void testProjectedFieldsInArrayOfStructs()
+            throws IOException
+    {
+        Type structType = getType(ImmutableList.of("field_a", "field_b"));
+        Type arrayType = new ArrayType(structType);
+
+        int elements = 6;
+        BlockBuilder fieldA = VARCHAR.createBlockBuilder(null, elements);
+        BlockBuilder fieldB = VARCHAR.createBlockBuilder(null, elements);
+        for (int i = 0; i < elements; i++) {
+            VARCHAR.writeString(fieldA, "a" + i);
+            VARCHAR.writeString(fieldB, "b" + i);
+        }
+        Block structs = RowBlock.fromFieldBlocks(elements, Optional.empty(), new Block[] {fieldA.build(), fieldB.build()});
+        Block arrays = ArrayBlock.fromElementBlock(3, Optional.empty(), new int[] {0, 2, 4, 6}, structs);
+
+        OrcWriter writer = createWriter(arrayType);
+        writer.write(new Page(arrays));
+        writer.close();
+
+        OrcDataSource orcDataSource = new FileOrcDataSource(tempFile.getFile(), READER_OPTIONS);
+        OrcReader orcReader = OrcReader.createOrcReader(orcDataSource, READER_OPTIONS)
+                .orElseThrow(() -> new RuntimeException("File is empty"));
+        OrcColumn column = orcReader.getRootColumn().getNestedColumns().get(0);
+
+        // only field_a of the array elements is projected, so field_b is neither read nor decoded
+        try (OrcRecordReader recordReader = orcReader.createRecordReader(
+                ImmutableList.of(column),
+                ImmutableList.of(arrayType),
+                ImmutableList.of(createProjectedLayout(column, ImmutableList.of(ImmutableList.of("field_a")))),
+                OrcPredicate.TRUE,
+                0,
+                orcDataSource.getSize(),
+                UTC,
+                newSimpleAggregatedMemoryContext(),
+                OrcReader.INITIAL_BATCH_SIZE,
+                RuntimeException::new)) {
+            Block block = recordReader.nextPage().getLoadedPage().getBlock(0);
+            assertEquals(block.getPositionCount(), 3);
+            List<?> actual = (List<?>) arrayType.getObjectValue(TestingConnectorSession.SESSION, block, 1);
+            assertEquals(actual, ImmutableList.of(Arrays.asList("a2", null), Arrays.asList("a3", null)));
+        }
+    }
+
     private void write(TempFile tempFile, Type writerType, List<String> data)
             throws IOException
     {
-        List<String> columnNames = ImmutableList.of(STRUCT_COL_NAME);
-        List<Type> types = ImmutableList.of(writerType);
-        OrcWriter writer = new OrcWriter(
-                new OutputStreamOrcDataSink(new FileOutputStream(tempFile.getFile())),
-                columnNames,
-                types,
-                OrcType.createRootOrcType(columnNames, types),
-                NONE,
-                new OrcWriterOptions()
-                        .withStripeMinSize(DataSize.of(0, MEGABYTE))
-                        .withStripeMaxSize(DataSize.of(32, MEGABYTE))
-                        .withStripeMaxRowCount(ORC_STRIPE_SIZE)
-                        .withRowGroupMaxRowCount(ORC_ROW_GROUP_SIZE)
-                        .withDictionaryMaxMemory(DataSize.of(32, MEGABYTE)),
-                false,
-                ImmutableMap.of(),
-                true,
-                BOTH,
-                new OrcWriterStats());
+        OrcWriter writer = createWriter(writerType);
 
         // write down some data with unsorted streams
         Block[] fieldBlocks = new Block[data.size()];
@@ -256,6 +286,31 @@ public class TestStructColumnReader
         writer.close();
     }
 
+    private OrcWriter createWriter(Type writerType)
+            throws IOException
+    {
+        List<String> columnNames = ImmutableList.of(STRUCT_COL_NAME);
+        List<Type> types = ImmutableList.of(writerType);
+        return new OrcWriter(
+                new OutputStreamOrcDataSink(new FileOutputStream(tempFile.getFile())),
+                columnNames,
+                types,
+                OrcType.createRootOrcType(columnNames, types),
+                NONE,
+                new OrcWriterOptions()
+                        .withStripeMinSize(DataSize.of(0, MEGABYTE))
+                        .withStripeMaxSize(DataSize.of(32, MEGABYTE))
+                        .withStripeMaxRowCount(ORC_STRIPE_SIZE)
+                        .withRowGroupMaxRowCount(ORC_ROW_GROUP_SIZE)
+                        .withDictionaryMaxMemory(DataSize.of(32, MEGABYTE)),
+                false,
+                ImmutableMap.of(),
+                true,
+                BOTH,
+                new OrcWriterStats(),
+                Optional.empty());
+    }
+
     private RowBlock read(TempFile tempFile, Type readerType)
             throws IOException
     {
@@ -0,0 +1,97 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.parquet.writer;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airlift.units.DataSize;
+import io.prestosql.parquet.writer.valuewriter.DictionaryFallbackValuesWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.units.DataSize.Unit.KILOBYTE;
+import static java.lang.Math.max;
+import static java.util.Comparator.comparingDouble;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Chooses between dictionary and fallback encodings for the columns of a file.
+ * A column leaves dictionary encoding when a sample of its values shows a high
+ * cardinality, or when the dictionaries of all columns together exceed the
+ * dictionary memory limit, in which case the least effective dictionaries are
+ * dropped first.
+ */
+public class DictionaryCompressionOptimizer
+{
+    @VisibleForTesting
+    static final long DICTIONARY_SAMPLE_BYTES = DataSize.of(64, KILOBYTE).toBytes();
+    // for fixed width values this is the fraction of distinct values in the sample
+    @VisibleForTesting
+    static final double DICTIONARY_MAX_RAW_RATIO = 0.5;
+
+    private final List<DictionaryFallbackValuesWriter> columns = new ArrayList<>();
+    private final long dictionaryMemoryMaxBytes;
+
+    public DictionaryCompressionOptimizer(long dictionaryMemoryMaxBytes)
+    {
+        checkArgument(dictionaryMemoryMaxBytes >= 0, "dictionaryMemoryMaxBytes is negative");
+        this.dictionaryMemoryMaxBytes = dictionaryMemoryMaxBytes;
+    }
+
+    public void addColumn(DictionaryFallbackValuesWriter column)
+    {
+        columns.add(requireNonNull(column, "column is null"));
+    }
+
+    public long getDictionaryMemoryBytes()
+    {
+        return columns.stream()
+                .mapToLong(DictionaryFallbackValuesWriter::getDictionaryBytes)
+                .sum();
+    }
+
+    public void optimize()
+    {
+        long dictionaryMemoryBytes = 0;
+        for (DictionaryFallbackValuesWriter column : columns) {
+            if (column.isDictionaryEncoded() &&
+                    column.getRawDataBytes() >= DICTIONARY_SAMPLE_BYTES &&
+                    getDictionaryRatio(column) > DICTIONARY_MAX_RAW_RATIO) {
+                column.fallBack();
+            }
+            dictionaryMemoryBytes += column.getDictionaryBytes();
+        }
+
+        while (dictionaryMemoryBytes > dictionaryMemoryMaxBytes) {
+            Optional<DictionaryFallbackValuesWriter> leastEffective = columns.stream()
+                    .filter(DictionaryFallbackValuesWriter::isDictionaryEncoded)
+                    .max(comparingDouble(DictionaryCompressionOptimizer::getDictionaryRatio));
+            if (leastEffective.isEmpty()) {
+                // the remaining memory is held by dictionaries of pages already written
+                return;
+            }
+            DictionaryFallbackValuesWriter column = leastEffective.get();
+            long dictionaryBytes = column.getDictionaryBytes();
+            column.fallBack();
+            dictionaryMemoryBytes -= dictionaryBytes - column.getDictionaryBytes();
+        }
+    }
+
+    private static double getDictionaryRatio(DictionaryFallbackValuesWriter column)
+    {
+        return (double) column.getDictionaryBytes() / max(1, column.getRawDataBytes());
+    }
+}
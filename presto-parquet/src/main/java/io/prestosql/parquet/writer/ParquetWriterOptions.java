@@ -16,6 +16,7 @@ package io.prestosql.parquet.writer;
 import io.airlift.units.DataSize;
 import org.apache.parquet.hadoop.ParquetWriter;
 
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 
@@ -23,6 +24,7 @@ public class ParquetWriterOptions
 {
     private static final DataSize DEFAULT_MAX_ROW_GROUP_SIZE = DataSize.ofBytes(ParquetWriter.DEFAULT_BLOCK_SIZE);
     private static final DataSize DEFAULT_MAX_PAGE_SIZE = DataSize.ofBytes(ParquetWriter.DEFAULT_PAGE_SIZE);
+    private static final DataSize DEFAULT_MAX_DICTIONARY_MEMORY = DataSize.of(16, MEGABYTE);
 
     public static ParquetWriterOptions.Builder builder()
     {
@@ -31,11 +33,13 @@ public class ParquetWriterOptions
 
     private final int maxRowGroupSize;
     private final int maxPageSize;
+    private final long maxDictionaryMemory;
 
-    private ParquetWriterOptions(DataSize maxBlockSize, DataSize maxPageSize)
+    private ParquetWriterOptions(DataSize maxBlockSize, DataSize maxPageSize, DataSize maxDictionaryMemory)
     {
         this.maxRowGroupSize = toIntExact(requireNonNull(maxBlockSize, "maxRowGroupSize is null").toBytes());
         this.maxPageSize = toIntExact(requireNonNull(maxPageSize, "maxPageSize is null").toBytes());
+        this.maxDictionaryMemory = requireNonNull(maxDictionaryMemory, "maxDictionaryMemory is null").toBytes();
     }
 
     public long getMaxRowGroupSize()
@@ -48,10 +52,16 @@ public class ParquetWriterOptions
         return maxPageSize;
     }
 
+    public long getMaxDictionaryMemory()
+    {
+        return maxDictionaryMemory;
+    }
+
     public static class Builder
     {
         private DataSize maxBlockSize = DEFAULT_MAX_ROW_GROUP_SIZE;
         private DataSize maxPageSize = DEFAULT_MAX_PAGE_SIZE;
+        private DataSize maxDictionaryMemory = DEFAULT_MAX_DICTIONARY_MEMORY;
 
         public Builder setMaxBlockSize(DataSize maxBlockSize)
         {
@@ -65,9 +75,15 @@ public class ParquetWriterOptions
             return this;
         }
 
+        public Builder setMaxDictionaryMemory(DataSize maxDictionaryMemory)
+        {
+            this.maxDictionaryMemory = maxDictionaryMemory;
+            return this;
+        }
+
         public ParquetWriterOptions build()
         {
-            return new ParquetWriterOptions(maxBlockSize, maxPageSize);
+            return new ParquetWriterOptions(maxBlockSize, maxPageSize, maxDictionaryMemory);
         }
     }
 }
@@ -19,6 +19,7 @@ import io.prestosql.parquet.writer.valuewriter.BooleanValueWriter;
 import io.prestosql.parquet.writer.valuewriter.CharValueWriter;
 import io.prestosql.parquet.writer.valuewriter.DateValueWriter;
 import io.prestosql.parquet.writer.valuewriter.DecimalValueWriter;
+import io.prestosql.parquet.writer.valuewriter.DictionaryFallbackValuesWriter;
 import io.prestosql.parquet.writer.valuewriter.DoubleValueWriter;
 import io.prestosql.parquet.writer.valuewriter.IntegerValueWriter;
 import io.prestosql.parquet.writer.valuewriter.PrimitiveValueWriter;
@@ -33,9 +34,22 @@ import io.prestosql.spi.type.DecimalType;
 import io.prestosql.spi.type.Type;
 import io.prestosql.spi.type.VarbinaryType;
 import io.prestosql.spi.type.VarcharType;
+import org.apache.parquet.bytes.ByteBufferAllocator;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.column.values.ValuesWriter;
+import org.apache.parquet.column.values.delta.DeltaBinaryPackingValuesWriterForInteger;
+import org.apache.parquet.column.values.delta.DeltaBinaryPackingValuesWriterForLong;
+import org.apache.parquet.column.values.deltastrings.DeltaByteArrayWriter;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesWriter;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesWriter.PlainBinaryDictionaryValuesWriter;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesWriter.PlainDoubleDictionaryValuesWriter;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesWriter.PlainFixedLenArrayDictionaryValuesWriter;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesWriter.PlainFloatDictionaryValuesWriter;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesWriter.PlainIntegerDictionaryValuesWriter;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesWriter.PlainLongDictionaryValuesWriter;
+import org.apache.parquet.column.values.plain.FixedLenByteArrayPlainValuesWriter;
+import org.apache.parquet.column.values.plain.PlainValuesWriter;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.parquet.schema.GroupType;
 import org.apache.parquet.schema.MessageType;
@@ -63,14 +77,21 @@ import static io.prestosql.spi.type.TimestampWithTimeZoneType.TIMESTAMP_TZ_MILLI
 import static io.prestosql.spi.type.TinyintType.TINYINT;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static org.apache.parquet.column.Encoding.PLAIN;
+import static org.apache.parquet.column.Encoding.RLE_DICTIONARY;
 
 final class ParquetWriters
 {
     private ParquetWriters() {}
 
-    static List<ColumnWriter> getColumnWriters(MessageType messageType, Map<List<String>, Type> prestoTypes, ParquetProperties parquetProperties, CompressionCodecName compressionCodecName)
+    static List<ColumnWriter> getColumnWriters(
+            MessageType messageType,
+            Map<List<String>, Type> prestoTypes,
+            ParquetProperties parquetProperties,
+            CompressionCodecName compressionCodecName,
+            DictionaryCompressionOptimizer dictionaryCompressionOptimizer)
     {
-        WriteBuilder writeBuilder = new WriteBuilder(messageType, prestoTypes, parquetProperties, compressionCodecName);
+        WriteBuilder writeBuilder = new WriteBuilder(messageType, prestoTypes, parquetProperties, compressionCodecName, dictionaryCompressionOptimizer);
         ParquetTypeVisitor.visit(messageType, writeBuilder);
         return writeBuilder.build();
     }
@@ -82,14 +103,21 @@ final class ParquetWriters
         private final Map<List<String>, Type> prestoTypes;
         private final ParquetProperties parquetProperties;
         private final CompressionCodecName compressionCodecName;
+        private final DictionaryCompressionOptimizer dictionaryCompressionOptimizer;
         private final ImmutableList.Builder<ColumnWriter> builder = ImmutableList.builder();
 
-        WriteBuilder(MessageType messageType, Map<List<String>, Type> prestoTypes, ParquetProperties parquetProperties, CompressionCodecName compressionCodecName)
+        WriteBuilder(
+                MessageType messageType,
+                Map<List<String>, Type> prestoTypes,
+                ParquetProperties parquetProperties,
+                CompressionCodecName compressionCodecName,
+                DictionaryCompressionOptimizer dictionaryCompressionOptimizer)
         {
             this.type = requireNonNull(messageType, "messageType is null");
             this.prestoTypes = requireNonNull(prestoTypes, "prestoTypes is null");
             this.parquetProperties = requireNonNull(parquetProperties, "parquetProperties is null");
             this.compressionCodecName = requireNonNull(compressionCodecName, "compressionCodecName is null");
+            this.dictionaryCompressionOptimizer = requireNonNull(dictionaryCompressionOptimizer, "dictionaryCompressionOptimizer is null");
         }
 
         List<ColumnWriter> build()
@@ -141,13 +169,66 @@ final class ParquetWriters
             Type prestoType = requireNonNull(prestoTypes.get(ImmutableList.copyOf(path)), " presto type is null");
             return new PrimitiveColumnWriter(prestoType,
                     columnDescriptor,
-                    getValueWriter(parquetProperties.newValuesWriter(columnDescriptor), prestoType, columnDescriptor.getPrimitiveType()),
+                    getValueWriter(createValuesWriter(columnDescriptor), prestoType, columnDescriptor.getPrimitiveType()),
                     parquetProperties.newDefinitionLevelEncoder(columnDescriptor),
                     parquetProperties.newRepetitionLevelEncoder(columnDescriptor),
                     compressionCodecName,
                     parquetProperties.getPageSizeThreshold());
         }
 
+        private ValuesWriter createValuesWriter(ColumnDescriptor columnDescriptor)
+        {
+            PrimitiveType primitiveType = columnDescriptor.getPrimitiveType();
+            int maxDictionaryBytes = parquetProperties.getDictionaryPageSizeThreshold();
+            int initialSlabSize = parquetProperties.getInitialSlabSize();
+            int pageSize = parquetProperties.getPageSizeThreshold();
+            ByteBufferAllocator allocator = parquetProperties.getAllocator();
+
+            // candidates are compared on the buffered values when the column falls back from dictionary encoding
+            DictionaryValuesWriter dictionaryWriter;
+            List<ValuesWriter> fallBackWriters;
+            switch (primitiveType.getPrimitiveTypeName()) {
+                case INT32:
+                    dictionaryWriter = new PlainIntegerDictionaryValuesWriter(maxDictionaryBytes, RLE_DICTIONARY, PLAIN, allocator);
+                    fallBackWriters = ImmutableList.of(
+                            new PlainValuesWriter(initialSlabSize, pageSize, allocator),
+                            new DeltaBinaryPackingValuesWriterForInteger(initialSlabSize, pageSize, allocator));
+                    break;
+                case INT64:
+                    dictionaryWriter = new PlainLongDictionaryValuesWriter(maxDictionaryBytes, RLE_DICTIONARY, PLAIN, allocator);
+                    fallBackWriters = ImmutableList.of(
+                            new PlainValuesWriter(initialSlabSize, pageSize, allocator),
+                            new DeltaBinaryPackingValuesWriterForLong(initialSlabSize, pageSize, allocator));
+                    break;
+                case FLOAT:
+                    dictionaryWriter = new PlainFloatDictionaryValuesWriter(maxDictionaryBytes, RLE_DICTIONARY, PLAIN, allocator);
+                    fallBackWriters = ImmutableList.of(new PlainValuesWriter(initialSlabSize, pageSize, allocator));
+                    break;
+                case DOUBLE:
+                    dictionaryWriter = new PlainDoubleDictionaryValuesWriter(maxDictionaryBytes, RLE_DICTIONARY, PLAIN, allocator);
+                    fallBackWriters = ImmutableList.of(new PlainValuesWriter(initialSlabSize, pageSize, allocator));
+                    break;
+                case BINARY:
+                    dictionaryWriter = new PlainBinaryDictionaryValuesWriter(maxDictionaryBytes, RLE_DICTIONARY, PLAIN, allocator);
+                    fallBackWriters = ImmutableList.of(
+                            new PlainValuesWriter(initialSlabSize, pageSize, allocator),
+                            new DeltaByteArrayWriter(initialSlabSize, pageSize, allocator));
+                    break;
+                case FIXED_LEN_BYTE_ARRAY:
+                    dictionaryWriter = new PlainFixedLenArrayDictionaryValuesWriter(maxDictionaryBytes, primitiveType.getTypeLength(), RLE_DICTIONARY, PLAIN, allocator);
+                    fallBackWriters = ImmutableList.of(
+                            new FixedLenByteArrayPlainValuesWriter(primitiveType.getTypeLength(), initialSlabSize, pageSize, allocator),
+                            new DeltaByteArrayWriter(initialSlabSize, pageSize, allocator));
+                    break;
+                default:
+                    // booleans are never dictionary encoded
+                    return parquetProperties.newValuesWriter(columnDescriptor);
+            }
+            DictionaryFallbackValuesWriter valuesWriter = new DictionaryFallbackValuesWriter(dictionaryWriter, fallBackWriters);
+            dictionaryCompressionOptimizer.addColumn(valuesWriter);
+            return valuesWriter;
+        }
+
         private String[] currentPath()
         {
             String[] path = new String[fieldNames.size()];
@@ -286,9 +286,9 @@ public class PrimitiveColumnWriter
             dictPage.add(pageData);
             totalCompressedSize += pageHeader.size() + compressedSize;
             totalUnCompressedSize += pageHeader.size() + uncompressedSize;
-
-            primitiveValueWriter.resetDictionary();
         }
+        // every column chunk chooses its encoding again, including after a fall back in the previous one
+        primitiveValueWriter.resetDictionary();
         getDataStreamsCalled = true;
 
         return ImmutableList.<ParquetDataOutput>builder()
@@ -0,0 +1,348 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.parquet.writer.valuewriter;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.values.ValuesWriter;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesWriter;
+import org.apache.parquet.io.api.Binary;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Dictionary encodes values until the dictionary stops paying off, either because
+ * the first page does not compress, the dictionary grows past its size limit, or
+ * {@link #fallBack()} is called.  On fall back, the buffered values are replayed
+ * into every fallback candidate, and the candidate with the smallest encoding is
+ * used for the rest of the column chunk.
+ */
+public class DictionaryFallbackValuesWriter
+        extends ValuesWriter
+{
+    private final DictionaryValuesWriter initialWriter;
+    private final List<ValuesWriter> fallBackWriters;
+
+    private ValuesWriter currentWriter;
+    private boolean fellBackAlready;
+    // a page flushed before the fall back references the dictionary, so the dictionary page must still be written
+    private boolean initialUsedAndHadDictionary;
+    private boolean firstPage = true;
+
+    // size of the values in plain encoding, for the current page and for the current column chunk
+    private long pageRawDataBytes;
+    private long rawDataBytes;
+
+    public DictionaryFallbackValuesWriter(DictionaryValuesWriter initialWriter, List<ValuesWriter> fallBackWriters)
+    {
+        this.initialWriter = requireNonNull(initialWriter, "initialWriter is null");
+        this.fallBackWriters = ImmutableList.copyOf(requireNonNull(fallBackWriters, "fallBackWriters is null"));
+        checkArgument(!this.fallBackWriters.isEmpty(), "fallBackWriters is empty");
+        this.currentWriter = initialWriter;
+    }
+
+    public boolean isDictionaryEncoded()
+    {
+        return !fellBackAlready;
+    }
+
+    /**
+     * Size of the values written to the current column chunk in plain encoding.
+     */
+    public long getRawDataBytes()
+    {
+        return rawDataBytes;
+    }
+
+    /**
+     * Memory retained by the dictionary, which includes the dictionary kept for
+     * pages written before a fall back.
+     */
+    public long getDictionaryBytes()
+    {
+        // besides the dictionary, the dictionary writer only holds the ids of the buffered page
+        return initialWriter.getAllocatedSize() - initialWriter.getBufferedSize();
+    }
+
+    /**
+     * Switches the column chunk to the smallest fallback encoding for the buffered values.
+     */
+    public void fallBack()
+    {
+        checkState(!fellBackAlready, "Values writer already fell back");
+        fellBackAlready = true;
+
+        if (fallBackWriters.size() == 1) {
+            currentWriter = fallBackWriters.get(0);
+            initialWriter.fallBackAllValuesTo(currentWriter);
+            return;
+        }
+
+        TeeValuesWriter teeWriter = new TeeValuesWriter(fallBackWriters);
+        initialWriter.fallBackAllValuesTo(teeWriter);
+        currentWriter = teeWriter.getSmallestWriter();
+        fallBackWriters.stream()
+                .filter(writer -> writer != currentWriter)
+                .forEach(ValuesWriter::reset);
+    }
+
+    @Override
+    public long getBufferedSize()
+    {
+        return currentWriter.getBufferedSize();
+    }
+
+    @Override
+    public BytesInput getBytes()
+    {
+        if (!fellBackAlready && firstPage) {
+            // the first page decides whether the dictionary is worth its size at all
+            BytesInput bytes = initialWriter.getBytes();
+            if (initialWriter.isCompressionSatisfying(pageRawDataBytes, bytes.size())) {
+                return bytes;
+            }
+            fallBack();
+        }
+        return currentWriter.getBytes();
+    }
+
+    @Override
+    public Encoding getEncoding()
+    {
+        Encoding encoding = currentWriter.getEncoding();
+        if (!fellBackAlready && !initialUsedAndHadDictionary) {
+            initialUsedAndHadDictionary = encoding.usesDictionary();
+        }
+        return encoding;
+    }
+
+    @Override
+    public void reset()
+    {
+        pageRawDataBytes = 0;
+        firstPage = false;
+        currentWriter.reset();
+    }
+
+    @Override
+    public void close()
+    {
+        initialWriter.close();
+        fallBackWriters.forEach(ValuesWriter::close);
+    }
+
+    @Override
+    public DictionaryPage toDictPageAndClose()
+    {
+        if (initialUsedAndHadDictionary) {
+            return initialWriter.toDictPageAndClose();
+        }
+        return currentWriter.toDictPageAndClose();
+    }
+
+    @Override
+    public void resetDictionary()
+    {
+        // the writers are reused for the next column chunk, so drop anything left over from a fall back
+        initialWriter.resetDictionary();
+        initialWriter.reset();
+        for (ValuesWriter fallBackWriter : fallBackWriters) {
+            fallBackWriter.resetDictionary();
+            fallBackWriter.reset();
+        }
+        currentWriter = initialWriter;
+        fellBackAlready = false;
+        initialUsedAndHadDictionary = false;
+        firstPage = true;
+        pageRawDataBytes = 0;
+        rawDataBytes = 0;
+    }
+
+    @Override
+    public long getAllocatedSize()
+    {
+        return initialWriter.getAllocatedSize() + fallBackWriters.stream().mapToLong(ValuesWriter::getAllocatedSize).sum();
+    }
+
+    @Override
+    public String memUsageString(String prefix)
+    {
+        return format("%s DictionaryFallbackValuesWriter{\n%s\n%s\n%s}\n",
+                prefix,
+                initialWriter.memUsageString(prefix + " initial:"),
+                currentWriter.memUsageString(prefix + " current:"),
+                prefix);
+    }
+
+    @Override
+    public void writeBytes(Binary v)
+    {
+        // the plain encoding stores the length of each value
+        recordRawDataBytes(v.length() + Integer.BYTES);
+        currentWriter.writeBytes(v);
+        checkFallBack();
+    }
+
+    @Override
+    public void writeInteger(int v)
+    {
+        recordRawDataBytes(Integer.BYTES);
+        currentWriter.writeInteger(v);
+        checkFallBack();
+    }
+
+    @Override
+    public void writeLong(long v)
+    {
+        recordRawDataBytes(Long.BYTES);
+        currentWriter.writeLong(v);
+        checkFallBack();
+    }
+
+    @Override
+    public void writeFloat(float v)
+    {
+        recordRawDataBytes(Float.BYTES);
+        currentWriter.writeFloat(v);
+        checkFallBack();
+    }
+
+    @Override
+    public void writeDouble(double v)
+    {
+        recordRawDataBytes(Double.BYTES);
+        currentWriter.writeDouble(v);
+        checkFallBack();
+    }
+
+    private void recordRawDataBytes(long bytes)
+    {
+        pageRawDataBytes += bytes;
+        rawDataBytes += bytes;
+    }
+
+    private void checkFallBack()
+    {
+        if (!fellBackAlready && initialWriter.shouldFallBack()) {
+            fallBack();
+        }
+    }
+
+    /**
+     * Writes every value to all the given writers, so the fallback candidates can be compared.
+     * The encoded values are those of the candidate with the smallest encoding so far.
+     */
+    private static class TeeValuesWriter
+            extends ValuesWriter
+    {
+        private final List<ValuesWriter> writers;
+
+        public TeeValuesWriter(List<ValuesWriter> writers)
+        {
+            this.writers = ImmutableList.copyOf(requireNonNull(writers, "writers is null"));
+            checkArgument(!this.writers.isEmpty(), "writers is empty");
+        }
+
+        public ValuesWriter getSmallestWriter()
+        {
+            return writers.stream()
+                    .min(Comparator.comparingLong(ValuesWriter::getBufferedSize))
+                    .orElseThrow();
+        }
+
+        @Override
+        public void writeBytes(Binary v)
+        {
+            writers.forEach(writer -> writer.writeBytes(v));
+        }
+
+        @Override
+        public void writeInteger(int v)
+        {
+            writers.forEach(writer -> writer.writeInteger(v));
+        }
+
+        @Override
+        public void writeLong(long v)
+        {
+            writers.forEach(writer -> writer.writeLong(v));
+        }
+
+        @Override
+        public void writeFloat(float v)
+        {
+            writers.forEach(writer -> writer.writeFloat(v));
+        }
+
+        @Override
+        public void writeDouble(double v)
+        {
+            writers.forEach(writer -> writer.writeDouble(v));
+        }
+
+        @Override
+        public long getBufferedSize()
+        {
+            return getSmallestWriter().getBufferedSize();
+        }
+
+        @Override
+        public BytesInput getBytes()
+        {
+            return getSmallestWriter().getBytes();
+        }
+
+        @Override
+        public Encoding getEncoding()
+        {
+            return getSmallestWriter().getEncoding();
+        }
+
+        @Override
+        public void reset()
+        {
+            writers.forEach(ValuesWriter::reset);
+        }
+
+        @Override
+        public void close()
+        {
+            writers.forEach(ValuesWriter::close);
+        }
+
+        @Override
+        public long getAllocatedSize()
+        {
+            return writers.stream()
+                    .mapToLong(ValuesWriter::getAllocatedSize)
+                    .sum();
+        }
+
+        @Override
+        public String memUsageString(String prefix)
+        {
+            StringBuilder usage = new StringBuilder(format("%s TeeValuesWriter{\n", prefix));
+            writers.forEach(writer -> usage.append(writer.memUsageString(prefix + " ")).append("\n"));
+            return usage.append(prefix).append("}\n").toString();
+        }
+    }
+}
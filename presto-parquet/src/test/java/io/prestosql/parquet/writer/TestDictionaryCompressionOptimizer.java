@@ -0,0 +1,192 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.parquet.writer;
+
+import com.google.common.collect.ImmutableList;
+import io.prestosql.parquet.writer.valuewriter.DictionaryFallbackValuesWriter;
+import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.column.values.delta.DeltaBinaryPackingValuesWriterForLong;
+import org.apache.parquet.column.values.deltastrings.DeltaByteArrayWriter;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesWriter.PlainBinaryDictionaryValuesWriter;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesWriter.PlainLongDictionaryValuesWriter;
+import org.apache.parquet.column.values.plain.PlainValuesWriter;
+import org.apache.parquet.io.api.Binary;
+import org.testng.annotations.Test;
+
+import static com.google.common.base.Strings.padStart;
+import static io.prestosql.parquet.writer.DictionaryCompressionOptimizer.DICTIONARY_SAMPLE_BYTES;
+import static java.lang.Math.toIntExact;
+import static org.apache.parquet.column.Encoding.DELTA_BINARY_PACKED;
+import static org.apache.parquet.column.Encoding.PLAIN;
+import static org.apache.parquet.column.Encoding.RLE_DICTIONARY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestDictionaryCompressionOptimizer
+{
+    private static final ByteBufferAllocator ALLOCATOR = HeapByteBufferAllocator.getInstance();
+    private static final int MAX_DICTIONARY_BYTES = 1024 * 1024;
+    private static final int PAGE_SIZE = 1024 * 1024;
+    private static final int SLAB_SIZE = 64;
+
+    @Test
+    public void testLowCardinalityKeepsDictionary()
+    {
+        DictionaryCompressionOptimizer optimizer = new DictionaryCompressionOptimizer(MAX_DICTIONARY_BYTES);
+        DictionaryFallbackValuesWriter writer = createLongWriter();
+        optimizer.addColumn(writer);
+
+        int rows = toIntExact(2 * DICTIONARY_SAMPLE_BYTES / Long.BYTES);
+        for (int i = 0; i < rows; i++) {
+            writer.writeLong(i % 10);
+        }
+        optimizer.optimize();
+
+        assertTrue(writer.isDictionaryEncoded());
+        writer.getBytes();
+        assertEquals(writer.getEncoding(), RLE_DICTIONARY);
+    }
+
+    @Test
+    public void testHighCardinalityFallsBackToSmallestEncoding()
+    {
+        DictionaryCompressionOptimizer optimizer = new DictionaryCompressionOptimizer(MAX_DICTIONARY_BYTES);
+        DictionaryFallbackValuesWriter writer = createLongWriter();
+        optimizer.addColumn(writer);
+
+        int rows = toIntExact(2 * DICTIONARY_SAMPLE_BYTES / Long.BYTES);
+        for (int i = 0; i < rows; i++) {
+            writer.writeLong(1_000_000 + i);
+        }
+        optimizer.optimize();
+
+        // ascending values are much smaller in delta encoding than in plain encoding
+        assertFalse(writer.isDictionaryEncoded());
+        assertEquals(writer.getDictionaryBytes(), 0);
+        writer.getBytes();
+        assertEquals(writer.getEncoding(), DELTA_BINARY_PACKED);
+        assertNull(writer.toDictPageAndClose());
+    }
+
+    @Test
+    public void testDictionaryMemoryLimit()
+    {
+        DictionaryFallbackValuesWriter lessRepeated = createBinaryWriter();
+        DictionaryFallbackValuesWriter moreRepeated = createBinaryWriter();
+        for (int repetition = 0; repetition < 20; repetition++) {
+            for (int i = 0; i < 500; i++) {
+                if (repetition < 5) {
+                    lessRepeated.writeBytes(createValue(i));
+                }
+                moreRepeated.writeBytes(createValue(i));
+            }
+        }
+        long dictionaryBytes = moreRepeated.getDictionaryBytes();
+        assertEquals(lessRepeated.getDictionaryBytes(), dictionaryBytes);
+
+        // both dictionaries do not fit, so the one that saves the least is dropped
+        DictionaryCompressionOptimizer optimizer = new DictionaryCompressionOptimizer(dictionaryBytes + dictionaryBytes / 2);
+        optimizer.addColumn(lessRepeated);
+        optimizer.addColumn(moreRepeated);
+        optimizer.optimize();
+
+        assertFalse(lessRepeated.isDictionaryEncoded());
+        assertTrue(moreRepeated.isDictionaryEncoded());
+        assertEquals(optimizer.getDictionaryMemoryBytes(), dictionaryBytes);
+    }
+
+    @Test
+    public void testFallBackAfterDictionaryPage()
+    {
+        DictionaryFallbackValuesWriter writer = createLongWriter();
+        for (int i = 0; i < 1000; i++) {
+            writer.writeLong(i % 10);
+        }
+        writer.getBytes();
+        assertEquals(writer.getEncoding(), RLE_DICTIONARY);
+        writer.reset();
+
+        writer.fallBack();
+        for (int i = 0; i < 1000; i++) {
+            writer.writeLong(i);
+        }
+        writer.getBytes();
+        assertFalse(writer.getEncoding().usesDictionary());
+        writer.reset();
+
+        // the first page still references the dictionary
+        assertTrue(writer.getDictionaryBytes() > 0);
+        assertNotNull(writer.toDictPageAndClose());
+
+        // the next column chunk starts with dictionary encoding again
+        writer.resetDictionary();
+        assertTrue(writer.isDictionaryEncoded());
+        assertEquals(writer.getRawDataBytes(), 0);
+        for (int i = 0; i < 1000; i++) {
+            writer.writeLong(i % 10);
+        }
+        writer.getBytes();
+        assertEquals(writer.getEncoding(), RLE_DICTIONARY);
+    }
+
+    @Test
+    public void testDictionaryAfterFallBackWithoutDictionaryPage()
+    {
+        DictionaryFallbackValuesWriter writer = createLongWriter();
+        writer.fallBack();
+        for (int i = 0; i < 1000; i++) {
+            writer.writeLong(i);
+        }
+        writer.getBytes();
+        assertEquals(writer.getEncoding(), DELTA_BINARY_PACKED);
+        writer.reset();
+        assertNull(writer.toDictPageAndClose());
+
+        // the column writer resets the dictionary after every column chunk, whether or not it wrote a dictionary page
+        writer.resetDictionary();
+        assertTrue(writer.isDictionaryEncoded());
+        for (int i = 0; i < 1000; i++) {
+            writer.writeLong(i % 10);
+        }
+        writer.getBytes();
+        assertEquals(writer.getEncoding(), RLE_DICTIONARY);
+    }
+
+    private static DictionaryFallbackValuesWriter createLongWriter()
+    {
+        return new DictionaryFallbackValuesWriter(
+                new PlainLongDictionaryValuesWriter(MAX_DICTIONARY_BYTES, RLE_DICTIONARY, PLAIN, ALLOCATOR),
+                ImmutableList.of(
+                        new PlainValuesWriter(SLAB_SIZE, PAGE_SIZE, ALLOCATOR),
+                        new DeltaBinaryPackingValuesWriterForLong(SLAB_SIZE, PAGE_SIZE, ALLOCATOR)));
+    }
+
+    private static DictionaryFallbackValuesWriter createBinaryWriter()
+    {
+        return new DictionaryFallbackValuesWriter(
+                new PlainBinaryDictionaryValuesWriter(MAX_DICTIONARY_BYTES, RLE_DICTIONARY, PLAIN, ALLOCATOR),
+                ImmutableList.of(
+                        new PlainValuesWriter(SLAB_SIZE, PAGE_SIZE, ALLOCATOR),
+                        new DeltaByteArrayWriter(SLAB_SIZE, PAGE_SIZE, ALLOCATOR)));
+    }
+
+    private static Binary createValue(int i)
+    {
+        return Binary.fromString(padStart(String.valueOf(i), 200, 'x'));
+    }
+}
@@ -41,22 +41,33 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.prestosql.pinot.PinotErrorCode.PINOT_DECODE_ERROR;
 import static io.prestosql.pinot.PinotErrorCode.PINOT_EXCEPTION;
 import static io.prestosql.pinot.PinotErrorCode.PINOT_UNSUPPORTED_COLUMN_TYPE;
 import static java.lang.Float.floatToIntBits;
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Reads the segments of a split with a single query to the Pinot server that hosts them.
+ *
+ * <p>Pinot servers return the whole result of a query as one {@link DataTable}, so the complete result of
+ * all segments of a split is held in memory until its rows have been returned. Only the size of the pages
+ * is bounded, to at most {@link #MAX_ROWS_PER_PAGE} rows; the memory used per split is not. Each data table
+ * is released once all of its rows have been returned. The number of segments per split therefore trades
+ * the number of requests made to Pinot against the memory needed to read a split.
+ */
 public class PinotSegmentPageSource
         implements ConnectorPageSource
 {
     private static final Logger LOG = Logger.get(PinotSegmentPageSource.class);
+    private static final int MAX_ROWS_PER_PAGE = 8192;
 
     private final List<PinotColumnHandle> columnHandles;
     private final PinotSplit split;
@@ -67,15 +78,16 @@ public class PinotSegmentPageSource
     private final AtomicLong currentRowCount = new AtomicLong();
     private final int estimatedNonNumericColumnSize;
 
-    private List<Type> columnTypes;
-    // dataTableList stores the dataTable returned from each server. Each dataTable is constructed to a Page, and then destroyed to save memory.
-    private LinkedList<PinotDataTableWithSize> dataTableList = new LinkedList<>();
+    private final List<Type> columnTypes;
+    // dataTableList stores the dataTable returned from each server. Each dataTable is constructed to Pages, and then destroyed to save memory.
+    private final LinkedList<PinotDataTableWithSize> dataTableList = new LinkedList<>();
     private long completedBytes;
     private long readTimeNanos;
     private long estimatedMemoryUsageInBytes;
     private PinotDataTableWithSize currentDataTable;
+    private int currentRow;
+    private boolean requested;
     private boolean closed;
-    private boolean isPinotDataFetched;
 
     public PinotSegmentPageSource(
             ConnectorSession session,
@@ -93,6 +105,9 @@ public class PinotSegmentPageSource
         this.columnHandles = requireNonNull(columnHandles, "columnHandles is null");
         this.session = requireNonNull(session, "session is null");
         this.query = requireNonNull(query, "query is null");
+        this.columnTypes = columnHandles.stream()
+                .map(PinotColumnHandle::getDataType)
+                .collect(toImmutableList());
     }
 
     private static void checkExceptions(DataTable dataTable, PinotSplit split, String query)
@@ -133,11 +148,11 @@ public class PinotSegmentPageSource
     @Override
     public boolean isFinished()
     {
-        return closed || (isPinotDataFetched && dataTableList.isEmpty());
+        return closed || (requested && dataTableList.isEmpty() && currentDataTable == null);
     }
 
     /**
-     * @return constructed page for pinot data.
+     * @return constructed page for pinot data, holding at most {@link #MAX_ROWS_PER_PAGE} rows.
      */
     @Override
     public Page getNextPage()
@@ -146,34 +161,45 @@ public class PinotSegmentPageSource
             close();
             return null;
         }
-        if (!isPinotDataFetched) {
-            fetchPinotData();
-        }
-        // To reduce memory usage, remove dataTable from dataTableList once it's processed.
-        if (currentDataTable != null) {
-            estimatedMemoryUsageInBytes -= currentDataTable.getEstimatedSizeInBytes();
-        }
-        if (dataTableList.size() == 0) {
-            close();
-            return null;
+        if (currentDataTable == null) {
+            if (!requested) {
+                // the split is queried when the first page is requested
+                fetchPinotData();
+                requested = true;
+            }
+            if (dataTableList.isEmpty()) {
+                return null;
+            }
+            currentDataTable = dataTableList.pop();
+            currentRow = 0;
         }
-        currentDataTable = dataTableList.pop();
+
+        int numberOfRows = currentDataTable.getDataTable().getNumberOfRows();
+        int endRow = min(currentRow + MAX_ROWS_PER_PAGE, numberOfRows);
 
         PageBuilder pageBuilder = new PageBuilder(columnTypes);
         // Note that declared positions in the Page should be the same with number of rows in each Block
-        pageBuilder.declarePositions(currentDataTable.getDataTable().getNumberOfRows());
+        pageBuilder.declarePositions(endRow - currentRow);
         for (int columnHandleIdx = 0; columnHandleIdx < columnHandles.size(); columnHandleIdx++) {
             BlockBuilder blockBuilder = pageBuilder.getBlockBuilder(columnHandleIdx);
             Type columnType = columnTypes.get(columnHandleIdx);
             // Write a block for each column in the original order.
-            writeBlock(blockBuilder, columnType, columnHandleIdx);
+            writeBlock(blockBuilder, columnType, columnHandleIdx, currentRow, endRow);
+        }
+        currentRow = endRow;
+
+        // To reduce memory usage, release the dataTable once all of its rows are processed.
+        if (currentRow == numberOfRows) {
+            estimatedMemoryUsageInBytes -= currentDataTable.getEstimatedSizeInBytes();
+            currentDataTable = null;
         }
 
         return pageBuilder.build();
     }
 
     /**
-     * Fetch data from Pinot for the current split and store the data returned from each Pinot server.
+     * Fetch data from Pinot for all segments of the current split and store the data returned from each Pinot server.
+     * The complete result is held in memory; it is only split into pages as they are requested.
      */
     private void fetchPinotData()
     {
@@ -195,12 +221,6 @@ public class PinotSegmentPageSource
                         dataTableList.add(new PinotDataTableWithSize(dataTable, estimatedTableSizeInBytes));
                         estimatedMemoryUsageInBytes += estimatedTableSizeInBytes;
                     });
-
-            this.columnTypes = columnHandles
-                    .stream()
-                    .map(columnHandle -> columnHandle.getDataType())
-                    .collect(Collectors.toList());
-            isPinotDataFetched = true;
         }
         finally {
             readTimeNanos += System.nanoTime() - startTimeNanos;
@@ -234,6 +254,9 @@ public class PinotSegmentPageSource
             return;
         }
         closed = true;
+        dataTableList.clear();
+        currentDataTable = null;
+        estimatedMemoryUsageInBytes = 0;
     }
 
     /**
@@ -245,26 +268,27 @@ public class PinotSegmentPageSource
      * @param blockBuilder blockBuilder for the current column
      * @param columnType type of the column
      * @param columnIdx column index
+     * @param startRow first row to write, inclusive
+     * @param endRow last row to write, exclusive
      */
-
-    private void writeBlock(BlockBuilder blockBuilder, Type columnType, int columnIdx)
+    private void writeBlock(BlockBuilder blockBuilder, Type columnType, int columnIdx, int startRow, int endRow)
     {
         Class<?> javaType = columnType.getJavaType();
         DataSchema.ColumnDataType pinotColumnType = currentDataTable.getDataTable().getDataSchema().getColumnDataType(columnIdx);
         if (javaType.equals(boolean.class)) {
-            writeBooleanBlock(blockBuilder, columnType, columnIdx);
+            writeBooleanBlock(blockBuilder, columnType, columnIdx, startRow, endRow);
         }
         else if (javaType.equals(long.class)) {
-            writeLongBlock(blockBuilder, columnType, columnIdx);
+            writeLongBlock(blockBuilder, columnType, columnIdx, startRow, endRow);
         }
         else if (javaType.equals(double.class)) {
-            writeDoubleBlock(blockBuilder, columnType, columnIdx);
+            writeDoubleBlock(blockBuilder, columnType, columnIdx, startRow, endRow);
         }
         else if (javaType.equals(Slice.class)) {
-            writeSliceBlock(blockBuilder, columnType, columnIdx);
+            writeSliceBlock(blockBuilder, columnType, columnIdx, startRow, endRow);
         }
         else if (javaType.equals(Block.class)) {
-            writeArrayBlock(blockBuilder, columnType, columnIdx);
+            writeArrayBlock(blockBuilder, columnType, columnIdx, startRow, endRow);
         }
         else {
             throw new PrestoException(
@@ -275,42 +299,42 @@ public class PinotSegmentPageSource
         }
     }
 
-    private void writeBooleanBlock(BlockBuilder blockBuilder, Type columnType, int columnIndex)
+    private void writeBooleanBlock(BlockBuilder blockBuilder, Type columnType, int columnIndex, int startRow, int endRow)
     {
-        for (int i = 0; i < currentDataTable.getDataTable().getNumberOfRows(); i++) {
+        for (int i = startRow; i < endRow; i++) {
             columnType.writeBoolean(blockBuilder, getBoolean(i, columnIndex));
             completedBytes++;
         }
     }
 
-    private void writeLongBlock(BlockBuilder blockBuilder, Type columnType, int columnIndex)
+    private void writeLongBlock(BlockBuilder blockBuilder, Type columnType, int columnIndex, int startRow, int endRow)
     {
-        for (int i = 0; i < currentDataTable.getDataTable().getNumberOfRows(); i++) {
+        for (int i = startRow; i < endRow; i++) {
             columnType.writeLong(blockBuilder, getLong(i, columnIndex));
             completedBytes += Long.BYTES;
         }
     }
 
-    private void writeDoubleBlock(BlockBuilder blockBuilder, Type columnType, int columnIndex)
+    private void writeDoubleBlock(BlockBuilder blockBuilder, Type columnType, int columnIndex, int startRow, int endRow)
     {
-        for (int i = 0; i < currentDataTable.getDataTable().getNumberOfRows(); i++) {
+        for (int i = startRow; i < endRow; i++) {
             columnType.writeDouble(blockBuilder, getDouble(i, columnIndex));
             completedBytes += Double.BYTES;
         }
     }
 
-    private void writeSliceBlock(BlockBuilder blockBuilder, Type columnType, int columnIndex)
+    private void writeSliceBlock(BlockBuilder blockBuilder, Type columnType, int columnIndex, int startRow, int endRow)
     {
-        for (int i = 0; i < currentDataTable.getDataTable().getNumberOfRows(); i++) {
+        for (int i = startRow; i < endRow; i++) {
             Slice slice = getSlice(i, columnIndex);
             columnType.writeSlice(blockBuilder, slice, 0, slice.length());
-            completedBytes += slice.getBytes().length;
+            completedBytes += slice.length();
         }
     }
 
-    private void writeArrayBlock(BlockBuilder blockBuilder, Type columnType, int columnIndex)
+    private void writeArrayBlock(BlockBuilder blockBuilder, Type columnType, int columnIndex, int startRow, int endRow)
     {
-        for (int i = 0; i < currentDataTable.getDataTable().getNumberOfRows(); i++) {
+        for (int i = startRow; i < endRow; i++) {
             Block block = getArrayBlock(i, columnIndex);
             columnType.writeObject(blockBuilder, block);
             completedBytes += block.getSizeInBytes();
@@ -0,0 +1,170 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.pinot;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.prestosql.pinot.client.IdentityPinotHostMapper;
+import io.prestosql.pinot.client.PinotQueryClient;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.connector.ConnectorSession;
+import io.prestosql.spi.connector.ConnectorSplitSource;
+import io.prestosql.spi.connector.DynamicFilter;
+import org.apache.helix.model.InstanceConfig;
+import org.apache.pinot.common.utils.DataSchema;
+import org.apache.pinot.common.utils.DataSchema.ColumnDataType;
+import org.apache.pinot.common.utils.DataTable;
+import org.apache.pinot.core.common.datatable.DataTableBuilder;
+import org.apache.pinot.core.transport.ServerInstance;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.prestosql.pinot.TestPinotSplitManager.createSessionWithNumSplits;
+import static io.prestosql.spi.connector.ConnectorSplitManager.SplitSchedulingStrategy.UNGROUPED_SCHEDULING;
+import static io.prestosql.spi.connector.NotPartitionedPartitionHandle.NOT_PARTITIONED;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestPinotSegmentPageSource
+        extends TestPinotQueryBase
+{
+    private static final List<PinotColumnHandle> COLUMNS = ImmutableList.of(
+            new PinotColumnHandle("id", BIGINT),
+            new PinotColumnHandle("name", VARCHAR));
+
+    private final PinotSplitManager pinotSplitManager = new PinotSplitManager(new MockPinotClient(pinotConfig));
+
+    @Test
+    public void testPages()
+            throws IOException
+    {
+        ConnectorSession session = createSessionWithNumSplits(Integer.MAX_VALUE, false, pinotConfig);
+        PinotSplit split = getSplits(session).get(0);
+        assertEquals(split.getSegments().size(), 2);
+
+        RecordingPinotQueryClient queryClient = new RecordingPinotQueryClient(createDataTable(10_000));
+        PinotSegmentPageSource pageSource = new PinotSegmentPageSource(session, 20, Integer.MAX_VALUE, queryClient, split, COLUMNS, "SELECT id, name FROM realtimeOnly_REALTIME");
+        assertFalse(pageSource.isFinished());
+        assertTrue(queryClient.getRequestedSegments().isEmpty());
+
+        List<Integer> positionCounts = new ArrayList<>();
+        long expectedId = 0;
+        while (!pageSource.isFinished()) {
+            Page page = pageSource.getNextPage();
+            if (page == null) {
+                continue;
+            }
+            positionCounts.add(page.getPositionCount());
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                assertEquals(BIGINT.getLong(page.getBlock(0), position), expectedId);
+                assertEquals(VARCHAR.getSlice(page.getBlock(1), position).toStringUtf8(), "name_" + expectedId);
+                expectedId++;
+            }
+        }
+
+        // all segments of the split are read with a single request, and the result is returned in bounded pages
+        assertEquals(queryClient.getRequestedSegments(), ImmutableList.of(split.getSegments()));
+        assertEquals(positionCounts, ImmutableList.of(8192, 10_000 - 8192));
+        assertEquals(expectedId, 10_000);
+        assertEquals(pageSource.getSystemMemoryUsage(), 0);
+        assertTrue(pageSource.getCompletedBytes() > 0);
+    }
+
+    @Test
+    public void testClose()
+            throws IOException
+    {
+        ConnectorSession session = createSessionWithNumSplits(1, false, pinotConfig);
+        PinotSplit split = getSplits(session).get(0);
+
+        RecordingPinotQueryClient queryClient = new RecordingPinotQueryClient(createDataTable(10_000));
+        PinotSegmentPageSource pageSource = new PinotSegmentPageSource(session, 20, Integer.MAX_VALUE, queryClient, split, COLUMNS, "SELECT id, name FROM realtimeOnly_REALTIME");
+        assertEquals(pageSource.getNextPage().getPositionCount(), 8192);
+        assertTrue(pageSource.getSystemMemoryUsage() > 0);
+
+        pageSource.close();
+        assertTrue(pageSource.isFinished());
+        assertEquals(pageSource.getSystemMemoryUsage(), 0);
+        assertNull(pageSource.getNextPage());
+        assertEquals(queryClient.getRequestedSegments().size(), 1);
+    }
+
+    @Test(expectedExceptions = PinotException.class, expectedExceptionsMessageRegExp = "Segment query returned '100' rows per split, maximum allowed is '50' rows.")
+    public void testTooManyRows()
+            throws IOException
+    {
+        ConnectorSession session = createSessionWithNumSplits(1, false, pinotConfig);
+        PinotSplit split = getSplits(session).get(0);
+
+        PinotSegmentPageSource pageSource = new PinotSegmentPageSource(session, 20, 50, new RecordingPinotQueryClient(createDataTable(100)), split, COLUMNS, "SELECT id, name FROM realtimeOnly_REALTIME");
+        pageSource.getNextPage();
+    }
+
+    private List<PinotSplit> getSplits(ConnectorSession session)
+    {
+        ConnectorSplitSource splitSource = pinotSplitManager.getSplits(null, session, new PinotTableHandle(realtimeOnlyTable.getSchemaName(), realtimeOnlyTable.getTableName()), UNGROUPED_SCHEDULING, DynamicFilter.EMPTY);
+        List<PinotSplit> splits = new ArrayList<>();
+        while (!splitSource.isFinished()) {
+            getFutureValue(splitSource.getNextBatch(NOT_PARTITIONED, 1000)).getSplits().forEach(split -> splits.add((PinotSplit) split));
+        }
+        return splits;
+    }
+
+    private static DataTable createDataTable(int rows)
+            throws IOException
+    {
+        DataTableBuilder builder = new DataTableBuilder(new DataSchema(new String[] {"id", "name"}, new ColumnDataType[] {ColumnDataType.LONG, ColumnDataType.STRING}));
+        for (int row = 0; row < rows; row++) {
+            builder.startRow();
+            builder.setColumn(0, (long) row);
+            builder.setColumn(1, "name_" + row);
+            builder.finishRow();
+        }
+        return builder.build();
+    }
+
+    private static class RecordingPinotQueryClient
+            extends PinotQueryClient
+    {
+        private final DataTable dataTable;
+        private final List<List<String>> requestedSegments = new ArrayList<>();
+
+        public RecordingPinotQueryClient(DataTable dataTable)
+        {
+            super(new IdentityPinotHostMapper());
+            this.dataTable = dataTable;
+        }
+
+        @Override
+        public Map<ServerInstance, DataTable> queryPinotServerForDataTable(String query, String serverHost, List<String> segments, long connectionTimeoutInMillis, int pinotRetryCount)
+        {
+            requestedSegments.add(ImmutableList.copyOf(segments));
+            return ImmutableMap.of(new ServerInstance(InstanceConfig.toInstanceConfig("Server_localhost_8098")), dataTable);
+        }
+
+        public List<List<String>> getRequestedSegments()
+        {
+            return requestedSegments;
+        }
+    }
+}
@@ -22,12 +22,14 @@ import io.airlift.slice.Slice;
 import io.prestosql.plugin.jdbc.BaseJdbcClient;
 import io.prestosql.plugin.jdbc.BaseJdbcConfig;
 import io.prestosql.plugin.jdbc.BooleanReadFunction;
+import io.prestosql.plugin.jdbc.BulkWriter;
 import io.prestosql.plugin.jdbc.ColumnMapping;
 import io.prestosql.plugin.jdbc.ConnectionFactory;
 import io.prestosql.plugin.jdbc.DoubleReadFunction;
 import io.prestosql.plugin.jdbc.JdbcColumnHandle;
 import io.prestosql.plugin.jdbc.JdbcExpression;
 import io.prestosql.plugin.jdbc.JdbcIdentity;
+import io.prestosql.plugin.jdbc.JdbcOutputTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTypeHandle;
 import io.prestosql.plugin.jdbc.LongReadFunction;
@@ -154,6 +156,7 @@ import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.sql.DatabaseMetaData.columnNoNulls;
 import static java.util.Collections.addAll;
+import static java.util.stream.Collectors.joining;
 
 public class PostgreSqlClient
         extends BaseJdbcClient
@@ -171,6 +174,7 @@ public class PostgreSqlClient
     private final Type uuidType;
     private final MapType varcharMapType;
     private final String[] tableTypes;
+    private final boolean bulkCopyEnabled;
     private final AggregateFunctionRewriter aggregateFunctionRewriter;
 
     @Inject
@@ -191,6 +195,7 @@ public class PostgreSqlClient
             addAll(tableTypes, "SYSTEM TABLE", "SYSTEM VIEW");
         }
         this.tableTypes = tableTypes.toArray(new String[0]);
+        this.bulkCopyEnabled = postgreSqlConfig.isBulkCopyEnabled();
 
         JdbcTypeHandle bigintTypeHandle = new JdbcTypeHandle(Types.BIGINT, Optional.of("bigint"), 0, Optional.empty(), Optional.empty(), Optional.empty());
         this.aggregateFunctionRewriter = new AggregateFunctionRewriter(
@@ -206,6 +211,22 @@ public class PostgreSqlClient
                         .build());
     }
 
+    @Override
+    public Optional<BulkWriter> getBulkWriter(ConnectorSession session, Connection connection, JdbcOutputTableHandle handle)
+            throws SQLException
+    {
+        if (!bulkCopyEnabled || !handle.getColumnTypes().stream().allMatch(PostgreSqlCopyEncoder::isSupportedType)) {
+            return Optional.empty();
+        }
+        String sql = format(
+                "COPY %s (%s) FROM STDIN",
+                quoted(handle.getCatalogName(), handle.getSchemaName(), handle.getTemporaryTableName()),
+                handle.getColumnNames().stream()
+                        .map(this::quoted)
+                        .collect(joining(", ")));
+        return Optional.of(new PostgreSqlCopyWriter(connection.unwrap(PgConnection.class).getCopyAPI(), sql, handle.getColumnTypes()));
+    }
+
     @Override
     public void createTable(ConnectorSession session, ConnectorTableMetadata tableMetadata)
     {
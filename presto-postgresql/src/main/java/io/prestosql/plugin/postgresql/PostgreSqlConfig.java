@@ -14,6 +14,7 @@
 package io.prestosql.plugin.postgresql;
 
 import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
 import io.airlift.configuration.LegacyConfig;
 
 import javax.validation.constraints.NotNull;
@@ -22,6 +23,7 @@ public class PostgreSqlConfig
 {
     private ArrayMapping arrayMapping = ArrayMapping.DISABLED;
     private boolean includeSystemTables;
+    private boolean bulkCopyEnabled = true;
 
     public enum ArrayMapping
     {
@@ -55,4 +57,17 @@ public class PostgreSqlConfig
         this.includeSystemTables = includeSystemTables;
         return this;
     }
+
+    public boolean isBulkCopyEnabled()
+    {
+        return bulkCopyEnabled;
+    }
+
+    @Config("postgresql.bulk-copy.enabled")
+    @ConfigDescription("Write rows with COPY instead of batched INSERT statements when all column types support it")
+    public PostgreSqlConfig setBulkCopyEnabled(boolean bulkCopyEnabled)
+    {
+        this.bulkCopyEnabled = bulkCopyEnabled;
+        return this;
+    }
 }
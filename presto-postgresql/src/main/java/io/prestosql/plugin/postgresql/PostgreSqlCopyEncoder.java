@@ -0,0 +1,185 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.postgresql;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.type.CharType;
+import io.prestosql.spi.type.DecimalType;
+import io.prestosql.spi.type.Decimals;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.VarcharType;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.SignStyle;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.BooleanType.BOOLEAN;
+import static io.prestosql.spi.type.DateType.DATE;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.RealType.REAL;
+import static io.prestosql.spi.type.SmallintType.SMALLINT;
+import static io.prestosql.spi.type.TinyintType.TINYINT;
+import static java.lang.Float.intBitsToFloat;
+import static java.lang.Math.toIntExact;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.time.temporal.ChronoField.DAY_OF_MONTH;
+import static java.time.temporal.ChronoField.ERA;
+import static java.time.temporal.ChronoField.MONTH_OF_YEAR;
+import static java.time.temporal.ChronoField.YEAR_OF_ERA;
+
+/**
+ * Encodes pages in the text format of the PostgreSQL {@code COPY} command.
+ */
+public class PostgreSqlCopyEncoder
+{
+    // PostgreSQL does not accept signed years, so dates are written with an explicit era
+    private static final DateTimeFormatter DATE_FORMATTER = new DateTimeFormatterBuilder()
+            .appendValue(YEAR_OF_ERA, 4, 9, SignStyle.NOT_NEGATIVE)
+            .appendLiteral('-')
+            .appendValue(MONTH_OF_YEAR, 2)
+            .appendLiteral('-')
+            .appendValue(DAY_OF_MONTH, 2)
+            .appendLiteral(' ')
+            .appendText(ERA, TextStyle.SHORT)
+            .toFormatter(Locale.ENGLISH);
+
+    private static final byte[] NULL = "\\N".getBytes(US_ASCII);
+    private static final byte[] TRUE = {'t'};
+    private static final byte[] FALSE = {'f'};
+
+    private final List<ValueEncoder> encoders;
+
+    public PostgreSqlCopyEncoder(List<Type> types)
+    {
+        ImmutableList.Builder<ValueEncoder> encoders = ImmutableList.builder();
+        for (Type type : types) {
+            encoders.add(createValueEncoder(type));
+        }
+        this.encoders = encoders.build();
+    }
+
+    public static boolean isSupportedType(Type type)
+    {
+        return type.equals(BOOLEAN) ||
+                type.equals(TINYINT) ||
+                type.equals(SMALLINT) ||
+                type.equals(INTEGER) ||
+                type.equals(BIGINT) ||
+                type.equals(REAL) ||
+                type.equals(DOUBLE) ||
+                type.equals(DATE) ||
+                type instanceof DecimalType ||
+                type instanceof VarcharType ||
+                type instanceof CharType;
+    }
+
+    public void encode(Page page, SliceOutput output)
+    {
+        checkArgument(page.getChannelCount() == encoders.size(), "Expected %s channels, but page has %s", encoders.size(), page.getChannelCount());
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            for (int channel = 0; channel < encoders.size(); channel++) {
+                if (channel > 0) {
+                    output.writeByte('\t');
+                }
+                Block block = page.getBlock(channel);
+                if (block.isNull(position)) {
+                    output.writeBytes(NULL);
+                }
+                else {
+                    encoders.get(channel).encode(block, position, output);
+                }
+            }
+            output.writeByte('\n');
+        }
+    }
+
+    private static ValueEncoder createValueEncoder(Type type)
+    {
+        if (type.equals(BOOLEAN)) {
+            return (block, position, output) -> output.writeBytes(BOOLEAN.getBoolean(block, position) ? TRUE : FALSE);
+        }
+        if (type.equals(TINYINT) || type.equals(SMALLINT) || type.equals(INTEGER) || type.equals(BIGINT)) {
+            return (block, position, output) -> writeAscii(output, Long.toString(type.getLong(block, position)));
+        }
+        if (type.equals(REAL)) {
+            return (block, position, output) -> writeAscii(output, Float.toString(intBitsToFloat(toIntExact(REAL.getLong(block, position)))));
+        }
+        if (type.equals(DOUBLE)) {
+            return (block, position, output) -> writeAscii(output, Double.toString(DOUBLE.getDouble(block, position)));
+        }
+        if (type.equals(DATE)) {
+            return (block, position, output) -> writeAscii(output, DATE_FORMATTER.format(LocalDate.ofEpochDay(DATE.getLong(block, position))));
+        }
+        if (type instanceof DecimalType) {
+            DecimalType decimalType = (DecimalType) type;
+            if (decimalType.isShort()) {
+                return (block, position, output) -> writeAscii(output, Decimals.toString(decimalType.getLong(block, position), decimalType.getScale()));
+            }
+            return (block, position, output) -> writeAscii(output, Decimals.toString(decimalType.getSlice(block, position), decimalType.getScale()));
+        }
+        if (type instanceof VarcharType || type instanceof CharType) {
+            return (block, position, output) -> writeEscaped(output, type.getSlice(block, position));
+        }
+        throw new IllegalArgumentException("Unsupported type: " + type);
+    }
+
+    private static void writeAscii(SliceOutput output, String value)
+    {
+        output.writeBytes(value.getBytes(US_ASCII));
+    }
+
+    private static void writeEscaped(SliceOutput output, Slice value)
+    {
+        // escape bytes are ASCII, so they never occur inside a multi-byte UTF-8 sequence
+        for (int i = 0; i < value.length(); i++) {
+            byte b = value.getByte(i);
+            switch (b) {
+                case '\\':
+                    output.writeByte('\\');
+                    output.writeByte('\\');
+                    break;
+                case '\n':
+                    output.writeByte('\\');
+                    output.writeByte('n');
+                    break;
+                case '\r':
+                    output.writeByte('\\');
+                    output.writeByte('r');
+                    break;
+                case '\t':
+                    output.writeByte('\\');
+                    output.writeByte('t');
+                    break;
+                default:
+                    output.writeByte(b);
+            }
+        }
+    }
+
+    private interface ValueEncoder
+    {
+        void encode(Block block, int position, SliceOutput output);
+    }
+}
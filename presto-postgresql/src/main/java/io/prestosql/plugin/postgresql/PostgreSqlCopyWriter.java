@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.postgresql;
+
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.prestosql.plugin.jdbc.BulkWriter;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.type.Type;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Streams pages into a table with {@code COPY ... FROM STDIN}.
+ */
+public class PostgreSqlCopyWriter
+        implements BulkWriter
+{
+    private final CopyManager copyManager;
+    private final String sql;
+    private final PostgreSqlCopyEncoder encoder;
+    private final DynamicSliceOutput buffer = new DynamicSliceOutput(64 * 1024);
+
+    private CopyIn copyIn;
+
+    public PostgreSqlCopyWriter(CopyManager copyManager, String sql, List<Type> types)
+    {
+        this.copyManager = requireNonNull(copyManager, "copyManager is null");
+        this.sql = requireNonNull(sql, "sql is null");
+        this.encoder = new PostgreSqlCopyEncoder(requireNonNull(types, "types is null"));
+    }
+
+    @Override
+    public void appendPage(Page page)
+            throws SQLException
+    {
+        if (page.getPositionCount() == 0) {
+            return;
+        }
+        if (copyIn == null) {
+            copyIn = copyManager.copyIn(sql);
+        }
+
+        buffer.reset();
+        encoder.encode(page, buffer);
+        Slice data = buffer.slice();
+        copyIn.writeToCopy(data.byteArray(), data.byteArrayOffset(), data.length());
+    }
+
+    @Override
+    public void finish()
+            throws SQLException
+    {
+        if (copyIn != null) {
+            copyIn.endCopy();
+        }
+    }
+
+    @Override
+    public void abort()
+            throws SQLException
+    {
+        if (copyIn != null && copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.postgresql;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.DynamicSliceOutput;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.type.DecimalType;
+import io.prestosql.spi.type.Type;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.BooleanType.BOOLEAN;
+import static io.prestosql.spi.type.DateType.DATE;
+import static io.prestosql.spi.type.DecimalType.createDecimalType;
+import static io.prestosql.spi.type.Decimals.encodeScaledValue;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.RealType.REAL;
+import static io.prestosql.spi.type.TimestampType.TIMESTAMP_MILLIS;
+import static io.prestosql.spi.type.VarbinaryType.VARBINARY;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static java.lang.Float.floatToRawIntBits;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestPostgreSqlCopyEncoder
+{
+    private static final DecimalType SHORT_DECIMAL = createDecimalType(10, 2);
+    private static final DecimalType LONG_DECIMAL = createDecimalType(30, 5);
+
+    @Test
+    public void testSupportedTypes()
+    {
+        assertTrue(PostgreSqlCopyEncoder.isSupportedType(BIGINT));
+        assertTrue(PostgreSqlCopyEncoder.isSupportedType(LONG_DECIMAL));
+        assertTrue(PostgreSqlCopyEncoder.isSupportedType(VARCHAR));
+        assertFalse(PostgreSqlCopyEncoder.isSupportedType(VARBINARY));
+        assertFalse(PostgreSqlCopyEncoder.isSupportedType(TIMESTAMP_MILLIS));
+    }
+
+    @Test
+    public void testEncode()
+    {
+        List<Type> types = ImmutableList.of(BOOLEAN, BIGINT, REAL, DOUBLE, SHORT_DECIMAL, LONG_DECIMAL, DATE, VARCHAR);
+        BlockBuilder[] builders = types.stream()
+                .map(type -> type.createBlockBuilder(null, 2))
+                .toArray(BlockBuilder[]::new);
+
+        BOOLEAN.writeBoolean(builders[0], true);
+        BIGINT.writeLong(builders[1], -42);
+        REAL.writeLong(builders[2], floatToRawIntBits(1.5f));
+        DOUBLE.writeDouble(builders[3], Double.NaN);
+        SHORT_DECIMAL.writeLong(builders[4], 12345);
+        LONG_DECIMAL.writeSlice(builders[5], encodeScaledValue(new BigDecimal("-1234567890123456789.12345"), 5));
+        DATE.writeLong(builders[6], LocalDate.of(2020, 2, 29).toEpochDay());
+        VARCHAR.writeSlice(builders[7], utf8Slice("tab\there\nback\\slash ąę"));
+
+        BOOLEAN.writeBoolean(builders[0], false);
+        for (int i = 1; i <= 5; i++) {
+            builders[i].appendNull();
+        }
+        DATE.writeLong(builders[6], LocalDate.of(-43, 3, 15).toEpochDay());
+        VARCHAR.writeSlice(builders[7], utf8Slice(""));
+
+        Page page = new Page(
+                builders[0].build(),
+                builders[1].build(),
+                builders[2].build(),
+                builders[3].build(),
+                builders[4].build(),
+                builders[5].build(),
+                builders[6].build(),
+                builders[7].build());
+
+        DynamicSliceOutput output = new DynamicSliceOutput(0);
+        new PostgreSqlCopyEncoder(types).encode(page, output);
+        assertEquals(
+                output.slice().toString(UTF_8),
+                "t\t-42\t1.5\tNaN\t123.45\t-1234567890123456789.12345\t2020-02-29 AD\ttab\\there\\nback\\\\slash ąę\n" +
+                        "f\t\\N\t\\N\t\\N\t\\N\t\\N\t0044-03-15 BC\t\n");
+    }
+}
@@ -15,6 +15,7 @@ package io.prestosql.plugin.raptor.legacy;
 
 import io.prestosql.orc.OrcReaderOptions;
 import io.prestosql.plugin.raptor.legacy.storage.StorageManager;
+import io.prestosql.plugin.raptor.legacy.storage.organization.TableAccessTracker;
 import io.prestosql.plugin.raptor.legacy.util.ConcatPageSource;
 import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ConnectorPageSource;
@@ -46,11 +47,13 @@ public class RaptorPageSourceProvider
         implements ConnectorPageSourceProvider
 {
     private final StorageManager storageManager;
+    private final TableAccessTracker accessTracker;
 
     @Inject
-    public RaptorPageSourceProvider(StorageManager storageManager)
+    public RaptorPageSourceProvider(StorageManager storageManager, TableAccessTracker accessTracker)
     {
         this.storageManager = requireNonNull(storageManager, "storageManager is null");
+        this.accessTracker = requireNonNull(accessTracker, "accessTracker is null");
     }
 
     @Override
@@ -67,6 +70,7 @@ public class RaptorPageSourceProvider
 
         OptionalInt bucketNumber = raptorSplit.getBucketNumber();
         TupleDomain<RaptorColumnHandle> predicate = raptorTable.getConstraint();
+        accessTracker.recordScan(raptorTable.getTableId(), session.getQueryId(), predicate);
         OrcReaderOptions options = new OrcReaderOptions()
                 .withMaxMergeDistance(getReaderMaxMergeDistance(session))
                 .withMaxBufferSize(getReaderMaxReadSize(session))
@@ -46,6 +46,7 @@ public class StorageManagerConfig
     private Duration shardRecoveryTimeout = new Duration(30, TimeUnit.SECONDS);
     private Duration missingShardDiscoveryInterval = new Duration(5, TimeUnit.MINUTES);
     private boolean compactionEnabled = true;
+    private boolean compactionClusteringEnabled;
     private Duration compactionInterval = new Duration(1, TimeUnit.HOURS);
     private Duration shardEjectorInterval = new Duration(4, TimeUnit.HOURS);
     private OrcReaderOptions options = new OrcReaderOptions();
@@ -361,6 +362,19 @@ public class StorageManagerConfig
         return this;
     }
 
+    public boolean isCompactionClusteringEnabled()
+    {
+        return compactionClusteringEnabled;
+    }
+
+    @Config("storage.compaction-clustering-enabled")
+    @ConfigDescription("Sort shards of unsorted tables on their most frequently filtered column during compaction")
+    public StorageManagerConfig setCompactionClusteringEnabled(boolean compactionClusteringEnabled)
+    {
+        this.compactionClusteringEnabled = compactionClusteringEnabled;
+        return this;
+    }
+
     public boolean isOrganizationEnabled()
     {
         return organizationEnabled;
@@ -32,6 +32,7 @@ import io.prestosql.plugin.raptor.legacy.storage.organization.ShardCompactionMan
 import io.prestosql.plugin.raptor.legacy.storage.organization.ShardCompactor;
 import io.prestosql.plugin.raptor.legacy.storage.organization.ShardOrganizationManager;
 import io.prestosql.plugin.raptor.legacy.storage.organization.ShardOrganizer;
+import io.prestosql.plugin.raptor.legacy.storage.organization.TableAccessTracker;
 
 import static io.airlift.configuration.ConfigBinder.configBinder;
 import static org.weakref.jmx.guice.ExportBinder.newExporter;
@@ -62,6 +63,7 @@ public class StorageModule
         binder.bind(ShardOrganizer.class).in(Scopes.SINGLETON);
         binder.bind(JobFactory.class).to(OrganizationJobFactory.class).in(Scopes.SINGLETON);
         binder.bind(ShardCompactor.class).in(Scopes.SINGLETON);
+        binder.bind(TableAccessTracker.class).in(Scopes.SINGLETON);
         binder.bind(ShardEjector.class).in(Scopes.SINGLETON);
         binder.bind(ShardCleaner.class).in(Scopes.SINGLETON);
         binder.bind(BucketBalancer.class).in(Scopes.SINGLETON);
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Comparators.emptiesLast;
 import static io.prestosql.plugin.raptor.legacy.storage.organization.ShardOrganizerUtil.createOrganizationSet;
 import static io.prestosql.plugin.raptor.legacy.storage.organization.ShardOrganizerUtil.getShardsByDaysBuckets;
 import static java.util.Comparator.comparing;
@@ -60,7 +61,7 @@ public class CompactionSetCreator
     {
         long tableId = tableInfo.getTableId();
         List<ShardIndexInfo> shards = shardIndexInfos.stream()
-                .sorted(getShardIndexInfoComparator(tableInfo))
+                .sorted(getShardIndexInfoComparator(tableInfo, shardIndexInfos))
                 .collect(toCollection(ArrayList::new));
 
         long consumedBytes = 0;
@@ -95,8 +96,15 @@ public class CompactionSetCreator
         return compactionSets.build();
     }
 
-    private static Comparator<ShardIndexInfo> getShardIndexInfoComparator(Table tableInfo)
+    private static Comparator<ShardIndexInfo> getShardIndexInfoComparator(Table tableInfo, Collection<ShardIndexInfo> shards)
     {
+        // shards of a table clustered on a column carry its range as sort range
+        if (shards.stream().anyMatch(shard -> shard.getSortRange().isPresent())) {
+            return comparing(ShardIndexInfo::getSortRange, emptiesLast(
+                    comparing(ShardRange::getMinTuple)
+                            .thenComparing(ShardRange::getMaxTuple)));
+        }
+
         if (tableInfo.getTemporalColumnId().isEmpty()) {
             return comparing(ShardIndexInfo::getUncompressedSize);
         }
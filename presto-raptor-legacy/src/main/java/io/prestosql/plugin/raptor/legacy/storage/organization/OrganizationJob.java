@@ -13,6 +13,7 @@
  */
 package io.prestosql.plugin.raptor.legacy.storage.organization;
 
+import com.google.common.collect.ImmutableList;
 import io.airlift.log.Logger;
 import io.prestosql.plugin.raptor.legacy.metadata.ColumnInfo;
 import io.prestosql.plugin.raptor.legacy.metadata.MetadataDao;
@@ -29,6 +30,7 @@ import java.util.OptionalLong;
 import java.util.Set;
 import java.util.UUID;
 
+import static io.prestosql.plugin.raptor.legacy.storage.organization.ShardOrganizerUtil.getClusteringColumn;
 import static io.prestosql.spi.connector.SortOrder.ASC_NULLS_FIRST;
 import static java.util.Collections.nCopies;
 import static java.util.Objects.requireNonNull;
@@ -42,13 +44,15 @@ class OrganizationJob
     private final MetadataDao metadataDao;
     private final ShardManager shardManager;
     private final ShardCompactor compactor;
+    private final TableAccessTracker accessTracker;
     private final OrganizationSet organizationSet;
 
-    public OrganizationJob(OrganizationSet organizationSet, MetadataDao metadataDao, ShardManager shardManager, ShardCompactor compactor)
+    public OrganizationJob(OrganizationSet organizationSet, MetadataDao metadataDao, ShardManager shardManager, ShardCompactor compactor, TableAccessTracker accessTracker)
     {
         this.metadataDao = requireNonNull(metadataDao, "metadataDao is null");
         this.shardManager = requireNonNull(shardManager, "shardManager is null");
         this.compactor = requireNonNull(compactor, "compactor is null");
+        this.accessTracker = requireNonNull(accessTracker, "accessTracker is null");
         this.organizationSet = requireNonNull(organizationSet, "organizationSet is null");
     }
 
@@ -88,6 +92,12 @@ class OrganizationJob
     private TableMetadata getTableMetadata(long tableId)
     {
         List<TableColumn> sortColumns = metadataDao.listSortColumns(tableId);
+        if (sortColumns.isEmpty()) {
+            // cluster shards of unsorted tables on their most frequently filtered column
+            sortColumns = getClusteringColumn(metadataDao, accessTracker, tableId)
+                    .map(ImmutableList::of)
+                    .orElse(ImmutableList.of());
+        }
 
         List<Long> sortColumnIds = sortColumns.stream()
                 .map(TableColumn::getColumnId)
@@ -29,19 +29,21 @@ public class OrganizationJobFactory
     private final MetadataDao metadataDao;
     private final ShardManager shardManager;
     private final ShardCompactor compactor;
+    private final TableAccessTracker accessTracker;
 
     @Inject
-    public OrganizationJobFactory(@ForMetadata IDBI dbi, ShardManager shardManager, ShardCompactor compactor)
+    public OrganizationJobFactory(@ForMetadata IDBI dbi, ShardManager shardManager, ShardCompactor compactor, TableAccessTracker accessTracker)
     {
         requireNonNull(dbi, "dbi is null");
         this.metadataDao = onDemandDao(dbi, MetadataDao.class);
         this.shardManager = requireNonNull(shardManager, "shardManager is null");
         this.compactor = requireNonNull(compactor, "compactor is null");
+        this.accessTracker = requireNonNull(accessTracker, "accessTracker is null");
     }
 
     @Override
     public Runnable create(OrganizationSet organizationSet)
     {
-        return new OrganizationJob(organizationSet, metadataDao, shardManager, compactor);
+        return new OrganizationJob(organizationSet, metadataDao, shardManager, compactor, accessTracker);
     }
 }
@@ -13,6 +13,7 @@
  */
 package io.prestosql.plugin.raptor.legacy.storage.organization;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimaps;
@@ -36,20 +37,29 @@ import javax.inject.Inject;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.Map;
+import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.collect.Maps.uniqueIndex;
 import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.prestosql.plugin.raptor.legacy.storage.organization.ShardOrganizationManager.createOrganizationSets;
+import static io.prestosql.plugin.raptor.legacy.storage.organization.ShardOrganizerUtil.getClusteringColumn;
 import static io.prestosql.plugin.raptor.legacy.storage.organization.ShardOrganizerUtil.getOrganizationEligibleShards;
 import static io.prestosql.plugin.raptor.legacy.util.DatabaseUtil.onDemandDao;
 import static io.prestosql.spi.type.DateType.DATE;
 import static io.prestosql.spi.type.TimestampType.TIMESTAMP_MILLIS;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.reverseOrder;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -71,6 +81,7 @@ public class ShardCompactionManager
     private final ShardManager shardManager;
     private final String currentNodeIdentifier;
     private final CompactionSetCreator compactionSetCreator;
+    private final TableAccessTracker accessTracker;
 
     private final boolean compactionEnabled;
     private final Duration compactionDiscoveryInterval;
@@ -83,12 +94,14 @@ public class ShardCompactionManager
             NodeManager nodeManager,
             ShardManager shardManager,
             ShardOrganizer organizer,
+            TableAccessTracker accessTracker,
             StorageManagerConfig config)
     {
         this(dbi,
                 nodeManager.getCurrentNode().getNodeIdentifier(),
                 shardManager,
                 organizer,
+                accessTracker,
                 config.getCompactionInterval(),
                 config.getMaxShardSize(),
                 config.getMaxShardRows(),
@@ -100,6 +113,7 @@ public class ShardCompactionManager
             String currentNodeIdentifier,
             ShardManager shardManager,
             ShardOrganizer organizer,
+            TableAccessTracker accessTracker,
             Duration compactionDiscoveryInterval,
             DataSize maxShardSize,
             long maxShardRows,
@@ -111,6 +125,7 @@ public class ShardCompactionManager
         this.currentNodeIdentifier = requireNonNull(currentNodeIdentifier, "currentNodeIdentifier is null");
         this.shardManager = requireNonNull(shardManager, "shardManager is null");
         this.organizer = requireNonNull(organizer, "organizer is null");
+        this.accessTracker = requireNonNull(accessTracker, "accessTracker is null");
         this.compactionDiscoveryInterval = requireNonNull(compactionDiscoveryInterval, "compactionDiscoveryInterval is null");
 
         checkArgument(maxShardSize.toBytes() > 0, "maxShardSize must be > 0");
@@ -168,13 +183,18 @@ public class ShardCompactionManager
         log.info("Discovering shards that need compaction...");
         Set<ShardMetadata> allShards = shardManager.getNodeShards(currentNodeIdentifier);
         ListMultimap<Long, ShardMetadata> tableShards = Multimaps.index(allShards, ShardMetadata::getTableId);
+        Map<Long, List<ShardMetadata>> shardsByTable = Multimaps.asMap(tableShards);
 
-        for (Entry<Long, List<ShardMetadata>> entry : Multimaps.asMap(tableShards).entrySet()) {
-            long tableId = entry.getKey();
+        // compact the most frequently scanned tables first
+        List<Long> tableIds = shardsByTable.keySet().stream()
+                .sorted(comparing(accessTracker::getRecentScans, reverseOrder()))
+                .collect(toImmutableList());
+
+        for (long tableId : tableIds) {
             if (!metadataDao.isCompactionEligible(tableId)) {
                 continue;
             }
-            List<ShardMetadata> shards = entry.getValue();
+            List<ShardMetadata> shards = shardsByTable.get(tableId);
             Collection<OrganizationSet> organizationSets = filterAndCreateCompactionSets(tableId, shards);
             log.info("Created %s organization set(s) for table ID %s", organizationSets.size(), tableId);
 
@@ -195,20 +215,59 @@ public class ShardCompactionManager
             }
         }
 
-        Set<ShardMetadata> filteredShards = tableShards.stream()
-                .filter(this::needsCompaction)
+        Set<ShardMetadata> availableShards = tableShards.stream()
                 .filter(shard -> !organizer.inProgress(shard.getShardUuid()))
                 .collect(toSet());
+        Set<ShardMetadata> filteredShards = availableShards.stream()
+                .filter(this::needsCompaction)
+                .collect(toSet());
 
         Collection<ShardIndexInfo> shardIndexInfos = getOrganizationEligibleShards(dbi, metadataDao, tableInfo, filteredShards, false);
-        if (tableInfo.getTemporalColumnId().isPresent()) {
-            Set<ShardIndexInfo> temporalShards = shardIndexInfos.stream()
-                    .filter(shard -> shard.getTemporalRange().isPresent())
-                    .collect(toSet());
-            return compactionSetCreator.createCompactionSets(tableInfo, temporalShards);
+        Optional<TableColumn> clusteringColumn = getClusteringColumn(metadataDao, accessTracker, tableId);
+        if (clusteringColumn.isPresent()) {
+            return createClusteringSets(tableInfo, availableShards, shardIndexInfos, clusteringColumn.get());
         }
+        return compactionSetCreator.createCompactionSets(tableInfo, withTemporalRanges(tableInfo, shardIndexInfos));
+    }
+
+    /**
+     * Shards of a frequently scanned table are rewritten whenever their ranges of the clustering column
+     * overlap, whatever their size, the same way the organizer rewrites shards of sorted tables.
+     * The remaining shards that need compaction use the range of the clustering column as their
+     * sort range, so that shards with adjacent ranges are compacted together. Shards without a range
+     * are kept as is.
+     */
+    private Set<OrganizationSet> createClusteringSets(Table tableInfo, Set<ShardMetadata> shards, Collection<ShardIndexInfo> shardIndexInfos, TableColumn clusteringColumn)
+    {
+        Collection<ShardIndexInfo> clusteredShards = withTemporalRanges(
+                tableInfo,
+                getOrganizationEligibleShards(dbi, metadataDao, tableInfo, shards, Optional.of(ImmutableList.of(clusteringColumn))));
+        Set<OrganizationSet> overlappingSets = createOrganizationSets(tableInfo, clusteredShards);
+        Set<UUID> overlappingShards = overlappingSets.stream()
+                .map(OrganizationSet::getShards)
+                .flatMap(Collection::stream)
+                .collect(toImmutableSet());
 
-        return compactionSetCreator.createCompactionSets(tableInfo, shardIndexInfos);
+        Map<UUID, ShardIndexInfo> clusteredShardsByUuid = uniqueIndex(clusteredShards, ShardIndexInfo::getShardUuid);
+        List<ShardIndexInfo> compactionShards = withTemporalRanges(tableInfo, shardIndexInfos).stream()
+                .filter(shard -> !overlappingShards.contains(shard.getShardUuid()))
+                .map(shard -> clusteredShardsByUuid.getOrDefault(shard.getShardUuid(), shard))
+                .collect(toImmutableList());
+
+        return ImmutableSet.<OrganizationSet>builder()
+                .addAll(overlappingSets)
+                .addAll(compactionSetCreator.createCompactionSets(tableInfo, compactionShards))
+                .build();
+    }
+
+    private static Collection<ShardIndexInfo> withTemporalRanges(Table tableInfo, Collection<ShardIndexInfo> shardIndexInfos)
+    {
+        if (tableInfo.getTemporalColumnId().isEmpty()) {
+            return shardIndexInfos;
+        }
+        return shardIndexInfos.stream()
+                .filter(shard -> shard.getTemporalRange().isPresent())
+                .collect(toSet());
     }
 
     private static boolean isValidTemporalColumn(long tableId, Type type)
@@ -229,7 +229,6 @@ public class ShardOrganizationManager
         return (System.currentTimeMillis() - info.getLastStartTimeMillis().getAsLong()) >= organizationIntervalMillis;
     }
 
-    @VisibleForTesting
     static Set<OrganizationSet> createOrganizationSets(Table tableInfo, Collection<ShardIndexInfo> shards)
     {
         return getShardsByDaysBuckets(tableInfo, shards).stream()
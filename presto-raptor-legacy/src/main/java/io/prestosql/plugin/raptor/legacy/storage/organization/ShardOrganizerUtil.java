@@ -34,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.UUID;
 
@@ -60,6 +61,23 @@ public final class ShardOrganizerUtil
             Table tableInfo,
             Collection<ShardMetadata> shards,
             boolean includeSortColumns)
+    {
+        Optional<List<TableColumn>> sortColumns = Optional.empty();
+        if (includeSortColumns) {
+            sortColumns = Optional.of(metadataDao.listSortColumns(tableInfo.getTableId()));
+        }
+        return getOrganizationEligibleShards(dbi, metadataDao, tableInfo, shards, sortColumns);
+    }
+
+    /**
+     * Shards that have no range for the given sort columns are not eligible.
+     */
+    public static Collection<ShardIndexInfo> getOrganizationEligibleShards(
+            IDBI dbi,
+            MetadataDao metadataDao,
+            Table tableInfo,
+            Collection<ShardMetadata> shards,
+            Optional<List<TableColumn>> sortColumns)
     {
         Map<Long, ShardMetadata> shardsById = uniqueIndex(shards, ShardMetadata::getShardId);
         long tableId = tableInfo.getTableId();
@@ -76,9 +94,7 @@ public final class ShardOrganizerUtil
         }
 
         // include sort columns if needed
-        Optional<List<TableColumn>> sortColumns = Optional.empty();
-        if (includeSortColumns) {
-            sortColumns = Optional.of(metadataDao.listSortColumns(tableId));
+        if (sortColumns.isPresent()) {
             for (TableColumn column : sortColumns.get()) {
                 columnsBuilder.add(minColumn(column.getColumnId()), maxColumn(column.getColumnId()));
             }
@@ -105,7 +121,7 @@ public final class ShardOrganizerUtil
                             long shardId = resultSet.getLong("shard_id");
 
                             Optional<ShardRange> sortRange = Optional.empty();
-                            if (includeSortColumns) {
+                            if (sortColumns.isPresent()) {
                                 sortRange = getShardRange(sortColumns.get(), resultSet);
                                 if (sortRange.isEmpty()) {
                                     continue;
@@ -143,6 +159,19 @@ public final class ShardOrganizerUtil
                 temporalRange);
     }
 
+    /**
+     * Returns the column to cluster the shards of an unsorted table on when compacting them, if any.
+     */
+    public static Optional<TableColumn> getClusteringColumn(MetadataDao metadataDao, TableAccessTracker accessTracker, long tableId)
+    {
+        OptionalLong columnId = accessTracker.getClusteringColumn(tableId);
+        if (columnId.isEmpty() || !metadataDao.listSortColumns(tableId).isEmpty()) {
+            return Optional.empty();
+        }
+        // the column may have been dropped since it was scanned
+        return Optional.ofNullable(metadataDao.getTableColumn(tableId, columnId.getAsLong()));
+    }
+
     public static Collection<Collection<ShardIndexInfo>> getShardsByDaysBuckets(Table tableInfo, Collection<ShardIndexInfo> shards)
     {
         if (shards.isEmpty()) {
@@ -0,0 +1,173 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.raptor.legacy.storage.organization;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import io.airlift.stats.DecayCounter;
+import io.airlift.stats.ExponentialDecay;
+import io.prestosql.plugin.raptor.legacy.RaptorColumnHandle;
+import io.prestosql.plugin.raptor.legacy.storage.StorageManagerConfig;
+import io.prestosql.spi.predicate.TupleDomain;
+
+import javax.inject.Inject;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.prestosql.plugin.raptor.legacy.RaptorColumnHandle.isHiddenColumn;
+import static io.prestosql.plugin.raptor.legacy.storage.ColumnIndexStatsUtils.jdbcType;
+import static java.util.concurrent.TimeUnit.HOURS;
+
+/**
+ * Tracks how often the tables on this node are recently scanned and which indexed
+ * columns the scans filter on. Compaction uses this to cluster shards of frequently
+ * scanned tables on the column that most of their predicates constrain.
+ *
+ * <p>A query is counted once per table, however many splits of the table it reads on this node.
+ * Only the filtered columns are tracked, not the ranges of values the predicates select. Clustering
+ * narrows the range of the column in every shard, so it does not depend on which ranges are queried.
+ */
+public class TableAccessTracker
+{
+    @VisibleForTesting
+    static final double MIN_RECENT_SCANS = 10;
+    @VisibleForTesting
+    static final double MIN_FILTERED_FRACTION = 0.5;
+    private static final int MAX_RECENT_QUERIES = 1000;
+
+    private final boolean enabled;
+    private final Map<Long, TableAccess> tables = new ConcurrentHashMap<>();
+
+    @Inject
+    public TableAccessTracker(StorageManagerConfig config)
+    {
+        this(config.isCompactionClusteringEnabled());
+    }
+
+    public TableAccessTracker(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Records a scan of the table by the query. Splits of a query after the first one are ignored.
+     */
+    public void recordScan(long tableId, String queryId, TupleDomain<RaptorColumnHandle> predicate)
+    {
+        if (!enabled) {
+            return;
+        }
+
+        TableAccess access = tables.computeIfAbsent(tableId, id -> new TableAccess());
+        if (!access.addQuery(queryId)) {
+            return;
+        }
+
+        Set<Long> filteredColumns = predicate.getDomains()
+                .map(Map::keySet)
+                .orElse(ImmutableSet.of()).stream()
+                .filter(column -> !isHiddenColumn(column.getColumnId()))
+                .filter(column -> jdbcType(column.getColumnType()) != null)
+                .map(RaptorColumnHandle::getColumnId)
+                .collect(toImmutableSet());
+
+        access.recordScan(filteredColumns);
+    }
+
+    /**
+     * @return the exponentially decayed number of recent scans of the table
+     */
+    public double getRecentScans(long tableId)
+    {
+        TableAccess access = tables.get(tableId);
+        if (access == null) {
+            return 0;
+        }
+        return access.getScans();
+    }
+
+    /**
+     * Returns the column to cluster shards of the table on: the column filtered on by the most
+     * recent scans, provided the table is scanned frequently and at least half of the scans
+     * filter on that column.
+     */
+    public OptionalLong getClusteringColumn(long tableId)
+    {
+        TableAccess access = tables.get(tableId);
+        if (access == null) {
+            return OptionalLong.empty();
+        }
+        return access.getMostFilteredColumn();
+    }
+
+    private static class TableAccess
+    {
+        private final DecayCounter scans = new DecayCounter(ExponentialDecay.fifteenMinutes());
+        private final Map<Long, DecayCounter> filteredColumns = new ConcurrentHashMap<>();
+        private final Cache<String, Boolean> recentQueries = CacheBuilder.newBuilder()
+                .maximumSize(MAX_RECENT_QUERIES)
+                .expireAfterWrite(1, HOURS)
+                .build();
+
+        /**
+         * @return true if this is the first scan of the table by the query
+         */
+        public boolean addQuery(String queryId)
+        {
+            return recentQueries.asMap().putIfAbsent(queryId, true) == null;
+        }
+
+        public void recordScan(Set<Long> columnIds)
+        {
+            scans.add(1);
+            for (long columnId : columnIds) {
+                filteredColumns.computeIfAbsent(columnId, id -> new DecayCounter(ExponentialDecay.fifteenMinutes())).add(1);
+            }
+        }
+
+        public double getScans()
+        {
+            return scans.getCount();
+        }
+
+        public OptionalLong getMostFilteredColumn()
+        {
+            double scanCount = scans.getCount();
+            if (scanCount < MIN_RECENT_SCANS) {
+                return OptionalLong.empty();
+            }
+
+            OptionalLong mostFilteredColumn = OptionalLong.empty();
+            double mostFilteredCount = 0;
+            for (Map.Entry<Long, DecayCounter> entry : filteredColumns.entrySet()) {
+                double count = entry.getValue().getCount();
+                if (count > mostFilteredCount || (count == mostFilteredCount && mostFilteredColumn.isPresent() && entry.getKey() < mostFilteredColumn.getAsLong())) {
+                    mostFilteredColumn = OptionalLong.of(entry.getKey());
+                    mostFilteredCount = count;
+                }
+            }
+
+            if (mostFilteredCount < MIN_FILTERED_FRACTION * scanCount) {
+                return OptionalLong.empty();
+            }
+            return mostFilteredColumn;
+        }
+    }
+}
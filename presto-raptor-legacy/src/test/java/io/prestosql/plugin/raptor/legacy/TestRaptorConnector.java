@@ -27,6 +27,7 @@ import io.prestosql.plugin.raptor.legacy.metadata.ShardManager;
 import io.prestosql.plugin.raptor.legacy.metadata.TableColumn;
 import io.prestosql.plugin.raptor.legacy.storage.StorageManager;
 import io.prestosql.plugin.raptor.legacy.storage.StorageManagerConfig;
+import io.prestosql.plugin.raptor.legacy.storage.organization.TableAccessTracker;
 import io.prestosql.spi.NodeManager;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.connector.ColumnMetadata;
@@ -105,7 +106,7 @@ public class TestRaptorConnector
                 new TestingNodeManager(),
                 new RaptorMetadataFactory(dbi, shardManager),
                 new RaptorSplitManager(connectorId, nodeSupplier, shardManager, false),
-                new RaptorPageSourceProvider(storageManager),
+                new RaptorPageSourceProvider(storageManager, new TableAccessTracker(false)),
                 new RaptorPageSinkProvider(storageManager,
                         new PagesIndexPageSorter(new PagesIndex.TestingFactory(false)),
                         config),
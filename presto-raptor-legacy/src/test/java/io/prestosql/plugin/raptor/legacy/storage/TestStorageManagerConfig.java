@@ -59,6 +59,7 @@ public class TestStorageManagerConfig
                 .setRecoveryThreads(10)
                 .setOrganizationThreads(5)
                 .setCompactionEnabled(true)
+                .setCompactionClusteringEnabled(false)
                 .setOrganizationEnabled(true)
                 .setOrganizationInterval(new Duration(7, DAYS))
                 .setOrganizationDiscoveryInterval(new Duration(6, HOURS))
@@ -85,6 +86,7 @@ public class TestStorageManagerConfig
                 .put("storage.missing-shard-discovery-interval", "4m")
                 .put("storage.compaction-enabled", "false")
                 .put("storage.compaction-interval", "4h")
+                .put("storage.compaction-clustering-enabled", "true")
                 .put("storage.organization-enabled", "false")
                 .put("storage.organization-interval", "4h")
                 .put("storage.organization-discovery-interval", "2h")
@@ -111,6 +113,7 @@ public class TestStorageManagerConfig
                 .setMissingShardDiscoveryInterval(new Duration(4, MINUTES))
                 .setCompactionEnabled(false)
                 .setCompactionInterval(new Duration(4, HOURS))
+                .setCompactionClusteringEnabled(true)
                 .setOrganizationEnabled(false)
                 .setOrganizationInterval(new Duration(4, HOURS))
                 .setOrganizationDiscoveryInterval(new Duration(2, HOURS))
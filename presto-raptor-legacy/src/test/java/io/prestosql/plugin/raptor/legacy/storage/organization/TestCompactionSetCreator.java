@@ -30,6 +30,7 @@ import java.util.Set;
 import java.util.UUID;
 
 import static com.google.common.collect.Iterables.getOnlyElement;
+import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.DateType.DATE;
 import static io.prestosql.spi.type.TimestampType.TIMESTAMP_MILLIS;
 import static org.testng.Assert.assertEquals;
@@ -195,6 +196,26 @@ public class TestCompactionSetCreator
         assertEquals(actual, expected);
     }
 
+    @Test
+    public void testClusteredCompaction()
+    {
+        List<ShardIndexInfo> inputShards = ImmutableList.of(
+                shardWithSortRange(0L, 10L),
+                shardWithSortRange(100L, 110L),
+                shardWithSize(1, 40),
+                shardWithSortRange(5L, 15L),
+                shardWithSortRange(105L, 115L));
+
+        long tableId = tableInfo.getTableId();
+        Set<OrganizationSet> actual = compactionSetCreator.createCompactionSets(tableInfo, inputShards);
+
+        // shards with adjacent ranges are compacted together, the shard without a range is left over
+        Set<OrganizationSet> expected = ImmutableSet.of(
+                new OrganizationSet(tableId, extractIndexes(inputShards, 0, 3), OptionalInt.empty()),
+                new OrganizationSet(tableId, extractIndexes(inputShards, 1, 4), OptionalInt.empty()));
+        assertEquals(actual, expected);
+    }
+
     static Set<UUID> extractIndexes(List<ShardIndexInfo> inputShards, int... indexes)
     {
         ImmutableSet.Builder<UUID> builder = ImmutableSet.builder();
@@ -243,6 +264,18 @@ public class TestCompactionSetCreator
                 Optional.empty());
     }
 
+    private static ShardIndexInfo shardWithSortRange(Long start, Long end)
+    {
+        return new ShardIndexInfo(
+                1,
+                OptionalInt.empty(),
+                UUID.randomUUID(),
+                1,
+                40,
+                Optional.of(ShardRange.of(new Tuple(BIGINT, start), new Tuple(BIGINT, end))),
+                Optional.empty());
+    }
+
     private static ShardIndexInfo shardWithTemporalRange(Type type, Long start, Long end)
     {
         return shardWithTemporalBucket(OptionalInt.empty(), type, start, end);
@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.raptor.legacy.storage.organization;
+
+import com.google.common.collect.ImmutableMap;
+import io.airlift.slice.Slices;
+import io.prestosql.plugin.raptor.legacy.RaptorColumnHandle;
+import io.prestosql.spi.predicate.Domain;
+import io.prestosql.spi.predicate.TupleDomain;
+import org.testng.annotations.Test;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.prestosql.plugin.raptor.legacy.RaptorColumnHandle.shardUuidColumnHandle;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarbinaryType.VARBINARY;
+import static org.testng.Assert.assertEquals;
+
+public class TestTableAccessTracker
+{
+    private static final RaptorColumnHandle COLUMN_A = new RaptorColumnHandle("a", 1, BIGINT);
+    private static final RaptorColumnHandle COLUMN_B = new RaptorColumnHandle("b", 2, BIGINT);
+    private static final RaptorColumnHandle UNINDEXED_COLUMN = new RaptorColumnHandle("c", 3, VARBINARY);
+    private static final AtomicLong QUERY_IDS = new AtomicLong();
+
+    @Test
+    public void testClusteringColumn()
+    {
+        TableAccessTracker tracker = new TableAccessTracker(true);
+
+        recordScans(tracker, 1, 5, TupleDomain.withColumnDomains(ImmutableMap.of(COLUMN_A, Domain.singleValue(BIGINT, 1L))));
+        // not scanned often enough
+        assertEquals(tracker.getClusteringColumn(1), OptionalLong.empty());
+
+        recordScans(tracker, 1, 20, TupleDomain.withColumnDomains(ImmutableMap.of(
+                COLUMN_A, Domain.singleValue(BIGINT, 1L),
+                COLUMN_B, Domain.singleValue(BIGINT, 2L),
+                UNINDEXED_COLUMN, Domain.singleValue(VARBINARY, Slices.wrappedBuffer((byte) 1)))));
+        recordScans(tracker, 1, 15, TupleDomain.withColumnDomains(ImmutableMap.of(
+                shardUuidColumnHandle(), Domain.notNull(shardUuidColumnHandle().getColumnType()),
+                UNINDEXED_COLUMN, Domain.singleValue(VARBINARY, Slices.wrappedBuffer((byte) 1)))));
+
+        assertEquals(tracker.getRecentScans(1), 40, 0.1);
+        assertEquals(tracker.getClusteringColumn(1), OptionalLong.of(COLUMN_A.getColumnId()));
+
+        // no column is filtered on by half of the scans
+        recordScans(tracker, 2, 15, TupleDomain.withColumnDomains(ImmutableMap.of(COLUMN_B, Domain.singleValue(BIGINT, 2L))));
+        recordScans(tracker, 2, 25, TupleDomain.all());
+        assertEquals(tracker.getClusteringColumn(2), OptionalLong.empty());
+
+        assertEquals(tracker.getRecentScans(3), 0.0);
+        assertEquals(tracker.getClusteringColumn(3), OptionalLong.empty());
+    }
+
+    @Test
+    public void testDisabled()
+    {
+        TableAccessTracker tracker = new TableAccessTracker(false);
+        recordScans(tracker, 1, 40, TupleDomain.withColumnDomains(ImmutableMap.of(COLUMN_A, Domain.singleValue(BIGINT, 1L))));
+
+        assertEquals(tracker.getRecentScans(1), 0.0);
+        assertEquals(tracker.getClusteringColumn(1), OptionalLong.empty());
+    }
+
+    @Test
+    public void testScansCountedPerQuery()
+    {
+        TableAccessTracker tracker = new TableAccessTracker(true);
+        TupleDomain<RaptorColumnHandle> predicate = TupleDomain.withColumnDomains(ImmutableMap.of(COLUMN_A, Domain.singleValue(BIGINT, 1L)));
+
+        // every split of a query records a scan
+        for (int i = 0; i < 20; i++) {
+            tracker.recordScan(1, "query", predicate);
+            tracker.recordScan(2, "query", predicate);
+        }
+        assertEquals(tracker.getRecentScans(1), 1.0, 0.1);
+        assertEquals(tracker.getRecentScans(2), 1.0, 0.1);
+        assertEquals(tracker.getClusteringColumn(1), OptionalLong.empty());
+
+        recordScans(tracker, 1, 20, predicate);
+        assertEquals(tracker.getRecentScans(1), 21, 0.1);
+        assertEquals(tracker.getClusteringColumn(1), OptionalLong.of(COLUMN_A.getColumnId()));
+    }
+
+    private static void recordScans(TableAccessTracker tracker, long tableId, int count, TupleDomain<RaptorColumnHandle> predicate)
+    {
+        for (int i = 0; i < count; i++) {
+            String queryId = "query_" + QUERY_IDS.getAndIncrement();
+            // a query scans the table with several splits
+            tracker.recordScan(tableId, queryId, predicate);
+            tracker.recordScan(tableId, queryId, predicate);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.decoder;
+
+import io.airlift.slice.Slice;
+import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.type.Type;
+
+import javax.annotation.Nullable;
+
+import static io.prestosql.decoder.DecoderErrorCode.DECODER_CONVERSION_NOT_SUPPORTED;
+import static java.lang.String.format;
+
+/**
+ * Appends decoded field values to block builders.
+ */
+public final class FieldValueWriter
+{
+    private FieldValueWriter() {}
+
+    public static void writeFieldValue(Type type, @Nullable FieldValueProvider value, BlockBuilder output)
+    {
+        if (value == null || value.isNull()) {
+            output.appendNull();
+            return;
+        }
+
+        Class<?> javaType = type.getJavaType();
+        if (javaType == boolean.class) {
+            type.writeBoolean(output, value.getBoolean());
+        }
+        else if (javaType == long.class) {
+            type.writeLong(output, value.getLong());
+        }
+        else if (javaType == double.class) {
+            type.writeDouble(output, value.getDouble());
+        }
+        else if (javaType == Slice.class) {
+            type.writeSlice(output, value.getSlice());
+        }
+        else if (javaType == Block.class) {
+            type.writeObject(output, value.getBlock());
+        }
+        else {
+            throw new PrestoException(DECODER_CONVERSION_NOT_SUPPORTED, format("conversion to %s not supported", type));
+        }
+    }
+}
@@ -13,11 +13,17 @@
  */
 package io.prestosql.decoder;
 
+import io.prestosql.spi.block.BlockBuilder;
+
 import javax.annotation.Nullable;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.prestosql.decoder.FieldValueWriter.writeFieldValue;
+
 /**
  * Implementations decode a row from bytes and add field value providers for all decodable columns.
  */
@@ -43,4 +49,30 @@ public interface RowDecoder
      */
     // TODO This is Redis-specific, move to presto-redis
     Optional<Map<DecoderColumnHandle, FieldValueProvider>> decodeRow(byte[] data, @Nullable Map<String, String> dataMap);
+
+    /**
+     * Decodes a batch of rows, appending one value per row for each of the given columns to the corresponding block builder.
+     * Values of columns this decoder does not produce, and of rows that cannot be decoded, are appended as null.
+     *
+     * @param rows The row data to decode.
+     * @param columns The columns to produce values for.
+     * @param outputs The block builders to append the values of the columns to, in the same order as the columns.
+     * @return Returns for each row whether it was decoded successfully.
+     */
+    default boolean[] decodeRows(List<byte[]> rows, List<? extends DecoderColumnHandle> columns, List<BlockBuilder> outputs)
+    {
+        checkArgument(columns.size() == outputs.size(), "columns and outputs do not match");
+
+        boolean[] decoded = new boolean[rows.size()];
+        for (int row = 0; row < rows.size(); row++) {
+            Optional<Map<DecoderColumnHandle, FieldValueProvider>> decodedRow = decodeRow(rows.get(row));
+            decoded[row] = decodedRow.isPresent();
+            for (int column = 0; column < columns.size(); column++) {
+                DecoderColumnHandle columnHandle = columns.get(column);
+                FieldValueProvider value = decodedRow.map(values -> values.get(columnHandle)).orElse(null);
+                writeFieldValue(columnHandle.getType(), value, outputs.get(column));
+            }
+        }
+        return decoded;
+    }
 }
@@ -17,18 +17,22 @@ import io.prestosql.decoder.DecoderColumnHandle;
 import io.prestosql.decoder.FieldValueProvider;
 import io.prestosql.decoder.RowDecoder;
 import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.block.BlockBuilder;
 import org.apache.avro.file.DataFileStream;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.DatumReader;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static com.google.common.base.Functions.identity;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static io.prestosql.decoder.FieldValueWriter.writeFieldValue;
 import static io.prestosql.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
 import static java.util.Objects.requireNonNull;
 
@@ -54,6 +58,42 @@ public class AvroRowDecoder
 
     @Override
     public Optional<Map<DecoderColumnHandle, FieldValueProvider>> decodeRow(byte[] data, Map<String, String> dataMap)
+    {
+        GenericRecord avroRecord = readRecord(data);
+        return Optional.of(columnDecoders.entrySet().stream()
+                .collect(toImmutableMap(
+                        Map.Entry::getKey,
+                        entry -> entry.getValue().decodeField(avroRecord))));
+    }
+
+    @Override
+    public boolean[] decodeRows(List<byte[]> rows, List<? extends DecoderColumnHandle> columns, List<BlockBuilder> outputs)
+    {
+        checkArgument(columns.size() == outputs.size(), "columns and outputs do not match");
+
+        AvroColumnDecoder[] decoders = new AvroColumnDecoder[columns.size()];
+        for (int column = 0; column < columns.size(); column++) {
+            decoders[column] = columnDecoders.get(columns.get(column));
+        }
+
+        boolean[] decoded = new boolean[rows.size()];
+        for (int row = 0; row < rows.size(); row++) {
+            GenericRecord avroRecord = readRecord(rows.get(row));
+            decoded[row] = true;
+            for (int column = 0; column < columns.size(); column++) {
+                BlockBuilder output = outputs.get(column);
+                if (decoders[column] == null) {
+                    output.appendNull();
+                }
+                else {
+                    writeFieldValue(columns.get(column).getType(), decoders[column].decodeField(avroRecord), output);
+                }
+            }
+        }
+        return decoded;
+    }
+
+    private GenericRecord readRecord(byte[] data)
     {
         GenericRecord avroRecord;
         DataFileStream<GenericRecord> dataFileReader = null;
@@ -75,11 +115,7 @@ public class AvroRowDecoder
         finally {
             closeQuietly(dataFileReader);
         }
-
-        return Optional.of(columnDecoders.entrySet().stream()
-                .collect(toImmutableMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().decodeField(avroRecord))));
+        return avroRecord;
     }
 
     private void closeQuietly(DataFileStream<GenericRecord> stream)
@@ -21,12 +21,16 @@ import com.google.common.collect.ImmutableMap;
 import io.prestosql.decoder.DecoderColumnHandle;
 import io.prestosql.decoder.FieldValueProvider;
 import io.prestosql.decoder.RowDecoder;
+import io.prestosql.spi.block.BlockBuilder;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static io.prestosql.decoder.FieldValueWriter.writeFieldValue;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -50,13 +54,11 @@ public class JsonRowDecoder
     public Optional<Map<DecoderColumnHandle, FieldValueProvider>> decodeRow(byte[] data,
             Map<String, String> dataMap)
     {
-        JsonNode tree;
-        try {
-            tree = objectMapper.readTree(data);
-        }
-        catch (Exception e) {
+        Optional<JsonNode> parsedTree = parseTree(data);
+        if (parsedTree.isEmpty()) {
             return Optional.empty();
         }
+        JsonNode tree = parsedTree.get();
 
         Map<DecoderColumnHandle, FieldValueProvider> decodedRow = new HashMap<>();
 
@@ -70,6 +72,44 @@ public class JsonRowDecoder
         return Optional.of(decodedRow);
     }
 
+    @Override
+    public boolean[] decodeRows(List<byte[]> rows, List<? extends DecoderColumnHandle> columns, List<BlockBuilder> outputs)
+    {
+        checkArgument(columns.size() == outputs.size(), "columns and outputs do not match");
+
+        JsonFieldDecoder[] decoders = new JsonFieldDecoder[columns.size()];
+        for (int column = 0; column < columns.size(); column++) {
+            decoders[column] = fieldDecoders.get(columns.get(column));
+        }
+
+        boolean[] decoded = new boolean[rows.size()];
+        for (int row = 0; row < rows.size(); row++) {
+            Optional<JsonNode> tree = parseTree(rows.get(row));
+            decoded[row] = tree.isPresent();
+            for (int column = 0; column < columns.size(); column++) {
+                DecoderColumnHandle columnHandle = columns.get(column);
+                BlockBuilder output = outputs.get(column);
+                if (tree.isEmpty() || decoders[column] == null) {
+                    output.appendNull();
+                }
+                else {
+                    writeFieldValue(columnHandle.getType(), decoders[column].decode(locateNode(tree.get(), columnHandle)), output);
+                }
+            }
+        }
+        return decoded;
+    }
+
+    private Optional<JsonNode> parseTree(byte[] data)
+    {
+        try {
+            return Optional.ofNullable(objectMapper.readTree(data));
+        }
+        catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
     private static JsonNode locateNode(JsonNode tree, DecoderColumnHandle columnHandle)
     {
         String mapping = columnHandle.getMapping();
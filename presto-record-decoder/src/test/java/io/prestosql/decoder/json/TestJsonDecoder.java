@@ -13,6 +13,7 @@
  */
 package io.prestosql.decoder.json;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteStreams;
 import io.airlift.json.ObjectMapperProvider;
@@ -21,15 +22,19 @@ import io.prestosql.decoder.DecoderTestColumnHandle;
 import io.prestosql.decoder.FieldValueProvider;
 import io.prestosql.decoder.RowDecoder;
 import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockBuilder;
 import io.prestosql.spi.type.Type;
 import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import org.testng.annotations.Test;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.prestosql.decoder.util.DecoderTestUtil.checkIsNull;
 import static io.prestosql.decoder.util.DecoderTestUtil.checkValue;
 import static io.prestosql.spi.type.BigintType.BIGINT;
@@ -133,6 +138,46 @@ public class TestJsonDecoder
         checkValue(decodedRow.get(), column4, 2342);
     }
 
+    @Test
+    public void testDecodeRows()
+    {
+        DecoderTestColumnHandle column1 = new DecoderTestColumnHandle(0, "column1", BIGINT, "a_number", null, null, false, false, false);
+        DecoderTestColumnHandle column2 = new DecoderTestColumnHandle(1, "column2", createVarcharType(100), "a/string", null, null, false, false, false);
+        DecoderTestColumnHandle unknown = new DecoderTestColumnHandle(2, "unknown", BIGINT, "a_number", null, null, false, false, false);
+
+        RowDecoder rowDecoder = DECODER_FACTORY.create(emptyMap(), ImmutableSet.of(column1, column2));
+
+        List<byte[]> rows = ImmutableList.of(
+                "{\"a_number\":481516,\"a\":{\"string\":\"foo\"}}".getBytes(StandardCharsets.UTF_8),
+                "{\"a_number\":".getBytes(StandardCharsets.UTF_8),
+                "{\"a\":{\"string\":\"bar\"}}".getBytes(StandardCharsets.UTF_8));
+        List<DecoderColumnHandle> columns = ImmutableList.of(column1, column2, unknown);
+        List<BlockBuilder> outputs = columns.stream()
+                .map(column -> column.getType().createBlockBuilder(null, rows.size()))
+                .collect(toImmutableList());
+
+        boolean[] decoded = rowDecoder.decodeRows(rows, columns, outputs);
+        assertEquals(decoded, new boolean[] {true, false, true});
+
+        Block numbers = outputs.get(0).build();
+        assertEquals(numbers.getPositionCount(), 3);
+        assertEquals(BIGINT.getLong(numbers, 0), 481516);
+        assertTrue(numbers.isNull(1));
+        assertTrue(numbers.isNull(2));
+
+        Block strings = outputs.get(1).build();
+        assertEquals(strings.getPositionCount(), 3);
+        assertEquals(createVarcharType(100).getSlice(strings, 0).toStringUtf8(), "foo");
+        assertTrue(strings.isNull(1));
+        assertEquals(createVarcharType(100).getSlice(strings, 2).toStringUtf8(), "bar");
+
+        Block unknowns = outputs.get(2).build();
+        assertEquals(unknowns.getPositionCount(), 3);
+        for (int position = 0; position < 3; position++) {
+            assertTrue(unknowns.isNull(position));
+        }
+    }
+
     @Test
     public void testSupportedDataTypeValidation()
     {
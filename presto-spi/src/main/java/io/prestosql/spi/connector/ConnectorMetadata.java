@@ -871,6 +871,19 @@ public interface ConnectorMetadata
         return Optional.empty();
     }
 
+    /**
+     * Attempt to read the table such that each stream of the table partitioning is produced in a known sort order.
+     * <p>
+     * The returned handle must report the sort order as local properties in {@link #getTableProperties}. The engine
+     * only calls this method when it relies on that order, for example to run a merge join, so connectors can keep
+     * reading the original handle in parallel and unsorted otherwise. Connectors indicate that the table cannot be
+     * read sorted by returning {@link Optional#empty()}.
+     */
+    default Optional<ConnectorTableHandle> applySortedRead(ConnectorSession session, ConnectorTableHandle handle)
+    {
+        return Optional.empty();
+    }
+
     /**
      * Attempt to push down the aggregates into the table.
      * <p>
@@ -54,6 +54,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -68,6 +69,7 @@ import static io.prestosql.plugin.jdbc.StandardColumnMappings.charWriteFunction;
 import static io.prestosql.plugin.jdbc.StandardColumnMappings.varcharWriteFunction;
 import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
 import static io.prestosql.spi.type.BooleanType.BOOLEAN;
+import static io.prestosql.spi.type.DateType.DATE;
 import static io.prestosql.spi.type.VarbinaryType.VARBINARY;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
@@ -129,6 +131,16 @@ public class SqlServerClient
         execute(identity, sql);
     }
 
+    @Override
+    protected String toRangeSplitBound(JdbcColumnHandle splitColumn, long value)
+    {
+        if (splitColumn.getColumnType().equals(DATE)) {
+            // SQL Server does not support ANSI date literals
+            return format("CAST('%s' AS date)", LocalDate.ofEpochDay(value));
+        }
+        return super.toRangeSplitBound(splitColumn, value);
+    }
+
     @Override
     protected void copyTableSchema(Connection connection, String catalogName, String schemaName, String tableName, String newTableName, List<String> columnNames)
     {
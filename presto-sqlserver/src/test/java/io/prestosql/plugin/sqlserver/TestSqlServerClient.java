@@ -32,6 +32,7 @@ import java.util.Optional;
 
 import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.BooleanType.BOOLEAN;
+import static io.prestosql.spi.type.DateType.DATE;
 import static io.prestosql.spi.type.DoubleType.DOUBLE;
 import static io.prestosql.testing.TestingConnectorSession.SESSION;
 import static io.prestosql.testing.assertions.Assert.assertEquals;
@@ -60,6 +61,19 @@ public class TestSqlServerClient
                 throw new UnsupportedOperationException();
             });
 
+    @Test
+    public void testRangeSplitBound()
+    {
+        SqlServerClient client = (SqlServerClient) JDBC_CLIENT;
+        JdbcColumnHandle dateColumn = JdbcColumnHandle.builder()
+                .setColumnName("c_date")
+                .setColumnType(DATE)
+                .setJdbcTypeHandle(new JdbcTypeHandle(Types.DATE, Optional.of("date"), 0, 0, Optional.empty(), Optional.empty()))
+                .build();
+        assertEquals(client.toRangeSplitBound(dateColumn, 18262), "CAST('2020-01-01' AS date)");
+        assertEquals(client.toRangeSplitBound(BIGINT_COLUMN, 42), "42");
+    }
+
     @Test
     public void testImplementCount()
     {